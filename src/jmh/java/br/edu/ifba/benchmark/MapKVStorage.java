@@ -0,0 +1,102 @@
+package br.edu.ifba.benchmark;
+
+import br.edu.ifba.lightrag.storage.KVStorage;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Heap-only {@link KVStorage} so pipeline benchmarks measure LightRAG rather
+ * than {@code JsonKVStorage}'s full-file rewrite on every put.
+ */
+public final class MapKVStorage implements KVStorage {
+
+    private final Map<String, String> storage = new ConcurrentHashMap<>();
+
+    @Override
+    public CompletableFuture<Void> initialize() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<String> get(@NotNull String key) {
+        return CompletableFuture.completedFuture(storage.get(key));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, String>> getBatch(@NotNull List<String> keys) {
+        Map<String, String> result = new HashMap<>();
+        for (String key : keys) {
+            String value = storage.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return CompletableFuture.completedFuture(result);
+    }
+
+    @Override
+    public CompletableFuture<Void> set(@NotNull String key, @NotNull String value) {
+        storage.put(key, value);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Void> setBatch(@NotNull Map<String, String> entries) {
+        storage.putAll(entries);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> delete(@NotNull String key) {
+        return CompletableFuture.completedFuture(storage.remove(key) != null);
+    }
+
+    @Override
+    public CompletableFuture<Integer> deleteBatch(@NotNull List<String> keys) {
+        int deleted = 0;
+        for (String key : keys) {
+            if (storage.remove(key) != null) {
+                deleted++;
+            }
+        }
+        return CompletableFuture.completedFuture(deleted);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(@NotNull String key) {
+        return CompletableFuture.completedFuture(storage.containsKey(key));
+    }
+
+    @Override
+    public CompletableFuture<List<String>> keys() {
+        return CompletableFuture.completedFuture(new ArrayList<>(storage.keySet()));
+    }
+
+    @Override
+    public CompletableFuture<List<String>> keys(@NotNull String pattern) {
+        String regex = pattern.replace("*", ".*");
+        return CompletableFuture.completedFuture(storage.keySet().stream().filter(k -> k.matches(regex)).toList());
+    }
+
+    @Override
+    public CompletableFuture<Void> clear() {
+        storage.clear();
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Long> size() {
+        return CompletableFuture.completedFuture((long) storage.size());
+    }
+
+    @Override
+    public void close() {
+        storage.clear();
+    }
+}
@@ -0,0 +1,34 @@
+package br.edu.ifba.benchmark;
+
+import br.edu.ifba.lightrag.embedding.EmbeddingFunction;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Deterministic {@link EmbeddingFunction} stand-in with configurable latency.
+ * The same text always maps to the same unit vector.
+ */
+public final class MockEmbeddingFunction implements EmbeddingFunction {
+
+    private final int dimension;
+    private final long latencyMillis;
+
+    public MockEmbeddingFunction(int dimension, long latencyMillis) {
+        this.dimension = dimension;
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public CompletableFuture<List<float[]>> embed(@NotNull List<String> texts) {
+        MockLLMFunction.sleep(latencyMillis);
+        List<float[]> vectors = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            vectors.add(SyntheticData.unitVector(dimension, new SplittableRandom(text.hashCode())));
+        }
+        return CompletableFuture.completedFuture(vectors);
+    }
+}
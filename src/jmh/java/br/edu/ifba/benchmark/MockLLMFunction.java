@@ -0,0 +1,97 @@
+package br.edu.ifba.benchmark;
+
+import br.edu.ifba.lightrag.llm.LLMFunction;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deterministic {@link LLMFunction} stand-in with configurable latency.
+ *
+ * <p>
+ * Calls whose system prompt contains {@link #EXTRACTION_MARKER} return
+ * well-formed entity/relation tuples ({@code entity<|#|>...}) derived from the
+ * prompt hash, so repeated chunks produce overlapping entities the same way a
+ * real corpus does. All other calls return a fixed answer.
+ * </p>
+ */
+public final class MockLLMFunction implements LLMFunction {
+
+    /** Put this in the extraction system prompt to get tuple output. */
+    public static final String EXTRACTION_MARKER = "[mock-extraction]";
+
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final long latencyMillis;
+    private final int entitiesPerChunk;
+    private final int entityPool;
+    private final AtomicLong calls = new AtomicLong();
+
+    /**
+     * @param latencyMillis    simulated round-trip latency per call
+     * @param entitiesPerChunk entities emitted per extraction call
+     * @param entityPool       number of distinct entity names to draw from
+     */
+    public MockLLMFunction(long latencyMillis, int entitiesPerChunk, int entityPool) {
+        this.latencyMillis = latencyMillis;
+        this.entitiesPerChunk = entitiesPerChunk;
+        this.entityPool = Math.max(1, entityPool);
+    }
+
+    @Override
+    public CompletableFuture<String> apply(
+            @NotNull String prompt,
+            @Nullable String systemPrompt,
+            @Nullable List<Message> historyMessages,
+            @NotNull Map<String, Object> kwargs) {
+        calls.incrementAndGet();
+        boolean extraction = systemPrompt != null && systemPrompt.contains(EXTRACTION_MARKER);
+        return CompletableFuture.supplyAsync(() -> {
+            sleep(latencyMillis);
+            return extraction ? extractionResponse(systemPrompt + prompt) : "Mock answer based on the provided context.";
+        }, EXECUTOR);
+    }
+
+    /**
+     * Number of calls served so far.
+     */
+    public long getCalls() {
+        return calls.get();
+    }
+
+    private String extractionResponse(String input) {
+        int seed = input.hashCode();
+        StringBuilder response = new StringBuilder();
+        String previous = null;
+        for (int i = 0; i < entitiesPerChunk; i++) {
+            String name = SyntheticData.entityName(Math.floorMod(seed + i * 7919, entityPool));
+            response.append("entity<|#|>").append(name).append("<|#|>concept<|#|>")
+                    .append("Synthetic description ").append(i).append(" of ").append(name).append('\n');
+            if (previous != null && !previous.equals(name)) {
+                response.append("relation<|#|>").append(previous).append("<|#|>").append(name)
+                        .append("<|#|>related<|#|>").append(previous).append(" relates to ").append(name)
+                        .append('\n');
+            }
+            previous = name;
+        }
+        return response.append("<|COMPLETE|>").toString();
+    }
+
+    static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package br.edu.ifba.benchmark;
+
+import br.edu.ifba.lightrag.core.LightRAG;
+import br.edu.ifba.lightrag.storage.impl.InMemoryDocStatusStorage;
+import br.edu.ifba.lightrag.storage.impl.InMemoryGraphStorage;
+import br.edu.ifba.lightrag.storage.impl.InMemoryVectorStorage;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Builds a {@link LightRAG} on in-memory storages and mock model functions.
+ */
+public final class MockLightRAG {
+
+    public static final String PROJECT_ID = "00000000-0000-0000-0000-00000000be9c";
+    public static final int EMBEDDING_DIMENSION = 384;
+
+    private MockLightRAG() {
+        // Utility class
+    }
+
+    /**
+     * @param llmLatencyMs       simulated LLM round-trip per call
+     * @param embeddingLatencyMs simulated embedding round-trip per batch
+     */
+    public static LightRAG create(long llmLatencyMs, long embeddingLatencyMs) {
+        String prompt = "{context_data} {response_type} {user_prompt}";
+        LightRAG lightRAG = LightRAG.builder()
+                .config(LightRAG.LightRAGConfig.defaults())
+                .llmFunction(new MockLLMFunction(llmLatencyMs, 8, 2000))
+                .embeddingFunction(new MockEmbeddingFunction(EMBEDDING_DIMENSION, embeddingLatencyMs))
+                .chunkStorage(new MapKVStorage())
+                .llmCacheStorage(new MapKVStorage())
+                .chunkVectorStorage(new InMemoryVectorStorage())
+                .entityVectorStorage(new InMemoryVectorStorage())
+                .graphStorage(new InMemoryGraphStorage())
+                .docStatusStorage(new InMemoryDocStatusStorage())
+                .localSystemPrompt(prompt)
+                .globalSystemPrompt(prompt)
+                .hybridSystemPrompt(prompt)
+                .naiveSystemPrompt(prompt)
+                .mixSystemPrompt(prompt)
+                .bypassSystemPrompt(prompt)
+                .entityExtractionSystemPrompt(MockLLMFunction.EXTRACTION_MARKER
+                        + " Extract {entity_types} in {language}: {input_text}")
+                .entityTypes("concept")
+                .extractionLanguage("English")
+                .entityExtractionUserPrompt("Extract entities and relations.")
+                .build();
+        lightRAG.initialize().join();
+        return lightRAG;
+    }
+
+    /**
+     * Inserts a text document into {@link #PROJECT_ID} and waits for completion.
+     */
+    public static String ingest(LightRAG lightRAG, String content) {
+        String documentId = UUID.randomUUID().toString();
+        return lightRAG.insertWithId(documentId, content, Map.of(
+                "document_id", documentId,
+                "project_id", PROJECT_ID,
+                "document_type", "TXT")).join();
+    }
+}
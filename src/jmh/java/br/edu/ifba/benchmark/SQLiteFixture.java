@@ -0,0 +1,86 @@
+package br.edu.ifba.benchmark;
+
+import br.edu.ifba.lightrag.storage.impl.SQLiteConnectionManager;
+import br.edu.ifba.lightrag.storage.impl.SQLiteGraphStorage;
+import br.edu.ifba.lightrag.storage.impl.SQLiteSchemaMigrator;
+import br.edu.ifba.lightrag.storage.impl.SQLiteVectorStorage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Throw-away SQLite database with the latest schema, one project and one
+ * document, so storages can be benchmarked outside of Quarkus.
+ */
+public final class SQLiteFixture implements AutoCloseable {
+
+    private final Path directory;
+    private final SQLiteConnectionManager connectionManager;
+    private final String projectId = UUID.randomUUID().toString();
+    private final String documentId = UUID.randomUUID().toString();
+
+    public SQLiteFixture() throws IOException, SQLException {
+        this.directory = Files.createTempDirectory("lightrag-jmh");
+        this.connectionManager = new SQLiteConnectionManager(directory.resolve("bench.db").toString());
+        new SQLiteSchemaMigrator().migrateToLatest(connectionManager.createConnection());
+
+        execute("INSERT INTO projects (id, name, created_at, updated_at) "
+                + "VALUES (?, 'Benchmark', datetime('now'), datetime('now'))", projectId);
+        execute("INSERT INTO documents (id, project_id, type, status, created_at, updated_at) "
+                + "VALUES (?, ?, 'TXT', 'PROCESSED', datetime('now'), datetime('now'))", documentId, projectId);
+    }
+
+    public SQLiteGraphStorage graphStorage() {
+        SQLiteGraphStorage storage = new SQLiteGraphStorage(connectionManager);
+        storage.initialize().join();
+        storage.createProjectGraph(projectId).join();
+        return storage;
+    }
+
+    public SQLiteVectorStorage vectorStorage(int dimension) {
+        SQLiteVectorStorage storage = new SQLiteVectorStorage(connectionManager, dimension);
+        storage.initialize().join();
+        return storage;
+    }
+
+    public SQLiteVectorStorage vectorStorage(int dimension, int coarseDimension, int oversample) {
+        SQLiteVectorStorage storage = new SQLiteVectorStorage(connectionManager, dimension, "vectors",
+                SQLiteVectorStorage.DEFAULT_BATCH_CHUNK_SIZE, coarseDimension, oversample);
+        storage.initialize().join();
+        return storage;
+    }
+
+    public String projectId() {
+        return projectId;
+    }
+
+    public String documentId() {
+        return documentId;
+    }
+
+    @Override
+    public void close() throws IOException {
+        connectionManager.close();
+        try (var files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private void execute(String sql, String... params) throws SQLException {
+        Connection conn = connectionManager.getWriteConnection();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setString(i + 1, params[i]);
+            }
+            stmt.executeUpdate();
+        } finally {
+            connectionManager.releaseWriteConnection(conn);
+        }
+    }
+}
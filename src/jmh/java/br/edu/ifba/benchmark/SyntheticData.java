@@ -0,0 +1,188 @@
+package br.edu.ifba.benchmark;
+
+import br.edu.ifba.lightrag.core.Entity;
+import br.edu.ifba.lightrag.core.Relation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded generators for benchmark inputs. Every method is deterministic for a
+ * given seed so runs are comparable across commits.
+ */
+public final class SyntheticData {
+
+    private static final String[] WORDS = {
+            "graph", "retrieval", "vector", "entity", "relation", "document", "context", "query",
+            "embedding", "chunk", "knowledge", "semantic", "project", "storage", "index", "model",
+            "language", "summary", "keyword", "pipeline", "token", "latency", "cluster", "service",
+            "the", "a", "of", "and", "to", "in", "is", "for", "with", "on", "by", "from"
+    };
+
+    private static final String[] ORGANIZATIONS = {
+            "Acme Corporation", "Globex Industries", "Initech Systems", "Umbrella Labs", "Stark Enterprises",
+            "Wayne Holdings", "Cyberdyne Systems", "Soylent Foods", "Tyrell Group", "Wonka Industries"
+    };
+
+    private static final String[] SUFFIX_VARIANTS = { " Inc.", " Ltd", " Co.", "" };
+
+    private SyntheticData() {
+        // Utility class
+    }
+
+    /**
+     * Canonical entity name used by every generator and by {@link MockLLMFunction}.
+     */
+    public static String entityName(int index) {
+        return "Entity " + index;
+    }
+
+    /**
+     * Prose made of short sentences drawn from a fixed vocabulary.
+     */
+    public static String text(int words, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        StringBuilder text = new StringBuilder(words * 8);
+        for (int i = 0; i < words; i++) {
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+            if (i % 12 == 11) {
+                text.append(i % 48 == 47 ? ".\n\n" : ". ");
+            } else {
+                text.append(' ');
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Java source with the given number of classes and methods per class.
+     */
+    public static String javaSource(int classes, int methodsPerClass) {
+        StringBuilder source = new StringBuilder("package bench.sample;\n\nimport java.util.List;\n\n");
+        for (int c = 0; c < classes; c++) {
+            source.append("/**\n * Sample class ").append(c).append(".\n */\n");
+            source.append("public class Sample").append(c).append(" {\n\n");
+            source.append("    private final List<String> items;\n\n");
+            for (int m = 0; m < methodsPerClass; m++) {
+                source.append("    /** Method ").append(m).append(". */\n");
+                source.append("    public int method").append(m).append("(int value) {\n");
+                source.append("        int total = value;\n");
+                source.append("        for (String item : items) {\n");
+                source.append("            total += item.length() * ").append(m + 1).append(";\n");
+                source.append("        }\n");
+                source.append("        return total;\n");
+                source.append("    }\n\n");
+            }
+            source.append("}\n\n");
+        }
+        return source.toString();
+    }
+
+    /**
+     * Organization entities where roughly {@code duplicateRatio} of the list are
+     * surface variants ("Acme Corp", "ACME Corporation Inc.") of earlier names.
+     */
+    public static List<Entity> entitiesWithDuplicates(int count, double duplicateRatio, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Entity> entities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String base = ORGANIZATIONS[i % ORGANIZATIONS.length] + " " + (i / ORGANIZATIONS.length);
+            String name = base;
+            if (i > 0 && random.nextDouble() < duplicateRatio) {
+                String original = ORGANIZATIONS[random.nextInt(ORGANIZATIONS.length)] + " "
+                        + (random.nextInt(Math.max(1, i)) / ORGANIZATIONS.length);
+                name = (random.nextBoolean() ? original.toUpperCase() : original)
+                        + SUFFIX_VARIANTS[random.nextInt(SUFFIX_VARIANTS.length)];
+            }
+            entities.add(new Entity(name, "ORGANIZATION", "Organization described in source " + i, null));
+        }
+        return entities;
+    }
+
+    /**
+     * Entities named {@link #entityName(int)} for {@code from <= i < to}.
+     */
+    public static List<Entity> entities(int from, int to, String documentId) {
+        List<Entity> entities = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            entities.add(Entity.builder()
+                    .entityName(entityName(i))
+                    .entityType("CONCEPT")
+                    .description("Synthetic entity " + i)
+                    .documentId(documentId)
+                    .addSourceChunkId("chunk-" + (i % 1000))
+                    .build());
+        }
+        return entities;
+    }
+
+    /**
+     * Relations for entities {@code [from, to)}: each entity links to its
+     * successor (a long chain, worst case for deep traversal) and to
+     * {@code extraEdges} random entities in {@code [0, scale)}.
+     */
+    public static List<Relation> relations(int from, int to, int scale, int extraEdges, String documentId, long seed) {
+        SplittableRandom random = new SplittableRandom(seed + from);
+        List<Relation> relations = new ArrayList<>((to - from) * (extraEdges + 1));
+        for (int i = from; i < to; i++) {
+            if (i + 1 < scale) {
+                relations.add(relation(i, i + 1, documentId));
+            }
+            for (int e = 0; e < extraEdges; e++) {
+                int target = random.nextInt(scale);
+                if (target != i && target != i + 1) {
+                    relations.add(relation(i, target, documentId));
+                }
+            }
+        }
+        return relations;
+    }
+
+    /**
+     * Random unit vector.
+     */
+    public static float[] unitVector(int dimension, SplittableRandom random) {
+        float[] vector = new float[dimension];
+        double norm = 0;
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) (random.nextDouble() * 2 - 1);
+            norm += vector[i] * vector[i];
+        }
+        float inv = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < dimension; i++) {
+            vector[i] *= inv;
+        }
+        return vector;
+    }
+
+    /**
+     * Random unit vector whose components shrink with position, so that leading
+     * dimensions carry most of the signal as in Matryoshka-trained embeddings.
+     */
+    public static float[] matryoshkaVector(int dimension, SplittableRandom random) {
+        float[] vector = new float[dimension];
+        double norm = 0;
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) ((random.nextDouble() * 2 - 1) / (1.0 + i / 16.0));
+            norm += vector[i] * vector[i];
+        }
+        float inv = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < dimension; i++) {
+            vector[i] *= inv;
+        }
+        return vector;
+    }
+
+    private static Relation relation(int src, int tgt, String documentId) {
+        return Relation.builder()
+                .srcId(entityName(src))
+                .tgtId(entityName(tgt))
+                .description(entityName(src) + " relates to " + entityName(tgt))
+                .keywords("related")
+                .weight(1.0)
+                .documentId(documentId)
+                .addSourceChunkId("chunk-" + (src % 1000))
+                .build();
+    }
+}
@@ -0,0 +1,45 @@
+package br.edu.ifba.document;
+
+import br.edu.ifba.benchmark.SyntheticData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boundary-aware code chunking throughput for Java sources of increasing size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.util.logging.manager=org.jboss.logmanager.LogManager")
+public class CodeChunkerBenchmark {
+
+    @Param({ "5", "50" })
+    public int classes;
+
+    private final CodeChunker chunker = new CodeChunker();
+    private String source;
+
+    @Setup
+    public void setUp() {
+        source = SyntheticData.javaSource(classes, 10);
+    }
+
+    @Benchmark
+    public List<CodeChunker.CodeChunk> chunk() {
+        return chunker.chunk(source, "Sample.java", 1200, 100);
+    }
+}
@@ -0,0 +1,107 @@
+package br.edu.ifba.document;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Per-file CPU cost of Git ingestion on a real checkout: language detection,
+ * metadata extraction (imports and declarations) and boundary-aware chunking
+ * over every code file of the repository.
+ *
+ * <p>
+ * Defaults to this repository's own {@code src} tree. Point it at a larger
+ * checkout with {@code -p repo=/path/to/checkout}; {@code maxFiles} caps the
+ * working set.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.util.logging.manager=org.jboss.logmanager.LogManager")
+public class CodeScanBenchmark {
+
+    @Param({ "src" })
+    public String repo;
+
+    @Param({ "5000" })
+    public int maxFiles;
+
+    private final CodeChunker chunker = new CodeChunker();
+    private final LanguageDetector languageDetector = new LanguageDetector();
+    private final CodeDocumentExtractor extractor = new CodeDocumentExtractor();
+
+    private final List<String> fileNames = new ArrayList<>();
+    private final List<String> contents = new ArrayList<>();
+    private final List<byte[]> bytes = new ArrayList<>();
+
+    @Setup
+    public void setUp() throws IOException {
+        extractor.binaryDetector = new BinaryFileDetector();
+        extractor.languageDetector = languageDetector;
+
+        try (Stream<Path> paths = Files.walk(Path.of(repo))) {
+            paths.filter(Files::isRegularFile)
+                    .filter(path -> !path.toString().contains("/.git/"))
+                    .filter(path -> CodeFileExtensions.isCodeFile(path.getFileName().toString()))
+                    .sorted()
+                    .limit(maxFiles)
+                    .forEach(path -> {
+                        try {
+                            byte[] data = Files.readAllBytes(path);
+                            fileNames.add(path.getFileName().toString());
+                            bytes.add(data);
+                            contents.add(new String(data, StandardCharsets.UTF_8));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        }
+        if (contents.isEmpty()) {
+            throw new IllegalStateException("No code files found under " + repo);
+        }
+    }
+
+    @Benchmark
+    public void detectLanguage(Blackhole blackhole) {
+        for (int i = 0; i < contents.size(); i++) {
+            blackhole.consume(languageDetector.detect(fileNames.get(i), contents.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void extractMetadata(Blackhole blackhole) throws IOException {
+        for (byte[] data : bytes) {
+            blackhole.consume(extractor.extractWithMetadata(new ByteArrayInputStream(data)));
+        }
+    }
+
+    @Benchmark
+    public void chunk(Blackhole blackhole) {
+        for (int i = 0; i < contents.size(); i++) {
+            blackhole.consume(chunker.chunk(contents.get(i), fileNames.get(i), 1200, 100));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package br.edu.ifba.lightrag.core;
+
+import br.edu.ifba.benchmark.SyntheticData;
+import io.smallrye.config.SmallRyeConfig;
+import io.smallrye.config.SmallRyeConfigBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pairwise entity similarity and full batch deduplication.
+ *
+ * <p>
+ * The CDI beans are wired by hand with the default
+ * {@link DeduplicationConfig}, so results reflect the shipped thresholds.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.util.logging.manager=org.jboss.logmanager.LogManager")
+public class EntityResolutionBenchmark {
+
+    @Param({ "100", "500" })
+    public int entities;
+
+    private EntitySimilarityCalculator calculator;
+    private EntityResolver resolver;
+    private List<Entity> batch;
+    private Entity left;
+    private Entity right;
+
+    @Setup
+    public void setUp() {
+        SmallRyeConfig smallRyeConfig = new SmallRyeConfigBuilder()
+                .withMapping(DeduplicationConfig.class)
+                .build();
+        DeduplicationConfig config = smallRyeConfig.getConfigMapping(DeduplicationConfig.class);
+
+        calculator = new EntitySimilarityCalculator();
+        calculator.config = config;
+        EntityClusterer clusterer = new EntityClusterer();
+        clusterer.config = config;
+        resolver = new EntityResolver();
+        resolver.config = config;
+        resolver.calculator = calculator;
+        resolver.clusterer = clusterer;
+
+        batch = SyntheticData.entitiesWithDuplicates(entities, 0.2, 42);
+        left = new Entity("Acme Corporation Inc.", "ORGANIZATION", "Maker of anvils", null);
+        right = new Entity("ACME Corp", "ORGANIZATION", "Anvil manufacturer", null);
+    }
+
+    @Benchmark
+    public EntitySimilarityScore pairwiseSimilarity() {
+        return calculator.computeSimilarity(left, right);
+    }
+
+    @Benchmark
+    public EntityResolutionResult resolveBatch() {
+        return resolver.resolveDuplicatesWithStats(batch, "benchmark-project");
+    }
+}
@@ -0,0 +1,65 @@
+package br.edu.ifba.lightrag.core;
+
+import br.edu.ifba.benchmark.MockLightRAG;
+import br.edu.ifba.benchmark.SyntheticData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end document ingestion (chunking, embedding, extraction, graph and
+ * vector upserts) with in-memory storages and mock model functions.
+ *
+ * <p>
+ * {@code llmLatencyMs} and {@code embeddingLatencyMs} simulate provider
+ * round-trips, so the numbers separate orchestration overhead from time spent
+ * waiting on models. Documents accumulate across iterations, as in a real
+ * project.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Djava.util.logging.manager=org.jboss.logmanager.LogManager")
+public class LightRAGIngestBenchmark {
+
+    @Param({ "0", "50" })
+    public long llmLatencyMs;
+
+    @Param({ "0", "10" })
+    public long embeddingLatencyMs;
+
+    @Param({ "1500" })
+    public int documentWords;
+
+    private LightRAG lightRAG;
+    private String[] documents;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        lightRAG = MockLightRAG.create(llmLatencyMs, embeddingLatencyMs);
+        documents = new String[16];
+        for (int i = 0; i < documents.length; i++) {
+            documents[i] = SyntheticData.text(documentWords, i);
+        }
+    }
+
+    @Benchmark
+    public String ingestDocument() {
+        return MockLightRAG.ingest(lightRAG, documents[next++ % documents.length]);
+    }
+}
@@ -0,0 +1,60 @@
+package br.edu.ifba.lightrag.core;
+
+import br.edu.ifba.benchmark.MockLightRAG;
+import br.edu.ifba.benchmark.SyntheticData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end query latency per mode over a project seeded with
+ * {@code documents} synthetic documents, using mock model functions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Djava.util.logging.manager=org.jboss.logmanager.LogManager")
+public class LightRAGQueryBenchmark {
+
+    @Param({ "NAIVE", "LOCAL", "GLOBAL", "HYBRID", "MIX" })
+    public String mode;
+
+    @Param({ "0", "50" })
+    public long llmLatencyMs;
+
+    @Param({ "20" })
+    public int documents;
+
+    private LightRAG lightRAG;
+    private QueryParam queryParam;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        lightRAG = MockLightRAG.create(llmLatencyMs, 0);
+        for (int i = 0; i < documents; i++) {
+            MockLightRAG.ingest(lightRAG, SyntheticData.text(1500, i));
+        }
+        queryParam = QueryParam.builder()
+                .mode(QueryParam.Mode.valueOf(mode))
+                .projectId(MockLightRAG.PROJECT_ID)
+                .build();
+    }
+
+    @Benchmark
+    public LightRAGQueryResult query() {
+        return lightRAG.query("How does the retrieval pipeline relate to the knowledge graph?", queryParam).join();
+    }
+}
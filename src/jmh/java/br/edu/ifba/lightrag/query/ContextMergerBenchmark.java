@@ -0,0 +1,61 @@
+package br.edu.ifba.lightrag.query;
+
+import br.edu.ifba.benchmark.SyntheticData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round-robin merge of entity, relation and chunk context under a token budget,
+ * as done by the hybrid and mix query modes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.util.logging.manager=org.jboss.logmanager.LogManager")
+public class ContextMergerBenchmark {
+
+    @Param({ "20", "200" })
+    public int itemsPerSource;
+
+    @Param({ "4000", "32000" })
+    public int maxTokens;
+
+    private final ContextMerger merger = new ContextMerger();
+    private List<List<ContextItem>> sources;
+
+    @Setup
+    public void setUp() {
+        List<ContextItem> entities = new ArrayList<>();
+        List<ContextItem> relations = new ArrayList<>();
+        List<ContextItem> chunks = new ArrayList<>();
+        for (int i = 0; i < itemsPerSource; i++) {
+            String name = SyntheticData.entityName(i);
+            entities.add(ContextItem.entity(name, name + ": " + SyntheticData.text(40, i), 60));
+            relations.add(ContextItem.relation(name, SyntheticData.entityName(i + 1),
+                    SyntheticData.text(30, i + 1), 45));
+            // Every other chunk repeats an earlier one to exercise deduplication
+            chunks.add(ContextItem.chunk("chunk-" + (i / 2), SyntheticData.text(200, i / 2), null, 300));
+        }
+        sources = List.of(entities, relations, chunks);
+    }
+
+    @Benchmark
+    public MergeResult merge() {
+        return merger.mergeWithMetadata(sources, maxTokens);
+    }
+}
@@ -0,0 +1,143 @@
+package br.edu.ifba.lightrag.storage;
+
+import br.edu.ifba.benchmark.SQLiteFixture;
+import br.edu.ifba.benchmark.SyntheticData;
+import br.edu.ifba.lightrag.core.Entity;
+import br.edu.ifba.lightrag.core.Relation;
+import br.edu.ifba.lightrag.storage.impl.InMemoryGraphStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Graph storage operations on a pre-seeded graph of {@code scale} entities and
+ * roughly {@code 3 * scale} relations.
+ *
+ * <p>
+ * The default scale keeps a full run short; pass
+ * {@code -p scale=10000,100000,1000000} to reproduce large-project numbers.
+ * PostgreSQL/AGE is not covered here because it needs the Quarkus datasource.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.util.logging.manager=org.jboss.logmanager.LogManager")
+public class GraphStorageBenchmark {
+
+    private static final int SEED_BATCH = 1000;
+
+    @Param({ "memory", "sqlite" })
+    public String backend;
+
+    @Param({ "10000" })
+    public int scale;
+
+    private GraphStorage storage;
+    private SQLiteFixture fixture;
+    private String projectId;
+    private String documentId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        switch (backend) {
+            case "memory" -> {
+                storage = new InMemoryGraphStorage();
+                storage.initialize().join();
+                projectId = "benchmark-project";
+            }
+            case "sqlite" -> {
+                fixture = new SQLiteFixture();
+                storage = fixture.graphStorage();
+                projectId = fixture.projectId();
+                documentId = fixture.documentId();
+            }
+            default -> throw new IllegalArgumentException("Unknown backend: " + backend);
+        }
+        storage.createProjectGraph(projectId).join();
+
+        for (int from = 0; from < scale; from += SEED_BATCH) {
+            int to = Math.min(scale, from + SEED_BATCH);
+            storage.upsertEntities(projectId, SyntheticData.entities(from, to, documentId)).join();
+        }
+        for (int from = 0; from < scale; from += SEED_BATCH) {
+            int to = Math.min(scale, from + SEED_BATCH);
+            storage.upsertRelations(projectId, SyntheticData.relations(from, to, scale, 2, documentId, 42)).join();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        storage.close();
+        if (fixture != null) {
+            fixture.close();
+        }
+    }
+
+    /**
+     * Per-thread cursor so lookups spread over the whole graph.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private final SplittableRandom random = new SplittableRandom(7);
+
+        String nextEntity(int scale) {
+            return SyntheticData.entityName(random.nextInt(scale));
+        }
+
+        List<String> nextEntities(int scale, int count) {
+            List<String> names = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                names.add(nextEntity(scale));
+            }
+            return names;
+        }
+
+        int nextOffset(int scale, int batch) {
+            return random.nextInt(Math.max(1, scale - batch));
+        }
+    }
+
+    @Benchmark
+    public Entity getEntity(Cursor cursor) {
+        return storage.getEntity(projectId, cursor.nextEntity(scale)).join();
+    }
+
+    @Benchmark
+    public List<Entity> getEntities20(Cursor cursor) {
+        return storage.getEntities(projectId, cursor.nextEntities(scale, 20)).join();
+    }
+
+    @Benchmark
+    public List<Relation> getRelationsForEntity(Cursor cursor) {
+        return storage.getRelationsForEntity(projectId, cursor.nextEntity(scale)).join();
+    }
+
+    @Benchmark
+    public GraphStorage.GraphSubgraph traverseDepth2(Cursor cursor) {
+        return storage.traverse(projectId, cursor.nextEntity(scale), 2).join();
+    }
+
+    @Benchmark
+    public Void upsertEntities100(Cursor cursor) {
+        int from = cursor.nextOffset(scale, 100);
+        return storage.upsertEntities(projectId, SyntheticData.entities(from, from + 100, documentId)).join();
+    }
+}
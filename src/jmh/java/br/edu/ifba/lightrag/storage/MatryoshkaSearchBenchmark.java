@@ -0,0 +1,156 @@
+package br.edu.ifba.lightrag.storage;
+
+import br.edu.ifba.benchmark.SQLiteFixture;
+import br.edu.ifba.benchmark.SyntheticData;
+import br.edu.ifba.lightrag.storage.VectorStorage.VectorEntry;
+import br.edu.ifba.lightrag.storage.VectorStorage.VectorFilter;
+import br.edu.ifba.lightrag.storage.VectorStorage.VectorMetadata;
+import br.edu.ifba.lightrag.storage.VectorStorage.VectorSearchResult;
+import br.edu.ifba.lightrag.storage.impl.InMemoryVectorStorage;
+import br.edu.ifba.lightrag.utils.EmbeddingUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Two-stage (coarse prefix, then full vector) search against a full-width
+ * scan. {@code coarseDimension = 0} is the single-stage baseline.
+ *
+ * <p>Recall@topK against exact full-vector ranking is computed once per trial
+ * and printed, so latency and recall can be read from the same run.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.util.logging.manager=org.jboss.logmanager.LogManager")
+public class MatryoshkaSearchBenchmark {
+
+    private static final int SEED_BATCH = 1000;
+    private static final int QUERIES = 64;
+
+    @Param({ "memory", "sqlite" })
+    public String backend;
+
+    @Param({ "10000" })
+    public int size;
+
+    @Param({ "1024" })
+    public int dimension;
+
+    @Param({ "0", "128", "256" })
+    public int coarseDimension;
+
+    @Param({ "4" })
+    public int oversample;
+
+    @Param({ "10" })
+    public int topK;
+
+    private VectorStorage storage;
+    private SQLiteFixture fixture;
+    private VectorFilter filter;
+    private float[][] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        String projectId;
+        String documentId;
+        switch (backend) {
+            case "memory" -> {
+                storage = new InMemoryVectorStorage(coarseDimension, oversample);
+                storage.initialize().join();
+                projectId = "benchmark-project";
+                documentId = "benchmark-document";
+            }
+            case "sqlite" -> {
+                fixture = new SQLiteFixture();
+                storage = fixture.vectorStorage(dimension, coarseDimension, oversample);
+                projectId = fixture.projectId();
+                documentId = fixture.documentId();
+            }
+            default -> throw new IllegalArgumentException("Unknown backend: " + backend);
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        float[][] vectors = new float[size][];
+        for (int from = 0; from < size; from += SEED_BATCH) {
+            int to = Math.min(size, from + SEED_BATCH);
+            List<VectorEntry> entries = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                vectors[i] = SyntheticData.matryoshkaVector(dimension, random);
+                entries.add(new VectorEntry(id(i), vectors[i],
+                        new VectorMetadata("chunk", "Chunk " + i, documentId, i, projectId)));
+            }
+            storage.upsertBatch(entries).join();
+        }
+
+        filter = new VectorFilter("chunk", null, projectId);
+        queries = new float[QUERIES][];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = SyntheticData.matryoshkaVector(dimension, random);
+        }
+
+        System.out.printf("%n[%s, coarse=%d] recall@%d = %.3f%n",
+                backend, coarseDimension, topK, recall(vectors));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        storage.close();
+        if (fixture != null) {
+            fixture.close();
+        }
+    }
+
+    @Benchmark
+    public List<VectorSearchResult> query() {
+        float[] vector = queries[next++ & (queries.length - 1)];
+        return storage.query(vector, topK, filter).join();
+    }
+
+    /**
+     * Mean fraction of the exact top-K (full-vector cosine) returned by the storage.
+     */
+    private double recall(float[][] vectors) {
+        double total = 0;
+        for (float[] query : queries) {
+            Set<String> exact = new HashSet<>();
+            IntStream.range(0, vectors.length).boxed()
+                    .sorted(Comparator.comparingDouble((Integer i) -> EmbeddingUtil.cosineSimilarity(query, vectors[i]))
+                            .reversed())
+                    .limit(topK)
+                    .forEach(i -> exact.add(id(i)));
+            long found = storage.query(query, topK, filter).join().stream()
+                    .filter(result -> exact.contains(result.id()))
+                    .count();
+            total += (double) found / topK;
+        }
+        return total / queries.length;
+    }
+
+    private static String id(int index) {
+        return String.format("00000000-0000-4000-8000-%012d", index);
+    }
+}
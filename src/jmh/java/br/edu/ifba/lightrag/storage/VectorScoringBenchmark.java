@@ -0,0 +1,63 @@
+package br.edu.ifba.lightrag.storage;
+
+import br.edu.ifba.benchmark.SyntheticData;
+import br.edu.ifba.lightrag.utils.EmbeddingUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Raw cosine scoring cost, the inner loop of the in-memory and SQLite
+ * brute-force vector search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.util.logging.manager=org.jboss.logmanager.LogManager")
+public class VectorScoringBenchmark {
+
+    @Param({ "384", "1536" })
+    public int dimension;
+
+    @Param({ "10000" })
+    public int candidates;
+
+    private float[] query;
+    private float[][] corpus;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        query = SyntheticData.unitVector(dimension, random);
+        corpus = new float[candidates][];
+        for (int i = 0; i < candidates; i++) {
+            corpus[i] = SyntheticData.unitVector(dimension, random);
+        }
+    }
+
+    @Benchmark
+    public double singlePair() {
+        return EmbeddingUtil.cosineSimilarity(query, corpus[0]);
+    }
+
+    @Benchmark
+    public void scanCorpus(Blackhole blackhole) {
+        for (float[] candidate : corpus) {
+            blackhole.consume(EmbeddingUtil.cosineSimilarity(query, candidate));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package br.edu.ifba.lightrag.storage;
+
+import br.edu.ifba.benchmark.SQLiteFixture;
+import br.edu.ifba.benchmark.SyntheticData;
+import br.edu.ifba.lightrag.storage.VectorStorage.VectorEntry;
+import br.edu.ifba.lightrag.storage.VectorStorage.VectorFilter;
+import br.edu.ifba.lightrag.storage.VectorStorage.VectorMetadata;
+import br.edu.ifba.lightrag.storage.VectorStorage.VectorSearchResult;
+import br.edu.ifba.lightrag.storage.impl.InMemoryVectorStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top-k similarity search over {@code size} chunk vectors, filtered by project.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.util.logging.manager=org.jboss.logmanager.LogManager")
+public class VectorStorageBenchmark {
+
+    private static final int SEED_BATCH = 1000;
+
+    @Param({ "memory", "sqlite" })
+    public String backend;
+
+    @Param({ "10000" })
+    public int size;
+
+    @Param({ "384" })
+    public int dimension;
+
+    @Param({ "10" })
+    public int topK;
+
+    private VectorStorage storage;
+    private SQLiteFixture fixture;
+    private VectorFilter filter;
+    private float[][] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        String projectId;
+        String documentId;
+        switch (backend) {
+            case "memory" -> {
+                storage = new InMemoryVectorStorage();
+                storage.initialize().join();
+                projectId = "benchmark-project";
+                documentId = "benchmark-document";
+            }
+            case "sqlite" -> {
+                fixture = new SQLiteFixture();
+                storage = fixture.vectorStorage(dimension);
+                projectId = fixture.projectId();
+                documentId = fixture.documentId();
+            }
+            default -> throw new IllegalArgumentException("Unknown backend: " + backend);
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        for (int from = 0; from < size; from += SEED_BATCH) {
+            int to = Math.min(size, from + SEED_BATCH);
+            List<VectorEntry> entries = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                entries.add(new VectorEntry(UUID.randomUUID().toString(),
+                        SyntheticData.unitVector(dimension, random),
+                        new VectorMetadata("chunk", "Chunk " + i, documentId, i, projectId)));
+            }
+            storage.upsertBatch(entries).join();
+        }
+
+        filter = new VectorFilter("chunk", null, projectId);
+        queries = new float[64][];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = SyntheticData.unitVector(dimension, random);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        storage.close();
+        if (fixture != null) {
+            fixture.close();
+        }
+    }
+
+    @Benchmark
+    public List<VectorSearchResult> query() {
+        float[] vector = queries[next++ & (queries.length - 1)];
+        return storage.query(vector, topK, filter).join();
+    }
+}
@@ -0,0 +1,52 @@
+package br.edu.ifba.lightrag.utils;
+
+import br.edu.ifba.benchmark.SyntheticData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token counting and text chunking throughput for plain-text documents.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.util.logging.manager=org.jboss.logmanager.LogManager")
+public class TokenUtilBenchmark {
+
+    @Param({ "1000", "20000" })
+    public int words;
+
+    @Param({ "1200" })
+    public int chunkSize;
+
+    private String text;
+
+    @Setup
+    public void setUp() {
+        text = SyntheticData.text(words, 42);
+    }
+
+    @Benchmark
+    public int estimateTokens() {
+        return TokenUtil.estimateTokens(text);
+    }
+
+    @Benchmark
+    public List<String> chunkText() {
+        return TokenUtil.chunkText(text, chunkSize, 100);
+    }
+}
@@ -0,0 +1,102 @@
+package br.edu.ifba.loadtest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+/**
+ * Load-test input: documents to ingest and questions to ask.
+ */
+final class Corpus {
+
+    private static final String[] TOPICS = {
+            "astronomy", "biology", "chemistry", "economics", "geology", "history", "linguistics",
+            "medicine", "philosophy", "robotics", "sociology", "typography"
+    };
+
+    private static final String[] WORDS = {
+            "analysis", "archive", "boundary", "catalyst", "community", "conjecture", "database",
+            "equation", "evidence", "framework", "hypothesis", "instrument", "laboratory", "mechanism",
+            "network", "observation", "pipeline", "protocol", "research", "sequence", "simulation",
+            "structure", "symposium", "taxonomy", "telescope", "threshold", "university", "variable"
+    };
+
+    private Corpus() {
+    }
+
+    record Doc(String name, String text, String type) {
+    }
+
+    /**
+     * Reads {@code .txt}, {@code .md} and common source files under
+     * {@code directory}; source files are uploaded as CODE.
+     */
+    static List<Doc> load(Path directory) throws IOException {
+        List<Doc> docs = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.filter(Files::isRegularFile).sorted().toList()) {
+                String name = file.getFileName().toString();
+                String extension = name.contains(".") ? name.substring(name.lastIndexOf('.') + 1)
+                        .toLowerCase(Locale.ROOT) : "";
+                String type = switch (extension) {
+                    case "txt", "md" -> "TEXT";
+                    case "java", "py", "js", "ts", "go", "rs", "kt", "c", "cpp", "cs" -> "CODE";
+                    default -> null;
+                };
+                if (type != null) {
+                    docs.add(new Doc(name, Files.readString(file, StandardCharsets.UTF_8), type));
+                }
+            }
+        }
+        if (docs.isEmpty()) {
+            throw new IllegalArgumentException("No .txt, .md or source files found in " + directory);
+        }
+        return docs;
+    }
+
+    /**
+     * {@code count} seeded prose documents of roughly {@code words} words, each
+     * centred on one topic so entities overlap within a topic.
+     */
+    static List<Doc> synthetic(int count, int words, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Doc> docs = new ArrayList<>(count);
+        for (int d = 0; d < count; d++) {
+            String topic = TOPICS[d % TOPICS.length];
+            StringBuilder text = new StringBuilder(words * 9);
+            for (int w = 0; w < words; w++) {
+                text.append(w % 7 == 0 ? topic : WORDS[random.nextInt(WORDS.length)]);
+                text.append(w % 15 == 14 ? (w % 90 == 89 ? ".\n\n" : ". ") : " ");
+            }
+            docs.add(new Doc("synthetic-" + d + ".txt", text.toString(), "TEXT"));
+        }
+        return docs;
+    }
+
+    /**
+     * One question per line of {@code file}, or generated questions about the
+     * synthetic topics when {@code file} is null.
+     */
+    static List<String> queries(Path file) throws IOException {
+        if (file != null) {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8).stream()
+                    .filter(line -> !line.isBlank()).toList();
+            if (lines.isEmpty()) {
+                throw new IllegalArgumentException("No queries in " + file);
+            }
+            return lines;
+        }
+        List<String> queries = new ArrayList<>();
+        for (int i = 0; i < TOPICS.length; i++) {
+            queries.add("How does " + TOPICS[i] + " relate to " + WORDS[i % WORDS.length] + " and "
+                    + WORDS[(i * 7 + 3) % WORDS.length] + "?");
+        }
+        return queries;
+    }
+}
@@ -0,0 +1,57 @@
+package br.edu.ifba.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free recorder of request latencies with nearest-rank percentiles.
+ */
+final class LatencyRecorder {
+
+    private final AtomicLongArray samples;
+    private final AtomicInteger count = new AtomicInteger();
+    private final AtomicInteger errors = new AtomicInteger();
+
+    LatencyRecorder(int capacity) {
+        this.samples = new AtomicLongArray(capacity);
+    }
+
+    void record(long nanos) {
+        int index = count.getAndIncrement();
+        if (index < samples.length()) {
+            samples.set(index, nanos);
+        }
+    }
+
+    void error() {
+        errors.incrementAndGet();
+    }
+
+    Summary summarize(double elapsedSeconds) {
+        int n = Math.min(count.get(), samples.length());
+        long[] sorted = new long[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        return new Summary(n, errors.get(), n / Math.max(elapsedSeconds, 1e-9),
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                n == 0 ? 0 : sorted[n - 1] / 1_000_000.0);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(rank, sorted.length - 1))] / 1_000_000.0;
+    }
+
+    /**
+     * Latencies in milliseconds.
+     */
+    record Summary(int requests, int errors, double throughputPerSecond,
+            double p50, double p95, double p99, double max) {
+    }
+}
@@ -0,0 +1,254 @@
+package br.edu.ifba.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives a running application through its public REST API: creates a
+ * project, uploads the corpus via {@code POST /documents/texts}, polls
+ * {@code GET /documents/{id}/progress} until every document is processed, then
+ * fires concurrent {@code POST /documents/search} and {@code POST /chat}
+ * requests. Server-side counters are read from {@code /q/metrics}.
+ */
+final class LoadDriver {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String baseUrl;
+    private final String token;
+    private final HttpClient http;
+
+    LoadDriver(String baseUrl, String token) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.token = token;
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /**
+     * Blocks until {@code /q/metrics} answers or the timeout elapses.
+     */
+    boolean awaitReady(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                if (send(get("/q/metrics")).statusCode() == 200) {
+                    return true;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(500);
+        }
+        return false;
+    }
+
+    LoadReport.BackendResult run(String backend, List<Corpus.Doc> corpus, List<String> queries,
+            LoadTest.Options options) throws Exception {
+        PrometheusScrape before = scrape();
+        String projectId = createProject("loadtest-" + backend + "-" + System.currentTimeMillis());
+
+        // Ingest
+        long ingestStart = System.nanoTime();
+        List<String> documentIds = upload(projectId, corpus, options.uploadConcurrency());
+        HeapSampler heap = new HeapSampler();
+        int processed = awaitProcessed(documentIds, options.ingestTimeout(), heap);
+        double ingestSeconds = (System.nanoTime() - ingestStart) / 1e9;
+        PrometheusScrape afterIngest = scrape();
+        heap.sample(afterIngest);
+
+        // Query
+        LatencyRecorder.Summary search = fire(options.queryConcurrency(), options.requests(), queries,
+                query -> post("/documents/search", body("query", query, "projectId", projectId)), heap);
+        LatencyRecorder.Summary chat = fire(options.queryConcurrency(), options.requests(), queries,
+                query -> post("/chat", body("message", query, "projectId", projectId)), heap);
+        PrometheusScrape after = scrape();
+        heap.sample(after);
+
+        double chunks = afterIngest.sum("lightrag_chunking_chunks_sum") - before.sum("lightrag_chunking_chunks_sum");
+        String reportedBackend = after.labelValue("lightrag_ingest_duration_seconds_count", "backend");
+        return new LoadReport.BackendResult(
+                reportedBackend != null ? reportedBackend : backend,
+                corpus.size(),
+                processed,
+                ingestSeconds,
+                processed / (ingestSeconds / 60.0),
+                chunks / ingestSeconds,
+                search,
+                chat,
+                heap.maxUsedBytes,
+                after.sum("jvm_memory_max_bytes", "area=\"heap\""),
+                after.sum("jvm_gc_pause_seconds_count") - before.sum("jvm_gc_pause_seconds_count"),
+                (after.sum("jvm_gc_pause_seconds_sum") - before.sum("jvm_gc_pause_seconds_sum")) * 1000.0);
+    }
+
+    private String createProject(String name) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("/projects", body("name", name)));
+        expectSuccess(response, "create project");
+        return MAPPER.readTree(response.body()).path("id").asText();
+    }
+
+    private List<String> upload(String projectId, List<Corpus.Doc> corpus, int concurrency) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Semaphore permits = new Semaphore(concurrency);
+            List<Future<String>> futures = new ArrayList<>(corpus.size());
+            for (Corpus.Doc doc : corpus) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        ObjectNode request = body("text", doc.text(), "projectId", projectId, "filename", doc.name());
+                        request.put("documentType", doc.type());
+                        HttpResponse<String> response = send(post("/documents/texts", request));
+                        expectSuccess(response, "upload " + doc.name());
+                        return MAPPER.readTree(response.body()).path("id").asText();
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            List<String> ids = new ArrayList<>(futures.size());
+            for (Future<String> future : futures) {
+                ids.add(future.get());
+            }
+            return ids;
+        }
+    }
+
+    private int awaitProcessed(List<String> documentIds, Duration timeout, HeapSampler heap) throws Exception {
+        Set<String> pending = new HashSet<>(documentIds);
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!pending.isEmpty() && System.nanoTime() < deadline) {
+            for (String id : List.copyOf(pending)) {
+                HttpResponse<String> response = send(get("/documents/" + id + "/progress"));
+                if (response.statusCode() == 200
+                        && MAPPER.readTree(response.body()).path("progressPercentage").asDouble() >= 100.0) {
+                    pending.remove(id);
+                }
+            }
+            heap.sample(scrape());
+            if (!pending.isEmpty()) {
+                Thread.sleep(1000);
+            }
+        }
+        if (!pending.isEmpty()) {
+            System.err.printf("%d of %d documents were not processed within %s%n",
+                    pending.size(), documentIds.size(), timeout);
+        }
+        return documentIds.size() - pending.size();
+    }
+
+    private LatencyRecorder.Summary fire(int concurrency, int requests, List<String> queries,
+            RequestFactory factory, HeapSampler heap) throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder(requests);
+        AtomicInteger next = new AtomicInteger();
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < concurrency; worker++) {
+                executor.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < requests) {
+                        HttpRequest request = factory.create(queries.get(i % queries.size()));
+                        long t0 = System.nanoTime();
+                        try {
+                            HttpResponse<String> response = send(request);
+                            if (response.statusCode() / 100 == 2) {
+                                recorder.record(System.nanoTime() - t0);
+                            } else {
+                                recorder.error();
+                            }
+                        } catch (IOException e) {
+                            recorder.error();
+                        }
+                    }
+                    return null;
+                });
+            }
+            while (next.get() < requests) {
+                heap.sample(scrape());
+                Thread.sleep(1000);
+            }
+        }
+        return recorder.summarize((System.nanoTime() - start) / 1e9);
+    }
+
+    private PrometheusScrape scrape() throws IOException, InterruptedException {
+        return new PrometheusScrape(send(get("/q/metrics")).body());
+    }
+
+    private HttpRequest get(String path) {
+        return authorize(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET()).build();
+    }
+
+    private HttpRequest post(String path, JsonNode json) {
+        try {
+            return authorize(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(json))))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private HttpRequest.Builder authorize(HttpRequest.Builder builder) {
+        builder.timeout(Duration.ofMinutes(5));
+        if (token != null && !token.isBlank()) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static ObjectNode body(String... keyValues) {
+        ObjectNode node = MAPPER.createObjectNode();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            node.put(keyValues[i], keyValues[i + 1]);
+        }
+        return node;
+    }
+
+    private static void expectSuccess(HttpResponse<String> response, String action) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(action + " failed with HTTP " + response.statusCode()
+                    + ": " + response.body());
+        }
+    }
+
+    @FunctionalInterface
+    private interface RequestFactory {
+        HttpRequest create(String query);
+    }
+
+    /**
+     * Tracks peak heap usage across scrapes.
+     */
+    private static final class HeapSampler {
+        private volatile double maxUsedBytes;
+
+        void sample(PrometheusScrape scrape) {
+            maxUsedBytes = Math.max(maxUsedBytes, scrape.sum("jvm_memory_used_bytes", "area=\"heap\""));
+        }
+    }
+}
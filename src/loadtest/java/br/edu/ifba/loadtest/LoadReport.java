@@ -0,0 +1,73 @@
+package br.edu.ifba.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-backend load-test results, printed as a table and written as JSON.
+ */
+record LoadReport(Map<String, Object> settings, List<BackendResult> backends) {
+
+    /**
+     * Results for one storage backend. Latencies are in milliseconds, heap in
+     * bytes, GC figures are deltas over the run.
+     */
+    record BackendResult(
+            String backend,
+            int documents,
+            int documentsProcessed,
+            double ingestSeconds,
+            double documentsPerMinute,
+            double chunksPerSecond,
+            LatencyRecorder.Summary search,
+            LatencyRecorder.Summary chat,
+            double heapUsedMaxBytes,
+            double heapMaxBytes,
+            double gcPauses,
+            double gcPauseMillis) {
+    }
+
+    void print(PrintStream out) {
+        out.println();
+        out.printf("%-11s %9s %9s %9s | %-6s %8s %8s %8s %8s %6s | %9s %7s %9s%n",
+                "backend", "docs", "docs/min", "chunks/s", "route", "req/s", "p50 ms", "p95 ms", "p99 ms",
+                "errors", "heap MB", "GCs", "GC ms");
+        for (BackendResult result : backends) {
+            String docs = result.documentsProcessed() + "/" + result.documents();
+            row(out, result, docs, "search", result.search());
+            row(out, result, "", "chat", result.chat());
+        }
+        out.println();
+    }
+
+    void write(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), this);
+    }
+
+    private static void row(PrintStream out, BackendResult result, String docs, String route,
+            LatencyRecorder.Summary summary) {
+        boolean first = !docs.isEmpty();
+        out.printf("%-11s %9s %9s %9s | %-6s %8.1f %8.1f %8.1f %8.1f %6d | %9s %7s %9s%n",
+                first ? result.backend() : "",
+                docs,
+                first ? String.format("%.1f", result.documentsPerMinute()) : "",
+                first ? String.format("%.1f", result.chunksPerSecond()) : "",
+                route,
+                summary.throughputPerSecond(),
+                summary.p50(),
+                summary.p95(),
+                summary.p99(),
+                summary.errors(),
+                first ? String.format("%.0f", result.heapUsedMaxBytes() / (1024 * 1024)) : "",
+                first ? String.format("%.0f", result.gcPauses()) : "",
+                first ? String.format("%.0f", result.gcPauseMillis()) : "");
+    }
+}
@@ -0,0 +1,269 @@
+package br.edu.ifba.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offline end-to-end load generator.
+ *
+ * <p>
+ * Commands:
+ * </p>
+ * <ul>
+ * <li>{@code servers} - start the mock model server and block; point
+ * {@code LLM_CHAT_URL}, {@code LLM_EMBEDDING_URL} and the rerank clients at it
+ * when running the application by hand.</li>
+ * <li>{@code drive} - load an already running application at
+ * {@code --base-url} (pass {@code --token} for a Keycloak bearer token).</li>
+ * <li>{@code run} - start the mock server, then for each backend in
+ * {@code --backends} launch the packaged application against it with
+ * locally issued tokens, drive it and stop it.</li>
+ * </ul>
+ *
+ * <p>
+ * Options use {@code --name=value}; see {@link Options#parse(String[])} for
+ * defaults. The report is printed and written to {@code --report}.
+ * </p>
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: LoadTest servers|drive|run [--name=value ...]");
+            System.exit(2);
+        }
+        Options options = Options.parse(args);
+        switch (args[0]) {
+            case "servers" -> servers(options);
+            case "drive" -> drive(options);
+            case "run" -> run(options);
+            default -> {
+                System.err.println("Unknown command: " + args[0]);
+                System.exit(2);
+            }
+        }
+    }
+
+    private static void servers(Options options) throws Exception {
+        try (MockModelServer server = mockServer(options)) {
+            System.out.println("Mock model server listening on " + server.baseUrl());
+            System.out.println("  LLM_CHAT_URL=" + server.baseUrl());
+            System.out.println("  LLM_EMBEDDING_URL=" + server.baseUrl());
+            System.out.println("  LIGHTRAG_VECTOR_DIMENSION=" + options.dimension());
+            System.out.println("  -Dquarkus.rest-client.\"cohere-rerank\".url=" + server.baseUrl());
+            System.out.println("  -Dquarkus.rest-client.\"jina-rerank\".url=" + server.baseUrl());
+            Thread.currentThread().join();
+        }
+    }
+
+    private static void drive(Options options) throws Exception {
+        LoadDriver driver = new LoadDriver(options.baseUrl(), options.token());
+        if (!driver.awaitReady(Duration.ofSeconds(30))) {
+            throw new IllegalStateException("Application not reachable at " + options.baseUrl());
+        }
+        LoadReport.BackendResult result = driver.run(options.backends().getFirst(), corpus(options),
+                Corpus.queries(options.queries()), options);
+        report(options, List.of(result));
+    }
+
+    private static void run(Options options) throws Exception {
+        for (String backend : options.backends()) {
+            Path jar = options.appFor(backend);
+            if (!Files.isRegularFile(jar)) {
+                throw new IllegalArgumentException("Application jar for backend " + backend + " not found: " + jar
+                        + " (build it with ./mvnw package -DskipTests -Dlightrag.storage.backend=" + backend + ")");
+            }
+        }
+        LocalTokenIssuer issuer = new LocalTokenIssuer();
+        List<LoadReport.BackendResult> results = new ArrayList<>();
+        try (MockModelServer server = mockServer(options)) {
+            for (String backend : options.backends()) {
+                Path workDir = Files.createTempDirectory("lightrag-loadtest-" + backend);
+                Process app = launch(options, backend, server, issuer, workDir);
+                try {
+                    LoadDriver driver = new LoadDriver("http://127.0.0.1:" + options.appPort(),
+                            issuer.issue("loadtest", TimeUnit.HOURS.toSeconds(12)));
+                    if (!driver.awaitReady(options.startupTimeout())) {
+                        throw new IllegalStateException("Application did not start for backend " + backend
+                                + ", see " + workDir.resolve("app.log"));
+                    }
+                    results.add(driver.run(backend, corpus(options), Corpus.queries(options.queries()), options));
+                } finally {
+                    app.destroy();
+                    if (!app.waitFor(30, TimeUnit.SECONDS)) {
+                        app.destroyForcibly();
+                    }
+                }
+            }
+            System.out.printf("Mock calls: chat=%d embeddings=%d rerank=%d%n",
+                    server.chatCalls(), server.embeddingCalls(), server.rerankCalls());
+        }
+        report(options, results);
+    }
+
+    private static Process launch(Options options, String backend, MockModelServer server,
+            LocalTokenIssuer issuer, Path workDir) throws IOException {
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Xmx" + options.heap(),
+                "-Dquarkus.http.port=" + options.appPort(),
+                "-Dquarkus.oidc.public-key=" + issuer.publicKey(),
+                "-Dquarkus.oidc.auth-server-url=",
+                "-Dquarkus.otel.sdk.disabled=true",
+                "-Dquarkus.rest-client.\"cohere-rerank\".url=" + server.baseUrl(),
+                "-Dquarkus.rest-client.\"jina-rerank\".url=" + server.baseUrl(),
+                "-Dquarkus.rest-client.\"llm-chat\".logging.scope=none",
+                "-Dquarkus.rest-client.\"llm-embedding\".logging.scope=none",
+                "-jar", options.appFor(backend).toAbsolutePath().toString()));
+
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .directory(workDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(workDir.resolve("app.log").toFile());
+        Map<String, String> env = builder.environment();
+        env.put("LLM_CHAT_URL", server.baseUrl());
+        env.put("LLM_EMBEDDING_URL", server.baseUrl());
+        env.put("LIGHTRAG_STORAGE_BACKEND", backend);
+        if ("sqlite".equals(backend)) {
+            // Deactivates the PostgreSQL datasource and Hibernate ORM
+            env.put("QUARKUS_PROFILE", "sqlite");
+        }
+        env.put("LIGHTRAG_SQLITE_PATH", workDir.resolve("rag.db").toString());
+        env.put("LIGHTRAG_VECTOR_DIMENSION", String.valueOf(options.dimension()));
+        env.put("LIGHTRAG_ENTITY_EXTRACTION_SYSTEM_PROMPT",
+                "Extract entities and relationships from the text below.\n\n{input_text}");
+        boolean rerank = !"none".equals(options.rerank());
+        env.put("LIGHTRAG_RERANK_ENABLED", String.valueOf(rerank));
+        env.put("LIGHTRAG_RERANK_PROVIDER", options.rerank());
+        env.put("COHERE_API_KEY", "mock");
+        env.put("JINA_API_KEY", "mock");
+        System.out.printf("Starting application for backend %s (log: %s)%n", backend, workDir.resolve("app.log"));
+        return builder.start();
+    }
+
+    private static MockModelServer mockServer(Options options) throws IOException {
+        return new MockModelServer(options.mockPort(), options.dimension(),
+                Duration.ofMillis(options.llmLatencyMs()), Duration.ofMillis(options.embeddingLatencyMs()),
+                Duration.ofMillis(options.rerankLatencyMs()), options.jitter()).start();
+    }
+
+    private static List<Corpus.Doc> corpus(Options options) throws IOException {
+        return options.corpus() != null
+                ? Corpus.load(options.corpus())
+                : Corpus.synthetic(options.documents(), options.words(), 42);
+    }
+
+    private static void report(Options options, List<LoadReport.BackendResult> results) throws IOException {
+        LoadReport report = new LoadReport(options.describe(), results);
+        report.print(System.out);
+        report.write(options.report());
+        System.out.println("Report written to " + options.report());
+    }
+
+    /**
+     * Command-line options.
+     */
+    record Options(
+            String baseUrl,
+            String token,
+            Map<String, Path> apps,
+            int appPort,
+            String heap,
+            List<String> backends,
+            int mockPort,
+            int dimension,
+            long llmLatencyMs,
+            long embeddingLatencyMs,
+            long rerankLatencyMs,
+            double jitter,
+            String rerank,
+            Path corpus,
+            int documents,
+            int words,
+            Path queries,
+            int uploadConcurrency,
+            int queryConcurrency,
+            int requests,
+            Duration ingestTimeout,
+            Duration startupTimeout,
+            Path report) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            Map<String, Path> apps = new HashMap<>();
+            for (int i = 1; i < args.length; i++) {
+                String arg = args[i];
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+                }
+                String name = arg.substring(2, arg.indexOf('='));
+                String value = arg.substring(arg.indexOf('=') + 1);
+                if (name.startsWith("app-") && !name.equals("app-port")) {
+                    apps.put(name.substring("app-".length()), Path.of(value));
+                } else {
+                    values.put(name, value);
+                }
+            }
+            apps.putIfAbsent("default", Path.of(values.getOrDefault("app", "target/quarkus-app/quarkus-run.jar")));
+            return new Options(
+                    values.getOrDefault("base-url", "http://localhost:8080"),
+                    values.getOrDefault("token", System.getenv("LOADTEST_TOKEN")),
+                    apps,
+                    Integer.parseInt(values.getOrDefault("app-port", "18080")),
+                    values.getOrDefault("heap", "2g"),
+                    List.of(values.getOrDefault("backends", "sqlite").split(",")),
+                    Integer.parseInt(values.getOrDefault("mock-port", "0")),
+                    Integer.parseInt(values.getOrDefault("dimension", "768")),
+                    Long.parseLong(values.getOrDefault("llm-latency-ms", "200")),
+                    Long.parseLong(values.getOrDefault("embedding-latency-ms", "20")),
+                    Long.parseLong(values.getOrDefault("rerank-latency-ms", "30")),
+                    Double.parseDouble(values.getOrDefault("jitter", "0.2")),
+                    values.getOrDefault("rerank", "none"),
+                    values.containsKey("corpus") ? Path.of(values.get("corpus")) : null,
+                    Integer.parseInt(values.getOrDefault("documents", "50")),
+                    Integer.parseInt(values.getOrDefault("words", "2000")),
+                    values.containsKey("queries") ? Path.of(values.get("queries")) : null,
+                    Integer.parseInt(values.getOrDefault("upload-concurrency", "8")),
+                    Integer.parseInt(values.getOrDefault("query-concurrency", "16")),
+                    Integer.parseInt(values.getOrDefault("requests", "200")),
+                    Duration.ofMinutes(Long.parseLong(values.getOrDefault("ingest-timeout-min", "30"))),
+                    Duration.ofSeconds(Long.parseLong(values.getOrDefault("startup-timeout-s", "120"))),
+                    Path.of(values.getOrDefault("report", "target/loadtest-report.json")));
+        }
+
+        /**
+         * The storage backend is a build-time property, so each backend needs its
+         * own packaged jar ({@code --app-sqlite=...}); {@code --app} is the fallback.
+         */
+        Path appFor(String backend) {
+            return apps.getOrDefault(backend, apps.get("default"));
+        }
+
+        Map<String, Object> describe() {
+            Map<String, Object> settings = new LinkedHashMap<>();
+            settings.put("llmLatencyMs", llmLatencyMs);
+            settings.put("embeddingLatencyMs", embeddingLatencyMs);
+            settings.put("rerankLatencyMs", rerankLatencyMs);
+            settings.put("jitter", jitter);
+            settings.put("rerank", rerank);
+            settings.put("dimension", dimension);
+            settings.put("corpus", corpus != null ? corpus.toString() : documents + " synthetic x " + words + " words");
+            settings.put("uploadConcurrency", uploadConcurrency);
+            settings.put("queryConcurrency", queryConcurrency);
+            settings.put("requests", requests);
+            settings.put("heap", heap);
+            return settings;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package br.edu.ifba.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Issues RS256 bearer tokens that the application accepts when started with
+ * {@code quarkus.oidc.public-key} set to {@link #publicKey()}, so load runs do
+ * not need a Keycloak instance.
+ */
+final class LocalTokenIssuer {
+
+    private static final Base64.Encoder URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final KeyPair keyPair;
+
+    LocalTokenIssuer() throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        this.keyPair = generator.generateKeyPair();
+    }
+
+    /**
+     * Base64 X.509 public key for {@code quarkus.oidc.public-key}.
+     */
+    String publicKey() {
+        return Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded());
+    }
+
+    /**
+     * Token for {@code subject} with the {@code user} realm role, valid for
+     * {@code ttlSeconds}.
+     */
+    String issue(String subject, long ttlSeconds) throws GeneralSecurityException {
+        long now = Instant.now().getEpochSecond();
+        String header = "{\"alg\":\"RS256\",\"typ\":\"JWT\"}";
+        String payload = "{\"sub\":\"" + subject + "\",\"preferred_username\":\"" + subject + "\","
+                + "\"iat\":" + now + ",\"exp\":" + (now + ttlSeconds) + ","
+                + "\"realm_access\":{\"roles\":[\"user\"]}}";
+        String signingInput = URL.encodeToString(header.getBytes(StandardCharsets.UTF_8)) + "."
+                + URL.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+
+        Signature signature = Signature.getInstance("SHA256withRSA");
+        signature.initSign(keyPair.getPrivate());
+        signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+        return signingInput + "." + URL.encodeToString(signature.sign());
+    }
+}
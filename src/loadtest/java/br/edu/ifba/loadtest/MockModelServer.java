@@ -0,0 +1,231 @@
+package br.edu.ifba.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Local HTTP stand-in for every model provider the application talks to.
+ *
+ * <p>
+ * One listener serves the routes of all four REST clients, so each client's
+ * base URL can point at the same address:
+ * </p>
+ * <ul>
+ * <li>{@code POST /chat/completions} - {@code LlmChatClient} (OpenAI format)</li>
+ * <li>{@code POST /embeddings} - {@code LlmEmbeddingClient}</li>
+ * <li>{@code POST /v1/rerank} - {@code CohereRerankClient} and
+ * {@code JinaRerankClient}</li>
+ * </ul>
+ *
+ * <p>
+ * Latency is simulated per route as {@code base ± jitter}. Response bodies come
+ * from {@link MockResponses} and are deterministic for a given request.
+ * </p>
+ */
+public final class MockModelServer implements AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+    private final MockResponses responses;
+    private final Duration chatLatency;
+    private final Duration embeddingLatency;
+    private final Duration rerankLatency;
+    private final double jitter;
+
+    private final AtomicLong chatCalls = new AtomicLong();
+    private final AtomicLong embeddingCalls = new AtomicLong();
+    private final AtomicLong rerankCalls = new AtomicLong();
+
+    /**
+     * @param port             listen port, 0 for an ephemeral port
+     * @param dimension        embedding dimension (must match
+     *                         {@code lightrag.vector.dimension})
+     * @param chatLatency      base latency of a chat completion
+     * @param embeddingLatency base latency of an embedding batch
+     * @param rerankLatency    base latency of a rerank call
+     * @param jitter           relative jitter in [0, 1], e.g. 0.2 for ±20%
+     */
+    public MockModelServer(int port, int dimension, Duration chatLatency, Duration embeddingLatency,
+            Duration rerankLatency, double jitter) throws IOException {
+        this.responses = new MockResponses(dimension);
+        this.chatLatency = chatLatency;
+        this.embeddingLatency = embeddingLatency;
+        this.rerankLatency = rerankLatency;
+        this.jitter = Math.max(0.0, Math.min(1.0, jitter));
+
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 256);
+        server.createContext("/chat/completions", json(this::chat));
+        server.createContext("/embeddings", json(this::embeddings));
+        server.createContext("/v1/rerank", json(this::rerank));
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    public MockModelServer start() {
+        server.start();
+        return this;
+    }
+
+    /**
+     * Base URL to use for all four REST clients.
+     */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long chatCalls() {
+        return chatCalls.get();
+    }
+
+    public long embeddingCalls() {
+        return embeddingCalls.get();
+    }
+
+    public long rerankCalls() {
+        return rerankCalls.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private JsonNode chat(JsonNode request) {
+        chatCalls.incrementAndGet();
+        String system = "";
+        StringBuilder user = new StringBuilder();
+        for (JsonNode message : request.path("messages")) {
+            String role = message.path("role").asText();
+            String content = message.path("content").asText("");
+            if ("system".equals(role)) {
+                system = content;
+            } else {
+                user.append(content).append('\n');
+            }
+        }
+        String answer = responses.chat(system, user.toString());
+        sleep(chatLatency);
+
+        ObjectNode message = MAPPER.createObjectNode().put("role", "assistant").put("content", answer);
+        ObjectNode choice = MAPPER.createObjectNode().put("index", 0).put("finish_reason", "stop");
+        choice.set("message", message);
+        ObjectNode response = MAPPER.createObjectNode()
+                .put("id", "mock-" + chatCalls.get())
+                .put("object", "chat.completion")
+                .put("created", System.currentTimeMillis() / 1000)
+                .put("model", request.path("model").asText("mock"));
+        response.putArray("choices").add(choice);
+        int promptTokens = (system.length() + user.length()) / 4;
+        int completionTokens = answer.length() / 4;
+        response.putObject("usage")
+                .put("prompt_tokens", promptTokens)
+                .put("completion_tokens", completionTokens)
+                .put("total_tokens", promptTokens + completionTokens);
+        return response;
+    }
+
+    private JsonNode embeddings(JsonNode request) {
+        embeddingCalls.incrementAndGet();
+        JsonNode input = request.path("input");
+        List<String> texts = new ArrayList<>();
+        if (input.isArray()) {
+            input.forEach(node -> texts.add(node.asText()));
+        } else {
+            texts.add(input.asText());
+        }
+        sleep(embeddingLatency);
+
+        ObjectNode response = MAPPER.createObjectNode().put("model", request.path("model").asText("mock"));
+        ArrayNode data = response.putArray("data");
+        for (int i = 0; i < texts.size(); i++) {
+            ObjectNode item = data.addObject().put("index", i).put("object", "embedding");
+            ArrayNode vector = item.putArray("embedding");
+            for (float value : responses.embedding(texts.get(i))) {
+                vector.add(value);
+            }
+        }
+        return response;
+    }
+
+    private JsonNode rerank(JsonNode request) {
+        rerankCalls.incrementAndGet();
+        String query = request.path("query").asText("");
+        List<String> documents = new ArrayList<>();
+        request.path("documents").forEach(node -> documents.add(node.isTextual() ? node.asText()
+                : node.path("text").asText()));
+        int topN = request.has("top_n") ? request.path("top_n").asInt() : request.path("topN").asInt(documents.size());
+        sleep(rerankLatency);
+
+        ObjectNode response = MAPPER.createObjectNode().put("id", "mock-rerank-" + rerankCalls.get());
+        ArrayNode results = response.putArray("results");
+        for (MockResponses.Score score : responses.rerank(query, documents, topN)) {
+            // The provider APIs use snake_case; the client records bind camelCase
+            results.addObject()
+                    .put("index", score.index())
+                    .put("relevance_score", score.value())
+                    .put("relevanceScore", score.value());
+        }
+        return response;
+    }
+
+    private void sleep(Duration base) {
+        long millis = base.toMillis();
+        if (millis <= 0) {
+            return;
+        }
+        if (jitter > 0) {
+            double factor = 1.0 + ThreadLocalRandom.current().nextDouble(-jitter, jitter);
+            millis = Math.round(millis * factor);
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static HttpHandler json(Function<JsonNode, JsonNode> route) {
+        return exchange -> {
+            try (exchange) {
+                if (!"POST".equals(exchange.getRequestMethod())) {
+                    send(exchange, 405, "{\"error\":\"method not allowed\"}".getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+                JsonNode request;
+                try (InputStream body = exchange.getRequestBody()) {
+                    request = MAPPER.readTree(body);
+                }
+                send(exchange, 200, MAPPER.writeValueAsBytes(route.apply(request)));
+            } catch (RuntimeException e) {
+                send(exchange, 500, MAPPER.writeValueAsBytes(
+                        MAPPER.createObjectNode().put("error", String.valueOf(e.getMessage()))));
+            }
+        };
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package br.edu.ifba.loadtest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic response bodies for {@link MockModelServer}.
+ *
+ * <p>
+ * Chat requests are routed by their system prompt: entity extraction and
+ * gleaning get valid {@code entity<|#|>...}/{@code relation<|#|>...} tuples
+ * (or the JSON format for code extraction), keyword extraction gets
+ * {@code HIGH_LEVEL_KEYWORDS}/{@code LOW_LEVEL_KEYWORDS} lines, and everything
+ * else gets a short answer. Entity names are taken from the longest words of
+ * the input text, so entities repeat across chunks that share vocabulary and
+ * query keywords hit the graph.
+ * </p>
+ */
+final class MockResponses {
+
+    private static final int ENTITIES_PER_CHUNK = 6;
+
+    private static final Set<String> TEMPLATE_WORDS = Set.of(
+            "extract", "entities", "entity", "relationships", "relation", "relations", "following",
+            "types", "language", "english", "output", "format", "source", "previous", "extraction");
+
+    private final int dimension;
+
+    MockResponses(int dimension) {
+        this.dimension = dimension;
+    }
+
+    record Score(int index, double value) {
+    }
+
+    String chat(String systemPrompt, String userPrompt) {
+        String system = systemPrompt.toLowerCase(Locale.ROOT);
+        String input = systemPrompt + "\n" + userPrompt;
+        if (system.contains("keyword")) {
+            return keywords(userPrompt);
+        }
+        if (system.contains("source code") && system.contains("json")) {
+            return codeExtraction(systemPrompt, userPrompt);
+        }
+        if (system.contains("entit") && system.contains("relation")
+                || system.contains("missed")) {
+            return extraction(systemPrompt, userPrompt);
+        }
+        if (system.contains("summar")) {
+            return "Consolidated description produced by the mock summarizer.";
+        }
+        return "Mock answer grounded on the provided context (" + Math.floorMod(input.hashCode(), 1000) + ").";
+    }
+
+    float[] embedding(String text) {
+        SplittableRandom random = new SplittableRandom(text.hashCode());
+        float[] vector = new float[dimension];
+        double norm = 0;
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) (random.nextDouble() * 2 - 1);
+            norm += vector[i] * vector[i];
+        }
+        float inv = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < dimension; i++) {
+            vector[i] *= inv;
+        }
+        return vector;
+    }
+
+    /**
+     * Scores documents by the share of query terms they contain.
+     */
+    List<Score> rerank(String query, List<String> documents, int topN) {
+        Set<String> terms = terms(query, Integer.MAX_VALUE);
+        List<Score> scores = new ArrayList<>(documents.size());
+        for (int i = 0; i < documents.size(); i++) {
+            String document = documents.get(i).toLowerCase(Locale.ROOT);
+            long hits = terms.stream().filter(document::contains).count();
+            double score = terms.isEmpty() ? 0.5 : 0.1 + 0.9 * hits / terms.size();
+            scores.add(new Score(i, score));
+        }
+        scores.sort(Comparator.comparingDouble(Score::value).reversed());
+        return scores.subList(0, Math.min(Math.max(topN, 0), scores.size()));
+    }
+
+    private String extraction(String systemPrompt, String userPrompt) {
+        List<String> names = entityNames(systemPrompt, userPrompt);
+        StringBuilder response = new StringBuilder();
+        for (String name : names) {
+            response.append("entity<|#|>").append(name).append("<|#|>concept<|#|>")
+                    .append(name).append(" is a concept discussed in the source text.\n");
+        }
+        for (int i = 1; i < names.size(); i++) {
+            response.append("relation<|#|>").append(names.get(i - 1)).append("<|#|>").append(names.get(i))
+                    .append("<|#|>related, co-occurs<|#|>").append(names.get(i - 1))
+                    .append(" appears together with ").append(names.get(i)).append(".\n");
+        }
+        return response.append("<|COMPLETE|>").toString();
+    }
+
+    private String codeExtraction(String systemPrompt, String userPrompt) {
+        List<String> names = entityNames(systemPrompt, userPrompt);
+        StringBuilder json = new StringBuilder("{\"entities\":[");
+        for (int i = 0; i < names.size(); i++) {
+            json.append(i == 0 ? "" : ",").append("{\"name\":\"").append(names.get(i))
+                    .append("\",\"type\":\"function\",\"description\":\"Function ").append(names.get(i))
+                    .append("\"}");
+        }
+        json.append("],\"relationships\":[");
+        for (int i = 1; i < names.size(); i++) {
+            json.append(i == 1 ? "" : ",").append("{\"source\":\"").append(names.get(i - 1))
+                    .append("\",\"target\":\"").append(names.get(i))
+                    .append("\",\"type\":\"calls\",\"description\":\"").append(names.get(i - 1))
+                    .append(" calls ").append(names.get(i)).append("\"}");
+        }
+        return json.append("]}").toString();
+    }
+
+    private String keywords(String query) {
+        List<String> terms = new ArrayList<>(terms(query, 6));
+        int split = Math.max(1, terms.size() / 2);
+        String high = terms.isEmpty() ? "overview" : String.join(", ", terms.subList(0, Math.min(split, terms.size())));
+        String low = terms.size() <= split ? high : String.join(", ", terms.subList(split, terms.size()));
+        return "HIGH_LEVEL_KEYWORDS: " + high + "\nLOW_LEVEL_KEYWORDS: " + low;
+    }
+
+    /**
+     * Extraction calls carry the chunk in the system prompt and a fixed
+     * instruction in the user prompt, so words of the instruction (and a few
+     * template words) are excluded to keep names tied to the chunk content.
+     */
+    private List<String> entityNames(String systemPrompt, String userPrompt) {
+        Set<String> excluded = terms(userPrompt, Integer.MAX_VALUE);
+        excluded.addAll(TEMPLATE_WORDS);
+        List<String> names = new ArrayList<>();
+        for (String term : terms(systemPrompt, Integer.MAX_VALUE)) {
+            if (names.size() == ENTITIES_PER_CHUNK) {
+                break;
+            }
+            if (excluded.contains(term)) {
+                continue;
+            }
+            names.add(Character.toUpperCase(term.charAt(0)) + term.substring(1));
+        }
+        return names;
+    }
+
+    /**
+     * Longest distinct words first, ties broken alphabetically.
+     */
+    private static Set<String> terms(String text, int limit) {
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() >= 5) {
+                distinct.add(word);
+            }
+        }
+        List<String> sorted = new ArrayList<>(distinct);
+        sorted.sort(Comparator.comparingInt(String::length).reversed().thenComparing(Comparator.naturalOrder()));
+        return new LinkedHashSet<>(sorted.subList(0, Math.min(limit, sorted.size())));
+    }
+}
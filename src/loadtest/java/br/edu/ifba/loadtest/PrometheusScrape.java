@@ -0,0 +1,80 @@
+package br.edu.ifba.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Minimal parser for the Prometheus text exposition format served on
+ * {@code /q/metrics}. Samples with the same name are summed across labels
+ * unless a label filter is given.
+ */
+final class PrometheusScrape {
+
+    private final Map<String, Double> sums = new HashMap<>();
+    private final String body;
+
+    PrometheusScrape(String body) {
+        this.body = body;
+        for (String line : body.split("\n")) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            int space = line.lastIndexOf(' ');
+            int brace = line.indexOf('{');
+            String name = brace > 0 && brace < space ? line.substring(0, brace) : line.substring(0, space);
+            double value;
+            try {
+                value = Double.parseDouble(line.substring(space + 1));
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            if (Double.isNaN(value)) {
+                continue;
+            }
+            sums.merge(name, value, Double::sum);
+        }
+    }
+
+    /**
+     * Sum of every sample of {@code name}.
+     */
+    double sum(String name) {
+        return sums.getOrDefault(name, 0.0);
+    }
+
+    /**
+     * Sum of samples of {@code name} whose label set contains {@code label}
+     * (e.g. {@code area="heap"}).
+     */
+    double sum(String name, String label) {
+        double total = 0;
+        for (String line : body.split("\n")) {
+            if (line.startsWith(name + "{") && line.contains(label)) {
+                try {
+                    total += Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+                } catch (NumberFormatException e) {
+                    // Skip malformed sample
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Value of the {@code label} (e.g. {@code backend}) on the first sample
+     * of {@code name} that carries it, or {@code null}.
+     */
+    String labelValue(String name, String label) {
+        String key = label + "=\"";
+        for (String line : body.split("\n")) {
+            if (line.startsWith(name + "{")) {
+                int start = line.indexOf(key);
+                if (start > 0) {
+                    start += key.length();
+                    return line.substring(start, line.indexOf('"', start));
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -19,14 +19,25 @@ public record ChatRequest(
      * Optional flag to enable/disable reranking for this request.
      * If null, uses the global configuration (lightrag.rerank.enabled).
      */
-    Boolean rerank
+    Boolean rerank,
+    
+    /**
+     * Optional client-chosen conversation identifier. When present, the running
+     * summary of compacted history is cached under it; otherwise the cache key
+     * is derived from the first history message.
+     */
+    String conversationId
     
 ) {
     public ChatRequest(final UUID projectId, final String message) {
-        this(projectId, message, null, null);
+        this(projectId, message, null, null, null);
     }
     
     public ChatRequest(final UUID projectId, final String message, final List<ChatMessage> history) {
         this(projectId, message, history, null);
     }
+    
+    public ChatRequest(final UUID projectId, final String message, final List<ChatMessage> history, final Boolean rerank) {
+        this(projectId, message, history, rerank, null);
+    }
 }
@@ -3,10 +3,14 @@ package br.edu.ifba.chat;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
-import br.edu.ifba.document.SearchResponse;
+import br.edu.ifba.document.RetrievalResponse;
 import br.edu.ifba.document.SearchResult;
 import br.edu.ifba.document.SearchService;
+import br.edu.ifba.lightrag.query.HistoryCompactor;
+import br.edu.ifba.lightrag.utils.TokenUtil;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
@@ -43,6 +47,26 @@ public class ChatService {
     @ConfigProperty(name = "chat.system.prompt.no.context")
     String systemPromptNoContext;
 
+    @ConfigProperty(name = "chat.history.max.tokens", defaultValue = "2000")
+    Integer historyMaxTokens;
+
+    @ConfigProperty(name = "chat.history.recent.turns", defaultValue = "6")
+    Integer historyRecentTurns;
+
+    @ConfigProperty(name = "chat.history.summarize", defaultValue = "true")
+    Boolean historySummarize;
+
+    @ConfigProperty(name = "chat.history.cache.size", defaultValue = "1000")
+    Integer historyCacheSize;
+
+    private HistoryCompactor historyCompactor;
+
+    @PostConstruct
+    void init() {
+        historyCompactor = new HistoryCompactor(historyMaxTokens, historyRecentTurns, historyCacheSize,
+                historySummarize ? this::summarizeHistory : null);
+    }
+
     public ChatResponse chat(final ChatRequest request) {
         final UUID projectId = request.projectId();
         final String userMessage = request.message();
@@ -51,23 +75,23 @@ public class ChatService {
 
         LOG.infof("Processing chat request for project: %s, message: '%s', rerank: %s", projectId, userMessage, enableRerank);
 
-        final SearchResponse searchResponse = searchService.search(userMessage, projectId, enableRerank);
-        final List<SearchResult> sources = searchResponse.results();
+        // Retrieval only: the chat LLM call below is the single answer generation
+        final RetrievalResponse retrieval = searchService.retrieve(userMessage, projectId, enableRerank);
+        final List<SearchResult> sources = retrieval.sources();
 
-        final String contextPrompt = buildContextPrompt(sources);
+        final String contextPrompt = buildContextPrompt(retrieval.context(), sources);
         
-        final List<ChatMessage> messages = buildMessages(contextPrompt, history, userMessage);
+        final List<ChatMessage> messages = buildMessages(contextPrompt,
+                compactHistory(projectId, request.conversationId(), history), userMessage);
 
         final LlmChatRequest llmRequest = new LlmChatRequest(chatModel, messages, false, maxTokens, temperature, topP);
         
-        // Calculate total token estimate for debugging
-        int totalChars = messages.stream()
-                .mapToInt(msg -> msg.content() != null ? msg.content().length() : 0)
+        final int promptTokens = messages.stream()
+                .mapToInt(msg -> TokenUtil.estimateTokensSafe(msg.content()))
                 .sum();
-        int estimatedTokens = totalChars / 4; // Rough estimate: 1 token ~= 4 chars
         
-        LOG.infof("Sending request to LLM - sources: %d, messages: %d, total_chars: %d, estimated_tokens: %d, max_tokens: %d, total_budget: %d", 
-                sources.size(), messages.size(), totalChars, estimatedTokens, maxTokens, estimatedTokens + maxTokens);
+        LOG.infof("Sending request to LLM - sources: %d, messages: %d (history: %d), prompt_tokens: %d, max_tokens: %d, total_budget: %d", 
+                sources.size(), messages.size(), history.size(), promptTokens, maxTokens, promptTokens + maxTokens);
 
         final LlmChatResponse llmResponse = chatClient.chat(llmRequest);
 
@@ -151,64 +175,27 @@ public class ChatService {
         );
     }
 
-    private String buildContextPrompt(final List<SearchResult> sources) {
-        if (sources.isEmpty()) {
-            return systemPromptNoContext;
-        }
+    private String buildContextPrompt(final String retrievedContext, final List<SearchResult> sources) {
+        final int citableSources = (int) sources.stream()
+                .filter(source -> source.documentId() != null)
+                .count();
 
-        // Count citable sources (exclude "LightRAG Answer" at index 0)
-        int citableSources = 0;
-        boolean hasLightRAGAnswer = false;
-        for (int i = 0; i < sources.size(); i++) {
-            final SearchResult source = sources.get(i);
-            // Check if first source is LightRAG synthesized answer
-            if (i == 0 && source.documentId() == null && "LightRAG Answer".equals(source.source())) {
-                hasLightRAGAnswer = true;
-                continue;
-            }
-            if (source.documentId() != null) {
-                citableSources++;
-            }
-        }
-
-        // If no citable sources exist:
-        // - If we have a LightRAG answer (e.g., from GLOBAL mode with entities), check if it's valid
-        // - Otherwise, use the no-context prompt
+        // If no citable sources exist (e.g., GLOBAL mode with only entities/relations),
+        // fall back to the knowledge graph context assembled by retrieval, if any
         if (citableSources == 0) {
-            if (hasLightRAGAnswer) {
-                final SearchResult lightRAGAnswer = sources.get(0);
-                final String answerText = lightRAGAnswer.chunkText();
-                
-                // Check if LightRAG response is empty/blank or indicates no information
-                // Only reject if the ENTIRE response is a "not found" message
-                // Accept partial answers that contain some information even if they indicate missing parts
-                if (answerText == null || answerText.isBlank()) {
-                    LOG.infof("LightRAG returned empty answer, using no-context prompt");
-                    return systemPromptNoContext;
-                }
-                
-                // Check if response is ONLY a "not found" message (no other content)
-                String trimmed = answerText.trim();
-                if (trimmed.equals("Não encontrei informações sobre isso nos documentos disponíveis.") ||
-                    trimmed.equals("Não há documentos disponíveis neste projeto.") ||
-                    trimmed.equals("Não há documentos disponíveis neste projeto. Por favor, adicione documentos relevantes para que eu possa responder suas perguntas.")) {
-                    LOG.infof("LightRAG has no valid content (only 'not found' message), using no-context prompt");
-                    return systemPromptNoContext;
-                }
-                
-                LOG.infof("No citable sources but LightRAG answer available, using it as context");
-                // Use the LightRAG answer as the context
-                final StringBuilder context = new StringBuilder();
-                context.append(systemPromptWithContext);
-                context.append("\n\n");
-                context.append("Contexto (baseado no grafo de conhecimento):\n");
-                context.append(answerText);
-                context.append("\n\nResponda com base neste contexto.");
-                return context.toString();
-            } else {
-                LOG.infof("No citable sources available, using no-context prompt");
+            if (retrievedContext == null || retrievedContext.isBlank()) {
+                LOG.infof("No citable sources or retrieved context available, using no-context prompt");
                 return systemPromptNoContext;
             }
+
+            LOG.infof("No citable sources but knowledge graph context available, using it as context");
+            final StringBuilder context = new StringBuilder();
+            context.append(systemPromptWithContext);
+            context.append("\n\n");
+            context.append("Contexto (baseado no grafo de conhecimento):\n");
+            context.append(retrievedContext);
+            context.append("\n\nResponda com base neste contexto.");
+            return context.toString();
         }
 
         final StringBuilder context = new StringBuilder();
@@ -219,28 +206,14 @@ public class ChatService {
         context.append("IMPORTANTE: Ao responder, você DEVE citar as fontes dos DOCUMENTOS ORIGINAIS usando o ID do chunk entre colchetes. ");
         context.append("Exemplo: [chunk_a1b2c3d4_5]. ");
         context.append("NUNCA invente IDs de citação. Use APENAS os IDs exatos fornecidos entre colchetes nos DOCUMENTOS ORIGINAIS abaixo. ");
-        context.append("NÃO cite a 'RESPOSTA SINTETIZADA' - ela é apenas contexto de apoio. ");
         context.append("SOMENTE cite documentos originais com IDs explícitos. ");
         context.append("Se não houver ID listado para uma informação, NÃO cite.\n\n");
         context.append(String.format("Fontes disponíveis (%d documento(s)):\n\n", citableSources));
 
         // Format sources with chunk ID citations
-        // Note: All sources (except index 0 "LightRAG Answer") are guaranteed to have document IDs
-        // because SearchService filters out sources without document IDs
-        for (int i = 0; i < sources.size(); i++) {
-            final SearchResult source = sources.get(i);
-            
-            // First source is usually the LightRAG synthesized answer - include it as helpful context
-            // but make it clear it's NOT citable
-            if (i == 0 && source.documentId() == null && "LightRAG Answer".equals(source.source())) {
-                context.append("=== RESPOSTA SINTETIZADA (use como referência, MAS NÃO CITE) ===\n");
-                context.append(source.chunkText());
-                context.append("\n\n=== DOCUMENTOS ORIGINAIS (use estes IDs para citação) ===\n\n");
-                continue;
-            }
-            
-            // Add source with chunk ID citation
-            // All sources here should have document IDs due to filtering in SearchService
+        // All sources are guaranteed to have document IDs because SearchService
+        // filters out sources without document IDs
+        for (final SearchResult source : sources) {
             if (source.documentId() != null) {
                 // Format citation with chunk ID for unique identification
                 context.append(String.format("[%s] ", source.id()));
@@ -253,14 +226,63 @@ public class ChatService {
                 context.append(source.chunkText());
                 context.append("\n\n");
             } else {
-                // This should not happen anymore due to filtering, but keep as fallback
+                // This should not happen due to filtering, but keep as fallback
                 LOG.warnf("Unexpected source without document ID in chat context: %s", source.source());
             }
         }
 
+        // Knowledge graph context (entities and relations) complements the chunks but has no IDs to cite
+        if (retrievedContext != null && !retrievedContext.isBlank()) {
+            context.append("Contexto (grafo de conhecimento) - use como apoio, mas NÃO cite:\n");
+            context.append(retrievedContext);
+            context.append("\n");
+        }
+
         return context.toString();
     }
 
+    /**
+     * Fits the client-supplied history into the history token budget. Older
+     * messages are replaced by a running summary sent as a system message.
+     */
+    private List<ChatMessage> compactHistory(final UUID projectId, final String conversationId,
+            final List<ChatMessage> history) {
+        final List<HistoryCompactor.Turn> turns = history.stream()
+                .filter(msg -> msg.role() != null && msg.content() != null)
+                .map(msg -> new HistoryCompactor.Turn(msg.role(), msg.content()))
+                .toList();
+        final HistoryCompactor.Compacted compacted = historyCompactor.compact(
+                projectId != null ? projectId.toString() : null, conversationId, turns);
+
+        final List<ChatMessage> messages = new ArrayList<>();
+        if (compacted.summary() != null && !compacted.summary().isBlank()) {
+            messages.add(new ChatMessage("system", "Resumo da conversa anterior:\n" + compacted.summary()));
+        }
+        compacted.recent().forEach(turn -> messages.add(new ChatMessage(turn.role(), turn.content())));
+        if (!compacted.isCompacted()) {
+            return messages;
+        }
+        LOG.infof("Compacted chat history: %d messages summarized, %d kept verbatim",
+                compacted.summarizedTurns(), compacted.recent().size());
+        return messages;
+    }
+
+    /**
+     * Summarizes older history with the chat model. The chat request already
+     * blocks on the LLM, so the call is made on the caller's thread.
+     */
+    private CompletableFuture<String> summarizeHistory(final String prompt, final int summaryTokens) {
+        final LlmChatRequest request = new LlmChatRequest(chatModel, List.of(
+                new ChatMessage("system", HistoryCompactor.SUMMARY_SYSTEM_PROMPT),
+                new ChatMessage("user", prompt)), false, summaryTokens, 0.0, topP);
+        final LlmChatResponse response = chatClient.chat(request);
+        if (response == null || response.choices() == null || response.choices().isEmpty()
+                || response.choices().get(0).message() == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.completedFuture(response.choices().get(0).message().content());
+    }
+
     private List<ChatMessage> buildMessages(final String contextPrompt, 
                                            final List<ChatMessage> history,
                                            final String userMessage) {
@@ -1,11 +1,16 @@
 package br.edu.ifba.chat;
 
+import io.smallrye.mutiny.Multi;
+import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
 import org.eclipse.microprofile.config.ConfigProvider;
 import org.eclipse.microprofile.rest.client.annotation.ClientHeaderParam;
 import org.eclipse.microprofile.rest.client.annotation.RegisterProvider;
 import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
+import org.jboss.resteasy.reactive.RestStreamElementType;
 
 @RegisterRestClient(configKey = "llm-chat")
 @RegisterProvider(LlmChatClientExceptionMapper.class)
@@ -16,6 +21,19 @@ public interface LlmChatClient {
     @Path("/chat/completions")
     LlmChatResponse chat(LlmChatRequest request);
 
+    /**
+     * Streams a completion as server-sent events. The request must set
+     * {@code stream=true}; each element is the raw {@code data} payload, a
+     * {@link LlmChatStreamChunk} JSON document or the final {@code [DONE]}.
+     * Cancelling the subscription closes the connection.
+     */
+    @POST
+    @Path("/chat/completions")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @RestStreamElementType(MediaType.TEXT_PLAIN)
+    Multi<String> chatStream(LlmChatRequest request);
+
     default String lookupAuth() {
         return ConfigProvider.getConfig()
             .getOptionalValue("llm-chat.api-key", String.class)
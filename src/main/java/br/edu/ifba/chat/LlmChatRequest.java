@@ -25,15 +25,24 @@ public record LlmChatRequest(
      * Set to {"effort": "none"} to disable reasoning tokens.
      * @see <a href="https://openrouter.ai/docs/guides/best-practices/reasoning-tokens">OpenRouter Reasoning Tokens</a>
      */
-    Map<String, Object> reasoning
+    Map<String, Object> reasoning,
+    
+    /**
+     * Streaming options. Streamed requests ask for {"include_usage": true} so
+     * the provider reports token usage in the last event.
+     */
+    @JsonProperty("stream_options")
+    Map<String, Object> streamOptions
 ) {
     /**
      * Default reasoning configuration that disables reasoning tokens.
      */
     private static final Map<String, Object> REASONING_DISABLED = Map.of("effort", "none");
+    
+    private static final Map<String, Object> STREAM_INCLUDE_USAGE = Map.of("include_usage", true);
 
     public LlmChatRequest(final String model, final List<ChatMessage> messages) {
-        this(model, messages, false, null, null, null, REASONING_DISABLED);
+        this(model, messages, false, null, null, null, REASONING_DISABLED, null);
     }
 
     public LlmChatRequest(
@@ -43,6 +52,7 @@ public record LlmChatRequest(
             final Integer maxTokens,
             final Double temperature,
             final Double topP) {
-        this(model, messages, stream, maxTokens, temperature, topP, REASONING_DISABLED);
+        this(model, messages, stream, maxTokens, temperature, topP, REASONING_DISABLED,
+                Boolean.TRUE.equals(stream) ? STREAM_INCLUDE_USAGE : null);
     }
 }
@@ -0,0 +1,40 @@
+package br.edu.ifba.chat;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * One server-sent event of a streamed chat completion
+ * ({@code "stream": true}); the text arrives in {@code choices[0].delta}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record LlmChatStreamChunk(
+    String id,
+    String model,
+    List<Choice> choices,
+    LlmChatResponse.Usage usage
+) {
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Choice(
+        Integer index,
+        ChatMessage delta,
+
+        @JsonProperty("finish_reason")
+        String finishReason
+    ) {}
+
+    /**
+     * The text delta of the first choice, or an empty string.
+     */
+    public String content() {
+        if (choices == null || choices.isEmpty() || choices.get(0).delta() == null) {
+            return "";
+        }
+        final String content = choices.get(0).delta().content();
+        return content != null ? content : "";
+    }
+}
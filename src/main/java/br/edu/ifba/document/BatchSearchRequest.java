@@ -0,0 +1,16 @@
+package br.edu.ifba.document;
+
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+public record BatchSearchRequest(
+        @NotEmpty(message = "Queries cannot be empty")
+        List<@NotBlank(message = "Query cannot be blank") String> queries,
+        
+        @NotNull(message = "Project ID is required")
+        UUID projectId) {
+}
@@ -0,0 +1,15 @@
+package br.edu.ifba.document;
+
+import java.util.List;
+
+/**
+ * Result of one question in a batch search, streamed as soon as the question
+ * completes.
+ *
+ * @param index position of the question in the request
+ * @param query the question
+ * @param results the answer followed by its source chunks, as in {@link SearchResponse}; empty on failure
+ * @param error failure message, or null if the question succeeded
+ */
+public record BatchSearchResult(int index, String query, List<SearchResult> results, String error) {
+}
@@ -0,0 +1,17 @@
+package br.edu.ifba.document;
+
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Request DTO for deleting many documents of a project in one call.
+ */
+public record BulkDeleteRequest(
+        @NotNull UUID projectId,
+        @NotEmpty @NotNull List<UUID> documentIds,
+        Boolean skipRebuild
+) {
+}
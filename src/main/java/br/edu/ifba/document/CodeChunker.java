@@ -4,12 +4,11 @@ import jakarta.enterprise.context.ApplicationScoped;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Chunks source code files while respecting logical boundaries.
- * Uses regex-based heuristics for language-agnostic boundary detection.
+ * Uses the precompiled per-language rules of {@link CodeSyntax} for boundary
+ * detection, falling back to language-agnostic heuristics.
  */
 @ApplicationScoped
 public class CodeChunker {
@@ -29,16 +28,6 @@ public class CodeChunker {
         String chunkType
     ) {}
     
-    /**
-     * Represents a code boundary (function, class, import block).
-     */
-    private record Boundary(
-        int lineNumber,
-        String type,
-        String name,
-        int indentLevel
-    ) {}
-    
     /**
      * Chunks code content into logical units.
      *
@@ -61,29 +50,28 @@ public class CodeChunker {
         final int maxChars = maxTokens * CHARS_PER_TOKEN;
         final int overlapChars = overlapTokens * CHARS_PER_TOKEN;
         
-        final String[] lines = content.split("\n", -1);
-        final List<Boundary> boundaries = detectBoundaries(lines);
+        // Line views into the content instead of split copies
+        final int[] lineStarts = lineStarts(content);
+        final int lineCount = lineStarts.length;
+        final CodeSyntax.LineMatch[] boundaries = detectBoundaries(content, fileName, lineCount);
         final List<CodeChunk> chunks = new ArrayList<>();
         
         // Group lines into chunks based on boundaries
         int currentStart = 0;
-        StringBuilder currentChunk = new StringBuilder();
         String currentScope = "FILE";
         String currentScopeType = "FILE";
         
-        for (int i = 0; i < lines.length; i++) {
-            final String line = lines[i];
-            
-            // Check if we're at a major boundary
-            final Boundary boundary = findBoundaryAt(boundaries, i + 1);
+        for (int i = 0; i < lineCount; i++) {
+            final int lineLength = lineLength(content, lineStarts, i);
             
             // Estimate if adding this line would exceed chunk size
-            final int estimatedSize = currentChunk.length() + line.length() + 1;
+            final int currentLength = lineStarts[i] - lineStarts[currentStart];
+            final int estimatedSize = currentLength + lineLength + 1;
             
-            if (estimatedSize > maxChars && currentChunk.length() > 0) {
+            if (estimatedSize > maxChars && currentLength > 0) {
                 // Current chunk is full, emit it
                 chunks.add(new CodeChunk(
-                    currentChunk.toString(),
+                    content.substring(lineStarts[currentStart], lineStarts[i]),
                     currentStart + 1,
                     i,
                     currentScope,
@@ -92,36 +80,23 @@ public class CodeChunker {
                 ));
                 
                 // Start new chunk with overlap
-                currentChunk = new StringBuilder();
-                currentStart = Math.max(0, i - calculateOverlapLines(lines, i, overlapChars));
-                
-                // Add overlap lines
-                for (int j = currentStart; j < i; j++) {
-                    currentChunk.append(lines[j]).append("\n");
-                }
-            }
-            
-            // Add current line
-            currentChunk.append(line);
-            if (i < lines.length - 1) {
-                currentChunk.append("\n");
+                currentStart = Math.max(0, i - calculateOverlapLines(content, lineStarts, i, overlapChars));
             }
             
             // Update scope if we crossed a boundary
-            if (boundary != null) {
-                if (boundary.type.equals("CLASS") || boundary.type.equals("FUNCTION")) {
-                    currentScope = boundary.name;
-                    currentScopeType = boundary.type;
-                }
+            final CodeSyntax.LineMatch boundary = boundaries[i];
+            if (boundary != null && boundary.kind() != CodeSyntax.Kind.IMPORT) {
+                currentScope = boundary.name();
+                currentScopeType = boundary.kind().name();
             }
         }
         
         // Add final chunk
-        if (currentChunk.length() > 0) {
+        if (lineStarts[currentStart] < content.length()) {
             chunks.add(new CodeChunk(
-                currentChunk.toString(),
+                content.substring(lineStarts[currentStart]),
                 currentStart + 1,
-                lines.length,
+                lineCount,
                 currentScope,
                 currentScopeType,
                 "CODE"
@@ -132,149 +107,51 @@ public class CodeChunker {
     }
     
     /**
-     * Detects code boundaries (functions, classes, imports).
+     * Detects code boundaries (functions, classes, imports) in one scan with
+     * the rules of the file's language, indexed by zero-based line.
      */
-    private List<Boundary> detectBoundaries(final String[] lines) {
-        final List<Boundary> boundaries = new ArrayList<>();
-        
-        for (int i = 0; i < lines.length; i++) {
-            final String line = lines[i].trim();
-            final int indent = countIndentation(lines[i]);
-            final int lineNumber = i + 1;
-            
-            // Detect import statements
-            if (isImportLine(line)) {
-                boundaries.add(new Boundary(lineNumber, "IMPORT", "imports", indent));
-                continue;
-            }
-            
-            // Detect class declarations (universal patterns)
-            final String className = detectClass(line);
-            if (className != null) {
-                boundaries.add(new Boundary(lineNumber, "CLASS", className, indent));
-                continue;
-            }
-            
-            // Detect function/method declarations (universal patterns)
-            final String functionName = detectFunction(line);
-            if (functionName != null) {
-                boundaries.add(new Boundary(lineNumber, "FUNCTION", functionName, indent));
-            }
+    private CodeSyntax.LineMatch[] detectBoundaries(final String content, final String fileName, final int lineCount) {
+        final CodeSyntax.LineMatch[] boundaries = new CodeSyntax.LineMatch[lineCount];
+        for (final CodeSyntax.LineMatch match : CodeSyntax.forFileName(fileName).scan(content)) {
+            boundaries[match.line() - 1] = match;
         }
-        
         return boundaries;
     }
     
     /**
-     * Detects if line is an import statement.
-     */
-    private boolean isImportLine(final String line) {
-        return line.startsWith("import ") ||
-               line.startsWith("from ") ||
-               line.startsWith("require(") ||
-               line.startsWith("use ") ||
-               line.startsWith("#include");
-    }
-    
-    /**
-     * Detects class declaration and returns class name.
-     * Universal patterns for multiple languages.
+     * Returns the offset of the first character of every line.
      */
-    private String detectClass(final String line) {
-        // Java/C#/TypeScript: class ClassName
-        // Python: class ClassName:
-        // Rust: struct ClassName
-        // Go: type ClassName struct
-        
-        final Pattern[] classPatterns = {
-            Pattern.compile("^(?:export\\s+)?(?:public\\s+|private\\s+|protected\\s+)?(?:abstract\\s+)?class\\s+([A-Z][a-zA-Z0-9_]*)"),
-            Pattern.compile("^(?:export\\s+)?(?:public\\s+|private\\s+)?interface\\s+([A-Z][a-zA-Z0-9_]*)"),
-            Pattern.compile("^class\\s+([A-Z][a-zA-Z0-9_]*)\\s*[:\\(]"),  // Python
-            Pattern.compile("^(?:pub\\s+)?struct\\s+([A-Z][a-zA-Z0-9_]*)"),  // Rust
-            Pattern.compile("^(?:pub\\s+)?enum\\s+([A-Z][a-zA-Z0-9_]*)"),  // Rust
-            Pattern.compile("^type\\s+([A-Z][a-zA-Z0-9_]*)\\s+struct"),  // Go
-            Pattern.compile("^type\\s+([A-Z][a-zA-Z0-9_]*)\\s+interface")  // Go
-        };
-        
-        for (final Pattern pattern : classPatterns) {
-            final Matcher matcher = pattern.matcher(line);
-            if (matcher.find()) {
-                return matcher.group(1);
-            }
-        }
-        
-        return null;
-    }
-    
-    /**
-     * Detects function/method declaration and returns function name.
-     * Universal patterns for multiple languages.
-     */
-    private String detectFunction(final String line) {
-        // Java/C#: public void methodName(
-        // Python: def function_name(
-        // JavaScript: function functionName( or const functionName = 
-        // Go: func functionName(
-        // Rust: fn function_name(
-        
-        final Pattern[] functionPatterns = {
-            Pattern.compile("^(?:export\\s+)?(?:public\\s+|private\\s+|protected\\s+|static\\s+)*(?:[A-Z][a-zA-Z0-9_<>]*\\s+)?([a-z][a-zA-Z0-9_]*)\\s*\\("),  // Java/C#
-            Pattern.compile("^def\\s+([a-z_][a-zA-Z0-9_]*)\\s*\\("),  // Python
-            Pattern.compile("^(?:async\\s+)?function\\s+([a-z][a-zA-Z0-9_]*)\\s*\\("),  // JavaScript
-            Pattern.compile("^(?:export\\s+)?const\\s+([a-z][a-zA-Z0-9_]*)\\s*=\\s*(?:async\\s+)?\\("),  // Arrow functions
-            Pattern.compile("^func\\s+([a-z][a-zA-Z0-9_]*)\\s*\\("),  // Go
-            Pattern.compile("^(?:pub\\s+)?fn\\s+([a-z_][a-zA-Z0-9_]*)\\s*[<(]")  // Rust
-        };
-        
-        for (final Pattern pattern : functionPatterns) {
-            final Matcher matcher = pattern.matcher(line);
-            if (matcher.find()) {
-                return matcher.group(1);
-            }
+    private static int[] lineStarts(final String content) {
+        int count = 1;
+        for (int i = content.indexOf('\n'); i >= 0; i = content.indexOf('\n', i + 1)) {
+            count++;
         }
-        
-        return null;
-    }
-    
-    /**
-     * Counts indentation level (spaces/tabs).
-     */
-    private int countIndentation(final String line) {
-        int count = 0;
-        for (int i = 0; i < line.length(); i++) {
-            final char c = line.charAt(i);
-            if (c == ' ') {
-                count++;
-            } else if (c == '\t') {
-                count += 4;  // Treat tab as 4 spaces
-            } else {
-                break;
-            }
+        final int[] starts = new int[count];
+        int line = 1;
+        for (int i = content.indexOf('\n'); i >= 0; i = content.indexOf('\n', i + 1)) {
+            starts[line++] = i + 1;
         }
-        return count;
+        return starts;
     }
     
     /**
-     * Finds boundary at specific line number.
+     * Length of a line excluding its terminating newline.
      */
-    private Boundary findBoundaryAt(final List<Boundary> boundaries, final int lineNumber) {
-        for (final Boundary boundary : boundaries) {
-            if (boundary.lineNumber == lineNumber) {
-                return boundary;
-            }
-        }
-        return null;
+    private static int lineLength(final String content, final int[] lineStarts, final int line) {
+        final int end = line + 1 < lineStarts.length ? lineStarts[line + 1] - 1 : content.length();
+        return end - lineStarts[line];
     }
     
     /**
      * Calculates how many lines to include in overlap.
      */
-    private int calculateOverlapLines(final String[] lines, final int currentIndex, final int overlapChars) {
+    private int calculateOverlapLines(final String content, final int[] lineStarts, final int currentIndex,
+            final int overlapChars) {
         int chars = 0;
         int lineCount = 0;
         
         for (int i = currentIndex - 1; i >= 0 && chars < overlapChars; i--) {
-            chars += lines[i].length() + 1;  // +1 for newline
+            chars += lineLength(content, lineStarts, i) + 1;  // +1 for newline
             lineCount++;
         }
         
@@ -14,9 +14,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 /**
  * Extracts text and metadata from source code files.
@@ -71,12 +68,45 @@ public class CodeDocumentExtractor implements DocumentExtractor {
         final EncodingDetectionResult encodingResult = detectEncoding(allBytes);
         final String content = new String(encodingResult.bytesWithoutBom, encodingResult.charset);
         
+        return buildCodeMetadata(content, encodingResult.charset);
+    }
+    
+    @Override
+    public ExtractedDocument extractWithMetadata(final InputStream inputStream) throws IOException {
+        // Read once; text and metadata share the same decoded content
+        final byte[] allBytes = inputStream.readAllBytes();
+        
+        if (binaryDetector.isBinaryContent(allBytes)) {
+            throw new IOException("Binary file detected - cannot extract code from binary content");
+        }
+        
+        final EncodingDetectionResult encodingResult;
+        final String content;
+        try {
+            encodingResult = detectEncoding(allBytes);
+            content = new String(encodingResult.bytesWithoutBom, encodingResult.charset);
+        } catch (final Exception e) {
+            throw new IOException("Failed to decode file with detected encoding: " + e.getMessage(), e);
+        }
+        
+        return new ExtractedDocument(content, buildCodeMetadata(content, encodingResult.charset));
+    }
+    
+    private static int countLines(final String content) {
+        int lines = 1;
+        for (int i = content.indexOf('\n'); i >= 0; i = content.indexOf('\n', i + 1)) {
+            lines++;
+        }
+        return lines;
+    }
+    
+    private Map<String, Object> buildCodeMetadata(final String content, final Charset charset) {
         final Map<String, Object> metadata = new HashMap<>();
         
         // Basic metrics
         metadata.put("characterCount", content.length());
-        metadata.put("lineCount", content.isEmpty() ? 0 : content.split("\n", -1).length);
-        metadata.put("encoding", encodingResult.charset.name());
+        metadata.put("lineCount", content.isEmpty() ? 0 : countLines(content));
+        metadata.put("encoding", charset.name());
         
         // Language detection (using extension detection method)
         metadata.put("languageDetectionMethod", "extension");
@@ -86,12 +116,11 @@ public class CodeDocumentExtractor implements DocumentExtractor {
         if (detectedLanguage != null) {
             metadata.put("language", detectedLanguage);
             
-            // Extract imports
-            final List<String> imports = extractImports(content, detectedLanguage);
+            // Extract imports and top-level declarations
+            final List<String> imports = new ArrayList<>();
+            final List<Map<String, Object>> declarations = new ArrayList<>();
+            extractStructure(content, detectedLanguage, imports, declarations);
             metadata.put("imports", imports);
-            
-            // Extract top-level declarations
-            final List<Map<String, Object>> declarations = extractTopLevelDeclarations(content, detectedLanguage);
             metadata.put("topLevelDeclarations", declarations);
         }
         
@@ -237,341 +266,30 @@ public class CodeDocumentExtractor implements DocumentExtractor {
     }
     
     /**
-     * Extracts import statements from source code.
-     * 
-     * @param content The source code content
-     * @param language The programming language
-     * @return List of imported modules/packages
-     */
-    private List<String> extractImports(final String content, final String language) {
-        final List<String> imports = new ArrayList<>();
-        
-        if (content == null || content.isEmpty()) {
-            return imports;
-        }
-        
-        switch (language) {
-            case "java":
-                extractJavaImports(content, imports);
-                break;
-            case "python":
-                extractPythonImports(content, imports);
-                break;
-            case "javascript":
-            case "typescript":
-                extractJavaScriptImports(content, imports);
-                break;
-            case "go":
-                extractGoImports(content, imports);
-                break;
-            case "rust":
-                extractRustImports(content, imports);
-                break;
-            default:
-                // No import extraction for unknown languages
-                break;
-        }
-        
-        return imports;
-    }
-    
-    private void extractJavaImports(final String content, final List<String> imports) {
-        final Pattern pattern = Pattern.compile("^\\s*import\\s+([a-zA-Z0-9._]+)\\s*;", Pattern.MULTILINE);
-        final Matcher matcher = pattern.matcher(content);
-        
-        while (matcher.find()) {
-            imports.add(matcher.group(1));
-        }
-    }
-    
-    private void extractPythonImports(final String content, final List<String> imports) {
-        // Match "import os" or "import sys"
-        final Pattern importPattern = Pattern.compile("^\\s*import\\s+([a-zA-Z0-9_]+)", Pattern.MULTILINE);
-        final Matcher importMatcher = importPattern.matcher(content);
-        
-        while (importMatcher.find()) {
-            imports.add(importMatcher.group(1));
-        }
-        
-        // Match "from pathlib import Path"
-        final Pattern fromPattern = Pattern.compile("^\\s*from\\s+([a-zA-Z0-9_.]+)\\s+import", Pattern.MULTILINE);
-        final Matcher fromMatcher = fromPattern.matcher(content);
-        
-        while (fromMatcher.find()) {
-            imports.add(fromMatcher.group(1));
-        }
-    }
-    
-    private void extractJavaScriptImports(final String content, final List<String> imports) {
-        // Match: import { Component } from '@angular/core';
-        // Match: import axios from 'axios';
-        // Match: import * as React from 'react';
-        final Pattern pattern = Pattern.compile(
-            "^\\s*import\\s+.*?from\\s+['\"]([^'\"]+)['\"]", 
-            Pattern.MULTILINE
-        );
-        final Matcher matcher = pattern.matcher(content);
-        
-        while (matcher.find()) {
-            imports.add(matcher.group(1));
-        }
-    }
-    
-    private void extractGoImports(final String content, final List<String> imports) {
-        // Match single import: import "fmt"
-        final Pattern singlePattern = Pattern.compile("^\\s*import\\s+\"([^\"]+)\"", Pattern.MULTILINE);
-        final Matcher singleMatcher = singlePattern.matcher(content);
-        
-        while (singleMatcher.find()) {
-            imports.add(singleMatcher.group(1));
-        }
-        
-        // Match multi-import block: import ( "fmt" "os" )
-        final Pattern blockPattern = Pattern.compile("import\\s*\\(([^)]+)\\)", Pattern.DOTALL);
-        final Matcher blockMatcher = blockPattern.matcher(content);
-        
-        while (blockMatcher.find()) {
-            final String block = blockMatcher.group(1);
-            final Pattern importLinePattern = Pattern.compile("\"([^\"]+)\"");
-            final Matcher importLineMatcher = importLinePattern.matcher(block);
-            
-            while (importLineMatcher.find()) {
-                imports.add(importLineMatcher.group(1));
-            }
-        }
-    }
-    
-    private void extractRustImports(final String content, final List<String> imports) {
-        // Match: use std::io;
-        // Match: use serde::{Serialize, Deserialize};
-        final Pattern pattern = Pattern.compile("^\\s*use\\s+([a-zA-Z0-9_:]+)", Pattern.MULTILINE);
-        final Matcher matcher = pattern.matcher(content);
-        
-        while (matcher.find()) {
-            imports.add(matcher.group(1));
-        }
-    }
-    
-    /**
-     * Extracts top-level declarations (classes, interfaces, functions).
+     * Extracts import statements and top-level declarations in a single scan
+     * with the precompiled rules of the detected language.
      * 
      * @param content The source code content
      * @param language The programming language
-     * @return List of declarations with name, type, and line number
+     * @param imports Receives imported modules/packages
+     * @param declarations Receives declarations with name, type, and line number
      */
-    private List<Map<String, Object>> extractTopLevelDeclarations(final String content, final String language) {
-        final List<Map<String, Object>> declarations = new ArrayList<>();
-        
-        if (content == null || content.isEmpty()) {
-            return declarations;
-        }
-        
-        final String[] lines = content.split("\n", -1);
-        
-        switch (language) {
-            case "java":
-                extractJavaDeclarations(lines, declarations);
-                break;
-            case "python":
-                extractPythonDeclarations(lines, declarations);
-                break;
-            case "javascript":
-            case "typescript":
-                extractJavaScriptDeclarations(lines, declarations);
-                break;
-            case "go":
-                extractGoDeclarations(lines, declarations);
-                break;
-            case "rust":
-                extractRustDeclarations(lines, declarations);
-                break;
-            default:
-                // No declaration extraction for unknown languages
-                break;
-        }
-        
-        return declarations;
-    }
-    
-    private void extractJavaDeclarations(final String[] lines, final List<Map<String, Object>> declarations) {
-        final Pattern classPattern = Pattern.compile("^\\s*(public|private|protected)?\\s*(abstract|final)?\\s*class\\s+([a-zA-Z0-9_]+)");
-        final Pattern interfacePattern = Pattern.compile("^\\s*(public|private|protected)?\\s*interface\\s+([a-zA-Z0-9_]+)");
-        final Pattern enumPattern = Pattern.compile("^\\s*(public|private|protected)?\\s*enum\\s+([a-zA-Z0-9_]+)");
-        
-        for (int i = 0; i < lines.length; i++) {
-            final String line = lines[i];
-            
-            Matcher matcher = classPattern.matcher(line);
-            if (matcher.find()) {
-                final Map<String, Object> decl = new HashMap<>();
-                decl.put("type", "class");
-                decl.put("name", matcher.group(3));
-                decl.put("line", i + 1);
-                declarations.add(decl);
-                continue;
-            }
-            
-            matcher = interfacePattern.matcher(line);
-            if (matcher.find()) {
-                final Map<String, Object> decl = new HashMap<>();
-                decl.put("type", "interface");
-                decl.put("name", matcher.group(2));
-                decl.put("line", i + 1);
-                declarations.add(decl);
-                continue;
-            }
-            
-            matcher = enumPattern.matcher(line);
-            if (matcher.find()) {
-                final Map<String, Object> decl = new HashMap<>();
-                decl.put("type", "enum");
-                decl.put("name", matcher.group(2));
-                decl.put("line", i + 1);
-                declarations.add(decl);
-            }
-        }
-    }
-    
-    private void extractPythonDeclarations(final String[] lines, final List<Map<String, Object>> declarations) {
-        final Pattern classPattern = Pattern.compile("^class\\s+([a-zA-Z0-9_]+)");
-        final Pattern functionPattern = Pattern.compile("^def\\s+([a-zA-Z0-9_]+)\\s*\\(");
-        
-        for (int i = 0; i < lines.length; i++) {
-            final String line = lines[i];
-            
-            Matcher matcher = classPattern.matcher(line);
-            if (matcher.find()) {
-                final Map<String, Object> decl = new HashMap<>();
-                decl.put("type", "class");
-                decl.put("name", matcher.group(1));
-                decl.put("line", i + 1);
-                declarations.add(decl);
-                continue;
-            }
-            
-            matcher = functionPattern.matcher(line);
-            if (matcher.find()) {
-                final Map<String, Object> decl = new HashMap<>();
-                decl.put("type", "function");
-                decl.put("name", matcher.group(1));
-                decl.put("line", i + 1);
-                declarations.add(decl);
-            }
-        }
-    }
-    
-    private void extractJavaScriptDeclarations(final String[] lines, final List<Map<String, Object>> declarations) {
-        final Pattern classPattern = Pattern.compile("^\\s*(export\\s+)?(class|interface)\\s+([a-zA-Z0-9_]+)");
-        final Pattern functionPattern = Pattern.compile("^\\s*(export\\s+)?(function|async\\s+function)\\s+([a-zA-Z0-9_]+)\\s*\\(");
-        final Pattern constFunctionPattern = Pattern.compile("^\\s*(export\\s+)?const\\s+([a-zA-Z0-9_]+)\\s*=\\s*(\\([^)]*\\)|[a-zA-Z0-9_]+)\\s*=>");
-        
-        for (int i = 0; i < lines.length; i++) {
-            final String line = lines[i];
-            
-            Matcher matcher = classPattern.matcher(line);
-            if (matcher.find()) {
-                final Map<String, Object> decl = new HashMap<>();
-                decl.put("type", matcher.group(2)); // "class" or "interface"
-                decl.put("name", matcher.group(3));
-                decl.put("line", i + 1);
-                declarations.add(decl);
-                continue;
-            }
-            
-            matcher = functionPattern.matcher(line);
-            if (matcher.find()) {
-                final Map<String, Object> decl = new HashMap<>();
-                decl.put("type", "function");
-                decl.put("name", matcher.group(3));
-                decl.put("line", i + 1);
-                declarations.add(decl);
-                continue;
-            }
-            
-            matcher = constFunctionPattern.matcher(line);
-            if (matcher.find()) {
-                final Map<String, Object> decl = new HashMap<>();
-                decl.put("type", "function");
-                decl.put("name", matcher.group(2));
-                decl.put("line", i + 1);
-                declarations.add(decl);
-            }
-        }
-    }
-    
-    private void extractGoDeclarations(final String[] lines, final List<Map<String, Object>> declarations) {
-        final Pattern typePattern = Pattern.compile("^type\\s+([a-zA-Z0-9_]+)\\s+(struct|interface)");
-        final Pattern funcPattern = Pattern.compile("^func\\s+([a-zA-Z0-9_]+)\\s*\\(");
-        
-        for (int i = 0; i < lines.length; i++) {
-            final String line = lines[i];
-            
-            Matcher matcher = typePattern.matcher(line);
-            if (matcher.find()) {
-                final Map<String, Object> decl = new HashMap<>();
-                decl.put("type", matcher.group(2)); // "struct" or "interface"
-                decl.put("name", matcher.group(1));
-                decl.put("line", i + 1);
-                declarations.add(decl);
-                continue;
-            }
-            
-            matcher = funcPattern.matcher(line);
-            if (matcher.find()) {
-                final Map<String, Object> decl = new HashMap<>();
-                decl.put("type", "function");
-                decl.put("name", matcher.group(1));
-                decl.put("line", i + 1);
-                declarations.add(decl);
-            }
-        }
-    }
-    
-    private void extractRustDeclarations(final String[] lines, final List<Map<String, Object>> declarations) {
-        final Pattern structPattern = Pattern.compile("^(pub\\s+)?struct\\s+([a-zA-Z0-9_]+)");
-        final Pattern enumPattern = Pattern.compile("^(pub\\s+)?enum\\s+([a-zA-Z0-9_]+)");
-        final Pattern traitPattern = Pattern.compile("^(pub\\s+)?trait\\s+([a-zA-Z0-9_]+)");
-        final Pattern fnPattern = Pattern.compile("^(pub\\s+)?fn\\s+([a-zA-Z0-9_]+)\\s*\\(");
-        
-        for (int i = 0; i < lines.length; i++) {
-            final String line = lines[i];
-            
-            Matcher matcher = structPattern.matcher(line);
-            if (matcher.find()) {
-                final Map<String, Object> decl = new HashMap<>();
-                decl.put("type", "struct");
-                decl.put("name", matcher.group(2));
-                decl.put("line", i + 1);
-                declarations.add(decl);
-                continue;
-            }
-            
-            matcher = enumPattern.matcher(line);
-            if (matcher.find()) {
-                final Map<String, Object> decl = new HashMap<>();
-                decl.put("type", "enum");
-                decl.put("name", matcher.group(2));
-                decl.put("line", i + 1);
-                declarations.add(decl);
-                continue;
-            }
-            
-            matcher = traitPattern.matcher(line);
-            if (matcher.find()) {
-                final Map<String, Object> decl = new HashMap<>();
-                decl.put("type", "trait");
-                decl.put("name", matcher.group(2));
-                decl.put("line", i + 1);
-                declarations.add(decl);
-                continue;
-            }
-            
-            matcher = fnPattern.matcher(line);
-            if (matcher.find()) {
+    private void extractStructure(final String content, final String language,
+            final List<String> imports, final List<Map<String, Object>> declarations) {
+        final CodeSyntax.RuleSet rules = CodeSyntax.forLanguage(language);
+        if (rules.isGeneric()) {
+            // No import/declaration extraction for unknown languages
+            return;
+        }
+        
+        for (final CodeSyntax.LineMatch match : rules.scan(content)) {
+            if (match.kind() == CodeSyntax.Kind.IMPORT) {
+                imports.add(match.name());
+            } else if (match.declaration()) {
                 final Map<String, Object> decl = new HashMap<>();
-                decl.put("type", "function");
-                decl.put("name", matcher.group(2));
-                decl.put("line", i + 1);
+                decl.put("type", match.type());
+                decl.put("name", match.name());
+                decl.put("line", match.line());
                 declarations.add(decl);
             }
         }
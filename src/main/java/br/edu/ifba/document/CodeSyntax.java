@@ -0,0 +1,303 @@
+package br.edu.ifba.document;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Precompiled, per-language line rules shared by {@link CodeChunker} and
+ * {@link CodeDocumentExtractor}.
+ *
+ * <p>
+ * Every rule set is compiled once, when the class is loaded. A scan walks the
+ * content a single time and matches each line in place (matcher regions over
+ * the original string, no {@code split("\n")} copies). Only the rules of the
+ * selected language are tried; unknown languages fall back to a generic set
+ * of cross-language patterns.
+ * </p>
+ */
+public final class CodeSyntax {
+
+    /**
+     * What a line declares.
+     */
+    public enum Kind {
+        IMPORT, CLASS, FUNCTION
+    }
+
+    /**
+     * Which matches are reported as top-level declarations in document
+     * metadata.
+     */
+    private enum Declaration {
+        /** Never (imports, methods, generic fallbacks). */
+        NONE,
+        /** Only when the line is not indented. */
+        TOP_LEVEL,
+        /** At any indentation. */
+        ANY
+    }
+
+    /**
+     * A rule hit on one line.
+     *
+     * @param kind        what the line declares
+     * @param type        declaration type ("class", "interface", "function",
+     *                    ...) or "import"
+     * @param name        declared name, or the import target
+     * @param line        1-based line number
+     * @param indent      leading indentation (tab counts as 4)
+     * @param declaration whether this is a top-level declaration for metadata
+     */
+    public record LineMatch(Kind kind, String type, String name, int line, int indent, boolean declaration) {
+    }
+
+    private record Rule(Kind kind, String type, Pattern pattern, int nameGroup, Declaration declaration) {
+    }
+
+    /**
+     * The compiled rules of one language.
+     */
+    public static final class RuleSet {
+        private final String language;
+        private final Rule[] rules;
+        private final Pattern importBlockStart;
+        private final Pattern importBlockItem;
+
+        private RuleSet(String language, List<Rule> rules, Pattern importBlockStart, Pattern importBlockItem) {
+            this.language = language;
+            this.rules = rules.toArray(new Rule[0]);
+            this.importBlockStart = importBlockStart;
+            this.importBlockItem = importBlockItem;
+        }
+
+        public String language() {
+            return language;
+        }
+
+        /**
+         * Whether this is the cross-language fallback set.
+         */
+        public boolean isGeneric() {
+            return this == GENERIC;
+        }
+
+        /**
+         * Scans the content once and returns the matches in line order. The
+         * first matching rule wins for each line.
+         */
+        public List<LineMatch> scan(String content) {
+            final List<LineMatch> matches = new ArrayList<>();
+            if (content == null || content.isEmpty()) {
+                return matches;
+            }
+
+            final Matcher[] matchers = new Matcher[rules.length];
+            for (int r = 0; r < rules.length; r++) {
+                matchers[r] = rules[r].pattern().matcher(content);
+            }
+            final Matcher blockStart = importBlockStart != null ? importBlockStart.matcher(content) : null;
+            final Matcher blockItem = importBlockItem != null ? importBlockItem.matcher(content) : null;
+            boolean inImportBlock = false;
+
+            final int length = content.length();
+            int lineStart = 0;
+            int lineNumber = 0;
+            while (lineStart <= length) {
+                int lineEnd = content.indexOf('\n', lineStart);
+                if (lineEnd < 0) {
+                    lineEnd = length;
+                }
+                lineNumber++;
+
+                int first = lineStart;
+                int indent = 0;
+                while (first < lineEnd) {
+                    final char c = content.charAt(first);
+                    if (c == ' ') {
+                        indent++;
+                    } else if (c == '\t') {
+                        indent += 4;
+                    } else {
+                        break;
+                    }
+                    first++;
+                }
+
+                if (inImportBlock) {
+                    if (first < lineEnd && content.charAt(first) == ')') {
+                        inImportBlock = false;
+                    } else if (blockItem.region(lineStart, lineEnd).find()) {
+                        matches.add(new LineMatch(Kind.IMPORT, "import", blockItem.group(1), lineNumber, indent, false));
+                    }
+                } else if (first < lineEnd && mayDeclare(content.charAt(first))) {
+                    if (blockStart != null && blockStart.region(lineStart, lineEnd).lookingAt()) {
+                        inImportBlock = true;
+                    } else {
+                        matchLine(matchers, lineStart, lineEnd, lineNumber, indent, matches);
+                    }
+                }
+
+                lineStart = lineEnd + 1;
+            }
+            return matches;
+        }
+
+        private void matchLine(Matcher[] matchers, int lineStart, int lineEnd, int lineNumber, int indent,
+                List<LineMatch> matches) {
+            for (int r = 0; r < rules.length; r++) {
+                final Matcher matcher = matchers[r].region(lineStart, lineEnd);
+                if (matcher.lookingAt()) {
+                    final Rule rule = rules[r];
+                    final boolean declaration = switch (rule.declaration()) {
+                        case ANY -> true;
+                        case TOP_LEVEL -> indent == 0;
+                        case NONE -> false;
+                    };
+                    matches.add(new LineMatch(rule.kind(), rule.type(), matcher.group(rule.nameGroup()),
+                            lineNumber, indent, declaration));
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Lines that start with anything else (closing braces, comments,
+     * operators) cannot declare anything in the supported languages.
+     */
+    private static boolean mayDeclare(char c) {
+        return Character.isLetter(c) || c == '_' || c == '@' || c == '#' || c == '$';
+    }
+
+    private static Rule rule(Kind kind, String type, String regex, int nameGroup, Declaration declaration) {
+        return new Rule(kind, type, Pattern.compile(regex), nameGroup, declaration);
+    }
+
+    private static final String JAVA_ANNOTATIONS = "(?:@\\w+(?:\\([^)]*\\))?\\s+)*";
+
+    private static final RuleSet JAVA = new RuleSet("java", List.of(
+            rule(Kind.IMPORT, "import", "\\s*import\\s+([a-zA-Z0-9._]+)\\s*;", 1, Declaration.NONE),
+            rule(Kind.CLASS, "class", "\\s*" + JAVA_ANNOTATIONS
+                    + "(?:(?:public|private|protected|abstract|final|static|sealed|strictfp)\\s+)*class\\s+(\\w+)",
+                    1, Declaration.ANY),
+            rule(Kind.CLASS, "interface", "\\s*" + JAVA_ANNOTATIONS
+                    + "(?:(?:public|private|protected|abstract|static|sealed)\\s+)*@?interface\\s+(\\w+)",
+                    1, Declaration.ANY),
+            rule(Kind.CLASS, "enum", "\\s*" + JAVA_ANNOTATIONS
+                    + "(?:(?:public|private|protected|static)\\s+)*enum\\s+(\\w+)", 1, Declaration.ANY),
+            rule(Kind.CLASS, "record", "\\s*" + JAVA_ANNOTATIONS
+                    + "(?:(?:public|private|protected|static|final)\\s+)*record\\s+(\\w+)\\s*[(<]", 1,
+                    Declaration.ANY),
+            rule(Kind.FUNCTION, "method", "\\s*" + JAVA_ANNOTATIONS
+                    + "(?:(?:public|protected|private|static|final|abstract|synchronized|native|default)\\s+)*"
+                    + "(?:<[^>]*>\\s+)?(?!(?:return|new|else|throw|case|yield|assert|package|import)\\b)"
+                    + "[\\w.$]+(?:<[^()]*>)?(?:\\[\\])*\\s+"
+                    + "(?!(?:if|for|while|switch|catch|synchronized)\\b)(\\w+)\\s*\\(",
+                    1, Declaration.NONE)),
+            null, null);
+
+    private static final RuleSet PYTHON = new RuleSet("python", List.of(
+            rule(Kind.IMPORT, "import", "\\s*import\\s+([a-zA-Z0-9_]+)", 1, Declaration.NONE),
+            rule(Kind.IMPORT, "import", "\\s*from\\s+([a-zA-Z0-9_.]+)\\s+import", 1, Declaration.NONE),
+            rule(Kind.CLASS, "class", "\\s*class\\s+([a-zA-Z0-9_]+)", 1, Declaration.TOP_LEVEL),
+            rule(Kind.FUNCTION, "function", "\\s*(?:async\\s+)?def\\s+([a-zA-Z0-9_]+)\\s*\\(", 1,
+                    Declaration.TOP_LEVEL)),
+            null, null);
+
+    private static final List<Rule> JAVASCRIPT_RULES = List.of(
+            rule(Kind.IMPORT, "import", "\\s*import\\s+.*?from\\s+['\"]([^'\"]+)['\"]", 1, Declaration.NONE),
+            rule(Kind.CLASS, "class", "\\s*(?:export\\s+)?(?:default\\s+)?(?:abstract\\s+)?class\\s+([a-zA-Z0-9_]+)",
+                    1, Declaration.ANY),
+            rule(Kind.CLASS, "interface", "\\s*(?:export\\s+)?interface\\s+([a-zA-Z0-9_]+)", 1, Declaration.ANY),
+            rule(Kind.FUNCTION, "function",
+                    "\\s*(?:export\\s+)?(?:default\\s+)?(?:async\\s+)?function\\s*\\*?\\s*([a-zA-Z0-9_]+)\\s*\\(",
+                    1, Declaration.ANY),
+            rule(Kind.FUNCTION, "function", "\\s*(?:export\\s+)?const\\s+([a-zA-Z0-9_]+)\\s*=\\s*(?:async\\s+)?"
+                    + "(?:\\([^)]*\\)|[a-zA-Z0-9_]+)\\s*=>", 1, Declaration.ANY),
+            rule(Kind.FUNCTION, "method", "\\s*(?:(?:public|private|protected|static|async)\\s+)*"
+                    + "(?!(?:if|for|while|switch|catch|return|function)\\b)([a-zA-Z0-9_]+)\\s*\\([^)]*\\)"
+                    + "\\s*(?::\\s*[^{;]+)?\\{\\s*$", 1, Declaration.NONE));
+
+    private static final RuleSet JAVASCRIPT = new RuleSet("javascript", JAVASCRIPT_RULES, null, null);
+
+    private static final RuleSet TYPESCRIPT = new RuleSet("typescript", JAVASCRIPT_RULES, null, null);
+
+    private static final RuleSet GO = new RuleSet("go", List.of(
+            rule(Kind.IMPORT, "import", "\\s*import\\s+\"([^\"]+)\"", 1, Declaration.NONE),
+            rule(Kind.CLASS, "struct", "type\\s+([a-zA-Z0-9_]+)\\s+struct", 1, Declaration.ANY),
+            rule(Kind.CLASS, "interface", "type\\s+([a-zA-Z0-9_]+)\\s+interface", 1, Declaration.ANY),
+            rule(Kind.FUNCTION, "function", "func\\s+([a-zA-Z0-9_]+)\\s*[\\[(]", 1, Declaration.ANY),
+            rule(Kind.FUNCTION, "method", "func\\s+\\([^)]*\\)\\s*([a-zA-Z0-9_]+)\\s*[\\[(]", 1, Declaration.NONE)),
+            Pattern.compile("\\s*import\\s*\\("), Pattern.compile("\"([^\"]+)\""));
+
+    private static final String RUST_VISIBILITY = "(?:pub(?:\\([^)]*\\))?\\s+)?";
+
+    private static final RuleSet RUST = new RuleSet("rust", List.of(
+            rule(Kind.IMPORT, "import", "\\s*" + RUST_VISIBILITY + "use\\s+([a-zA-Z0-9_:]+)", 1, Declaration.NONE),
+            rule(Kind.CLASS, "struct", "\\s*" + RUST_VISIBILITY + "struct\\s+([a-zA-Z0-9_]+)", 1,
+                    Declaration.TOP_LEVEL),
+            rule(Kind.CLASS, "enum", "\\s*" + RUST_VISIBILITY + "enum\\s+([a-zA-Z0-9_]+)", 1, Declaration.TOP_LEVEL),
+            rule(Kind.CLASS, "trait", "\\s*" + RUST_VISIBILITY + "trait\\s+([a-zA-Z0-9_]+)", 1, Declaration.TOP_LEVEL),
+            rule(Kind.FUNCTION, "function", "\\s*" + RUST_VISIBILITY
+                    + "(?:const\\s+)?(?:async\\s+)?(?:unsafe\\s+)?fn\\s+([a-zA-Z0-9_]+)\\s*[<(]", 1,
+                    Declaration.TOP_LEVEL)),
+            null, null);
+
+    /**
+     * Cross-language patterns for languages without a dedicated rule set.
+     */
+    private static final RuleSet GENERIC = new RuleSet("unknown", List.of(
+            rule(Kind.IMPORT, "import", "\\s*(import |from |require\\(|use |#include)", 1, Declaration.NONE),
+            rule(Kind.CLASS, "class", "\\s*(?:export\\s+)?(?:public\\s+|private\\s+|protected\\s+)?(?:abstract\\s+)?"
+                    + "class\\s+([A-Z][a-zA-Z0-9_]*)", 1, Declaration.NONE),
+            rule(Kind.CLASS, "interface", "\\s*(?:export\\s+)?(?:public\\s+|private\\s+)?interface\\s+([A-Z][a-zA-Z0-9_]*)",
+                    1, Declaration.NONE),
+            rule(Kind.CLASS, "struct", "\\s*(?:pub\\s+)?struct\\s+([A-Z][a-zA-Z0-9_]*)", 1, Declaration.NONE),
+            rule(Kind.CLASS, "enum", "\\s*(?:pub\\s+)?enum\\s+([A-Z][a-zA-Z0-9_]*)", 1, Declaration.NONE),
+            rule(Kind.CLASS, "struct", "\\s*type\\s+([A-Z][a-zA-Z0-9_]*)\\s+(?:struct|interface)", 1, Declaration.NONE),
+            rule(Kind.FUNCTION, "function", "\\s*(?:export\\s+)?(?:public\\s+|private\\s+|protected\\s+|static\\s+)*"
+                    + "(?:[A-Z][a-zA-Z0-9_<>]*\\s+)?([a-z][a-zA-Z0-9_]*)\\s*\\(", 1, Declaration.NONE),
+            rule(Kind.FUNCTION, "function", "\\s*def\\s+([a-z_][a-zA-Z0-9_]*)\\s*\\(", 1, Declaration.NONE),
+            rule(Kind.FUNCTION, "function", "\\s*(?:async\\s+)?function\\s+([a-z][a-zA-Z0-9_]*)\\s*\\(", 1,
+                    Declaration.NONE),
+            rule(Kind.FUNCTION, "function",
+                    "\\s*(?:export\\s+)?const\\s+([a-z][a-zA-Z0-9_]*)\\s*=\\s*(?:async\\s+)?\\(", 1, Declaration.NONE),
+            rule(Kind.FUNCTION, "function", "\\s*func\\s+([a-z][a-zA-Z0-9_]*)\\s*\\(", 1, Declaration.NONE),
+            rule(Kind.FUNCTION, "function", "\\s*(?:pub\\s+)?fn\\s+([a-z_][a-zA-Z0-9_]*)\\s*[<(]", 1,
+                    Declaration.NONE)),
+            null, null);
+
+    private static final Map<String, RuleSet> BY_LANGUAGE = Map.of(
+            "java", JAVA,
+            "python", PYTHON,
+            "javascript", JAVASCRIPT,
+            "typescript", TYPESCRIPT,
+            "go", GO,
+            "rust", RUST);
+
+    private CodeSyntax() {
+        // Utility class
+    }
+
+    /**
+     * Returns the rule set for a language name (as used by
+     * {@link LanguageDetector}, case-insensitive), or the generic set.
+     */
+    public static RuleSet forLanguage(String language) {
+        if (language == null) {
+            return GENERIC;
+        }
+        return BY_LANGUAGE.getOrDefault(language.toLowerCase(Locale.ROOT), GENERIC);
+    }
+
+    /**
+     * Returns the rule set for a file, selected by its extension.
+     */
+    public static RuleSet forFileName(String fileName) {
+        return forLanguage(LanguageDetector.languageOf(fileName).orElse(null));
+    }
+}
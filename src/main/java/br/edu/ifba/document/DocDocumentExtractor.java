@@ -28,6 +28,14 @@ class DocDocumentExtractor implements DocumentExtractor {
         }
     }
 
+    @Override
+    public ExtractedDocument extractWithMetadata(final InputStream inputStream) throws IOException {
+        try (HWPFDocument document = new HWPFDocument(inputStream);
+             WordExtractor extractor = new WordExtractor(document)) {
+            return new ExtractedDocument(extractor.getText(), extractDocMetadata(document));
+        }
+    }
+
     @Override
     public boolean supports(final String fileName) {
         return fileName.endsWith(".doc");
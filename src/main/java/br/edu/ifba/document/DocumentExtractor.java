@@ -1,11 +1,40 @@
 package br.edu.ifba.document;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
 
 public interface DocumentExtractor {
     String extract(InputStream inputStream) throws IOException;
     Map<String, Object> extractMetadata(InputStream inputStream) throws IOException;
     boolean supports(String fileName);
+
+    /**
+     * Extracts text and metadata from one read of the stream.
+     * 
+     * Extractors should override this to parse the content once. The default
+     * buffers the stream and runs {@link #extract} and {@link #extractMetadata}
+     * over the buffer.
+     */
+    default ExtractedDocument extractWithMetadata(final InputStream inputStream) throws IOException {
+        final byte[] content = inputStream.readAllBytes();
+        return new ExtractedDocument(
+                extract(new ByteArrayInputStream(content)),
+                extractMetadata(new ByteArrayInputStream(content)));
+    }
+
+    /**
+     * Extracts text and metadata from a file on disk (e.g. an upload).
+     * 
+     * Formats with random-access parsers override this to avoid buffering the
+     * whole file in memory.
+     */
+    default ExtractedDocument extractWithMetadata(final Path file) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            return extractWithMetadata(inputStream);
+        }
+    }
 }
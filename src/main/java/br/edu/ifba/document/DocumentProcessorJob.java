@@ -1,6 +1,7 @@
 package br.edu.ifba.document;
 
 import java.util.List;
+import java.util.UUID;
 
 import br.edu.ifba.lightrag.LightRAGService;
 import io.quarkus.scheduler.Scheduled;
@@ -29,17 +30,16 @@ public class DocumentProcessorJob {
     public void markDocumentsAsProcessing() {
         LOG.info("Starting document marking job...");
         
-        final List<Document> documents = documentRepository.findNotProcessedWithLock(batchSize);
+        // Only IDs are needed here; content is read once, when the document is ingested
+        final List<UUID> documentIds = documentRepository.findNotProcessedIdsWithLock(batchSize);
         
-        if (documents.isEmpty()) {
+        if (documentIds.isEmpty()) {
             LOG.info("No documents to process.");
         } else {
-            LOG.infof("Found %d documents to mark as PROCESSING.", documents.size());
-            documents.forEach(doc -> {
-                doc.setStatus(DocumentStatus.PROCESSING);
-                // Explicitly update to persist changes (required for SQLite, harmless for PostgreSQL)
-                documentRepository.update(doc);
-                LOG.infof("Document %s marked as PROCESSING", doc.getId());
+            LOG.infof("Found %d documents to mark as PROCESSING.", documentIds.size());
+            documentIds.forEach(documentId -> {
+                documentRepository.updateStatus(documentId, DocumentStatus.PROCESSING);
+                LOG.infof("Document %s marked as PROCESSING", documentId);
             });
         }
         
@@ -51,13 +51,13 @@ public class DocumentProcessorJob {
         final long startTime = System.currentTimeMillis();
         LOG.info("Starting LightRAG document processing job...");
         
-        final List<Document> processingDocuments = documentRepository.findByStatus(DocumentStatus.PROCESSING);
+        final List<UUID> processingDocumentIds = documentRepository.findIdsByStatus(DocumentStatus.PROCESSING);
         
-        if (processingDocuments.isEmpty()) {
+        if (processingDocumentIds.isEmpty()) {
             LOG.info("No documents in PROCESSING state.");
         } else {
-            LOG.infof("Found %d documents to process.", processingDocuments.size());
-            processingDocuments.forEach(doc -> processDocument(doc.getId()));
+            LOG.infof("Found %d documents to process.", processingDocumentIds.size());
+            processingDocumentIds.forEach(this::processDocument);
         }
         
         final long executionTime = System.currentTimeMillis() - startTime;
@@ -119,20 +119,14 @@ public class DocumentProcessorJob {
 
     @Transactional
     void markAsProcessed(final java.util.UUID documentId) {
-        final Document document = documentRepository.findDocumentById(documentId).orElse(null);
-        if (document != null) {
-            document.setStatus(DocumentStatus.PROCESSED);
-            documentRepository.update(document);
+        if (documentRepository.updateStatus(documentId, DocumentStatus.PROCESSED)) {
             LOG.infof("Document %s marked as PROCESSED", documentId);
         }
     }
 
     @Transactional
     void markAsFailed(final java.util.UUID documentId) {
-        final Document document = documentRepository.findDocumentById(documentId).orElse(null);
-        if (document != null) {
-            document.setStatus(DocumentStatus.NOT_PROCESSED);
-            documentRepository.update(document);
+        if (documentRepository.updateStatus(documentId, DocumentStatus.NOT_PROCESSED)) {
             LOG.infof("Document %s marked as NOT_PROCESSED for retry", documentId);
         }
     }
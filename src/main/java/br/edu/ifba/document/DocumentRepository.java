@@ -1,5 +1,6 @@
 package br.edu.ifba.document;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -58,6 +59,23 @@ public class DocumentRepository implements PanacheRepositoryBase<Document, UUID>
                 .list();
     }
 
+    @Override
+    public List<UUID> findNotProcessedIdsWithLock(final int limit) {
+        // Native query so the lock is taken without loading or detoasting document content
+        final List<?> rows = getEntityManager().createNativeQuery("""
+                SELECT id FROM rag.documents
+                WHERE status = 'NOT_PROCESSED'
+                ORDER BY created_at
+                LIMIT :limit
+                FOR UPDATE
+                """)
+                .setParameter("limit", limit)
+                .getResultList();
+        return rows.stream()
+                .map(row -> row instanceof UUID id ? id : UUID.fromString(row.toString()))
+                .toList();
+    }
+
     @Override
     public List<Document> findByProjectId(final UUID projectId) {
         return find("project.id", projectId).list();
@@ -88,4 +106,31 @@ public class DocumentRepository implements PanacheRepositoryBase<Document, UUID>
     public long countByProjectId(final UUID projectId) {
         return count("project.id", projectId);
     }
+
+    @Override
+    public List<DocumentSummary> findSummariesByProjectId(final UUID projectId) {
+        return getEntityManager().createQuery("""
+                SELECT new br.edu.ifba.document.DocumentSummary(
+                    d.id, d.project.id, d.type, d.status, d.fileName, d.metadata,
+                    COALESCE(OCTET_LENGTH(d.content), 0), d.createdAt, d.updatedAt)
+                FROM Document d
+                WHERE d.project.id = :projectId
+                ORDER BY d.createdAt DESC
+                """, DocumentSummary.class)
+                .setParameter("projectId", projectId)
+                .getResultList();
+    }
+
+    @Override
+    public List<UUID> findIdsByStatus(final DocumentStatus status) {
+        return getEntityManager().createQuery(
+                "SELECT d.id FROM Document d WHERE d.status = :status ORDER BY d.createdAt", UUID.class)
+                .setParameter("status", status)
+                .getResultList();
+    }
+
+    @Override
+    public boolean updateStatus(final UUID id, final DocumentStatus status) {
+        return update("status = ?1, updatedAt = ?2 WHERE id = ?3", status, LocalDateTime.now(), id) > 0;
+    }
 }
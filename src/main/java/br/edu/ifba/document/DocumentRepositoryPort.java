@@ -21,6 +21,16 @@ public interface DocumentRepositoryPort {
      */
     void save(Document document);
 
+    /**
+     * Saves several new documents. Implementations should write them in a single
+     * transaction; the default saves them one by one.
+     * 
+     * @param documents the documents to save
+     */
+    default void saveAll(List<Document> documents) {
+        documents.forEach(this::save);
+    }
+
     /**
      * Finds a document by ID.
      * 
@@ -104,4 +114,50 @@ public interface DocumentRepositoryPort {
      * @return count of documents
      */
     long countByProjectId(UUID projectId);
+
+    /**
+     * Lists a project's documents without loading their content.
+     * 
+     * @param projectId the project ID
+     * @return summaries of the project's documents, newest first
+     */
+    default List<DocumentSummary> findSummariesByProjectId(UUID projectId) {
+        return findByProjectId(projectId).stream().map(DocumentSummary::of).toList();
+    }
+
+    /**
+     * Finds the IDs of documents with the given status without loading them.
+     * 
+     * @param status the document status
+     * @return document IDs, oldest first
+     */
+    default List<UUID> findIdsByStatus(DocumentStatus status) {
+        return findByStatus(status).stream().map(Document::getId).toList();
+    }
+
+    /**
+     * Finds and locks the IDs of documents waiting to be processed.
+     * 
+     * @param limit the maximum number of IDs
+     * @return document IDs, oldest first
+     */
+    default List<UUID> findNotProcessedIdsWithLock(int limit) {
+        return findNotProcessedWithLock(limit).stream().map(Document::getId).toList();
+    }
+
+    /**
+     * Changes a document's status without rewriting its content.
+     * 
+     * @param id the document ID
+     * @param status the new status
+     * @return true if the document exists
+     */
+    default boolean updateStatus(UUID id, DocumentStatus status) {
+        final Optional<Document> document = findDocumentById(id);
+        document.ifPresent(doc -> {
+            doc.setStatus(status);
+            update(doc);
+        });
+        return document.isPresent();
+    }
 }
@@ -1,10 +1,11 @@
 package br.edu.ifba.document;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.URI;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
 
 import br.edu.ifba.exception.FileUploadException;
 import br.edu.ifba.exception.PdfProcessingException;
@@ -12,6 +13,8 @@ import br.edu.ifba.project.ProjectServicePort;
 import br.edu.ifba.security.ProjectAuthorizationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.quarkus.security.identity.SecurityIdentity;
+import io.smallrye.common.annotation.Blocking;
+import io.smallrye.mutiny.Multi;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
@@ -24,8 +27,11 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.ServiceUnavailableException;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+import org.jboss.resteasy.reactive.common.util.RestMediaType;
 import org.jboss.resteasy.reactive.multipart.FileUpload;
 
 @Path("/documents")
@@ -43,6 +49,9 @@ public class DocumentResources {
     @Inject
     DocumentExtractorFactory extractorFactory;
 
+    @Inject
+    DocumentUploadExecutor uploadExecutor;
+
     @Inject
     SearchService searchService;
 
@@ -53,10 +62,11 @@ public class DocumentResources {
     ProjectAuthorizationService authService;
 
     @POST
+    @Blocking
     @Consumes(MediaType.MULTIPART_FORM_DATA)
     @Produces(MediaType.APPLICATION_JSON)
     @Path("/files")
-    public Response upload(@FormParam("file") FileUpload file, @FormParam("projectId") UUID projectId) {
+    public CompletionStage<Response> upload(@FormParam("file") FileUpload file, @FormParam("projectId") UUID projectId) {
         if (file == null) {
             throw new FileUploadException("No file uploaded");
         }
@@ -69,30 +79,34 @@ public class DocumentResources {
         authService.checkWriteAccess(projectId);
 
         final String fileName = file.fileName().toLowerCase();
+        final DocumentExtractor extractor = extractorFactory.getExtractor(fileName);
+        final var project = projectService.findById(projectId);
 
-        try (InputStream textStream = file.uploadedFile().toFile().toPath().toUri().toURL().openStream();
-                InputStream metadataStream = file.uploadedFile().toFile().toPath().toUri().toURL().openStream()) {
-
-            final DocumentExtractor extractor = extractorFactory.getExtractor(fileName);
-            final String text = extractor.extract(textStream);
-            final Map<String, Object> contentMetadata = extractor.extractMetadata(metadataStream);
-            final String formattedText = TextFormatter.format(text);
-            final String metadata = FileMetadataExtractor.extractMetadata(file, contentMetadata);
-
-            // Determine document type based on extractor
-            final DocumentType documentType = (extractor instanceof CodeDocumentExtractor)
-                    ? DocumentType.CODE
-                    : DocumentType.FILE;
-
-            final var project = projectService.findById(projectId);
-            final Document document = new Document(documentType, fileName, formattedText, metadata, project);
-            final Document created = documentService.create(document);
-
-            return Response.created(URI.create("/documents/" + created.getId()))
-                    .entity(new DocumentCreatedResponse(created.getId()))
-                    .build();
-        } catch (IOException e) {
-            throw new PdfProcessingException("Error processing document: " + e.getMessage(), e);
+        // Parse on the upload pool so the HTTP worker is released while the file is processed
+        try {
+            return uploadExecutor.submit(() -> {
+                try {
+                    final ExtractedDocument extracted = extractor.extractWithMetadata(file.uploadedFile());
+                    final String formattedText = TextFormatter.format(extracted.text());
+                    final String metadata = FileMetadataExtractor.extractMetadata(file, extracted.metadata());
+
+                    // Determine document type based on extractor
+                    final DocumentType documentType = (extractor instanceof CodeDocumentExtractor)
+                            ? DocumentType.CODE
+                            : DocumentType.FILE;
+
+                    final Document document = new Document(documentType, fileName, formattedText, metadata, project);
+                    final Document created = documentService.create(document);
+
+                    return Response.created(URI.create("/documents/" + created.getId()))
+                            .entity(new DocumentCreatedResponse(created.getId()))
+                            .build();
+                } catch (IOException e) {
+                    throw new PdfProcessingException("Error processing document: " + e.getMessage(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Too many uploads in progress, retry later");
         }
     }
 
@@ -133,11 +147,10 @@ public class DocumentResources {
 
         try {
             final WebsiteDocumentExtractor extractor = new WebsiteDocumentExtractor();
-            final String text = extractor.fetchAndExtract(request.url());
-            final Map<String, Object> contentMetadata = extractor.fetchAndExtractMetadata(request.url());
-            final String formattedText = TextFormatter.format(text);
+            final ExtractedDocument extracted = extractor.fetchAndExtractWithMetadata(request.url());
+            final String formattedText = TextFormatter.format(extracted.text());
 
-            final String metadata = objectMapper.writeValueAsString(contentMetadata);
+            final String metadata = objectMapper.writeValueAsString(extracted.metadata());
 
             final var project = projectService.findById(request.projectId());
             final Document document = new Document(DocumentType.WEBSITE, request.url(), formattedText, metadata,
@@ -185,6 +198,25 @@ public class DocumentResources {
         return searchService.search(request.query(), request.projectId());
     }
 
+    @POST
+    @Blocking
+    @Path("/search/batch")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(RestMediaType.APPLICATION_NDJSON)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    public Multi<BatchSearchResult> searchBatch(@Valid final BatchSearchRequest request) {
+        authService.checkReadAccess(request.projectId());
+        return searchService.searchBatch(request.queries(), request.projectId());
+    }
+
+    @POST
+    @Path("/retrieve")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public RetrievalResponse retrieve(@Valid final SearchRequest request) {
+        return searchService.retrieve(request.query(), request.projectId(), null);
+    }
+
     @GET
     @Path("/{id}/content")
     @Produces(MediaType.TEXT_PLAIN)
@@ -194,16 +226,21 @@ public class DocumentResources {
     }
 
     @Inject
-    GitRepositoryService gitRepositoryService;
+    GitIngestionService gitIngestionService;
 
     /**
-     * Ingests a Git repository by cloning it and processing all code/text files.
+     * Submits a Git repository for background ingestion.
      * Automatically detects and includes code files from 50+ programming languages.
+     * 
+     * The clone and file walk run as a background job; poll the returned job
+     * location for progress. Files are inserted in batches while the walk runs.
      *
      * @param projectId The project ID to associate documents with
      * @param repoUrl   The Git repository URL (required)
      * @param branch    The branch to clone (optional, defaults to main/master)
-     * @return Response with ingestion statistics
+     * @param replace   If true, existing project documents with the same paths are
+     *                  removed before their new versions are inserted (re-sync)
+     * @return 202 Accepted with the queued job
      */
     @POST
     @Path("/projects/{projectId}/ingest-repo")
@@ -211,66 +248,48 @@ public class DocumentResources {
     public Response ingestRepository(
             @PathParam("projectId") UUID projectId,
             @QueryParam("repoUrl") String repoUrl,
-            @QueryParam("branch") String branch) {
+            @QueryParam("branch") String branch,
+            @QueryParam("replace") Boolean replace) {
         if (repoUrl == null || repoUrl.isBlank()) {
             throw new IllegalArgumentException("Repository URL is required");
         }
 
         // Verify project exists
-        if (projectService.findById(projectId) == null) {
+        final var project = projectService.findById(projectId);
+        if (project == null) {
             return Response.status(Response.Status.NOT_FOUND)
                     .entity(Map.of("error", "Project not found"))
                     .build();
         }
 
-        // Clone and extract all code/text files (no pattern filtering)
-        var files = gitRepositoryService.cloneAndExtractFiles(repoUrl, branch, null);
-
-        // Get project entity
-        var project = projectService.findById(projectId);
-
-        // Process each file as a document
-        int processedCount = 0;
-        for (var file : files) {
-            try {
-                // Detect document type based on file extension
-                DocumentType docType = detectDocumentType(file.fileName());
-
-                // Create document entity
-                Document document = new Document(
-                        docType,
-                        file.relativePath(), // Use relative path as filename for better identification
-                        file.content(),
-                        null, // no additional metadata
-                        project);
-
-                // Persist document
-                documentService.create(document);
-                processedCount++;
-
-            } catch (Exception e) {
-                // Log error but continue processing other files
-                System.err.println("Failed to process file: " + file.relativePath() + " - " + e.getMessage());
-            }
-        }
+        authService.checkWriteAccess(projectId);
 
-        return Response.ok(new GitIngestResponse(
-                files.size(),
-                processedCount,
-                "success",
-                projectId)).build();
+        final GitIngestJobResponse job = gitIngestionService.submit(project, repoUrl, branch,
+                replace != null && replace);
+
+        return Response.accepted(job)
+                .location(URI.create("/documents/ingest-jobs/" + job.jobId()))
+                .build();
     }
 
     /**
-     * Detects document type based on file extension.
-     * Uses centralized CodeFileExtensions for 50+ programming languages.
+     * Returns the progress of a Git ingestion job.
+     *
+     * @param jobId The job ID returned by the ingest-repo endpoint
+     * @return Response with the job status, or 404 if unknown or expired
      */
-    private DocumentType detectDocumentType(String fileName) {
-        if (fileName == null) {
-            return DocumentType.TEXT;
-        }
-
-        return CodeFileExtensions.isCodeFile(fileName) ? DocumentType.CODE : DocumentType.TEXT;
+    @GET
+    @Path("/ingest-jobs/{jobId}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getIngestJob(@PathParam("jobId") UUID jobId) {
+        return gitIngestionService.getJob(jobId)
+                .map(job -> {
+                    authService.checkReadAccess(job.projectId());
+                    return Response.ok(job).build();
+                })
+                .orElseGet(() -> Response.status(Response.Status.NOT_FOUND)
+                        .entity(Map.of("error", "Ingestion job not found"))
+                        .build());
     }
 
     /**
@@ -307,4 +326,24 @@ public class DocumentResources {
         documentService.delete(id, projectId, skip);
         return Response.noContent().build();
     }
+
+    /**
+     * Deletes many documents of a project in one bulk pass.
+     * 
+     * Graph, vector and cache changes are applied with set-based statements and
+     * descriptions of shared entities are rebuilt in the background.
+     * 
+     * @param request The project, document IDs and rebuild option
+     * @return Response with the aggregated deletion result
+     */
+    @POST
+    @Path("/delete")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response deleteAll(@Valid final BulkDeleteRequest request) {
+        authService.checkWriteAccess(request.projectId());
+
+        final boolean skip = request.skipRebuild() != null && request.skipRebuild();
+        return Response.ok(documentService.deleteAll(request.projectId(), request.documentIds(), skip)).build();
+    }
 }
@@ -1,5 +1,10 @@
 package br.edu.ifba.document;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import br.edu.ifba.lightrag.deletion.BulkDeletionResult;
 import br.edu.ifba.lightrag.deletion.DocumentDeletionService;
 import br.edu.ifba.lightrag.deletion.KnowledgeRebuildResult;
 import jakarta.inject.Inject;
@@ -34,6 +39,13 @@ public class DocumentService implements DocumentServicePort {
         return document;
     }
 
+    @Override
+    @Transactional
+    public List<Document> createAll(final List<Document> documents) {
+        documentRepository.saveAll(documents);
+        return documents;
+    }
+
     @Override
     public Document findById(final java.util.UUID id) {
         return documentRepository.findByIdOrThrow(id);
@@ -105,6 +117,59 @@ public class DocumentService implements DocumentServicePort {
         documentRepository.deleteDocument(document);
     }
 
+    /**
+     * Deletes many documents of a project with one bulk knowledge graph pass.
+     * Descriptions of shared entities are rebuilt in the background.
+     *
+     * @param projectId The project ID
+     * @param documentIds The documents to delete
+     * @param skipRebuild If true, shared entities keep their current description
+     * @return aggregated deletion result
+     */
+    @Override
+    @Transactional
+    public BulkDeletionResult deleteAll(final UUID projectId, final List<UUID> documentIds, final boolean skipRebuild) {
+        final List<Document> documents = findInProject(projectId, documentIds);
+
+        final BulkDeletionResult result;
+        try {
+            result = documentDeletionService
+                    .deleteDocuments(projectId, documentIds, skipRebuild)
+                    .join();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to delete graph data for documents in project: " + projectId, e);
+        }
+
+        LOG.infof(
+                "Bulk deletion completed (skipRebuild=%s) - documents: %d, entities deleted: %d, queued for rebuild: %d, relations deleted: %d",
+                skipRebuild,
+                documents.size(),
+                result.entitiesDeleted().size(),
+                result.entitiesQueuedForRebuild().size(),
+                result.relationsDeleted());
+
+        if (result.hasErrors()) {
+            LOG.warnf("Bulk deletion had %d errors: %s",
+                    result.errors().size(),
+                    String.join("; ", result.errors()));
+        }
+
+        documents.forEach(documentRepository::deleteDocument);
+        return result;
+    }
+
+    private List<Document> findInProject(final UUID projectId, final List<UUID> documentIds) {
+        final List<Document> documents = new ArrayList<>();
+        for (final UUID documentId : documentIds) {
+            final Document document = documentRepository.findByIdOrThrow(documentId);
+            if (!projectId.equals(document.getProject().getId())) {
+                throw new IllegalArgumentException("Document " + documentId + " does not belong to project " + projectId);
+            }
+            documents.add(document);
+        }
+        return documents;
+    }
+
     @Override
     public Document findByFileName(final String fileName) {
         return documentRepository.findByFileName(fileName);
@@ -115,6 +180,11 @@ public class DocumentService implements DocumentServicePort {
         return documentRepository.findByProjectId(projectId);
     }
 
+    @Override
+    public List<DocumentSummary> findSummariesByProjectId(final UUID projectId) {
+        return documentRepository.findSummariesByProjectId(projectId);
+    }
+
     /**
      * Gets document processing progress.
      * With LightRAG, progress is simplified to document status-based tracking.
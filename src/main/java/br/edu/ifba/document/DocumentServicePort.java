@@ -1,5 +1,7 @@
 package br.edu.ifba.document;
 
+import br.edu.ifba.lightrag.deletion.BulkDeletionResult;
+
 import java.util.List;
 import java.util.UUID;
 
@@ -17,6 +19,14 @@ public interface DocumentServicePort {
      */
     Document create(Document document);
 
+    /**
+     * Creates several documents in one batch (e.g. files of a Git repository).
+     *
+     * @param documents the documents to create
+     * @return the created documents with generated IDs
+     */
+    List<Document> createAll(List<Document> documents);
+
     /**
      * Finds a document by ID.
      *
@@ -45,6 +55,19 @@ public interface DocumentServicePort {
      */
     void delete(UUID documentId, UUID projectId, boolean skipRebuild);
 
+    /**
+     * Deletes many documents of a project with a single bulk knowledge graph pass
+     * (batch removals, Git re-syncs). Descriptions of shared entities are rebuilt
+     * in the background.
+     *
+     * @param projectId the project ID
+     * @param documentIds the documents to delete
+     * @param skipRebuild if true, shared entities keep their current description
+     * @return aggregated deletion result
+     * @throws IllegalArgumentException if a document is not found or belongs to another project
+     */
+    BulkDeletionResult deleteAll(UUID projectId, List<UUID> documentIds, boolean skipRebuild);
+
     /**
      * Finds a document by file name.
      *
@@ -61,6 +84,14 @@ public interface DocumentServicePort {
      */
     List<Document> findByProjectId(UUID projectId);
 
+    /**
+     * Lists a project's documents without loading their content.
+     *
+     * @param projectId the project ID
+     * @return summaries of the project's documents
+     */
+    List<DocumentSummary> findSummariesByProjectId(UUID projectId);
+
     /**
      * Gets document processing progress.
      *
@@ -14,12 +14,14 @@ import java.util.UUID;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
+import br.edu.ifba.lightrag.deletion.BulkDeletionResult;
 import br.edu.ifba.lightrag.deletion.DocumentDeletionService;
 import br.edu.ifba.lightrag.deletion.KnowledgeRebuildResult;
 import br.edu.ifba.lightrag.storage.impl.SQLiteConnectionManager;
 import br.edu.ifba.project.Project;
 import br.edu.ifba.project.ProjectRepositoryPort;
 import br.edu.ifba.shared.UuidUtils;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Instance;
 import jakarta.enterprise.inject.Produces;
@@ -178,6 +180,60 @@ public class DocumentServiceProvider {
             }
         }
 
+        @Override
+        public void saveAll(final List<Document> documents) {
+            if (documents.isEmpty()) {
+                return;
+            }
+
+            final String sql = """
+                    INSERT INTO documents (id, project_id, type, status, file_name, content, metadata, created_at, updated_at)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, datetime('now'), datetime('now'))
+                    """;
+
+            Connection conn = null;
+            try {
+                conn = connectionManager.getWriteConnection();
+                conn.setAutoCommit(false);
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (final Document document : documents) {
+                        if (document.getId() == null) {
+                            document.setId(UuidUtils.randomV7());
+                        }
+                        stmt.setString(1, document.getId().toString());
+                        stmt.setString(2, document.getProject().getId().toString());
+                        stmt.setString(3, document.getType().name());
+                        stmt.setString(4, document.getStatus().name());
+                        stmt.setString(5, document.getFileName());
+                        stmt.setString(6, document.getContent());
+                        stmt.setString(7, document.getMetadata());
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+                conn.commit();
+                LOG.debugf("Saved %d documents in one batch", documents.size());
+            } catch (SQLException e) {
+                if (conn != null) {
+                    try {
+                        conn.rollback();
+                    } catch (SQLException rollbackError) {
+                        LOG.warnf("Failed to roll back document batch: %s", rollbackError.getMessage());
+                    }
+                }
+                throw new RuntimeException("Failed to save " + documents.size() + " documents", e);
+            } finally {
+                if (conn != null) {
+                    try {
+                        conn.setAutoCommit(true);
+                    } catch (SQLException e) {
+                        LOG.warnf("Failed to reset auto-commit: %s", e.getMessage());
+                    }
+                    connectionManager.releaseWriteConnection(conn);
+                }
+            }
+        }
+
         @Override
         public Optional<Document> findDocumentById(final UUID id) {
             final String sql = """
@@ -376,6 +432,109 @@ public class DocumentServiceProvider {
             return 0;
         }
 
+        @Override
+        public List<DocumentSummary> findSummariesByProjectId(final UUID projectId) {
+            final String sql = """
+                    SELECT id, project_id, type, status, file_name, metadata, length(CAST(content AS BLOB)) AS content_length,
+                           created_at, updated_at
+                    FROM documents WHERE project_id = ? ORDER BY created_at DESC
+                    """;
+            final List<DocumentSummary> summaries = new ArrayList<>();
+
+            try (Connection conn = connectionManager.getReadConnection();
+                    PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, projectId.toString());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        summaries.add(mapRowToSummary(rs));
+                    }
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to find document summaries by project id: " + projectId, e);
+            }
+            return summaries;
+        }
+
+        @Override
+        public List<UUID> findIdsByStatus(final DocumentStatus status) {
+            final String sql = "SELECT id FROM documents WHERE status = ? ORDER BY created_at ASC";
+            final List<UUID> ids = new ArrayList<>();
+
+            try (Connection conn = connectionManager.getReadConnection();
+                    PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, status.name());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        ids.add(UUID.fromString(rs.getString("id")));
+                    }
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to find document ids by status: " + status, e);
+            }
+            return ids;
+        }
+
+        @Override
+        public List<UUID> findNotProcessedIdsWithLock(final int limit) {
+            // SQLite doesn't support row-level locking; the connection-level write lock applies
+            final String sql = """
+                    SELECT id FROM documents WHERE status = 'NOT_PROCESSED'
+                    ORDER BY created_at ASC LIMIT ?
+                    """;
+            final List<UUID> ids = new ArrayList<>();
+
+            try (Connection conn = connectionManager.getReadConnection();
+                    PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, limit);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        ids.add(UUID.fromString(rs.getString("id")));
+                    }
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to find not processed document ids", e);
+            }
+            return ids;
+        }
+
+        @Override
+        public boolean updateStatus(final UUID id, final DocumentStatus status) {
+            final String sql = "UPDATE documents SET status = ?, updated_at = datetime('now') WHERE id = ?";
+
+            Connection conn = null;
+            try {
+                conn = connectionManager.getWriteConnection();
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, status.name());
+                    stmt.setString(2, id.toString());
+                    final int rows = stmt.executeUpdate();
+                    LOG.debugf("Updated status of document %s to %s", id, status);
+                    return rows > 0;
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to update status of document: " + id, e);
+            } finally {
+                if (conn != null) {
+                    connectionManager.releaseWriteConnection(conn);
+                }
+            }
+        }
+
+        private DocumentSummary mapRowToSummary(final ResultSet rs) throws SQLException {
+            final String createdAt = rs.getString("created_at");
+            final String updatedAt = rs.getString("updated_at");
+            return new DocumentSummary(
+                    UUID.fromString(rs.getString("id")),
+                    UUID.fromString(rs.getString("project_id")),
+                    DocumentType.valueOf(rs.getString("type")),
+                    DocumentStatus.valueOf(rs.getString("status")),
+                    rs.getString("file_name"),
+                    rs.getString("metadata"),
+                    rs.getLong("content_length"),
+                    createdAt != null ? LocalDateTime.parse(createdAt, DATE_FORMAT) : null,
+                    updatedAt != null ? LocalDateTime.parse(updatedAt, DATE_FORMAT) : null);
+        }
+
         private Document mapRowToDocument(final ResultSet rs) throws SQLException {
             final UUID projectId = UUID.fromString(rs.getString("project_id"));
             final Project project = projectRepository.findByIdOrThrow(projectId);
@@ -424,6 +583,12 @@ public class DocumentServiceProvider {
             return document;
         }
 
+        @Override
+        public List<Document> createAll(final List<Document> documents) {
+            repository.saveAll(documents);
+            return documents;
+        }
+
         @Override
         public Document findById(final UUID id) {
             return repository.findByIdOrThrow(id);
@@ -464,6 +629,58 @@ public class DocumentServiceProvider {
             repository.deleteDocument(document);
         }
 
+        /**
+         * Deletes many documents of a project with one bulk knowledge graph pass.
+         * Descriptions of shared entities are rebuilt in the background.
+         *
+         * @param projectId The project ID
+         * @param documentIds The documents to delete
+         * @param skipRebuild If true, shared entities keep their current description
+         * @return aggregated deletion result
+         */
+        @Override
+        public BulkDeletionResult deleteAll(final UUID projectId, final List<UUID> documentIds, final boolean skipRebuild) {
+            final List<Document> documents = findInProject(projectId, documentIds);
+
+            final BulkDeletionResult result;
+            try {
+                result = documentDeletionService
+                        .deleteDocuments(projectId, documentIds, skipRebuild)
+                        .join();
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to delete graph data for documents in project: " + projectId, e);
+            }
+
+            LOG.infof(
+                    "Bulk deletion completed (skipRebuild=%s) - documents: %d, entities deleted: %d, queued for rebuild: %d, relations deleted: %d",
+                    skipRebuild,
+                    documents.size(),
+                    result.entitiesDeleted().size(),
+                    result.entitiesQueuedForRebuild().size(),
+                    result.relationsDeleted());
+
+            if (result.hasErrors()) {
+                LOG.warnf("Bulk deletion had %d errors: %s",
+                        result.errors().size(),
+                        String.join("; ", result.errors()));
+            }
+
+            documents.forEach(repository::deleteDocument);
+            return result;
+        }
+
+        private List<Document> findInProject(final UUID projectId, final List<UUID> documentIds) {
+            final List<Document> documents = new ArrayList<>();
+            for (final UUID documentId : documentIds) {
+                final Document document = repository.findByIdOrThrow(documentId);
+                if (!projectId.equals(document.getProject().getId())) {
+                    throw new IllegalArgumentException("Document " + documentId + " does not belong to project " + projectId);
+                }
+                documents.add(document);
+            }
+            return documents;
+        }
+
         @Override
         public Document findByFileName(final String fileName) {
             return repository.findByFileName(fileName);
@@ -474,6 +691,11 @@ public class DocumentServiceProvider {
             return repository.findByProjectId(projectId);
         }
 
+        @Override
+        public List<DocumentSummary> findSummariesByProjectId(final UUID projectId) {
+            return repository.findSummariesByProjectId(projectId);
+        }
+
         @Override
         public DocumentProgressResponse getProcessingProgress(final UUID documentId) {
             final Document document = repository.findByIdOrThrow(documentId);
@@ -511,6 +733,13 @@ public class DocumentServiceProvider {
             return document;
         }
 
+        @Override
+        public List<Document> createAll(final List<Document> documents) {
+            // One transaction for the whole batch so Hibernate can group the inserts
+            QuarkusTransaction.joiningExisting().run(() -> repository.saveAll(documents));
+            return documents;
+        }
+
         @Override
         public Document findById(final UUID id) {
             return repository.findByIdOrThrow(id);
@@ -550,6 +779,58 @@ public class DocumentServiceProvider {
             repository.deleteDocument(document);
         }
 
+        /**
+         * Deletes many documents of a project with one bulk knowledge graph pass.
+         * Descriptions of shared entities are rebuilt in the background.
+         *
+         * @param projectId The project ID
+         * @param documentIds The documents to delete
+         * @param skipRebuild If true, shared entities keep their current description
+         * @return aggregated deletion result
+         */
+        @Override
+        public BulkDeletionResult deleteAll(final UUID projectId, final List<UUID> documentIds, final boolean skipRebuild) {
+            final List<Document> documents = findInProject(projectId, documentIds);
+
+            final BulkDeletionResult result;
+            try {
+                result = documentDeletionService
+                        .deleteDocuments(projectId, documentIds, skipRebuild)
+                        .join();
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to delete graph data for documents in project: " + projectId, e);
+            }
+
+            LOG.infof(
+                    "Bulk deletion completed (skipRebuild=%s) - documents: %d, entities deleted: %d, queued for rebuild: %d, relations deleted: %d",
+                    skipRebuild,
+                    documents.size(),
+                    result.entitiesDeleted().size(),
+                    result.entitiesQueuedForRebuild().size(),
+                    result.relationsDeleted());
+
+            if (result.hasErrors()) {
+                LOG.warnf("Bulk deletion had %d errors: %s",
+                        result.errors().size(),
+                        String.join("; ", result.errors()));
+            }
+
+            documents.forEach(repository::deleteDocument);
+            return result;
+        }
+
+        private List<Document> findInProject(final UUID projectId, final List<UUID> documentIds) {
+            final List<Document> documents = new ArrayList<>();
+            for (final UUID documentId : documentIds) {
+                final Document document = repository.findByIdOrThrow(documentId);
+                if (!projectId.equals(document.getProject().getId())) {
+                    throw new IllegalArgumentException("Document " + documentId + " does not belong to project " + projectId);
+                }
+                documents.add(document);
+            }
+            return documents;
+        }
+
         @Override
         public Document findByFileName(final String fileName) {
             return repository.findByFileName(fileName);
@@ -560,6 +841,11 @@ public class DocumentServiceProvider {
             return repository.findByProjectId(projectId);
         }
 
+        @Override
+        public List<DocumentSummary> findSummariesByProjectId(final UUID projectId) {
+            return repository.findSummariesByProjectId(projectId);
+        }
+
         @Override
         public DocumentProgressResponse getProcessingProgress(final UUID documentId) {
             final Document document = repository.findByIdOrThrow(documentId);
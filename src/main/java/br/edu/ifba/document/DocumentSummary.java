@@ -0,0 +1,42 @@
+package br.edu.ifba.document;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Lightweight projection of a document without its content.
+ * 
+ * Used for listings and scheduling so that large documents are only read in
+ * full when they are ingested or explicitly requested.
+ *
+ * @param contentLength size of the content in bytes (UTF-8)
+ */
+public record DocumentSummary(
+        UUID id,
+        UUID projectId,
+        DocumentType type,
+        DocumentStatus status,
+        String fileName,
+        String metadata,
+        long contentLength,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+
+    /**
+     * Builds a summary from a fully loaded document.
+     */
+    public static DocumentSummary of(final Document document) {
+        return new DocumentSummary(
+                document.getId(),
+                document.getProject() != null ? document.getProject().getId() : null,
+                document.getType(),
+                document.getStatus(),
+                document.getFileName(),
+                document.getMetadata(),
+                document.getContent() != null ? document.getContent().getBytes(StandardCharsets.UTF_8).length : 0,
+                document.getCreatedAt(),
+                document.getUpdatedAt());
+    }
+}
@@ -0,0 +1,97 @@
+package br.edu.ifba.document;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Bounded worker pool for parsing uploaded documents.
+ * 
+ * Parsing large PDFs or Word files is CPU and memory heavy. Running it here
+ * instead of on the HTTP worker that received the request keeps request
+ * threads available, and the bounded queue caps how many uploads are parsed
+ * or waiting at once. Submissions beyond the queue capacity are rejected.
+ * 
+ * Pool threads are not managed by Quarkus, so each task runs inside its own
+ * CDI request context; repositories and Panache entities need one.
+ * 
+ * Configuration:
+ * <pre>
+ * document.upload.workers=4
+ * document.upload.queue-size=32
+ * </pre>
+ */
+@ApplicationScoped
+public class DocumentUploadExecutor {
+
+    private static final Logger LOG = Logger.getLogger(DocumentUploadExecutor.class);
+
+    private final ThreadPoolExecutor executor;
+
+    @Inject
+    public DocumentUploadExecutor(
+            @ConfigProperty(name = "document.upload.workers", defaultValue = "4") int workers,
+            @ConfigProperty(name = "document.upload.queue-size", defaultValue = "32") int queueSize) {
+        final AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                Math.max(1, workers),
+                Math.max(1, workers),
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "document-upload-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Runs a task on the upload pool.
+     * 
+     * @param task the upload work (parse, format, persist)
+     * @return future completed with the task result
+     * @throws RejectedExecutionException if the pool and its queue are full
+     */
+    public <T> CompletableFuture<T> submit(final Supplier<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            final ManagedContext requestContext = Arc.container().requestContext();
+            if (requestContext.isActive()) {
+                return task.get();
+            }
+            requestContext.activate();
+            try {
+                return task.get();
+            } finally {
+                requestContext.terminate();
+            }
+        }, executor);
+    }
+
+    /**
+     * Returns the number of uploads waiting for a worker.
+     */
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        LOG.debugf("Shutting down document upload pool (%d queued)", executor.getQueue().size());
+        executor.shutdownNow();
+    }
+}
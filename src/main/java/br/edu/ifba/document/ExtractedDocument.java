@@ -0,0 +1,9 @@
+package br.edu.ifba.document;
+
+import java.util.Map;
+
+/**
+ * Text and content metadata produced by a single parse of a document.
+ */
+public record ExtractedDocument(String text, Map<String, Object> metadata) {
+}
@@ -0,0 +1,23 @@
+package br.edu.ifba.document;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Response DTO describing the progress of a Git ingestion job.
+ */
+public record GitIngestJobResponse(
+        UUID jobId,
+        UUID projectId,
+        String repoUrl,
+        String branch,
+        GitIngestJobStatus status,
+        int filesDiscovered,
+        int documentsCreated,
+        int documentsReplaced,
+        int filesFailed,
+        String error,
+        Instant submittedAt,
+        Instant startedAt,
+        Instant finishedAt
+) {}
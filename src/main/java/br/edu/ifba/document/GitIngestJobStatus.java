@@ -0,0 +1,16 @@
+package br.edu.ifba.document;
+
+/**
+ * Lifecycle of a background Git ingestion job.
+ */
+public enum GitIngestJobStatus {
+    QUEUED,
+    CLONING,
+    INGESTING,
+    COMPLETED,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
@@ -0,0 +1,254 @@
+package br.edu.ifba.document;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import br.edu.ifba.project.Project;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+
+/**
+ * Runs Git repository ingestion as background jobs.
+ *
+ * <p>
+ * A submitted job clones the repository and walks its working tree on an
+ * ingestion worker. Files are inserted with
+ * {@link DocumentServicePort#createAll} every {@code git.ingest.batch.size}
+ * files, so each batch is a single transaction and the document processor can
+ * start on committed batches while the walk is still running.
+ * </p>
+ *
+ * <p>
+ * Job state is kept in memory and can be polled until
+ * {@code git.ingest.job.retention} after the job finishes.
+ * </p>
+ */
+@ApplicationScoped
+public class GitIngestionService {
+
+    private static final Logger LOG = Logger.getLogger(GitIngestionService.class);
+
+    @Inject
+    GitRepositoryService gitRepositoryService;
+
+    @Inject
+    DocumentServicePort documentService;
+
+    @ConfigProperty(name = "git.ingest.batch.size", defaultValue = "100")
+    int batchSize;
+
+    @ConfigProperty(name = "git.ingest.job.retention", defaultValue = "1h")
+    Duration jobRetention;
+
+    private final Map<UUID, Job> jobs = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor;
+
+    @Inject
+    public GitIngestionService(@ConfigProperty(name = "git.ingest.workers", defaultValue = "2") int workers) {
+        final AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, workers), runnable -> {
+            final Thread thread = new Thread(runnable, "git-ingest-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Submits a repository for background ingestion.
+     *
+     * @param project The project to add documents to
+     * @param repoUrl The Git repository URL
+     * @param branch  The branch to clone (optional)
+     * @param replace If true, existing project documents with the same path are
+     *                deleted once the new version is inserted
+     * @return the queued job
+     */
+    public GitIngestJobResponse submit(final Project project, final String repoUrl, final String branch,
+            final boolean replace) {
+        pruneFinishedJobs();
+
+        // Resolve existing paths up front, while the caller's request context is active
+        final Map<String, UUID> existing = replace
+                ? documentService.findSummariesByProjectId(project.getId()).stream()
+                        .collect(Collectors.toMap(DocumentSummary::fileName, DocumentSummary::id,
+                                (first, second) -> first))
+                : Map.of();
+
+        final Job job = new Job(UUID.randomUUID(), project, repoUrl, branch, existing);
+        jobs.put(job.id, job);
+        executor.execute(() -> run(job));
+
+        LOG.infof("Queued Git ingestion job %s for %s (branch: %s) in project %s",
+                job.id, repoUrl, branch, project.getId());
+        return job.toResponse();
+    }
+
+    /**
+     * Returns the current state of a job, if it is still retained.
+     */
+    public Optional<GitIngestJobResponse> getJob(final UUID jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(Job::toResponse);
+    }
+
+    @ActivateRequestContext
+    void run(final Job job) {
+        job.startedAt = Instant.now();
+        job.status = GitIngestJobStatus.CLONING;
+        final List<Document> batch = new ArrayList<>(batchSize);
+
+        try {
+            gitRepositoryService.cloneAndStreamFiles(job.repoUrl, job.branch, null, file -> {
+                job.status = GitIngestJobStatus.INGESTING;
+                job.filesDiscovered.incrementAndGet();
+                batch.add(new Document(
+                        detectDocumentType(file.fileName()),
+                        file.relativePath(), // Use relative path as filename for better identification
+                        file.content(),
+                        null, // no additional metadata
+                        job.project));
+                if (batch.size() >= batchSize) {
+                    flush(job, batch);
+                }
+            });
+            flush(job, batch);
+
+            job.status = GitIngestJobStatus.COMPLETED;
+            LOG.infof("Git ingestion job %s completed: %d files, %d documents created, %d replaced, %d failed",
+                    job.id, job.filesDiscovered.get(), job.documentsCreated.get(),
+                    job.documentsReplaced.get(), job.filesFailed.get());
+        } catch (Exception e) {
+            job.error = e.getMessage();
+            job.status = GitIngestJobStatus.FAILED;
+            LOG.errorf(e, "Git ingestion job %s failed", job.id);
+        } finally {
+            job.finishedAt = Instant.now();
+        }
+    }
+
+    /**
+     * Inserts the pending batch in one call. A failed batch is counted and
+     * skipped so the rest of the repository is still ingested.
+     *
+     * <p>
+     * In replace mode the previous versions of the batch's files are deleted
+     * only after the new versions were inserted, so a failed insert never
+     * leaves the project without the file.
+     * </p>
+     */
+    private void flush(final Job job, final List<Document> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            documentService.createAll(List.copyOf(batch));
+            job.documentsCreated.addAndGet(batch.size());
+        } catch (Exception e) {
+            job.filesFailed.addAndGet(batch.size());
+            LOG.warnf(e, "Git ingestion job %s failed to insert a batch of %d files", job.id, batch.size());
+            batch.clear();
+            return;
+        }
+        try {
+            final List<UUID> stale = batch.stream()
+                    .map(document -> job.existing.get(document.getFileName()))
+                    .filter(Objects::nonNull)
+                    .toList();
+            if (!stale.isEmpty()) {
+                documentService.deleteAll(job.project.getId(), stale, false);
+                job.documentsReplaced.addAndGet(stale.size());
+            }
+        } catch (Exception e) {
+            LOG.warnf(e, "Git ingestion job %s inserted a batch but failed to delete its previous versions",
+                    job.id);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    /**
+     * Detects document type based on file extension.
+     * Uses centralized CodeFileExtensions for 50+ programming languages.
+     */
+    private DocumentType detectDocumentType(final String fileName) {
+        if (fileName == null) {
+            return DocumentType.TEXT;
+        }
+
+        return CodeFileExtensions.isCodeFile(fileName) ? DocumentType.CODE : DocumentType.TEXT;
+    }
+
+    private void pruneFinishedJobs() {
+        final Instant cutoff = Instant.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.status.isFinished() && job.finishedAt != null
+                && job.finishedAt.isBefore(cutoff));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Mutable state of one ingestion job, updated by the worker and read by the
+     * status endpoint.
+     */
+    static final class Job {
+        final UUID id;
+        final Project project;
+        final String repoUrl;
+        final String branch;
+        final Map<String, UUID> existing;
+        final Instant submittedAt = Instant.now();
+        final AtomicInteger filesDiscovered = new AtomicInteger();
+        final AtomicInteger documentsCreated = new AtomicInteger();
+        final AtomicInteger documentsReplaced = new AtomicInteger();
+        final AtomicInteger filesFailed = new AtomicInteger();
+        volatile GitIngestJobStatus status = GitIngestJobStatus.QUEUED;
+        volatile String error;
+        volatile Instant startedAt;
+        volatile Instant finishedAt;
+
+        Job(final UUID id, final Project project, final String repoUrl, final String branch,
+                final Map<String, UUID> existing) {
+            this.id = id;
+            this.project = project;
+            this.repoUrl = repoUrl;
+            this.branch = branch;
+            this.existing = existing;
+        }
+
+        GitIngestJobResponse toResponse() {
+            return new GitIngestJobResponse(
+                    id,
+                    project.getId(),
+                    repoUrl,
+                    branch,
+                    status,
+                    filesDiscovered.get(),
+                    documentsCreated.get(),
+                    documentsReplaced.get(),
+                    filesFailed.get(),
+                    error,
+                    submittedAt,
+                    startedAt,
+                    finishedAt);
+        }
+    }
+}
@@ -17,6 +17,8 @@ import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -51,6 +53,24 @@ public class GitRepositoryService {
      * @throws GitCloneException if cloning or extraction fails
      */
     public List<RepositoryFile> cloneAndExtractFiles(String repoUrl, String branch, String patterns) {
+        List<RepositoryFile> files = new ArrayList<>();
+        cloneAndStreamFiles(repoUrl, branch, patterns, files::add);
+        return files;
+    }
+
+    /**
+     * Clones a Git repository and hands each matching file to the consumer as the
+     * working tree is walked, so callers can persist files before the walk ends
+     * without holding the whole repository in memory.
+     *
+     * @param repoUrl The Git repository URL
+     * @param branch The branch to clone (defaults to main/master if null)
+     * @param patterns File patterns to match (e.g., "*.java,*.py"). If null, includes all text files.
+     * @param consumer Receives each extracted file, in walk order
+     * @return Number of files handed to the consumer
+     * @throws GitCloneException if cloning or extraction fails
+     */
+    public int cloneAndStreamFiles(String repoUrl, String branch, String patterns, Consumer<RepositoryFile> consumer) {
         if (repoUrl == null || repoUrl.isBlank()) {
             throw new IllegalArgumentException("Repository URL cannot be null or empty");
         }
@@ -67,10 +87,10 @@ public class GitRepositoryService {
             cloneRepository(repoUrl, branch, cloneDir);
 
             // Extract files matching patterns
-            List<RepositoryFile> files = extractFiles(cloneDir, patterns);
-            LOG.infof("Extracted %d files from repository %s", files.size(), repoUrl);
+            int count = extractFiles(cloneDir, patterns, consumer);
+            LOG.infof("Extracted %d files from repository %s", count, repoUrl);
 
-            return files;
+            return count;
 
         } catch (Exception e) {
             LOG.errorf(e, "Failed to clone and extract files from repository: %s", repoUrl);
@@ -129,9 +149,9 @@ public class GitRepositoryService {
     /**
      * Extracts files from the cloned repository that match the given patterns.
      */
-    private List<RepositoryFile> extractFiles(Path repoDir, String patterns) throws IOException {
+    private int extractFiles(Path repoDir, String patterns, Consumer<RepositoryFile> consumer) throws IOException {
         List<Pattern> filePatterns = parsePatterns(patterns);
-        List<RepositoryFile> files = new ArrayList<>();
+        AtomicInteger count = new AtomicInteger();
         long maxFileSizeBytes = maxFileSizeMb * 1024L * 1024L;
 
         Files.walkFileTree(repoDir, new SimpleFileVisitor<>() {
@@ -171,12 +191,13 @@ public class GitRepositoryService {
                         String content = Files.readString(file);
                         String relativePath = repoDir.relativize(file).toString();
 
-                        files.add(new RepositoryFile(
+                        consumer.accept(new RepositoryFile(
                                 relativePath,
                                 fileName,
                                 content,
                                 attrs.size()
                         ));
+                        count.incrementAndGet();
 
                         LOG.debugf("Extracted file: %s (%d bytes)", relativePath, attrs.size());
 
@@ -195,7 +216,7 @@ public class GitRepositoryService {
             }
         });
 
-        return files;
+        return count.get();
     }
 
     /**
@@ -2,9 +2,14 @@ package br.edu.ifba.document;
 
 import jakarta.enterprise.context.ApplicationScoped;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * Detects programming language from file extension and content.
@@ -175,9 +180,16 @@ public class LanguageDetector {
     );
     
     /**
-     * Content validation patterns for 30+ common languages.
+     * Content patterns are only evaluated on this many leading characters; a
+     * language's keywords show up long before that in real source files.
      */
-    private static final Map<String, Pattern> VALIDATION_PATTERNS = Map.ofEntries(
+    private static final int CONTENT_SCAN_LIMIT = 16 * 1024;
+    
+    /**
+     * Content validation patterns for 30+ common languages, in detection
+     * priority order.
+     */
+    private static final Map<String, Pattern> VALIDATION_PATTERNS = orderedEntries(
         // JVM Languages
         Map.entry("java", Pattern.compile("\\b(class|interface|package|public|private|import)\\s+")),
         Map.entry("kotlin", Pattern.compile("\\b(fun|class|val|var|object|interface|data class)\\s+")),
@@ -244,6 +256,25 @@ public class LanguageDetector {
         Map.entry("solidity", Pattern.compile("\\b(contract|function|modifier|event|require|public|private|internal)\\s+"))
     );
     
+    /**
+     * All validation patterns combined into one alternation with a named group
+     * per language, in priority order, so content detection is a single scan
+     * instead of one scan per language.
+     */
+    private static final Pattern CONTENT_DETECTION_PATTERN = Pattern.compile(
+        VALIDATION_PATTERNS.entrySet().stream()
+            .map(entry -> "(?<" + entry.getKey() + ">"
+                + ((entry.getValue().flags() & Pattern.CASE_INSENSITIVE) != 0 ? "(?i:" : "(?:")
+                + entry.getValue().pattern() + "))")
+            .collect(Collectors.joining("|"))
+    );
+    
+    /**
+     * Languages by detection priority; the index is the rank of the named
+     * group in {@link #CONTENT_DETECTION_PATTERN}.
+     */
+    private static final List<String> CONTENT_DETECTION_ORDER = List.copyOf(VALIDATION_PATTERNS.keySet());
+    
     /**
      * Detect language from file name and optionally content.
      *
@@ -288,6 +319,16 @@ public class LanguageDetector {
      * @return detected language if extension is recognized
      */
     public Optional<String> detectFromExtension(String fileName) {
+        return languageOf(fileName);
+    }
+    
+    /**
+     * Get language from extension only, without an instance.
+     *
+     * @param fileName the file name
+     * @return detected language if extension is recognized
+     */
+    static Optional<String> languageOf(String fileName) {
         if (fileName == null || fileName.isEmpty()) {
             return Optional.empty();
         }
@@ -311,14 +352,28 @@ public class LanguageDetector {
      * @return detected language if patterns match
      */
     private Optional<String> detectFromContent(String content) {
-        // Try each language pattern
-        for (Map.Entry<String, Pattern> entry : VALIDATION_PATTERNS.entrySet()) {
-            if (entry.getValue().matcher(content).find()) {
-                return Optional.of(entry.getKey());
+        // The highest-priority language matching anywhere wins, as if each
+        // pattern were tried in order. At a given position the alternation
+        // reports the highest-priority group, so the scan restarts one
+        // character after each match start to also see overlapping matches.
+        int limit = Math.min(content.length(), CONTENT_SCAN_LIMIT);
+        Matcher matcher = CONTENT_DETECTION_PATTERN.matcher(content)
+            .useTransparentBounds(true)
+            .useAnchoringBounds(false);
+        int best = CONTENT_DETECTION_ORDER.size();
+        int from = 0;
+        while (best > 0 && from < limit && matcher.region(from, limit).find()) {
+            for (int rank = 0; rank < best; rank++) {
+                if (matcher.start(CONTENT_DETECTION_ORDER.get(rank)) >= 0) {
+                    best = rank;
+                    break;
+                }
             }
+            from = matcher.start() + 1;
         }
-        
-        return Optional.empty();
+        return best < CONTENT_DETECTION_ORDER.size()
+            ? Optional.of(CONTENT_DETECTION_ORDER.get(best))
+            : Optional.empty();
     }
     
     /**
@@ -339,6 +394,17 @@ public class LanguageDetector {
             return true;
         }
         
-        return pattern.matcher(content).find();
+        return pattern.matcher(content)
+            .region(0, Math.min(content.length(), CONTENT_SCAN_LIMIT))
+            .find();
+    }
+    
+    @SafeVarargs
+    private static Map<String, Pattern> orderedEntries(Map.Entry<String, Pattern>... entries) {
+        Map<String, Pattern> map = new LinkedHashMap<>();
+        for (Map.Entry<String, Pattern> entry : entries) {
+            map.put(entry.getKey(), entry.getValue());
+        }
+        return Collections.unmodifiableMap(map);
     }
 }
@@ -2,9 +2,11 @@ package br.edu.ifba.document;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDDocumentInformation;
 import org.apache.pdfbox.text.PDFTextStripper;
@@ -29,11 +31,32 @@ public class PdfDocumentExtractor implements DocumentExtractor {
         }
     }
 
+    @Override
+    public ExtractedDocument extractWithMetadata(final InputStream inputStream) throws IOException {
+        try (PDDocument document = PDDocument.load(inputStream, MemoryUsageSetting.setupTempFileOnly())) {
+            return extractAll(document);
+        }
+    }
+
+    @Override
+    public ExtractedDocument extractWithMetadata(final Path file) throws IOException {
+        // Loading from the file lets PDFBox read objects on demand instead of
+        // copying the whole upload into memory first
+        try (PDDocument document = PDDocument.load(file.toFile(), MemoryUsageSetting.setupTempFileOnly())) {
+            return extractAll(document);
+        }
+    }
+
     @Override
     public boolean supports(final String fileName) {
         return fileName.endsWith(".pdf");
     }
 
+    private ExtractedDocument extractAll(final PDDocument document) throws IOException {
+        final PDFTextStripper stripper = new PDFTextStripper();
+        return new ExtractedDocument(stripper.getText(document), extractPdfMetadata(document));
+    }
+
     private Map<String, Object> extractPdfMetadata(final PDDocument document) {
         final Map<String, Object> metadata = new HashMap<>();
         final PDDocumentInformation info = document.getDocumentInformation();
@@ -29,6 +29,12 @@ public class PlainTextDocumentExtractor implements DocumentExtractor {
         }
     }
 
+    @Override
+    public ExtractedDocument extractWithMetadata(final InputStream inputStream) throws IOException {
+        final String text = extract(inputStream);
+        return new ExtractedDocument(text, extractTextMetadata(text));
+    }
+
     @Override
     public boolean supports(final String fileName) {
         return fileName.endsWith(".txt") || fileName.endsWith(".md");
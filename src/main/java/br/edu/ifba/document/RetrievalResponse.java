@@ -0,0 +1,10 @@
+package br.edu.ifba.document;
+
+import java.util.List;
+
+/**
+ * Retrieval-only search result: the context assembled by LightRAG and the
+ * citable source chunks behind it, without a synthesized answer.
+ */
+public record RetrievalResponse(String context, List<SearchResult> sources) {
+}
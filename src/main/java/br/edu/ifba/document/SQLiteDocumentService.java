@@ -1,10 +1,12 @@
 package br.edu.ifba.document;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 import org.jboss.logging.Logger;
 
+import br.edu.ifba.lightrag.deletion.BulkDeletionResult;
 import br.edu.ifba.lightrag.deletion.DocumentDeletionService;
 import br.edu.ifba.lightrag.deletion.KnowledgeRebuildResult;
 import jakarta.inject.Inject;
@@ -37,6 +39,12 @@ public class SQLiteDocumentService implements DocumentServicePort {
         return document;
     }
 
+    @Override
+    public List<Document> createAll(final List<Document> documents) {
+        documentRepository.saveAll(documents);
+        return documents;
+    }
+
     @Override
     public Document findById(final UUID id) {
         return documentRepository.findByIdOrThrow(id);
@@ -76,6 +84,58 @@ public class SQLiteDocumentService implements DocumentServicePort {
         documentRepository.deleteDocument(document);
     }
 
+    /**
+     * Deletes many documents of a project with one bulk knowledge graph pass.
+     * Descriptions of shared entities are rebuilt in the background.
+     *
+     * @param projectId The project ID
+     * @param documentIds The documents to delete
+     * @param skipRebuild If true, shared entities keep their current description
+     * @return aggregated deletion result
+     */
+    @Override
+    public BulkDeletionResult deleteAll(final UUID projectId, final List<UUID> documentIds, final boolean skipRebuild) {
+        final List<Document> documents = findInProject(projectId, documentIds);
+
+        final BulkDeletionResult result;
+        try {
+            result = documentDeletionService
+                    .deleteDocuments(projectId, documentIds, skipRebuild)
+                    .join();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to delete graph data for documents in project: " + projectId, e);
+        }
+
+        LOG.infof(
+                "Bulk deletion completed (skipRebuild=%s) - documents: %d, entities deleted: %d, queued for rebuild: %d, relations deleted: %d",
+                skipRebuild,
+                documents.size(),
+                result.entitiesDeleted().size(),
+                result.entitiesQueuedForRebuild().size(),
+                result.relationsDeleted());
+
+        if (result.hasErrors()) {
+            LOG.warnf("Bulk deletion had %d errors: %s",
+                    result.errors().size(),
+                    String.join("; ", result.errors()));
+        }
+
+        documents.forEach(documentRepository::deleteDocument);
+        return result;
+    }
+
+    private List<Document> findInProject(final UUID projectId, final List<UUID> documentIds) {
+        final List<Document> documents = new ArrayList<>();
+        for (final UUID documentId : documentIds) {
+            final Document document = documentRepository.findByIdOrThrow(documentId);
+            if (!projectId.equals(document.getProject().getId())) {
+                throw new IllegalArgumentException("Document " + documentId + " does not belong to project " + projectId);
+            }
+            documents.add(document);
+        }
+        return documents;
+    }
+
     @Override
     public Document findByFileName(final String fileName) {
         return documentRepository.findByFileName(fileName);
@@ -86,6 +146,11 @@ public class SQLiteDocumentService implements DocumentServicePort {
         return documentRepository.findByProjectId(projectId);
     }
 
+    @Override
+    public List<DocumentSummary> findSummariesByProjectId(final UUID projectId) {
+        return documentRepository.findSummariesByProjectId(projectId);
+    }
+
     @Override
     public DocumentProgressResponse getProcessingProgress(final UUID documentId) {
         final Document document = documentRepository.findByIdOrThrow(documentId);
@@ -7,11 +7,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import br.edu.ifba.lightrag.LightRAGService;
 import br.edu.ifba.lightrag.core.LightRAGQueryResult;
 import br.edu.ifba.lightrag.core.QueryParam;
+import io.smallrye.mutiny.Multi;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
 import jakarta.inject.Inject;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
@@ -66,99 +72,211 @@ public class SearchService {
             LOG.infof("LightRAG query completed - answer length: %d characters, sources: %d", 
                     queryResult.answer().length(), queryResult.totalSources());
 
-            // Build search results list with answer first, then source chunks
-            final List<SearchResult> results = new ArrayList<>();
+            return new SearchResponse(toAnswerResults(queryResult));
             
-            // First result: The synthesized answer with citations
-            results.add(new SearchResult(
-                    null,                       // No chunk ID for the answer
-                    null,                       // No specific document ID for the answer
-                    queryResult.answer(),       // The synthesized answer with [1], [2] citations
-                    null,                       // No chunk index
-                    "LightRAG Answer",          // Source type
-                    0.0                         // Most relevant (distance 0)
-            ));
-            
-            // Add source chunks as additional results
-            // ONLY include sources with document IDs (entities without document IDs cannot be cited)
-            // The number of chunks is controlled by lightrag.query.chunk.top.k
-            final int limit = queryResult.sourceChunks().size();
-            
-            // First pass: collect all document UUIDs and valid sources
-            final Set<UUID> documentIds = new HashSet<>();
-            final List<LightRAGQueryResult.SourceChunk> validSources = new ArrayList<>();
+        } catch (Exception e) {
+            LOG.errorf(e, "Error executing LightRAG search for query: '%s'", query);
+            throw new RuntimeException("Search failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Searches several questions as one batch. The questions share a single
+     * embedding call and their graph reads, and run with bounded parallelism
+     * (see {@code lightrag.query.batch.*}).
+     * 
+     * <p>Each question is emitted as soon as it completes, so results arrive in
+     * completion order; {@link BatchSearchResult#index()} maps them back to the
+     * request. A failed question is reported in its own result and does not
+     * stop the others. Cancelling the stream skips questions not yet started.</p>
+     * 
+     * @param queries The questions
+     * @param projectId The project UUID to search within
+     * @return stream with one result per question
+     * @throws IllegalArgumentException if the batch exceeds the configured maximum size
+     */
+    public Multi<BatchSearchResult> searchBatch(final List<String> queries, final UUID projectId) {
+        LOG.infof("Executing LightRAG batch search for %d queries in project: %s", queries.size(), projectId);
+
+        final QueryParam.Mode mode = parseQueryMode(queryMode);
+        final List<CompletableFuture<LightRAGQueryResult>> futures =
+                lightragService.queryBatch(queries, mode, projectId, null);
+        if (futures.isEmpty()) {
+            return Multi.createFrom().empty();
+        }
+
+        return Multi.createFrom().emitter(emitter -> {
+            final AtomicInteger remaining = new AtomicInteger(futures.size());
+            emitter.onTermination(() -> futures.forEach(future -> future.cancel(false)));
+            for (int i = 0; i < futures.size(); i++) {
+                final int index = i;
+                futures.get(i).whenComplete((result, error) -> {
+                    if (error instanceof CancellationException) {
+                        return;
+                    }
+                    final BatchSearchResult item = toBatchResult(index, queries.get(index), result, error);
+                    synchronized (emitter) {
+                        emitter.emit(item);
+                        if (remaining.decrementAndGet() == 0) {
+                            emitter.complete();
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Converts one completed batch query. Runs on whichever thread completed the
+     * query, so it activates its own request context for the document lookups.
+     */
+    @ActivateRequestContext
+    BatchSearchResult toBatchResult(
+            final int index,
+            final String query,
+            final LightRAGQueryResult queryResult,
+            final Throwable error) {
+        if (error != null) {
+            final Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            LOG.errorf(cause, "Error executing LightRAG batch search for query: '%s'", query);
+            return new BatchSearchResult(index, query, List.of(), "Search failed: " + cause.getMessage());
+        }
+        try {
+            return new BatchSearchResult(index, query, toAnswerResults(queryResult), null);
+        } catch (Exception e) {
+            LOG.errorf(e, "Error building LightRAG batch search result for query: '%s'", query);
+            return new BatchSearchResult(index, query, List.of(), "Search failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves the context and citable sources for a query without generating
+     * an answer. Callers that run their own LLM call (e.g. chat) use this to avoid
+     * paying for a second, discarded generation.
+     * 
+     * @param query The search query
+     * @param projectId The project UUID to search within
+     * @param enableRerank Optional flag to enable/disable reranking (null uses global config)
+     * @return RetrievalResponse with the assembled context and source chunks as SearchResults
+     */
+    public RetrievalResponse retrieve(final String query, final UUID projectId, final Boolean enableRerank) {
+        LOG.infof("Executing LightRAG retrieval for: '%s' in project: %s, rerank: %s", query, projectId, enableRerank);
+
+        try {
+            final QueryParam.Mode mode = parseQueryMode(queryMode);
+            final LightRAGQueryResult queryResult = lightragService.retrieve(query, mode, projectId, enableRerank).join();
+
+            return new RetrievalResponse(queryResult.answer(), toSearchResults(queryResult));
+
+        } catch (Exception e) {
+            LOG.errorf(e, "Error executing LightRAG retrieval for query: '%s'", query);
+            throw new RuntimeException("Retrieval failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Builds the search results for a query result: the synthesized answer
+     * first, then its citable source chunks.
+     */
+    private List<SearchResult> toAnswerResults(final LightRAGQueryResult queryResult) {
+        final List<SearchResult> results = new ArrayList<>();
+        
+        // First result: The synthesized answer with citations
+        results.add(new SearchResult(
+                null,                       // No chunk ID for the answer
+                null,                       // No specific document ID for the answer
+                queryResult.answer(),       // The synthesized answer with [1], [2] citations
+                null,                       // No chunk index
+                "LightRAG Answer",          // Source type
+                0.0                         // Most relevant (distance 0)
+        ));
+        
+        // Add source chunks as additional results
+        results.addAll(toSearchResults(queryResult));
+        return results;
+    }
+
+    /**
+     * Converts the citable source chunks of a query result into search results
+     * labelled with their document filenames.
+     */
+    private List<SearchResult> toSearchResults(final LightRAGQueryResult queryResult) {
+        final List<SearchResult> results = new ArrayList<>();
+        // ONLY include sources with document IDs (entities without document IDs cannot be cited)
+        // The number of chunks is controlled by lightrag.query.chunk.top.k
+        final int limit = queryResult.sourceChunks().size();
+        
+        // First pass: collect all document UUIDs and valid sources
+        final Set<UUID> documentIds = new HashSet<>();
+        final List<LightRAGQueryResult.SourceChunk> validSources = new ArrayList<>();
+        
+        for (int i = 0; i < limit && i < queryResult.sourceChunks().size(); i++) {
+            final LightRAGQueryResult.SourceChunk source = queryResult.sourceChunks().get(i);
             
-            for (int i = 0; i < limit && i < queryResult.sourceChunks().size(); i++) {
-                final LightRAGQueryResult.SourceChunk source = queryResult.sourceChunks().get(i);
-                
-                // Skip sources without document IDs (e.g., knowledge graph entities)
-                    // Also skip entity-type chunks explicitly to prevent them from being cited
-                if (source.documentId() == null || "entity".equals(source.type())) {
-                    LOG.debugf("Skipping non-citable source: %s (type: %s, documentId: %s)", 
-                              source.chunkId(), source.type(), source.documentId());
-                    continue;
-                }
-                
-                // Parse document UUID from documentId
-                try {
-                    UUID documentUuid = UUID.fromString(source.documentId());
-                    documentIds.add(documentUuid);
-                    validSources.add(source);
-                } catch (IllegalArgumentException e) {
-                    LOG.warnf("Could not parse document UUID from: %s, skipping source", source.documentId());
-                }
+            // Skip sources without document IDs (e.g., knowledge graph entities)
+                // Also skip entity-type chunks explicitly to prevent them from being cited
+            if (source.documentId() == null || "entity".equals(source.type())) {
+                LOG.debugf("Skipping non-citable source: %s (type: %s, documentId: %s)", 
+                          source.chunkId(), source.type(), source.documentId());
+                continue;
             }
             
-            // Batch query documents to get filenames
-            final Map<UUID, String> documentFileNames = new HashMap<>();
-            if (!documentIds.isEmpty()) {
-                LOG.debugf("Loading filenames for %d documents", documentIds.size());
-                for (UUID docId : documentIds) {
-                    try {
-                        Document doc = documentRepository.findDocumentById(docId).orElse(null);
-                        if (doc != null) {
-                            documentFileNames.put(docId, doc.getFileName());
-                        } else {
-                            LOG.warnf("Document not found for UUID: %s", docId);
-                            documentFileNames.put(docId, "Unknown Document");
-                        }
-                    } catch (Exception e) {
-                        LOG.warnf("Error loading document %s: %s", docId, e.getMessage());
+            // Parse document UUID from documentId
+            try {
+                UUID documentUuid = UUID.fromString(source.documentId());
+                documentIds.add(documentUuid);
+                validSources.add(source);
+            } catch (IllegalArgumentException e) {
+                LOG.warnf("Could not parse document UUID from: %s, skipping source", source.documentId());
+            }
+        }
+        
+        // Batch query documents to get filenames
+        final Map<UUID, String> documentFileNames = new HashMap<>();
+        if (!documentIds.isEmpty()) {
+            LOG.debugf("Loading filenames for %d documents", documentIds.size());
+            for (UUID docId : documentIds) {
+                try {
+                    Document doc = documentRepository.findDocumentById(docId).orElse(null);
+                    if (doc != null) {
+                        documentFileNames.put(docId, doc.getFileName());
+                    } else {
+                        LOG.warnf("Document not found for UUID: %s", docId);
                         documentFileNames.put(docId, "Unknown Document");
                     }
+                } catch (Exception e) {
+                    LOG.warnf("Error loading document %s: %s", docId, e.getMessage());
+                    documentFileNames.put(docId, "Unknown Document");
                 }
             }
+        }
+        
+        // Second pass: create search results with filenames
+        int sourceCount = 0;
+        for (LightRAGQueryResult.SourceChunk source : validSources) {
+            UUID documentUuid = UUID.fromString(source.documentId());
+            String fileName = documentFileNames.getOrDefault(documentUuid, "Unknown Document");
             
-            // Second pass: create search results with filenames
-            int sourceCount = 0;
-            for (LightRAGQueryResult.SourceChunk source : validSources) {
-                UUID documentUuid = UUID.fromString(source.documentId());
-                String fileName = documentFileNames.getOrDefault(documentUuid, "Unknown Document");
-                
-                // Format source with filename and chunk index
-                String sourceDescription = source.chunkIndex() > 0 
-                    ? String.format("%s - chunk %d", fileName, source.chunkIndex())
-                    : fileName;
-                
-                sourceCount++;
-                results.add(new SearchResult(
-                        source.chunkId(),                                // Chunk ID
-                        documentUuid,                                    // Document UUID
-                        source.content(),                                // Chunk content
-                        source.chunkIndex(),                             // Chunk index
-                        sourceDescription,                               // Source with filename and chunk
-                        source.relevanceScore()                          // Relevance score (distance)
-                ));
-            }
-            
-            LOG.infof("Filtered to %d citable sources (from %d total sources)", sourceCount, queryResult.totalSources());
-
-            return new SearchResponse(results);
+            // Format source with filename and chunk index
+            String sourceDescription = source.chunkIndex() > 0 
+                ? String.format("%s - chunk %d", fileName, source.chunkIndex())
+                : fileName;
             
-        } catch (Exception e) {
-            LOG.errorf(e, "Error executing LightRAG search for query: '%s'", query);
-            throw new RuntimeException("Search failed: " + e.getMessage(), e);
+            sourceCount++;
+            results.add(new SearchResult(
+                    source.chunkId(),                                // Chunk ID
+                    documentUuid,                                    // Document UUID
+                    source.content(),                                // Chunk content
+                    source.chunkIndex(),                             // Chunk index
+                    sourceDescription,                               // Source with filename and chunk
+                    source.relevanceScore()                          // Relevance score (distance)
+            ));
         }
+
+        LOG.infof("Filtered to %d citable sources (from %d total sources)", sourceCount, queryResult.totalSources());
+        return results;
     }
 
     /**
@@ -56,6 +56,20 @@ public class WebsiteDocumentExtractor implements DocumentExtractor {
         }
     }
 
+    @Override
+    public ExtractedDocument extractWithMetadata(final InputStream inputStream) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            final StringBuilder html = new StringBuilder();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                html.append(line).append("\n");
+            }
+            final String htmlString = html.toString();
+            final String extractedText = extractTextFromHtml(htmlString);
+            return new ExtractedDocument(extractedText, extractHtmlMetadata(htmlString, extractedText));
+        }
+    }
+
     @Override
     public boolean supports(final String fileName) {
         return false;
@@ -74,6 +88,17 @@ public class WebsiteDocumentExtractor implements DocumentExtractor {
         return metadata;
     }
 
+    /**
+     * Fetches the URL once and extracts both text and metadata from the response.
+     */
+    public ExtractedDocument fetchAndExtractWithMetadata(final String url) throws IOException, InterruptedException {
+        final String html = fetchHtml(url);
+        final String extractedText = extractTextFromHtml(html);
+        final Map<String, Object> metadata = extractHtmlMetadata(html, extractedText);
+        metadata.put("url", url);
+        return new ExtractedDocument(extractedText, metadata);
+    }
+
     private String fetchHtml(final String url) throws IOException, InterruptedException {
         final HttpRequest request = HttpRequest.newBuilder()
                 .uri(URI.create(url))
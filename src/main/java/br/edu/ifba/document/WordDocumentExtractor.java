@@ -29,6 +29,14 @@ public class WordDocumentExtractor implements DocumentExtractor {
         }
     }
 
+    @Override
+    public ExtractedDocument extractWithMetadata(final InputStream inputStream) throws IOException {
+        try (XWPFDocument document = new XWPFDocument(inputStream);
+             XWPFWordExtractor extractor = new XWPFWordExtractor(document)) {
+            return new ExtractedDocument(extractor.getText(), extractDocxMetadata(document));
+        }
+    }
+
     @Override
     public boolean supports(final String fileName) {
         return fileName.endsWith(".docx");
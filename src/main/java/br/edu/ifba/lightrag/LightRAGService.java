@@ -9,6 +9,8 @@ import br.edu.ifba.lightrag.storage.GraphStorage;
 import br.edu.ifba.lightrag.storage.VectorStorage;
 import br.edu.ifba.lightrag.storage.impl.InMemoryDocStatusStorage;
 import br.edu.ifba.lightrag.storage.impl.JsonKVStorage;
+import io.opentelemetry.instrumentation.annotations.SpanAttribute;
+import io.opentelemetry.instrumentation.annotations.WithSpan;
 import io.quarkus.runtime.Startup;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
@@ -19,6 +21,7 @@ import org.jboss.logging.Logger;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -72,9 +75,21 @@ public class LightRAGService {
     @Inject
     br.edu.ifba.lightrag.core.CodeExtractionPrompts codeExtractionPrompts;
 
+    @Inject
+    br.edu.ifba.lightrag.core.CodeStructureExtractor codeStructureExtractor;
+
+    @ConfigProperty(name = "lightrag.code.extraction.mode", defaultValue = "hybrid")
+    String codeExtractionMode;
+
     @Inject
     br.edu.ifba.lightrag.core.LightRAGExtractionConfig extractionConfig;
 
+    @Inject
+    br.edu.ifba.lightrag.core.DescriptionCompactionWorker descriptionCompactionWorker;
+
+    @Inject
+    br.edu.ifba.lightrag.query.QueryCacheService queryCacheService;
+
     @ConfigProperty(name = "lightrag.chunk.size", defaultValue = "1200")
     int chunkSize;
 
@@ -87,6 +102,15 @@ public class LightRAGService {
     @ConfigProperty(name = "lightrag.query.chunk.top.k", defaultValue = "5")
     int chunkTopK;
 
+    @ConfigProperty(name = "lightrag.query.batch.parallelism", defaultValue = "4")
+    int batchParallelism;
+
+    @ConfigProperty(name = "lightrag.query.batch.max-size", defaultValue = "1000")
+    int batchMaxSize;
+
+    @ConfigProperty(name = "lightrag.query.batch.max-shared-reads", defaultValue = "10000")
+    int batchMaxSharedReads;
+
     @ConfigProperty(name = "lightrag.storage.working.dir", defaultValue = "./lightrag-data")
     String workingDir;
 
@@ -281,7 +305,11 @@ public class LightRAGService {
                     .reranker(rerankerFactory.getReranker())
                     .codeChunker(codeChunker)
                     .codeExtractionPrompts(codeExtractionPrompts)
+                    .codeStructureExtractor(codeStructureExtractor)
+                    .codeExtractionMode(br.edu.ifba.lightrag.core.CodeExtractionMode.fromConfig(codeExtractionMode))
                     .extractionConfig(extractionConfig)
+                    .descriptionCompactionWorker(descriptionCompactionWorker)
+                    .queryCache(queryCacheService)
                     .localSystemPrompt(localSystemPrompt)
                     .globalSystemPrompt(globalSystemPrompt)
                     .hybridSystemPrompt(hybridSystemPrompt)
@@ -318,6 +346,10 @@ public class LightRAGService {
     public void shutdown() {
         LOG.info("Shutting down LightRAG service...");
         try {
+            if (lightRAG != null) {
+                // Flushes pending extraction packs while the storages are still open
+                lightRAG.close();
+            }
             if (chunkKVStorage != null) {
                 chunkKVStorage.close();
             }
@@ -345,12 +377,13 @@ public class LightRAGService {
      * @param documentType The document type (TEXT, CODE, etc.)
      * @return CompletableFuture with the LightRAG document ID
      */
+    @WithSpan("lightrag.insert")
     public CompletableFuture<String> insertDocument(
-            final UUID documentId,
+            @SpanAttribute("document.id") final UUID documentId,
             final String content,
             final String fileName,
-            final UUID projectId,
-            final br.edu.ifba.document.DocumentType documentType) {
+            @SpanAttribute("project.id") final UUID projectId,
+            @SpanAttribute("document.type") final br.edu.ifba.document.DocumentType documentType) {
 
         LOG.infof("Inserting document into LightRAG - documentId: %s, projectId: %s, type: %s",
                 documentId, projectId, documentType);
@@ -366,10 +399,12 @@ public class LightRAGService {
                 documentId, metadata.get("document_type"));
 
         return lightRAG.insertWithId(documentId.toString(), content, metadata)
-                .thenApply(lightragDocId -> {
+                .thenCompose(lightragDocId -> {
                     LOG.infof("Document %s successfully inserted into LightRAG with ID: %s",
                             documentId, lightragDocId);
-                    return lightragDocId;
+                    // Cached answers predate the new document
+                    return queryCacheService.invalidate(projectId.toString())
+                            .thenApply(invalidated -> lightragDocId);
                 })
                 .exceptionally(ex -> {
                     LOG.errorf(ex, "Failed to insert document %s into LightRAG", documentId);
@@ -405,28 +440,17 @@ public class LightRAGService {
      * @return CompletableFuture with the query result containing answer and source
      *         chunks
      */
+    @WithSpan("lightrag.query")
     public CompletableFuture<LightRAGQueryResult> query(
             final String query,
-            final QueryParam.Mode mode,
-            final UUID projectId,
+            @SpanAttribute("query.mode") final QueryParam.Mode mode,
+            @SpanAttribute("project.id") final UUID projectId,
             final Boolean enableRerank) {
 
         LOG.infof("Executing LightRAG query - mode: %s, projectId: %s, query: '%s', rerank: %s",
                 mode, projectId, query, enableRerank);
 
-        final QueryParam.Builder paramBuilder = QueryParam.builder()
-                .mode(mode)
-                .topK(topK)
-                .chunkTopK(chunkTopK)
-                .projectId(projectId.toString());
-
-        // Apply rerank setting: use explicit value if provided, otherwise default to
-        // true (config-based)
-        if (enableRerank != null) {
-            paramBuilder.enableRerank(enableRerank);
-        }
-
-        final QueryParam param = paramBuilder.build();
+        final QueryParam param = buildQueryParam(mode, projectId, enableRerank).build();
 
         return lightRAG.query(query, param)
                 .thenApply(result -> {
@@ -440,6 +464,97 @@ public class LightRAGService {
                 });
     }
 
+    /**
+     * Retrieves context for a query without generating an answer.
+     * 
+     * Runs the same retrieval as {@link #query(String, QueryParam.Mode, UUID, Boolean)}
+     * (keywords, vector search, graph expansion, rerank) but stops before the
+     * final LLM call. The result's {@code answer()} holds the assembled context.
+     *
+     * @param query        The query string
+     * @param mode         The query mode (LOCAL, GLOBAL, HYBRID, NAIVE, MIX)
+     * @param projectId    The project UUID (for filtering)
+     * @param enableRerank Optional flag to enable/disable reranking (null uses
+     *                     global config)
+     * @return CompletableFuture with the assembled context and source chunks
+     */
+    @WithSpan("lightrag.retrieve")
+    public CompletableFuture<LightRAGQueryResult> retrieve(
+            final String query,
+            @SpanAttribute("query.mode") final QueryParam.Mode mode,
+            @SpanAttribute("project.id") final UUID projectId,
+            final Boolean enableRerank) {
+
+        LOG.infof("Executing LightRAG retrieval - mode: %s, projectId: %s, query: '%s', rerank: %s",
+                mode, projectId, query, enableRerank);
+
+        final QueryParam param = buildQueryParam(mode, projectId, enableRerank)
+                .onlyNeedContext(true)
+                .build();
+
+        return lightRAG.query(query, param)
+                .thenApply(result -> {
+                    LOG.infof("LightRAG retrieval completed - context length: %d characters, sources: %d",
+                            result.answer().length(), result.totalSources());
+                    return result;
+                })
+                .exceptionally(ex -> {
+                    LOG.errorf(ex, "Failed to execute LightRAG retrieval");
+                    throw new RuntimeException("Failed to execute retrieval: " + ex.getMessage(), ex);
+                });
+    }
+
+    /**
+     * Queries several questions as one batch, sharing their embedding call and
+     * graph reads. At most {@code lightrag.query.batch.parallelism} questions
+     * run at a time.
+     *
+     * @param queries      The questions
+     * @param mode         The query mode (LOCAL, GLOBAL, HYBRID, NAIVE, MIX)
+     * @param projectId    The project UUID (for filtering)
+     * @param enableRerank Optional flag to enable/disable reranking (null uses
+     *                     global config)
+     * @return one future per question, in input order, completing independently
+     * @throws IllegalArgumentException if the batch exceeds
+     *                                  {@code lightrag.query.batch.max-size}
+     */
+    @WithSpan("lightrag.query.batch")
+    public List<CompletableFuture<LightRAGQueryResult>> queryBatch(
+            final List<String> queries,
+            @SpanAttribute("query.mode") final QueryParam.Mode mode,
+            @SpanAttribute("project.id") final UUID projectId,
+            final Boolean enableRerank) {
+        if (queries.size() > batchMaxSize) {
+            throw new IllegalArgumentException(
+                    "Batch of " + queries.size() + " queries exceeds the maximum of " + batchMaxSize);
+        }
+
+        LOG.infof("Executing LightRAG query batch - mode: %s, projectId: %s, queries: %d, rerank: %s",
+                mode, projectId, queries.size(), enableRerank);
+
+        final QueryParam param = buildQueryParam(mode, projectId, enableRerank).build();
+        return lightRAG.queryBatch(queries, param, batchParallelism, batchMaxSharedReads);
+    }
+
+    private QueryParam.Builder buildQueryParam(
+            final QueryParam.Mode mode,
+            final UUID projectId,
+            final Boolean enableRerank) {
+        final QueryParam.Builder paramBuilder = QueryParam.builder()
+                .mode(mode)
+                .topK(topK)
+                .chunkTopK(chunkTopK)
+                .projectId(projectId.toString())
+                .enableCache(queryCacheService.isCachedMode(mode));
+
+        // Apply rerank setting: use explicit value if provided, otherwise default to
+        // true (config-based)
+        if (enableRerank != null) {
+            paramBuilder.enableRerank(enableRerank);
+        }
+        return paramBuilder;
+    }
+
     /**
      * Queries with default HYBRID mode.
      *
@@ -465,19 +580,6 @@ public class LightRAGService {
         return vectorStorage.hasVectors(documentId.toString());
     }
 
-    /**
-     * Deletes all graph entities and relations associated with a document.
-     * This is called when a document is deleted to ensure proper cleanup.
-     * 
-     * @param projectId  The project UUID
-     * @param documentId The document UUID to delete graph data for
-     * @return CompletableFuture with the number of items deleted
-     */
-    public CompletableFuture<Integer> deleteDocumentFromGraph(final String projectId, final String documentId) {
-        LOG.infof("Deleting graph data for document %s in project %s", documentId, projectId);
-        return graphStorage.deleteBySourceId(projectId, documentId);
-    }
-
     /**
      * Gets the underlying LightRAG instance for advanced operations.
      *
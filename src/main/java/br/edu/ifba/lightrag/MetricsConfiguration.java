@@ -0,0 +1,32 @@
+package br.edu.ifba.lightrag;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.config.MeterFilter;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.List;
+
+/**
+ * Registry-wide Micrometer configuration.
+ *
+ * <p>
+ * Adds the active storage backend as a common {@code backend} tag so every
+ * meter (HTTP, JVM, datasource and {@code lightrag.*}) can be split per
+ * deployment flavour. Meters that set {@code backend} explicitly keep their own
+ * value.
+ * </p>
+ */
+@Singleton
+public class MetricsConfiguration {
+
+    @ConfigProperty(name = "lightrag.storage.backend", defaultValue = "postgresql")
+    String storageBackend;
+
+    @Produces
+    @Singleton
+    public MeterFilter commonTags() {
+        return MeterFilter.commonTags(List.of(Tag.of("backend", storageBackend)));
+    }
+}
@@ -6,6 +6,8 @@ import br.edu.ifba.document.LlmEmbeddingClient;
 import br.edu.ifba.lightrag.core.TokenTracker;
 import br.edu.ifba.lightrag.core.TokenUsage;
 import br.edu.ifba.lightrag.embedding.EmbeddingFunction;
+import br.edu.ifba.lightrag.utils.LightRAGMetrics;
+import io.micrometer.core.instrument.Timer;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
@@ -65,7 +67,15 @@ public class QuarkusEmbeddingAdapter implements EmbeddingFunction {
             LOG.debugf("Calling embedding API with model: %s", embeddingModel);
 
             // Call the API - let the REST client handle deserialization
-            final EmbeddingResponse response = embeddingClient.embed(request);
+            final Timer.Sample embeddingSample = LightRAGMetrics.startTimer();
+            final EmbeddingResponse response;
+            try {
+                response = embeddingClient.embed(request);
+                LightRAGMetrics.recordEmbeddingBatch(embeddingSample, texts.size(), true);
+            } catch (RuntimeException e) {
+                LightRAGMetrics.recordEmbeddingBatch(embeddingSample, texts.size(), false);
+                throw e;
+            }
 
             if (response.getData() == null || response.getData().isEmpty()) {
                 throw new RuntimeException("Embedding API returned no data in response");
@@ -4,11 +4,18 @@ import br.edu.ifba.chat.ChatMessage;
 import br.edu.ifba.chat.LlmChatClient;
 import br.edu.ifba.chat.LlmChatRequest;
 import br.edu.ifba.chat.LlmChatResponse;
+import br.edu.ifba.chat.LlmChatStreamChunk;
 import br.edu.ifba.lightrag.core.TokenTracker;
 import br.edu.ifba.lightrag.core.TokenUsage;
-import br.edu.ifba.lightrag.llm.LLMFunction;
+import br.edu.ifba.lightrag.llm.StreamingLLMFunction;
+import br.edu.ifba.lightrag.utils.LightRAGMetrics;
+import br.edu.ifba.lightrag.utils.TokenUtil;
 import io.quarkus.arc.Arc;
 import io.quarkus.arc.ManagedContext;
+import io.micrometer.core.instrument.Timer;
+import io.smallrye.mutiny.Multi;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -24,6 +31,7 @@ import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 
@@ -31,9 +39,10 @@ import java.util.concurrent.ThreadFactory;
  * Adapter that bridges the existing Quarkus LlmChatClient to LightRAG's LLMFunction interface.
  * This allows LightRAG to use the Quarkus-managed LLM client for all chat completions.
  * Uses custom ThreadFactory to ensure virtual threads have proper Quarkus classloader context.
+ * Streamed completions use the client's server-sent events endpoint.
  */
 @ApplicationScoped
-public class QuarkusLLMAdapter implements LLMFunction {
+public class QuarkusLLMAdapter implements StreamingLLMFunction {
 
     private static final Logger LOG = Logger.getLogger(QuarkusLLMAdapter.class);
     private static final ClassLoader QUARKUS_CLASSLOADER = QuarkusLLMAdapter.class.getClassLoader();
@@ -47,6 +56,9 @@ public class QuarkusLLMAdapter implements LLMFunction {
     };
     
     private static final Executor EXECUTOR = Executors.newThreadPerTaskExecutor(THREAD_FACTORY);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String STREAM_DONE = "[DONE]";
     
     // Semaphore to limit concurrent LLM API calls
     private Semaphore llmConcurrencyLimiter;
@@ -76,6 +88,8 @@ public class QuarkusLLMAdapter implements LLMFunction {
     @PostConstruct
     void init() {
         this.llmConcurrencyLimiter = new Semaphore(maxConcurrentLlmCalls, true);
+        LightRAGMetrics.bindPool("llm", llmConcurrencyLimiter,
+                Semaphore::availablePermits, Semaphore::getQueueLength);
         LOG.infof("Initialized LLM adapter with max %d concurrent calls", maxConcurrentLlmCalls);
     }
 
@@ -99,6 +113,11 @@ public class QuarkusLLMAdapter implements LLMFunction {
             }
             
             final ManagedContext requestContext = Arc.container().requestContext();
+            // Determine operation type from kwargs or default to QUERY
+            final String operationType = (String) kwargs.getOrDefault(
+                "operation_type", TokenUsage.OP_QUERY);
+            final Timer.Sample llmSample = LightRAGMetrics.startTimer();
+            boolean success = false;
             
             try {
                 if (!requestContext.isActive()) {
@@ -146,11 +165,8 @@ public class QuarkusLLMAdapter implements LLMFunction {
                     final int outputTokens = response.usage().completionTokens() != null 
                         ? response.usage().completionTokens() : 0;
                     
-                    // Determine operation type from kwargs or default to QUERY
-                    final String operationType = (String) kwargs.getOrDefault(
-                        "operation_type", TokenUsage.OP_QUERY);
-                    
                     tokenTracker.track(TokenUsage.now(operationType, model, inputTokens, outputTokens));
+                    LightRAGMetrics.recordLlmTokens(operationType, inputTokens, outputTokens);
                     
                     LOG.debugf("Tracked LLM tokens: op=%s model=%s input=%d output=%d",
                         operationType, model, inputTokens, outputTokens);
@@ -160,12 +176,14 @@ public class QuarkusLLMAdapter implements LLMFunction {
                 LOG.debugf("LLM response received - length: %d characters, tokens: %s",
                         Integer.valueOf(content.length()), tokenInfo);
 
+                success = true;
                 return content;
 
             } catch (Exception e) {
                 LOG.errorf(e, "Error calling LLM via QuarkusLLMAdapter");
                 throw new RuntimeException("Failed to get LLM completion: " + e.getMessage(), e);
             } finally {
+                LightRAGMetrics.recordLlmCall(operationType, llmSample, success);
                 // Release semaphore permit after LLM call completes
                 llmConcurrencyLimiter.release();
                 LOG.debugf("Released LLM semaphore permit (available: %d/%d)", 
@@ -175,6 +193,144 @@ public class QuarkusLLMAdapter implements LLMFunction {
         }, EXECUTOR);
     }
 
+    @Override
+    public Flow.Publisher<String> applyStreaming(@NotNull final String prompt, @NotNull final String systemPrompt) {
+        return applyStreaming(prompt, systemPrompt, Map.of());
+    }
+
+    /**
+     * Streams a completion. The concurrency permit is taken when the stream is
+     * subscribed and held until it completes, fails or is cancelled, so a caller
+     * that cancels early frees the slot right away.
+     * 
+     * <p>Providers report usage only in the last event. When the stream ends
+     * without it (cancelled early, or a provider ignoring
+     * {@code stream_options.include_usage}), tokens are estimated from the
+     * prompt and the text received so far.</p>
+     */
+    @Override
+    public Flow.Publisher<String> applyStreaming(
+            @NotNull final String prompt,
+            @NotNull final String systemPrompt,
+            @NotNull final Map<String, Object> kwargs) {
+        final String operationType = (String) kwargs.getOrDefault("operation_type", TokenUsage.OP_QUERY);
+        final String model = (String) kwargs.getOrDefault("model", defaultModel);
+        final LlmChatRequest request = new LlmChatRequest(
+                model,
+                buildMessages(prompt, systemPrompt, null),
+                true,
+                getIntegerParam(kwargs, "max_tokens", defaultMaxTokens),
+                getDoubleParam(kwargs, "temperature", defaultTemperature),
+                getDoubleParam(kwargs, "top_p", defaultTopP));
+
+        return Multi.createFrom().resource(
+                () -> {
+                    try {
+                        llmConcurrencyLimiter.acquire();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RuntimeException("Interrupted while waiting for LLM permit", e);
+                    }
+                    LOG.debugf("Starting streamed LLM request - prompt length: %d, model: %s",
+                            Integer.valueOf(prompt.length()), model);
+                    return new StreamState(LightRAGMetrics.startTimer());
+                },
+                state -> chatClient.chatStream(request)
+                        .map(data -> parseStreamData(data, state))
+                        .filter(content -> !content.isEmpty())
+                        .onTermination().invoke((failure, cancelled) -> {
+                            if (failure != null) {
+                                LOG.errorf(failure, "Error streaming LLM completion via QuarkusLLMAdapter");
+                            }
+                            LightRAGMetrics.recordLlmCall(operationType, state.sample, failure == null);
+                            trackStreamUsage(state, prompt, systemPrompt, operationType, model);
+                        }))
+                .withFinalizer(state -> {
+                    llmConcurrencyLimiter.release();
+                })
+                .runSubscriptionOn(EXECUTOR);
+    }
+
+    /**
+     * Per-subscription state of a streamed completion.
+     */
+    private static final class StreamState {
+        final Timer.Sample sample;
+        final StringBuilder output = new StringBuilder();
+        volatile LlmChatResponse.Usage usage;
+
+        StreamState(final Timer.Sample sample) {
+            this.sample = sample;
+        }
+    }
+
+    /**
+     * Extracts the text delta from one server-sent event and keeps token usage
+     * when the provider reports it (usually on the last event).
+     */
+    private String parseStreamData(final String data, final StreamState state) {
+        final String payload = data.trim();
+        if (payload.isEmpty() || STREAM_DONE.equals(payload)) {
+            return "";
+        }
+        final LlmChatStreamChunk chunk;
+        try {
+            chunk = MAPPER.readValue(payload, LlmChatStreamChunk.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Malformed streamed LLM event: " + e.getOriginalMessage(), e);
+        }
+        if (chunk.usage() != null) {
+            state.usage = chunk.usage();
+        }
+        final String content = chunk.content();
+        synchronized (state.output) {
+            state.output.append(content);
+        }
+        return content;
+    }
+
+    /**
+     * Tracks the tokens of a finished stream: the reported usage, or an
+     * estimate when the stream ended before the provider sent it.
+     */
+    private void trackStreamUsage(
+            final StreamState state,
+            final String prompt,
+            final String systemPrompt,
+            final String operationType,
+            final String model) {
+        final LlmChatResponse.Usage usage = state.usage;
+        final int inputTokens;
+        final int outputTokens;
+        if (usage != null) {
+            inputTokens = usage.promptTokens() != null ? usage.promptTokens() : 0;
+            outputTokens = usage.completionTokens() != null ? usage.completionTokens() : 0;
+        } else {
+            final String output;
+            synchronized (state.output) {
+                output = state.output.toString();
+            }
+            inputTokens = TokenUtil.estimateTokensSafe(systemPrompt) + TokenUtil.estimateTokens(prompt);
+            outputTokens = TokenUtil.estimateTokens(output);
+            LOG.debugf("Stream ended without usage, estimated tokens: input=%d output=%d",
+                    Integer.valueOf(inputTokens), Integer.valueOf(outputTokens));
+        }
+
+        final ManagedContext requestContext = Arc.container().requestContext();
+        final boolean activated = !requestContext.isActive();
+        if (activated) {
+            requestContext.activate();
+        }
+        try {
+            tokenTracker.track(TokenUsage.now(operationType, model, inputTokens, outputTokens));
+            LightRAGMetrics.recordLlmTokens(operationType, inputTokens, outputTokens);
+        } finally {
+            if (activated) {
+                requestContext.terminate();
+            }
+        }
+    }
+
     /**
      * Converts LightRAG messages to Quarkus ChatMessage format.
      * Message order: [system], [history...], [user prompt]
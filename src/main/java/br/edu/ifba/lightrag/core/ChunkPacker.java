@@ -0,0 +1,213 @@
+package br.edu.ifba.lightrag.core;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Packs small chunks into shared extraction requests.
+ *
+ * <p>Callers submit one chunk at a time and get a future for that chunk's
+ * result. Chunks with the same pack key (same prompt variant and project) are
+ * collected until the pack reaches {@code maxChunks} chunks or
+ * {@code maxTokens} content tokens, or until {@code lingerMillis} passed since
+ * the first chunk of the pack arrived. The pack is then handed to the
+ * {@link PackHandler} in a single call, and its per-chunk results are routed
+ * back to each caller.</p>
+ *
+ * <p>Chunks come from concurrent document insertions, so the linger delay is
+ * what lets a repository of many one-chunk files share requests.</p>
+ *
+ * @param <R> the per-chunk result type
+ */
+public final class ChunkPacker<R> implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkPacker.class);
+
+    /**
+     * A chunk waiting to be packed.
+     *
+     * @param id       chunk id, the key of the handler's result map
+     * @param content  chunk text
+     * @param tokens   estimated tokens of {@code content}
+     * @param metadata document metadata of the chunk, shared by the pack key
+     */
+    public record Item(
+            @NotNull String id,
+            @NotNull String content,
+            int tokens,
+            @Nullable Map<String, Object> metadata) {
+    }
+
+    /**
+     * Runs extraction for a pack.
+     */
+    @FunctionalInterface
+    public interface PackHandler<R> {
+        /**
+         * @param items the packed chunks, in submission order
+         * @return a result for every item id
+         */
+        CompletableFuture<Map<String, R>> extract(@NotNull List<Item> items);
+    }
+
+    private final class Pack {
+        final String key;
+        final List<Item> items = new ArrayList<>();
+        final List<CompletableFuture<R>> futures = new ArrayList<>();
+        int tokens;
+        ScheduledFuture<?> timer;
+
+        Pack(String key) {
+            this.key = key;
+        }
+    }
+
+    private final int maxTokens;
+    private final int maxChunks;
+    private final long lingerMillis;
+    private final PackHandler<R> handler;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, Pack> open = new HashMap<>();
+    private final AtomicLong packsDispatched = new AtomicLong();
+    private final AtomicLong chunksDispatched = new AtomicLong();
+
+    /**
+     * Creates a packer.
+     *
+     * @param maxTokens    content token budget of one pack
+     * @param maxChunks    maximum chunks in one pack
+     * @param lingerMillis how long a pack waits for more chunks
+     * @param handler      extraction for a full pack
+     */
+    public ChunkPacker(int maxTokens, int maxChunks, long lingerMillis, @NotNull PackHandler<R> handler) {
+        if (maxTokens < 1 || maxChunks < 1 || lingerMillis < 0) {
+            throw new IllegalArgumentException("Pack limits must be positive");
+        }
+        this.maxTokens = maxTokens;
+        this.maxChunks = maxChunks;
+        this.lingerMillis = lingerMillis;
+        this.handler = handler;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lightrag-chunk-packer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Adds a chunk to the open pack for {@code key}.
+     *
+     * @param key  pack key; only chunks with equal keys share a request
+     * @param item the chunk
+     * @return completes with the chunk's result once its pack was extracted
+     */
+    @NotNull
+    public CompletableFuture<R> submit(@NotNull String key, @NotNull Item item) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        List<Pack> ready = new ArrayList<>(2);
+        synchronized (open) {
+            Pack pack = open.get(key);
+            if (pack != null && pack.tokens + item.tokens() > maxTokens) {
+                // This chunk would overflow the budget: send what we have, start a new pack
+                ready.add(open.remove(key));
+                pack = null;
+            }
+            if (pack == null) {
+                Pack created = new Pack(key);
+                created.timer = scheduler.schedule(() -> flush(created), lingerMillis, TimeUnit.MILLISECONDS);
+                open.put(key, created);
+                pack = created;
+            }
+            pack.items.add(item);
+            pack.futures.add(future);
+            pack.tokens += item.tokens();
+            if (pack.items.size() >= maxChunks || pack.tokens >= maxTokens) {
+                ready.add(open.remove(key));
+            }
+        }
+        ready.forEach(this::dispatch);
+        return future;
+    }
+
+    /**
+     * Number of packs sent to the handler so far.
+     */
+    public long packsDispatched() {
+        return packsDispatched.get();
+    }
+
+    /**
+     * Number of chunks sent to the handler so far.
+     */
+    public long chunksDispatched() {
+        return chunksDispatched.get();
+    }
+
+    /**
+     * Dispatches all open packs and stops the linger timer.
+     */
+    @Override
+    public void close() {
+        List<Pack> remaining;
+        synchronized (open) {
+            remaining = new ArrayList<>(open.values());
+            open.clear();
+        }
+        remaining.forEach(this::dispatch);
+        scheduler.shutdownNow();
+    }
+
+    private void flush(Pack pack) {
+        synchronized (open) {
+            if (open.get(pack.key) != pack) {
+                return; // Already dispatched when it filled up
+            }
+            open.remove(pack.key);
+        }
+        dispatch(pack);
+    }
+
+    private void dispatch(Pack pack) {
+        pack.timer.cancel(false);
+        packsDispatched.incrementAndGet();
+        chunksDispatched.addAndGet(pack.items.size());
+        logger.debug("Dispatching extraction pack '{}' with {} chunks (~{} tokens)",
+                pack.key, pack.items.size(), pack.tokens);
+
+        CompletableFuture<Map<String, R>> results;
+        try {
+            results = handler.extract(List.copyOf(pack.items));
+        } catch (RuntimeException e) {
+            results = CompletableFuture.failedFuture(e);
+        }
+        results.whenComplete((byId, error) -> {
+            for (int i = 0; i < pack.items.size(); i++) {
+                CompletableFuture<R> future = pack.futures.get(i);
+                if (error != null) {
+                    future.completeExceptionally(error);
+                    continue;
+                }
+                R result = byId != null ? byId.get(pack.items.get(i).id()) : null;
+                if (result == null) {
+                    future.completeExceptionally(new IllegalStateException(
+                            "No extraction result for packed chunk " + pack.items.get(i).id()));
+                } else {
+                    future.complete(result);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,53 @@
+package br.edu.ifba.lightrag.core;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+
+/**
+ * How entities and relations are extracted from CODE documents.
+ *
+ * <p>
+ * Configured with {@code lightrag.code.extraction.mode}.
+ * </p>
+ */
+public enum CodeExtractionMode {
+
+    /**
+     * Every chunk is sent to the LLM with the code extraction prompts (no
+     * structural extraction).
+     */
+    LLM,
+
+    /**
+     * Structural facts (modules, types, functions, imports, containment,
+     * inheritance, calls) are parsed from source and merged with the LLM
+     * extraction, which contributes descriptions and semantic relations.
+     */
+    HYBRID,
+
+    /**
+     * Only structural extraction runs; the LLM is skipped for languages the
+     * structural extractor supports. Other languages still use the LLM.
+     */
+    FAST;
+
+    /**
+     * Parses a configuration value (case-insensitive).
+     *
+     * @param value configured value, {@code null} or blank for the default
+     * @return the mode, {@link #HYBRID} when not set
+     * @throws IllegalArgumentException if the value is not a known mode
+     */
+    public static CodeExtractionMode fromConfig(@Nullable String value) {
+        if (value == null || value.isBlank()) {
+            return HYBRID;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "Unknown code extraction mode '" + value + "', expected one of llm, hybrid, fast");
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package br.edu.ifba.lightrag.core;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Extracts structural entities and relations from source code without an LLM.
+ *
+ * <p>
+ * Implementations parse a code chunk and report the facts that can be read
+ * directly from the source: modules, packages, types, functions, imports,
+ * containment, inheritance and (where detectable) calls. The result is merged
+ * into the knowledge graph through the same path as LLM extraction.
+ * </p>
+ *
+ * @see CodeExtractionMode
+ */
+public interface CodeStructureExtractor {
+
+    /**
+     * Entities and relations extracted from one chunk.
+     */
+    record CodeStructure(@NotNull List<Entity> entities, @NotNull List<Relation> relations) {
+
+        public static CodeStructure empty() {
+            return new CodeStructure(List.of(), List.of());
+        }
+
+        public boolean isEmpty() {
+            return entities.isEmpty() && relations.isEmpty();
+        }
+    }
+
+    /**
+     * Returns whether this extractor understands the given language.
+     *
+     * @param language language name as detected from the file name (e.g.
+     *                 "Java", "Python")
+     */
+    boolean supports(@NotNull String language);
+
+    /**
+     * Extracts structural facts from a code chunk.
+     *
+     * @param chunkId  chunk identifier, recorded as source of every fact
+     * @param content  chunk source code
+     * @param language language name as detected from the file name
+     * @param filePath path of the source file, used as the module entity name
+     * @return extracted facts, empty if the language is not supported
+     */
+    @NotNull
+    CodeStructure extract(
+            @NotNull String chunkId,
+            @NotNull String content,
+            @NotNull String language,
+            @Nullable String filePath);
+}
@@ -0,0 +1,368 @@
+package br.edu.ifba.lightrag.core;
+
+import br.edu.ifba.lightrag.embedding.EmbeddingFunction;
+import br.edu.ifba.lightrag.query.QueryCacheService;
+import br.edu.ifba.lightrag.storage.GraphStorage;
+import br.edu.ifba.lightrag.storage.VectorStorage;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Background worker that compacts accumulated entity descriptions.
+ *
+ * <p>
+ * During ingestion {@link LightRAG} merges duplicate entities by concatenating
+ * their descriptions ("A | B | C ..."), truncated at
+ * {@code lightrag.entity.description.max.length}. Hub entities hit that ceiling
+ * quickly, which wastes context budget at query time and makes entity
+ * embeddings noisy. Instead of summarizing inline, ingestion hands the raw
+ * description fragments to this worker, which:
+ * </p>
+ * <ol>
+ * <li>Tracks only entities whose fragment count or total length crosses a
+ * threshold</li>
+ * <li>Coalesces repeated submissions for the same entity per project, so an
+ * entity is summarized once no matter how many batches touched it</li>
+ * <li>Drains pending entities on a schedule, on a single low-priority thread,
+ * outside the ingestion critical path</li>
+ * <li>Summarizes via {@link DescriptionSummarizer} (cached map-reduce), writes
+ * the result with {@link GraphStorage#updateEntityDescription}, and re-embeds
+ * all compacted entities of a batch with a single embedding call</li>
+ * </ol>
+ *
+ * <h2>Configuration:</h2>
+ *
+ * <pre>{@code
+ * lightrag.description.compaction.enabled=true
+ * lightrag.description.compaction.min-fragments=4
+ * lightrag.description.compaction.min-length=800
+ * lightrag.description.compaction.batch-size=20
+ * lightrag.description.compaction.max-pending=5000
+ * lightrag.description.compaction.interval=30s
+ * }</pre>
+ *
+ * @see LLMDescriptionSummarizer
+ */
+@ApplicationScoped
+public class DescriptionCompactionWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(DescriptionCompactionWorker.class);
+
+    private static final String TRUNCATION_MARKER = "...";
+
+    private final GraphStorage graphStorage;
+    private final VectorStorage entityVectorStorage;
+    private final EmbeddingFunction embeddingFunction;
+    private final DescriptionSummarizer summarizer;
+    private final QueryCacheService queryCacheService;
+
+    private final boolean enabled;
+    private final int minFragments;
+    private final int minLength;
+    private final int batchSize;
+    private final int maxPending;
+    private final Pattern separatorPattern;
+
+    /** projectId -> (entityName -> pending description fragments, insertion ordered) */
+    private final Map<String, Map<String, Set<String>>> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "description-compaction");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    @Inject
+    public DescriptionCompactionWorker(
+            GraphStorage graphStorage,
+            VectorStorage vectorStorage,
+            EmbeddingFunction embeddingFunction,
+            DescriptionSummarizer summarizer,
+            QueryCacheService queryCacheService,
+            @ConfigProperty(name = "lightrag.description.compaction.enabled", defaultValue = "true") boolean enabled,
+            @ConfigProperty(name = "lightrag.description.compaction.min-fragments", defaultValue = "4") int minFragments,
+            @ConfigProperty(name = "lightrag.description.compaction.min-length", defaultValue = "800") int minLength,
+            @ConfigProperty(name = "lightrag.description.compaction.batch-size", defaultValue = "20") int batchSize,
+            @ConfigProperty(name = "lightrag.description.compaction.max-pending", defaultValue = "5000") int maxPending,
+            @ConfigProperty(name = "lightrag.entity.description.separator", defaultValue = " | ") String separator) {
+        this.graphStorage = graphStorage;
+        this.entityVectorStorage = vectorStorage;
+        this.embeddingFunction = embeddingFunction;
+        this.summarizer = summarizer;
+        this.queryCacheService = queryCacheService;
+        this.enabled = enabled;
+        this.minFragments = Math.max(2, minFragments);
+        this.minLength = minLength;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxPending = maxPending;
+        this.separatorPattern = Pattern.compile(Pattern.quote(separator));
+    }
+
+    /**
+     * Submits the description fragments seen for an entity during ingestion,
+     * without a stored description.
+     *
+     * @see #submit(String, String, String, List)
+     */
+    public boolean submit(@NotNull String projectId, @NotNull String entityName, @NotNull List<String> fragments) {
+        return submit(projectId, entityName, null, fragments);
+    }
+
+    /**
+     * Submits the description fragments seen for an entity during ingestion.
+     *
+     * <p>
+     * Entities already pending always absorb the new fragments. Other entities
+     * are only tracked once their stored description, together with the new
+     * fragments, crosses the fragment-count or length threshold, and only while
+     * the pending queue has capacity. Deciding on the stored description lets hub
+     * entities that gain one or two fragments per document reach the threshold.
+     * </p>
+     *
+     * @param projectId         the project the entity belongs to
+     * @param entityName        the entity name (graph key)
+     * @param storedDescription the description as stored after this batch's merge, if any
+     * @param fragments         raw, untruncated description fragments
+     * @return true if the entity is now pending compaction
+     */
+    public boolean submit(@NotNull String projectId, @NotNull String entityName,
+            @Nullable String storedDescription, @NotNull List<String> fragments) {
+        if (!enabled || fragments.isEmpty()) {
+            return false;
+        }
+
+        Map<String, Set<String>> projectPending = pending.computeIfAbsent(projectId, k -> new ConcurrentHashMap<>());
+        boolean[] tracked = { false };
+        projectPending.compute(entityName, (name, existing) -> {
+            if (existing != null) {
+                existing.addAll(fragments);
+                tracked[0] = true;
+                return existing;
+            }
+            if (!crossesThreshold(collectFragments(storedDescription, new LinkedHashSet<>(fragments)))) {
+                return null;
+            }
+            if (pendingCount.get() >= maxPending) {
+                logger.debug("Compaction queue full ({}), skipping entity '{}'", maxPending, name);
+                return null;
+            }
+            pendingCount.incrementAndGet();
+            tracked[0] = true;
+            return new LinkedHashSet<>(fragments);
+        });
+        return tracked[0];
+    }
+
+    /**
+     * Checks whether a set of fragments is worth an LLM summarization.
+     */
+    boolean crossesThreshold(@NotNull List<String> fragments) {
+        if (fragments.size() >= minFragments) {
+            return true;
+        }
+        int totalLength = 0;
+        for (String fragment : fragments) {
+            totalLength += fragment.length();
+        }
+        return fragments.size() > 1 && totalLength >= minLength;
+    }
+
+    /**
+     * Returns the number of entities waiting for compaction across all projects.
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Periodic drain. Blocks the scheduler thread until the low-priority worker
+     * finishes, so overlapping ticks are skipped rather than queued.
+     */
+    @Scheduled(every = "{lightrag.description.compaction.interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledDrain() {
+        if (!enabled || pendingCount.get() == 0) {
+            return;
+        }
+        try {
+            int compacted = drain().join();
+            logger.info("Description compaction completed: {} entities compacted, {} still pending",
+                    compacted, pendingCount.get());
+        } catch (Exception e) {
+            logger.warn("Description compaction run failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Drains up to one batch per project on the compaction thread.
+     *
+     * @return future with the number of entities whose description was compacted
+     */
+    public CompletableFuture<Integer> drain() {
+        return CompletableFuture.supplyAsync(() -> {
+            int compacted = 0;
+            for (String projectId : new ArrayList<>(pending.keySet())) {
+                Map<String, Set<String>> batch = takeBatch(projectId);
+                if (!batch.isEmpty()) {
+                    compacted += compactProjectBatch(projectId, batch).join();
+                }
+            }
+            return compacted;
+        }, executor);
+    }
+
+    private Map<String, Set<String>> takeBatch(@NotNull String projectId) {
+        Map<String, Set<String>> projectPending = pending.get(projectId);
+        Map<String, Set<String>> batch = new LinkedHashMap<>();
+        if (projectPending == null) {
+            return batch;
+        }
+        Iterator<String> names = projectPending.keySet().iterator();
+        while (names.hasNext() && batch.size() < batchSize) {
+            String name = names.next();
+            Set<String> fragments = projectPending.remove(name);
+            if (fragments != null) {
+                pendingCount.decrementAndGet();
+                batch.put(name, fragments);
+            }
+        }
+        return batch;
+    }
+
+    private CompletableFuture<Integer> compactProjectBatch(
+            @NotNull String projectId,
+            @NotNull Map<String, Set<String>> batch) {
+        return graphStorage.getEntities(projectId, new ArrayList<>(batch.keySet()))
+                .thenCompose(entities -> {
+                    // Summarize one entity at a time to keep LLM pressure low
+                    List<Entity> compacted = new ArrayList<>();
+                    CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+                    for (Entity entity : entities) {
+                        Set<String> pendingFragments = batch.get(entity.getEntityName());
+                        if (pendingFragments == null) {
+                            continue;
+                        }
+                        chain = chain.thenCompose(v -> compactEntity(projectId, entity, pendingFragments)
+                                .thenAccept(updated -> {
+                                    if (updated != null) {
+                                        compacted.add(updated);
+                                    }
+                                }));
+                    }
+                    return chain.thenCompose(v -> reembed(projectId, compacted))
+                            .thenCompose(v -> compacted.isEmpty()
+                                    ? CompletableFuture.completedFuture(0)
+                                    : queryCacheService.invalidate(projectId))
+                            .thenApply(v -> compacted.size());
+                })
+                .exceptionally(e -> {
+                    logger.warn("Failed to compact {} descriptions in project {}: {}",
+                            batch.size(), projectId, e.getMessage());
+                    return 0;
+                });
+    }
+
+    private CompletableFuture<Entity> compactEntity(
+            @NotNull String projectId,
+            @NotNull Entity entity,
+            @NotNull Set<String> pendingFragments) {
+        List<String> fragments = collectFragments(entity.getDescription(), pendingFragments);
+        if (fragments.size() < 2) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        String entityType = entity.getEntityType() != null ? entity.getEntityType() : "UNKNOWN";
+        return summarizer.summarize(entity.getEntityName(), entityType, fragments, projectId)
+                .thenCompose(summary -> graphStorage.updateEntityDescription(
+                        projectId,
+                        entity.getEntityName(),
+                        summary,
+                        new HashSet<>(entity.getSourceChunkIds()))
+                        .thenApply(v -> entity.withDescription(summary)))
+                .exceptionally(e -> {
+                    logger.warn("Failed to compact description of entity '{}': {}",
+                            entity.getEntityName(), e.getMessage());
+                    return null;
+                });
+    }
+
+    /**
+     * Splits the stored (possibly truncated) description back into fragments and
+     * adds the pending ones, dropping duplicates.
+     */
+    List<String> collectFragments(String storedDescription, @NotNull Set<String> pendingFragments) {
+        Set<String> fragments = new LinkedHashSet<>();
+        if (storedDescription != null && !storedDescription.isBlank()) {
+            for (String part : separatorPattern.split(storedDescription)) {
+                String fragment = part.trim();
+                if (fragment.endsWith(TRUNCATION_MARKER)) {
+                    fragment = fragment.substring(0, fragment.length() - TRUNCATION_MARKER.length()).trim();
+                }
+                if (!fragment.isEmpty()) {
+                    fragments.add(fragment);
+                }
+            }
+        }
+        for (String fragment : pendingFragments) {
+            if (fragment != null && !fragment.isBlank()) {
+                fragments.add(fragment.trim());
+            }
+        }
+        return new ArrayList<>(fragments);
+    }
+
+    private CompletableFuture<Void> reembed(@NotNull String projectId, @NotNull List<Entity> compacted) {
+        if (compacted.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        List<String> texts = compacted.stream()
+                .map(e -> e.getEntityName() + ": " + e.getDescription())
+                .toList();
+
+        return embeddingFunction.embed(texts).thenCompose(embeddings -> {
+            List<VectorStorage.VectorEntry> entries = new ArrayList<>();
+            for (int i = 0; i < compacted.size() && i < embeddings.size(); i++) {
+                Entity entity = compacted.get(i);
+                entries.add(new VectorStorage.VectorEntry(
+                        LightRAG.generateEntityVectorId(entity.getEntityName(), projectId),
+                        embeddings.get(i),
+                        new VectorStorage.VectorMetadata(
+                                "entity",
+                                entity.getEntityName(),
+                                entity.getDocumentId(),
+                                null,
+                                projectId)));
+            }
+            return entityVectorStorage.upsertBatch(entries);
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,171 @@
+package br.edu.ifba.lightrag.core;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+
+/**
+ * Collects the entities and relations extracted from one document and writes
+ * them to storage in groups of at least {@code flushThreshold} records.
+ *
+ * <p>Writes are chained so that only one group of a document is stored at a
+ * time, the same ordering the per-batch store gave. Records streamed from a
+ * chunk are remembered until the chunk completes, so that only records added
+ * afterwards (gleaning, structural code facts) are stored on completion.</p>
+ *
+ * <p>Storage overwrites an entity's description and source chunks on every
+ * upsert, and same-name records are only merged within one group. An entity or
+ * relation that was already written early in the current batch is therefore
+ * held back when it shows up again; the batch-end {@link #flush()} stores it
+ * together with the fragments written before, so the stored row ends up with
+ * all of them.</p>
+ */
+final class ExtractionAccumulator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExtractionAccumulator.class);
+
+    private final int flushThreshold;
+    private final BiFunction<List<Entity>, List<Relation>, CompletableFuture<Void>> store;
+    private final Executor executor;
+    private final List<Entity> pendingEntities = new ArrayList<>();
+    private final List<Relation> pendingRelations = new ArrayList<>();
+    private final List<Entity> heldEntities = new ArrayList<>();
+    private final List<Relation> heldRelations = new ArrayList<>();
+    private final Map<String, List<Entity>> flushedEntities = new HashMap<>();
+    private final Map<String, List<Relation>> flushedRelations = new HashMap<>();
+    private final Map<String, Set<Object>> streamedByChunk = new HashMap<>();
+    private CompletableFuture<Void> stored = CompletableFuture.completedFuture(null);
+    private int totalEntities;
+    private int totalRelations;
+
+    /**
+     * @param flushThreshold pending records that trigger an early write
+     * @param store          writes one group of entities and relations
+     * @param executor       runs each write once the previous group is stored
+     */
+    ExtractionAccumulator(
+            int flushThreshold,
+            @NotNull BiFunction<List<Entity>, List<Relation>, CompletableFuture<Void>> store,
+            @NotNull Executor executor) {
+        this.flushThreshold = flushThreshold;
+        this.store = store;
+        this.executor = executor;
+    }
+
+    synchronized void addStreamed(@NotNull String chunkId, @NotNull List<Entity> entities,
+            @NotNull List<Relation> relations) {
+        Set<Object> streamed = streamedByChunk.computeIfAbsent(chunkId,
+                k -> Collections.newSetFromMap(new IdentityHashMap<>()));
+        streamed.addAll(entities);
+        streamed.addAll(relations);
+        add(entities, relations);
+    }
+
+    synchronized void completeChunk(@NotNull String chunkId, @NotNull List<Entity> entities,
+            @NotNull List<Relation> relations) {
+        Set<Object> streamed = streamedByChunk.remove(chunkId);
+        if (streamed == null) {
+            add(entities, relations);
+            return;
+        }
+        add(entities.stream().filter(e -> !streamed.contains(e)).toList(),
+                relations.stream().filter(r -> !streamed.contains(r)).toList());
+    }
+
+    /**
+     * Stores all pending and held-back records after any earlier group. Called at
+     * the end of each batch.
+     *
+     * @return completes when everything added so far is stored
+     */
+    synchronized CompletableFuture<Void> flush() {
+        List<Entity> entities = new ArrayList<>(pendingEntities);
+        List<Relation> relations = new ArrayList<>(pendingRelations);
+        // Held-back records are stored with the fragments written before them
+        for (Entity entity : heldEntities) {
+            List<Entity> earlier = flushedEntities.remove(entity.getEntityName());
+            if (earlier != null) {
+                entities.addAll(earlier);
+            }
+            entities.add(entity);
+        }
+        for (Relation relation : heldRelations) {
+            List<Relation> earlier = flushedRelations.remove(relationKey(relation));
+            if (earlier != null) {
+                relations.addAll(earlier);
+            }
+            relations.add(relation);
+        }
+        pendingEntities.clear();
+        pendingRelations.clear();
+        heldEntities.clear();
+        heldRelations.clear();
+        flushedEntities.clear();
+        flushedRelations.clear();
+        return write(entities, relations);
+    }
+
+    synchronized int totalEntities() {
+        return totalEntities;
+    }
+
+    synchronized int totalRelations() {
+        return totalRelations;
+    }
+
+    private void add(List<Entity> entities, List<Relation> relations) {
+        for (Entity entity : entities) {
+            (flushedEntities.containsKey(entity.getEntityName()) ? heldEntities : pendingEntities).add(entity);
+        }
+        for (Relation relation : relations) {
+            (flushedRelations.containsKey(relationKey(relation)) ? heldRelations : pendingRelations).add(relation);
+        }
+        totalEntities += entities.size();
+        totalRelations += relations.size();
+        if (pendingEntities.size() + pendingRelations.size() >= flushThreshold) {
+            flushEarly();
+        }
+    }
+
+    /**
+     * Stores the pending records before the batch ends, remembering them so that
+     * later fragments of the same records are held back.
+     */
+    private void flushEarly() {
+        List<Entity> entities = new ArrayList<>(pendingEntities);
+        List<Relation> relations = new ArrayList<>(pendingRelations);
+        pendingEntities.clear();
+        pendingRelations.clear();
+        for (Entity entity : entities) {
+            flushedEntities.computeIfAbsent(entity.getEntityName(), k -> new ArrayList<>()).add(entity);
+        }
+        for (Relation relation : relations) {
+            flushedRelations.computeIfAbsent(relationKey(relation), k -> new ArrayList<>()).add(relation);
+        }
+        write(entities, relations);
+    }
+
+    private CompletableFuture<Void> write(List<Entity> entities, List<Relation> relations) {
+        if (entities.isEmpty() && relations.isEmpty()) {
+            return stored;
+        }
+        logger.debug("Storing {} entities and {} relations", entities.size(), relations.size());
+        stored = stored.thenComposeAsync(v -> store.apply(entities, relations), executor);
+        return stored;
+    }
+
+    private static String relationKey(Relation relation) {
+        return relation.getSrcId() + '\u0000' + relation.getTgtId();
+    }
+}
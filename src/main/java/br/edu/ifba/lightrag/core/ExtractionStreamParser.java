@@ -0,0 +1,207 @@
+package br.edu.ifba.lightrag.core;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Splits a streamed entity extraction response into records as it arrives.
+ *
+ * <p>The extraction prompt asks for one {@code entity}/{@code relation} tuple per
+ * line, terminated by the completion delimiter. This parser buffers the text
+ * deltas of a streamed completion and releases each line as soon as its newline
+ * arrives, so callers can parse and accumulate tuples while the model is still
+ * generating. Once the completion delimiter is seen the response is complete and
+ * anything the model emits afterwards is ignored.</p>
+ *
+ * <p>Responses that start with a JSON object or a Markdown code fence (the code
+ * extraction format) cannot be split by line. For those the parser only buffers
+ * the text and {@link #isStructured()} tells the caller to parse the whole
+ * response at the end.</p>
+ *
+ * <p>Instances are not thread-safe; one parser handles one response.</p>
+ */
+public final class ExtractionStreamParser {
+
+    /** Completion delimiter variants the parser stops at, see fixTupleDelimiterCorruption. */
+    private static final Pattern COMPLETION_MARKER =
+        Pattern.compile("(?i)<\\|complete\\|>|\\\\?\\{\\s*completion_delimiter\\s*\\\\?\\}");
+
+    /** Longest marker variant, used to rescan the tail of the previous delta. */
+    private static final int MARKER_LOOKBACK = 64;
+
+    private final StringBuilder text = new StringBuilder();
+    private int emittedUpTo;
+    private int scannedUpTo;
+    private boolean complete;
+    private Boolean structured;
+
+    /**
+     * Appends a streamed delta.
+     *
+     * @param delta the next piece of the response
+     * @return the records completed by this delta, in order; empty if none
+     */
+    @NotNull
+    public List<String> append(@NotNull String delta) {
+        if (complete || delta.isEmpty()) {
+            return List.of();
+        }
+        text.append(delta);
+        if (structured == null) {
+            String head = text.toString().stripLeading();
+            if (head.isEmpty()) {
+                return List.of();
+            }
+            structured = head.startsWith("{") || head.startsWith("```");
+        }
+        if (structured) {
+            return List.of();
+        }
+
+        Matcher marker = COMPLETION_MARKER.matcher(text);
+        if (marker.find(Math.max(emittedUpTo, scannedUpTo - MARKER_LOOKBACK))) {
+            complete = true;
+            List<String> records = lines(emittedUpTo, marker.start());
+            text.setLength(marker.end());
+            emittedUpTo = text.length();
+            return records;
+        }
+        scannedUpTo = text.length();
+
+        int lastNewline = text.lastIndexOf("\n");
+        if (lastNewline < emittedUpTo) {
+            return List.of();
+        }
+        List<String> records = lines(emittedUpTo, lastNewline);
+        emittedUpTo = lastNewline + 1;
+        return records;
+    }
+
+    /**
+     * Ends the stream.
+     *
+     * @return the trailing record if the response did not end with a newline or
+     *         completion delimiter; empty otherwise
+     */
+    @NotNull
+    public List<String> finish() {
+        if (complete || Boolean.TRUE.equals(structured)) {
+            return List.of();
+        }
+        complete = true;
+        List<String> records = lines(emittedUpTo, text.length());
+        emittedUpTo = text.length();
+        return records;
+    }
+
+    /**
+     * Whether the completion delimiter was seen (or the stream was finished).
+     * Callers should stop the generation once this is true.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Whether the response is JSON and must be parsed as a whole.
+     */
+    public boolean isStructured() {
+        return Boolean.TRUE.equals(structured);
+    }
+
+    /**
+     * The response received so far, up to and including the completion delimiter.
+     */
+    @NotNull
+    public String text() {
+        return text.toString();
+    }
+
+    /**
+     * Consumes a streamed completion, handing each record to {@code onRecord} as it
+     * arrives and cancelling the stream as soon as the completion delimiter is seen.
+     *
+     * @param publisher the streamed completion
+     * @param onRecord  receives each complete record; exceptions cancel the stream
+     * @return the parser once the response is complete, failed if the stream failed
+     */
+    @NotNull
+    public static CompletableFuture<ExtractionStreamParser> consume(
+            @NotNull Flow.Publisher<String> publisher,
+            @NotNull Consumer<String> onRecord) {
+        ExtractionStreamParser parser = new ExtractionStreamParser();
+        CompletableFuture<ExtractionStreamParser> result = new CompletableFuture<>();
+
+        publisher.subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(String delta) {
+                if (result.isDone()) {
+                    return;
+                }
+                try {
+                    parser.append(delta).forEach(onRecord);
+                } catch (RuntimeException e) {
+                    subscription.cancel();
+                    result.completeExceptionally(e);
+                    return;
+                }
+                if (parser.isComplete()) {
+                    // Stop generation instead of waiting for trailing tokens
+                    subscription.cancel();
+                    result.complete(parser);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                if (result.isDone()) {
+                    return;
+                }
+                try {
+                    parser.finish().forEach(onRecord);
+                    result.complete(parser);
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            }
+        });
+        return result;
+    }
+
+    private List<String> lines(int from, int to) {
+        List<String> records = new ArrayList<>();
+        int start = from;
+        while (start < to) {
+            int end = text.indexOf("\n", start);
+            if (end < 0 || end > to) {
+                end = to;
+            }
+            String line = text.substring(start, end).trim();
+            if (!line.isEmpty()) {
+                records.add(line);
+            }
+            start = end + 1;
+        }
+        return records;
+    }
+}
@@ -0,0 +1,257 @@
+package br.edu.ifba.lightrag.core;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides per chunk whether a gleaning pass is worth its LLM call.
+ *
+ * <p>Gleaning asks the model for entities and relations it missed in the first
+ * pass. On most corpora the majority of those passes find nothing, and the
+ * early stop in {@code LightRAG} only triggers after such a wasted pass. This
+ * policy predicts the yield of a pass before running it, from cheap signals:</p>
+ * <ul>
+ *   <li>the observed yield of earlier passes for the same project and document
+ *       kind (code or text), as an exponentially weighted hit rate</li>
+ *   <li>chunk length relative to the chunks gleaned so far in that bucket</li>
+ *   <li>first-pass entity density relative to that bucket: dense chunks are
+ *       where a single pass most often stops short</li>
+ * </ul>
+ *
+ * <p>Chunks shorter than {@code minChunkTokens} are never gleaned. Until a
+ * bucket has seen {@code warmupPasses} passes every chunk is gleaned to learn
+ * its yield. After that a chunk is gleaned when the predicted hit probability
+ * reaches {@code minYield}; every {@code explorationInterval}-th skipped chunk
+ * is gleaned anyway so the statistics follow changes in the corpus.</p>
+ *
+ * <p>Instances are thread-safe.</p>
+ */
+public final class GleaningPolicy {
+
+    /** Weight of the newest observation in the moving averages. */
+    private static final double EWMA_ALPHA = 0.05;
+
+    /** Bounds of the length and density adjustments of the hit rate. */
+    private static final double MIN_FACTOR = 0.5;
+    private static final double MAX_FACTOR = 2.0;
+
+    /**
+     * Outcome of {@link #decide}.
+     */
+    public enum Decision {
+        /** Predicted yield is high enough. */
+        GLEAN,
+        /** The bucket has too few observations to predict. */
+        WARMUP,
+        /** Predicted yield is low, gleaned to keep statistics current. */
+        EXPLORE,
+        /** Chunk is too short to hide missed records. */
+        SKIP_SHORT,
+        /** Predicted yield is below the threshold. */
+        SKIP_LOW_YIELD;
+
+        /**
+         * Whether the gleaning pass should run.
+         */
+        public boolean glean() {
+            return this == GLEAN || this == WARMUP || this == EXPLORE;
+        }
+    }
+
+    /**
+     * Signals of one extraction (a chunk, or a pack of chunks).
+     *
+     * @param projectId        project the chunk belongs to
+     * @param documentKind     "code" or "text"
+     * @param tokens           estimated tokens of the extracted text
+     * @param firstPassRecords entities and relations found by the first pass
+     * @param chunks           chunks in the extraction, more than one for a pack
+     */
+    public record Sample(
+            @Nullable String projectId,
+            @NotNull String documentKind,
+            int tokens,
+            int firstPassRecords,
+            int chunks) {
+
+        /**
+         * Signals of a single chunk.
+         */
+        public Sample(@Nullable String projectId, @NotNull String documentKind, int tokens, int firstPassRecords) {
+            this(projectId, documentKind, tokens, firstPassRecords, 1);
+        }
+
+        /**
+         * Average tokens per chunk; the length signal compares this with the
+         * bucket's chunk sizes.
+         */
+        double chunkTokens() {
+            return tokens / (double) Math.max(1, chunks);
+        }
+
+        double density() {
+            return tokens > 0 ? firstPassRecords * 100.0 / tokens : 0.0;
+        }
+    }
+
+    /**
+     * Gleaning statistics of a project and document kind.
+     *
+     * @param projectId        project id
+     * @param documentKind     "code" or "text"
+     * @param passes           gleaning passes run
+     * @param productivePasses passes that found at least one new record
+     * @param newRecords       new entities and relations found by gleaning
+     * @param skipped          chunks for which gleaning was skipped
+     * @param hitRate          weighted recent fraction of productive passes
+     */
+    public record Stats(
+            @Nullable String projectId,
+            @NotNull String documentKind,
+            long passes,
+            long productivePasses,
+            long newRecords,
+            long skipped,
+            double hitRate) {
+    }
+
+    private record Key(@Nullable String projectId, @NotNull String documentKind) {
+    }
+
+    private static final class Bucket {
+        long passes;
+        long productivePasses;
+        long newRecords;
+        long skipped;
+        double hitRate;
+        long sizedPasses;
+        double avgTokens;
+        double avgDensity;
+    }
+
+    private final int minChunkTokens;
+    private final int warmupPasses;
+    private final double minYield;
+    private final int explorationInterval;
+    private final Map<Key, Bucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a policy.
+     *
+     * @param minChunkTokens      chunks below this size are not gleaned
+     * @param warmupPasses        passes per bucket before predictions are used
+     * @param minYield            minimum predicted probability that a pass finds new records
+     * @param explorationInterval every n-th skipped chunk is gleaned anyway; 0 disables
+     */
+    public GleaningPolicy(int minChunkTokens, int warmupPasses, double minYield, int explorationInterval) {
+        if (minChunkTokens < 0 || warmupPasses < 0 || minYield < 0 || minYield > 1 || explorationInterval < 0) {
+            throw new IllegalArgumentException("Invalid gleaning policy settings");
+        }
+        this.minChunkTokens = minChunkTokens;
+        this.warmupPasses = warmupPasses;
+        this.minYield = minYield;
+        this.explorationInterval = explorationInterval;
+    }
+
+    /**
+     * Decides whether to run gleaning after the first pass.
+     *
+     * @param sample signals of the extraction
+     * @return the decision; {@link Decision#glean()} tells whether to run the pass
+     */
+    @NotNull
+    public Decision decide(@NotNull Sample sample) {
+        if (sample.tokens() < minChunkTokens) {
+            return Decision.SKIP_SHORT;
+        }
+        Bucket bucket = buckets.computeIfAbsent(new Key(sample.projectId(), sample.documentKind()), k -> new Bucket());
+        synchronized (bucket) {
+            if (bucket.passes < warmupPasses) {
+                return Decision.WARMUP;
+            }
+            if (predictYield(bucket, sample) >= minYield) {
+                return Decision.GLEAN;
+            }
+            bucket.skipped++;
+            if (explorationInterval > 0 && bucket.skipped % explorationInterval == 0) {
+                return Decision.EXPLORE;
+            }
+            return Decision.SKIP_LOW_YIELD;
+        }
+    }
+
+    /**
+     * Records the outcome of a gleaning pass.
+     *
+     * @param sample     signals the decision was based on
+     * @param newRecords new entities and relations the pass found
+     */
+    public void recordPass(@NotNull Sample sample, int newRecords) {
+        Bucket bucket = buckets.computeIfAbsent(new Key(sample.projectId(), sample.documentKind()), k -> new Bucket());
+        synchronized (bucket) {
+            double hit = newRecords > 0 ? 1.0 : 0.0;
+            if (bucket.passes == 0) {
+                bucket.hitRate = hit;
+                bucket.avgDensity = sample.density();
+            } else {
+                // Plain mean while warming up, weighted towards recent passes afterwards
+                double alpha = Math.max(EWMA_ALPHA, 1.0 / (bucket.passes + 1));
+                bucket.hitRate += alpha * (hit - bucket.hitRate);
+                bucket.avgDensity += alpha * (sample.density() - bucket.avgDensity);
+            }
+            bucket.passes++;
+            // A pack's size says little about its chunks, so only single chunks shape the size statistics
+            if (sample.chunks() <= 1) {
+                bucket.avgTokens += Math.max(EWMA_ALPHA, 1.0 / (bucket.sizedPasses + 1))
+                        * (sample.tokens() - bucket.avgTokens);
+                bucket.sizedPasses++;
+            }
+            if (newRecords > 0) {
+                bucket.productivePasses++;
+                bucket.newRecords += newRecords;
+            }
+        }
+    }
+
+    /**
+     * Statistics of every project and document kind seen so far.
+     */
+    @NotNull
+    public List<Stats> stats() {
+        List<Stats> stats = new ArrayList<>();
+        buckets.forEach((key, bucket) -> stats.add(snapshot(key, bucket)));
+        return stats;
+    }
+
+    /**
+     * Statistics of a project and document kind, empty if nothing was recorded.
+     */
+    @NotNull
+    public Stats stats(@Nullable String projectId, @NotNull String documentKind) {
+        Key key = new Key(projectId, documentKind);
+        Bucket bucket = buckets.get(key);
+        return bucket != null ? snapshot(key, bucket) : new Stats(projectId, documentKind, 0, 0, 0, 0, 0.0);
+    }
+
+    private static Stats snapshot(Key key, Bucket bucket) {
+        synchronized (bucket) {
+            return new Stats(key.projectId(), key.documentKind(), bucket.passes, bucket.productivePasses,
+                    bucket.newRecords, bucket.skipped, bucket.hitRate);
+        }
+    }
+
+    private static double predictYield(Bucket bucket, Sample sample) {
+        double lengthFactor = bucket.avgTokens > 0 ? clamp(sample.chunkTokens() / bucket.avgTokens) : 1.0;
+        double densityFactor = bucket.avgDensity > 0 ? clamp(sample.density() / bucket.avgDensity) : 1.0;
+        return Math.min(1.0, bucket.hitRate * lengthFactor * densityFactor);
+    }
+
+    private static double clamp(double factor) {
+        return Math.max(MIN_FACTOR, Math.min(MAX_FACTOR, factor));
+    }
+}
@@ -2,6 +2,7 @@ package br.edu.ifba.lightrag.core;
 
 import br.edu.ifba.lightrag.llm.LLMFunction;
 import br.edu.ifba.lightrag.storage.ExtractionCacheStorage;
+import br.edu.ifba.lightrag.utils.LightRAGMetrics;
 import br.edu.ifba.lightrag.utils.TokenUtil;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -156,6 +157,7 @@ public class LLMDescriptionSummarizer implements DescriptionSummarizer {
         // Check cache first
         return cacheStorage.get(projectId, CacheType.SUMMARIZATION, contentHash)
                 .thenCompose(cached -> {
+                    LightRAGMetrics.recordCacheLookup("summarization", cached.isPresent());
                     if (cached.isPresent()) {
                         logger.debug("Using cached summarization for entity: {}", entityName);
                         return CompletableFuture.completedFuture(cached.get().result());
@@ -295,6 +297,8 @@ public class LLMDescriptionSummarizer implements DescriptionSummarizer {
         private final int threshold;
         private final int maxTokens;
         private final Gleaning gleaningConfig;
+        private final ExtractionStream extractionStreamConfig;
+        private final ExtractionPacking extractionPackingConfig;
         private final Description descriptionConfig;
         private final Query queryConfig;
         private final Entity entityConfig;
@@ -303,6 +307,8 @@ public class LLMDescriptionSummarizer implements DescriptionSummarizer {
             this.threshold = threshold;
             this.maxTokens = maxTokens;
             this.gleaningConfig = new ManualGleaning();
+            this.extractionStreamConfig = new ManualExtractionStream();
+            this.extractionPackingConfig = new ManualExtractionPacking();
             this.descriptionConfig = new ManualDescription(threshold, maxTokens);
             this.queryConfig = new ManualQuery();
             this.entityConfig = new ManualEntity();
@@ -313,6 +319,16 @@ public class LLMDescriptionSummarizer implements DescriptionSummarizer {
             return gleaningConfig;
         }
 
+        @Override
+        public ExtractionStream extractionStream() {
+            return extractionStreamConfig;
+        }
+
+        @Override
+        public ExtractionPacking extractionPacking() {
+            return extractionPackingConfig;
+        }
+
         @Override
         public Description description() {
             return descriptionConfig;
@@ -339,6 +355,77 @@ public class LLMDescriptionSummarizer implements DescriptionSummarizer {
         public int maxPasses() {
             return 1;
         }
+
+        @Override
+        public LightRAGExtractionConfig.AdaptiveGleaning adaptive() {
+            return new ManualAdaptiveGleaning();
+        }
+    }
+
+    private static final class ManualAdaptiveGleaning implements LightRAGExtractionConfig.AdaptiveGleaning {
+        @Override
+        public boolean enabled() {
+            return true;
+        }
+
+        @Override
+        public int minChunkTokens() {
+            return 150;
+        }
+
+        @Override
+        public int warmupPasses() {
+            return 20;
+        }
+
+        @Override
+        public double minYield() {
+            return 0.25;
+        }
+
+        @Override
+        public int explorationInterval() {
+            return 10;
+        }
+    }
+
+    private static final class ManualExtractionStream implements LightRAGExtractionConfig.ExtractionStream {
+        @Override
+        public boolean enabled() {
+            return true;
+        }
+
+        @Override
+        public int flushThreshold() {
+            return 50;
+        }
+    }
+
+    private static final class ManualExtractionPacking implements LightRAGExtractionConfig.ExtractionPacking {
+        @Override
+        public boolean enabled() {
+            return true;
+        }
+
+        @Override
+        public int smallChunkTokens() {
+            return 300;
+        }
+
+        @Override
+        public int maxTokens() {
+            return 2000;
+        }
+
+        @Override
+        public int maxChunks() {
+            return 16;
+        }
+
+        @Override
+        public long lingerMs() {
+            return 200;
+        }
     }
 
     private static final class ManualDescription implements LightRAGExtractionConfig.Description {
@@ -369,6 +456,9 @@ public class LLMDescriptionSummarizer implements DescriptionSummarizer {
     private static final class ManualQuery implements LightRAGExtractionConfig.Query {
         private final LightRAGExtractionConfig.KeywordExtraction keywordExtractionConfig = new ManualKeywordExtraction();
         private final LightRAGExtractionConfig.Context contextConfig = new ManualContext();
+        private final LightRAGExtractionConfig.Lexical lexicalConfig = new ManualLexical();
+        private final LightRAGExtractionConfig.History historyConfig = new ManualHistory();
+        private final LightRAGExtractionConfig.AnswerCache answerCacheConfig = new ManualAnswerCache();
 
         @Override
         public LightRAGExtractionConfig.KeywordExtraction keywordExtraction() {
@@ -379,6 +469,77 @@ public class LLMDescriptionSummarizer implements DescriptionSummarizer {
         public LightRAGExtractionConfig.Context context() {
             return contextConfig;
         }
+
+        @Override
+        public LightRAGExtractionConfig.Lexical lexical() {
+            return lexicalConfig;
+        }
+
+        @Override
+        public LightRAGExtractionConfig.History history() {
+            return historyConfig;
+        }
+
+        @Override
+        public LightRAGExtractionConfig.AnswerCache answerCache() {
+            return answerCacheConfig;
+        }
+    }
+
+    private static final class ManualAnswerCache implements LightRAGExtractionConfig.AnswerCache {
+        @Override
+        public List<String> modes() {
+            return List.of("local", "global", "hybrid", "naive", "mix");
+        }
+
+        @Override
+        public int l1MaxEntries() {
+            return 1000;
+        }
+
+        @Override
+        public int l1TtlSeconds() {
+            return 300;
+        }
+
+        @Override
+        public int l2TtlSeconds() {
+            return 86400;
+        }
+    }
+
+    private static final class ManualHistory implements LightRAGExtractionConfig.History {
+        @Override
+        public int maxTokens() {
+            return 1500;
+        }
+
+        @Override
+        public int recentTurns() {
+            return 6;
+        }
+
+        @Override
+        public boolean summarize() {
+            return true;
+        }
+
+        @Override
+        public int cacheSize() {
+            return 1000;
+        }
+    }
+
+    private static final class ManualLexical implements LightRAGExtractionConfig.Lexical {
+        @Override
+        public boolean enabled() {
+            return true;
+        }
+
+        @Override
+        public int rrfK() {
+            return 60;
+        }
     }
 
     private static final class ManualKeywordExtraction implements LightRAGExtractionConfig.KeywordExtraction {
@@ -2,6 +2,7 @@ package br.edu.ifba.lightrag.core;
 
 import br.edu.ifba.lightrag.embedding.EmbeddingFunction;
 import br.edu.ifba.lightrag.llm.LLMFunction;
+import br.edu.ifba.lightrag.llm.StreamingLLMFunction;
 import br.edu.ifba.lightrag.query.*;
 import br.edu.ifba.lightrag.query.pipeline.GlobalPipelineExecutor;
 import br.edu.ifba.lightrag.query.pipeline.HybridPipelineExecutor;
@@ -12,8 +13,10 @@ import br.edu.ifba.lightrag.storage.DocStatusStorage.DocumentStatus;
 import br.edu.ifba.lightrag.storage.GraphStorage;
 import br.edu.ifba.lightrag.storage.KVStorage;
 import br.edu.ifba.lightrag.storage.VectorStorage;
+import br.edu.ifba.lightrag.utils.LightRAGMetrics;
 import br.edu.ifba.lightrag.utils.TokenUtil;
 import br.edu.ifba.shared.UuidUtils;
+import io.micrometer.core.instrument.Timer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -21,20 +24,35 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * Main LightRAG orchestrator class.
  * Coordinates document indexing, knowledge graph construction, and query
  * execution.
  */
-public class LightRAG {
+public class LightRAG implements AutoCloseable {
 
     private static final Logger logger = LoggerFactory.getLogger(LightRAG.class);
 
+    // Streamed LLM responses complete on I/O threads; storage work is moved off them.
+    // Threads carry this class's loader so storage drivers resolve under Quarkus.
+    private static final ClassLoader LIGHTRAG_CLASSLOADER = LightRAG.class.getClassLoader();
+    private static final Executor EXTRACTION_EXECUTOR = Executors.newThreadPerTaskExecutor(
+            task -> Thread.ofVirtual().factory().newThread(() -> {
+                Thread.currentThread().setContextClassLoader(LIGHTRAG_CLASSLOADER);
+                task.run();
+            }));
+
     // Configuration
     private final LightRAGConfig config;
 
@@ -63,6 +81,10 @@ public class LightRAG {
     // Code extraction prompts (optional, for code-specific entity extraction)
     private final CodeExtractionPrompts codeExtractionPrompts;
 
+    // Structural extraction for code (optional, parses facts without the LLM)
+    private final CodeStructureExtractor codeStructureExtractor;
+    private final CodeExtractionMode codeExtractionMode;
+
     // System prompts for query modes
     private final String localSystemPrompt;
     private final String globalSystemPrompt;
@@ -88,21 +110,19 @@ public class LightRAG {
     // Extraction configuration for gleaning and other enhancements (optional)
     private final LightRAGExtractionConfig extractionConfig;
 
+    // Background description compaction (optional)
+    private final DescriptionCompactionWorker descriptionCompactionWorker;
+
+    // Answer cache for repeated queries (optional)
+    private final QueryCacheService queryCache;
+    private final ChunkPacker<KGExtractionChunkResult> chunkPacker;
+    private final GleaningPolicy gleaningPolicy;
+
     // Initialization flag
     private volatile boolean initialized = false;
 
     // Query executors (initialized lazily)
-    private volatile LocalQueryExecutor localExecutor;
-    private volatile GlobalQueryExecutor globalExecutor;
-    private volatile HybridQueryExecutor hybridExecutor;
-    private volatile NaiveQueryExecutor naiveExecutor;
-    private volatile MixQueryExecutor mixExecutor;
-
-    // Pipeline-based query executors (initialized lazily when
-    // usePipelineExecutors=true)
-    private volatile LocalPipelineExecutor localPipelineExecutor;
-    private volatile GlobalPipelineExecutor globalPipelineExecutor;
-    private volatile HybridPipelineExecutor hybridPipelineExecutor;
+    private volatile QueryExecutors queryExecutors;
 
     /**
      * Creates a new Builder instance.
@@ -142,8 +162,12 @@ public class LightRAG {
         private Reranker reranker;
         private br.edu.ifba.document.CodeChunker codeChunker;
         private CodeExtractionPrompts codeExtractionPrompts;
+        private CodeStructureExtractor codeStructureExtractor;
+        private CodeExtractionMode codeExtractionMode = CodeExtractionMode.HYBRID;
         private String gleaningSystemPromptTemplate;
         private String gleaningUserPrompt;
+        private DescriptionCompactionWorker descriptionCompactionWorker;
+        private QueryCacheService queryCache;
 
         public Builder config(@NotNull LightRAGConfig config) {
             this.config = config;
@@ -265,6 +289,11 @@ public class LightRAG {
             return this;
         }
 
+        public Builder queryCache(@Nullable QueryCacheService queryCache) {
+            this.queryCache = queryCache;
+            return this;
+        }
+
         public Builder reranker(@Nullable Reranker reranker) {
             this.reranker = reranker;
             return this;
@@ -280,6 +309,16 @@ public class LightRAG {
             return this;
         }
 
+        public Builder codeStructureExtractor(@Nullable CodeStructureExtractor codeStructureExtractor) {
+            this.codeStructureExtractor = codeStructureExtractor;
+            return this;
+        }
+
+        public Builder codeExtractionMode(@NotNull CodeExtractionMode codeExtractionMode) {
+            this.codeExtractionMode = codeExtractionMode;
+            return this;
+        }
+
         public Builder gleaningSystemPromptTemplate(@Nullable String gleaningSystemPromptTemplate) {
             this.gleaningSystemPromptTemplate = gleaningSystemPromptTemplate;
             return this;
@@ -290,6 +329,11 @@ public class LightRAG {
             return this;
         }
 
+        public Builder descriptionCompactionWorker(@Nullable DescriptionCompactionWorker descriptionCompactionWorker) {
+            this.descriptionCompactionWorker = descriptionCompactionWorker;
+            return this;
+        }
+
         public LightRAG build() {
             if (llmFunction == null) {
                 throw new IllegalStateException("llmFunction is required");
@@ -374,8 +418,12 @@ public class LightRAG {
                     reranker,
                     codeChunker,
                     codeExtractionPrompts,
+                    codeStructureExtractor,
+                    codeExtractionMode,
                     gleaningSystemPromptTemplate,
-                    gleaningUserPrompt);
+                    gleaningUserPrompt,
+                    descriptionCompactionWorker,
+                    queryCache);
         }
     }
 
@@ -410,8 +458,12 @@ public class LightRAG {
             @Nullable Reranker reranker,
             @Nullable br.edu.ifba.document.CodeChunker codeChunker,
             @Nullable CodeExtractionPrompts codeExtractionPrompts,
+            @Nullable CodeStructureExtractor codeStructureExtractor,
+            @NotNull CodeExtractionMode codeExtractionMode,
             @Nullable String gleaningSystemPromptTemplate,
-            @Nullable String gleaningUserPrompt) {
+            @Nullable String gleaningUserPrompt,
+            @Nullable DescriptionCompactionWorker descriptionCompactionWorker,
+            @Nullable QueryCacheService queryCache) {
         this.config = config;
         this.llmFunction = llmFunction;
         this.embeddingFunction = embeddingFunction;
@@ -427,6 +479,24 @@ public class LightRAG {
         this.reranker = reranker;
         this.codeChunker = codeChunker;
         this.codeExtractionPrompts = codeExtractionPrompts;
+        this.codeStructureExtractor = codeStructureExtractor;
+        this.codeExtractionMode = codeExtractionMode;
+        this.descriptionCompactionWorker = descriptionCompactionWorker;
+        this.queryCache = queryCache;
+        this.chunkPacker = extractionConfig != null && extractionConfig.extractionPacking().enabled()
+                ? new ChunkPacker<>(
+                        extractionConfig.extractionPacking().maxTokens(),
+                        extractionConfig.extractionPacking().maxChunks(),
+                        extractionConfig.extractionPacking().lingerMs(),
+                        this::extractPack)
+                : null;
+        this.gleaningPolicy = extractionConfig != null && extractionConfig.gleaning().adaptive().enabled()
+                ? new GleaningPolicy(
+                        extractionConfig.gleaning().adaptive().minChunkTokens(),
+                        extractionConfig.gleaning().adaptive().warmupPasses(),
+                        extractionConfig.gleaning().adaptive().minYield(),
+                        extractionConfig.gleaning().adaptive().explorationInterval())
+                : null;
         this.localSystemPrompt = localSystemPrompt;
         this.globalSystemPrompt = globalSystemPrompt;
         this.hybridSystemPrompt = hybridSystemPrompt;
@@ -468,11 +538,7 @@ public class LightRAG {
                 graphStorage.initialize(),
                 docStatusStorage.initialize()).thenRun(() -> {
                     // Initialize query executors based on configuration
-                    if (config.usePipelineExecutors()) {
-                        initializePipelineExecutors();
-                    } else {
-                        initializeLegacyExecutors();
-                    }
+                    this.queryExecutors = createQueryExecutors(embeddingFunction, graphStorage);
 
                     initialized = true;
                     logger.info("LightRAG initialized successfully (pipeline executors: {})",
@@ -481,35 +547,70 @@ public class LightRAG {
     }
 
     /**
-     * Initializes legacy query executors (default behavior).
+     * Sends chunks still waiting in an extraction pack and stops the packer's
+     * linger timer. Storages belong to the caller and stay open.
+     */
+    @Override
+    public void close() {
+        if (chunkPacker != null) {
+            chunkPacker.close();
+        }
+    }
+
+    /**
+     * Query executors, one per mode.
+     */
+    private record QueryExecutors(
+            QueryExecutor local,
+            QueryExecutor global,
+            QueryExecutor hybrid,
+            QueryExecutor naive,
+            QueryExecutor mix) {
+    }
+
+    /**
+     * Creates the query executors for the configured executor style, reading
+     * embeddings and the graph through the given functions. Batches pass
+     * their own shared-read wrappers here.
      */
-    private void initializeLegacyExecutors() {
+    private QueryExecutors createQueryExecutors(EmbeddingFunction embeddings, GraphStorage graph) {
+        return config.usePipelineExecutors()
+                ? createPipelineExecutors(embeddings, graph)
+                : createLegacyExecutors(embeddings, graph);
+    }
+
+    /**
+     * Creates legacy query executors (default behavior).
+     */
+    private QueryExecutors createLegacyExecutors(EmbeddingFunction embeddings, GraphStorage graph) {
         logger.debug("Initializing legacy query executors");
 
-        this.localExecutor = new LocalQueryExecutor(
-                llmFunction, embeddingFunction, chunkStorage,
-                chunkVectorStorage, entityVectorStorage, graphStorage,
+        LocalQueryExecutor localExecutor = new LocalQueryExecutor(
+                llmFunction, embeddings, chunkStorage,
+                chunkVectorStorage, entityVectorStorage, graph,
                 localSystemPrompt);
-        this.globalExecutor = new GlobalQueryExecutor(
-                llmFunction, embeddingFunction, chunkStorage,
-                chunkVectorStorage, entityVectorStorage, graphStorage,
+        GlobalQueryExecutor globalExecutor = new GlobalQueryExecutor(
+                llmFunction, embeddings, chunkStorage,
+                chunkVectorStorage, entityVectorStorage, graph,
                 globalSystemPrompt);
-        this.hybridExecutor = new HybridQueryExecutor(
-                llmFunction, embeddingFunction, chunkStorage,
-                chunkVectorStorage, entityVectorStorage, graphStorage,
+        HybridQueryExecutor hybridExecutor = new HybridQueryExecutor(
+                llmFunction, embeddings, chunkStorage,
+                chunkVectorStorage, entityVectorStorage, graph,
                 localSystemPrompt, globalSystemPrompt, hybridSystemPrompt);
-        this.naiveExecutor = new NaiveQueryExecutor(
-                llmFunction, embeddingFunction, chunkStorage,
-                chunkVectorStorage, entityVectorStorage, graphStorage,
+        NaiveQueryExecutor naiveExecutor = new NaiveQueryExecutor(
+                llmFunction, embeddings, chunkStorage,
+                chunkVectorStorage, entityVectorStorage, graph,
                 naiveSystemPrompt);
-        this.mixExecutor = new MixQueryExecutor(
-                llmFunction, embeddingFunction, chunkStorage,
-                chunkVectorStorage, entityVectorStorage, graphStorage,
+        MixQueryExecutor mixExecutor = new MixQueryExecutor(
+                llmFunction, embeddings, chunkStorage,
+                chunkVectorStorage, entityVectorStorage, graph,
                 mixSystemPrompt, reranker);
+        configureKeywordFusion(localExecutor, hybridExecutor, naiveExecutor, mixExecutor);
+        return new QueryExecutors(localExecutor, globalExecutor, hybridExecutor, naiveExecutor, mixExecutor);
     }
 
     /**
-     * Initializes pipeline-based query executors (experimental).
+     * Creates pipeline-based query executors (experimental).
      * 
      * <p>
      * Pipeline executors use a stage-based architecture for query processing:
@@ -521,7 +622,7 @@ public class LightRAG {
      * <li>Context Builder Stage - Final prompt construction</li>
      * </ol>
      */
-    private void initializePipelineExecutors() {
+    private QueryExecutors createPipelineExecutors(EmbeddingFunction embeddings, GraphStorage graph) {
         logger.debug("Initializing pipeline-based query executors");
 
         // Create optional keyword extractor if extraction config is available
@@ -529,29 +630,45 @@ public class LightRAG {
                 ? new LLMKeywordExtractor(llmFunction, extractionConfig)
                 : null;
 
-        this.localPipelineExecutor = new LocalPipelineExecutor(
-                llmFunction, embeddingFunction, chunkStorage,
-                chunkVectorStorage, entityVectorStorage, graphStorage,
+        LocalPipelineExecutor localPipelineExecutor = new LocalPipelineExecutor(
+                llmFunction, embeddings, chunkStorage,
+                chunkVectorStorage, entityVectorStorage, graph,
                 localSystemPrompt, keywordExtractor, extractionConfig);
-        this.globalPipelineExecutor = new GlobalPipelineExecutor(
-                llmFunction, embeddingFunction, chunkStorage,
-                chunkVectorStorage, entityVectorStorage, graphStorage,
+        GlobalPipelineExecutor globalPipelineExecutor = new GlobalPipelineExecutor(
+                llmFunction, embeddings, chunkStorage,
+                chunkVectorStorage, entityVectorStorage, graph,
                 globalSystemPrompt, keywordExtractor, extractionConfig);
-        this.hybridPipelineExecutor = new HybridPipelineExecutor(
-                llmFunction, embeddingFunction, chunkStorage,
-                chunkVectorStorage, entityVectorStorage, graphStorage,
+        HybridPipelineExecutor hybridPipelineExecutor = new HybridPipelineExecutor(
+                llmFunction, embeddings, chunkStorage,
+                chunkVectorStorage, entityVectorStorage, graph,
                 hybridSystemPrompt, keywordExtractor, extractionConfig);
 
-        // Initialize legacy executors for modes that don't have pipeline equivalents
-        // yet
-        this.naiveExecutor = new NaiveQueryExecutor(
-                llmFunction, embeddingFunction, chunkStorage,
-                chunkVectorStorage, entityVectorStorage, graphStorage,
+        // Legacy executors for modes that don't have pipeline equivalents yet
+        NaiveQueryExecutor naiveExecutor = new NaiveQueryExecutor(
+                llmFunction, embeddings, chunkStorage,
+                chunkVectorStorage, entityVectorStorage, graph,
                 naiveSystemPrompt);
-        this.mixExecutor = new MixQueryExecutor(
-                llmFunction, embeddingFunction, chunkStorage,
-                chunkVectorStorage, entityVectorStorage, graphStorage,
+        MixQueryExecutor mixExecutor = new MixQueryExecutor(
+                llmFunction, embeddings, chunkStorage,
+                chunkVectorStorage, entityVectorStorage, graph,
                 mixSystemPrompt, reranker);
+        configureKeywordFusion(naiveExecutor, mixExecutor);
+        return new QueryExecutors(localPipelineExecutor, globalPipelineExecutor, hybridPipelineExecutor,
+                naiveExecutor, mixExecutor);
+    }
+
+    /**
+     * Applies the lexical retrieval config to executors that search chunks.
+     * Without extraction config, executors keep their default fusion.
+     */
+    private void configureKeywordFusion(QueryExecutor... executors) {
+        if (extractionConfig == null) {
+            return;
+        }
+        LightRAGExtractionConfig.Lexical lexical = extractionConfig.query().lexical();
+        for (QueryExecutor executor : executors) {
+            executor.setKeywordFusion(lexical.enabled() ? new ReciprocalRankFusion(lexical.rrfK()) : null);
+        }
     }
 
     /**
@@ -604,6 +721,9 @@ public class LightRAG {
                     // Create initial status
                     DocumentStatus pendingStatus = DocumentStatus.pending(docId, filePath);
                     DocumentStatus processingStatus = pendingStatus.asProcessing();
+                    String projectId = metadata != null ? (String) metadata.get("project_id") : null;
+                    String documentType = metadata != null ? (String) metadata.get("document_type") : null;
+                    Timer.Sample ingestSample = LightRAGMetrics.startTimer();
 
                     return docStatusStorage.setStatus(processingStatus)
                             .thenCompose(v -> processDocument(docId, content, metadata))
@@ -613,10 +733,12 @@ public class LightRAG {
                                         result.chunkCount,
                                         result.entityCount,
                                         result.relationCount);
+                                LightRAGMetrics.recordIngest(projectId, documentType, ingestSample, true);
                                 return docStatusStorage.setStatus(completedStatus)
                                         .thenApply(v -> docId);
                             })
                             .exceptionally(ex -> {
+                                LightRAGMetrics.recordIngest(projectId, documentType, ingestSample, false);
                                 logger.error("Failed to insert document: {}", docId, ex);
                                 DocumentStatus failedStatus = processingStatus.asFailed(ex.getMessage());
                                 docStatusStorage.setStatus(failedStatus).join();
@@ -660,6 +782,10 @@ public class LightRAG {
     /**
      * Queries the knowledge graph.
      *
+     * <p>When a {@link QueryCacheService} is configured and the query opts in
+     * via {@link QueryParam#isEnableCache()}, identical questions are answered
+     * from cache and concurrent identical queries share one execution.</p>
+     *
      * @param query The query string
      * @param param Query parameters (mode, top_k, etc.)
      * @return CompletableFuture with the query result containing answer and source
@@ -670,14 +796,127 @@ public class LightRAG {
             @NotNull QueryParam param) {
         ensureInitialized();
         logger.info("Executing query with mode: {}", param.getMode());
+        return runQuery(query, param, queryExecutors);
+    }
+
+    /**
+     * Runs a query on the given executors, through the answer cache when the
+     * query opts in.
+     */
+    private CompletableFuture<LightRAGQueryResult> runQuery(
+            String query,
+            QueryParam param,
+            QueryExecutors executors) {
+        Timer.Sample querySample = LightRAGMetrics.startTimer();
+        CompletableFuture<LightRAGQueryResult> result = queryCache != null && QueryCacheService.isCacheable(param)
+                ? queryCache.getOrCompute(param.getProjectId(), query, param,
+                        () -> dispatchQuery(query, param, executors))
+                : dispatchQuery(query, param, executors);
+        return result.whenComplete((r, ex) -> LightRAGMetrics.recordQuery(
+                param.getProjectId(), param.getMode().name(), querySample, ex == null));
+    }
+
+    /**
+     * Runs several questions with the same parameters as one batch.
+     *
+     * <p>All questions are embedded in a single embedding call, at most
+     * {@code parallelism} queries run at a time, and entity neighbourhoods
+     * fetched from the graph are shared between queries of the batch. The
+     * shared reads belong to this batch alone and hold at most
+     * {@code maxSharedReads} entries. Each query otherwise behaves like
+     * {@link #query(String, QueryParam)}, including the answer cache.</p>
+     *
+     * <p>Results are returned in input order and complete independently, so
+     * callers can stream them as they finish. A failed query fails only its own
+     * future. Cancelling a future that has not started skips its query.</p>
+     *
+     * @param queries the questions
+     * @param param query parameters shared by all questions
+     * @param parallelism maximum number of queries running at once
+     * @param maxSharedReads maximum number of embeddings and entity reads
+     *        shared within the batch
+     * @return one future per question, in input order
+     */
+    public List<CompletableFuture<LightRAGQueryResult>> queryBatch(
+            @NotNull List<String> queries,
+            @NotNull QueryParam param,
+            int parallelism,
+            int maxSharedReads) {
+        ensureInitialized();
+        List<CompletableFuture<LightRAGQueryResult>> results = new ArrayList<>(queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            results.add(new CompletableFuture<>());
+        }
+        if (queries.isEmpty()) {
+            return results;
+        }
+        logger.info("Executing batch of {} queries with mode: {}", queries.size(), param.getMode());
+
+        SharedQueryReads sharedReads = new SharedQueryReads(embeddingFunction, graphStorage, maxSharedReads);
+        QueryExecutors executors = createQueryExecutors(sharedReads.embeddingFunction(), sharedReads.graphStorage());
+        AtomicInteger next = new AtomicInteger();
+        int workers = Math.min(Math.max(1, parallelism), queries.size());
+        sharedReads.prime(queries)
+                .exceptionally(ex -> {
+                    logger.warn("Batch embedding failed, queries will embed individually: {}", ex.getMessage());
+                    return null;
+                })
+                .thenRun(() -> {
+                    for (int w = 0; w < workers; w++) {
+                        runNextInBatch(queries, param, executors, results, next);
+                    }
+                });
+        return results;
+    }
+
+    /**
+     * Runs the next pending query of a batch, then moves on to the one after
+     * it once it completes.
+     */
+    private void runNextInBatch(
+            List<String> queries,
+            QueryParam param,
+            QueryExecutors executors,
+            List<CompletableFuture<LightRAGQueryResult>> results,
+            AtomicInteger next) {
+        int index = next.getAndIncrement();
+        if (index >= queries.size()) {
+            return;
+        }
+        CompletableFuture<LightRAGQueryResult> result = results.get(index);
+        if (result.isDone()) {
+            runNextInBatch(queries, param, executors, results, next);
+            return;
+        }
+        CompletableFuture<LightRAGQueryResult> running;
+        try {
+            running = runQuery(queries.get(index), param, executors);
+        } catch (RuntimeException e) {
+            running = CompletableFuture.failedFuture(e);
+        }
+        running.whenCompleteAsync((r, ex) -> {
+            if (ex != null) {
+                result.completeExceptionally(ex);
+            } else {
+                result.complete(r);
+            }
+            runNextInBatch(queries, param, executors, results, next);
+        }, EXTRACTION_EXECUTOR);
+    }
 
-        // Dispatch to appropriate query executor based on mode
+    /**
+     * Dispatches to the appropriate query executor based on mode.
+     */
+    private CompletableFuture<LightRAGQueryResult> dispatchQuery(
+            @NotNull String query,
+            @NotNull QueryParam param,
+            @NotNull QueryExecutors executors) {
         return switch (param.getMode()) {
-            case LOCAL -> executeLocalQuery(query, param);
-            case GLOBAL -> executeGlobalQuery(query, param);
-            case HYBRID -> executeHybridQuery(query, param);
-            case NAIVE -> executeNaiveQuery(query, param);
-            case MIX -> executeMixQuery(query, param);
+            case LOCAL -> executors.local().execute(query, param);
+            case GLOBAL -> executors.global().execute(query, param);
+            case HYBRID -> executors.hybrid().execute(query, param);
+            case NAIVE -> executors.naive().execute(query, param);
+            case MIX -> executors.mix().execute(query, param);
             case BYPASS -> executeBypassQuery(query, param);
         };
     }
@@ -702,6 +941,7 @@ public class LightRAG {
 
         logger.info("LightRAG.processDocument - docId: {}, document_type from metadata: {}, isCodeDocument: {}",
                 docId, documentType, isCodeDocument);
+        Timer.Sample chunkingSample = LightRAGMetrics.startTimer();
 
         if (isCodeDocument && codeChunker != null) {
             // Use code-aware chunking
@@ -729,6 +969,7 @@ public class LightRAG {
 
             logger.info("Document {} chunked into {} pieces", docId, chunks.size());
         }
+        LightRAGMetrics.recordChunking(documentType, chunkingSample, chunks.size());
 
         // Step 2: Store chunks in KV storage
         List<String> chunkIds = new ArrayList<>();
@@ -829,14 +1070,19 @@ public class LightRAG {
 
         // Process chunks in batches to control parallelism
         int kgBatchSize = config.kgExtractionBatchSize();
-        List<Entity> allEntities = new ArrayList<>();
-        List<Relation> allRelations = new ArrayList<>();
 
         // Split chunks into batches
         int totalBatches = (chunks.size() + kgBatchSize - 1) / kgBatchSize;
         logger.info("Processing {} chunks in {} batches (batch size: {})",
                 chunks.size(), totalBatches, kgBatchSize);
 
+        // Records are written as they accumulate; with streamed extraction early
+        // records are stored while later ones are still being generated
+        ExtractionAccumulator accumulator = new ExtractionAccumulator(
+                streamsExtraction() ? extractionConfig.extractionStream().flushThreshold() : Integer.MAX_VALUE,
+                (entities, relations) -> storeKnowledgeGraph(entities, relations, metadata),
+                EXTRACTION_EXECUTOR);
+
         // Process batches sequentially using CompletableFuture chain
         CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
 
@@ -851,52 +1097,35 @@ public class LightRAG {
                 logger.info("Processing KG extraction batch {}/{} ({} chunks)",
                         batchIndex, totalBatches, batchChunks.size());
 
-                // Process all chunks in this batch in parallel
-                List<CompletableFuture<KGExtractionChunkResult>> batchFutures = new ArrayList<>();
+                // Process all chunks in this batch in parallel; streamed records reach
+                // the accumulator as they are parsed, the rest when the chunk completes
+                List<CompletableFuture<Void>> batchFutures = new ArrayList<>();
 
                 for (int i = 0; i < batchChunks.size(); i++) {
                     String chunkId = UuidUtils.randomV7().toString();
                     String chunkContent = batchChunks.get(i);
-                    batchFutures.add(extractKnowledgeGraphFromChunk(chunkId, chunkContent, metadata));
+                    batchFutures.add(extractKnowledgeGraphFromChunk(chunkId, chunkContent, metadata,
+                            records -> accumulator.addStreamed(chunkId, records.entities(), records.relations()))
+                            .thenAccept(result -> accumulator.completeChunk(chunkId, result.entities(),
+                                    result.relations())));
                 }
 
                 // Wait for this batch to complete before moving to next batch
                 return CompletableFuture.allOf(batchFutures.toArray(new CompletableFuture[0]))
-                        .thenCompose(ignored -> {
-                            // Collect results from THIS batch only (not accumulating in memory)
-                            List<Entity> batchEntities = new ArrayList<>();
-                            List<Relation> batchRelations = new ArrayList<>();
-
-                            for (CompletableFuture<KGExtractionChunkResult> future : batchFutures) {
-                                KGExtractionChunkResult result = future.join();
-                                batchEntities.addAll(result.entities);
-                                batchRelations.addAll(result.relations);
-                            }
-
-                            logger.info("KG batch {}/{} extracted - entities: {}, relations: {}",
-                                    batchIndex, totalBatches, batchEntities.size(), batchRelations.size());
-
-                            // STORE THIS BATCH IMMEDIATELY (store-as-you-go strategy)
-                            // Benefits: constant memory, crash resilience, progressive persistence
-                            return storeKnowledgeGraph(batchEntities, batchRelations, metadata)
-                                    .thenApply(stored -> {
-                                        // Track cumulative totals for final result (minimal memory - just counts)
-                                        synchronized (allEntities) {
-                                            allEntities.addAll(batchEntities);
-                                            allRelations.addAll(batchRelations);
-                                        }
-
-                                        logger.info(
-                                                "KG batch {}/{} stored successfully - cumulative total: {} entities, {} relations",
-                                                batchIndex, totalBatches, allEntities.size(), allRelations.size());
-
-                                        return (Void) null;
-                                    })
-                                    .exceptionally(ex -> {
-                                        logger.error("Failed to store KG batch {}/{}: {}",
-                                                batchIndex, totalBatches, ex.getMessage(), ex);
-                                        throw new RuntimeException("KG batch storage failed", ex);
-                                    });
+                        // STORE THIS BATCH IMMEDIATELY (store-as-you-go strategy)
+                        // Benefits: constant memory, crash resilience, progressive persistence
+                        .thenCompose(ignored -> accumulator.flush())
+                        .thenApply(stored -> {
+                            logger.info(
+                                    "KG batch {}/{} stored successfully - cumulative total: {} entities, {} relations",
+                                    batchIndex, totalBatches, accumulator.totalEntities(), accumulator.totalRelations());
+
+                            return (Void) null;
+                        })
+                        .exceptionally(ex -> {
+                            logger.error("Failed to store KG batch {}/{}: {}",
+                                    batchIndex, totalBatches, ex.getMessage(), ex);
+                            throw new RuntimeException("KG batch storage failed", ex);
                         });
             });
         }
@@ -905,9 +1134,9 @@ public class LightRAG {
         // Note: Storage happens per-batch (store-as-you-go), so no final storage needed
         return chain.thenApply(v -> {
             logger.info("All KG extraction and storage completed - total entities: {}, relations: {}",
-                    allEntities.size(), allRelations.size());
+                    accumulator.totalEntities(), accumulator.totalRelations());
 
-            return new KGExtractionResult(allEntities.size(), allRelations.size());
+            return new KGExtractionResult(accumulator.totalEntities(), accumulator.totalRelations());
         });
     }
 
@@ -917,6 +1146,13 @@ public class LightRAG {
     private record KGExtractionChunkResult(List<Entity> entities, List<Relation> relations) {
     }
 
+    /**
+     * One LLM extraction pass: the raw response (context for gleaning) and its
+     * parsed records.
+     */
+    private record ExtractionPass(String response, KGExtractionChunkResult result) {
+    }
+
     /**
      * Detects programming language from file name extension.
      * 
@@ -969,12 +1205,15 @@ public class LightRAG {
      * @param chunkContent the text content to extract from
      * @param metadata     document metadata (including document_type for code vs
      *                     text detection)
+     * @param onRecords    receives records of the initial pass as they are parsed
+     *                     from a streamed response; may be null
      * @return combined extraction results from all passes
      */
     private CompletableFuture<KGExtractionChunkResult> extractKnowledgeGraphFromChunk(
             @NotNull String chunkId,
             @NotNull String chunkContent,
-            @Nullable Map<String, Object> metadata) {
+            @Nullable Map<String, Object> metadata,
+            @Nullable Consumer<KGExtractionChunkResult> onRecords) {
         // Determine if this is a code document
         String documentType = metadata != null ? (String) metadata.get("document_type") : null;
         boolean isCodeDocument = "CODE".equals(documentType);
@@ -982,6 +1221,103 @@ public class LightRAG {
         logger.info("Extracting KG from chunk {} - documentType: {}, isCodeDocument: {}", chunkId, documentType,
                 isCodeDocument);
 
+        // Structural facts for code are parsed from source; in FAST mode they replace
+        // the LLM call, in HYBRID mode they are merged with the LLM extraction
+        KGExtractionChunkResult structuralResult = isCodeDocument
+                ? extractCodeStructure(chunkId, chunkContent, metadata)
+                : null;
+        if (structuralResult != null && codeExtractionMode == CodeExtractionMode.FAST) {
+            logger.debug("Fast code mode - chunk {} extracted structurally: {} entities, {} relations",
+                    chunkId, structuralResult.entities().size(), structuralResult.relations().size());
+            return CompletableFuture.completedFuture(structuralResult);
+        }
+
+        // Small chunks share a request with other small chunks of the same kind
+        int chunkTokens = TokenUtil.estimateTokens(chunkContent);
+        CompletableFuture<KGExtractionChunkResult> llmResult = (chunkPacker != null
+                && chunkTokens <= extractionConfig.extractionPacking().smallChunkTokens()
+                        ? chunkPacker.submit(packKey(metadata, isCodeDocument),
+                                new ChunkPacker.Item(chunkId, chunkContent, chunkTokens, metadata))
+                        : extractSingleChunk(chunkId, chunkContent, metadata, isCodeDocument, onRecords))
+                .exceptionally(e -> {
+                    logger.warn("Failed to extract KG from chunk {}: {}", chunkId, e.getMessage());
+                    return new KGExtractionChunkResult(List.of(), List.of());
+                });
+
+        if (structuralResult == null) {
+            return llmResult;
+        }
+        return llmResult.thenApply(llmExtraction -> mergeExtractionResults(structuralResult, llmExtraction));
+    }
+
+    /**
+     * Extracts one chunk with its own LLM request: initial pass, then gleaning.
+     */
+    private CompletableFuture<KGExtractionChunkResult> extractSingleChunk(
+            @NotNull String chunkId,
+            @NotNull String chunkContent,
+            @Nullable Map<String, Object> metadata,
+            boolean isCodeDocument,
+            @Nullable Consumer<KGExtractionChunkResult> onRecords) {
+        ExtractionPrompts prompts = buildExtractionPrompts(chunkId, chunkContent, metadata, isCodeDocument);
+        String filledSystemPrompt = prompts.system();
+        String userPrompt = prompts.user();
+
+        // Initial extraction pass, parsed incrementally when the LLM streams
+        CompletableFuture<ExtractionPass> initialPass = streamsExtraction()
+                ? streamExtractionPass(chunkId, userPrompt, filledSystemPrompt, onRecords)
+                : llmFunction.apply(userPrompt, filledSystemPrompt)
+                        .thenApply(response -> new ExtractionPass(response, parseKGExtractionResponse(chunkId, response)));
+
+        return initialPass
+                .thenCompose(pass -> {
+                    String response = pass.response();
+                    KGExtractionChunkResult initialResult = pass.result();
+
+                    // Check if gleaning is enabled and max passes > 0
+                    if (extractionConfig == null || !extractionConfig.gleaning().enabled()
+                            || extractionConfig.gleaning().maxPasses() <= 0) {
+                        logger.debug(
+                                "Gleaning disabled for chunk {}, returning initial extraction: {} entities, {} relations",
+                                chunkId, initialResult.entities().size(), initialResult.relations().size());
+                        return CompletableFuture.completedFuture(initialResult);
+                    }
+
+                    // Skip gleaning when the policy predicts it will find nothing
+                    GleaningPolicy.Sample sample = new GleaningPolicy.Sample(projectIdOf(metadata),
+                            isCodeDocument ? "code" : "text", TokenUtil.estimateTokens(chunkContent),
+                            initialResult.entities().size() + initialResult.relations().size());
+                    if (!shouldGlean(chunkId, sample)) {
+                        return CompletableFuture.completedFuture(initialResult);
+                    }
+
+                    // Run gleaning passes
+                    return runGleaningPasses(chunkId, chunkContent, "", response, sample,
+                            Map.of(chunkId, initialResult),
+                            gleaningResponse -> Map.of(chunkId, parseKGExtractionResponse(chunkId, gleaningResponse)))
+                            .thenApply(results -> results.get(chunkId));
+                });
+    }
+
+    /**
+     * System and user prompt of one extraction request.
+     */
+    private record ExtractionPrompts(String system, String user) {
+    }
+
+    /**
+     * Builds the extraction prompts for a text (code prompts for code documents).
+     *
+     * @param chunkId   chunk (or first chunk of a pack) for logging
+     * @param inputText the text to extract from
+     * @param metadata  document metadata
+     * @param isCodeDocument whether to use the code extraction prompts
+     */
+    private ExtractionPrompts buildExtractionPrompts(
+            @NotNull String chunkId,
+            @NotNull String inputText,
+            @Nullable Map<String, Object> metadata,
+            boolean isCodeDocument) {
         // Fill placeholders in the system prompt template (use code prompts for code
         // documents)
         String filledSystemPrompt;
@@ -1016,43 +1352,251 @@ public class LightRAG {
                         effectiveCodeEntityTypes,
                         effectiveCodeRelationshipTypes,
                         detectedLanguage);
-                userPrompt = codeExtractionPrompts.formatUserPrompt(chunkContent);
+                userPrompt = codeExtractionPrompts.formatUserPrompt(inputText);
             } else {
                 // Fallback to basic prompt if CodeExtractionPrompts not injected
                 filledSystemPrompt = "Extract entities and relationships from this " + detectedLanguage + " code. " +
                         "Entity types: " + effectiveCodeEntityTypes + ". " +
                         "Relationship types: " + effectiveCodeRelationshipTypes + ".";
-                userPrompt = "Source code:\n\n" + chunkContent;
+                userPrompt = "Source code:\n\n" + inputText;
             }
         } else {
             // Use default text extraction prompts
-            filledSystemPrompt = fillEntityExtractionPromptTemplate(chunkContent);
+            filledSystemPrompt = fillEntityExtractionPromptTemplate(inputText);
             userPrompt = entityExtractionUserPrompt;
         }
 
-        // Initial extraction pass
-        return llmFunction.apply(userPrompt, filledSystemPrompt)
-                .thenCompose(response -> {
-                    KGExtractionChunkResult initialResult = parseKGExtractionResponse(chunkId, response);
+        return new ExtractionPrompts(filledSystemPrompt, userPrompt);
+    }
 
-                    // Check if gleaning is enabled and max passes > 0
+    /**
+     * Pack key: only chunks sent with identical prompts may share a request, and
+     * never across projects.
+     */
+    private String packKey(@Nullable Map<String, Object> metadata, boolean isCodeDocument) {
+        String projectId = projectIdOf(metadata);
+        if (!isCodeDocument) {
+            return projectId + ":text";
+        }
+        String fileName = metadata != null ? (String) metadata.get("filepath") : null;
+        return projectId + ":code:" + detectLanguageFromFileName(fileName != null ? fileName : "unknown");
+    }
+
+    /**
+     * Extracts a pack of small chunks with one request.
+     *
+     * <p>
+     * The chunks are numbered and separated by {@code <<<CHUNK n>>>} markers and
+     * the model is asked to repeat the marker before the output of each section.
+     * The response (and each gleaning response) is split at the markers and every
+     * section is parsed with the regular parser under its own chunk id. A single
+     * chunk, or a response without markers, falls back to one request per chunk.
+     * </p>
+     */
+    private CompletableFuture<Map<String, KGExtractionChunkResult>> extractPack(
+            @NotNull List<ChunkPacker.Item> items) {
+        ChunkPacker.Item first = items.get(0);
+        boolean isCodeDocument = first.metadata() != null
+                && "CODE".equals(first.metadata().get("document_type"));
+        if (items.size() == 1) {
+            return extractSingleChunk(first.id(), first.content(), first.metadata(), isCodeDocument, null)
+                    .thenApply(result -> Map.of(first.id(), result));
+        }
+
+        List<String> chunkIds = items.stream().map(ChunkPacker.Item::id).toList();
+        StringBuilder packed = new StringBuilder();
+        for (int i = 0; i < items.size(); i++) {
+            packed.append(PACK_MARKER_PREFIX).append(i + 1).append(PACK_MARKER_SUFFIX).append('\n')
+                    .append(items.get(i).content().strip()).append("\n\n");
+        }
+        String packedText = packed.toString();
+        String packRules = String.format(PACK_INSTRUCTIONS, items.size());
+        String label = "pack[" + first.id() + " +" + (items.size() - 1) + "]";
+        ExtractionPrompts prompts = buildExtractionPrompts(label, packedText, first.metadata(), isCodeDocument);
+
+        logger.debug("Extracting {} packed chunks in one request", items.size());
+        return llmFunction.apply(prompts.user() + packRules, prompts.system())
+                .thenCompose(response -> {
+                    Map<String, KGExtractionChunkResult> initial = demultiplexPackResponse(chunkIds, response);
+                    if (initial == null) {
+                        logger.warn("Packed extraction response for {} has no chunk markers, extracting {} chunks one by one",
+                                label, items.size());
+                        return extractPackItemsSeparately(items, isCodeDocument);
+                    }
                     if (extractionConfig == null || !extractionConfig.gleaning().enabled()
                             || extractionConfig.gleaning().maxPasses() <= 0) {
-                        logger.debug(
-                                "Gleaning disabled for chunk {}, returning initial extraction: {} entities, {} relations",
-                                chunkId, initialResult.entities().size(), initialResult.relations().size());
-                        return CompletableFuture.completedFuture(initialResult);
+                        return CompletableFuture.completedFuture(initial);
                     }
+                    // The pack is gleaned as a whole, so it is also judged as a whole
+                    GleaningPolicy.Sample sample = new GleaningPolicy.Sample(projectIdOf(first.metadata()),
+                            isCodeDocument ? "code" : "text", items.stream().mapToInt(ChunkPacker.Item::tokens).sum(),
+                            countEntities(initial) + countRelations(initial), items.size());
+                    if (!shouldGlean(label, sample)) {
+                        return CompletableFuture.completedFuture(initial);
+                    }
+                    return runGleaningPasses(label, packedText, packRules, response, sample, initial,
+                            gleaningResponse -> {
+                        Map<String, KGExtractionChunkResult> gleaned = demultiplexPackResponse(chunkIds,
+                                gleaningResponse);
+                        return gleaned != null ? gleaned : Map.of();
+                    });
+                });
+    }
 
-                    // Run gleaning passes
-                    return runGleaningPasses(chunkId, chunkContent, response, initialResult);
-                })
-                .exceptionally(e -> {
-                    logger.warn("Failed to extract KG from chunk {}: {}", chunkId, e.getMessage());
-                    return new KGExtractionChunkResult(List.of(), List.of());
+    private CompletableFuture<Map<String, KGExtractionChunkResult>> extractPackItemsSeparately(
+            @NotNull List<ChunkPacker.Item> items,
+            boolean isCodeDocument) {
+        Map<String, CompletableFuture<KGExtractionChunkResult>> futures = new java.util.LinkedHashMap<>();
+        for (ChunkPacker.Item item : items) {
+            futures.put(item.id(),
+                    extractSingleChunk(item.id(), item.content(), item.metadata(), isCodeDocument, null));
+        }
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+                .thenApply(v -> {
+                    Map<String, KGExtractionChunkResult> results = new HashMap<>();
+                    futures.forEach((id, future) -> results.put(id, future.join()));
+                    return results;
                 });
     }
 
+    /**
+     * Splits a packed response at its {@code <<<CHUNK n>>>} markers and parses each
+     * section under the id of chunk n. Chunks without a section get an empty
+     * result.
+     *
+     * @return results by chunk id, or null if the response has no markers
+     */
+    @Nullable
+    private Map<String, KGExtractionChunkResult> demultiplexPackResponse(
+            @NotNull List<String> chunkIds,
+            @NotNull String response) {
+        java.util.regex.Matcher marker = PACK_MARKER.matcher(response);
+        List<int[]> sections = new ArrayList<>();
+        while (marker.find()) {
+            sections.add(new int[] { Integer.parseInt(marker.group(1)), marker.start(), marker.end() });
+        }
+        if (sections.isEmpty()) {
+            return null;
+        }
+
+        Map<String, List<Entity>> entities = new HashMap<>();
+        Map<String, List<Relation>> relations = new HashMap<>();
+        for (int i = 0; i < sections.size(); i++) {
+            int index = sections.get(i)[0] - 1;
+            if (index < 0 || index >= chunkIds.size()) {
+                continue;
+            }
+            int end = i + 1 < sections.size() ? sections.get(i + 1)[1] : response.length();
+            String chunkId = chunkIds.get(index);
+            KGExtractionChunkResult section = parseKGExtractionResponse(chunkId,
+                    response.substring(sections.get(i)[2], end));
+            entities.computeIfAbsent(chunkId, k -> new ArrayList<>()).addAll(section.entities());
+            relations.computeIfAbsent(chunkId, k -> new ArrayList<>()).addAll(section.relations());
+        }
+
+        Map<String, KGExtractionChunkResult> results = new HashMap<>();
+        for (String chunkId : chunkIds) {
+            results.put(chunkId, new KGExtractionChunkResult(
+                    entities.getOrDefault(chunkId, List.of()),
+                    relations.getOrDefault(chunkId, List.of())));
+        }
+        return results;
+    }
+
+    /**
+     * Whether extraction responses are streamed and parsed incrementally.
+     */
+    private boolean streamsExtraction() {
+        return llmFunction instanceof StreamingLLMFunction streamingLlm
+                && streamingLlm.supportsStreaming()
+                && extractionConfig != null
+                && extractionConfig.extractionStream().enabled();
+    }
+
+    /**
+     * Runs the initial extraction pass as a stream.
+     *
+     * <p>Each line is parsed as soon as it arrives and handed to {@code onRecords};
+     * the stream is cancelled at the completion delimiter instead of waiting for
+     * trailing tokens. JSON responses (code extraction) are parsed once complete.
+     * If the stream fails before yielding any record the pass is retried without
+     * streaming.</p>
+     */
+    private CompletableFuture<ExtractionPass> streamExtractionPass(
+            @NotNull String chunkId,
+            @NotNull String userPrompt,
+            @NotNull String systemPrompt,
+            @Nullable Consumer<KGExtractionChunkResult> onRecords) {
+        StreamingLLMFunction streamingLlm = (StreamingLLMFunction) llmFunction;
+        // Only touched by the stream's subscriber, then read after it completes
+        List<Entity> entities = new ArrayList<>();
+        List<Relation> relations = new ArrayList<>();
+
+        return ExtractionStreamParser.consume(
+                streamingLlm.applyStreaming(userPrompt, systemPrompt,
+                        Map.of("operation_type", TokenUsage.OP_INGESTION)),
+                line -> {
+                    KGExtractionChunkResult records = parseStreamedLine(chunkId, line);
+                    if (records.entities().isEmpty() && records.relations().isEmpty()) {
+                        return;
+                    }
+                    entities.addAll(records.entities());
+                    relations.addAll(records.relations());
+                    if (onRecords != null) {
+                        onRecords.accept(records);
+                    }
+                })
+                .handleAsync((parser, error) -> {
+                    if (error == null) {
+                        KGExtractionChunkResult result = parser.isStructured()
+                                ? parseKGExtractionResponse(chunkId, parser.text())
+                                : new KGExtractionChunkResult(entities, relations);
+                        logger.debug("Streamed extraction for chunk {}: {} entities, {} relations",
+                                chunkId, result.entities().size(), result.relations().size());
+                        return CompletableFuture.completedFuture(new ExtractionPass(parser.text(), result));
+                    }
+                    if (entities.isEmpty() && relations.isEmpty()) {
+                        logger.warn("Streamed extraction failed for chunk {}, retrying without streaming: {}",
+                                chunkId, error.getMessage());
+                        return llmFunction.apply(userPrompt, systemPrompt)
+                                .thenApply(response -> new ExtractionPass(response,
+                                        parseKGExtractionResponse(chunkId, response)));
+                    }
+                    // Records already handed out stay stored; the chunk ends here
+                    return CompletableFuture.<ExtractionPass>failedFuture(error);
+                }, EXTRACTION_EXECUTOR)
+                .thenCompose(pass -> pass);
+    }
+
+    /**
+     * Runs the structural code extractor on a chunk.
+     *
+     * @return structural facts, or {@code null} when structural extraction is
+     *         disabled, the language is not supported, or parsing failed
+     */
+    @Nullable
+    private KGExtractionChunkResult extractCodeStructure(
+            @NotNull String chunkId,
+            @NotNull String chunkContent,
+            @Nullable Map<String, Object> metadata) {
+        if (codeStructureExtractor == null || codeExtractionMode == CodeExtractionMode.LLM) {
+            return null;
+        }
+        String filePath = metadata != null ? (String) metadata.get("filepath") : null;
+        String language = detectLanguageFromFileName(filePath != null ? filePath : "unknown");
+        if (!codeStructureExtractor.supports(language)) {
+            return null;
+        }
+        try {
+            CodeStructureExtractor.CodeStructure structure = codeStructureExtractor.extract(
+                    chunkId, chunkContent, language, filePath);
+            return new KGExtractionChunkResult(structure.entities(), structure.relations());
+        } catch (RuntimeException e) {
+            logger.warn("Structural extraction failed for chunk {} ({}): {}", chunkId, filePath, e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Runs iterative gleaning passes to capture entities missed in initial
      * extraction.
@@ -1066,77 +1610,144 @@ public class LightRAG {
      * </ul>
      * </p>
      * 
-     * @param chunkId           chunk identifier for logging
-     * @param chunkContent      original chunk text
+     * <p>
+     * Results are kept per chunk so that a packed request (several chunks in one
+     * prompt) can be gleaned as a whole while merging stays per chunk.
+     * </p>
+     * 
+     * @param label             chunk (or pack) identifier for logging
+     * @param inputText         original text sent to the initial pass
+     * @param userPromptSuffix  appended to the gleaning user prompt (pack format rules)
      * @param previousResponse  the response from the previous extraction pass
-     * @param accumulatedResult entities/relations accumulated so far
-     * @return combined result from all passes
+     * @param sample            gleaning policy signals, passes are recorded against it
+     * @param accumulated       entities/relations accumulated so far, by chunk id
+     * @param parser            splits a gleaning response into results by chunk id
+     * @return combined result from all passes, by chunk id
      */
-    private CompletableFuture<KGExtractionChunkResult> runGleaningPasses(
-            @NotNull String chunkId,
-            @NotNull String chunkContent,
+    private CompletableFuture<Map<String, KGExtractionChunkResult>> runGleaningPasses(
+            @NotNull String label,
+            @NotNull String inputText,
+            @NotNull String userPromptSuffix,
             @NotNull String previousResponse,
-            @NotNull KGExtractionChunkResult accumulatedResult) {
+            @NotNull GleaningPolicy.Sample sample,
+            @NotNull Map<String, KGExtractionChunkResult> accumulated,
+            @NotNull java.util.function.Function<String, Map<String, KGExtractionChunkResult>> parser) {
         int maxPasses = extractionConfig.gleaning().maxPasses();
 
         // Build recursive gleaning chain
-        return runGleaningPassRecursive(chunkId, chunkContent, previousResponse, accumulatedResult, 1, maxPasses);
+        return runGleaningPassRecursive(label, inputText, userPromptSuffix, previousResponse, sample, accumulated,
+                parser, 1, maxPasses);
     }
 
     /**
      * Recursive helper for gleaning passes.
      */
-    private CompletableFuture<KGExtractionChunkResult> runGleaningPassRecursive(
-            @NotNull String chunkId,
-            @NotNull String chunkContent,
+    private CompletableFuture<Map<String, KGExtractionChunkResult>> runGleaningPassRecursive(
+            @NotNull String label,
+            @NotNull String inputText,
+            @NotNull String userPromptSuffix,
             @NotNull String previousResponse,
-            @NotNull KGExtractionChunkResult accumulatedResult,
+            @NotNull GleaningPolicy.Sample sample,
+            @NotNull Map<String, KGExtractionChunkResult> accumulated,
+            @NotNull java.util.function.Function<String, Map<String, KGExtractionChunkResult>> parser,
             int currentPass,
             int maxPasses) {
         if (currentPass > maxPasses) {
             logger.debug("Gleaning complete for chunk {}: {} total entities, {} total relations after {} passes",
-                    chunkId, accumulatedResult.entities().size(), accumulatedResult.relations().size(), maxPasses);
-            return CompletableFuture.completedFuture(accumulatedResult);
+                    label, countEntities(accumulated), countRelations(accumulated), maxPasses);
+            return CompletableFuture.completedFuture(accumulated);
         }
 
-        logger.debug("Starting gleaning pass {}/{} for chunk {}", currentPass, maxPasses, chunkId);
+        logger.debug("Starting gleaning pass {}/{} for chunk {}", currentPass, maxPasses, label);
 
         // Build gleaning prompt with context of what was already extracted
-        String gleaningPrompt = buildGleaningPrompt(chunkContent, previousResponse);
+        String gleaningPrompt = buildGleaningPrompt(inputText, previousResponse);
 
-        return llmFunction.apply(gleaningUserPrompt, gleaningPrompt)
+        return llmFunction.apply(gleaningUserPrompt + userPromptSuffix, gleaningPrompt)
                 .thenCompose(gleaningResponse -> {
-                    KGExtractionChunkResult gleaningResult = parseKGExtractionResponse(chunkId, gleaningResponse);
+                    Map<String, KGExtractionChunkResult> gleaningResults = parser.apply(gleaningResponse);
 
                     // Check if gleaning found any new entities
-                    int newEntitiesFound = countNewEntities(accumulatedResult.entities(), gleaningResult.entities());
-                    int newRelationsFound = countNewRelations(accumulatedResult.relations(),
-                            gleaningResult.relations());
+                    int newEntitiesFound = 0;
+                    int newRelationsFound = 0;
+                    Map<String, KGExtractionChunkResult> mergedResults = new HashMap<>();
+                    for (Map.Entry<String, KGExtractionChunkResult> entry : accumulated.entrySet()) {
+                        KGExtractionChunkResult gleaningResult = gleaningResults.get(entry.getKey());
+                        if (gleaningResult == null) {
+                            mergedResults.put(entry.getKey(), entry.getValue());
+                            continue;
+                        }
+                        newEntitiesFound += countNewEntities(entry.getValue().entities(), gleaningResult.entities());
+                        newRelationsFound += countNewRelations(entry.getValue().relations(),
+                                gleaningResult.relations());
+                        // Merge results
+                        mergedResults.put(entry.getKey(), mergeExtractionResults(entry.getValue(), gleaningResult));
+                    }
 
                     logger.debug("Gleaning pass {} found {} new entities, {} new relations for chunk {}",
-                            currentPass, newEntitiesFound, newRelationsFound, chunkId);
+                            currentPass, newEntitiesFound, newRelationsFound, label);
+                    if (gleaningPolicy != null) {
+                        gleaningPolicy.recordPass(sample, newEntitiesFound + newRelationsFound);
+                    }
+                    LightRAGMetrics.recordGleaningPass(sample.documentKind(), newEntitiesFound + newRelationsFound);
 
                     // Early stop if no new entities/relations found
                     if (newEntitiesFound == 0 && newRelationsFound == 0) {
                         logger.debug("Early stopping gleaning for chunk {} - no new entities/relations in pass {}",
-                                chunkId, currentPass);
-                        return CompletableFuture.completedFuture(accumulatedResult);
+                                label, currentPass);
+                        return CompletableFuture.completedFuture(accumulated);
                     }
 
-                    // Merge results
-                    KGExtractionChunkResult mergedResult = mergeExtractionResults(accumulatedResult, gleaningResult);
-
                     // Continue to next pass
-                    return runGleaningPassRecursive(chunkId, chunkContent, gleaningResponse, mergedResult,
-                            currentPass + 1, maxPasses);
+                    return runGleaningPassRecursive(label, inputText, userPromptSuffix, gleaningResponse,
+                            sample, mergedResults, parser, currentPass + 1, maxPasses);
                 })
                 .exceptionally(e -> {
-                    logger.warn("Gleaning pass {} failed for chunk {}: {}", currentPass, chunkId, e.getMessage());
+                    logger.warn("Gleaning pass {} failed for chunk {}: {}", currentPass, label, e.getMessage());
                     // Return what we have so far on error
-                    return accumulatedResult;
+                    return accumulated;
                 });
     }
 
+    /**
+     * Asks the gleaning policy whether to glean; always true without a policy.
+     */
+    private boolean shouldGlean(@NotNull String label, @NotNull GleaningPolicy.Sample sample) {
+        if (gleaningPolicy == null) {
+            return true;
+        }
+        GleaningPolicy.Decision decision = gleaningPolicy.decide(sample);
+        LightRAGMetrics.recordGleaningDecision(sample.documentKind(), decision.name());
+        if (!decision.glean()) {
+            logger.debug("Skipping gleaning for chunk {} ({}): {} tokens, {} first-pass records",
+                    label, decision, sample.tokens(), sample.firstPassRecords());
+        }
+        return decision.glean();
+    }
+
+    /**
+     * Gleaning yield statistics per project and document kind, empty when
+     * adaptive gleaning is disabled.
+     */
+    @NotNull
+    public List<GleaningPolicy.Stats> getGleaningStats() {
+        return gleaningPolicy != null ? gleaningPolicy.stats() : List.of();
+    }
+
+    @Nullable
+    private static String projectIdOf(@Nullable Map<String, Object> metadata) {
+        Object projectId = metadata != null ? metadata.get("project_id") : null;
+        return projectId != null ? projectId.toString() : null;
+    }
+
+    private static int countEntities(Map<String, KGExtractionChunkResult> results) {
+        return results.values().stream().mapToInt(r -> r.entities().size()).sum();
+    }
+
+    private static int countRelations(Map<String, KGExtractionChunkResult> results) {
+        return results.values().stream().mapToInt(r -> r.relations().size()).sum();
+    }
+
     /**
      * Builds the gleaning prompt that asks the LLM to find missed entities.
      * Includes the original chunk content and previous extraction for context.
@@ -1270,6 +1881,28 @@ public class LightRAG {
         }
     }
 
+    /**
+     * Section marker of packed extraction requests: {@code <<<CHUNK n>>>}. The
+     * number is bounded so a runaway marker cannot overflow {@code int}.
+     */
+    private static final String PACK_MARKER_PREFIX = "<<<CHUNK ";
+    private static final String PACK_MARKER_SUFFIX = ">>>";
+    private static final java.util.regex.Pattern PACK_MARKER = java.util.regex.Pattern
+            .compile("(?m)^[\\s#*`]*<<<CHUNK\\s+(\\d{1,9})\\s*>>>[\\s*`]*$");
+
+    /**
+     * Output rules appended to the user prompt of packed requests. Placeholder:
+     * number of sections.
+     */
+    private static final String PACK_INSTRUCTIONS = """
+
+
+            The input contains %d independent sections, each starting with a line <<<CHUNK n>>>.
+            Extract from every section separately. Before the output for section n, write the line <<<CHUNK n>>> \
+            on its own, then the entities and relations found in that section in the usual format. \
+            If an entity appears in several sections, list it under each of them. \
+            Only write the completion delimiter once, after the last section.""";
+
     /**
      * Default gleaning system prompt template.
      * Asks the LLM to find entities/relations missed in the initial extraction.
@@ -1363,45 +1996,7 @@ public class LightRAG {
                     List.of("\n", "{completion_delimiter}", "<|COMPLETE|>", "<|complete|>"));
 
             for (String record : records) {
-                record = record.trim();
-                if (record.isEmpty())
-                    continue;
-
-                // Step 3: Handle case where LLM used tuple_delimiter as record separator
-                // This recovers entity/relation records that were incorrectly concatenated
-                List<String> fixedRecords = recoverMalformedRecords(record);
-
-                for (String fixedRecord : fixedRecords) {
-                    fixedRecord = fixedRecord.trim();
-                    if (fixedRecord.isEmpty())
-                        continue;
-
-                    // Parse entity lines:
-                    // entity{tuple_delimiter}name{tuple_delimiter}type{tuple_delimiter}description
-                    if (fixedRecord.startsWith("entity{tuple_delimiter}") ||
-                            fixedRecord.startsWith("entity<|#|>") ||
-                            fixedRecord.toLowerCase().startsWith("entity{tuple_delimiter}")) {
-                        Entity entity = parseEntityLine(fixedRecord, chunkId);
-                        if (entity != null) {
-                            entities.add(entity);
-                        }
-                    }
-                    // Parse relation lines:
-                    // relation{tuple_delimiter}src{tuple_delimiter}tgt{tuple_delimiter}keywords{tuple_delimiter}description
-                    else if (fixedRecord.startsWith("relation{tuple_delimiter}") ||
-                            fixedRecord.startsWith("relation<|#|>") ||
-                            fixedRecord.toLowerCase().startsWith("relation{tuple_delimiter}")) {
-                        Relation relation = parseRelationLine(fixedRecord, chunkId);
-                        if (relation != null) {
-                            relations.add(relation);
-                        }
-                    }
-                    // Stop at completion delimiter
-                    else if (fixedRecord.contains("{completion_delimiter}") ||
-                            fixedRecord.contains("<|COMPLETE|>")) {
-                        break;
-                    }
-                }
+                parseExtractionRecord(record, chunkId, entities, relations);
             }
 
             logger.debug("Parsed {} entities and {} relations from chunk {}",
@@ -1415,6 +2010,76 @@ public class LightRAG {
         }
     }
 
+    /**
+     * Parses one record (a line of the tuple format, delimiters already fixed)
+     * into the given lists.
+     */
+    private void parseExtractionRecord(
+            @NotNull String record,
+            @NotNull String chunkId,
+            @NotNull List<Entity> entities,
+            @NotNull List<Relation> relations) {
+        record = record.trim();
+        if (record.isEmpty())
+            return;
+
+        // Step 3: Handle case where LLM used tuple_delimiter as record separator
+        // This recovers entity/relation records that were incorrectly concatenated
+        List<String> fixedRecords = recoverMalformedRecords(record);
+
+        for (String fixedRecord : fixedRecords) {
+            fixedRecord = fixedRecord.trim();
+            if (fixedRecord.isEmpty())
+                continue;
+
+            // Parse entity lines:
+            // entity{tuple_delimiter}name{tuple_delimiter}type{tuple_delimiter}description
+            if (fixedRecord.startsWith("entity{tuple_delimiter}") ||
+                    fixedRecord.startsWith("entity<|#|>") ||
+                    fixedRecord.toLowerCase().startsWith("entity{tuple_delimiter}")) {
+                Entity entity = parseEntityLine(fixedRecord, chunkId);
+                if (entity != null) {
+                    entities.add(entity);
+                }
+            }
+            // Parse relation lines:
+            // relation{tuple_delimiter}src{tuple_delimiter}tgt{tuple_delimiter}keywords{tuple_delimiter}description
+            else if (fixedRecord.startsWith("relation{tuple_delimiter}") ||
+                    fixedRecord.startsWith("relation<|#|>") ||
+                    fixedRecord.toLowerCase().startsWith("relation{tuple_delimiter}")) {
+                Relation relation = parseRelationLine(fixedRecord, chunkId);
+                if (relation != null) {
+                    relations.add(relation);
+                }
+            }
+            // Stop at completion delimiter
+            else if (fixedRecord.contains("{completion_delimiter}") ||
+                    fixedRecord.contains("<|COMPLETE|>")) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Parses one streamed line: fixes delimiter corruption and splits it the same
+     * way {@link #parseKGExtractionResponse} splits a whole response.
+     *
+     * @return the entities and relations on this line
+     */
+    private KGExtractionChunkResult parseStreamedLine(@NotNull String chunkId, @NotNull String line) {
+        List<Entity> entities = new ArrayList<>();
+        List<Relation> relations = new ArrayList<>();
+        try {
+            for (String record : splitByMultipleMarkers(fixTupleDelimiterCorruption(line),
+                    List.of("\n", "{completion_delimiter}"))) {
+                parseExtractionRecord(record, chunkId, entities, relations);
+            }
+        } catch (RuntimeException e) {
+            logger.debug("Skipping unparseable streamed record for chunk {}: {}", chunkId, e.getMessage());
+        }
+        return new KGExtractionChunkResult(entities, relations);
+    }
+
     /**
      * Attempts to parse the LLM response as JSON (used for CODE extraction).
      * Handles markdown code blocks (```json...```).
@@ -1854,7 +2519,9 @@ public class LightRAG {
      * SAME batch
      * of entities being processed (from the same document chunks). Multiple
      * descriptions for the
-     * same entity are concatenated with a configurable separator.
+     * same entity are concatenated with a configurable separator. The result is
+     * then merged with the entity's stored row, so descriptions and source chunks
+     * accumulate across documents up to the configured maximum length.
      * </p>
      * 
      * <p>
@@ -1919,24 +2586,106 @@ public class LightRAG {
 
         // Step 2: Deduplicate entities by exact name match and accumulate descriptions
         Map<String, Entity> uniqueEntities = new HashMap<>();
+        // Untruncated fragments per entity, handed to the background compactor
+        Map<String, List<String>> descriptionFragments = new HashMap<>();
         for (Entity entity : entitiesToProcess) {
             String entityName = entity.getEntityName();
+            descriptionFragments.computeIfAbsent(entityName, k -> new ArrayList<>())
+                    .add(entity.getDescription());
             if (uniqueEntities.containsKey(entityName)) {
                 // Entity already exists in this batch - merge descriptions
                 Entity existing = uniqueEntities.get(entityName);
                 String mergedDescription = mergeDescriptions(
                         existing.getDescription(),
                         entity.getDescription());
-                uniqueEntities.put(entityName, existing.withDescription(mergedDescription));
+                Entity merged = existing.withDescription(mergedDescription);
+                for (String chunkId : entity.getSourceChunkIds()) {
+                    merged = merged.addSourceChunkId(chunkId);
+                }
+                uniqueEntities.put(entityName, merged);
             } else {
                 // First occurrence of this entity in this batch
                 uniqueEntities.put(entityName, entity);
             }
         }
 
+        // Same-pair relations are merged the same way, since storage keeps only the last
+        Map<String, Relation> uniqueRelations = new LinkedHashMap<>();
+        for (Relation relation : relations) {
+            String pairKey = relation.getSrcId() + '\u0000' + relation.getTgtId();
+            Relation existing = uniqueRelations.get(pairKey);
+            if (existing == null) {
+                uniqueRelations.put(pairKey, relation);
+                continue;
+            }
+            Relation merged = existing
+                    .withDescription(mergeDescriptions(existing.getDescription(), relation.getDescription()))
+                    .withWeight(Math.max(existing.getWeight(), relation.getWeight()));
+            for (String chunkId : relation.getSourceChunkIds()) {
+                merged = merged.addSourceChunkId(chunkId);
+            }
+            uniqueRelations.put(pairKey, merged);
+        }
+        List<Relation> relationsToStore = new ArrayList<>(uniqueRelations.values());
+
+        // Upserts replace description and source chunks, so merge with the stored rows first
+        return mergeWithStored(graphProjectId, uniqueEntities)
+                .thenCompose(v -> upsertKnowledgeGraph(graphProjectId, uniqueEntities, relationsToStore,
+                        descriptionFragments, metadata));
+    }
+
+    /**
+     * Merges each entity with its stored row, so descriptions and source chunks
+     * accumulate across documents instead of being replaced by the latest batch.
+     * Entities without a stored row are left unchanged.
+     */
+    private CompletableFuture<Void> mergeWithStored(
+            @NotNull String projectId,
+            @NotNull Map<String, Entity> uniqueEntities) {
+        if (uniqueEntities.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return graphStorage.getEntities(projectId, new ArrayList<>(uniqueEntities.keySet()))
+                .thenAccept(storedEntities -> {
+                    // Storage may normalize name case
+                    Map<String, Entity> storedByName = new HashMap<>();
+                    for (Entity stored : storedEntities) {
+                        storedByName.put(stored.getEntityName().toLowerCase(Locale.ROOT), stored);
+                    }
+                    uniqueEntities.replaceAll((name, entity) -> {
+                        Entity stored = storedByName.get(name.toLowerCase(Locale.ROOT));
+                        if (stored == null || stored.getDescription() == null) {
+                            return entity;
+                        }
+                        // Stored chunks first, so eviction drops the oldest citations
+                        Entity merged = entity
+                                .withDescription(mergeDescriptions(stored.getDescription(), entity.getDescription()))
+                                .withSourceChunkIds(stored.getSourceChunkIds());
+                        for (String chunkId : entity.getSourceChunkIds()) {
+                            merged = merged.addSourceChunkId(chunkId);
+                        }
+                        return merged;
+                    });
+                });
+    }
+
+    /**
+     * Writes merged entities and relations and the entity embeddings, then queues
+     * oversized descriptions for compaction.
+     */
+    private CompletableFuture<Void> upsertKnowledgeGraph(
+            @NotNull String graphProjectId,
+            @NotNull Map<String, Entity> uniqueEntities,
+            @NotNull List<Relation> relationsToStore,
+            @NotNull Map<String, List<String>> descriptionFragments,
+            @Nullable Map<String, Object> metadata) {
         // Store entities in graph using batch operation (reduces connection pool usage)
+        String graphBackend = LightRAGMetrics.backendOf(graphStorage);
+        Timer.Sample entityUpsertSample = LightRAGMetrics.startTimer();
         CompletableFuture<Void> entitiesFuture = graphStorage.upsertEntities(graphProjectId,
-                new ArrayList<>(uniqueEntities.values()));
+                new ArrayList<>(uniqueEntities.values()))
+                .thenRun(() -> LightRAGMetrics.recordGraphUpsert(
+                        graphBackend, "entity", entityUpsertSample, uniqueEntities.size()));
 
         // Store relations in graph using batch operation (reduces connection pool
         // usage)
@@ -1945,7 +2694,12 @@ public class LightRAG {
         // where relation MERGE creates name-only entities before entity upsert
         // completes
         CompletableFuture<Void> relationsFuture = entitiesFuture
-                .thenCompose(v -> graphStorage.upsertRelations(graphProjectId, relations));
+                .thenCompose(v -> {
+                    Timer.Sample relationUpsertSample = LightRAGMetrics.startTimer();
+                    return graphStorage.upsertRelations(graphProjectId, relationsToStore)
+                            .thenRun(() -> LightRAGMetrics.recordGraphUpsert(
+                                    graphBackend, "relation", relationUpsertSample, relationsToStore.size()));
+                });
 
         // Generate and store entity embeddings
         List<String> entityTexts = uniqueEntities.values().stream()
@@ -1989,41 +2743,38 @@ public class LightRAG {
                     });
         }
 
-        // Wait for all storage operations to complete
+        // Wait for all storage operations to complete, then queue oversized
+        // descriptions for background summarization (never blocks ingestion)
         return CompletableFuture.allOf(
                 entitiesFuture,
                 relationsFuture,
-                embeddingsFuture);
+                embeddingsFuture)
+                .thenRun(() -> submitForCompaction(graphProjectId, uniqueEntities, descriptionFragments));
     }
 
-    // Query execution methods - delegate to appropriate executors
-    private CompletableFuture<LightRAGQueryResult> executeLocalQuery(String query, QueryParam param) {
-        if (config.usePipelineExecutors() && localPipelineExecutor != null) {
-            return localPipelineExecutor.execute(query, param);
+    /**
+     * Hands accumulated description fragments to the background compactor.
+     * Only entities whose stored description crosses the compactor's thresholds
+     * are actually queued.
+     */
+    private void submitForCompaction(
+            @NotNull String projectId,
+            @NotNull Map<String, Entity> storedEntities,
+            @NotNull Map<String, List<String>> descriptionFragments) {
+        if (descriptionCompactionWorker == null) {
+            return;
         }
-        return localExecutor.execute(query, param);
-    }
-
-    private CompletableFuture<LightRAGQueryResult> executeGlobalQuery(String query, QueryParam param) {
-        if (config.usePipelineExecutors() && globalPipelineExecutor != null) {
-            return globalPipelineExecutor.execute(query, param);
+        int queued = 0;
+        for (Map.Entry<String, List<String>> entry : descriptionFragments.entrySet()) {
+            Entity stored = storedEntities.get(entry.getKey());
+            if (descriptionCompactionWorker.submit(projectId, entry.getKey(),
+                    stored != null ? stored.getDescription() : null, entry.getValue())) {
+                queued++;
+            }
         }
-        return globalExecutor.execute(query, param);
-    }
-
-    private CompletableFuture<LightRAGQueryResult> executeHybridQuery(String query, QueryParam param) {
-        if (config.usePipelineExecutors() && hybridPipelineExecutor != null) {
-            return hybridPipelineExecutor.execute(query, param);
+        if (queued > 0) {
+            logger.debug("Queued {} entities for description compaction in project {}", queued, projectId);
         }
-        return hybridExecutor.execute(query, param);
-    }
-
-    private CompletableFuture<LightRAGQueryResult> executeNaiveQuery(String query, QueryParam param) {
-        return naiveExecutor.execute(query, param);
-    }
-
-    private CompletableFuture<LightRAGQueryResult> executeMixQuery(String query, QueryParam param) {
-        return mixExecutor.execute(query, param);
     }
 
     private CompletableFuture<LightRAGQueryResult> executeBypassQuery(String query, QueryParam param) {
@@ -2049,7 +2800,7 @@ public class LightRAG {
      * @param projectId  The project ID (nullable)
      * @return Deterministic UUID string
      */
-    private String generateEntityVectorId(@NotNull String entityName, @Nullable String projectId) {
+    static String generateEntityVectorId(@NotNull String entityName, @Nullable String projectId) {
         // Create composite key: projectId:entityName
         String composite = (projectId != null ? projectId : "global") + ":" + entityName;
         return UuidUtils.deterministicV5(composite).toString();
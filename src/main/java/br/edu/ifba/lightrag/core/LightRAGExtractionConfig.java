@@ -8,6 +8,8 @@ import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Max;
 
+import java.util.List;
+
 /**
  * Configuration for LightRAG extraction and query enhancements.
  * 
@@ -53,6 +55,29 @@ public interface LightRAGExtractionConfig {
      */
     Gleaning gleaning();
     
+    /**
+     * Streamed extraction configuration group.
+     * 
+     * <p>When the LLM client supports streaming, extraction responses are parsed
+     * record by record while they are generated and written to the graph in
+     * small groups instead of once per batch.</p>
+     * 
+     * @return streamed extraction configuration
+     */
+    @WithName("extraction-stream")
+    ExtractionStream extractionStream();
+    
+    /**
+     * Extraction packing configuration group.
+     * 
+     * <p>Small chunks (typically one-chunk source files) are packed into shared
+     * extraction requests so that prompt overhead is paid once per pack.</p>
+     * 
+     * @return extraction packing configuration
+     */
+    @WithName("extraction-packing")
+    ExtractionPacking extractionPacking();
+    
     /**
      * Description summarization configuration group.
      * 
@@ -169,6 +194,164 @@ public interface LightRAGExtractionConfig {
         @Min(0)
         @Max(5)
         int maxPasses();
+        
+        /**
+         * Adaptive gleaning configuration.
+         */
+        AdaptiveGleaning adaptive();
+    }
+    
+    /**
+     * Adaptive gleaning policy.
+     * 
+     * <p>Instead of gleaning every chunk, the yield of a gleaning pass is
+     * predicted from chunk length, first-pass entity density, document kind and
+     * the observed yield of earlier passes in the same project. Chunks with a
+     * low predicted yield skip gleaning.</p>
+     * 
+     * @see GleaningPolicy
+     */
+    interface AdaptiveGleaning {
+        /**
+         * Enable adaptive gleaning. When disabled every chunk is gleaned.
+         * 
+         * @return true if adaptive gleaning is enabled, default true
+         */
+        @WithDefault("true")
+        boolean enabled();
+        
+        /**
+         * Chunks with fewer tokens are never gleaned.
+         * 
+         * @return minimum chunk tokens, default 150
+         */
+        @WithName("min-chunk-tokens")
+        @WithDefault("150")
+        @Min(0)
+        int minChunkTokens();
+        
+        /**
+         * Gleaning passes per project and document kind before predictions are
+         * used; until then every chunk is gleaned.
+         * 
+         * @return warmup passes, default 20
+         */
+        @WithName("warmup-passes")
+        @WithDefault("20")
+        @Min(0)
+        int warmupPasses();
+        
+        /**
+         * Minimum predicted probability that a pass finds new records.
+         * 
+         * @return minimum yield, default 0.25
+         */
+        @WithName("min-yield")
+        @WithDefault("0.25")
+        @DecimalMin("0.0")
+        @DecimalMax("1.0")
+        double minYield();
+        
+        /**
+         * Every n-th skipped chunk is gleaned anyway so the yield statistics
+         * keep up with the corpus. 0 disables exploration.
+         * 
+         * @return exploration interval, default 10
+         */
+        @WithName("exploration-interval")
+        @WithDefault("10")
+        @Min(0)
+        int explorationInterval();
+    }
+    
+    /**
+     * Streamed extraction configuration.
+     * 
+     * <p>Extraction responses are consumed as a stream: each entity/relation line
+     * is parsed as soon as it arrives and generation is cancelled at the
+     * completion delimiter. Parsed records go to a per-document accumulator that
+     * flushes to graph and vector storage whenever it holds enough records, so
+     * writes for early records overlap with generation of the rest.</p>
+     */
+    interface ExtractionStream {
+        /**
+         * Enable streamed extraction when the LLM function supports it.
+         * 
+         * @return true if streamed extraction is enabled, default true
+         */
+        @WithDefault("true")
+        boolean enabled();
+        
+        /**
+         * Number of parsed entities and relations that triggers an early flush
+         * to storage. Remaining records are flushed at the end of each batch.
+         * 
+         * @return flush threshold, default 50
+         */
+        @WithName("flush-threshold")
+        @WithDefault("50")
+        @Min(1)
+        int flushThreshold();
+    }
+    
+    /**
+     * Extraction packing configuration.
+     * 
+     * <p>Chunks below {@code small-chunk-tokens} wait up to {@code linger-ms} for
+     * other small chunks of the same project and prompt variant, then are sent in
+     * one request with numbered section markers. The response is split at the
+     * markers and each section is attributed to its chunk. Packed requests are
+     * not streamed.</p>
+     */
+    interface ExtractionPacking {
+        /**
+         * Enable packing of small chunks into shared extraction requests.
+         * 
+         * @return true if packing is enabled, default true
+         */
+        @WithDefault("true")
+        boolean enabled();
+        
+        /**
+         * Chunks with at most this many tokens are packed; larger chunks are
+         * extracted on their own.
+         * 
+         * @return small chunk threshold, default 300
+         */
+        @WithName("small-chunk-tokens")
+        @WithDefault("300")
+        @Min(1)
+        int smallChunkTokens();
+        
+        /**
+         * Content token budget of one pack.
+         * 
+         * @return max pack tokens, default 2000
+         */
+        @WithName("max-tokens")
+        @WithDefault("2000")
+        @Min(1)
+        int maxTokens();
+        
+        /**
+         * Maximum number of chunks in one pack.
+         * 
+         * @return max chunks per pack, default 16
+         */
+        @WithName("max-chunks")
+        @WithDefault("16")
+        @Min(1)
+        int maxChunks();
+        
+        /**
+         * How long an incomplete pack waits for more chunks before it is sent.
+         * 
+         * @return linger time in milliseconds, default 200
+         */
+        @WithName("linger-ms")
+        @WithDefault("200")
+        @Min(0)
+        long lingerMs();
     }
     
     /**
@@ -226,6 +409,150 @@ public interface LightRAGExtractionConfig {
          * Context token budget configuration.
          */
         Context context();
+        
+        /**
+         * Full-text keyword retrieval configuration.
+         */
+        Lexical lexical();
+        
+        /**
+         * Conversation history token budget configuration.
+         */
+        History history();
+        
+        /**
+         * Query answer cache configuration.
+         */
+        @WithName("answer-cache")
+        AnswerCache answerCache();
+    }
+    
+    /**
+     * Read-through cache of generated answers.
+     * 
+     * <p>Identical questions (same text, mode and retrieval parameters, no
+     * conversation history) are answered from an in-heap L1 backed by the
+     * persistent extraction cache (L2). A project's entries are dropped when
+     * its graph changes: document insert or deletion, entity merge,
+     * description rebuild or compaction, and project deletion.</p>
+     */
+    interface AnswerCache {
+        /**
+         * Query modes whose answers are cached.
+         * 
+         * @return mode names (case-insensitive), default all retrieval modes
+         */
+        @WithDefault("local,global,hybrid,naive,mix")
+        List<String> modes();
+        
+        /**
+         * Maximum number of answers held in the in-heap L1.
+         * 
+         * @return L1 capacity, default 1000
+         */
+        @WithName("l1-max-entries")
+        @WithDefault("1000")
+        @Min(0)
+        int l1MaxEntries();
+        
+        /**
+         * Time an answer stays in the L1. Bounds staleness on other instances,
+         * whose L1 is not reached by invalidation.
+         * 
+         * @return L1 TTL in seconds, default 300
+         */
+        @WithName("l1-ttl-seconds")
+        @WithDefault("300")
+        @Min(0)
+        int l1TtlSeconds();
+        
+        /**
+         * Age after which a persisted answer is no longer served. Bounds
+         * staleness from graph changes made outside this service.
+         * 
+         * @return L2 TTL in seconds, default 86400; 0 keeps answers until invalidated
+         */
+        @WithName("l2-ttl-seconds")
+        @WithDefault("86400")
+        @Min(0)
+        int l2TtlSeconds();
+    }
+    
+    /**
+     * Conversation history compaction for query prompts.
+     * 
+     * <p>History beyond the budget is compacted: the latest messages are kept
+     * verbatim and older ones are replaced by a running summary cached per
+     * conversation, so prompt size stops growing with session length.</p>
+     */
+    interface History {
+        /**
+         * Maximum tokens of conversation history in a prompt, summary included.
+         * 
+         * @return history token budget, default 1500
+         */
+        @WithName("max-tokens")
+        @WithDefault("1500")
+        @Min(64)
+        int maxTokens();
+        
+        /**
+         * Number of latest messages kept verbatim when history is compacted.
+         * 
+         * @return verbatim message count, default 6
+         */
+        @WithName("recent-turns")
+        @WithDefault("6")
+        @Min(1)
+        int recentTurns();
+        
+        /**
+         * Summarize older messages with the LLM; when false they are reduced
+         * to short extracts without an LLM call.
+         * 
+         * @return true to summarize with the LLM, default true
+         */
+        @WithDefault("true")
+        boolean summarize();
+        
+        /**
+         * Number of conversations whose running summary is cached.
+         * 
+         * @return cached conversation count, default 1000
+         */
+        @WithName("cache-size")
+        @WithDefault("1000")
+        @Min(1)
+        int cacheSize();
+    }
+    
+    /**
+     * Full-text (BM25) chunk retrieval fused with vector search.
+     * 
+     * <p>Keyword search recovers chunks containing exact identifiers, acronyms
+     * and rare terms that embeddings rank poorly. Its ranking is merged with the
+     * vector ranking by reciprocal rank fusion.</p>
+     */
+    interface Lexical {
+        /**
+         * Enable keyword retrieval on backends that maintain a full-text index.
+         * 
+         * @return true if keyword results are fused into chunk retrieval, default true
+         */
+        @WithDefault("true")
+        boolean enabled();
+        
+        /**
+         * Reciprocal rank fusion constant k; each list contributes 1/(k + rank).
+         * 
+         * <p>Larger values flatten the advantage of top-ranked results.</p>
+         * 
+         * @return RRF constant, default 60
+         */
+        @WithName("rrf-k")
+        @WithDefault("60")
+        @Min(1)
+        int rrfK();
     }
     
     /**
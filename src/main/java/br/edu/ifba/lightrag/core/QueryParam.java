@@ -80,6 +80,8 @@ public final class QueryParam {
     
     private final boolean enableRerank;
     
+    private final boolean enableCache;
+    
     @NotNull
     private final String projectId;
     
@@ -145,6 +147,7 @@ public final class QueryParam {
         this.ids = builder.ids != null ? new ArrayList<>(builder.ids) : null;
         this.userPrompt = builder.userPrompt;
         this.enableRerank = builder.enableRerank;
+        this.enableCache = builder.enableCache;
         this.projectId = builder.projectId;
         this.chunkSelectionStrategy = builder.chunkSelectionStrategy;
     }
@@ -210,6 +213,16 @@ public final class QueryParam {
         return enableRerank;
     }
     
+    /**
+     * Whether the answer may be served from and stored in the query answer
+     * cache. Only applies to answer generation without conversation history.
+     * 
+     * @return true if answer caching is enabled for this query
+     */
+    public boolean isEnableCache() {
+        return enableCache;
+    }
+    
     @NotNull
     public String getProjectId() {
         return projectId;
@@ -253,6 +266,7 @@ public final class QueryParam {
         private List<String> ids = null;
         private String userPrompt = null;
         private boolean enableRerank = true;
+        private boolean enableCache = false;
         private String projectId = null;
         private ChunkSelectionStrategy chunkSelectionStrategy = ChunkSelectionStrategy.VECTOR;
         
@@ -331,6 +345,17 @@ public final class QueryParam {
             return this;
         }
         
+        /**
+         * Opts this query in to the answer cache (default: false).
+         * 
+         * @param enableCache true to cache the generated answer
+         * @return This builder
+         */
+        public Builder enableCache(boolean enableCache) {
+            this.enableCache = enableCache;
+            return this;
+        }
+        
         public Builder projectId(@NotNull String projectId) {
             this.projectId = Objects.requireNonNull(projectId, "projectId must not be null");
             return this;
@@ -379,6 +404,7 @@ public final class QueryParam {
             .ids(this.ids)
             .userPrompt(this.userPrompt)
             .enableRerank(this.enableRerank)
+            .enableCache(this.enableCache)
             .projectId(this.projectId)
             .chunkSelectionStrategy(this.chunkSelectionStrategy);
     }
@@ -0,0 +1,829 @@
+package br.edu.ifba.lightrag.core;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Line-oriented, regex-based {@link CodeStructureExtractor}.
+ *
+ * <p>
+ * Supports Java, Python, JavaScript, TypeScript, Go and Rust. Scopes are
+ * tracked by brace depth (indentation for Python), which is enough to attach
+ * methods to their types and to attribute calls to the enclosing function.
+ * </p>
+ *
+ * <p>
+ * Emitted facts:
+ * </p>
+ * <ul>
+ * <li>the file as a {@code module} entity, and its package when declared</li>
+ * <li>types ({@code class}, {@code interface}, {@code enum}, {@code struct},
+ * {@code trait}) and functions ({@code function}, {@code method},
+ * {@code constructor})</li>
+ * <li>{@code imports} from the module to each imported module or class</li>
+ * <li>{@code contains} from the module to top-level declarations and from types
+ * to their members</li>
+ * <li>{@code extends} / {@code implements} from type headers</li>
+ * <li>{@code calls} between functions defined in the same chunk, when the
+ * callee name resolves unambiguously</li>
+ * </ul>
+ *
+ * <p>
+ * Top-level types and functions are named after their file
+ * ({@code path/to/file.go#main}) and members after their type
+ * ({@code path/to/file.go#Repo.Save}), so same-named declarations in different
+ * files stay separate entities. References to types declared elsewhere keep
+ * their bare name.
+ * </p>
+ *
+ * <p>
+ * Every entity and relation records the chunk ID as its source, so deletion
+ * and rebuilds treat structural facts like LLM-extracted ones.
+ * </p>
+ */
+@ApplicationScoped
+public class RegexCodeStructureExtractor implements CodeStructureExtractor {
+
+    private static final Set<String> SUPPORTED_LANGUAGES = Set.of(
+            "Java", "Python", "JavaScript", "TypeScript", "Go", "Rust");
+
+    /** Names that look like calls or declarations but are language keywords. */
+    private static final Set<String> KEYWORDS = Set.of(
+            "if", "else", "for", "while", "do", "switch", "case", "catch", "try", "finally",
+            "return", "new", "throw", "throws", "yield", "await", "super", "this", "synchronized",
+            "assert", "typeof", "instanceof", "sizeof", "match", "loop", "elif", "with", "lambda",
+            "not", "and", "or", "in", "is", "del", "print", "function", "constructor", "defer", "go",
+            "select", "range", "func", "fn", "impl", "where", "let", "const", "var", "import", "from");
+
+    // ===== Java =====
+    private static final Pattern JAVA_PACKAGE = Pattern.compile("^\\s*package\\s+([\\w.]+)\\s*;");
+    private static final Pattern JAVA_IMPORT = Pattern.compile(
+            "^\\s*import\\s+(static\\s+)?([\\w.]+?)(\\.\\*)?\\s*;");
+    private static final Pattern JAVA_TYPE = Pattern.compile(
+            "^\\s*(?:@\\w+(?:\\([^)]*\\))?\\s+)*"
+                    + "(?:(?:public|protected|private|abstract|final|static|sealed|non-sealed|strictfp)\\s+)*"
+                    + "(class|interface|enum|record|@interface)\\s+(\\w+)(.*)$");
+    private static final Pattern JAVA_METHOD = Pattern.compile(
+            "^\\s*(?:@\\w+(?:\\([^)]*\\))?\\s+)*"
+                    + "(?:(?:public|protected|private|static|final|abstract|synchronized|native|default|strictfp)\\s+)*"
+                    + "(?:<[^>]*>\\s+)?([\\w.$]+(?:<.*>)?(?:\\[\\])*)\\s+(\\w+)\\s*\\(");
+    private static final Pattern JAVA_CONSTRUCTOR = Pattern.compile(
+            "^\\s*(?:@\\w+(?:\\([^)]*\\))?\\s+)*(?:(?:public|protected|private)\\s+)?(\\w+)\\s*\\(");
+
+    // ===== JavaScript / TypeScript =====
+    private static final Pattern JS_IMPORT = Pattern.compile(
+            "^\\s*import\\s+(?:type\\s+)?(?:[\\w*{}\\s,$]+\\s+from\\s+)?['\"]([^'\"]+)['\"]");
+    private static final Pattern JS_REQUIRE = Pattern.compile("\\brequire\\(\\s*['\"]([^'\"]+)['\"]\\s*\\)");
+    private static final Pattern JS_TYPE = Pattern.compile(
+            "^\\s*(?:export\\s+)?(?:default\\s+)?(?:declare\\s+)?(?:abstract\\s+)?(class|interface|enum)\\s+(\\w+)(.*)$");
+    private static final Pattern JS_FUNCTION = Pattern.compile(
+            "^\\s*(?:export\\s+)?(?:default\\s+)?(?:async\\s+)?function\\s*\\*?\\s*(\\w+)\\s*[<(]");
+    private static final Pattern JS_ARROW = Pattern.compile(
+            "^\\s*(?:export\\s+)?(?:const|let|var)\\s+(\\w+)\\s*(?::[^=]+)?=\\s*(?:async\\s+)?"
+                    + "(?:\\([^)]*\\)|\\w+)\\s*(?::[^=]+)?=>");
+    private static final Pattern JS_METHOD = Pattern.compile(
+            "^\\s*(?:(?:public|private|protected|static|async|override|get|set)\\s+)*\\*?(\\w+)\\s*(?:<[^>]*>)?"
+                    + "\\s*\\(.*\\)\\s*(?::\\s*[^{;]+)?\\{?\\s*$");
+
+    // ===== Go =====
+    private static final Pattern GO_PACKAGE = Pattern.compile("^package\\s+(\\w+)");
+    private static final Pattern GO_IMPORT = Pattern.compile("^import\\s+(?:[\\w.]+\\s+)?\"([^\"]+)\"");
+    private static final Pattern GO_IMPORT_BLOCK_START = Pattern.compile("^import\\s*\\(\\s*$");
+    private static final Pattern GO_IMPORT_BLOCK_LINE = Pattern.compile("^\\s*(?:[\\w.]+\\s+)?\"([^\"]+)\"");
+    private static final Pattern GO_TYPE = Pattern.compile("^type\\s+(\\w+)(?:\\[[^\\]]*\\])?\\s+(struct|interface)\\b");
+    private static final Pattern GO_FUNC = Pattern.compile(
+            "^func\\s+(?:\\(\\s*(?:\\w+\\s+)?\\*?(\\w+)(?:\\[[^\\]]*\\])?\\s*\\)\\s*)?(\\w+)\\s*[\\[(]");
+
+    // ===== Rust =====
+    private static final Pattern RUST_USE = Pattern.compile("^\\s*(?:pub(?:\\([^)]*\\))?\\s+)?use\\s+([\\w:]+)");
+    private static final Pattern RUST_TYPE = Pattern.compile(
+            "^\\s*(?:pub(?:\\([^)]*\\))?\\s+)?(struct|enum|trait|union)\\s+(\\w+)(.*)$");
+    private static final Pattern RUST_IMPL = Pattern.compile(
+            "^\\s*impl(?:<[^>]*>)?\\s+(?:([\\w:]+)(?:<[^>]*>)?\\s+for\\s+)?([\\w:]+)");
+    private static final Pattern RUST_FN = Pattern.compile(
+            "^\\s*(?:pub(?:\\([^)]*\\))?\\s+)?(?:const\\s+)?(?:async\\s+)?(?:unsafe\\s+)?"
+                    + "(?:extern\\s+\"[^\"]*\"\\s+)?fn\\s+(\\w+)");
+
+    // ===== Python =====
+    private static final Pattern PY_IMPORT = Pattern.compile("^\\s*import\\s+(.+)$");
+    private static final Pattern PY_FROM_IMPORT = Pattern.compile("^\\s*from\\s+([\\w.]+)\\s+import\\b");
+    private static final Pattern PY_CLASS = Pattern.compile("^(\\s*)class\\s+(\\w+)\\s*(?:\\(([^)]*)\\))?\\s*:");
+    private static final Pattern PY_DEF = Pattern.compile("^(\\s*)(?:async\\s+)?def\\s+(\\w+)\\s*\\(");
+
+    // ===== Shared =====
+    private static final Pattern EXTENDS = Pattern.compile("\\bextends\\s+(.+?)(?=\\bimplements\\b|\\bpermits\\b|\\{|$)");
+    private static final Pattern IMPLEMENTS = Pattern.compile("\\bimplements\\s+(.+?)(?=\\bpermits\\b|\\{|$)");
+    private static final Pattern CALL = Pattern.compile("\\b([A-Za-z_]\\w*)\\s*\\(");
+    private static final Pattern GENERIC_ARGS = Pattern.compile("<[^<>]*>");
+
+    @Override
+    public boolean supports(@NotNull String language) {
+        return SUPPORTED_LANGUAGES.contains(language);
+    }
+
+    @Override
+    @NotNull
+    public CodeStructure extract(
+            @NotNull String chunkId,
+            @NotNull String content,
+            @NotNull String language,
+            @Nullable String filePath) {
+        if (!supports(language) || content.isBlank()) {
+            return CodeStructure.empty();
+        }
+
+        Collector collector = new Collector(chunkId, language, filePath);
+        String[] lines = content.split("\n", -1);
+        if ("Python".equals(language)) {
+            scanPython(lines, collector);
+        } else {
+            scanBraced(lines, language, collector);
+        }
+        return collector.toStructure();
+    }
+
+    // ===== Brace-scoped languages =====
+
+    private void scanBraced(String[] lines, String language, Collector collector) {
+        Deque<Scope> scopes = new ArrayDeque<>();
+        boolean[] inBlockComment = { false };
+        boolean inGoImportBlock = false;
+        int depth = 0;
+
+        for (String raw : lines) {
+            String code = stripNoise(raw, inBlockComment, !"Rust".equals(language));
+            if (code.isBlank() && !inGoImportBlock) {
+                continue;
+            }
+
+            Scope declared = null;
+            switch (language) {
+                case "Java" -> declared = matchJava(raw, code, scopes, collector);
+                case "JavaScript", "TypeScript" -> declared = matchJavaScript(raw, code, scopes, collector);
+                case "Go" -> {
+                    if (inGoImportBlock) {
+                        Matcher m = GO_IMPORT_BLOCK_LINE.matcher(raw);
+                        if (m.find()) {
+                            collector.imported(m.group(1), "module");
+                        } else if (raw.trim().startsWith(")")) {
+                            inGoImportBlock = false;
+                        }
+                        continue;
+                    }
+                    if (GO_IMPORT_BLOCK_START.matcher(raw).find()) {
+                        inGoImportBlock = true;
+                        continue;
+                    }
+                    declared = matchGo(raw, code, collector);
+                }
+                case "Rust" -> declared = matchRust(code, scopes, collector);
+                default -> {
+                }
+            }
+
+            int bodyStart = code.indexOf('{');
+            if (declared == null) {
+                Scope function = innermost(scopes, ScopeKind.FUNCTION);
+                if (function != null) {
+                    collector.calls(function.name, code);
+                }
+            } else if (declared.kind == ScopeKind.FUNCTION && bodyStart >= 0) {
+                collector.calls(declared.name, code.substring(bodyStart));
+            }
+
+            int depthBefore = depth;
+            for (int i = 0; i < code.length(); i++) {
+                char c = code.charAt(i);
+                if (c == '{') {
+                    depth++;
+                } else if (c == '}') {
+                    depth = Math.max(0, depth - 1);
+                }
+            }
+
+            if (declared != null) {
+                if (bodyStart >= 0 && depth <= depthBefore) {
+                    // Body opened and closed on the declaration line
+                    continue;
+                }
+                declared.openDepth = depthBefore;
+                scopes.push(declared);
+            }
+            if (!scopes.isEmpty() && depth > scopes.peek().openDepth) {
+                scopes.peek().entered = true;
+            }
+            while (!scopes.isEmpty() && scopes.peek().entered && depth <= scopes.peek().openDepth) {
+                scopes.pop();
+            }
+            if (declared != null && !declared.entered && code.trim().endsWith(";") && scopes.peek() == declared) {
+                // Abstract method, forward declaration or unit struct: no body follows
+                scopes.pop();
+            }
+        }
+    }
+
+    private Scope matchJava(String raw, String code, Deque<Scope> scopes, Collector collector) {
+        Matcher m = JAVA_PACKAGE.matcher(code);
+        if (m.find()) {
+            collector.declarePackage(m.group(1));
+            return null;
+        }
+        m = JAVA_IMPORT.matcher(raw);
+        if (m.find()) {
+            String target = m.group(2);
+            if (m.group(3) != null) {
+                collector.imported(target, "package");
+            } else {
+                if (m.group(1) != null && target.contains(".")) {
+                    // Static member import: the class is the last-but-one segment
+                    target = target.substring(0, target.lastIndexOf('.'));
+                }
+                collector.imported(lastSegment(target, '.'), "class");
+            }
+            return null;
+        }
+
+        Scope owner = innermost(scopes, ScopeKind.TYPE);
+        m = JAVA_TYPE.matcher(code);
+        if (m.find()) {
+            String keyword = m.group(1);
+            String type = switch (keyword) {
+                case "interface", "@interface" -> "interface";
+                case "enum" -> "enum";
+                default -> "class";
+            };
+            String name = collector.declareType(m.group(2), type, owner != null ? owner.name : null);
+            collector.inheritance(name, m.group(3), "interface".equals(type));
+            return new Scope(name, ScopeKind.TYPE);
+        }
+
+        // Members are only declared directly inside a type body
+        if (owner == null || scopes.peek() != owner) {
+            return null;
+        }
+        m = JAVA_CONSTRUCTOR.matcher(code);
+        if (m.find() && m.group(1).equals(simpleName(owner.name))) {
+            return collector.declareFunction(m.group(1), "constructor", owner.name);
+        }
+        m = JAVA_METHOD.matcher(code);
+        if (m.find() && !KEYWORDS.contains(m.group(1)) && !KEYWORDS.contains(m.group(2))
+                && !code.substring(0, m.end()).contains("=")) {
+            return collector.declareFunction(m.group(2), "method", owner.name);
+        }
+        return null;
+    }
+
+    private Scope matchJavaScript(String raw, String code, Deque<Scope> scopes, Collector collector) {
+        Matcher m = JS_IMPORT.matcher(raw);
+        if (m.find()) {
+            collector.imported(m.group(1), "module");
+            return null;
+        }
+        m = JS_REQUIRE.matcher(raw);
+        while (m.find()) {
+            collector.imported(m.group(1), "module");
+        }
+
+        Scope owner = innermost(scopes, ScopeKind.TYPE);
+        m = JS_TYPE.matcher(code);
+        if (m.find()) {
+            String type = "class".equals(m.group(1)) ? "class" : m.group(1);
+            String name = collector.declareType(m.group(2), type, owner != null ? owner.name : null);
+            collector.inheritance(name, m.group(3), "interface".equals(type));
+            return new Scope(name, ScopeKind.TYPE);
+        }
+
+        boolean topLevel = scopes.isEmpty();
+        m = JS_FUNCTION.matcher(code);
+        if (m.find() && topLevel) {
+            return collector.declareFunction(m.group(1), "function", null);
+        }
+        m = JS_ARROW.matcher(code);
+        if (m.find() && topLevel) {
+            return collector.declareFunction(m.group(1), "function", null);
+        }
+        if (owner != null && scopes.peek() == owner) {
+            m = JS_METHOD.matcher(code);
+            if (m.find() && !KEYWORDS.contains(m.group(1))) {
+                return collector.declareFunction(m.group(1), "method", owner.name);
+            }
+            if (code.trim().startsWith("constructor")) {
+                return collector.declareFunction("constructor", "constructor", owner.name);
+            }
+        }
+        return null;
+    }
+
+    private Scope matchGo(String raw, String code, Collector collector) {
+        Matcher m = GO_PACKAGE.matcher(code);
+        if (m.find()) {
+            collector.declarePackage(m.group(1));
+            return null;
+        }
+        m = GO_IMPORT.matcher(raw);
+        if (m.find()) {
+            collector.imported(m.group(1), "module");
+            return null;
+        }
+        m = GO_TYPE.matcher(code);
+        if (m.find()) {
+            String name = collector.declareType(m.group(1), m.group(2), null);
+            // Fields and interface methods are not extracted; the body is a plain scope
+            return new Scope(name, ScopeKind.TYPE);
+        }
+        m = GO_FUNC.matcher(code);
+        if (m.find()) {
+            String receiver = m.group(1) != null ? collector.typeReference(m.group(1)) : null;
+            if (receiver != null) {
+                collector.referencedType(receiver, "struct");
+                return collector.declareFunction(m.group(2), "method", receiver);
+            }
+            return collector.declareFunction(m.group(2), "function", null);
+        }
+        return null;
+    }
+
+    private Scope matchRust(String code, Deque<Scope> scopes, Collector collector) {
+        Matcher m = RUST_USE.matcher(code);
+        if (m.find()) {
+            String path = m.group(1);
+            while (path.endsWith(":")) {
+                path = path.substring(0, path.length() - 1);
+            }
+            collector.imported(path, "module");
+            return null;
+        }
+        m = RUST_TYPE.matcher(code);
+        if (m.find()) {
+            String name = collector.declareType(m.group(2), "union".equals(m.group(1)) ? "struct" : m.group(1), null);
+            if ("trait".equals(m.group(1))) {
+                String rest = m.group(3).trim();
+                if (rest.startsWith(":")) {
+                    for (String parent : rest.substring(1).split("\\+")) {
+                        String parentName = collector.typeReference(typeName(parent.replace("{", ""), "::"));
+                        if (!parentName.isEmpty()) {
+                            collector.referencedType(parentName, "trait");
+                            collector.relation(name, parentName, "extends", name + " extends trait " + parentName);
+                        }
+                    }
+                }
+            }
+            return new Scope(name, ScopeKind.TYPE);
+        }
+        m = RUST_IMPL.matcher(code);
+        if (m.find()) {
+            String target = collector.typeReference(lastSegment(m.group(2), ':'));
+            collector.referencedType(target, "struct");
+            if (m.group(1) != null) {
+                String trait = collector.typeReference(lastSegment(m.group(1), ':'));
+                collector.referencedType(trait, "trait");
+                collector.relation(target, trait, "implements", target + " implements trait " + trait);
+            }
+            return new Scope(target, ScopeKind.TYPE);
+        }
+        m = RUST_FN.matcher(code);
+        if (m.find()) {
+            Scope owner = innermost(scopes, ScopeKind.TYPE);
+            if (owner != null && scopes.peek() == owner) {
+                return collector.declareFunction(m.group(1), "method", owner.name);
+            }
+            return collector.declareFunction(m.group(1), "function", null);
+        }
+        return null;
+    }
+
+    // ===== Python =====
+
+    private void scanPython(String[] lines, Collector collector) {
+        Deque<Scope> scopes = new ArrayDeque<>();
+
+        for (String raw : lines) {
+            String code = stripPythonNoise(raw);
+            if (code.isBlank()) {
+                continue;
+            }
+            int indent = indentation(raw);
+            while (!scopes.isEmpty() && scopes.peek().openDepth >= indent) {
+                scopes.pop();
+            }
+
+            Matcher m = PY_FROM_IMPORT.matcher(code);
+            if (m.find()) {
+                collector.imported(m.group(1), "module");
+                continue;
+            }
+            m = PY_IMPORT.matcher(code);
+            if (m.find()) {
+                for (String module : m.group(1).split(",")) {
+                    String name = module.trim().split("\\s+")[0];
+                    if (!name.isEmpty()) {
+                        collector.imported(name, "module");
+                    }
+                }
+                continue;
+            }
+
+            Scope owner = innermost(scopes, ScopeKind.TYPE);
+            m = PY_CLASS.matcher(code);
+            if (m.find()) {
+                String name = collector.declareType(m.group(2), "class", owner != null ? owner.name : null);
+                if (m.group(3) != null) {
+                    for (String base : m.group(3).split(",")) {
+                        String baseName = base.trim();
+                        if (!baseName.isEmpty() && !baseName.contains("=") && !"object".equals(baseName)) {
+                            baseName = collector.typeReference(lastSegment(baseName, '.'));
+                            collector.referencedType(baseName, "class");
+                            collector.relation(name, baseName, "extends", name + " extends " + baseName);
+                        }
+                    }
+                }
+                Scope scope = new Scope(name, ScopeKind.TYPE);
+                scope.openDepth = indent;
+                scopes.push(scope);
+                continue;
+            }
+            m = PY_DEF.matcher(code);
+            if (m.find()) {
+                Scope scope;
+                if (owner != null && scopes.peek() == owner) {
+                    String kind = "__init__".equals(m.group(2)) ? "constructor" : "method";
+                    scope = collector.declareFunction(m.group(2), kind, owner.name);
+                } else if (scopes.isEmpty()) {
+                    scope = collector.declareFunction(m.group(2), "function", null);
+                } else {
+                    // Nested function: calls inside it are attributed to the outer function
+                    continue;
+                }
+                scope.openDepth = indent;
+                scopes.push(scope);
+                continue;
+            }
+
+            Scope function = innermost(scopes, ScopeKind.FUNCTION);
+            if (function != null) {
+                collector.calls(function.name, code);
+            }
+        }
+    }
+
+    // ===== Helpers =====
+
+    private static Scope innermost(Deque<Scope> scopes, ScopeKind kind) {
+        for (Scope scope : scopes) {
+            if (scope.kind == kind) {
+                return scope;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes comments and string literals so braces and calls inside them
+     * are ignored. Block comment state is carried across lines.
+     */
+    static String stripNoise(String line, boolean[] inBlockComment, boolean singleQuoteStrings) {
+        StringBuilder out = new StringBuilder(line.length());
+        int i = 0;
+        while (i < line.length()) {
+            char c = line.charAt(i);
+            if (inBlockComment[0]) {
+                if (c == '*' && i + 1 < line.length() && line.charAt(i + 1) == '/') {
+                    inBlockComment[0] = false;
+                    i += 2;
+                } else {
+                    i++;
+                }
+                continue;
+            }
+            if (c == '/' && i + 1 < line.length()) {
+                char next = line.charAt(i + 1);
+                if (next == '/') {
+                    break;
+                }
+                if (next == '*') {
+                    inBlockComment[0] = true;
+                    i += 2;
+                    continue;
+                }
+            }
+            if (c == '"' || c == '`' || (c == '\'' && singleQuoteStrings)) {
+                i = skipString(line, i);
+                out.append("\"\"");
+                continue;
+            }
+            out.append(c);
+            i++;
+        }
+        return out.toString();
+    }
+
+    private static String stripPythonNoise(String line) {
+        StringBuilder out = new StringBuilder(line.length());
+        int i = 0;
+        while (i < line.length()) {
+            char c = line.charAt(i);
+            if (c == '#') {
+                break;
+            }
+            if (c == '"' || c == '\'') {
+                i = skipString(line, i);
+                out.append("\"\"");
+                continue;
+            }
+            out.append(c);
+            i++;
+        }
+        return out.toString();
+    }
+
+    /** Returns the index just past the string literal starting at {@code start}. */
+    private static int skipString(String line, int start) {
+        char quote = line.charAt(start);
+        int i = start + 1;
+        while (i < line.length()) {
+            char c = line.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == quote) {
+                return i + 1;
+            }
+            i++;
+        }
+        return line.length();
+    }
+
+    private static int indentation(String line) {
+        int count = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == ' ') {
+                count++;
+            } else if (c == '\t') {
+                count += 4;
+            } else {
+                break;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The declaration name without its module, e.g. {@code Repo.Save} for
+     * {@code store/repo.go#Repo.Save}.
+     */
+    private static String localName(String qualified) {
+        return qualified.substring(qualified.lastIndexOf('#') + 1);
+    }
+
+    /**
+     * The unqualified declaration name, e.g. {@code Save} for
+     * {@code store/repo.go#Repo.Save}.
+     */
+    private static String simpleName(String qualified) {
+        return lastSegment(localName(qualified), '.');
+    }
+
+    private static String lastSegment(String name, char separator) {
+        int idx = name.lastIndexOf(separator);
+        return idx >= 0 ? name.substring(idx + 1) : name;
+    }
+
+    /** Strips generic arguments and qualification from a type reference. */
+    private static String typeName(String reference, String separator) {
+        String name = reference.trim();
+        String previous;
+        do {
+            previous = name;
+            name = GENERIC_ARGS.matcher(name).replaceAll("");
+        } while (!name.equals(previous));
+        int idx = name.lastIndexOf(separator);
+        if (idx >= 0) {
+            name = name.substring(idx + separator.length());
+        }
+        return name.replaceAll("[^\\w$]", "");
+    }
+
+    private enum ScopeKind {
+        TYPE, FUNCTION
+    }
+
+    private static final class Scope {
+        final String name;
+        final ScopeKind kind;
+        int openDepth;
+        boolean entered;
+
+        Scope(String name, ScopeKind kind) {
+            this.name = name;
+            this.kind = kind;
+        }
+    }
+
+    /**
+     * Accumulates facts for one chunk, deduplicating entities by name and
+     * relations by source/target/keyword.
+     */
+    private static final class Collector {
+        private final String chunkId;
+        private final String language;
+        private final String module;
+        private final Map<String, Entity> entities = new LinkedHashMap<>();
+        /** Entities only known as relation endpoints; replaced by real declarations. */
+        private final Set<String> references = new HashSet<>();
+        private final Map<String, Relation> relations = new LinkedHashMap<>();
+        /** Simple type name -> qualified name, for types declared in this chunk */
+        private final Map<String, String> types = new HashMap<>();
+        /** Simple function name -> qualified names declared in this chunk */
+        private final Map<String, Set<String>> functions = new HashMap<>();
+        /** Caller qualified name -> simple callee names, in order */
+        private final Map<String, Set<String>> pendingCalls = new LinkedHashMap<>();
+
+        Collector(String chunkId, String language, @Nullable String filePath) {
+            this.chunkId = chunkId;
+            this.language = language;
+            this.module = filePath != null && !filePath.isBlank() ? filePath : null;
+            if (module != null) {
+                entity(module, "module", language + " source file " + module, false);
+            }
+        }
+
+        void declarePackage(String name) {
+            entity(name, "package", language + " package " + name, false);
+            if (module != null) {
+                relation(name, module, "contains", "Package " + name + " contains " + module);
+            }
+        }
+
+        void imported(String target, String type) {
+            if (target.isBlank()) {
+                return;
+            }
+            referencedType(target, type);
+            if (module != null) {
+                relation(module, target, "imports", module + " imports " + target);
+            }
+        }
+
+        /**
+         * Declares a type and returns its qualified name.
+         */
+        String declareType(String name, String type, @Nullable String owner) {
+            String qualified = qualify(name, owner);
+            String location = module != null ? " declared in " + module : "";
+            entity(qualified, type, language + " " + type + " " + localName(qualified) + location, false);
+            String container = owner != null ? owner : module;
+            if (container != null) {
+                relation(container, qualified, "contains", container + " contains " + type + " " + name);
+            }
+            types.putIfAbsent(name, qualified);
+            return qualified;
+        }
+
+        /**
+         * The qualified name of a type declared earlier in this chunk, or the
+         * bare name for types declared elsewhere.
+         */
+        String typeReference(String name) {
+            return types.getOrDefault(name, name);
+        }
+
+        void referencedType(String name, String type) {
+            entity(name, type, language + " " + type + " " + name, true);
+        }
+
+        void inheritance(String name, String header, boolean isInterface) {
+            Matcher m = EXTENDS.matcher(header);
+            if (m.find()) {
+                for (String parent : m.group(1).split(",(?![^<]*>)")) {
+                    String parentName = typeReference(typeName(parent, "."));
+                    if (!parentName.isEmpty()) {
+                        referencedType(parentName, isInterface ? "interface" : "class");
+                        relation(name, parentName, "extends", name + " extends " + parentName);
+                    }
+                }
+            }
+            m = IMPLEMENTS.matcher(header);
+            if (m.find()) {
+                for (String parent : m.group(1).split(",(?![^<]*>)")) {
+                    String parentName = typeReference(typeName(parent, "."));
+                    if (!parentName.isEmpty()) {
+                        referencedType(parentName, "interface");
+                        relation(name, parentName, "implements", name + " implements " + parentName);
+                    }
+                }
+            }
+        }
+
+        Scope declareFunction(String name, String type, @Nullable String owner) {
+            String qualified = qualify(name, owner);
+            String location = module != null ? " defined in " + module : "";
+            entity(qualified, type, language + " " + type + " " + localName(qualified) + location, false);
+            String container = owner != null ? owner : module;
+            if (container != null) {
+                relation(container, qualified, "contains", container + " contains " + type + " " + name);
+            }
+            functions.computeIfAbsent(name, k -> new LinkedHashSet<>()).add(qualified);
+            return new Scope(qualified, ScopeKind.FUNCTION);
+        }
+
+        void calls(String caller, String code) {
+            Matcher m = CALL.matcher(code);
+            while (m.find()) {
+                String callee = m.group(1);
+                if (!KEYWORDS.contains(callee)) {
+                    pendingCalls.computeIfAbsent(caller, k -> new LinkedHashSet<>()).add(callee);
+                }
+            }
+        }
+
+        void entity(String name, String type, String description, boolean reference) {
+            if (entities.containsKey(name) && (reference || !references.contains(name))) {
+                return;
+            }
+            if (reference) {
+                references.add(name);
+            } else {
+                references.remove(name);
+            }
+            entities.put(name, Entity.builder()
+                    .entityName(name)
+                    .entityType(type)
+                    .description(description)
+                    .filePath(module)
+                    .addSourceChunkId(chunkId)
+                    .build());
+        }
+
+        void relation(String source, String target, String keyword, String description) {
+            if (source.equals(target)) {
+                return;
+            }
+            relations.putIfAbsent(source + "\u0000" + target + "\u0000" + keyword, Relation.builder()
+                    .srcId(source)
+                    .tgtId(target)
+                    .keywords(keyword)
+                    .description(description)
+                    .weight(1.0)
+                    .filePath(module)
+                    .addSourceChunkId(chunkId)
+                    .build());
+        }
+
+        CodeStructure toStructure() {
+            for (Map.Entry<String, Set<String>> entry : pendingCalls.entrySet()) {
+                String caller = entry.getKey();
+                int ownerEnd = caller.lastIndexOf('.');
+                String callerOwner = ownerEnd > caller.lastIndexOf('#') ? caller.substring(0, ownerEnd) : null;
+                for (String callee : entry.getValue()) {
+                    String target = resolve(callee, callerOwner);
+                    if (target != null) {
+                        relation(caller, target, "calls", caller + " calls " + target);
+                    }
+                }
+            }
+            return new CodeStructure(new ArrayList<>(entities.values()), new ArrayList<>(relations.values()));
+        }
+
+        /**
+         * Members are qualified by their owner, top-level declarations by the
+         * module so that same-named declarations in different files differ.
+         */
+        private String qualify(String name, @Nullable String owner) {
+            if (owner != null) {
+                return owner + "." + name;
+            }
+            return module != null ? module + "#" + name : name;
+        }
+
+        /**
+         * Resolves a called name to a function declared in this chunk,
+         * preferring members of the caller's own type.
+         */
+        private String resolve(String callee, @Nullable String callerOwner) {
+            Set<String> candidates = functions.get(callee);
+            if (candidates == null || candidates.isEmpty()) {
+                return null;
+            }
+            if (callerOwner != null && candidates.contains(callerOwner + "." + callee)) {
+                return callerOwner + "." + callee;
+            }
+            return candidates.size() == 1 ? candidates.iterator().next() : null;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package br.edu.ifba.lightrag.deletion;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Result of a bulk deletion of one or more documents.
+ *
+ * <p>Unlike {@link KnowledgeRebuildResult}, descriptions of partially-sourced
+ * entities are not rebuilt inline: their sources are pruned and they are queued
+ * for a background rebuild.
+ *
+ * @param projectId The project the documents belonged to
+ * @param documentIds The deleted document IDs
+ * @param chunksDeleted Number of chunks whose embeddings were removed
+ * @param entitiesDeleted Entity names that were fully removed (no remaining sources)
+ * @param entitiesQueuedForRebuild Entity names whose descriptions will be rebuilt in the background
+ * @param relationsDeleted Count of relations that were fully removed
+ * @param relationsPruned Count of relations that kept some sources
+ * @param errors Any errors encountered (operation continues past non-critical errors)
+ * @since spec-007
+ */
+public record BulkDeletionResult(
+    @NotNull UUID projectId,
+    @NotNull List<UUID> documentIds,
+    int chunksDeleted,
+    @NotNull Set<String> entitiesDeleted,
+    @NotNull Set<String> entitiesQueuedForRebuild,
+    int relationsDeleted,
+    int relationsPruned,
+    @NotNull List<String> errors
+) {
+
+    /**
+     * Creates a new BulkDeletionResult with validation.
+     */
+    public BulkDeletionResult {
+        Objects.requireNonNull(projectId, "projectId must not be null");
+        Objects.requireNonNull(documentIds, "documentIds must not be null");
+        Objects.requireNonNull(entitiesDeleted, "entitiesDeleted must not be null");
+        Objects.requireNonNull(entitiesQueuedForRebuild, "entitiesQueuedForRebuild must not be null");
+        Objects.requireNonNull(errors, "errors must not be null");
+    }
+
+    /**
+     * Checks if the deletion had any errors.
+     *
+     * @return true if there were errors
+     */
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+}
@@ -0,0 +1,222 @@
+package br.edu.ifba.lightrag.deletion;
+
+import br.edu.ifba.lightrag.core.Entity;
+import br.edu.ifba.lightrag.core.ExtractionCache;
+import br.edu.ifba.lightrag.query.QueryCacheService;
+import br.edu.ifba.lightrag.storage.ExtractionCacheStorage;
+import br.edu.ifba.lightrag.storage.GraphStorage;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background queue for entity description rebuilds deferred by bulk deletion.
+ *
+ * <p>
+ * Bulk deletion only prunes source chunk IDs inside its write transaction and
+ * hands the names of partially-sourced entities to this queue. Each drain:
+ * </p>
+ * <ol>
+ * <li>Takes up to {@code batch-size} entity names per project (names queued
+ * several times are rebuilt once)</li>
+ * <li>Reloads the entities, so the rebuild sees their pruned sources</li>
+ * <li>Fetches extraction cache entries of all remaining chunks in one
+ * {@link ExtractionCacheStorage#getByChunkIds} call</li>
+ * <li>Rebuilds descriptions with {@link EntityRebuildStrategy} and writes them
+ * back with a single {@link GraphStorage#upsertEntities} batch</li>
+ * </ol>
+ *
+ * <h2>Configuration:</h2>
+ *
+ * <pre>{@code
+ * lightrag.deletion.rebuild.batch-size=200
+ * lightrag.deletion.rebuild.interval=10s
+ * }</pre>
+ *
+ * @since spec-007
+ */
+@ApplicationScoped
+public class DescriptionRebuildQueue {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DescriptionRebuildQueue.class);
+
+    private final GraphStorage graphStorage;
+    private final ExtractionCacheStorage extractionCacheStorage;
+    private final QueryCacheService queryCacheService;
+    private final int batchSize;
+
+    private final EntityRebuildStrategy rebuildStrategy = new EntityRebuildStrategy();
+
+    /** projectId -> entity names waiting for a rebuild */
+    private final Map<String, Set<String>> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "description-rebuild");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    @Inject
+    public DescriptionRebuildQueue(
+            GraphStorage graphStorage,
+            ExtractionCacheStorage extractionCacheStorage,
+            QueryCacheService queryCacheService,
+            @ConfigProperty(name = "lightrag.deletion.rebuild.batch-size", defaultValue = "200") int batchSize) {
+        this.graphStorage = graphStorage;
+        this.extractionCacheStorage = extractionCacheStorage;
+        this.queryCacheService = queryCacheService;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Queues entities of a project for description rebuild.
+     *
+     * @param projectId   the project the entities belong to
+     * @param entityNames entity names (graph keys)
+     * @return number of names that were not already pending
+     */
+    public int submit(@NotNull String projectId, @NotNull Collection<String> entityNames) {
+        if (entityNames.isEmpty()) {
+            return 0;
+        }
+        Set<String> projectPending = pending.computeIfAbsent(projectId, k -> ConcurrentHashMap.newKeySet());
+        int added = 0;
+        for (String name : entityNames) {
+            if (projectPending.add(name)) {
+                added++;
+            }
+        }
+        pendingCount.addAndGet(added);
+        return added;
+    }
+
+    /**
+     * Returns the number of entities waiting for a rebuild across all projects.
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Periodic drain. Overlapping ticks are skipped rather than queued.
+     */
+    @Scheduled(every = "{lightrag.deletion.rebuild.interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledDrain() {
+        if (pendingCount.get() == 0) {
+            return;
+        }
+        try {
+            int rebuilt = drain().join();
+            LOG.info("Description rebuild completed: {} entities rebuilt, {} still pending",
+                    rebuilt, pendingCount.get());
+        } catch (Exception e) {
+            LOG.warn("Description rebuild run failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Drains up to one batch per project on the rebuild thread.
+     *
+     * @return future with the number of entities whose description was rewritten
+     */
+    public CompletableFuture<Integer> drain() {
+        return CompletableFuture.supplyAsync(() -> {
+            int rebuilt = 0;
+            for (String projectId : new ArrayList<>(pending.keySet())) {
+                List<String> batch = takeBatch(projectId);
+                if (!batch.isEmpty()) {
+                    rebuilt += rebuildBatch(projectId, batch).join();
+                }
+            }
+            return rebuilt;
+        }, executor);
+    }
+
+    private List<String> takeBatch(@NotNull String projectId) {
+        List<String> batch = new ArrayList<>();
+        Set<String> projectPending = pending.get(projectId);
+        if (projectPending == null) {
+            return batch;
+        }
+        Iterator<String> names = projectPending.iterator();
+        while (names.hasNext() && batch.size() < batchSize) {
+            String name = names.next();
+            if (projectPending.remove(name)) {
+                pendingCount.decrementAndGet();
+                batch.add(name);
+            }
+        }
+        return batch;
+    }
+
+    private CompletableFuture<Integer> rebuildBatch(@NotNull String projectId, @NotNull List<String> names) {
+        return graphStorage.getEntities(projectId, names)
+                .thenCompose(entities -> {
+                    Set<String> chunkIds = new HashSet<>();
+                    for (Entity entity : entities) {
+                        chunkIds.addAll(entity.getSourceChunkIds());
+                    }
+                    return extractionCacheStorage.getByChunkIds(projectId, chunkIds)
+                            .thenCompose(cacheEntries -> {
+                                List<Entity> updated = rebuild(entities, cacheEntries);
+                                if (updated.isEmpty()) {
+                                    return CompletableFuture.completedFuture(0);
+                                }
+                                return graphStorage.upsertEntities(projectId, updated)
+                                        .thenCompose(v -> queryCacheService.invalidate(projectId))
+                                        .thenApply(v -> updated.size());
+                            });
+                })
+                .exceptionally(e -> {
+                    LOG.warn("Failed to rebuild {} descriptions in project {}: {}",
+                            names.size(), projectId, e.getMessage());
+                    return 0;
+                });
+    }
+
+    /**
+     * Rebuilds descriptions from cache entries of each entity's remaining
+     * chunks. Entities without cached data keep their current description and
+     * are not rewritten.
+     */
+    List<Entity> rebuild(@NotNull List<Entity> entities, @NotNull List<ExtractionCache> cacheEntries) {
+        Map<String, List<ExtractionCache>> byChunk = rebuildStrategy.groupCacheByChunkId(cacheEntries);
+        List<Entity> updated = new ArrayList<>();
+        for (Entity entity : entities) {
+            List<ExtractionCache> relevant = new ArrayList<>();
+            for (String chunkId : entity.getSourceChunkIds()) {
+                relevant.addAll(byChunk.getOrDefault(chunkId, List.of()));
+            }
+            String description = rebuildStrategy.rebuildEntityDescription(entity.getEntityName(), relevant);
+            if (!description.isEmpty() && !description.equals(entity.getDescription())) {
+                updated.add(entity.withDescription(description));
+            }
+        }
+        return updated;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -2,6 +2,7 @@ package br.edu.ifba.lightrag.deletion;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -57,6 +58,31 @@ public interface DocumentDeletionService {
         boolean skipRebuild
     );
     
+    /**
+     * Deletes many documents of a project in one set-based pass.
+     * 
+     * <p>Intended for large documents, batch removals and Git re-syncs:
+     * <ul>
+     *   <li>Keep/delete/prune sets are computed once over the union of all chunks</li>
+     *   <li>Graph, vector and extraction cache changes are each applied in a single
+     *       transaction per backend</li>
+     *   <li>Descriptions of partially-sourced entities are rebuilt in the background
+     *       by {@link DescriptionRebuildQueue}</li>
+     * </ul>
+     *
+     * @param projectId Project containing the documents (required)
+     * @param documentIds Documents to delete (required)
+     * @param skipRebuild If true, prune sources without queuing description rebuilds
+     * @return CompletableFuture with the aggregated result; cleanup failures after the
+     *         graph pass are reported in its errors, while a failed graph pass fails the
+     *         future so callers keep the document rows
+     */
+    CompletableFuture<BulkDeletionResult> deleteDocuments(
+        @NotNull UUID projectId,
+        @NotNull Collection<UUID> documentIds,
+        boolean skipRebuild
+    );
+    
     /**
      * Deletes a document with full knowledge graph rebuild.
      * 
@@ -7,11 +7,14 @@ import br.edu.ifba.lightrag.core.TokenTracker;
 import br.edu.ifba.lightrag.deletion.EntityRebuildStrategy.Action;
 import br.edu.ifba.lightrag.deletion.EntityRebuildStrategy.EntityClassification;
 import br.edu.ifba.lightrag.deletion.EntityRebuildStrategy.RelationClassification;
+import br.edu.ifba.lightrag.query.QueryCacheService;
 import br.edu.ifba.lightrag.storage.ExtractionCacheStorage;
 import br.edu.ifba.lightrag.storage.GraphStorage;
+import br.edu.ifba.lightrag.storage.GraphStorage.BulkDeletion;
 import br.edu.ifba.lightrag.storage.VectorStorage;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,8 +22,11 @@ import org.slf4j.MDC;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -38,6 +44,11 @@ import java.util.stream.Collectors;
  *   <li>Clean up vector embeddings</li>
  * </ol>
  * 
+ * <p>When a document touches more than {@code lightrag.deletion.bulk-threshold}
+ * entities and relations, and for {@link #deleteDocuments}, the bulk path is used
+ * instead: sources are pruned with one set-based transaction per backend and
+ * description rebuilds are deferred to {@link DescriptionRebuildQueue}.
+ * 
  * <h2>MDC Context:</h2>
  * <ul>
  *   <li><code>deletion.projectId</code> - The project ID</li>
@@ -71,6 +82,16 @@ public class DocumentDeletionServiceImpl implements DocumentDeletionService {
     @Inject
     TokenTracker tokenTracker;
     
+    @Inject
+    DescriptionRebuildQueue rebuildQueue;
+    
+    @Inject
+    QueryCacheService queryCacheService;
+    
+    /** Affected entities + relations above which single deletes use the bulk path (0 disables) */
+    @ConfigProperty(name = "lightrag.deletion.bulk-threshold", defaultValue = "500")
+    int bulkThreshold;
+    
     private final EntityRebuildStrategy rebuildStrategy = new EntityRebuildStrategy();
     
     @Override
@@ -106,7 +127,7 @@ public class DocumentDeletionServiceImpl implements DocumentDeletionService {
         int[] relationsRebuilt = {0};
         
         // Step 1: Get all chunk IDs for this document from vector storage
-        return getChunkIdsForDocument(projectIdStr, documentIdStr)
+        return invalidateAnswers(projectIdStr, getChunkIdsForDocument(projectIdStr, documentIdStr)
             .thenCompose(chunkIds -> {
                 setMDC(projectIdStr, documentIdStr, "classify");
                 
@@ -137,6 +158,25 @@ public class DocumentDeletionServiceImpl implements DocumentDeletionService {
                         LOG.info("Found {} affected entities and {} affected relations",
                             affectedEntities.size(), affectedRelations.size());
                         
+                        if (bulkThreshold > 0 && affectedEntities.size() + affectedRelations.size() > bulkThreshold) {
+                            LOG.info("Affected items exceed bulk threshold {}, using bulk deletion", bulkThreshold);
+                            return applyBulkDeletion(projectId, List.of(documentId), chunkIds,
+                                    affectedEntities, affectedRelations, skipRebuild)
+                                .thenApply(bulk -> {
+                                    logDeletionComplete(projectIdStr, documentIdStr, startTime,
+                                        bulk.entitiesDeleted().size(), bulk.relationsDeleted(),
+                                        bulk.entitiesQueuedForRebuild().size(), bulk.relationsPruned());
+                                    return new KnowledgeRebuildResult(
+                                        documentId,
+                                        bulk.entitiesDeleted(),
+                                        bulk.entitiesQueuedForRebuild(),
+                                        bulk.relationsDeleted(),
+                                        bulk.relationsPruned(),
+                                        bulk.errors()
+                                    );
+                                });
+                        }
+                        
                         // Step 3: Classify entities and relations
                         List<EntityClassification> entityClassifications = affectedEntities.stream()
                             .map(e -> rebuildStrategy.classifyEntity(e, chunkIds))
@@ -211,6 +251,198 @@ public class DocumentDeletionServiceImpl implements DocumentDeletionService {
                     documentId, entitiesDeleted, entitiesRebuilt,
                     relationsDeleted[0], relationsRebuilt[0], errors
                 );
+            }));
+    }
+    
+    @Override
+    public CompletableFuture<BulkDeletionResult> deleteDocuments(
+        @NotNull UUID projectId,
+        @NotNull Collection<UUID> documentIds,
+        boolean skipRebuild
+    ) {
+        String projectIdStr = projectId.toString();
+        List<UUID> documents = List.copyOf(new LinkedHashSet<>(documentIds));
+        String batchLabel = "bulk:" + documents.size();
+        Instant startTime = Instant.now();
+        
+        try {
+            setMDC(projectIdStr, batchLabel, "init");
+            LOG.info("Starting bulk deletion - projectId: {}, documents: {}, skipRebuild: {}",
+                projectId, documents.size(), skipRebuild);
+        } finally {
+            clearMDC();
+        }
+        
+        if (documents.isEmpty()) {
+            return CompletableFuture.completedFuture(new BulkDeletionResult(
+                projectId, List.of(), 0, Set.of(), Set.of(), 0, 0, List.of()));
+        }
+        
+        // Step 1: Collect the union of chunk IDs of all documents
+        List<CompletableFuture<Set<String>>> chunkFutures = documents.stream()
+            .map(documentId -> getChunkIdsForDocument(projectIdStr, documentId.toString()))
+            .toList();
+        
+        return invalidateAnswers(projectIdStr, CompletableFuture.allOf(chunkFutures.toArray(new CompletableFuture[0]))
+            .thenCompose(v -> {
+                setMDC(projectIdStr, batchLabel, "classify");
+                Set<String> chunkIds = new HashSet<>();
+                List<String> withoutChunks = new ArrayList<>();
+                for (int i = 0; i < documents.size(); i++) {
+                    Set<String> documentChunks = chunkFutures.get(i).join();
+                    if (documentChunks.isEmpty()) {
+                        withoutChunks.add(documents.get(i).toString());
+                    } else {
+                        chunkIds.addAll(documentChunks);
+                    }
+                }
+                LOG.info("Found {} chunks across {} documents ({} without chunks)",
+                    chunkIds.size(), documents.size(), withoutChunks.size());
+                
+                // Documents without chunk tracking fall back to the legacy document_id delete
+                CompletableFuture<Integer> legacy = CompletableFuture.completedFuture(0);
+                for (String documentId : withoutChunks) {
+                    legacy = legacy.thenCompose(count -> performSimpleDeletion(projectIdStr, documentId)
+                        .thenApply(deleted -> count + deleted));
+                }
+                
+                if (chunkIds.isEmpty()) {
+                    return legacy.thenApply(count -> new BulkDeletionResult(
+                        projectId, documents, 0, Set.of(), Set.of(), count, 0, List.of()));
+                }
+                
+                // Step 2: One lookup of affected entities/relations for all chunks
+                List<String> chunkIdList = new ArrayList<>(chunkIds);
+                CompletableFuture<List<Entity>> entitiesFuture =
+                    graphStorage.getEntitiesBySourceChunks(projectIdStr, chunkIdList);
+                CompletableFuture<List<Relation>> relationsFuture =
+                    graphStorage.getRelationsBySourceChunks(projectIdStr, chunkIdList);
+                
+                return legacy.thenCompose(legacyCount -> CompletableFuture.allOf(entitiesFuture, relationsFuture)
+                    .thenCompose(v2 -> applyBulkDeletion(projectId, documents, chunkIds,
+                        entitiesFuture.join(), relationsFuture.join(), skipRebuild))
+                    .thenApply(result -> legacyCount == 0 ? result : new BulkDeletionResult(
+                        result.projectId(), result.documentIds(), result.chunksDeleted(),
+                        result.entitiesDeleted(), result.entitiesQueuedForRebuild(),
+                        result.relationsDeleted() + legacyCount, result.relationsPruned(), result.errors())));
+            })
+            .thenApply(result -> {
+                logDeletionComplete(projectIdStr, batchLabel, startTime,
+                    result.entitiesDeleted().size(), result.relationsDeleted(),
+                    result.entitiesQueuedForRebuild().size(), result.relationsPruned());
+                return result;
+            })
+            .whenComplete((result, ex) -> {
+                // A failed graph pass must reach the caller so the document rows are kept
+                if (ex != null) {
+                    setMDC(projectIdStr, batchLabel, "error");
+                    LOG.error("Error during bulk deletion in project {}: {}", projectId, ex.getMessage(), ex);
+                    clearMDC();
+                }
+            }));
+    }
+    
+    /**
+     * Drops the project's cached query answers once a deletion has finished,
+     * whether or not it succeeded: a partial deletion changes the graph too.
+     */
+    private <T> CompletableFuture<T> invalidateAnswers(String projectId, CompletableFuture<T> deletion) {
+        return deletion.handle((result, ex) -> queryCacheService.invalidate(projectId)
+                .handle((count, invalidateEx) -> {
+                    if (invalidateEx != null) {
+                        LOG.warn("Failed to invalidate query cache for project {}: {}",
+                            projectId, invalidateEx.getMessage());
+                    }
+                    return ex == null
+                        ? CompletableFuture.completedFuture(result)
+                        : CompletableFuture.<T>failedFuture(ex);
+                })
+                .thenCompose(outcome -> outcome))
+            .thenCompose(outcome -> outcome);
+    }
+    
+    /**
+     * Computes keep/delete/prune sets in one pass and applies them with one
+     * set-based call per backend: graph, then vectors, then extraction cache.
+     * The graph step is authoritative; vector and cache failures are reported
+     * as errors without undoing it.
+     */
+    private CompletableFuture<BulkDeletionResult> applyBulkDeletion(
+        UUID projectId,
+        List<UUID> documents,
+        Set<String> chunkIds,
+        List<Entity> affectedEntities,
+        List<Relation> affectedRelations,
+        boolean skipRebuild
+    ) {
+        String projectIdStr = projectId.toString();
+        
+        Set<String> entitiesToDelete = new LinkedHashSet<>();
+        Set<String> deletedKeys = new HashSet<>();
+        List<Entity> prunedEntities = new ArrayList<>();
+        Set<String> rebuildNames = new LinkedHashSet<>();
+        for (Entity entity : affectedEntities) {
+            EntityClassification classification = rebuildStrategy.classifyEntity(entity, chunkIds);
+            if (classification.action() == Action.FULL_DELETE) {
+                entitiesToDelete.add(entity.getEntityName());
+                deletedKeys.add(entity.getEntityName().toLowerCase(Locale.ROOT));
+            } else if (classification.action() == Action.REBUILD) {
+                prunedEntities.add(entity.withSourceChunkIds(new ArrayList<>(classification.remainingSourceIds())));
+                rebuildNames.add(entity.getEntityName());
+            }
+        }
+        
+        Set<String> relationKeys = new LinkedHashSet<>();
+        List<Relation> prunedRelations = new ArrayList<>();
+        for (Relation relation : affectedRelations) {
+            RelationClassification classification = rebuildStrategy.classifyRelation(relation, chunkIds);
+            if (classification.action() == Action.NO_CHANGE) {
+                continue;
+            }
+            // A relation cannot outlive a deleted endpoint
+            boolean danglingEndpoint = deletedKeys.contains(relation.getSrcId().toLowerCase(Locale.ROOT))
+                || deletedKeys.contains(relation.getTgtId().toLowerCase(Locale.ROOT));
+            if (classification.action() == Action.FULL_DELETE || danglingEndpoint) {
+                relationKeys.add(relation.getSrcId() + "->" + relation.getTgtId());
+            } else {
+                prunedRelations.add(relation.withSourceChunkIds(new ArrayList<>(classification.remainingSourceIds())));
+            }
+        }
+        
+        LOG.info("Bulk classification: entities[delete={}, prune={}], relations[delete={}, prune={}]",
+            entitiesToDelete.size(), prunedEntities.size(), relationKeys.size(), prunedRelations.size());
+        
+        List<String> errors = new ArrayList<>();
+        BulkDeletion plan = new BulkDeletion(entitiesToDelete, relationKeys, prunedEntities, prunedRelations);
+        
+        return graphStorage.applyBulkDeletion(projectIdStr, plan)
+            .thenCompose(v -> chunkVectorStorage.deleteEmbeddings(projectIdStr, entitiesToDelete, chunkIds)
+                .exceptionally(ex -> {
+                    errors.add("Embedding cleanup failed: " + ex.getMessage());
+                    LOG.warn("Failed to delete embeddings: {}", ex.getMessage());
+                    return 0;
+                }))
+            .thenCompose(deleted -> extractionCacheStorage.detachChunks(projectIdStr, chunkIds)
+                .exceptionally(ex -> {
+                    errors.add("Extraction cache cleanup failed: " + ex.getMessage());
+                    LOG.warn("Failed to detach extraction cache entries: {}", ex.getMessage());
+                    return 0;
+                }))
+            .thenApply(detached -> {
+                Set<String> queued = skipRebuild ? Set.of() : rebuildNames;
+                if (!skipRebuild) {
+                    rebuildQueue.submit(projectIdStr, rebuildNames);
+                }
+                return new BulkDeletionResult(
+                    projectId,
+                    documents,
+                    chunkIds.size(),
+                    entitiesToDelete,
+                    queued,
+                    relationKeys.size(),
+                    prunedRelations.size(),
+                    errors
+                );
             });
     }
     
@@ -0,0 +1,125 @@
+package br.edu.ifba.lightrag.export;
+
+import br.edu.ifba.lightrag.storage.impl.SQLiteConnectionManager;
+import br.edu.ifba.lightrag.storage.impl.SQLiteExportService;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * REST resource for whole-database SQLite backups.
+ *
+ * <p>Unlike the project export in {@link SQLiteExportResources}, the backup
+ * contains every project, so it is restricted to administrators.</p>
+ *
+ * <h2>Endpoints:</h2>
+ * <ul>
+ *   <li>{@code GET /admin/sqlite/backup} - Download a copy of the whole database</li>
+ * </ul>
+ *
+ * @since spec-009
+ */
+@Path("/admin/sqlite/backup")
+@RequestScoped
+@RolesAllowed("admin")
+public class SQLiteBackupResources {
+
+    private static final Logger LOG = Logger.getLogger(SQLiteBackupResources.class);
+
+    private static final String SQLITE3_MIME_TYPE = "application/x-sqlite3";
+
+    @ConfigProperty(name = "lightrag.storage.sqlite.path", defaultValue = "lightrag.db")
+    String sqlitePath;
+
+    @ConfigProperty(name = "lightrag.storage.backend", defaultValue = "postgresql")
+    String storageBackend;
+
+    /**
+     * Writes a consistent copy of the whole database and streams it to the client.
+     *
+     * @return SQLite database file as binary download
+     */
+    @GET
+    @Produces(SQLITE3_MIME_TYPE)
+    public Response backup() {
+        LOG.info("Backing up SQLite database");
+
+        if (!"sqlite".equalsIgnoreCase(storageBackend)) {
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .entity(Map.of(
+                        "error", "SQLite backend not enabled",
+                        "message", "SQLite backup requires lightrag.storage.backend=sqlite"))
+                    .build();
+        }
+
+        java.nio.file.Path backupPath = null;
+
+        try {
+            // backupDatabase replaces the file, since VACUUM INTO refuses to overwrite
+            backupPath = Files.createTempFile("sqlite-backup-", ".db");
+
+            try (SQLiteConnectionManager connectionManager = new SQLiteConnectionManager(sqlitePath)) {
+                SQLiteExportService exportService = new SQLiteExportService(connectionManager);
+                exportService.backupDatabase(backupPath).get();
+            }
+
+            long fileSize = Files.size(backupPath);
+            LOG.infof("Backup completed, file size: %d bytes", fileSize);
+
+            // Stream the file instead of loading it into memory; it is removed once sent
+            java.nio.file.Path streamedPath = backupPath;
+            backupPath = null;
+            StreamingOutput body = output -> {
+                try {
+                    Files.copy(streamedPath, output);
+                } finally {
+                    Files.deleteIfExists(streamedPath);
+                }
+            };
+
+            return Response.ok(body)
+                    .type(SQLITE3_MIME_TYPE)
+                    .header("Content-Disposition", "attachment; filename=\"lightrag-backup-" + LocalDate.now() + ".db\"")
+                    .header("Content-Length", fileSize)
+                    .build();
+
+        } catch (ExecutionException e) {
+            LOG.errorf(e, "Failed to back up database: %s", e.getCause().getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(Map.of("error", "Backup failed", "message", e.getCause().getMessage()))
+                    .build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.error("Database backup interrupted", e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(Map.of("error", "Backup interrupted"))
+                    .build();
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to back up database: %s", e.getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(Map.of("error", "Backup failed", "message", e.getMessage()))
+                    .build();
+        } finally {
+            // Clean up temp file unless it is being streamed
+            if (backupPath != null) {
+                try {
+                    Files.deleteIfExists(backupPath);
+                } catch (IOException ignored) {
+                    // Ignore cleanup errors
+                }
+            }
+        }
+    }
+}
@@ -12,6 +12,7 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
@@ -80,7 +81,8 @@ public class SQLiteExportResources {
      *   <li>Document metadata</li>
      * </ul>
      * 
-     * <p>The file can be imported into another instance using the import endpoint.</p>
+     * <p>The file can be imported into another instance using the import endpoint.
+     * It is streamed from disk, so large projects are not buffered in memory.</p>
      * 
      * @param projectId The project UUID to export
      * @return SQLite database file as binary download
@@ -107,9 +109,11 @@ public class SQLiteExportResources {
                     .build();
         }
         
+        java.nio.file.Path exportPath = null;
+        
         try {
-            // Create temporary file for export
-            java.nio.file.Path exportPath = Files.createTempFile("sqlite-export-", ".db");
+            // SQLite writes the export to a file (ATTACH), which is then streamed
+            exportPath = Files.createTempFile("sqlite-export-", ".db");
             
             // Export project data
             try (SQLiteConnectionManager connectionManager = new SQLiteConnectionManager(sqlitePath)) {
@@ -117,21 +121,28 @@ public class SQLiteExportResources {
                 exportService.exportProject(projectId, exportPath).get();
             }
             
-            // Read exported file for streaming
-            byte[] exportedData = Files.readAllBytes(exportPath);
-            
-            // Clean up temp file
-            Files.deleteIfExists(exportPath);
+            long fileSize = Files.size(exportPath);
             
             // Build filename
             String filename = buildFilename(projectId);
             
-            LOG.infof("Export completed for project %s, file size: %d bytes", projectId, exportedData.length);
+            LOG.infof("Export completed for project %s, file size: %d bytes", projectId, fileSize);
+            
+            // Stream the file instead of loading it into memory; it is removed once sent
+            java.nio.file.Path streamedPath = exportPath;
+            exportPath = null;
+            StreamingOutput body = output -> {
+                try {
+                    Files.copy(streamedPath, output);
+                } finally {
+                    Files.deleteIfExists(streamedPath);
+                }
+            };
             
-            return Response.ok(exportedData)
+            return Response.ok(body)
                     .type(SQLITE3_MIME_TYPE)
                     .header("Content-Disposition", "attachment; filename=\"" + filename + "\"")
-                    .header("Content-Length", exportedData.length)
+                    .header("Content-Length", fileSize)
                     .build();
             
         } catch (ExecutionException e) {
@@ -150,6 +161,15 @@ public class SQLiteExportResources {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                     .entity(Map.of("error", "Export failed", "message", e.getMessage()))
                     .build();
+        } finally {
+            // Clean up temp file unless it is being streamed
+            if (exportPath != null) {
+                try {
+                    Files.deleteIfExists(exportPath);
+                } catch (IOException ignored) {
+                    // Ignore cleanup errors
+                }
+            }
         }
     }
     
@@ -2,6 +2,7 @@ package br.edu.ifba.lightrag.llm;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Map;
 import java.util.concurrent.Flow;
 
 /**
@@ -37,6 +38,25 @@ public interface StreamingLLMFunction extends LLMFunction {
         @NotNull String systemPrompt
     );
     
+    /**
+     * Generate a streaming completion with additional parameters.
+     * 
+     * <p>Cancelling the subscription should stop the generation, which lets callers
+     * end a response early once they have what they need.</p>
+     * 
+     * @param prompt The user prompt
+     * @param systemPrompt Optional system prompt for context
+     * @param kwargs Additional parameters (operation_type, temperature, max_tokens, etc.)
+     * @return Publisher that emits response chunks
+     */
+    default Flow.Publisher<String> applyStreaming(
+        @NotNull String prompt,
+        @NotNull String systemPrompt,
+        @NotNull Map<String, Object> kwargs
+    ) {
+        return applyStreaming(prompt, systemPrompt);
+    }
+    
     /**
      * Checks if streaming is supported by this implementation.
      * 
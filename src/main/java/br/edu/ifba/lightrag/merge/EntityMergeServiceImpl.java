@@ -3,6 +3,7 @@ package br.edu.ifba.lightrag.merge;
 import br.edu.ifba.lightrag.core.DescriptionSummarizer;
 import br.edu.ifba.lightrag.core.Entity;
 import br.edu.ifba.lightrag.core.Relation;
+import br.edu.ifba.lightrag.query.QueryCacheService;
 import br.edu.ifba.lightrag.storage.GraphStorage;
 import br.edu.ifba.lightrag.storage.VectorStorage;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -70,17 +71,20 @@ public class EntityMergeServiceImpl implements EntityMergeService {
     private final VectorStorage vectorStorage;
     private final DescriptionSummarizer descriptionSummarizer;
     private final RelationshipRedirector relationshipRedirector;
+    private final QueryCacheService queryCacheService;
     
     @Inject
     public EntityMergeServiceImpl(
         GraphStorage graphStorage,
         VectorStorage vectorStorage,
-        DescriptionSummarizer descriptionSummarizer
+        DescriptionSummarizer descriptionSummarizer,
+        QueryCacheService queryCacheService
     ) {
         this.graphStorage = graphStorage;
         this.vectorStorage = vectorStorage;
         this.descriptionSummarizer = descriptionSummarizer;
         this.relationshipRedirector = new RelationshipRedirector();
+        this.queryCacheService = queryCacheService;
     }
     
     /**
@@ -90,12 +94,14 @@ public class EntityMergeServiceImpl implements EntityMergeService {
         GraphStorage graphStorage,
         VectorStorage vectorStorage,
         DescriptionSummarizer descriptionSummarizer,
-        RelationshipRedirector relationshipRedirector
+        RelationshipRedirector relationshipRedirector,
+        QueryCacheService queryCacheService
     ) {
         this.graphStorage = graphStorage;
         this.vectorStorage = vectorStorage;
         this.descriptionSummarizer = descriptionSummarizer;
         this.relationshipRedirector = relationshipRedirector;
+        this.queryCacheService = queryCacheService;
     }
     
     @Override
@@ -113,6 +119,7 @@ public class EntityMergeServiceImpl implements EntityMergeService {
         Objects.requireNonNull(strategy, "strategy must not be null");
         
         long startTime = System.currentTimeMillis();
+        boolean graphChanged = false;
         
         try {
             setMDC(projectId, targetEntity, strategy.name(), "validate");
@@ -185,6 +192,7 @@ public class EntityMergeServiceImpl implements EntityMergeService {
                 .build();
             
             // Step 9: Delete old relations for source entities
+            graphChanged = true;
             Set<String> relationKeysToDelete = allRelations.stream()
                 .map(r -> r.getSrcId().toLowerCase() + "->" + r.getTgtId().toLowerCase())
                 .collect(Collectors.toSet());
@@ -238,10 +246,22 @@ public class EntityMergeServiceImpl implements EntityMergeService {
             LOG.error("Entity merge failed for target '{}': {}", targetEntity, e.getMessage(), e);
             throw new IllegalStateException("Entity merge failed: " + e.getMessage(), e);
         } finally {
+            if (graphChanged) {
+                // Cached answers may cite the merged entities, also after a partial merge
+                invalidateAnswers(projectId);
+            }
             clearMDC();
         }
     }
     
+    private void invalidateAnswers(String projectId) {
+        try {
+            queryCacheService.invalidate(projectId).join();
+        } catch (Exception e) {
+            LOG.warn("Failed to invalidate query cache for project {}: {}", projectId, e.getMessage());
+        }
+    }
+    
     @Override
     public List<String> validateMerge(
         @NotNull String projectId,
@@ -119,17 +119,12 @@ public class GlobalQueryExecutor extends QueryExecutor {
                     
                     // Step 5: Get entities and their relationships from graph
                     return graphStorage.getEntities(param.getProjectId(), entityIds).thenCompose((List<Entity> entities) -> {
-                        // Get relations for each entity
-                        List<CompletableFuture<List<Relation>>> relationFutures = new ArrayList<>();
-                        for (String entityId : entityIds) {
-                            relationFutures.add(graphStorage.getRelationsForEntity(param.getProjectId(), entityId));
-                        }
-                        
-                        return CompletableFuture.allOf(relationFutures.toArray(new CompletableFuture[0]))
-                            .thenCompose(v -> {
+                        // Get relations for all entities in one lookup
+                        return graphStorage.getRelationsForEntities(param.getProjectId(), entityIds)
+                            .thenCompose(relationsByEntity -> {
                                 // Combine all relations
-                                List<Relation> allRelations = relationFutures.stream()
-                                    .flatMap(f -> f.join().stream())
+                                List<Relation> allRelations = entityIds.stream()
+                                    .flatMap(entityId -> relationsByEntity.getOrDefault(entityId, List.of()).stream())
                                     .distinct() // Remove duplicates
                                     .toList();
                                 
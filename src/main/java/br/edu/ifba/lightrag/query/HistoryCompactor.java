@@ -0,0 +1,309 @@
+package br.edu.ifba.lightrag.query;
+
+import br.edu.ifba.lightrag.utils.TokenUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Keeps conversation history within a token budget.
+ *
+ * <p>History that fits the budget is returned unchanged. Otherwise the last
+ * {@code recentTurns} messages are kept verbatim (fewer if they alone exceed
+ * three quarters of the budget) and everything older is replaced by a running
+ * summary that gets the remaining quarter.</p>
+ *
+ * <p>Summaries are cached per conversation together with a fingerprint of the
+ * messages they cover. On the next turn only the messages that have aged out
+ * of the verbatim window since then are folded into the cached summary, so a
+ * long session costs one small summarization call per turn instead of a
+ * prompt that grows with every exchange. If the client rewrites earlier
+ * history the fingerprint no longer matches and the summary is rebuilt.</p>
+ *
+ * <p>Summarization is asynchronous, so callers on a pipeline thread compose
+ * {@link #compactAsync} instead of blocking on the LLM. Without a
+ * {@link Summarizer}, or when it fails, older messages are reduced to short
+ * extracts instead. This class is thread-safe.</p>
+ */
+public final class HistoryCompactor {
+
+    private static final Logger logger = LoggerFactory.getLogger(HistoryCompactor.class);
+
+    /** Approximate per-message framing cost (role markers, separators). */
+    static final int MESSAGE_OVERHEAD_TOKENS = 4;
+
+    /** System prompt for summarization calls, shared by all callers. */
+    public static final String SUMMARY_SYSTEM_PROMPT =
+        "You maintain a running summary of a conversation between a user and an assistant. "
+            + "Merge the new messages into the existing summary. Keep facts, names, decisions, "
+            + "open questions and what the user is asking about. Drop greetings and filler. "
+            + "Write in the language of the conversation. Answer with the summary only.";
+
+    private static final int MIN_SUMMARY_TOKENS = 64;
+    private static final int EXTRACT_TOKENS_PER_MESSAGE = 48;
+
+    /**
+     * A history message.
+     */
+    public record Turn(@NotNull String role, @NotNull String content) {
+    }
+
+    /**
+     * Produces a summary of older turns.
+     */
+    @FunctionalInterface
+    public interface Summarizer {
+        /**
+         * @param prompt the summarization prompt built by {@link #buildSummaryPrompt}
+         * @param maxTokens the summary must fit this many tokens
+         * @return future with the summary text
+         */
+        CompletableFuture<String> summarize(@NotNull String prompt, int maxTokens);
+    }
+
+    /**
+     * The history to send.
+     *
+     * @param summary summary of the older turns, or null if nothing was compacted
+     * @param recent the turns to send verbatim, oldest first
+     * @param summarizedTurns number of leading turns replaced by the summary
+     */
+    public record Compacted(@Nullable String summary, @NotNull List<Turn> recent, int summarizedTurns) {
+        public boolean isCompacted() {
+            return summarizedTurns > 0;
+        }
+    }
+
+    private record CachedSummary(int coveredTurns, long fingerprint, String summary) {
+    }
+
+    private final int maxTokens;
+    private final int recentTurns;
+    @Nullable
+    private final Summarizer summarizer;
+    private final Map<String, CachedSummary> summaries;
+
+    /**
+     * Creates a compactor.
+     *
+     * @param maxTokens token budget for the whole history, summary included
+     * @param recentTurns number of latest messages kept verbatim when compacting
+     * @param maxConversations number of conversations whose summary is cached
+     * @param summarizer LLM summarizer, or null for extractive compaction only
+     */
+    public HistoryCompactor(int maxTokens, int recentTurns, int maxConversations, @Nullable Summarizer summarizer) {
+        if (maxTokens < 1 || recentTurns < 1) {
+            throw new IllegalArgumentException("History budget and recent turns must be positive");
+        }
+        this.maxTokens = maxTokens;
+        this.recentTurns = recentTurns;
+        this.summarizer = summarizer;
+        int capacity = Math.max(1, maxConversations);
+        this.summaries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedSummary> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Fits history into the token budget, with summaries cached in a global scope.
+     *
+     * @param conversationId stable id of the conversation; null derives one from the first message
+     * @param history the full history, oldest first
+     * @return the history to send
+     */
+    @NotNull
+    public Compacted compact(@Nullable String conversationId, @NotNull List<Turn> history) {
+        return compact(null, conversationId, history);
+    }
+
+    /**
+     * Fits history into the token budget, waiting for the summary.
+     *
+     * @param scope owner of the conversation, such as a project id; summaries
+     *        are only shared between conversations of the same scope
+     * @param conversationId stable id of the conversation; null derives one from the first message
+     * @param history the full history, oldest first
+     * @return the history to send
+     */
+    @NotNull
+    public Compacted compact(@Nullable String scope, @Nullable String conversationId,
+            @NotNull List<Turn> history) {
+        return compactAsync(scope, conversationId, history).join();
+    }
+
+    /**
+     * Fits history into the token budget.
+     *
+     * @param scope owner of the conversation, such as a project id; summaries
+     *        are only shared between conversations of the same scope
+     * @param conversationId stable id of the conversation; null derives one from the first message
+     * @param history the full history, oldest first
+     * @return future with the history to send; completes immediately unless a
+     *         summarization call is needed
+     */
+    @NotNull
+    public CompletableFuture<Compacted> compactAsync(@Nullable String scope, @Nullable String conversationId,
+            @NotNull List<Turn> history) {
+        int total = history.stream().mapToInt(HistoryCompactor::tokensOf).sum();
+        if (total <= maxTokens) {
+            return CompletableFuture.completedFuture(new Compacted(null, history, 0));
+        }
+
+        int summaryBudget = Math.max(MIN_SUMMARY_TOKENS, maxTokens / 4);
+        int recentBudget = Math.max(1, maxTokens - summaryBudget);
+
+        // Shrink the verbatim window from the oldest end until it fits
+        int split = Math.max(0, history.size() - recentTurns);
+        int recentTokens = history.subList(split, history.size()).stream()
+            .mapToInt(HistoryCompactor::tokensOf).sum();
+        while (recentTokens > recentBudget && split < history.size() - 1) {
+            recentTokens -= tokensOf(history.get(split++));
+        }
+
+        List<Turn> recent = new ArrayList<>(history.subList(split, history.size()));
+        if (recentTokens > recentBudget) {
+            // A single oversized message: keep its beginning
+            Turn last = recent.get(0);
+            recent.set(0, new Turn(last.role(), TokenUtil.truncateToTokenLimit(
+                last.content(), recentBudget - MESSAGE_OVERHEAD_TOKENS)));
+        }
+        if (split == 0) {
+            return CompletableFuture.completedFuture(new Compacted(null, recent, 0));
+        }
+
+        String key = (scope != null ? scope + ":" : "")
+            + (conversationId != null ? conversationId : deriveKey(history.get(0)));
+        int summarized = split;
+        return summarize(key, history.subList(0, split), summaryBudget).thenApply(summary -> {
+            logger.debug("Compacted history of {} messages (~{} tokens): {} summarized, {} verbatim",
+                history.size(), total, summarized, recent.size());
+            return new Compacted(summary, recent, summarized);
+        });
+    }
+
+    /**
+     * Builds the user prompt for a summarization call.
+     *
+     * @param previousSummary summary of earlier turns, or null
+     * @param turns turns to fold into the summary
+     * @param maxTokens target summary length
+     * @return the prompt
+     */
+    @NotNull
+    public static String buildSummaryPrompt(@Nullable String previousSummary, @NotNull List<Turn> turns, int maxTokens) {
+        StringBuilder prompt = new StringBuilder();
+        if (previousSummary != null && !previousSummary.isBlank()) {
+            prompt.append("Existing summary:\n").append(previousSummary).append("\n\n");
+        }
+        prompt.append("New messages:\n");
+        for (Turn turn : turns) {
+            prompt.append(turn.role()).append(": ").append(turn.content()).append("\n");
+        }
+        prompt.append("\nWrite the updated summary in at most ").append(maxTokens * 3 / 4).append(" words.");
+        return prompt.toString();
+    }
+
+    /**
+     * Number of conversations with a cached summary.
+     */
+    public int cachedConversations() {
+        synchronized (summaries) {
+            return summaries.size();
+        }
+    }
+
+    private CompletableFuture<String> summarize(String key, List<Turn> older, int budget) {
+        CachedSummary cached;
+        synchronized (summaries) {
+            cached = summaries.get(key);
+        }
+
+        String previous = null;
+        int from = 0;
+        if (cached != null && cached.coveredTurns() <= older.size()
+                && cached.fingerprint() == fingerprint(older.subList(0, cached.coveredTurns()))) {
+            if (cached.coveredTurns() == older.size()) {
+                return CompletableFuture.completedFuture(cached.summary());
+            }
+            previous = cached.summary();
+            from = cached.coveredTurns();
+        }
+
+        List<Turn> pending = older.subList(from, older.size());
+        String previousSummary = previous;
+        if (summarizer == null) {
+            return CompletableFuture.completedFuture(extract(previousSummary, pending, budget));
+        }
+        // Snapshot: the caller's list may change once this method returns
+        List<Turn> covered = List.copyOf(older);
+        CompletableFuture<String> call;
+        try {
+            call = summarizer.summarize(buildSummaryPrompt(previousSummary, pending, budget), budget);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        return call.handle((summary, error) -> {
+            if (error != null) {
+                logger.warn("History summarization failed, using extracts: {}", error.getMessage());
+            } else if (summary != null && !summary.isBlank()) {
+                String fitted = TokenUtil.truncateToTokenLimit(summary.strip(), budget);
+                synchronized (summaries) {
+                    summaries.put(key, new CachedSummary(covered.size(), fingerprint(covered), fitted));
+                }
+                return fitted;
+            } else {
+                logger.warn("History summarizer returned an empty summary, using extracts");
+            }
+            return extract(previousSummary, covered.subList(covered.size() - pending.size(), covered.size()),
+                budget);
+        });
+    }
+
+    /**
+     * Extractive fallback: the start of each message, newest messages kept
+     * when the budget runs out.
+     */
+    private static String extract(@Nullable String previous, List<Turn> turns, int budget) {
+        List<String> lines = new ArrayList<>();
+        int remaining = budget;
+        for (int i = turns.size() - 1; i >= 0 && remaining > MESSAGE_OVERHEAD_TOKENS; i--) {
+            Turn turn = turns.get(i);
+            String line = turn.role() + ": " + TokenUtil.truncateToTokenLimit(
+                turn.content().strip().replaceAll("\\s+", " "),
+                Math.min(EXTRACT_TOKENS_PER_MESSAGE, remaining - MESSAGE_OVERHEAD_TOKENS));
+            remaining -= TokenUtil.estimateTokens(line) + 1;
+            lines.add(0, line);
+        }
+        if (previous != null && remaining > MESSAGE_OVERHEAD_TOKENS) {
+            lines.add(0, TokenUtil.truncateToTokenLimit(previous, remaining));
+        }
+        return String.join("\n", lines);
+    }
+
+    private static int tokensOf(Turn turn) {
+        return TokenUtil.estimateTokens(turn.content()) + MESSAGE_OVERHEAD_TOKENS;
+    }
+
+    private static long fingerprint(List<Turn> turns) {
+        long hash = 1;
+        for (Turn turn : turns) {
+            hash = 31 * hash + turn.role().hashCode();
+            hash = 31 * hash + turn.content().hashCode();
+        }
+        return hash;
+    }
+
+    private static String deriveKey(Turn first) {
+        return "first:" + Long.toHexString(fingerprint(List.of(first)));
+    }
+}
@@ -139,6 +139,15 @@ public class HybridQueryExecutor extends QueryExecutor {
         this.config = config;
     }
     
+    /**
+     * Also applies the fusion to the child LOCAL executor, which performs the chunk search.
+     */
+    @Override
+    public void setKeywordFusion(@Nullable ReciprocalRankFusion keywordFusion) {
+        super.setKeywordFusion(keywordFusion);
+        localExecutor.setKeywordFusion(keywordFusion);
+    }
+    
     @Override
     public CompletableFuture<LightRAGQueryResult> execute(
         @NotNull String query,
@@ -211,7 +211,7 @@ public class LocalQueryExecutor extends QueryExecutor {
             projectId
         );
         
-        return chunkVectorStorage.query(queryEmbedding, topK, filter)
+        return searchChunks(queryEmbedding, originalQuery, topK, filter)
             .thenApply(results -> results.stream()
                 .map(ChunkSelector.ScoredChunk::fromVectorResult)
                 .toList());
@@ -300,7 +300,7 @@ public class MixQueryExecutor extends QueryExecutor {
             projectId
         );
         
-        return chunkVectorStorage.query(queryEmbedding, chunkSearchCount, filter)
+        return searchChunks(queryEmbedding, originalQuery, chunkSearchCount, filter)
             .thenApply(results -> results.stream()
                 .map(ChunkSelector.ScoredChunk::fromVectorResult)
                 .toList());
@@ -379,17 +379,13 @@ public class MixQueryExecutor extends QueryExecutor {
             return CompletableFuture.completedFuture(visited);
         }
         
-        // Get all relations for current level entities
-        List<CompletableFuture<List<Relation>>> futures = currentLevel.stream()
-            .map(entityId -> graphStorage.getRelationsForEntity(projectId, entityId))
-            .toList();
-        
-        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-            .thenCompose(v -> {
+        // Get all relations for current level entities in one lookup
+        return graphStorage.getRelationsForEntities(projectId, currentLevel)
+            .thenCompose(relationsByEntity -> {
                 // Collect all neighbor entity IDs
                 Set<String> nextLevel = new HashSet<>();
-                for (CompletableFuture<List<Relation>> future : futures) {
-                    for (Relation relation : future.join()) {
+                for (List<Relation> entityRelations : relationsByEntity.values()) {
+                    for (Relation relation : entityRelations) {
                         String srcId = relation.getSrcId();
                         String tgtId = relation.getTgtId();
                         
@@ -417,17 +413,13 @@ public class MixQueryExecutor extends QueryExecutor {
             return CompletableFuture.completedFuture(List.of());
         }
         
-        List<CompletableFuture<List<Relation>>> futures = entityIds.stream()
-            .map(entityId -> graphStorage.getRelationsForEntity(projectId, entityId))
-            .toList();
-        
-        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-            .thenApply(v -> {
+        return graphStorage.getRelationsForEntities(projectId, entityIds)
+            .thenApply(relationsByEntity -> {
                 Set<String> relationIds = new HashSet<>();
                 List<Relation> allRelations = new ArrayList<>();
                 
-                for (CompletableFuture<List<Relation>> future : futures) {
-                    for (Relation relation : future.join()) {
+                for (String entityId : entityIds) {
+                    for (Relation relation : relationsByEntity.getOrDefault(entityId, List.of())) {
                         // Use a unique key to deduplicate relations
                         String relationKey = relation.getSrcId() + "->" + relation.getTgtId();
                         if (relationIds.add(relationKey)) {
@@ -550,7 +542,7 @@ public class MixQueryExecutor extends QueryExecutor {
         }
         
         // Rerank
-        List<RerankedChunk> rerankedChunks = reranker.rerank(query, chunks, param.getChunkTopK());
+        List<RerankedChunk> rerankedChunks = reranker.rerank(param.getProjectId(), query, chunks, param.getChunkTopK());
         
         // Convert back to ScoredChunk with updated scores
         List<ChunkSelector.ScoredChunk> rerankedResults = new ArrayList<>();
@@ -55,7 +55,7 @@ public class NaiveQueryExecutor extends QueryExecutor {
                             null, 
                             param.getProjectId()
                         );
-                        return chunkVectorStorage.query(queryEmbedding, topK, filter);
+                        return searchChunks(queryEmbedding, query, topK, filter);
                     });
             })
             .thenCompose(results -> {
@@ -5,6 +5,7 @@ import br.edu.ifba.lightrag.core.LightRAGExtractionConfig;
 import br.edu.ifba.lightrag.core.TokenUsage;
 import br.edu.ifba.lightrag.llm.LLMFunction;
 import br.edu.ifba.lightrag.storage.ExtractionCacheStorage;
+import br.edu.ifba.lightrag.utils.LightRAGMetrics;
 import br.edu.ifba.lightrag.utils.TokenUtil;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -184,6 +185,7 @@ public class PersistentKeywordExtractor implements KeywordExtractor {
 
         // 1. Check L1 cache first (in-memory)
         KeywordResult l1Result = getFromL1Cache(cacheKey);
+        LightRAGMetrics.recordCacheLookup("keyword.l1", l1Result != null);
         if (l1Result != null) {
             logger.debug("L1 cache hit for query hash: {}", queryHash.substring(0, 8));
             return CompletableFuture.completedFuture(l1Result);
@@ -193,6 +195,7 @@ public class PersistentKeywordExtractor implements KeywordExtractor {
         if (projectId != null) {
             return cacheStorage.get(projectId, CacheType.KEYWORD_EXTRACTION, queryHash)
                     .thenCompose(cached -> {
+                        LightRAGMetrics.recordCacheLookup("keyword.l2", cached.isPresent());
                         if (cached.isPresent()) {
                             logger.debug("L2 cache hit for query hash: {}", queryHash.substring(0, 8));
                             KeywordResult result = parseStoredResult(cached.get().result(), queryHash);
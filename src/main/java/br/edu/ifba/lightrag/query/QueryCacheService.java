@@ -1,9 +1,15 @@
 package br.edu.ifba.lightrag.query;
 
 import br.edu.ifba.lightrag.core.CacheType;
+import br.edu.ifba.lightrag.core.LightRAGExtractionConfig;
 import br.edu.ifba.lightrag.core.LightRAGQueryResult;
+import br.edu.ifba.lightrag.core.LightRAGQueryResult.SourceChunk;
 import br.edu.ifba.lightrag.core.QueryParam;
 import br.edu.ifba.lightrag.storage.ExtractionCacheStorage;
+import br.edu.ifba.lightrag.utils.LightRAGMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.jetbrains.annotations.NotNull;
@@ -14,67 +20,245 @@ import org.slf4j.LoggerFactory;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * Service for caching query responses to avoid duplicate LLM calls.
- * 
+ *
  * <p>Ported from official LightRAG Python's LIGHTRAG_LLM_CACHE functionality.
  * Caches query responses based on query text, mode, and parameters.</p>
- * 
+ *
  * <h2>Cache Key Computation:</h2>
  * <p>The cache key is computed from:</p>
  * <ul>
  *   <li>Project ID - ensures isolation between projects</li>
  *   <li>Query text - the user's question</li>
  *   <li>Query mode - LOCAL, GLOBAL, HYBRID, etc.</li>
- *   <li>Top-K parameter - number of results requested</li>
+ *   <li>Retrieval parameters - top-K, chunk top-K, rerank, response type, user prompt</li>
  * </ul>
- * 
+ *
+ * <h2>Cache Strategy:</h2>
+ * <ol>
+ *   <li>Check the in-heap L1 (short TTL, per instance)</li>
+ *   <li>Join an identical query already in flight (single-flight)</li>
+ *   <li>Check the persistent L2 ({@link ExtractionCacheStorage}, {@link CacheType#QUERY_RESPONSE})</li>
+ *   <li>Run the query and store the answer in both levels</li>
+ * </ol>
+ *
+ * <p>{@link #invalidate(String)} drops a project's answers from both levels.
+ * A per-project generation counter keeps queries that started before an
+ * invalidation from storing their (now stale) answers afterwards, and the
+ * L2 delete waits for persistent writes that were already under way.</p>
+ *
  * <h2>Usage:</h2>
  * <pre>{@code
- * // Check cache before executing query
- * Optional<CachedQueryResult> cached = cacheService.get(projectId, query, param).join();
- * if (cached.isPresent()) {
- *     return cached.get().toQueryResult();
+ * if (QueryCacheService.isCacheable(param)) {
+ *     return cacheService.getOrCompute(projectId, query, param, () -> executeQuery(query, param));
  * }
- * 
- * // Execute query and cache result
- * LightRAGQueryResult result = executeQuery(query, param).join();
- * cacheService.store(projectId, query, param, result).join();
  * }</pre>
- * 
+ *
  * @since spec-008 (query caching enhancement)
  */
 @ApplicationScoped
 public class QueryCacheService {
-    
+
     private static final Logger logger = LoggerFactory.getLogger(QueryCacheService.class);
-    
+
+    private static final String CACHE_L1 = "query.l1";
+    private static final String CACHE_L2 = "query.l2";
+    private static final String CACHE_IN_FLIGHT = "query.inflight";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
     private final ExtractionCacheStorage cacheStorage;
-    
+    private final Set<QueryParam.Mode> cachedModes;
+    private final int l1MaxEntries;
+    private final long l1TtlMillis;
+    private final long l2TtlMillis;
+
+    /** In-heap L1 keyed by project and query hash. */
+    private final ConcurrentHashMap<String, L1CacheEntry> l1Cache = new ConcurrentHashMap<>();
+
+    /** Queries currently being computed, shared by identical concurrent callers. */
+    private final ConcurrentHashMap<String, CompletableFuture<LightRAGQueryResult>> inFlight = new ConcurrentHashMap<>();
+
+    /** Per-project invalidation counters and in-progress L2 writes. */
+    private final ConcurrentHashMap<String, ProjectState> projects = new ConcurrentHashMap<>();
+
+    /**
+     * Invalidation state of one project. Guarded by its own monitor so that
+     * checking the generation and registering an L2 write happen atomically
+     * with respect to {@link #invalidate(String)}.
+     */
+    private static final class ProjectState {
+        long generation;
+        final Set<CompletableFuture<Void>> pendingStores = new HashSet<>();
+    }
+
+    /**
+     * L1 cache entry with expiration.
+     */
+    private record L1CacheEntry(CachedQueryResult result, long expiresAt) {
+        boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+    }
+
     /**
      * Default constructor for CDI proxy.
      */
     public QueryCacheService() {
-        this.cacheStorage = null;
+        this(null, EnumSet.noneOf(QueryParam.Mode.class), 0, 0, 0);
     }
-    
+
     /**
-     * Creates a QueryCacheService with the given cache storage.
-     * 
+     * Creates a QueryCacheService with the given cache storage and configuration.
+     *
      * @param cacheStorage the extraction cache storage to use
+     * @param config answer cache configuration (cached modes, L1 size, TTLs)
      */
     @Inject
-    public QueryCacheService(ExtractionCacheStorage cacheStorage) {
+    public QueryCacheService(ExtractionCacheStorage cacheStorage, LightRAGExtractionConfig config) {
+        this(cacheStorage,
+            parseModes(config.query().answerCache().modes()),
+            config.query().answerCache().l1MaxEntries(),
+            config.query().answerCache().l1TtlSeconds() * 1000L,
+            config.query().answerCache().l2TtlSeconds() * 1000L);
+    }
+
+    /**
+     * Creates a QueryCacheService with explicit settings (testing, non-CDI contexts).
+     *
+     * @param cacheStorage the extraction cache storage to use, or null for L1 only
+     * @param cachedModes modes {@link #isCachedMode} reports as opted in
+     * @param l1MaxEntries L1 capacity, 0 disables the L1
+     * @param l1TtlMillis L1 entry lifetime in milliseconds
+     * @param l2TtlMillis age in milliseconds after which an L2 entry is ignored, 0 for none
+     */
+    public QueryCacheService(
+        @Nullable ExtractionCacheStorage cacheStorage,
+        @NotNull Set<QueryParam.Mode> cachedModes,
+        int l1MaxEntries,
+        long l1TtlMillis,
+        long l2TtlMillis
+    ) {
         this.cacheStorage = cacheStorage;
+        this.cachedModes = cachedModes.isEmpty() ? EnumSet.noneOf(QueryParam.Mode.class) : EnumSet.copyOf(cachedModes);
+        this.l1MaxEntries = l1MaxEntries;
+        this.l1TtlMillis = l1TtlMillis;
+        this.l2TtlMillis = l2TtlMillis;
     }
-    
+
+    /**
+     * Whether answers of a mode are cached by configuration. Callers use this
+     * to set {@link QueryParam.Builder#enableCache(boolean)}.
+     *
+     * @param mode the query mode
+     * @return true if the mode is opted in
+     */
+    public boolean isCachedMode(@NotNull QueryParam.Mode mode) {
+        return cachedModes.contains(mode);
+    }
+
+    /**
+     * Whether a query's answer may be cached: it must be opted in and produce
+     * a complete answer that depends only on the query and the knowledge base.
+     *
+     * @param param the query parameters
+     * @return true if the answer can be served from cache
+     */
+    public static boolean isCacheable(@NotNull QueryParam param) {
+        return param.isEnableCache()
+            && param.getConversationHistory().isEmpty()
+            && !param.isOnlyNeedContext()
+            && !param.isOnlyNeedPrompt()
+            && !param.isStream();
+    }
+
+    /**
+     * Returns the cached answer or computes, caches and returns it.
+     *
+     * <p>Concurrent calls for the same project and key share one computation.
+     * A failed computation is not cached and fails all callers waiting on it.</p>
+     *
+     * @param projectId the project ID
+     * @param query the query text
+     * @param param the query parameters
+     * @param compute runs the query on a cache miss
+     * @return CompletableFuture with the (possibly cached) result
+     */
+    public CompletableFuture<LightRAGQueryResult> getOrCompute(
+        @NotNull String projectId,
+        @NotNull String query,
+        @NotNull QueryParam param,
+        @NotNull Supplier<CompletableFuture<LightRAGQueryResult>> compute
+    ) {
+        String contentHash = computeCacheKey(query, param);
+        String key = l1Key(projectId, contentHash);
+
+        CachedQueryResult l1Result = getFromL1Cache(key);
+        LightRAGMetrics.recordCacheLookup(CACHE_L1, l1Result != null);
+        if (l1Result != null) {
+            logger.debug("Query cache L1 hit for project={}, mode={}, hash={}",
+                projectId, param.getMode(), contentHash.substring(0, 8));
+            LightRAGMetrics.recordCacheSaved(CACHE_L1, l1Result.computeMillis());
+            return CompletableFuture.completedFuture(l1Result.toQueryResult());
+        }
+
+        CompletableFuture<LightRAGQueryResult> promise = new CompletableFuture<>();
+        CompletableFuture<LightRAGQueryResult> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            logger.debug("Joining in-flight query for project={}, hash={}", projectId, contentHash.substring(0, 8));
+            LightRAGMetrics.recordCacheLookup(CACHE_IN_FLIGHT, true);
+            return existing.copy();
+        }
+
+        long generation = generation(projectId);
+        getFromL2(projectId, contentHash, param)
+            .thenCompose(cached -> {
+                if (cached.isPresent()) {
+                    LightRAGMetrics.recordCacheSaved(CACHE_L2, cached.get().computeMillis());
+                    ProjectState state = state(projectId);
+                    synchronized (state) {
+                        if (state.generation == generation) {
+                            putToL1Cache(key, cached.get());
+                        }
+                    }
+                    return CompletableFuture.completedFuture(cached.get().toQueryResult());
+                }
+                long start = System.currentTimeMillis();
+                return compute.get().thenApply(result -> {
+                    storeIfCurrent(projectId, contentHash, key, generation,
+                        CachedQueryResult.of(result, System.currentTimeMillis() - start));
+                    return result;
+                });
+            })
+            .whenComplete((result, error) -> {
+                inFlight.remove(key, promise);
+                if (error != null) {
+                    promise.completeExceptionally(error);
+                } else {
+                    promise.complete(result);
+                }
+            });
+        return promise.copy();
+    }
+
     /**
      * Retrieves a cached query result if available.
-     * 
+     *
      * @param projectId the project ID
      * @param query the query text
      * @param param the query parameters
@@ -84,25 +268,111 @@ public class QueryCacheService {
         @NotNull String projectId,
         @NotNull String query,
         @NotNull QueryParam param
+    ) {
+        String contentHash = computeCacheKey(query, param);
+        CachedQueryResult l1Result = getFromL1Cache(l1Key(projectId, contentHash));
+        LightRAGMetrics.recordCacheLookup(CACHE_L1, l1Result != null);
+        if (l1Result != null) {
+            return CompletableFuture.completedFuture(Optional.of(l1Result));
+        }
+        return getFromL2(projectId, contentHash, param);
+    }
+
+    /**
+     * Stores a query result in the cache.
+     *
+     * @param projectId the project ID
+     * @param query the query text
+     * @param param the query parameters
+     * @param result the query result to cache
+     * @return CompletableFuture that completes when stored
+     */
+    public CompletableFuture<Void> store(
+        @NotNull String projectId,
+        @NotNull String query,
+        @NotNull QueryParam param,
+        @NotNull LightRAGQueryResult result
+    ) {
+        String contentHash = computeCacheKey(query, param);
+        CachedQueryResult cached = CachedQueryResult.of(result, 0);
+        putToL1Cache(l1Key(projectId, contentHash), cached);
+        return storeToL2(projectId, contentHash, cached);
+    }
+
+    /**
+     * Invalidates all cached query results for a project.
+     *
+     * <p>Should be called when the project's knowledge graph changes
+     * (e.g., new documents added, entities modified). Only
+     * {@link CacheType#QUERY_RESPONSE} entries are deleted; extraction
+     * results cached for the same project are kept.</p>
+     *
+     * @param projectId the project ID
+     * @return CompletableFuture with count of invalidated L2 entries
+     */
+    public CompletableFuture<Integer> invalidate(@NotNull String projectId) {
+        ProjectState state = state(projectId);
+        CompletableFuture<?>[] pending;
+        synchronized (state) {
+            state.generation++;
+            pending = state.pendingStores.toArray(new CompletableFuture[0]);
+        }
+        String prefix = projectId + ":";
+        l1Cache.keySet().removeIf(key -> key.startsWith(prefix));
+
+        if (cacheStorage == null) {
+            return CompletableFuture.completedFuture(0);
+        }
+
+        // Writes that passed the generation check before the bump are
+        // deleted too, so wait for them to land first
+        return CompletableFuture.allOf(pending)
+            .handle((v, e) -> null)
+            .thenCompose(v -> cacheStorage.deleteByProjectAndType(projectId, CacheType.QUERY_RESPONSE))
+            .thenApply(count -> {
+                logger.info("Invalidated {} cached queries for project {}", count, projectId);
+                return count;
+            })
+            .exceptionally(e -> {
+                logger.warn("Failed to invalidate query cache: {}", e.getMessage());
+                return 0;
+            });
+    }
+
+    /**
+     * Number of answers in the L1 (for tests and diagnostics).
+     */
+    int l1Size() {
+        return l1Cache.size();
+    }
+
+    private CompletableFuture<Optional<CachedQueryResult>> getFromL2(
+        @NotNull String projectId,
+        @NotNull String contentHash,
+        @NotNull QueryParam param
     ) {
         if (cacheStorage == null) {
             logger.debug("Cache storage not available, cache miss");
             return CompletableFuture.completedFuture(Optional.empty());
         }
-        
-        String contentHash = computeCacheKey(query, param);
-        
+
         return cacheStorage.get(projectId, CacheType.QUERY_RESPONSE, contentHash)
             .<Optional<CachedQueryResult>>thenApply(optionalCache -> {
+                if (optionalCache.isPresent() && isExpired(optionalCache.get().createdAt())) {
+                    logger.debug("Query cache entry expired for project={}, hash={}",
+                        projectId, contentHash.substring(0, 8));
+                    optionalCache = Optional.empty();
+                }
+                LightRAGMetrics.recordCacheLookup(CACHE_L2, optionalCache.isPresent());
                 if (optionalCache.isPresent()) {
-                    logger.debug("Query cache HIT for project={}, mode={}, hash={}", 
+                    logger.debug("Query cache HIT for project={}, mode={}, hash={}",
                         projectId, param.getMode(), contentHash.substring(0, 8));
-                    
+
                     String cachedJson = optionalCache.get().result();
                     return Optional.of(CachedQueryResult.fromJson(cachedJson, param.getMode()));
                 }
-                
-                logger.debug("Query cache MISS for project={}, mode={}, hash={}", 
+
+                logger.debug("Query cache MISS for project={}, mode={}, hash={}",
                     projectId, param.getMode(), contentHash.substring(0, 8));
                 return Optional.empty();
             })
@@ -111,82 +381,144 @@ public class QueryCacheService {
                 return Optional.empty();
             });
     }
-    
+
     /**
-     * Stores a query result in the cache.
-     * 
-     * @param projectId the project ID
-     * @param query the query text
-     * @param param the query parameters
-     * @param result the query result to cache
-     * @return CompletableFuture that completes when stored
+     * Caches a freshly computed answer unless the project was invalidated
+     * while it was being computed.
      */
-    public CompletableFuture<Void> store(
-        @NotNull String projectId,
-        @NotNull String query,
-        @NotNull QueryParam param,
-        @NotNull LightRAGQueryResult result
-    ) {
+    private void storeIfCurrent(String projectId, String contentHash, String key, long generation,
+            CachedQueryResult cached) {
+        ProjectState state = state(projectId);
+        CompletableFuture<Void> write;
+        synchronized (state) {
+            if (state.generation != generation) {
+                logger.debug("Project {} invalidated during query, not caching answer", projectId);
+                return;
+            }
+            putToL1Cache(key, cached);
+            // The answer is returned without waiting for the persistent write
+            write = storeToL2(projectId, contentHash, cached);
+            if (write.isDone()) {
+                return;
+            }
+            state.pendingStores.add(write);
+        }
+        write.whenComplete((v, e) -> {
+            synchronized (state) {
+                state.pendingStores.remove(write);
+            }
+        });
+    }
+
+    private boolean isExpired(Instant createdAt) {
+        return l2TtlMillis > 0 && createdAt.plusMillis(l2TtlMillis).isBefore(Instant.now());
+    }
+
+    private CompletableFuture<Void> storeToL2(String projectId, String contentHash, CachedQueryResult cached) {
         if (cacheStorage == null) {
             logger.debug("Cache storage not available, skipping store");
             return CompletableFuture.completedFuture(null);
         }
-        
-        String contentHash = computeCacheKey(query, param);
-        String resultJson = CachedQueryResult.toJson(result);
-        
+
         return cacheStorage.store(
             projectId,
             CacheType.QUERY_RESPONSE,
             null,  // No specific chunk ID for query results
             contentHash,
-            resultJson,
+            cached.toJson(),
             null   // Token count not tracked for query responses
         ).thenAccept(cacheId -> {
-            logger.debug("Stored query result in cache: project={}, mode={}, hash={}", 
-                projectId, param.getMode(), contentHash.substring(0, 8));
+            logger.debug("Stored query result in cache: project={}, mode={}, hash={}",
+                projectId, cached.mode(), contentHash.substring(0, 8));
         }).exceptionally(e -> {
             logger.warn("Failed to store in query cache: {}", e.getMessage());
             return null;
         });
     }
-    
+
+    @Nullable
+    private CachedQueryResult getFromL1Cache(String key) {
+        L1CacheEntry entry = l1Cache.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired()) {
+            l1Cache.remove(key, entry);
+            return null;
+        }
+        return entry.result();
+    }
+
+    private void putToL1Cache(String key, CachedQueryResult result) {
+        if (l1MaxEntries <= 0 || l1TtlMillis <= 0) {
+            return;
+        }
+        if (l1Cache.size() >= l1MaxEntries) {
+            cleanupL1Cache();
+        }
+        l1Cache.put(key, new L1CacheEntry(result, System.currentTimeMillis() + l1TtlMillis));
+    }
+
     /**
-     * Invalidates all cached query results for a project.
-     * 
-     * <p>Should be called when the project's knowledge graph changes
-     * (e.g., new documents added, entities modified).</p>
-     * 
-     * @param projectId the project ID
-     * @return CompletableFuture with count of invalidated entries
+     * Removes expired entries, then the entries closest to expiry until the
+     * L1 is at three quarters of its capacity.
      */
-    public CompletableFuture<Integer> invalidate(@NotNull String projectId) {
-        if (cacheStorage == null) {
-            return CompletableFuture.completedFuture(0);
+    private void cleanupL1Cache() {
+        l1Cache.entrySet().removeIf(entry -> entry.getValue().isExpired());
+        int target = l1MaxEntries * 3 / 4;
+        if (l1Cache.size() > target) {
+            l1Cache.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue(Comparator.comparingLong(L1CacheEntry::expiresAt)))
+                .limit(l1Cache.size() - target)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(l1Cache::remove);
         }
-        
-        return cacheStorage.deleteByProject(projectId)
-            .thenApply(count -> {
-                logger.info("Invalidated {} cached queries for project {}", count, projectId);
-                return count;
-            })
-            .exceptionally(e -> {
-                logger.warn("Failed to invalidate query cache: {}", e.getMessage());
-                return 0;
-            });
+        logger.debug("Query L1 cache cleanup complete, current size: {}", l1Cache.size());
     }
-    
+
+    private ProjectState state(String projectId) {
+        return projects.computeIfAbsent(projectId, id -> new ProjectState());
+    }
+
+    private long generation(String projectId) {
+        ProjectState state = state(projectId);
+        synchronized (state) {
+            return state.generation;
+        }
+    }
+
+    private static String l1Key(String projectId, String contentHash) {
+        return projectId + ":" + contentHash;
+    }
+
+    private static Set<QueryParam.Mode> parseModes(List<String> modes) {
+        Set<QueryParam.Mode> parsed = EnumSet.noneOf(QueryParam.Mode.class);
+        for (String mode : modes) {
+            if (mode.isBlank()) {
+                continue;
+            }
+            try {
+                parsed.add(QueryParam.Mode.valueOf(mode.strip().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                logger.warn("Ignoring unknown query mode in answer cache config: {}", mode);
+            }
+        }
+        return parsed;
+    }
+
     /**
      * Computes a cache key for a query and its parameters.
-     * 
+     *
      * <p>The key is a SHA-256 hash of the concatenated:</p>
      * <ul>
      *   <li>Query text</li>
      *   <li>Query mode</li>
      *   <li>Top-K value</li>
      *   <li>Chunk top-K value</li>
+     *   <li>Rerank flag, response type and user prompt</li>
      * </ul>
-     * 
+     *
      * @param query the query text
      * @param param the query parameters
      * @return SHA-256 hash as hex string
@@ -200,13 +532,19 @@ public class QueryCacheService {
         keyBuilder.append(param.getTopK());
         keyBuilder.append("|");
         keyBuilder.append(param.getChunkTopK());
-        
+        keyBuilder.append("|");
+        keyBuilder.append(param.isEnableRerank());
+        keyBuilder.append("|");
+        keyBuilder.append(param.getResponseType());
+        keyBuilder.append("|");
+        keyBuilder.append(param.getUserPrompt() != null ? param.getUserPrompt() : "");
+
         return sha256Hash(keyBuilder.toString());
     }
-    
+
     /**
      * Computes SHA-256 hash of a string.
-     * 
+     *
      * @param input the input string
      * @return hex-encoded hash
      */
@@ -214,7 +552,7 @@ public class QueryCacheService {
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
             byte[] hash = digest.digest(input.getBytes(StandardCharsets.UTF_8));
-            
+
             StringBuilder hexString = new StringBuilder();
             for (byte b : hash) {
                 String hex = Integer.toHexString(0xff & b);
@@ -229,190 +567,81 @@ public class QueryCacheService {
             throw new RuntimeException("SHA-256 not available", e);
         }
     }
-    
+
     /**
      * Represents a cached query result.
-     * 
-     * <p>Contains the answer text and metadata needed to reconstruct
-     * a LightRAGQueryResult. Source chunks are NOT cached to save space.</p>
-     * 
+     *
+     * <p>Contains the answer text, the source chunks cited by it and the time
+     * the original query took, which cache hits report as saved latency.</p>
+     *
      * @param answer the LLM-generated answer
      * @param mode the query mode used
      * @param totalSources the number of sources used
+     * @param sources the source chunks returned with the answer
+     * @param computeMillis how long the original query took
      */
     public record CachedQueryResult(
         @NotNull String answer,
         @NotNull QueryParam.Mode mode,
-        int totalSources
+        int totalSources,
+        @NotNull List<SourceChunk> sources,
+        long computeMillis
     ) {
+        /**
+         * Creates a cached result from a query result.
+         *
+         * @param result the query result
+         * @param computeMillis how long the query took
+         * @return the cached result
+         */
+        public static CachedQueryResult of(@NotNull LightRAGQueryResult result, long computeMillis) {
+            return new CachedQueryResult(result.answer(), result.mode(), result.totalSources(),
+                List.copyOf(result.sourceChunks()), computeMillis);
+        }
+
         /**
          * Converts this cached result to a LightRAGQueryResult.
-         * 
-         * <p>Note: Source chunks are not cached, so the returned result
-         * will have an empty source list. This is acceptable because
-         * cached responses are typically used for identical repeated queries.</p>
-         * 
-         * @return LightRAGQueryResult with cached answer
+         *
+         * @return LightRAGQueryResult with cached answer and sources
          */
         public LightRAGQueryResult toQueryResult() {
-            return new LightRAGQueryResult(
-                answer,
-                List.of(),  // Sources not cached
-                mode,
-                totalSources
-            );
+            return new LightRAGQueryResult(answer, sources, mode, totalSources);
         }
-        
+
         /**
          * Serializes this result to JSON for storage.
-         * 
-         * @param result the query result to serialize
+         *
          * @return JSON string
          */
-        public static String toJson(@NotNull LightRAGQueryResult result) {
-            // Simple JSON format - can be enhanced with a proper JSON library if needed
-            return String.format(
-                "{\"answer\":\"%s\",\"mode\":\"%s\",\"totalSources\":%d}",
-                escapeJson(result.answer()),
-                result.mode().name(),
-                result.totalSources()
-            );
+        public String toJson() {
+            try {
+                return MAPPER.writeValueAsString(this);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Failed to serialize cached query result", e);
+            }
         }
-        
+
         /**
          * Deserializes a cached result from JSON.
-         * 
+         *
          * @param json the JSON string
          * @param mode the query mode (fallback if not in JSON)
          * @return CachedQueryResult
          */
         public static CachedQueryResult fromJson(@NotNull String json, @NotNull QueryParam.Mode mode) {
-            // Simple JSON parsing - handles the format we create
             try {
-                String answer = extractJsonField(json, "answer");
-                String modeStr = extractJsonField(json, "mode");
-                String totalSourcesStr = extractJsonField(json, "totalSources");
-                
-                QueryParam.Mode parsedMode = mode;
-                if (modeStr != null && !modeStr.isEmpty()) {
-                    try {
-                        parsedMode = QueryParam.Mode.valueOf(modeStr);
-                    } catch (IllegalArgumentException ignored) {
-                        // Use fallback mode
-                    }
-                }
-                
-                int totalSources = 0;
-                if (totalSourcesStr != null && !totalSourcesStr.isEmpty()) {
-                    try {
-                        totalSources = Integer.parseInt(totalSourcesStr);
-                    } catch (NumberFormatException ignored) {
-                        // Default to 0
-                    }
-                }
-                
+                CachedQueryResult parsed = MAPPER.readValue(json, CachedQueryResult.class);
                 return new CachedQueryResult(
-                    answer != null ? unescapeJson(answer) : "",
-                    parsedMode,
-                    totalSources
+                    parsed.answer() != null ? parsed.answer() : "",
+                    parsed.mode() != null ? parsed.mode() : mode,
+                    parsed.totalSources(),
+                    parsed.sources() != null ? parsed.sources() : List.of(),
+                    parsed.computeMillis()
                 );
-            } catch (Exception e) {
+            } catch (JsonProcessingException e) {
                 // Fallback: treat entire JSON as the answer
-                return new CachedQueryResult(json, mode, 0);
-            }
-        }
-        
-        /**
-         * Extracts a field value from a simple JSON object.
-         */
-        private static @Nullable String extractJsonField(@NotNull String json, @NotNull String field) {
-            String pattern = "\"" + field + "\":";
-            int start = json.indexOf(pattern);
-            if (start == -1) return null;
-            
-            start += pattern.length();
-            
-            // Skip whitespace
-            while (start < json.length() && Character.isWhitespace(json.charAt(start))) {
-                start++;
-            }
-            
-            if (start >= json.length()) return null;
-            
-            // Check if it's a string value
-            if (json.charAt(start) == '"') {
-                start++;
-                StringBuilder value = new StringBuilder();
-                while (start < json.length() && json.charAt(start) != '"') {
-                    if (json.charAt(start) == '\\' && start + 1 < json.length()) {
-                        // Handle escape sequence
-                        start++;
-                        char escaped = json.charAt(start);
-                        switch (escaped) {
-                            case 'n' -> value.append('\n');
-                            case 'r' -> value.append('\r');
-                            case 't' -> value.append('\t');
-                            case '"' -> value.append('"');
-                            case '\\' -> value.append('\\');
-                            default -> value.append(escaped);
-                        }
-                    } else {
-                        value.append(json.charAt(start));
-                    }
-                    start++;
-                }
-                return value.toString();
-            } else {
-                // Numeric or other value
-                StringBuilder value = new StringBuilder();
-                while (start < json.length() && json.charAt(start) != ',' && json.charAt(start) != '}') {
-                    value.append(json.charAt(start));
-                    start++;
-                }
-                return value.toString().trim();
-            }
-        }
-        
-        /**
-         * Escapes a string for JSON.
-         */
-        private static String escapeJson(@NotNull String text) {
-            StringBuilder escaped = new StringBuilder();
-            for (char c : text.toCharArray()) {
-                switch (c) {
-                    case '"' -> escaped.append("\\\"");
-                    case '\\' -> escaped.append("\\\\");
-                    case '\n' -> escaped.append("\\n");
-                    case '\r' -> escaped.append("\\r");
-                    case '\t' -> escaped.append("\\t");
-                    default -> escaped.append(c);
-                }
-            }
-            return escaped.toString();
-        }
-        
-        /**
-         * Unescapes a JSON string.
-         */
-        private static String unescapeJson(@NotNull String text) {
-            StringBuilder unescaped = new StringBuilder();
-            for (int i = 0; i < text.length(); i++) {
-                char c = text.charAt(i);
-                if (c == '\\' && i + 1 < text.length()) {
-                    char next = text.charAt(i + 1);
-                    switch (next) {
-                        case 'n' -> { unescaped.append('\n'); i++; }
-                        case 'r' -> { unescaped.append('\r'); i++; }
-                        case 't' -> { unescaped.append('\t'); i++; }
-                        case '"' -> { unescaped.append('"'); i++; }
-                        case '\\' -> { unescaped.append('\\'); i++; }
-                        default -> unescaped.append(c);
-                    }
-                } else {
-                    unescaped.append(c);
-                }
+                return new CachedQueryResult(json, mode, 0, List.of(), 0);
             }
-            return unescaped.toString();
         }
     }
 }
@@ -9,6 +9,7 @@ import br.edu.ifba.lightrag.storage.GraphStorage;
 import br.edu.ifba.lightrag.storage.KVStorage;
 import br.edu.ifba.lightrag.storage.VectorStorage;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,6 +32,10 @@ public abstract class QueryExecutor {
     protected final VectorStorage entityVectorStorage;
     protected final GraphStorage graphStorage;
     
+    /** Fusion for keyword chunk hits; null disables the keyword channel. */
+    @Nullable
+    private ReciprocalRankFusion keywordFusion = new ReciprocalRankFusion();
+    
     protected QueryExecutor(
         @NotNull LLMFunction llmFunction,
         @NotNull EmbeddingFunction embeddingFunction,
@@ -59,6 +64,50 @@ public abstract class QueryExecutor {
         @NotNull QueryParam param
     );
     
+    /**
+     * Configures how keyword (full-text) chunk hits are fused with vector hits.
+     *
+     * @param keywordFusion the fusion to apply, or null to use vector search only
+     */
+    public void setKeywordFusion(@Nullable ReciprocalRankFusion keywordFusion) {
+        this.keywordFusion = keywordFusion;
+    }
+    
+    /**
+     * Searches chunks by vector similarity and, when the chunk storage has a
+     * full-text index, fuses in keyword hits by reciprocal rank fusion.
+     *
+     * <p>A failed keyword query falls back to the vector results.</p>
+     *
+     * @param queryEmbedding the query embedding
+     * @param queryText the text matched against the full-text index
+     * @param topK the number of chunks to return
+     * @param filter the chunk filter
+     * @return the (fused) results, best first
+     */
+    protected CompletableFuture<List<VectorStorage.VectorSearchResult>> searchChunks(
+        @NotNull Object queryEmbedding,
+        @NotNull String queryText,
+        int topK,
+        @NotNull VectorStorage.VectorFilter filter
+    ) {
+        CompletableFuture<List<VectorStorage.VectorSearchResult>> vectorHits =
+            chunkVectorStorage.query(queryEmbedding, topK, filter);
+        ReciprocalRankFusion fusion = keywordFusion;
+        if (fusion == null || !chunkVectorStorage.supportsKeywordSearch()) {
+            return vectorHits;
+        }
+        
+        CompletableFuture<List<VectorStorage.VectorSearchResult>> keywordHits = chunkVectorStorage
+            .keywordQuery(queryText, topK, filter)
+            .exceptionally(e -> {
+                logger.warn("Keyword chunk search failed, using vector results only: {}", e.getMessage());
+                return List.of();
+            });
+        return vectorHits.thenCombine(keywordHits,
+            (vector, keyword) -> keyword.isEmpty() ? vector : fusion.fuseResults(List.of(vector, keyword), topK));
+    }
+    
     /**
      * Builds a prompt with context for the LLM.
      *
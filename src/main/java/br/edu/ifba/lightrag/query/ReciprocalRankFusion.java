@@ -0,0 +1,106 @@
+package br.edu.ifba.lightrag.query;
+
+import br.edu.ifba.lightrag.storage.VectorStorage.VectorSearchResult;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Merges ranked result lists by reciprocal rank fusion (RRF).
+ *
+ * <p>Each list contributes {@code 1 / (k + rank)} to an item's score, with
+ * ranks starting at 1. Only ranks are used, so lists with incomparable score
+ * scales (cosine similarity, BM25, ts_rank) fuse without normalization, and an
+ * item found by several lists outranks one found by a single list at a similar
+ * position.</p>
+ *
+ * <p>Ties keep the order in which items were first seen, so earlier lists win
+ * ties and supply the item instance that is returned.</p>
+ */
+public final class ReciprocalRankFusion {
+
+    /** The constant used in the original RRF paper and most search engines. */
+    public static final int DEFAULT_K = 60;
+
+    private final int k;
+
+    /**
+     * Creates a fusion with the default constant {@value #DEFAULT_K}.
+     */
+    public ReciprocalRankFusion() {
+        this(DEFAULT_K);
+    }
+
+    /**
+     * Creates a fusion with a custom constant.
+     *
+     * @param k the rank offset; larger values flatten the advantage of top ranks
+     */
+    public ReciprocalRankFusion(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("RRF k must be positive: " + k);
+        }
+        this.k = k;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * Fuses ranked lists of arbitrary items.
+     *
+     * @param rankings the lists to fuse, each ordered best first
+     * @param keyOf extracts the identity used to match items across lists
+     * @param topK maximum number of fused items to return
+     * @return fused items with their RRF scores, best first
+     */
+    public <T> List<Fused<T>> fuse(
+            @NotNull List<? extends List<? extends T>> rankings,
+            @NotNull Function<? super T, String> keyOf,
+            int topK) {
+        Map<String, Fused<T>> fused = new LinkedHashMap<>();
+        for (List<? extends T> ranking : rankings) {
+            int rank = 1;
+            for (T item : ranking) {
+                double contribution = 1.0 / (k + rank++);
+                fused.merge(keyOf.apply(item), new Fused<>(item, contribution),
+                        (existing, added) -> new Fused<>(existing.item(), existing.score() + added.score()));
+            }
+        }
+        List<Fused<T>> result = new ArrayList<>(fused.values());
+        // List.sort is stable, preserving first-seen order on ties
+        result.sort(Comparator.comparingDouble((Fused<T> f) -> f.score()).reversed());
+        return result.size() > topK ? result.subList(0, Math.max(0, topK)) : result;
+    }
+
+    /**
+     * Fuses vector and keyword search results by ID, replacing each result's
+     * score with its RRF score.
+     *
+     * @param rankings the result lists to fuse, each ordered best first
+     * @param topK maximum number of results to return
+     * @return fused results, best first
+     */
+    public List<VectorSearchResult> fuseResults(
+            @NotNull List<List<VectorSearchResult>> rankings,
+            int topK) {
+        return fuse(rankings, VectorSearchResult::id, topK).stream()
+                .map(f -> new VectorSearchResult(f.item().id(), f.score(), f.item().metadata()))
+                .toList();
+    }
+
+    /**
+     * An item with its fused score.
+     *
+     * @param item the item as it appeared in the first list containing it
+     * @param score sum of reciprocal-rank contributions across lists
+     */
+    public record Fused<T>(@NotNull T item, double score) {
+    }
+}
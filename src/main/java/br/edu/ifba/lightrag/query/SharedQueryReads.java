@@ -0,0 +1,299 @@
+package br.edu.ifba.lightrag.query;
+
+import br.edu.ifba.lightrag.core.Relation;
+import br.edu.ifba.lightrag.embedding.EmbeddingFunction;
+import br.edu.ifba.lightrag.storage.GraphStorage;
+import br.edu.ifba.lightrag.utils.LightRAGMetrics;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Reads shared between the queries of one batch.
+ *
+ * <p>Each batch creates its own instance and hands {@link #embeddingFunction()}
+ * and {@link #graphStorage()} to the query executors that run its queries;
+ * queries outside the batch never see it. Query embeddings and graph
+ * neighbourhood reads (an entity's relations) are memoized by key, so queries
+ * of the batch that embed the same text or expand the same entities share one
+ * fetch. {@link #prime} embeds all questions in a single
+ * {@link EmbeddingFunction#embed} call. The memo holds at most
+ * {@code maxEntries} keys; once full, further reads go straight to the
+ * delegates.</p>
+ *
+ * <p>A memoized graph read may miss writes made while the batch runs. The
+ * memo lives only as long as the batch, which is bounded in size.</p>
+ *
+ * <p>Lookups are counted as {@code lightrag.cache.requests{cache=query.batch}}.</p>
+ */
+public final class SharedQueryReads {
+
+    private static final Logger logger = LoggerFactory.getLogger(SharedQueryReads.class);
+    private static final String CACHE_NAME = "query.batch";
+
+    private final EmbeddingFunction embeddingDelegate;
+    private final EmbeddingFunction embeddingFunction;
+    private final GraphStorage graphStorage;
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, CompletableFuture<float[]>> embeddings = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CompletableFuture<List<Relation>>> relations = new ConcurrentHashMap<>();
+    private final AtomicInteger entries = new AtomicInteger();
+
+    /**
+     * @param embeddingDelegate the embedding function used for misses
+     * @param graphDelegate the graph storage used for misses and all writes
+     * @param maxEntries maximum number of memoized embeddings and entity reads
+     */
+    public SharedQueryReads(
+            @NotNull EmbeddingFunction embeddingDelegate,
+            @NotNull GraphStorage graphDelegate,
+            int maxEntries) {
+        this.embeddingDelegate = embeddingDelegate;
+        this.embeddingFunction = this::embed;
+        this.graphStorage = new SharedReadGraphStorage(graphDelegate, this);
+        this.maxEntries = Math.max(0, maxEntries);
+    }
+
+    /**
+     * Embedding function for the batch's query executors.
+     */
+    @NotNull
+    public EmbeddingFunction embeddingFunction() {
+        return embeddingFunction;
+    }
+
+    /**
+     * Graph storage for the batch's query executors.
+     */
+    @NotNull
+    public GraphStorage graphStorage() {
+        return graphStorage;
+    }
+
+    /**
+     * Embeds the batch's distinct questions in one call.
+     *
+     * @param queries the batch's questions
+     * @return completes once the embeddings are available; fails if the
+     *         embedding call failed, in which case queries embed on their own
+     */
+    public CompletableFuture<Void> prime(@NotNull List<String> queries) {
+        List<String> missing = new ArrayList<>();
+        for (String query : new LinkedHashSet<>(queries)) {
+            if (!embeddings.containsKey(query) && reserve()) {
+                missing.add(query);
+            }
+        }
+        if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<List<float[]>> batch;
+        try {
+            batch = embeddingDelegate.embed(missing);
+        } catch (RuntimeException e) {
+            batch = CompletableFuture.failedFuture(e);
+        }
+        List<CompletableFuture<float[]>> primed = new ArrayList<>(missing.size());
+        for (int i = 0; i < missing.size(); i++) {
+            final int index = i;
+            CompletableFuture<float[]> embedding = batch.thenApply(vectors -> vectors.get(index));
+            primed.add(embedding);
+            if (embeddings.putIfAbsent(missing.get(i), embedding) != null) {
+                entries.decrementAndGet();
+            }
+        }
+        logger.debug("Embedding {} batch queries in one call", missing.size());
+        return batch.whenComplete((vectors, ex) -> {
+            if (ex != null) {
+                for (int i = 0; i < missing.size(); i++) {
+                    if (embeddings.remove(missing.get(i), primed.get(i))) {
+                        entries.decrementAndGet();
+                    }
+                }
+            }
+        }).thenApply(vectors -> null);
+    }
+
+    /**
+     * Number of memoized embeddings and entity reads.
+     */
+    public int size() {
+        return entries.get();
+    }
+
+    private CompletableFuture<List<float[]>> embed(@NotNull List<String> texts) {
+        List<CompletableFuture<float[]>> futures = texts.stream()
+            .map(text -> shared(embeddings, text, () -> embeddingDelegate.embedSingle(text)))
+            .toList();
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+            .thenApply(v -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * Relations of an entity, shared within the batch.
+     */
+    CompletableFuture<List<Relation>> relationsForEntity(
+            @NotNull String projectId,
+            @NotNull String entityName,
+            @NotNull Supplier<CompletableFuture<List<Relation>>> loader) {
+        return shared(relations, relationKey(projectId, entityName), loader);
+    }
+
+    /**
+     * Relations of several entities, shared per entity within the batch.
+     * Entities not yet read by the batch are loaded in one call.
+     */
+    CompletableFuture<Map<String, List<Relation>>> relationsForEntities(
+            @NotNull String projectId,
+            @NotNull Collection<String> entityNames,
+            @NotNull Function<Collection<String>, CompletableFuture<Map<String, List<Relation>>>> loader) {
+        Map<String, CompletableFuture<List<Relation>>> futures = new LinkedHashMap<>();
+        Map<String, CompletableFuture<List<Relation>>> claimed = new LinkedHashMap<>();
+        Set<String> unshared = new LinkedHashSet<>();
+        for (String entityName : entityNames) {
+            if (futures.containsKey(entityName) || unshared.contains(entityName)) {
+                continue;
+            }
+            String key = relationKey(projectId, entityName);
+            CompletableFuture<List<Relation>> existing = relations.get(key);
+            if (existing == null && !reserve()) {
+                // Memo is full: load without sharing
+                LightRAGMetrics.recordCacheLookup(CACHE_NAME, false);
+                unshared.add(entityName);
+                continue;
+            }
+            if (existing == null) {
+                CompletableFuture<List<Relation>> promise = new CompletableFuture<>();
+                existing = relations.putIfAbsent(key, promise);
+                if (existing == null) {
+                    LightRAGMetrics.recordCacheLookup(CACHE_NAME, false);
+                    futures.put(entityName, promise);
+                    claimed.put(entityName, promise);
+                    continue;
+                }
+                entries.decrementAndGet();
+            }
+            LightRAGMetrics.recordCacheLookup(CACHE_NAME, true);
+            futures.put(entityName, existing);
+        }
+
+        CompletableFuture<Map<String, List<Relation>>> load = CompletableFuture.completedFuture(Map.of());
+        if (!claimed.isEmpty() || !unshared.isEmpty()) {
+            List<String> toLoad = new ArrayList<>(claimed.keySet());
+            toLoad.addAll(unshared);
+            try {
+                load = loader.apply(toLoad);
+            } catch (RuntimeException e) {
+                load = CompletableFuture.failedFuture(e);
+            }
+            load.whenComplete((loaded, ex) -> claimed.forEach((entityName, promise) -> {
+                if (ex != null) {
+                    forget(relations, relationKey(projectId, entityName), promise);
+                    promise.completeExceptionally(ex);
+                } else {
+                    promise.complete(loaded.getOrDefault(entityName, List.of()));
+                }
+            }));
+        }
+
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+            .thenCombine(load, (v, loaded) -> {
+                Map<String, List<Relation>> result = new LinkedHashMap<>();
+                for (String entityName : entityNames) {
+                    CompletableFuture<List<Relation>> future = futures.get(entityName);
+                    if (future != null) {
+                        result.put(entityName, future.join());
+                    } else {
+                        result.put(entityName, loaded.getOrDefault(entityName, List.of()));
+                    }
+                }
+                return result;
+            });
+    }
+
+    private static String relationKey(String projectId, String entityName) {
+        return projectId + '\u0000' + entityName;
+    }
+
+    /**
+     * Takes one slot of the memo, if any is left.
+     */
+    private boolean reserve() {
+        while (true) {
+            int current = entries.get();
+            if (current >= maxEntries) {
+                return false;
+            }
+            if (entries.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private <T> void forget(ConcurrentHashMap<String, CompletableFuture<T>> memo, String key,
+            CompletableFuture<T> promise) {
+        if (memo.remove(key, promise)) {
+            entries.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the memoized future for a key, or starts the load and memoizes
+     * it. Failed loads are forgotten so a later query can retry. Once the memo
+     * is full, misses are loaded without being memoized.
+     */
+    private <T> CompletableFuture<T> shared(
+            ConcurrentHashMap<String, CompletableFuture<T>> memo,
+            String key,
+            Supplier<CompletableFuture<T>> loader) {
+        CompletableFuture<T> existing = memo.get(key);
+        if (existing != null) {
+            LightRAGMetrics.recordCacheLookup(CACHE_NAME, true);
+            return existing;
+        }
+        if (!reserve()) {
+            LightRAGMetrics.recordCacheLookup(CACHE_NAME, false);
+            return load(loader);
+        }
+        CompletableFuture<T> promise = new CompletableFuture<>();
+        existing = memo.putIfAbsent(key, promise);
+        if (existing != null) {
+            entries.decrementAndGet();
+            LightRAGMetrics.recordCacheLookup(CACHE_NAME, true);
+            return existing;
+        }
+        LightRAGMetrics.recordCacheLookup(CACHE_NAME, false);
+
+        load(loader).whenComplete((value, ex) -> {
+            if (ex != null) {
+                forget(memo, key, promise);
+                promise.completeExceptionally(ex);
+            } else {
+                promise.complete(value);
+            }
+        });
+        return promise;
+    }
+
+    private static <T> CompletableFuture<T> load(Supplier<CompletableFuture<T>> loader) {
+        try {
+            return loader.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
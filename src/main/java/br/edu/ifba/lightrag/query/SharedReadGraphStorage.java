@@ -0,0 +1,215 @@
+package br.edu.ifba.lightrag.query;
+
+import br.edu.ifba.lightrag.core.Entity;
+import br.edu.ifba.lightrag.core.Relation;
+import br.edu.ifba.lightrag.storage.GraphStorage;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Graph storage view handed to query executors by {@link SharedQueryReads}.
+ *
+ * <p>Entity neighbourhood reads, single or batched, are shared between the
+ * queries of its batch; every other call goes straight to the delegate. The
+ * delegate's lifecycle belongs to its owner, so {@link #close()} does nothing.</p>
+ */
+final class SharedReadGraphStorage implements GraphStorage {
+
+    private final GraphStorage delegate;
+    private final SharedQueryReads reads;
+
+    SharedReadGraphStorage(@NotNull GraphStorage delegate, @NotNull SharedQueryReads reads) {
+        this.delegate = delegate;
+        this.reads = reads;
+    }
+
+    @Override
+    public CompletableFuture<List<Relation>> getRelationsForEntity(@NotNull String projectId, @NotNull String entityName) {
+        return reads.relationsForEntity(projectId, entityName,
+            () -> delegate.getRelationsForEntity(projectId, entityName));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, List<Relation>>> getRelationsForEntities(
+            @NotNull String projectId,
+            @NotNull Collection<String> entityNames) {
+        return reads.relationsForEntities(projectId, entityNames,
+            names -> delegate.getRelationsForEntities(projectId, names));
+    }
+
+    // ===== Delegated operations =====
+
+    @Override
+    public CompletableFuture<Void> initialize() {
+        return delegate.initialize();
+    }
+
+    @Override
+    public CompletableFuture<Void> createProjectGraph(@NotNull String projectId) {
+        return delegate.createProjectGraph(projectId);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteProjectGraph(@NotNull String projectId) {
+        return delegate.deleteProjectGraph(projectId);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> graphExists(@NotNull String projectId) {
+        return delegate.graphExists(projectId);
+    }
+
+    @Override
+    public CompletableFuture<Void> upsertEntity(@NotNull String projectId, @NotNull Entity entity) {
+        return delegate.upsertEntity(projectId, entity);
+    }
+
+    @Override
+    public CompletableFuture<Void> upsertEntities(@NotNull String projectId, @NotNull List<Entity> entities) {
+        return delegate.upsertEntities(projectId, entities);
+    }
+
+    @Override
+    public CompletableFuture<Void> upsertRelation(@NotNull String projectId, @NotNull Relation relation) {
+        return delegate.upsertRelation(projectId, relation);
+    }
+
+    @Override
+    public CompletableFuture<Void> upsertRelations(@NotNull String projectId, @NotNull List<Relation> relations) {
+        return delegate.upsertRelations(projectId, relations);
+    }
+
+    @Override
+    public CompletableFuture<Entity> getEntity(@NotNull String projectId, @NotNull String entityName) {
+        return delegate.getEntity(projectId, entityName);
+    }
+
+    @Override
+    public CompletableFuture<List<Entity>> getEntities(@NotNull String projectId, @NotNull List<String> entityNames) {
+        return delegate.getEntities(projectId, entityNames);
+    }
+
+    @Override
+    public CompletableFuture<Relation> getRelation(@NotNull String projectId, @NotNull String srcId, @NotNull String tgtId) {
+        return delegate.getRelation(projectId, srcId, tgtId);
+    }
+
+    @Override
+    public CompletableFuture<List<Entity>> getAllEntities(@NotNull String projectId) {
+        return delegate.getAllEntities(projectId);
+    }
+
+    @Override
+    public CompletableFuture<List<Relation>> getAllRelations(@NotNull String projectId) {
+        return delegate.getAllRelations(projectId);
+    }
+
+    @Override
+    public CompletableFuture<List<Entity>> getEntitiesBySourceChunks(@NotNull String projectId, @NotNull List<String> chunkIds) {
+        return delegate.getEntitiesBySourceChunks(projectId, chunkIds);
+    }
+
+    @Override
+    public CompletableFuture<List<Relation>> getRelationsBySourceChunks(@NotNull String projectId, @NotNull List<String> chunkIds) {
+        return delegate.getRelationsBySourceChunks(projectId, chunkIds);
+    }
+
+    @Override
+    public CompletableFuture<List<Entity>> getEntitiesBatch(@NotNull String projectId, int offset, int limit) {
+        return delegate.getEntitiesBatch(projectId, offset, limit);
+    }
+
+    @Override
+    public CompletableFuture<List<Relation>> getRelationsBatch(@NotNull String projectId, int offset, int limit) {
+        return delegate.getRelationsBatch(projectId, offset, limit);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteEntity(@NotNull String projectId, @NotNull String entityName) {
+        return delegate.deleteEntity(projectId, entityName);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteRelation(@NotNull String projectId, @NotNull String srcId, @NotNull String tgtId) {
+        return delegate.deleteRelation(projectId, srcId, tgtId);
+    }
+
+    @Override
+    public CompletableFuture<Integer> deleteBySourceId(@NotNull String projectId, @NotNull String sourceId) {
+        return delegate.deleteBySourceId(projectId, sourceId);
+    }
+
+    @Override
+    public CompletableFuture<Integer> deleteEntities(@NotNull String projectId, @NotNull Set<String> entityNames) {
+        return delegate.deleteEntities(projectId, entityNames);
+    }
+
+    @Override
+    public CompletableFuture<Integer> deleteRelations(@NotNull String projectId, @NotNull Set<String> relationKeys) {
+        return delegate.deleteRelations(projectId, relationKeys);
+    }
+
+    @Override
+    public CompletableFuture<Void> updateEntityDescription(
+            @NotNull String projectId,
+            @NotNull String entityName,
+            @NotNull String description,
+            @NotNull Set<String> sourceIds) {
+        return delegate.updateEntityDescription(projectId, entityName, description, sourceIds);
+    }
+
+    @Override
+    public CompletableFuture<Void> applyBulkDeletion(@NotNull String projectId, @NotNull BulkDeletion deletion) {
+        return delegate.applyBulkDeletion(projectId, deletion);
+    }
+
+    @Override
+    public CompletableFuture<GraphSubgraph> traverse(@NotNull String projectId, @NotNull String startEntity, int maxDepth) {
+        return delegate.traverse(projectId, startEntity, maxDepth);
+    }
+
+    @Override
+    public CompletableFuture<GraphSubgraph> traverseBFS(
+            @NotNull String projectId,
+            @NotNull String startEntity,
+            int maxDepth,
+            int maxNodes) {
+        return delegate.traverseBFS(projectId, startEntity, maxDepth, maxNodes);
+    }
+
+    @Override
+    public CompletableFuture<List<Entity>> findShortestPath(@NotNull String projectId, @NotNull String sourceEntity, @NotNull String targetEntity) {
+        return delegate.findShortestPath(projectId, sourceEntity, targetEntity);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Integer>> getNodeDegreesBatch(
+            @NotNull String projectId,
+            @NotNull List<String> entityNames,
+            int batchSize) {
+        return delegate.getNodeDegreesBatch(projectId, entityNames, batchSize);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Entity>> getEntitiesMapBatch(
+            @NotNull String projectId,
+            @NotNull List<String> entityNames,
+            int batchSize) {
+        return delegate.getEntitiesMapBatch(projectId, entityNames, batchSize);
+    }
+
+    @Override
+    public CompletableFuture<GraphStats> getStats(@NotNull String projectId) {
+        return delegate.getStats(projectId);
+    }
+
+    @Override
+    public void close() {
+        // The delegate is closed by its owner
+    }
+}
@@ -161,7 +161,7 @@ public class ChunkSearchStage implements PipelineStage {
     /**
      * Converts vector search results to SourceChunk objects.
      */
-    private List<SourceChunk> convertToSourceChunks(@NotNull List<VectorSearchResult> results) {
+    static List<SourceChunk> convertToSourceChunks(@NotNull List<VectorSearchResult> results) {
         return results.stream()
                 .map(result -> {
                     VectorStorage.VectorMetadata metadata = result.metadata();
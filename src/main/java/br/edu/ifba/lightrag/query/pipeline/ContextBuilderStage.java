@@ -3,6 +3,7 @@ package br.edu.ifba.lightrag.query.pipeline;
 import br.edu.ifba.lightrag.core.QueryParam;
 import br.edu.ifba.lightrag.core.QueryParam.ConversationMessage;
 import br.edu.ifba.lightrag.query.ContextItem;
+import br.edu.ifba.lightrag.query.HistoryCompactor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -18,7 +19,8 @@ import java.util.concurrent.CompletableFuture;
  * that will be sent to the LLM. It handles:</p>
  * <ul>
  *   <li>Section headers for different context types</li>
- *   <li>Conversation history formatting</li>
+ *   <li>Conversation history formatting, compacted to a token budget by a
+ *       {@link HistoryCompactor} (older messages become a running summary)</li>
  *   <li>User prompt/query integration</li>
  *   <li>Response type instructions</li>
  * </ul>
@@ -26,6 +28,7 @@ import java.util.concurrent.CompletableFuture;
  * <h2>Prompt Structure:</h2>
  * <pre>
  * ## Conversation History
+ * [Summary of older messages, if compacted]
  * [Previous messages if any]
  * 
  * ## Context
@@ -57,10 +60,15 @@ public class ContextBuilderStage implements PipelineStage {
     private static final String HEADER_SOURCES = "### Sources";
     private static final String HEADER_QUERY = "## Query";
     
+    /** History budget used when no compactor is supplied. */
+    static final int DEFAULT_HISTORY_MAX_TOKENS = 1500;
+    static final int DEFAULT_HISTORY_RECENT_TURNS = 6;
+    
     private final boolean includeHeaders;
     private final boolean groupByType;
     @Nullable
     private final String customSystemPrompt;
+    private final HistoryCompactor historyCompactor;
     
     /**
      * Creates a ContextBuilderStage with default settings.
@@ -89,9 +97,27 @@ public class ContextBuilderStage implements PipelineStage {
      */
     public ContextBuilderStage(boolean includeHeaders, boolean groupByType, 
                                 @Nullable String customSystemPrompt) {
+        this(includeHeaders, groupByType, customSystemPrompt, null);
+    }
+    
+    /**
+     * Creates a ContextBuilderStage with a conversation history policy.
+     * 
+     * @param includeHeaders whether to include section headers
+     * @param groupByType whether to group content by type (entity/relation/chunk)
+     * @param customSystemPrompt optional system prompt to prepend
+     * @param historyCompactor history budget policy; null uses the default
+     *        budget with extractive compaction (no LLM calls)
+     */
+    public ContextBuilderStage(boolean includeHeaders, boolean groupByType, 
+                                @Nullable String customSystemPrompt,
+                                @Nullable HistoryCompactor historyCompactor) {
         this.includeHeaders = includeHeaders;
         this.groupByType = groupByType;
         this.customSystemPrompt = customSystemPrompt;
+        this.historyCompactor = historyCompactor != null
+                ? historyCompactor
+                : new HistoryCompactor(DEFAULT_HISTORY_MAX_TOKENS, DEFAULT_HISTORY_RECENT_TURNS, 1, null);
     }
     
     @Override
@@ -107,44 +133,55 @@ public class ContextBuilderStage implements PipelineStage {
             prompt.append(customSystemPrompt).append("\n\n");
         }
         
-        // 2. Add conversation history if present
+        // 2. Add conversation history if present; summarizing older turns may
+        // need an LLM call, so the rest of the prompt is built once it completes
         List<ConversationMessage> history = param.getConversationHistory();
-        if (!history.isEmpty()) {
-            appendConversationHistory(prompt, history);
-        }
-        
-        // 3. Add context section
-        if (groupByType) {
-            appendGroupedContext(prompt, context);
-        } else {
-            appendFlatContext(prompt, context);
-        }
-        
-        // 4. Add query section
-        appendQuery(prompt, context.getQuery(), param);
-        
-        // Store final prompt
-        String finalPrompt = prompt.toString().trim();
-        context.setFinalPrompt(finalPrompt);
+        CompletableFuture<Void> historyAppended = history.isEmpty()
+                ? CompletableFuture.completedFuture(null)
+                : appendConversationHistory(prompt, context.getProjectId(), history);
         
-        logger.debug("Built prompt with {} characters", finalPrompt.length());
-        
-        return CompletableFuture.completedFuture(context);
+        return historyAppended.thenApply(v -> {
+            // 3. Add context section
+            if (groupByType) {
+                appendGroupedContext(prompt, context);
+            } else {
+                appendFlatContext(prompt, context);
+            }
+            
+            // 4. Add query section
+            appendQuery(prompt, context.getQuery(), param);
+            
+            // Store final prompt
+            String finalPrompt = prompt.toString().trim();
+            context.setFinalPrompt(finalPrompt);
+            
+            logger.debug("Built prompt with {} characters", finalPrompt.length());
+            
+            return context;
+        });
     }
     
     /**
-     * Appends conversation history to the prompt.
+     * Appends conversation history to the prompt, compacted to the history budget.
      */
-    private void appendConversationHistory(StringBuilder prompt, 
-                                            List<ConversationMessage> history) {
-        if (includeHeaders) {
-            prompt.append(HEADER_CONVERSATION).append("\n\n");
-        }
-        
-        for (ConversationMessage message : history) {
-            String roleLabel = formatRole(message.role());
-            prompt.append(roleLabel).append(": ").append(message.content()).append("\n\n");
-        }
+    private CompletableFuture<Void> appendConversationHistory(StringBuilder prompt,
+                                                             String projectId,
+                                                             List<ConversationMessage> history) {
+        return historyCompactor.compactAsync(projectId, null, history.stream()
+                .map(message -> new HistoryCompactor.Turn(message.role(), message.content()))
+                .toList())
+                .thenAccept(compacted -> {
+                    if (includeHeaders) {
+                        prompt.append(HEADER_CONVERSATION).append("\n\n");
+                    }
+                    if (compacted.summary() != null && !compacted.summary().isBlank()) {
+                        prompt.append("Summary of earlier conversation: ").append(compacted.summary()).append("\n\n");
+                    }
+                    for (HistoryCompactor.Turn turn : compacted.recent()) {
+                        String roleLabel = formatRole(turn.role());
+                        prompt.append(roleLabel).append(": ").append(turn.content()).append("\n\n");
+                    }
+                });
     }
     
     /**
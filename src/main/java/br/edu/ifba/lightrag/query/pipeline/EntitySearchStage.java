@@ -146,19 +146,15 @@ public class EntitySearchStage implements PipelineStage {
             @NotNull List<String> entityNames,
             @NotNull PipelineContext context) {
         
-        // Fetch relations for all entities in parallel
-        List<CompletableFuture<List<Relation>>> relationFutures = entityNames.stream()
-                .map(name -> graphStorage.getRelationsForEntity(projectId, name))
-                .toList();
-        
-        return CompletableFuture.allOf(relationFutures.toArray(new CompletableFuture[0]))
-                .thenApply(v -> {
+        // Fetch relations for all entities in one lookup
+        return graphStorage.getRelationsForEntities(projectId, entityNames)
+                .thenApply(relationsByEntity -> {
                     // Combine and deduplicate relations
                     Set<String> seen = new HashSet<>();
                     List<Relation> allRelations = new ArrayList<>();
                     
-                    for (CompletableFuture<List<Relation>> future : relationFutures) {
-                        for (Relation relation : future.join()) {
+                    for (String name : entityNames) {
+                        for (Relation relation : relationsByEntity.getOrDefault(name, List.of())) {
                             String key = relation.getSrcId() + "->" + relation.getTgtId();
                             if (seen.add(key)) {
                                 allRelations.add(relation);
@@ -74,7 +74,7 @@ public class GlobalPipelineExecutor extends PipelineQueryExecutor {
                 // Stage 3: Merge entities and relations with round-robin
                 .addStage(new MergeStage(MergeStage.MergeOrder.ENTITY_RELATION_CHUNK))
                 // Stage 4: Build context (grouped by type - entities, then relations)
-                .addStage(new ContextBuilderStage(true, true, null))
+                .addStage(new ContextBuilderStage(true, true, null, historyCompactor()))
                 .llmFunction(llmFunction)
                 .systemPrompt(systemPrompt)
                 .build();
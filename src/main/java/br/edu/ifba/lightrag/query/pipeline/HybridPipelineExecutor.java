@@ -20,6 +20,7 @@ import org.jetbrains.annotations.Nullable;
  * <h2>Pipeline Configuration:</h2>
  * <ol>
  *   <li>ChunkSearchStage - Searches text chunks by vector similarity</li>
+ *   <li>KeywordChunkSearchStage - Fuses full-text chunk hits (when supported)</li>
  *   <li>EntitySearchStage - Searches entities and their relations</li>
  *   <li>TruncateStage - Applies token budget (balanced across all types)</li>
  *   <li>MergeStage - Round-robin merge of chunks, entities, and relations</li>
@@ -97,6 +98,8 @@ public class HybridPipelineExecutor extends PipelineQueryExecutor {
         return QueryPipeline.builder()
                 // Stage 1: Search chunks by vector similarity (uses low-level keywords if available)
                 .addStage(new ChunkSearchStage(chunkVectorStorage, embeddingFunction, keywordExtractor))
+                // Stage 1b: Fuse full-text hits into the chunk ranking (if the backend has an index)
+                .addStages(keywordChunkSearchStages())
                 // Stage 2: Search entities and fetch relations (uses high-level keywords if available)
                 .addStage(new EntitySearchStage(entityVectorStorage, graphStorage, embeddingFunction, keywordExtractor, true))
                 // Stage 3: Apply token budget (balanced across all sources)
@@ -104,7 +107,7 @@ public class HybridPipelineExecutor extends PipelineQueryExecutor {
                 // Stage 4: Round-robin merge with chunks prioritized for hybrid mode
                 .addStage(new MergeStage(MergeStage.MergeOrder.CHUNK_ENTITY_RELATION))
                 // Stage 5: Build context with headers, citations, and structured output
-                .addStage(new ContextBuilderStage(true, true, null))
+                .addStage(new ContextBuilderStage(true, true, null, historyCompactor()))
                 .llmFunction(llmFunction)
                 .systemPrompt(systemPrompt)
                 .build();
@@ -0,0 +1,94 @@
+package br.edu.ifba.lightrag.query.pipeline;
+
+import br.edu.ifba.lightrag.core.LightRAGQueryResult.SourceChunk;
+import br.edu.ifba.lightrag.query.ReciprocalRankFusion;
+import br.edu.ifba.lightrag.storage.VectorStorage;
+import br.edu.ifba.lightrag.storage.VectorStorage.VectorFilter;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Pipeline stage that adds full-text (BM25) chunk hits to the vector hits.
+ *
+ * <p>Runs after {@link ChunkSearchStage}. It searches the chunk storage's
+ * keyword index with the query plus any low-level keywords, then merges the
+ * keyword ranking with the vector ranking already in the context by
+ * reciprocal rank fusion. Chunks found by both channels rise to the top, and
+ * exact-term matches the embedding missed can enter the candidate list.</p>
+ *
+ * <p>The stage is skipped when the storage has no keyword index. A failed
+ * keyword query leaves the vector candidates untouched.</p>
+ */
+public class KeywordChunkSearchStage implements PipelineStage {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeywordChunkSearchStage.class);
+    private static final String STAGE_NAME = "keyword-chunk-search";
+
+    private final VectorStorage chunkVectorStorage;
+    private final ReciprocalRankFusion fusion;
+
+    /**
+     * Creates a KeywordChunkSearchStage.
+     *
+     * @param chunkVectorStorage Vector storage for chunks, providing the keyword index
+     * @param fusion Rank fusion applied to vector and keyword results
+     */
+    public KeywordChunkSearchStage(
+            @NotNull VectorStorage chunkVectorStorage,
+            @NotNull ReciprocalRankFusion fusion) {
+        this.chunkVectorStorage = chunkVectorStorage;
+        this.fusion = fusion;
+    }
+
+    @Override
+    public CompletableFuture<PipelineContext> process(@NotNull PipelineContext context) {
+        int topK = context.getParam().getChunkTopK();
+        String searchText = buildSearchText(context.getQuery(), context.getLowLevelKeywords());
+        VectorFilter filter = new VectorFilter("chunk", null, context.getProjectId());
+
+        return chunkVectorStorage.keywordQuery(searchText, topK, filter)
+                .thenApply(results -> {
+                    List<SourceChunk> vectorHits = context.getChunkCandidates();
+                    List<SourceChunk> keywordHits = ChunkSearchStage.convertToSourceChunks(results);
+                    List<SourceChunk> fused = fusion.fuse(List.of(vectorHits, keywordHits), SourceChunk::chunkId, topK)
+                            .stream()
+                            .map(f -> withScore(f.item(), f.score()))
+                            .toList();
+                    context.setChunkCandidates(fused);
+
+                    logger.debug("Keyword search found {} results, fused with {} vector results into {}",
+                            keywordHits.size(), vectorHits.size(), fused.size());
+                    return context;
+                })
+                .exceptionally(e -> {
+                    logger.warn("Keyword chunk search failed, keeping vector results: {}", e.getMessage());
+                    return context;
+                });
+    }
+
+    @Override
+    public boolean shouldSkip(@NotNull PipelineContext context) {
+        return !chunkVectorStorage.supportsKeywordSearch();
+    }
+
+    /**
+     * Appends low-level keywords to the query; duplicates are removed by the storage.
+     */
+    private static String buildSearchText(@NotNull String query, @NotNull List<String> keywords) {
+        return keywords.isEmpty() ? query : query + " " + String.join(" ", keywords);
+    }
+
+    private static SourceChunk withScore(@NotNull SourceChunk chunk, double score) {
+        return new SourceChunk(chunk.chunkId(), chunk.content(), score, chunk.documentId(),
+                chunk.sourceId(), chunk.chunkIndex(), chunk.type());
+    }
+
+    @Override
+    public String getName() {
+        return STAGE_NAME;
+    }
+}
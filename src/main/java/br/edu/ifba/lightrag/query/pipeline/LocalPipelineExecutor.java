@@ -20,6 +20,7 @@ import org.jetbrains.annotations.Nullable;
  * <h2>Pipeline Configuration:</h2>
  * <ol>
  *   <li>ChunkSearchStage - Searches text chunks by vector similarity</li>
+ *   <li>KeywordChunkSearchStage - Fuses full-text chunk hits (when supported)</li>
  *   <li>TruncateStage - Applies token budget (chunk-focused)</li>
  *   <li>MergeStage - Merges chunks (single source, no interleaving)</li>
  *   <li>ContextBuilderStage - Builds final prompt with citations</li>
@@ -69,12 +70,14 @@ public class LocalPipelineExecutor extends PipelineQueryExecutor {
         return QueryPipeline.builder()
                 // Stage 1: Search chunks by vector similarity
                 .addStage(new ChunkSearchStage(chunkVectorStorage, embeddingFunction, keywordExtractor))
+                // Stage 1b: Fuse full-text hits into the chunk ranking (if the backend has an index)
+                .addStages(keywordChunkSearchStages())
                 // Stage 2: Apply token budget (mostly chunks)
                 .addStage(new TruncateStage(getMaxTokens(), 0.9, 0.05, 0.05))
                 // Stage 3: Merge (single source type, preserves order)
                 .addStage(new MergeStage(getMaxTokens()))
                 // Stage 4: Build context with headers and conversation history
-                .addStage(new ContextBuilderStage())
+                .addStage(new ContextBuilderStage(true, true, null, historyCompactor()))
                 .llmFunction(llmFunction)
                 .systemPrompt(systemPrompt)
                 .build();
@@ -6,14 +6,18 @@ import br.edu.ifba.lightrag.core.QueryParam;
 import br.edu.ifba.lightrag.embedding.EmbeddingFunction;
 import br.edu.ifba.lightrag.llm.LLMFunction;
 import br.edu.ifba.lightrag.query.ContextMerger;
+import br.edu.ifba.lightrag.query.HistoryCompactor;
 import br.edu.ifba.lightrag.query.KeywordExtractor;
 import br.edu.ifba.lightrag.query.QueryExecutor;
+import br.edu.ifba.lightrag.query.ReciprocalRankFusion;
 import br.edu.ifba.lightrag.storage.GraphStorage;
 import br.edu.ifba.lightrag.storage.KVStorage;
 import br.edu.ifba.lightrag.storage.VectorStorage;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -56,6 +60,10 @@ public abstract class PipelineQueryExecutor extends QueryExecutor {
     /** Cached pipeline instance (built lazily) */
     private QueryPipeline pipeline;
     
+    
+    /** History policy shared by queries on this executor (built lazily) */
+    private HistoryCompactor historyCompactor;
+    
     /**
      * Creates a PipelineQueryExecutor with all dependencies.
      * 
@@ -144,6 +152,42 @@ public abstract class PipelineQueryExecutor extends QueryExecutor {
         return config;
     }
     
+    /**
+     * Returns the keyword chunk search stage when the chunk storage has a
+     * full-text index and lexical retrieval is not disabled in config.
+     * Add it right after {@link ChunkSearchStage}.
+     */
+    protected List<PipelineStage> keywordChunkSearchStages() {
+        boolean enabled = config == null || config.query().lexical().enabled();
+        if (!enabled || !chunkVectorStorage.supportsKeywordSearch()) {
+            return List.of();
+        }
+        int rrfK = config != null ? config.query().lexical().rrfK() : ReciprocalRankFusion.DEFAULT_K;
+        return List.of(new KeywordChunkSearchStage(chunkVectorStorage, new ReciprocalRankFusion(rrfK)));
+    }
+    
+    /**
+     * Returns the conversation history policy shared by this executor's
+     * {@link ContextBuilderStage}. Older turns are summarized with the query
+     * LLM unless disabled in config.
+     */
+    protected HistoryCompactor historyCompactor() {
+        if (historyCompactor == null) {
+            int maxTokens = config != null ? config.query().history().maxTokens() : 1500;
+            int recentTurns = config != null ? config.query().history().recentTurns() : 6;
+            boolean summarize = config == null || config.query().history().summarize();
+            int cacheSize = config != null ? config.query().history().cacheSize() : 1000;
+            historyCompactor = new HistoryCompactor(maxTokens, recentTurns, cacheSize,
+                    summarize ? this::summarizeHistory : null);
+        }
+        return historyCompactor;
+    }
+    
+    private CompletableFuture<String> summarizeHistory(@NotNull String prompt, int maxTokens) {
+        return llmFunction.apply(prompt, HistoryCompactor.SUMMARY_SYSTEM_PROMPT, null,
+                Map.of("max_tokens", maxTokens, "temperature", 0.0));
+    }
+    
     /**
      * Gets the default max tokens from config or returns default.
      */
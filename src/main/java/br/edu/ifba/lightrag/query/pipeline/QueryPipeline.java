@@ -3,6 +3,8 @@ package br.edu.ifba.lightrag.query.pipeline;
 import br.edu.ifba.lightrag.core.LightRAGQueryResult;
 import br.edu.ifba.lightrag.core.QueryParam;
 import br.edu.ifba.lightrag.llm.LLMFunction;
+import br.edu.ifba.lightrag.utils.LightRAGMetrics;
+import io.micrometer.core.instrument.Timer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -107,14 +109,18 @@ public class QueryPipeline {
         
         logger.debug("Executing stage: {}", stage.getName());
         long stageStart = System.currentTimeMillis();
+        String mode = context.getParam().getMode().name();
+        Timer.Sample stageSample = LightRAGMetrics.startTimer();
         
         return stage.process(context)
                 .thenApply(ctx -> {
                     long elapsed = System.currentTimeMillis() - stageStart;
+                    LightRAGMetrics.recordStage(stage.getName(), mode, stageSample, true);
                     logger.debug("Stage {} completed in {}ms", stage.getName(), elapsed);
                     return ctx;
                 })
                 .exceptionally(e -> {
+                    LightRAGMetrics.recordStage(stage.getName(), mode, stageSample, false);
                     logger.error("Stage {} failed: {}", stage.getName(), e.getMessage(), e);
                     throw new PipelineException("Stage " + stage.getName() + " failed", e);
                 });
@@ -6,6 +6,7 @@ import br.edu.ifba.lightrag.core.TokenUsage;
 import br.edu.ifba.lightrag.rerank.CohereRerankClient.CohereRerankRequest;
 import br.edu.ifba.lightrag.rerank.CohereRerankClient.CohereRerankResponse;
 import br.edu.ifba.lightrag.rerank.CohereRerankClient.CohereRerankResult;
+import br.edu.ifba.lightrag.utils.LightRAGMetrics;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
@@ -14,13 +15,13 @@ import org.eclipse.microprofile.faulttolerance.Fallback;
 import org.eclipse.microprofile.faulttolerance.Timeout;
 import org.eclipse.microprofile.rest.client.inject.RestClient;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
@@ -31,6 +32,7 @@ import java.util.Objects;
  * <ul>
  *   <li>Circuit breaker to prevent cascading failures (opens after 4 failures)</li>
  *   <li>Timeout with automatic fallback to original order</li>
+ *   <li>Per-project score cache and parallel sub-batches for large candidate sets</li>
  *   <li>Token usage tracking for billing visibility</li>
  *   <li>Minimum score filtering</li>
  * </ul>
@@ -68,13 +70,38 @@ public class CohereReranker implements Reranker {
     @Inject
     TokenTracker tokenTracker;
     
+    @Inject
+    RerankBatchExecutor batchExecutor;
+    
     @Inject
     @Named("noOpReranker")
     Reranker fallbackReranker;
     
+    /**
+     * Reranks chunks using Cohere API without a project scope.
+     *
+     * @param query  the query string
+     * @param chunks chunks to rerank
+     * @param topK   maximum results to return
+     * @return reranked chunks sorted by relevance
+     */
+    @Override
+    @NotNull
+    public List<RerankedChunk> rerank(
+        @NotNull String query,
+        @NotNull List<Chunk> chunks,
+        int topK
+    ) {
+        return rerank(null, query, chunks, topK);
+    }
+    
     /**
      * Reranks chunks using Cohere API with circuit breaker and timeout.
+     * 
+     * <p>Cached scores are reused and the remaining chunks are scored in
+     * parallel sub-batches by {@link RerankBatchExecutor}.</p>
      *
+     * @param projectId project scoping the score cache
      * @param query  the query string
      * @param chunks chunks to rerank
      * @param topK   maximum results to return
@@ -91,6 +118,7 @@ public class CohereReranker implements Reranker {
     @Timeout(value = 3000)
     @Fallback(fallbackMethod = "fallbackRerank")
     public List<RerankedChunk> rerank(
+        @Nullable String projectId,
         @NotNull String query,
         @NotNull List<Chunk> chunks,
         int topK
@@ -114,30 +142,14 @@ public class CohereReranker implements Reranker {
             LOG.debug("Starting rerank: {} chunks, topK={}, queryLength={}", 
                 chunks.size(), topK, query.length());
             
-            // Extract document texts
-            List<String> documents = chunks.stream()
-                .map(Chunk::getContent)
-                .toList();
-            
-            // Build request
-            CohereRerankRequest request = CohereRerankRequest.of(
-                model,
-                query,
-                documents,
-                Math.min(topK, chunks.size())
-            );
-            
-            // Call API
             String apiKey = config.cohere().apiKey().orElseThrow(
                 () -> new IllegalStateException("Cohere API key not configured"));
             String authHeader = "Bearer " + apiKey;
-            CohereRerankResponse response = client.rerank(authHeader, request);
-            
-            // Track token usage if available
-            trackTokenUsage(response, chunks.size());
             
-            // Convert response to RerankedChunks
-            List<RerankedChunk> result = convertToRerankedChunks(response, chunks);
+            List<RerankedChunk> result = batchExecutor.rerank(
+                PROVIDER_NAME, model, projectId, query, chunks, topK, config.minScore(),
+                documents -> scoreBatch(authHeader, model, query, documents));
+            LightRAGMetrics.recordRerank(PROVIDER_NAME, "success");
             
             long duration = System.currentTimeMillis() - startTime;
             LOG.info("Rerank completed - duration={}ms, input={}, output={}, filtered={}",
@@ -154,6 +166,7 @@ public class CohereReranker implements Reranker {
      * Fallback method when circuit breaker is open or timeout occurs.
      * Note: Parameter types must exactly match the main method.
      *
+     * @param projectId project scoping the score cache
      * @param query  the query string
      * @param chunks original chunks
      * @param topK   max results
@@ -162,6 +175,7 @@ public class CohereReranker implements Reranker {
     @SuppressWarnings("unused")
     @NotNull
     List<RerankedChunk> fallbackRerank(
+        @Nullable String projectId,
         @NotNull String query,
         @NotNull List<Chunk> chunks,
         int topK
@@ -173,53 +187,29 @@ public class CohereReranker implements Reranker {
         } finally {
             clearMDC();
         }
+        LightRAGMetrics.recordRerank(PROVIDER_NAME, "fallback");
         return fallbackReranker.rerank(query, chunks, topK);
     }
     
     /**
-     * Converts API response to RerankedChunk list.
+     * Scores one sub-batch with a single API call. Requests every document
+     * back so all scores can be cached.
      */
-    private List<RerankedChunk> convertToRerankedChunks(
-        CohereRerankResponse response,
-        List<Chunk> originalChunks
-    ) {
-        List<CohereRerankResult> results = response.results();
-        double minScore = config.minScore();
-        
-        // Sort by relevance score descending
-        List<CohereRerankResult> sortedResults = new ArrayList<>(results);
-        sortedResults.sort(Comparator.comparingDouble(CohereRerankResult::relevanceScore).reversed());
+    private double[] scoreBatch(String authHeader, String model, String query, List<String> documents) {
+        CohereRerankRequest request = CohereRerankRequest.of(model, query, documents, documents.size());
+        CohereRerankResponse response = client.rerank(authHeader, request);
         
-        // Build reranked chunks with filtering
-        List<RerankedChunk> rerankedChunks = new ArrayList<>();
-        int newRank = 0;
-        int filteredCount = 0;
+        // Track token usage if available
+        trackTokenUsage(response, documents.size());
         
-        for (CohereRerankResult result : sortedResults) {
-            if (result.relevanceScore() < minScore) {
-                filteredCount++;
-                LOG.trace("Filtering chunk at index {} with score {:.4f} < minScore {:.4f}",
-                    result.index(), result.relevanceScore(), minScore);
-                continue;
-            }
-            
-            int originalIndex = result.index();
-            if (originalIndex >= 0 && originalIndex < originalChunks.size()) {
-                Chunk chunk = originalChunks.get(originalIndex);
-                rerankedChunks.add(RerankedChunk.reranked(
-                    chunk,
-                    originalIndex,
-                    newRank++,
-                    result.relevanceScore()
-                ));
+        double[] scores = new double[documents.size()];
+        Arrays.fill(scores, Double.NaN);
+        for (CohereRerankResult result : response.results()) {
+            if (result.index() >= 0 && result.index() < scores.length) {
+                scores[result.index()] = result.relevanceScore();
             }
         }
-        
-        if (filteredCount > 0) {
-            LOG.debug("Filtered {} chunks below minScore threshold of {}", filteredCount, minScore);
-        }
-        
-        return rerankedChunks;
+        return scores;
     }
     
     /**
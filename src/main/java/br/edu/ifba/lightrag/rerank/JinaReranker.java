@@ -6,6 +6,7 @@ import br.edu.ifba.lightrag.core.TokenUsage;
 import br.edu.ifba.lightrag.rerank.JinaRerankClient.JinaRerankRequest;
 import br.edu.ifba.lightrag.rerank.JinaRerankClient.JinaRerankResponse;
 import br.edu.ifba.lightrag.rerank.JinaRerankClient.JinaRerankResult;
+import br.edu.ifba.lightrag.utils.LightRAGMetrics;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
@@ -14,11 +15,11 @@ import org.eclipse.microprofile.faulttolerance.Fallback;
 import org.eclipse.microprofile.faulttolerance.Timeout;
 import org.eclipse.microprofile.rest.client.inject.RestClient;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jboss.logging.Logger;
 
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
@@ -29,6 +30,7 @@ import java.util.Objects;
  * <ul>
  *   <li>Circuit breaker to prevent cascading failures (opens after 4 failures)</li>
  *   <li>Timeout with automatic fallback to original order</li>
+ *   <li>Per-project score cache and parallel sub-batches for large candidate sets</li>
  *   <li>Token usage tracking for billing visibility</li>
  *   <li>Minimum score filtering</li>
  * </ul>
@@ -51,13 +53,38 @@ public class JinaReranker implements Reranker {
     @Inject
     TokenTracker tokenTracker;
     
+    @Inject
+    RerankBatchExecutor batchExecutor;
+    
     @Inject
     @Named("noOpReranker")
     Reranker fallbackReranker;
     
+    /**
+     * Reranks chunks using Jina API without a project scope.
+     *
+     * @param query  the query string
+     * @param chunks chunks to rerank
+     * @param topK   maximum results to return
+     * @return reranked chunks sorted by relevance
+     */
+    @Override
+    @NotNull
+    public List<RerankedChunk> rerank(
+        @NotNull String query,
+        @NotNull List<Chunk> chunks,
+        int topK
+    ) {
+        return rerank(null, query, chunks, topK);
+    }
+    
     /**
      * Reranks chunks using Jina API with circuit breaker and timeout.
+     * 
+     * <p>Cached scores are reused and the remaining chunks are scored in
+     * parallel sub-batches by {@link RerankBatchExecutor}.</p>
      *
+     * @param projectId project scoping the score cache
      * @param query  the query string
      * @param chunks chunks to rerank
      * @param topK   maximum results to return
@@ -74,6 +101,7 @@ public class JinaReranker implements Reranker {
     @Timeout(value = 3000)
     @Fallback(fallbackMethod = "fallbackRerank")
     public List<RerankedChunk> rerank(
+        @Nullable String projectId,
         @NotNull String query,
         @NotNull List<Chunk> chunks,
         int topK
@@ -91,36 +119,26 @@ public class JinaReranker implements Reranker {
         logger.debugf("JinaReranker: reranking %d chunks with query length %d",
             Integer.valueOf(chunks.size()), Integer.valueOf(query.length()));
         
-        // Extract document texts
-        List<String> documents = chunks.stream()
-            .map(Chunk::getContent)
-            .toList();
-        
-        // Build request
-        JinaRerankRequest request = JinaRerankRequest.of(
-            config.jina().model(),
-            query,
-            documents,
-            Math.min(topK, chunks.size())
-        );
-        
-        // Call API
+        String model = config.jina().model();
         String apiKey = config.jina().apiKey().orElseThrow(
             () -> new IllegalStateException("Jina API key not configured"));
         String authHeader = "Bearer " + apiKey;
-        JinaRerankResponse response = client.rerank(authHeader, request);
         
-        // Track token usage if available
-        trackTokenUsage(response);
+        List<RerankedChunk> result = batchExecutor.rerank(
+            PROVIDER_NAME, model, projectId, query, chunks, topK, config.minScore(),
+            documents -> scoreBatch(authHeader, model, query, documents));
+        LightRAGMetrics.recordRerank(PROVIDER_NAME, "success");
         
-        // Convert response to RerankedChunks
-        return convertToRerankedChunks(response, chunks);
+        logger.debugf("JinaReranker: returned %d chunks after filtering (minScore=%.2f)",
+            Integer.valueOf(result.size()), Double.valueOf(config.minScore()));
+        return result;
     }
     
     /**
      * Fallback method when circuit breaker is open or timeout occurs.
      * Note: Parameter types must exactly match the main method.
      *
+     * @param projectId project scoping the score cache
      * @param query  the query string
      * @param chunks original chunks
      * @param topK   max results
@@ -129,56 +147,36 @@ public class JinaReranker implements Reranker {
     @SuppressWarnings("unused")
     @NotNull
     List<RerankedChunk> fallbackRerank(
+        @Nullable String projectId,
         @NotNull String query,
         @NotNull List<Chunk> chunks,
         int topK
     ) {
         logger.warnf("JinaReranker fallback: returning %d chunks in original order", 
             Integer.valueOf(Math.min(topK, chunks.size())));
+        LightRAGMetrics.recordRerank(PROVIDER_NAME, "fallback");
         return fallbackReranker.rerank(query, chunks, topK);
     }
     
     /**
-     * Converts API response to RerankedChunk list.
+     * Scores one sub-batch with a single API call. Requests every document
+     * back so all scores can be cached.
      */
-    private List<RerankedChunk> convertToRerankedChunks(
-        JinaRerankResponse response,
-        List<Chunk> originalChunks
-    ) {
-        List<JinaRerankResult> results = response.results();
-        double minScore = config.minScore();
-        
-        // Sort by relevance score descending
-        List<JinaRerankResult> sortedResults = new ArrayList<>(results);
-        sortedResults.sort(Comparator.comparingDouble(JinaRerankResult::relevanceScore).reversed());
+    private double[] scoreBatch(String authHeader, String model, String query, List<String> documents) {
+        JinaRerankRequest request = JinaRerankRequest.of(model, query, documents, documents.size());
+        JinaRerankResponse response = client.rerank(authHeader, request);
         
-        // Build reranked chunks with filtering
-        List<RerankedChunk> rerankedChunks = new ArrayList<>();
-        int newRank = 0;
+        // Track token usage if available
+        trackTokenUsage(response);
         
-        for (JinaRerankResult result : sortedResults) {
-            if (result.relevanceScore() < minScore) {
-                logger.debugf("Filtering chunk at index %d with score %.4f < minScore %.4f",
-                    Integer.valueOf(result.index()), Double.valueOf(result.relevanceScore()), Double.valueOf(minScore));
-                continue;
-            }
-            
-            int originalIndex = result.index();
-            if (originalIndex >= 0 && originalIndex < originalChunks.size()) {
-                Chunk chunk = originalChunks.get(originalIndex);
-                rerankedChunks.add(RerankedChunk.reranked(
-                    chunk,
-                    originalIndex,
-                    newRank++,
-                    result.relevanceScore()
-                ));
+        double[] scores = new double[documents.size()];
+        Arrays.fill(scores, Double.NaN);
+        for (JinaRerankResult result : response.results()) {
+            if (result.index() >= 0 && result.index() < scores.length) {
+                scores[result.index()] = result.relevanceScore();
             }
         }
-        
-        logger.debugf("JinaReranker: returned %d chunks after filtering (minScore=%.2f)",
-            Integer.valueOf(rerankedChunks.size()), Double.valueOf(minScore));
-        
-        return rerankedChunks;
+        return scores;
     }
     
     /**
@@ -0,0 +1,307 @@
+package br.edu.ifba.lightrag.rerank;
+
+import br.edu.ifba.lightrag.core.Chunk;
+import br.edu.ifba.lightrag.utils.LightRAGMetrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Shared scoring engine for remote rerankers.
+ *
+ * <p>Providers supply a {@link BatchScorer} that sends one HTTP request; this
+ * class decides which documents need it:</p>
+ * <ul>
+ *   <li>Scores are cached per project for (query, chunk) pairs with a TTL, so
+ *       repeated chat turns over the same sources skip the remote call. Queries
+ *       are normalized (case, whitespace, surrounding punctuation) before
+ *       hashing; the chunk content hash is part of the key so re-ingested
+ *       chunks are rescored.</li>
+ *   <li>Cache misses are split into sub-batches of {@code batch-size} and sent
+ *       in parallel. A fair semaphore bounds in-flight provider requests across
+ *       all callers to {@code max-concurrency}.</li>
+ *   <li>Cached and fresh scores are merged, sorted by score, filtered by the
+ *       minimum score and cut to topK.</li>
+ * </ul>
+ *
+ * <p>A failed sub-batch fails the whole call so the provider's fault tolerance
+ * fallback applies; partial rankings are never mixed with synthetic scores.</p>
+ */
+@ApplicationScoped
+public class RerankBatchExecutor {
+
+    private static final Logger logger = Logger.getLogger(RerankBatchExecutor.class);
+    private static final String CACHE_NAME = "rerank";
+
+    /**
+     * Scores one sub-batch of documents with a single provider request.
+     */
+    @FunctionalInterface
+    public interface BatchScorer {
+        /**
+         * @param documents document texts, at most {@code batch-size}
+         * @return relevance per document in input order; NaN where the provider
+         *         returned no score
+         */
+        double[] score(@NotNull List<String> documents);
+    }
+
+    private record CachedScore(double score, long expiresAt) {
+    }
+
+    @Inject
+    RerankerConfig config;
+
+    private final ConcurrentHashMap<String, CachedScore> cache = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private int batchSize;
+    private boolean cacheEnabled;
+    private long ttlMillis;
+    private int maxEntries;
+    private Semaphore permits;
+
+    /**
+     * CDI constructor; settings are read from {@link RerankerConfig} on startup.
+     */
+    RerankBatchExecutor() {
+    }
+
+    /**
+     * Creates an executor with explicit settings (for tests).
+     */
+    RerankBatchExecutor(int batchSize, int maxConcurrency, boolean cacheEnabled, @NotNull Duration ttl, int maxEntries) {
+        configure(batchSize, maxConcurrency, cacheEnabled, ttl, maxEntries);
+    }
+
+    @PostConstruct
+    void init() {
+        configure(config.batchSize(), config.maxConcurrency(), config.cache().enabled(),
+            Duration.ofSeconds(config.cache().ttlSeconds()), config.cache().maxEntries());
+        logger.infof("Rerank batching: batch-size=%d, max-concurrency=%d, cache=%s (ttl=%ds, max=%d)",
+            batchSize, permits.availablePermits(), cacheEnabled, ttlMillis / 1000, maxEntries);
+    }
+
+    private void configure(int batchSize, int maxConcurrency, boolean cacheEnabled, Duration ttl, int maxEntries) {
+        this.batchSize = Math.max(1, batchSize);
+        this.permits = new Semaphore(Math.max(1, maxConcurrency), true);
+        this.cacheEnabled = cacheEnabled && maxEntries > 0 && !ttl.isZero();
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = maxEntries;
+        LightRAGMetrics.bindPool(CACHE_NAME, permits, Semaphore::availablePermits, Semaphore::getQueueLength);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Reranks chunks, scoring only those without a cached score.
+     *
+     * @param provider provider name, part of the cache key
+     * @param model provider model, part of the cache key
+     * @param projectId project owning the chunks; null shares a global cache namespace
+     * @param query the user query
+     * @param chunks candidates in retrieval order
+     * @param topK maximum number of results
+     * @param minScore results scoring below this are dropped
+     * @param scorer the provider call for one sub-batch
+     * @return reranked chunks, best first
+     */
+    @NotNull
+    public List<RerankedChunk> rerank(
+        @NotNull String provider,
+        @NotNull String model,
+        @Nullable String projectId,
+        @NotNull String query,
+        @NotNull List<Chunk> chunks,
+        int topK,
+        double minScore,
+        @NotNull BatchScorer scorer
+    ) {
+        double[] scores = new double[chunks.size()];
+        String[] keys = new String[chunks.size()];
+        List<Integer> misses = new ArrayList<>();
+        String keyPrefix = cacheEnabled ? keyPrefix(provider, model, projectId, query) : null;
+        long now = System.currentTimeMillis();
+
+        for (int i = 0; i < chunks.size(); i++) {
+            Chunk chunk = chunks.get(i);
+            if (keyPrefix != null && chunk.getChunkId() != null) {
+                keys[i] = keyPrefix + chunk.getChunkId() + ":" + Integer.toHexString(chunk.getContent().hashCode());
+                CachedScore cached = cache.get(keys[i]);
+                boolean hit = cached != null && cached.expiresAt() > now;
+                LightRAGMetrics.recordCacheLookup(CACHE_NAME, hit);
+                if (hit) {
+                    scores[i] = cached.score();
+                    continue;
+                }
+            }
+            misses.add(i);
+        }
+
+        if (!misses.isEmpty()) {
+            scoreMisses(provider, chunks, misses, scores, scorer);
+            cacheScores(keys, misses, scores, now);
+        }
+        logger.debugf("Rerank %s: %d chunks, %d cached, %d scored remotely",
+            provider, chunks.size(), chunks.size() - misses.size(), misses.size());
+
+        return rank(chunks, scores, topK, minScore);
+    }
+
+    /**
+     * Scores cache misses in parallel sub-batches and writes results into {@code scores}.
+     */
+    private void scoreMisses(String provider, List<Chunk> chunks, List<Integer> misses,
+            double[] scores, BatchScorer scorer) {
+        List<List<Integer>> batches = new ArrayList<>();
+        for (int from = 0; from < misses.size(); from += batchSize) {
+            batches.add(misses.subList(from, Math.min(from + batchSize, misses.size())));
+        }
+
+        List<Future<double[]>> futures = new ArrayList<>(batches.size());
+        for (List<Integer> batch : batches) {
+            List<String> documents = batch.stream().map(i -> chunks.get(i).getContent()).toList();
+            futures.add(executor.submit(() -> scoreBatch(provider, documents, scorer)));
+        }
+
+        try {
+            for (int b = 0; b < batches.size(); b++) {
+                double[] batchScores = futures.get(b).get();
+                List<Integer> batch = batches.get(b);
+                for (int j = 0; j < batch.size(); j++) {
+                    scores[batch.get(j)] = j < batchScores.length ? batchScores[j] : Double.NaN;
+                }
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Rerank interrupted", e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException runtime
+                ? runtime
+                : new IllegalStateException("Rerank batch failed", cause);
+        }
+    }
+
+    private double[] scoreBatch(String provider, List<String> documents, BatchScorer scorer) throws InterruptedException {
+        permits.acquire();
+        Timer.Sample sample = LightRAGMetrics.startTimer();
+        boolean success = false;
+        try {
+            double[] result = scorer.score(documents);
+            success = true;
+            return result;
+        } finally {
+            permits.release();
+            LightRAGMetrics.recordRerankBatch(provider, sample, documents.size(), success);
+        }
+    }
+
+    private void cacheScores(String[] keys, List<Integer> scored, double[] scores, long now) {
+        if (!cacheEnabled) {
+            return;
+        }
+        if (cache.size() + scored.size() > maxEntries) {
+            evict(now);
+        }
+        long expiresAt = now + ttlMillis;
+        for (int i : scored) {
+            if (keys[i] != null && !Double.isNaN(scores[i])) {
+                cache.put(keys[i], new CachedScore(scores[i], expiresAt));
+            }
+        }
+    }
+
+    /**
+     * Drops expired entries, then the oldest half if the cache is still full.
+     */
+    private void evict(long now) {
+        cache.entrySet().removeIf(entry -> entry.getValue().expiresAt() <= now);
+        if (cache.size() >= maxEntries / 2) {
+            int toRemove = cache.size() - maxEntries / 2;
+            cache.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().expiresAt()))
+                .limit(toRemove)
+                .map(java.util.Map.Entry::getKey)
+                .toList()
+                .forEach(cache::remove);
+        }
+        logger.debugf("Rerank cache eviction complete, current size: %d", cache.size());
+    }
+
+    private static List<RerankedChunk> rank(List<Chunk> chunks, double[] scores, int topK, double minScore) {
+        Integer[] order = new Integer[chunks.size()];
+        Arrays.setAll(order, i -> i);
+        // Stable sort keeps retrieval order on equal scores
+        Arrays.sort(order, Comparator.comparingDouble((Integer i) -> scores[i]).reversed());
+
+        List<RerankedChunk> result = new ArrayList<>(Math.min(topK, chunks.size()));
+        int filtered = 0;
+        for (int i : order) {
+            if (result.size() >= topK) {
+                break;
+            }
+            if (Double.isNaN(scores[i]) || scores[i] < minScore) {
+                filtered++;
+                continue;
+            }
+            result.add(RerankedChunk.reranked(chunks.get(i), i, result.size(), scores[i]));
+        }
+        if (filtered > 0) {
+            logger.debugf("Filtered %d chunks below minScore threshold of %.2f",
+                Integer.valueOf(filtered), Double.valueOf(minScore));
+        }
+        return result;
+    }
+
+    /**
+     * Builds the cache key prefix from project, provider, model and normalized query.
+     */
+    private static String keyPrefix(String provider, String model, @Nullable String projectId, String query) {
+        String normalized = query.strip()
+            .toLowerCase(Locale.ROOT)
+            .replaceAll("\\s+", " ")
+            .replaceAll("^\\p{Punct}+|\\p{Punct}+$", "");
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return (projectId != null ? projectId : "global") + ":" + provider + ":" + model + ":"
+                + HexFormat.of().formatHex(hash, 0, 16) + ":";
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is always available
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Number of cached scores (for tests and diagnostics).
+     */
+    int cacheSize() {
+        return cache.size();
+    }
+}
@@ -2,6 +2,7 @@ package br.edu.ifba.lightrag.rerank;
 
 import br.edu.ifba.lightrag.core.Chunk;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 
@@ -50,6 +51,28 @@ public interface Reranker {
         int topK
     );
     
+    /**
+     * Reranks chunks belonging to a project.
+     * 
+     * <p>The project scopes any cached relevance scores. The default
+     * implementation ignores it and delegates to {@link #rerank(String, List, int)}.
+     *
+     * @param projectId the project owning the chunks, or null if unknown
+     * @param query  the user's query string (required)
+     * @param chunks chunks to rerank (required, non-empty)
+     * @param topK   maximum number of chunks to return
+     * @return reranked chunks with scores, or original order on failure
+     */
+    @NotNull
+    default List<RerankedChunk> rerank(
+        @Nullable String projectId,
+        @NotNull String query,
+        @NotNull List<Chunk> chunks,
+        int topK
+    ) {
+        return rerank(query, chunks, topK);
+    }
+    
     /**
      * Checks if the reranker provider is available.
      * 
@@ -18,6 +18,9 @@ import io.smallrye.config.WithName;
  * lightrag.rerank.provider=cohere
  * lightrag.rerank.min-score=0.1
  * lightrag.rerank.fallback-timeout-ms=2000
+ * lightrag.rerank.batch-size=32
+ * lightrag.rerank.max-concurrency=4
+ * lightrag.rerank.cache.ttl-seconds=900
  * lightrag.rerank.cohere.api-key=${COHERE_API_KEY}
  * lightrag.rerank.cohere.model=rerank-english-v3.0
  * </pre>
@@ -60,6 +63,32 @@ public interface RerankerConfig {
     @WithDefault("2000")
     int fallbackTimeoutMs();
     
+    /**
+     * Maximum documents per provider request; larger candidate sets are split
+     * into sub-batches scored in parallel.
+     *
+     * @return documents per request
+     */
+    @WithName("batch-size")
+    @WithDefault("32")
+    int batchSize();
+    
+    /**
+     * Maximum provider requests in flight across all rerank calls.
+     *
+     * @return concurrent request limit
+     */
+    @WithName("max-concurrency")
+    @WithDefault("4")
+    int maxConcurrency();
+    
+    /**
+     * Relevance score cache configuration.
+     *
+     * @return cache configuration
+     */
+    CacheConfig cache();
+    
     /**
      * Cohere-specific configuration.
      *
@@ -74,6 +103,38 @@ public interface RerankerConfig {
      */
     JinaConfig jina();
     
+    /**
+     * Configuration for the per-project (query, chunk) score cache.
+     */
+    interface CacheConfig {
+        
+        /**
+         * Whether rerank scores are cached.
+         *
+         * @return true if caching is enabled
+         */
+        @WithDefault("true")
+        boolean enabled();
+        
+        /**
+         * How long a cached score stays valid.
+         *
+         * @return TTL in seconds
+         */
+        @WithName("ttl-seconds")
+        @WithDefault("900")
+        int ttlSeconds();
+        
+        /**
+         * Maximum cached scores before eviction.
+         *
+         * @return entry limit
+         */
+        @WithName("max-entries")
+        @WithDefault("20000")
+        int maxEntries();
+    }
+    
     /**
      * Configuration for Cohere reranker.
      */
@@ -5,6 +5,7 @@ import br.edu.ifba.lightrag.core.ExtractionCache;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -75,6 +76,49 @@ public interface ExtractionCacheStorage extends AutoCloseable {
         @NotNull String chunkId
     );
     
+    /**
+     * Gets all extraction results for a set of chunks in one lookup.
+     * 
+     * <p>The default implementation calls {@link #getByChunkId} per chunk;
+     * database backends override it with a single set-based query.</p>
+     *
+     * @param projectId the project ID (required)
+     * @param chunkIds the chunk IDs (required)
+     * @return CompletableFuture with cache entries of all given chunks
+     */
+    default CompletableFuture<List<ExtractionCache>> getByChunkIds(
+        @NotNull String projectId,
+        @NotNull Collection<String> chunkIds
+    ) {
+        List<CompletableFuture<List<ExtractionCache>>> futures = chunkIds.stream()
+            .map(chunkId -> getByChunkId(projectId, chunkId))
+            .toList();
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+            .thenApply(v -> futures.stream()
+                .map(CompletableFuture::join)
+                .flatMap(List::stream)
+                .toList());
+    }
+    
+    /**
+     * Detaches cache entries from deleted chunks (sets chunk_id to NULL).
+     * 
+     * <p>Entries are kept so that re-ingesting identical content still hits the
+     * cache by content hash. Backends whose schema declares
+     * {@code ON DELETE SET NULL} on chunk_id get this for free, which is what
+     * the default no-op assumes.</p>
+     *
+     * @param projectId the project ID (required)
+     * @param chunkIds the deleted chunk IDs (required)
+     * @return CompletableFuture with count of detached entries
+     */
+    default CompletableFuture<Integer> detachChunks(
+        @NotNull String projectId,
+        @NotNull Collection<String> chunkIds
+    ) {
+        return CompletableFuture.completedFuture(0);
+    }
+    
     /**
      * Deletes all cache entries for a project.
      *
@@ -83,6 +127,16 @@ public interface ExtractionCacheStorage extends AutoCloseable {
      */
     CompletableFuture<Integer> deleteByProject(@NotNull String projectId);
     
+    /**
+     * Deletes a project's cache entries of one type, leaving other types intact
+     * (e.g. dropping cached query answers without losing extraction results).
+     *
+     * @param projectId the project ID (required)
+     * @param cacheType the cache type to delete (required)
+     * @return CompletableFuture with count of deleted entries
+     */
+    CompletableFuture<Integer> deleteByProjectAndType(@NotNull String projectId, @NotNull CacheType cacheType);
+    
     /**
      * Closes resources.
      */
@@ -172,7 +172,39 @@ public interface GraphStorage extends AutoCloseable {
      * @throws IllegalStateException if graph doesn't exist for project
      */
     CompletableFuture<List<Relation>> getRelationsForEntity(@NotNull String projectId, @NotNull String entityName);
-    
+
+    /**
+     * Gets the relations of several entities in one lookup.
+     *
+     * Equivalent to calling {@link #getRelationsForEntity} for each name, but
+     * backends answer it with a single query. A relation between two requested
+     * entities is listed under both.
+     *
+     * The default implementation issues one {@link #getRelationsForEntity}
+     * call per distinct name.
+     *
+     * @param projectId the project UUID (routes to project's graph)
+     * @param entityNames the entity names
+     * @return a CompletableFuture<Map<String, List<Relation>>> mapping each requested name
+     *         (as given) to its relations, empty if it has none
+     * @throws IllegalArgumentException if projectId is null or invalid UUID format
+     * @throws IllegalStateException if graph doesn't exist for project
+     */
+    default CompletableFuture<java.util.Map<String, List<Relation>>> getRelationsForEntities(
+            @NotNull String projectId,
+            @NotNull java.util.Collection<String> entityNames) {
+        java.util.Map<String, CompletableFuture<List<Relation>>> futures = new java.util.LinkedHashMap<>();
+        for (String entityName : entityNames) {
+            futures.computeIfAbsent(entityName, name -> getRelationsForEntity(projectId, name));
+        }
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+            .thenApply(v -> {
+                java.util.Map<String, List<Relation>> relations = new java.util.LinkedHashMap<>();
+                futures.forEach((name, future) -> relations.put(name, future.join()));
+                return relations;
+            });
+    }
+
     /**
      * Gets all entities from the project's graph.
      * 
@@ -335,6 +367,35 @@ public interface GraphStorage extends AutoCloseable {
      */
     CompletableFuture<Void> updateEntityDescription(@NotNull String projectId, @NotNull String entityName, @NotNull String description, @NotNull java.util.Set<String> sourceIds);
     
+    /**
+     * Applies the graph side of a bulk document deletion as one unit of work.
+     * 
+     * Deletes the given entities (with every relation touching them) and the given
+     * relations, then rewrites the source chunk IDs of surviving entities and
+     * relations. Descriptions of pruned items are left as-is; rebuilding them is
+     * the caller's concern.
+     * 
+     * The default implementation composes the existing batch operations.
+     * Backends that can do better (a single transaction with set-based
+     * statements) should override it.
+     *
+     * @param projectId the project UUID
+     * @param deletion the entities/relations to delete and the pruned survivors
+     * @return a CompletableFuture that completes when all changes are applied
+     * @throws IllegalArgumentException if projectId is null or invalid UUID format
+     * @since spec-007
+     */
+    default CompletableFuture<Void> applyBulkDeletion(@NotNull String projectId, @NotNull BulkDeletion deletion) {
+        return deleteRelations(projectId, deletion.relationKeys())
+            .thenCompose(r -> deleteEntities(projectId, deletion.entityNames()))
+            .thenCompose(e -> deletion.prunedEntities().isEmpty()
+                ? CompletableFuture.<Void>completedFuture(null)
+                : upsertEntities(projectId, deletion.prunedEntities()))
+            .thenCompose(v -> deletion.prunedRelations().isEmpty()
+                ? CompletableFuture.<Void>completedFuture(null)
+                : upsertRelations(projectId, deletion.prunedRelations()));
+    }
+    
     // ===== Traversal Operations =====
     
     /**
@@ -454,6 +515,26 @@ public interface GraphStorage extends AutoCloseable {
             @NotNull List<Relation> relations) {
     }
     
+    /**
+     * Graph changes computed for a bulk document deletion.
+     *
+     * @param entityNames entities with no remaining sources (deleted with their relations)
+     * @param relationKeys relations with no remaining sources, in "source->target" format
+     * @param prunedEntities surviving entities carrying their remaining source chunk IDs
+     * @param prunedRelations surviving relations carrying their remaining source chunk IDs
+     */
+    record BulkDeletion(
+            @NotNull java.util.Set<String> entityNames,
+            @NotNull java.util.Set<String> relationKeys,
+            @NotNull List<Entity> prunedEntities,
+            @NotNull List<Relation> prunedRelations) {
+
+        public boolean isEmpty() {
+            return entityNames.isEmpty() && relationKeys.isEmpty()
+                    && prunedEntities.isEmpty() && prunedRelations.isEmpty();
+        }
+    }
+    
     /**
      * Represents statistics about the graph.
      */
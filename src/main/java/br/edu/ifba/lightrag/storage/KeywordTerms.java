@@ -0,0 +1,72 @@
+package br.edu.ifba.lightrag.storage;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts search terms for {@link VectorStorage#keywordQuery}.
+ *
+ * Terms are lowercased word tokens (letters, digits and underscores) of at
+ * least two characters, deduplicated in order of appearance, with common
+ * English stopwords removed. Backends quote the terms before building their
+ * full-text query, so user input never reaches the query syntax unescaped.
+ */
+public final class KeywordTerms {
+
+    /** Upper bound on terms per query, keeps OR-queries cheap to evaluate. */
+    public static final int MAX_TERMS = 32;
+
+    private static final Pattern TOKEN = Pattern.compile("[\\p{L}\\p{N}_]+");
+
+    private static final Set<String> STOPWORDS = Set.of(
+        "a", "an", "and", "are", "as", "at", "be", "by", "do", "does", "for", "from",
+        "how", "in", "is", "it", "its", "of", "on", "or", "that", "the", "this", "to",
+        "was", "were", "what", "when", "where", "which", "who", "why", "with"
+    );
+
+    private KeywordTerms() {
+    }
+
+    /**
+     * Extracts up to {@link #MAX_TERMS} distinct search terms from text.
+     *
+     * @param text the raw query text
+     * @return the terms in order of first appearance; empty if none qualify
+     */
+    public static List<String> of(@NotNull String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        Matcher matcher = TOKEN.matcher(text);
+        while (matcher.find() && terms.size() < MAX_TERMS) {
+            String term = matcher.group().toLowerCase(Locale.ROOT);
+            if (term.length() >= 2 && !STOPWORDS.contains(term)) {
+                terms.add(term);
+            }
+        }
+        return new ArrayList<>(terms);
+    }
+
+    /**
+     * Splits text into lowercased word tokens, keeping duplicates and
+     * stopwords. Used by backends that score documents themselves.
+     *
+     * @param text the document text
+     * @return all tokens of at least two characters, in order
+     */
+    public static List<String> tokenize(@NotNull String text) {
+        List<String> tokens = new ArrayList<>();
+        Matcher matcher = TOKEN.matcher(text);
+        while (matcher.find()) {
+            if (matcher.end() - matcher.start() >= 2) {
+                tokens.add(matcher.group().toLowerCase(Locale.ROOT));
+            }
+        }
+        return tokens;
+    }
+}
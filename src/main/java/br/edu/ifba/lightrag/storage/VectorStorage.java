@@ -49,7 +49,36 @@ public interface VectorStorage extends AutoCloseable {
             @NotNull Object queryVector, 
             int topK, 
             VectorFilter filter);
-    
+
+    /**
+     * Whether this storage maintains a lexical index over chunk content.
+     *
+     * @return true if {@link #keywordQuery} returns ranked results
+     */
+    default boolean supportsKeywordSearch() {
+        return false;
+    }
+
+    /**
+     * Full-text search over chunk content, ranked by term relevance (BM25 or
+     * the backend's closest equivalent). Higher scores are better.
+     *
+     * Complements {@link #query} for exact identifiers, acronyms and rare
+     * terms that embeddings tend to miss. The default implementation returns
+     * no results.
+     *
+     * @param queryText the raw query text; terms are extracted by {@link KeywordTerms}
+     * @param topK the number of top results to return
+     * @param filter metadata filter; only the "chunk" type is indexed
+     * @return a list of search results ordered by descending relevance
+     */
+    default CompletableFuture<List<VectorSearchResult>> keywordQuery(
+            @NotNull String queryText,
+            int topK,
+            VectorFilter filter) {
+        return CompletableFuture.completedFuture(List.of());
+    }
+
     /**
      * Deletes a vector by ID.
      *
@@ -92,6 +121,32 @@ public interface VectorStorage extends AutoCloseable {
      */
     CompletableFuture<Integer> deleteChunkEmbeddings(@NotNull String projectId, @NotNull java.util.Set<String> chunkIds);
     
+    /**
+     * Deletes entity and chunk embeddings of a bulk document deletion together.
+     * 
+     * The default implementation runs {@link #deleteEntityEmbeddings} and
+     * {@link #deleteChunkEmbeddings}; database backends override it to apply
+     * both in a single transaction.
+     *
+     * @param projectId the project UUID
+     * @param entityNames entity names whose embeddings are removed
+     * @param chunkIds chunk IDs whose embeddings are removed
+     * @return a CompletableFuture<Integer> - total number of embeddings deleted
+     * @since spec-007
+     */
+    default CompletableFuture<Integer> deleteEmbeddings(
+            @NotNull String projectId,
+            @NotNull java.util.Set<String> entityNames,
+            @NotNull java.util.Set<String> chunkIds) {
+        CompletableFuture<Integer> entities = entityNames.isEmpty()
+            ? CompletableFuture.completedFuture(0)
+            : deleteEntityEmbeddings(projectId, entityNames);
+        CompletableFuture<Integer> chunks = chunkIds.isEmpty()
+            ? CompletableFuture.completedFuture(0)
+            : deleteChunkEmbeddings(projectId, chunkIds);
+        return entities.thenCombine(chunks, Integer::sum);
+    }
+    
     /**
      * Gets all chunk IDs belonging to a document.
      * 
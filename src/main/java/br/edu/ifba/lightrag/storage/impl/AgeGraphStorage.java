@@ -38,6 +38,9 @@ public class AgeGraphStorage implements GraphStorage {
     
     private static final Logger logger = LoggerFactory.getLogger(AgeGraphStorage.class);
     
+    /** Entity names per Cypher IN list of a multi-entity relation lookup. */
+    private static final int RELATION_LOOKUP_BATCH_SIZE = 500;
+    
     @Inject
     AgeConfig config;
     
@@ -618,6 +621,88 @@ public class AgeGraphStorage implements GraphStorage {
         }, executor);
     }
     
+    @Override
+    @Retry(maxRetries = 3, delay = 200, delayUnit = ChronoUnit.MILLIS, maxDuration = 30, durationUnit = ChronoUnit.SECONDS)
+    @ExponentialBackoff(maxDelay = 5, maxDelayUnit = ChronoUnit.SECONDS)
+    @RetryWhen(exception = TransientSQLExceptionPredicate.class)
+    public CompletableFuture<java.util.Map<String, List<Relation>>> getRelationsForEntities(
+            @NotNull String projectId,
+            @NotNull java.util.Collection<String> entityNames) {
+        
+        if (entityNames.isEmpty()) {
+            return CompletableFuture.completedFuture(java.util.Map.of());
+        }
+        
+        return CompletableFuture.supplyAsync(() -> {
+            validateProjectId(projectId);
+            validateGraphExists(projectId);
+            String graphName = getGraphName(projectId);
+            
+            // Relations are keyed by the normalized name of the matched entity,
+            // which is also their source id (as in getRelationsForEntity)
+            java.util.Map<String, List<Relation>> byName = new java.util.HashMap<>();
+            for (String entityName : entityNames) {
+                byName.putIfAbsent(normalizeEntityName(entityName), new ArrayList<>());
+            }
+            List<String> names = new ArrayList<>(byName.keySet());
+            
+            try (Connection conn = config.getConnection();
+                 Statement stmt = conn.createStatement()) {
+                
+                stmt.execute("LOAD 'age'");
+                stmt.execute("SET search_path = ag_catalog, \"$user\", public");
+                
+                // Process entities in batches
+                for (int i = 0; i < names.size(); i += RELATION_LOOKUP_BATCH_SIZE) {
+                    int endIndex = Math.min(i + RELATION_LOOKUP_BATCH_SIZE, names.size());
+                    List<String> batch = names.subList(i, endIndex);
+                    
+                    String namesClause = batch.stream()
+                        .map(name -> "'" + escapeCypher(name) + "'")
+                        .reduce((a, b) -> a + ", " + b)
+                        .orElse("");
+                    
+                    String cypher = String.format(
+                        "MATCH (e:Entity)-[r:RELATED_TO]-(other:Entity) WHERE e.name IN [%s] " +
+                        "RETURN e.name, other.name, r",
+                        namesClause
+                    );
+                    
+                    String sql = String.format(
+                        "SELECT * FROM ag_catalog.cypher('%s', $$ %s $$) AS (src_name agtype, tgt_name agtype, r agtype)",
+                        graphName,
+                        cypher
+                    );
+                    
+                    try (ResultSet rs = stmt.executeQuery(sql)) {
+                        while (rs.next()) {
+                            String srcName = cleanAgtypeString(rs.getString(1));
+                            String tgtName = cleanAgtypeString(rs.getString(2));
+                            Relation relation = parseRelationFromAgtype(srcName, tgtName, rs.getString(3));
+                            List<Relation> relations = byName.get(srcName);
+                            if (relation != null && relations != null) {
+                                relations.add(relation);
+                            }
+                        }
+                    }
+                }
+                
+                logger.debug("Retrieved relations for {} entities on graph {} for project {}", 
+                    names.size(), graphName, projectId);
+                
+            } catch (SQLException e) {
+                logger.error("Failed to get relations for entities for project: {}", projectId, e);
+                throw new RuntimeException("Failed to get relations for entities", e);
+            }
+            
+            java.util.Map<String, List<Relation>> relations = new java.util.HashMap<>();
+            for (String entityName : entityNames) {
+                relations.put(entityName, byName.get(normalizeEntityName(entityName)));
+            }
+            return relations;
+        }, executor);
+    }
+    
     @Override
     @Retry(maxRetries = 3, delay = 200, delayUnit = ChronoUnit.MILLIS, maxDuration = 30, durationUnit = ChronoUnit.SECONDS)
     @ExponentialBackoff(maxDelay = 5, maxDelayUnit = ChronoUnit.SECONDS)
@@ -1617,6 +1702,81 @@ public class AgeGraphStorage implements GraphStorage {
             }
         }, executor);
     }
+
+    /**
+     * Applies a bulk deletion on one connection inside a single transaction.
+     * Entities are removed with a list-based {@code MATCH ... WHERE e.name IN [...]
+     * DETACH DELETE e}, which also drops their relations.
+     */
+    @Override
+    @Retry(maxRetries = 3, delay = 200, delayUnit = ChronoUnit.MILLIS, maxDuration = 30, durationUnit = ChronoUnit.SECONDS)
+    @ExponentialBackoff(maxDelay = 5, maxDelayUnit = ChronoUnit.SECONDS)
+    @RetryWhen(exception = TransientSQLExceptionPredicate.class)
+    public CompletableFuture<Void> applyBulkDeletion(@NotNull String projectId, @NotNull BulkDeletion deletion) {
+        if (deletion.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return CompletableFuture.runAsync(() -> {
+            validateProjectId(projectId);
+            validateGraphExists(projectId);
+            String graphName = getGraphName(projectId);
+
+            try (Connection conn = config.getConnection()) {
+                conn.setAutoCommit(false);
+
+                try {
+                    for (String relationKey : deletion.relationKeys()) {
+                        String[] parts = relationKey.split("->");
+                        if (parts.length != 2) {
+                            logger.warn("Invalid relation key format: {}", relationKey);
+                            continue;
+                        }
+                        executeCypherWithConnection(conn, graphName, String.format(
+                            "MATCH (src:Entity {name: '%s'})-[r:RELATED_TO]->(tgt:Entity {name: '%s'}) DELETE r",
+                            escapeCypher(normalizeEntityName(parts[0].trim())),
+                            escapeCypher(normalizeEntityName(parts[1].trim()))));
+                    }
+
+                    List<String> names = deletion.entityNames().stream()
+                        .map(name -> "'" + escapeCypher(normalizeEntityName(name)) + "'")
+                        .distinct()
+                        .toList();
+                    for (int i = 0; i < names.size(); i += 500) {
+                        String list = String.join(", ", names.subList(i, Math.min(i + 500, names.size())));
+                        executeCypherWithConnection(conn, graphName,
+                            "MATCH (e:Entity) WHERE e.name IN [" + list + "] DETACH DELETE e");
+                    }
+
+                    for (Entity entity : deletion.prunedEntities()) {
+                        executeCypherWithConnection(conn, graphName, String.format(
+                            "MATCH (e:Entity {name: '%s'}) SET e.source_chunk_ids = '%s' RETURN e",
+                            escapeCypher(normalizeEntityName(entity.getEntityName())),
+                            escapeCypher(serializeSourceChunkIds(entity.getSourceChunkIds()))));
+                    }
+
+                    for (Relation relation : deletion.prunedRelations()) {
+                        executeCypherWithConnection(conn, graphName, String.format(
+                            "MATCH (src:Entity {name: '%s'})-[r:RELATED_TO]->(tgt:Entity {name: '%s'}) " +
+                            "SET r.source_chunk_ids = '%s' RETURN r",
+                            escapeCypher(normalizeEntityName(relation.getSrcId())),
+                            escapeCypher(normalizeEntityName(relation.getTgtId())),
+                            escapeCypher(serializeSourceChunkIds(relation.getSourceChunkIds()))));
+                    }
+
+                    conn.commit();
+                    logger.debug("Applied bulk deletion on graph {} for project {}: {} entities, {} relations deleted",
+                        graphName, projectId, names.size(), deletion.relationKeys().size());
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                }
+            } catch (SQLException e) {
+                logger.error("Failed to apply bulk deletion for project: {}", projectId, e);
+                throw new RuntimeException("Failed to apply bulk deletion", e);
+            }
+        }, executor);
+    }
     
     @Override
     public void close() throws Exception {
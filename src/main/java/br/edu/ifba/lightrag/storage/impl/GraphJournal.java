@@ -0,0 +1,391 @@
+package br.edu.ifba.lightrag.storage.impl;
+
+import br.edu.ifba.lightrag.core.Entity;
+import br.edu.ifba.lightrag.core.Relation;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Local-disk persistence of one {@link InMemoryProjectGraph}: a binary
+ * snapshot plus an append-only write-ahead log.
+ *
+ * <p>
+ * Every mutation batch is appended to {@code wal.bin} as a length-prefixed,
+ * CRC-checked record and forced to disk before the graph applies it, so a
+ * change that was applied survives a crash. Once {@code snapshotEvery} items have been logged, the
+ * graph is written to {@code snapshot.bin.tmp}, fsynced, atomically moved over
+ * {@code snapshot.bin} and the log is truncated. Startup reads the snapshot
+ * and replays the log; a torn trailing record from a crash is discarded.
+ * </p>
+ *
+ * <p>
+ * Not thread-safe: callers hold the owning graph's write lock.
+ * </p>
+ */
+final class GraphJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(GraphJournal.class);
+
+    static final String SNAPSHOT_FILE = "snapshot.bin";
+    static final String WAL_FILE = "wal.bin";
+
+    private static final int SNAPSHOT_MAGIC = 0x4C524753; // "LRGS"
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private static final byte UPSERT_ENTITIES = 1;
+    private static final byte UPSERT_RELATIONS = 2;
+    private static final byte DELETE_ENTITIES = 3;
+    private static final byte DELETE_RELATIONS = 4;
+
+    private final Path directory;
+    private final int snapshotEvery;
+    private FileChannel walChannel;
+    private DataOutputStream wal;
+    private long loggedItems;
+    private boolean tornLog;
+
+    /**
+     * @param directory     directory holding this project's files
+     * @param snapshotEvery logged items (entities, relations or deletions)
+     *                      after which a snapshot is written
+     */
+    GraphJournal(@NotNull Path directory, int snapshotEvery) {
+        this.directory = directory;
+        this.snapshotEvery = Math.max(1, snapshotEvery);
+    }
+
+    // ===== Write-ahead log =====
+
+    void logUpsertEntities(@NotNull List<Entity> entities) {
+        append(UPSERT_ENTITIES, entities.size(), out -> {
+            for (Entity entity : entities) {
+                writeEntity(out, entity);
+            }
+        });
+    }
+
+    void logUpsertRelations(@NotNull List<Relation> relations) {
+        append(UPSERT_RELATIONS, relations.size(), out -> {
+            for (Relation relation : relations) {
+                writeRelation(out, relation);
+            }
+        });
+    }
+
+    void logDeleteEntities(@NotNull Collection<String> entityNames) {
+        append(DELETE_ENTITIES, entityNames.size(), out -> {
+            for (String name : entityNames) {
+                writeString(out, name);
+            }
+        });
+    }
+
+    void logDeleteRelations(@NotNull List<InMemoryProjectGraph.EdgeKey> keys) {
+        append(DELETE_RELATIONS, keys.size(), out -> {
+            for (InMemoryProjectGraph.EdgeKey key : keys) {
+                writeString(out, key.srcId());
+                writeString(out, key.tgtId());
+            }
+        });
+    }
+
+    boolean needsSnapshot() {
+        // A torn log must be compacted before anything is appended after it
+        return tornLog || loggedItems >= snapshotEvery;
+    }
+
+    // ===== Snapshot =====
+
+    /**
+     * Writes a full snapshot and truncates the write-ahead log.
+     */
+    void snapshot(@NotNull List<Entity> entities, @NotNull List<Relation> relations) {
+        try {
+            Files.createDirectories(directory);
+            Path tmp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                    DataOutputStream out = new DataOutputStream(
+                            new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeInt(entities.size());
+                for (Entity entity : entities) {
+                    writeEntity(out, entity);
+                }
+                out.writeInt(relations.size());
+                for (Relation relation : relations) {
+                    writeRelation(out, relation);
+                }
+                out.flush();
+                channel.force(true);
+            }
+            Files.move(tmp, directory.resolve(SNAPSHOT_FILE),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            closeWal();
+            Files.newOutputStream(directory.resolve(WAL_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING).close();
+            loggedItems = 0;
+            tornLog = false;
+            logger.debug("Wrote graph snapshot to {}: {} entities, {} relations",
+                    directory, entities.size(), relations.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write graph snapshot to " + directory, e);
+        }
+    }
+
+    /**
+     * Loads the snapshot and replays the write-ahead log into the graph.
+     */
+    void replay(@NotNull InMemoryProjectGraph graph) {
+        try {
+            Path snapshot = directory.resolve(SNAPSHOT_FILE);
+            if (Files.exists(snapshot)) {
+                try (DataInputStream in = new DataInputStream(
+                        new BufferedInputStream(Files.newInputStream(snapshot), 1 << 16))) {
+                    if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                        throw new IOException("Unrecognized graph snapshot format: " + snapshot);
+                    }
+                    int entityCount = in.readInt();
+                    for (int i = 0; i < entityCount; i++) {
+                        graph.applyEntity(readEntity(in));
+                    }
+                    int relationCount = in.readInt();
+                    for (int i = 0; i < relationCount; i++) {
+                        graph.applyRelation(readRelation(in));
+                    }
+                }
+            }
+
+            Path walFile = directory.resolve(WAL_FILE);
+            if (Files.exists(walFile)) {
+                try (DataInputStream in = new DataInputStream(
+                        new BufferedInputStream(Files.newInputStream(walFile), 1 << 16))) {
+                    loggedItems = replayWal(in, graph);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load graph from " + directory, e);
+        }
+    }
+
+    /**
+     * Deletes this project's files.
+     */
+    void delete() {
+        closeWal();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        } catch (NoSuchFileException e) {
+            // Nothing persisted yet
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete graph files in " + directory, e);
+        }
+        loggedItems = 0;
+    }
+
+    void close() {
+        closeWal();
+    }
+
+    // ===== Internals =====
+
+    @FunctionalInterface
+    private interface RecordWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private void append(byte type, int items, RecordWriter writer) {
+        if (items == 0) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            DataOutputStream payload = new DataOutputStream(buffer);
+            payload.writeByte(type);
+            payload.writeInt(items);
+            writer.write(payload);
+            payload.flush();
+            byte[] bytes = buffer.toByteArray();
+
+            CRC32 crc = new CRC32();
+            crc.update(bytes);
+
+            DataOutputStream out = wal();
+            out.writeInt(bytes.length);
+            out.writeInt((int) crc.getValue());
+            out.write(bytes);
+            out.flush();
+            walChannel.force(false);
+            loggedItems += items;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to graph log in " + directory, e);
+        }
+    }
+
+    private long replayWal(DataInputStream in, InMemoryProjectGraph graph) throws IOException {
+        long items = 0;
+        while (true) {
+            int first = in.read();
+            if (first < 0) {
+                return items;
+            }
+            byte[] bytes;
+            try {
+                int length = (first << 24) | (in.readUnsignedByte() << 16)
+                        | (in.readUnsignedByte() << 8) | in.readUnsignedByte();
+                int checksum = in.readInt();
+                bytes = length >= 0 ? in.readNBytes(length) : new byte[0];
+                CRC32 crc = new CRC32();
+                crc.update(bytes);
+                if (length < 0 || bytes.length != length || (int) crc.getValue() != checksum) {
+                    throw new EOFException("Incomplete or corrupt record");
+                }
+            } catch (EOFException e) {
+                logger.warn("Discarding torn record at the end of graph log in {}", directory);
+                tornLog = true;
+                return items;
+            }
+            items += applyRecord(new DataInputStream(new ByteArrayInputStream(bytes)), graph);
+        }
+    }
+
+    private static int applyRecord(DataInputStream in, InMemoryProjectGraph graph) throws IOException {
+        byte type = in.readByte();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            switch (type) {
+                case UPSERT_ENTITIES -> graph.applyEntity(readEntity(in));
+                case UPSERT_RELATIONS -> graph.applyRelation(readRelation(in));
+                case DELETE_ENTITIES -> graph.applyDeleteEntity(readString(in));
+                case DELETE_RELATIONS -> graph.applyDeleteRelation(readString(in), readString(in));
+                default -> throw new IOException("Unknown graph log record type: " + type);
+            }
+        }
+        return count;
+    }
+
+    private DataOutputStream wal() throws IOException {
+        if (wal == null) {
+            Files.createDirectories(directory);
+            walChannel = FileChannel.open(directory.resolve(WAL_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            wal = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(walChannel)));
+        }
+        return wal;
+    }
+
+    private void closeWal() {
+        if (wal != null) {
+            try {
+                wal.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close graph log in {}", directory, e);
+            }
+            wal = null;
+            walChannel = null;
+        }
+    }
+
+    private static void writeEntity(DataOutputStream out, Entity entity) throws IOException {
+        writeString(out, entity.getEntityName());
+        writeString(out, entity.getEntityType());
+        writeString(out, entity.getDescription());
+        writeString(out, entity.getFilePath());
+        writeString(out, entity.getDocumentId());
+        writeStrings(out, entity.getSourceChunkIds());
+    }
+
+    private static Entity readEntity(DataInputStream in) throws IOException {
+        return new Entity(readString(in), readString(in), readString(in), readString(in),
+                readString(in), readStrings(in));
+    }
+
+    private static void writeRelation(DataOutputStream out, Relation relation) throws IOException {
+        writeString(out, relation.getSrcId());
+        writeString(out, relation.getTgtId());
+        writeString(out, relation.getDescription());
+        writeString(out, relation.getKeywords());
+        out.writeDouble(relation.getWeight());
+        writeString(out, relation.getFilePath());
+        writeString(out, relation.getDocumentId());
+        writeStrings(out, relation.getSourceChunkIds());
+    }
+
+    private static Relation readRelation(DataInputStream in) throws IOException {
+        String srcId = readString(in);
+        String tgtId = readString(in);
+        String description = readString(in);
+        String keywords = readString(in);
+        double weight = in.readDouble();
+        return new Relation(srcId, tgtId, description, keywords, weight, readString(in), readString(in),
+                readStrings(in));
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+
+    // Length-prefixed UTF-8 (writeUTF is limited to 64 KB), -1 for null
+    private static void writeString(DataOutputStream out, @Nullable String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    @Nullable
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -4,45 +4,80 @@ import br.edu.ifba.lightrag.core.Entity;
 import br.edu.ifba.lightrag.core.Relation;
 import br.edu.ifba.lightrag.storage.GraphStorage;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 /**
  * In-memory graph storage implementation inspired by NetworkX.
- * Uses adjacency lists for efficient graph operations.
- * Thread-safe with ConcurrentHashMap backing.
+ * 
+ * <p>Each project is an isolated shard ({@link InMemoryProjectGraph}) with
+ * int-interned node ids and compact adjacency arrays, so project-scoped
+ * operations never touch other tenants. Shards are created on first write.</p>
+ * 
+ * <p>Without a data directory the graph lives only in memory (tests,
+ * benchmarks). With one, every project is persisted under
+ * {@code <dataDirectory>/<project>/} as a periodic snapshot plus a
+ * write-ahead log ({@link GraphJournal}), and {@link #initialize()} rebuilds
+ * all projects from disk instead of re-ingesting.</p>
  */
 public class InMemoryGraphStorage implements GraphStorage {
     
     private static final Logger logger = LoggerFactory.getLogger(InMemoryGraphStorage.class);
     
-    // Entity storage: entityName -> Entity
-    private final ConcurrentHashMap<String, Entity> entities;
+    /** Logged items between snapshots when persistence is enabled. */
+    public static final int DEFAULT_SNAPSHOT_EVERY = 10_000;
     
-    // Adjacency list for outgoing edges: srcId -> (tgtId -> Relation)
-    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Relation>> outgoingEdges;
+    // Project shards: projectId -> graph
+    private final ConcurrentHashMap<String, InMemoryProjectGraph> graphs;
     
-    // Adjacency list for incoming edges: tgtId -> (srcId -> Relation)
-    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Relation>> incomingEdges;
+    // Persistence root, null for memory-only
+    private final Path dataDirectory;
+    private final int snapshotEvery;
     
     private volatile boolean initialized = false;
     
+    /**
+     * Creates a memory-only graph storage.
+     */
     public InMemoryGraphStorage() {
-        this.entities = new ConcurrentHashMap<>();
-        this.outgoingEdges = new ConcurrentHashMap<>();
-        this.incomingEdges = new ConcurrentHashMap<>();
+        this(null, DEFAULT_SNAPSHOT_EVERY);
+    }
+    
+    /**
+     * Creates a graph storage persisted to local disk.
+     *
+     * @param dataDirectory directory holding one sub-directory per project, or
+     *                      null for memory-only
+     * @param snapshotEvery logged items after which a project is snapshotted
+     *                      and its write-ahead log truncated
+     */
+    public InMemoryGraphStorage(@Nullable Path dataDirectory, int snapshotEvery) {
+        this.graphs = new ConcurrentHashMap<>();
+        this.dataDirectory = dataDirectory;
+        this.snapshotEvery = snapshotEvery;
     }
     
     @Override
     public CompletableFuture<Void> initialize() {
         return CompletableFuture.runAsync(() -> {
             if (!initialized) {
+                if (dataDirectory != null) {
+                    loadProjects();
+                }
                 initialized = true;
-                logger.info("InMemoryGraphStorage initialized");
+                logger.info("InMemoryGraphStorage initialized ({} projects{})", graphs.size(),
+                    dataDirectory != null ? ", persisted to " + dataDirectory : "");
             }
         });
     }
@@ -51,7 +86,7 @@ public class InMemoryGraphStorage implements GraphStorage {
     public CompletableFuture<Void> upsertEntity(@NotNull String projectId, @NotNull Entity entity) {
         ensureInitialized();
         return CompletableFuture.runAsync(() -> {
-            entities.put(entity.getEntityName(), entity);
+            graphFor(projectId).upsertEntities(List.of(entity));
             logger.debug("Upserted entity: {} for project: {}", entity.getEntityName(), projectId);
         });
     }
@@ -60,9 +95,7 @@ public class InMemoryGraphStorage implements GraphStorage {
     public CompletableFuture<Void> upsertEntities(@NotNull String projectId, @NotNull List<Entity> entityList) {
         ensureInitialized();
         return CompletableFuture.runAsync(() -> {
-            for (Entity entity : entityList) {
-                entities.put(entity.getEntityName(), entity);
-            }
+            graphFor(projectId).upsertEntities(entityList);
             logger.debug("Upserted {} entities for project: {}", entityList.size(), projectId);
         });
     }
@@ -71,18 +104,9 @@ public class InMemoryGraphStorage implements GraphStorage {
     public CompletableFuture<Void> upsertRelation(@NotNull String projectId, @NotNull Relation relation) {
         ensureInitialized();
         return CompletableFuture.runAsync(() -> {
-            String srcId = relation.getSrcId();
-            String tgtId = relation.getTgtId();
-            
-            // Add to outgoing edges
-            outgoingEdges.computeIfAbsent(srcId, k -> new ConcurrentHashMap<>())
-                .put(tgtId, relation);
-            
-            // Add to incoming edges
-            incomingEdges.computeIfAbsent(tgtId, k -> new ConcurrentHashMap<>())
-                .put(srcId, relation);
-            
-            logger.debug("Upserted relation: {} -> {} for project: {}", srcId, tgtId, projectId);
+            graphFor(projectId).upsertRelations(List.of(relation));
+            logger.debug("Upserted relation: {} -> {} for project: {}", 
+                relation.getSrcId(), relation.getTgtId(), projectId);
         });
     }
     
@@ -90,16 +114,7 @@ public class InMemoryGraphStorage implements GraphStorage {
     public CompletableFuture<Void> upsertRelations(@NotNull String projectId, @NotNull List<Relation> relations) {
         ensureInitialized();
         return CompletableFuture.runAsync(() -> {
-            for (Relation relation : relations) {
-                String srcId = relation.getSrcId();
-                String tgtId = relation.getTgtId();
-                
-                outgoingEdges.computeIfAbsent(srcId, k -> new ConcurrentHashMap<>())
-                    .put(tgtId, relation);
-                
-                incomingEdges.computeIfAbsent(tgtId, k -> new ConcurrentHashMap<>())
-                    .put(srcId, relation);
-            }
+            graphFor(projectId).upsertRelations(relations);
             logger.debug("Upserted {} relations for project: {}", relations.size(), projectId);
         });
     }
@@ -107,21 +122,16 @@ public class InMemoryGraphStorage implements GraphStorage {
     @Override
     public CompletableFuture<Entity> getEntity(@NotNull String projectId, @NotNull String entityName) {
         ensureInitialized();
-        return CompletableFuture.completedFuture(entities.get(entityName));
+        InMemoryProjectGraph graph = graphs.get(projectId);
+        return CompletableFuture.completedFuture(graph != null ? graph.getEntity(entityName) : null);
     }
     
     @Override
     public CompletableFuture<List<Entity>> getEntities(@NotNull String projectId, @NotNull List<String> entityNames) {
         ensureInitialized();
         return CompletableFuture.supplyAsync(() -> {
-            List<Entity> result = new ArrayList<>();
-            for (String name : entityNames) {
-                Entity entity = entities.get(name);
-                if (entity != null) {
-                    result.add(entity);
-                }
-            }
-            return result;
+            InMemoryProjectGraph graph = graphs.get(projectId);
+            return graph != null ? graph.getEntities(entityNames) : new ArrayList<>();
         });
     }
     
@@ -129,11 +139,8 @@ public class InMemoryGraphStorage implements GraphStorage {
     public CompletableFuture<Relation> getRelation(@NotNull String projectId, @NotNull String srcId, @NotNull String tgtId) {
         ensureInitialized();
         return CompletableFuture.supplyAsync(() -> {
-            ConcurrentHashMap<String, Relation> targets = outgoingEdges.get(srcId);
-            if (targets != null) {
-                return targets.get(tgtId);
-            }
-            return null;
+            InMemoryProjectGraph graph = graphs.get(projectId);
+            return graph != null ? graph.getRelation(srcId, tgtId) : null;
         });
     }
     
@@ -141,39 +148,42 @@ public class InMemoryGraphStorage implements GraphStorage {
     public CompletableFuture<List<Relation>> getRelationsForEntity(@NotNull String projectId, @NotNull String entityName) {
         ensureInitialized();
         return CompletableFuture.supplyAsync(() -> {
-            Set<Relation> relations = new HashSet<>();
-            
-            // Get outgoing relations
-            ConcurrentHashMap<String, Relation> outgoing = outgoingEdges.get(entityName);
-            if (outgoing != null) {
-                relations.addAll(outgoing.values());
+            InMemoryProjectGraph graph = graphs.get(projectId);
+            return graph != null ? graph.getRelationsForEntity(entityName) : new ArrayList<>();
+        });
+    }
+
+    @Override
+    public CompletableFuture<Map<String, List<Relation>>> getRelationsForEntities(
+            @NotNull String projectId,
+            @NotNull Collection<String> entityNames) {
+        ensureInitialized();
+        return CompletableFuture.supplyAsync(() -> {
+            InMemoryProjectGraph graph = graphs.get(projectId);
+            if (graph != null) {
+                return graph.getRelationsForEntities(entityNames);
             }
-            
-            // Get incoming relations
-            ConcurrentHashMap<String, Relation> incoming = incomingEdges.get(entityName);
-            if (incoming != null) {
-                relations.addAll(incoming.values());
+            Map<String, List<Relation>> empty = new HashMap<>();
+            for (String entityName : entityNames) {
+                empty.put(entityName, new ArrayList<>());
             }
-            
-            return new ArrayList<>(relations);
+            return empty;
         });
     }
     
     @Override
     public CompletableFuture<List<Entity>> getAllEntities(@NotNull String projectId) {
         ensureInitialized();
-        return CompletableFuture.completedFuture(new ArrayList<>(entities.values()));
+        InMemoryProjectGraph graph = graphs.get(projectId);
+        return CompletableFuture.completedFuture(graph != null ? graph.getAllEntities() : new ArrayList<>());
     }
     
     @Override
     public CompletableFuture<List<Relation>> getAllRelations(@NotNull String projectId) {
         ensureInitialized();
         return CompletableFuture.supplyAsync(() -> {
-            Set<Relation> allRelations = new HashSet<>();
-            for (ConcurrentHashMap<String, Relation> targets : outgoingEdges.values()) {
-                allRelations.addAll(targets.values());
-            }
-            return new ArrayList<>(allRelations);
+            InMemoryProjectGraph graph = graphs.get(projectId);
+            return graph != null ? graph.getAllRelations() : new ArrayList<>();
         });
     }
     
@@ -181,20 +191,8 @@ public class InMemoryGraphStorage implements GraphStorage {
     public CompletableFuture<Boolean> deleteEntity(@NotNull String projectId, @NotNull String entityName) {
         ensureInitialized();
         return CompletableFuture.supplyAsync(() -> {
-            boolean existed = entities.remove(entityName) != null;
-            
-            // Remove all relations involving this entity
-            outgoingEdges.remove(entityName);
-            incomingEdges.remove(entityName);
-            
-            // Remove from other entities' adjacency lists
-            for (ConcurrentHashMap<String, Relation> targets : outgoingEdges.values()) {
-                targets.remove(entityName);
-            }
-            for (ConcurrentHashMap<String, Relation> sources : incomingEdges.values()) {
-                sources.remove(entityName);
-            }
-            
+            InMemoryProjectGraph graph = graphs.get(projectId);
+            boolean existed = graph != null && graph.deleteEntities(List.of(entityName)) > 0;
             if (existed) {
                 logger.debug("Deleted entity: {} for project: {}", entityName, projectId);
             }
@@ -206,18 +204,9 @@ public class InMemoryGraphStorage implements GraphStorage {
     public CompletableFuture<Boolean> deleteRelation(@NotNull String projectId, @NotNull String srcId, @NotNull String tgtId) {
         ensureInitialized();
         return CompletableFuture.supplyAsync(() -> {
-            boolean existed = false;
-            
-            ConcurrentHashMap<String, Relation> targets = outgoingEdges.get(srcId);
-            if (targets != null) {
-                existed = targets.remove(tgtId) != null;
-            }
-            
-            ConcurrentHashMap<String, Relation> sources = incomingEdges.get(tgtId);
-            if (sources != null) {
-                sources.remove(srcId);
-            }
-            
+            InMemoryProjectGraph graph = graphs.get(projectId);
+            boolean existed = graph != null
+                && graph.deleteRelations(List.of(new InMemoryProjectGraph.EdgeKey(srcId, tgtId))) > 0;
             if (existed) {
                 logger.debug("Deleted relation: {} -> {} for project: {}", srcId, tgtId, projectId);
             }
@@ -228,30 +217,10 @@ public class InMemoryGraphStorage implements GraphStorage {
     @Override
     public CompletableFuture<Integer> deleteBySourceId(@NotNull String projectId, @NotNull String sourceId) {
         ensureInitialized();
-        return CompletableFuture.supplyAsync(() -> {
-            int count = 0;
-            
-            // Note: source_id no longer exists, deleteBySourceId is deprecated
-            // This method is kept for interface compatibility but performs no operation
-            logger.warn("deleteBySourceId is deprecated and no longer supported");
-            List<String> entitiesToDelete = List.of();
-            
-            for (String entityName : entitiesToDelete) {
-                deleteEntity(projectId, entityName).join();
-                count++;
-            }
-            
-            // Note: source_id no longer exists, deleteBySourceId is deprecated
-            List<Relation> relationsToDelete = List.of();
-            
-            for (Relation relation : relationsToDelete) {
-                deleteRelation(projectId, relation.getSrcId(), relation.getTgtId()).join();
-                count++;
-            }
-            
-            logger.debug("Deleted {} items for source ID: {} in project: {}", count, sourceId, projectId);
-            return count;
-        });
+        // Note: source_id no longer exists, deleteBySourceId is deprecated
+        // This method is kept for interface compatibility but performs no operation
+        logger.warn("deleteBySourceId is deprecated and no longer supported");
+        return CompletableFuture.completedFuture(0);
     }
     
     @Override
@@ -268,83 +237,15 @@ public class InMemoryGraphStorage implements GraphStorage {
             int maxNodes) {
         ensureInitialized();
         return CompletableFuture.supplyAsync(() -> {
-            Set<String> visitedEntities = new HashSet<>();
-            Set<Relation> visitedRelations = new HashSet<>();
-            Queue<String> queue = new LinkedList<>();
-            Map<String, Integer> depths = new HashMap<>();
-            
-            final int effectiveMaxNodes = maxNodes > 0 ? maxNodes : Integer.MAX_VALUE;
-            
-            queue.add(startEntity);
-            depths.put(startEntity, 0);
-            visitedEntities.add(startEntity);
-            
-            while (!queue.isEmpty()) {
-                // Check node limit
-                if (visitedEntities.size() >= effectiveMaxNodes) {
-                    break;
-                }
-                
-                String currentEntity = queue.poll();
-                int currentDepth = depths.get(currentEntity);
-                
-                if (currentDepth >= maxDepth) {
-                    continue;
-                }
-                
-                // Explore outgoing edges
-                ConcurrentHashMap<String, Relation> outgoing = outgoingEdges.get(currentEntity);
-                if (outgoing != null) {
-                    for (Map.Entry<String, Relation> entry : outgoing.entrySet()) {
-                        String neighbor = entry.getKey();
-                        Relation relation = entry.getValue();
-                        
-                        visitedRelations.add(relation);
-                        
-                        if (!visitedEntities.contains(neighbor)) {
-                            if (visitedEntities.size() >= effectiveMaxNodes) {
-                                break;
-                            }
-                            visitedEntities.add(neighbor);
-                            queue.add(neighbor);
-                            depths.put(neighbor, currentDepth + 1);
-                        }
-                    }
-                }
-                
-                // Explore incoming edges
-                ConcurrentHashMap<String, Relation> incoming = incomingEdges.get(currentEntity);
-                if (incoming != null) {
-                    for (Map.Entry<String, Relation> entry : incoming.entrySet()) {
-                        String neighbor = entry.getKey();
-                        Relation relation = entry.getValue();
-                        
-                        visitedRelations.add(relation);
-                        
-                        if (!visitedEntities.contains(neighbor)) {
-                            if (visitedEntities.size() >= effectiveMaxNodes) {
-                                break;
-                            }
-                            visitedEntities.add(neighbor);
-                            queue.add(neighbor);
-                            depths.put(neighbor, currentDepth + 1);
-                        }
-                    }
-                }
-            }
-            
-            // Collect entities
-            List<Entity> resultEntities = visitedEntities.stream()
-                .map(entities::get)
-                .filter(Objects::nonNull)
-                .toList();
-            
-            List<Relation> resultRelations = new ArrayList<>(visitedRelations);
+            InMemoryProjectGraph graph = graphs.get(projectId);
+            GraphSubgraph subgraph = graph != null
+                ? graph.traverseBFS(startEntity, maxDepth, maxNodes)
+                : new GraphSubgraph(List.of(), List.of());
             
             logger.debug("BFS traversed from entity {} (maxDepth={}, maxNodes={}) for project {}: {} entities, {} relations",
-                startEntity, maxDepth, maxNodes, projectId, resultEntities.size(), resultRelations.size());
+                startEntity, maxDepth, maxNodes, projectId, subgraph.entities().size(), subgraph.relations().size());
             
-            return new GraphSubgraph(resultEntities, resultRelations);
+            return subgraph;
         });
     }
     
@@ -352,99 +253,41 @@ public class InMemoryGraphStorage implements GraphStorage {
     public CompletableFuture<List<Entity>> findShortestPath(@NotNull String projectId, @NotNull String sourceEntity, @NotNull String targetEntity) {
         ensureInitialized();
         return CompletableFuture.supplyAsync(() -> {
-            if (!entities.containsKey(sourceEntity) || !entities.containsKey(targetEntity)) {
-                return List.of();
-            }
-            
-            // BFS for shortest path
-            Queue<String> queue = new LinkedList<>();
-            Map<String, String> parent = new HashMap<>();
-            Set<String> visited = new HashSet<>();
-            
-            queue.add(sourceEntity);
-            visited.add(sourceEntity);
-            parent.put(sourceEntity, null);
-            
-            while (!queue.isEmpty()) {
-                String current = queue.poll();
-                
-                if (current.equals(targetEntity)) {
-                    // Reconstruct path
-                    List<String> path = new ArrayList<>();
-                    String node = targetEntity;
-                    while (node != null) {
-                        path.add(0, node);
-                        node = parent.get(node);
-                    }
-                    
-                    // Convert to entities
-                    return path.stream()
-                        .map(entities::get)
-                        .filter(Objects::nonNull)
-                        .toList();
-                }
-                
-                // Explore neighbors (both outgoing and incoming)
-                Set<String> neighbors = new HashSet<>();
-                
-                ConcurrentHashMap<String, Relation> outgoing = outgoingEdges.get(current);
-                if (outgoing != null) {
-                    neighbors.addAll(outgoing.keySet());
-                }
-                
-                ConcurrentHashMap<String, Relation> incoming = incomingEdges.get(current);
-                if (incoming != null) {
-                    neighbors.addAll(incoming.keySet());
-                }
-                
-                for (String neighbor : neighbors) {
-                    if (!visited.contains(neighbor)) {
-                        visited.add(neighbor);
-                        parent.put(neighbor, current);
-                        queue.add(neighbor);
-                    }
-                }
-            }
-            
-            // No path found
-            return List.of();
+            InMemoryProjectGraph graph = graphs.get(projectId);
+            return graph != null ? graph.findShortestPath(sourceEntity, targetEntity) : List.of();
         });
     }
     
     @Override
     public CompletableFuture<Void> createProjectGraph(@NotNull String projectId) {
-        // In-memory implementation: single shared graph for all projects
-        // This is a test/stub implementation - projectId is ignored
         ensureInitialized();
-        return CompletableFuture.completedFuture(null);
+        return CompletableFuture.runAsync(() -> graphFor(projectId));
     }
     
     @Override
     public CompletableFuture<Void> deleteProjectGraph(@NotNull String projectId) {
-        // In-memory implementation: clear all data (no per-project isolation in memory)
         ensureInitialized();
         return CompletableFuture.runAsync(() -> {
-            entities.clear();
-            outgoingEdges.clear();
-            incomingEdges.clear();
+            InMemoryProjectGraph graph = graphs.remove(projectId);
+            if (graph != null) {
+                graph.drop();
+            }
             logger.info("Cleared graph data for project: {}", projectId);
         });
     }
     
     @Override
     public CompletableFuture<Boolean> graphExists(@NotNull String projectId) {
-        // In-memory implementation: always returns true if initialized
-        return CompletableFuture.completedFuture(initialized);
+        return CompletableFuture.completedFuture(initialized && graphs.containsKey(projectId));
     }
     
     @Override
     public CompletableFuture<GraphStats> getStats(@NotNull String projectId) {
         ensureInitialized();
         return CompletableFuture.supplyAsync(() -> {
-            long entityCount = entities.size();
-            long relationCount = outgoingEdges.values().stream()
-                .mapToLong(Map::size)
-                .sum();
+            InMemoryProjectGraph graph = graphs.get(projectId);
+            long entityCount = graph != null ? graph.entityCount() : 0;
+            long relationCount = graph != null ? graph.relationCount() : 0;
             
             double averageDegree = entityCount > 0 ? (double) relationCount / entityCount : 0.0;
             
@@ -462,17 +305,10 @@ public class InMemoryGraphStorage implements GraphStorage {
         }
         
         return CompletableFuture.supplyAsync(() -> {
-            Set<String> chunkIdSet = new HashSet<>(chunkIds);
-            List<Entity> matching = new ArrayList<>();
-            
-            for (Entity entity : entities.values()) {
-                for (String chunkId : entity.getSourceChunkIds()) {
-                    if (chunkIdSet.contains(chunkId)) {
-                        matching.add(entity);
-                        break;
-                    }
-                }
-            }
+            InMemoryProjectGraph graph = graphs.get(projectId);
+            List<Entity> matching = graph != null
+                ? graph.getEntitiesBySourceChunks(new HashSet<>(chunkIds))
+                : new ArrayList<>();
             
             logger.debug("Found {} entities by source chunks for project: {}", matching.size(), projectId);
             return matching;
@@ -487,19 +323,10 @@ public class InMemoryGraphStorage implements GraphStorage {
         }
         
         return CompletableFuture.supplyAsync(() -> {
-            Set<String> chunkIdSet = new HashSet<>(chunkIds);
-            List<Relation> matching = new ArrayList<>();
-            
-            for (ConcurrentHashMap<String, Relation> targets : outgoingEdges.values()) {
-                for (Relation relation : targets.values()) {
-                    for (String chunkId : relation.getSourceChunkIds()) {
-                        if (chunkIdSet.contains(chunkId)) {
-                            matching.add(relation);
-                            break;
-                        }
-                    }
-                }
-            }
+            InMemoryProjectGraph graph = graphs.get(projectId);
+            List<Relation> matching = graph != null
+                ? graph.getRelationsBySourceChunks(new HashSet<>(chunkIds))
+                : new ArrayList<>();
             
             logger.debug("Found {} relations by source chunks for project: {}", matching.size(), projectId);
             return matching;
@@ -510,14 +337,8 @@ public class InMemoryGraphStorage implements GraphStorage {
     public CompletableFuture<List<Entity>> getEntitiesBatch(@NotNull String projectId, int offset, int limit) {
         ensureInitialized();
         return CompletableFuture.supplyAsync(() -> {
-            List<Entity> allEntities = new ArrayList<>(entities.values());
-            
-            if (offset >= allEntities.size()) {
-                return List.of();
-            }
-            
-            int endIndex = Math.min(offset + limit, allEntities.size());
-            return allEntities.subList(offset, endIndex);
+            InMemoryProjectGraph graph = graphs.get(projectId);
+            return graph != null ? graph.getEntitiesBatch(offset, limit) : List.of();
         });
     }
     
@@ -525,17 +346,8 @@ public class InMemoryGraphStorage implements GraphStorage {
     public CompletableFuture<List<Relation>> getRelationsBatch(@NotNull String projectId, int offset, int limit) {
         ensureInitialized();
         return CompletableFuture.supplyAsync(() -> {
-            List<Relation> allRelations = new ArrayList<>();
-            for (ConcurrentHashMap<String, Relation> targets : outgoingEdges.values()) {
-                allRelations.addAll(targets.values());
-            }
-            
-            if (offset >= allRelations.size()) {
-                return List.of();
-            }
-            
-            int endIndex = Math.min(offset + limit, allRelations.size());
-            return allRelations.subList(offset, endIndex);
+            InMemoryProjectGraph graph = graphs.get(projectId);
+            return graph != null ? graph.getRelationsBatch(offset, limit) : List.of();
         });
     }
     
@@ -547,25 +359,8 @@ public class InMemoryGraphStorage implements GraphStorage {
         }
         
         return CompletableFuture.supplyAsync(() -> {
-            int deletedCount = 0;
-            
-            for (String entityName : entityNames) {
-                if (entities.remove(entityName) != null) {
-                    deletedCount++;
-                    
-                    // Remove all relations involving this entity
-                    outgoingEdges.remove(entityName);
-                    incomingEdges.remove(entityName);
-                    
-                    // Remove from other entities' adjacency lists
-                    for (ConcurrentHashMap<String, Relation> targets : outgoingEdges.values()) {
-                        targets.remove(entityName);
-                    }
-                    for (ConcurrentHashMap<String, Relation> sources : incomingEdges.values()) {
-                        sources.remove(entityName);
-                    }
-                }
-            }
+            InMemoryProjectGraph graph = graphs.get(projectId);
+            int deletedCount = graph != null ? graph.deleteEntities(entityNames) : 0;
             
             logger.debug("Deleted {} entities for project: {}", deletedCount, projectId);
             return deletedCount;
@@ -580,8 +375,7 @@ public class InMemoryGraphStorage implements GraphStorage {
         }
         
         return CompletableFuture.supplyAsync(() -> {
-            int deletedCount = 0;
-            
+            List<InMemoryProjectGraph.EdgeKey> keys = new ArrayList<>(relationKeys.size());
             for (String relationKey : relationKeys) {
                 // Parse relation key in format "source->target"
                 String[] parts = relationKey.split("->");
@@ -589,21 +383,12 @@ public class InMemoryGraphStorage implements GraphStorage {
                     logger.warn("Invalid relation key format: {}", relationKey);
                     continue;
                 }
-                
-                String srcId = parts[0].trim();
-                String tgtId = parts[1].trim();
-                
-                ConcurrentHashMap<String, Relation> targets = outgoingEdges.get(srcId);
-                if (targets != null && targets.remove(tgtId) != null) {
-                    deletedCount++;
-                }
-                
-                ConcurrentHashMap<String, Relation> sources = incomingEdges.get(tgtId);
-                if (sources != null) {
-                    sources.remove(srcId);
-                }
+                keys.add(new InMemoryProjectGraph.EdgeKey(parts[0].trim(), parts[1].trim()));
             }
             
+            InMemoryProjectGraph graph = graphs.get(projectId);
+            int deletedCount = graph != null ? graph.deleteRelations(keys) : 0;
+            
             logger.debug("Deleted {} relations for project: {}", deletedCount, projectId);
             return deletedCount;
         });
@@ -614,11 +399,9 @@ public class InMemoryGraphStorage implements GraphStorage {
             @NotNull String description, @NotNull Set<String> sourceIds) {
         ensureInitialized();
         return CompletableFuture.runAsync(() -> {
-            Entity entity = entities.get(entityName);
-            if (entity != null) {
-                Entity updated = entity.withDescription(description)
-                    .withSourceChunkIds(new ArrayList<>(sourceIds));
-                entities.put(entityName, updated);
+            InMemoryProjectGraph graph = graphs.get(projectId);
+            if (graph != null) {
+                graph.updateEntityDescription(entityName, description, sourceIds);
                 logger.debug("Updated entity description for '{}' in project: {}", entityName, projectId);
             }
         });
@@ -637,24 +420,15 @@ public class InMemoryGraphStorage implements GraphStorage {
         }
         
         return CompletableFuture.supplyAsync(() -> {
-            Map<String, Integer> degreeMap = new HashMap<>();
-            
-            for (String entityName : entityNames) {
-                int degree = 0;
-                
-                // Count outgoing edges
-                ConcurrentHashMap<String, Relation> outgoing = outgoingEdges.get(entityName);
-                if (outgoing != null) {
-                    degree += outgoing.size();
-                }
-                
-                // Count incoming edges
-                ConcurrentHashMap<String, Relation> incoming = incomingEdges.get(entityName);
-                if (incoming != null) {
-                    degree += incoming.size();
+            InMemoryProjectGraph graph = graphs.get(projectId);
+            Map<String, Integer> degreeMap;
+            if (graph != null) {
+                degreeMap = graph.getNodeDegrees(entityNames);
+            } else {
+                degreeMap = new HashMap<>();
+                for (String entityName : entityNames) {
+                    degreeMap.put(entityName, 0);
                 }
-                
-                degreeMap.put(entityName, degree);
             }
             
             logger.debug("Retrieved degrees for {} entities for project: {}", degreeMap.size(), projectId);
@@ -673,31 +447,81 @@ public class InMemoryGraphStorage implements GraphStorage {
         }
         
         return CompletableFuture.supplyAsync(() -> {
-            Map<String, Entity> entityMap = new HashMap<>();
-            
-            for (String entityName : entityNames) {
-                Entity entity = entities.get(entityName);
-                if (entity != null) {
-                    entityMap.put(entityName, entity);
-                }
-            }
+            InMemoryProjectGraph graph = graphs.get(projectId);
+            Map<String, Entity> entityMap = graph != null ? graph.getEntitiesMap(entityNames) : new HashMap<>();
             
             logger.debug("Retrieved {} entities in batch for project: {}", entityMap.size(), projectId);
             return entityMap;
         });
     }
     
+    /**
+     * Snapshots every persisted project and truncates its write-ahead log.
+     * No-op for memory-only storage.
+     */
+    public void snapshot() {
+        if (dataDirectory != null) {
+            for (InMemoryProjectGraph graph : graphs.values()) {
+                graph.snapshot();
+            }
+        }
+    }
+    
     @Override
     public void close() throws Exception {
         if (initialized) {
-            entities.clear();
-            outgoingEdges.clear();
-            incomingEdges.clear();
+            // Snapshot on shutdown so the next start replays no log
+            snapshot();
+            for (InMemoryProjectGraph graph : graphs.values()) {
+                graph.close();
+            }
+            graphs.clear();
             initialized = false;
             logger.info("InMemoryGraphStorage closed");
         }
     }
     
+    private InMemoryProjectGraph graphFor(String projectId) {
+        return graphs.computeIfAbsent(projectId, id -> new InMemoryProjectGraph(journalFor(id)));
+    }
+    
+    @Nullable
+    private GraphJournal journalFor(String projectId) {
+        if (dataDirectory == null) {
+            return null;
+        }
+        // Project ids are UUIDs in practice; encode anything else into a safe directory name
+        String directoryName = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(projectId.getBytes(StandardCharsets.UTF_8));
+        return new GraphJournal(dataDirectory.resolve(directoryName), snapshotEvery);
+    }
+    
+    private void loadProjects() {
+        long start = System.currentTimeMillis();
+        try {
+            Files.createDirectories(dataDirectory);
+            try (Stream<Path> directories = Files.list(dataDirectory)) {
+                for (Path directory : directories.filter(Files::isDirectory).toList()) {
+                    String projectId;
+                    try {
+                        projectId = new String(
+                            Base64.getUrlDecoder().decode(directory.getFileName().toString()), StandardCharsets.UTF_8);
+                    } catch (IllegalArgumentException e) {
+                        logger.warn("Skipping unrecognized directory in graph storage: {}", directory);
+                        continue;
+                    }
+                    InMemoryProjectGraph graph = new InMemoryProjectGraph(journalFor(projectId));
+                    graph.load();
+                    graphs.put(projectId, graph);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load graph storage from " + dataDirectory, e);
+        }
+        logger.info("Loaded {} project graphs from {} in {} ms",
+            graphs.size(), dataDirectory, System.currentTimeMillis() - start);
+    }
+    
     private void ensureInitialized() {
         if (!initialized) {
             throw new IllegalStateException("Storage not initialized. Call initialize() first.");
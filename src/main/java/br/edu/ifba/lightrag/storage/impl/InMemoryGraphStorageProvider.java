@@ -0,0 +1,80 @@
+package br.edu.ifba.lightrag.storage.impl;
+
+import java.nio.file.Path;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import br.edu.ifba.lightrag.storage.GraphStorage;
+import io.quarkus.arc.properties.IfBuildProperty;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.enterprise.inject.Produces;
+
+/**
+ * CDI producer that replaces the backend's graph storage with the persisted
+ * in-memory graph.
+ *
+ * <p>This provider is activated when {@code lightrag.storage.graph.backend=memory}
+ * is set at build time. Documents, chunks and vectors stay on the configured
+ * {@code lightrag.storage.backend}; only graph reads and writes are served from
+ * memory, with snapshot and write-ahead log files under
+ * {@code lightrag.storage.graph.memory.path}.</p>
+ *
+ * <p>Example configuration:</p>
+ * <pre>
+ * lightrag.storage.graph.backend=memory
+ * lightrag.storage.graph.memory.path=data/graph
+ * lightrag.storage.graph.memory.snapshot-every=10000
+ * </pre>
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "lightrag.storage.graph.backend", stringValue = "memory")
+public class InMemoryGraphStorageProvider {
+
+    private static final Logger LOG = Logger.getLogger(InMemoryGraphStorageProvider.class);
+
+    @ConfigProperty(name = "lightrag.storage.graph.memory.path", defaultValue = "data/graph")
+    String dataPath;
+
+    @ConfigProperty(name = "lightrag.storage.graph.memory.snapshot-every", defaultValue = "10000")
+    int snapshotEvery;
+
+    private InMemoryGraphStorage graphStorage;
+
+    /**
+     * Produces the persisted in-memory GraphStorage, taking precedence over
+     * the backend's graph storage.
+     *
+     * @return InMemoryGraphStorage instance loaded from disk
+     */
+    @Produces
+    @ApplicationScoped
+    @Alternative
+    @Priority(1)
+    public GraphStorage produceGraphStorage() {
+        if (graphStorage == null) {
+            graphStorage = new InMemoryGraphStorage(Path.of(dataPath), snapshotEvery);
+            graphStorage.initialize().join();
+            LOG.infof("Created InMemoryGraphStorage persisted to %s (snapshot every %d items)",
+                dataPath, snapshotEvery);
+        }
+        return graphStorage;
+    }
+
+    /**
+     * Snapshots all project graphs on application shutdown.
+     */
+    @PreDestroy
+    void shutdown() {
+        if (graphStorage != null) {
+            try {
+                graphStorage.close();
+            } catch (Exception e) {
+                LOG.warnf(e, "Failed to close InMemoryGraphStorage");
+            }
+        }
+    }
+}
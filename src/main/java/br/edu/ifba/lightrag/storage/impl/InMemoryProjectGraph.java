@@ -0,0 +1,695 @@
+package br.edu.ifba.lightrag.storage.impl;
+
+import br.edu.ifba.lightrag.core.Entity;
+import br.edu.ifba.lightrag.core.Relation;
+import br.edu.ifba.lightrag.storage.GraphStorage.GraphSubgraph;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Graph of a single project held by {@link InMemoryGraphStorage}.
+ *
+ * <p>
+ * Entity names are interned to dense int ids. Relations live in slot arrays
+ * and each node keeps compact int arrays of its outgoing and incoming
+ * relation slots, so neighbourhood lookups and traversals never hash
+ * strings after the start node. A read/write lock guards the shard; other
+ * projects are never touched.
+ * </p>
+ *
+ * <p>
+ * When a {@link GraphJournal} is attached, every mutation is appended to its
+ * write-ahead log under the write lock before it is applied, so the log order
+ * is the apply order and a failed append leaves the graph unchanged.
+ * Interned ids of deleted nodes are kept until the next restart, where the
+ * graph is rebuilt from the snapshot.
+ * </p>
+ */
+final class InMemoryProjectGraph {
+
+    /**
+     * Directed relation key (source and target entity names).
+     */
+    record EdgeKey(@NotNull String srcId, @NotNull String tgtId) {
+    }
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int[] NO_SLOTS = new int[0];
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final GraphJournal journal;
+
+    // Interned node ids: name -> id and id -> name
+    private final HashMap<String, Integer> ids = new HashMap<>();
+    private String[] names = new String[INITIAL_CAPACITY];
+    private Entity[] entities = new Entity[INITIAL_CAPACITY];
+    private int nodeCount;
+    private int entityCount;
+
+    // Per-node relation slots
+    private int[][] outgoing = new int[INITIAL_CAPACITY][];
+    private int[] outDegree = new int[INITIAL_CAPACITY];
+    private int[][] incoming = new int[INITIAL_CAPACITY][];
+    private int[] inDegree = new int[INITIAL_CAPACITY];
+
+    // Relation slots: (src << 32 | tgt) -> slot
+    private final HashMap<Long, Integer> relationIndex = new HashMap<>();
+    private Relation[] relations = new Relation[INITIAL_CAPACITY];
+    private int[] relationSrc = new int[INITIAL_CAPACITY];
+    private int[] relationTgt = new int[INITIAL_CAPACITY];
+    private int relationSlots;
+    private int relationCount;
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+    private int freeCount;
+
+    InMemoryProjectGraph(@Nullable GraphJournal journal) {
+        this.journal = journal;
+    }
+
+    // ===== Mutations =====
+
+    void upsertEntities(@NotNull List<Entity> batch) {
+        write(() -> {
+            if (journal != null) {
+                journal.logUpsertEntities(batch);
+            }
+            for (Entity entity : batch) {
+                applyEntity(entity);
+            }
+            return null;
+        });
+    }
+
+    void upsertRelations(@NotNull List<Relation> batch) {
+        write(() -> {
+            if (journal != null) {
+                journal.logUpsertRelations(batch);
+            }
+            for (Relation relation : batch) {
+                applyRelation(relation);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Deletes entities and every relation touching them.
+     *
+     * @return number of entities that existed
+     */
+    int deleteEntities(@NotNull Collection<String> entityNames) {
+        return write(() -> {
+            if (journal != null) {
+                journal.logDeleteEntities(entityNames);
+            }
+            int deleted = 0;
+            for (String name : entityNames) {
+                if (applyDeleteEntity(name)) {
+                    deleted++;
+                }
+            }
+            return deleted;
+        });
+    }
+
+    /**
+     * Deletes directed relations.
+     *
+     * @return number of relations that existed
+     */
+    int deleteRelations(@NotNull List<EdgeKey> keys) {
+        return write(() -> {
+            if (journal != null) {
+                journal.logDeleteRelations(keys);
+            }
+            int deleted = 0;
+            for (EdgeKey key : keys) {
+                if (applyDeleteRelation(key.srcId(), key.tgtId())) {
+                    deleted++;
+                }
+            }
+            return deleted;
+        });
+    }
+
+    void updateEntityDescription(@NotNull String entityName, @NotNull String description,
+            @NotNull Set<String> sourceIds) {
+        write(() -> {
+            Entity entity = entityOf(entityName);
+            if (entity != null) {
+                Entity updated = entity.withDescription(description)
+                        .withSourceChunkIds(new ArrayList<>(sourceIds));
+                if (journal != null) {
+                    journal.logUpsertEntities(List.of(updated));
+                }
+                applyEntity(updated);
+            }
+            return null;
+        });
+    }
+
+    // ===== Reads =====
+
+    @Nullable
+    Entity getEntity(@NotNull String entityName) {
+        return read(() -> entityOf(entityName));
+    }
+
+    @NotNull
+    List<Entity> getEntities(@NotNull List<String> entityNames) {
+        return read(() -> {
+            List<Entity> result = new ArrayList<>(entityNames.size());
+            for (String name : entityNames) {
+                Entity entity = entityOf(name);
+                if (entity != null) {
+                    result.add(entity);
+                }
+            }
+            return result;
+        });
+    }
+
+    @NotNull
+    Map<String, Entity> getEntitiesMap(@NotNull List<String> entityNames) {
+        return read(() -> {
+            Map<String, Entity> result = new HashMap<>();
+            for (String name : entityNames) {
+                Entity entity = entityOf(name);
+                if (entity != null) {
+                    result.put(name, entity);
+                }
+            }
+            return result;
+        });
+    }
+
+    @Nullable
+    Relation getRelation(@NotNull String srcId, @NotNull String tgtId) {
+        return read(() -> {
+            Integer src = ids.get(srcId);
+            Integer tgt = ids.get(tgtId);
+            if (src == null || tgt == null) {
+                return null;
+            }
+            Integer slot = relationIndex.get(edgeKey(src, tgt));
+            return slot != null ? relations[slot] : null;
+        });
+    }
+
+    /**
+     * Outgoing and incoming relations of an entity (self-loops once).
+     */
+    @NotNull
+    List<Relation> getRelationsForEntity(@NotNull String entityName) {
+        return read(() -> relationsOf(entityName));
+    }
+
+    /**
+     * Relations of several entities under one read lock, keyed by name.
+     */
+    @NotNull
+    Map<String, List<Relation>> getRelationsForEntities(@NotNull Collection<String> entityNames) {
+        return read(() -> {
+            Map<String, List<Relation>> result = new HashMap<>();
+            for (String name : entityNames) {
+                result.computeIfAbsent(name, this::relationsOf);
+            }
+            return result;
+        });
+    }
+
+    private List<Relation> relationsOf(String entityName) {
+        Integer id = ids.get(entityName);
+        if (id == null) {
+            return new ArrayList<>();
+        }
+        List<Relation> result = new ArrayList<>(outDegree[id] + inDegree[id]);
+        int[] out = outgoing[id];
+        for (int i = 0; i < outDegree[id]; i++) {
+            result.add(relations[out[i]]);
+        }
+        int[] in = incoming[id];
+        for (int i = 0; i < inDegree[id]; i++) {
+            if (relationSrc[in[i]] != id) {
+                result.add(relations[in[i]]);
+            }
+        }
+        return result;
+    }
+
+    @NotNull
+    List<Entity> getAllEntities() {
+        return read(() -> {
+            List<Entity> result = new ArrayList<>(entityCount);
+            for (int id = 0; id < nodeCount; id++) {
+                if (entities[id] != null) {
+                    result.add(entities[id]);
+                }
+            }
+            return result;
+        });
+    }
+
+    @NotNull
+    List<Relation> getAllRelations() {
+        return read(() -> {
+            List<Relation> result = new ArrayList<>(relationCount);
+            for (int slot = 0; slot < relationSlots; slot++) {
+                if (relations[slot] != null) {
+                    result.add(relations[slot]);
+                }
+            }
+            return result;
+        });
+    }
+
+    @NotNull
+    List<Entity> getEntitiesBatch(int offset, int limit) {
+        return read(() -> {
+            List<Entity> result = new ArrayList<>();
+            int seen = 0;
+            for (int id = 0; id < nodeCount && result.size() < limit; id++) {
+                if (entities[id] != null && seen++ >= offset) {
+                    result.add(entities[id]);
+                }
+            }
+            return result;
+        });
+    }
+
+    @NotNull
+    List<Relation> getRelationsBatch(int offset, int limit) {
+        return read(() -> {
+            List<Relation> result = new ArrayList<>();
+            int seen = 0;
+            for (int slot = 0; slot < relationSlots && result.size() < limit; slot++) {
+                if (relations[slot] != null && seen++ >= offset) {
+                    result.add(relations[slot]);
+                }
+            }
+            return result;
+        });
+    }
+
+    @NotNull
+    List<Entity> getEntitiesBySourceChunks(@NotNull Set<String> chunkIds) {
+        return read(() -> {
+            List<Entity> result = new ArrayList<>();
+            for (int id = 0; id < nodeCount; id++) {
+                Entity entity = entities[id];
+                if (entity != null && sharesChunk(entity.getSourceChunkIds(), chunkIds)) {
+                    result.add(entity);
+                }
+            }
+            return result;
+        });
+    }
+
+    @NotNull
+    List<Relation> getRelationsBySourceChunks(@NotNull Set<String> chunkIds) {
+        return read(() -> {
+            List<Relation> result = new ArrayList<>();
+            for (int slot = 0; slot < relationSlots; slot++) {
+                Relation relation = relations[slot];
+                if (relation != null && sharesChunk(relation.getSourceChunkIds(), chunkIds)) {
+                    result.add(relation);
+                }
+            }
+            return result;
+        });
+    }
+
+    @NotNull
+    Map<String, Integer> getNodeDegrees(@NotNull List<String> entityNames) {
+        return read(() -> {
+            Map<String, Integer> result = new HashMap<>();
+            for (String name : entityNames) {
+                Integer id = ids.get(name);
+                result.put(name, id != null ? outDegree[id] + inDegree[id] : 0);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Breadth-first traversal over outgoing and incoming relations.
+     *
+     * @param maxNodes maximum entities to visit, 0 for no limit
+     */
+    @NotNull
+    GraphSubgraph traverseBFS(@NotNull String startEntity, int maxDepth, int maxNodes) {
+        return read(() -> {
+            Integer start = ids.get(startEntity);
+            if (start == null) {
+                return new GraphSubgraph(List.of(), List.of());
+            }
+            final int effectiveMaxNodes = maxNodes > 0 ? maxNodes : Integer.MAX_VALUE;
+
+            int[] depth = new int[nodeCount];
+            Arrays.fill(depth, -1);
+            int[] queue = new int[nodeCount];
+            int head = 0;
+            int tail = 0;
+            int visitedCount = 1;
+            BitSet seenRelations = new BitSet(relationSlots);
+            List<Relation> resultRelations = new ArrayList<>();
+
+            queue[tail++] = start;
+            depth[start] = 0;
+
+            while (head < tail && visitedCount < effectiveMaxNodes) {
+                int current = queue[head++];
+                if (depth[current] >= maxDepth) {
+                    continue;
+                }
+                for (int direction = 0; direction < 2; direction++) {
+                    int[] slots = direction == 0 ? outgoing[current] : incoming[current];
+                    int degree = direction == 0 ? outDegree[current] : inDegree[current];
+                    for (int i = 0; i < degree; i++) {
+                        int slot = slots[i];
+                        if (!seenRelations.get(slot)) {
+                            seenRelations.set(slot);
+                            resultRelations.add(relations[slot]);
+                        }
+                        int neighbor = direction == 0 ? relationTgt[slot] : relationSrc[slot];
+                        if (depth[neighbor] < 0) {
+                            if (visitedCount >= effectiveMaxNodes) {
+                                break;
+                            }
+                            depth[neighbor] = depth[current] + 1;
+                            queue[tail++] = neighbor;
+                            visitedCount++;
+                        }
+                    }
+                }
+            }
+
+            List<Entity> resultEntities = new ArrayList<>(tail);
+            for (int i = 0; i < tail; i++) {
+                if (entities[queue[i]] != null) {
+                    resultEntities.add(entities[queue[i]]);
+                }
+            }
+            return new GraphSubgraph(resultEntities, resultRelations);
+        });
+    }
+
+    /**
+     * Unweighted shortest path ignoring relation direction.
+     */
+    @NotNull
+    List<Entity> findShortestPath(@NotNull String sourceEntity, @NotNull String targetEntity) {
+        return read(() -> {
+            Integer source = ids.get(sourceEntity);
+            Integer target = ids.get(targetEntity);
+            if (source == null || target == null || entities[source] == null || entities[target] == null) {
+                return List.of();
+            }
+
+            int[] parent = new int[nodeCount];
+            Arrays.fill(parent, -2);
+            int[] queue = new int[nodeCount];
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = source;
+            parent[source] = -1;
+
+            while (head < tail) {
+                int current = queue[head++];
+                if (current == target) {
+                    List<Entity> path = new ArrayList<>();
+                    for (int node = target; node >= 0; node = parent[node]) {
+                        if (entities[node] != null) {
+                            path.add(entities[node]);
+                        }
+                    }
+                    Collections.reverse(path);
+                    return path;
+                }
+                for (int i = 0; i < outDegree[current]; i++) {
+                    tail = visit(relationTgt[outgoing[current][i]], current, parent, queue, tail);
+                }
+                for (int i = 0; i < inDegree[current]; i++) {
+                    tail = visit(relationSrc[incoming[current][i]], current, parent, queue, tail);
+                }
+            }
+            return List.of();
+        });
+    }
+
+    long entityCount() {
+        return read(() -> (long) entityCount);
+    }
+
+    long relationCount() {
+        return read(() -> (long) relationCount);
+    }
+
+    // ===== Persistence =====
+
+    /**
+     * Writes a snapshot and truncates the write-ahead log.
+     */
+    void snapshot() {
+        if (journal != null) {
+            write(() -> {
+                journal.snapshot(getAllEntities(), getAllRelations());
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Rebuilds the graph from the journal without logging the replayed
+     * operations.
+     */
+    void load() {
+        if (journal != null) {
+            write(() -> {
+                journal.replay(this);
+                return null;
+            });
+        }
+    }
+
+    void applyEntity(@NotNull Entity entity) {
+        int id = intern(entity.getEntityName());
+        if (entities[id] == null) {
+            entityCount++;
+        }
+        entities[id] = entity;
+    }
+
+    void applyRelation(@NotNull Relation relation) {
+        int src = intern(relation.getSrcId());
+        int tgt = intern(relation.getTgtId());
+        long key = edgeKey(src, tgt);
+        Integer existing = relationIndex.get(key);
+        if (existing != null) {
+            relations[existing] = relation;
+            return;
+        }
+        int slot = allocateSlot();
+        relations[slot] = relation;
+        relationSrc[slot] = src;
+        relationTgt[slot] = tgt;
+        relationIndex.put(key, slot);
+        relationCount++;
+        addSlot(true, src, slot);
+        addSlot(false, tgt, slot);
+    }
+
+    boolean applyDeleteEntity(@NotNull String entityName) {
+        Integer id = ids.get(entityName);
+        if (id == null) {
+            return false;
+        }
+        boolean existed = entities[id] != null;
+        if (existed) {
+            entities[id] = null;
+            entityCount--;
+        }
+        // Copy first: removing a slot rewrites the adjacency arrays
+        for (int slot : Arrays.copyOf(slotsOf(outgoing[id]), outDegree[id])) {
+            removeSlot(slot);
+        }
+        for (int slot : Arrays.copyOf(slotsOf(incoming[id]), inDegree[id])) {
+            removeSlot(slot);
+        }
+        return existed;
+    }
+
+    boolean applyDeleteRelation(@NotNull String srcId, @NotNull String tgtId) {
+        Integer src = ids.get(srcId);
+        Integer tgt = ids.get(tgtId);
+        if (src == null || tgt == null) {
+            return false;
+        }
+        Integer slot = relationIndex.get(edgeKey(src, tgt));
+        if (slot == null) {
+            return false;
+        }
+        removeSlot(slot);
+        return true;
+    }
+
+    /**
+     * Detaches the journal files from this graph and deletes them.
+     */
+    void drop() {
+        if (journal != null) {
+            write(() -> {
+                journal.delete();
+                return null;
+            });
+        }
+    }
+
+    void close() {
+        if (journal != null) {
+            write(() -> {
+                journal.close();
+                return null;
+            });
+        }
+    }
+
+    // ===== Internals =====
+
+    private <T> T read(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private <T> T write(Supplier<T> action) {
+        lock.writeLock().lock();
+        try {
+            T result = action.get();
+            if (journal != null && journal.needsSnapshot()) {
+                journal.snapshot(getAllEntities(), getAllRelations());
+            }
+            return result;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Nullable
+    private Entity entityOf(String name) {
+        Integer id = ids.get(name);
+        return id != null ? entities[id] : null;
+    }
+
+    private int intern(String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        if (nodeCount == names.length) {
+            int capacity = nodeCount * 2;
+            names = Arrays.copyOf(names, capacity);
+            entities = Arrays.copyOf(entities, capacity);
+            outgoing = Arrays.copyOf(outgoing, capacity);
+            outDegree = Arrays.copyOf(outDegree, capacity);
+            incoming = Arrays.copyOf(incoming, capacity);
+            inDegree = Arrays.copyOf(inDegree, capacity);
+        }
+        int newId = nodeCount++;
+        names[newId] = name;
+        ids.put(name, newId);
+        return newId;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (relationSlots == relations.length) {
+            int capacity = relationSlots * 2;
+            relations = Arrays.copyOf(relations, capacity);
+            relationSrc = Arrays.copyOf(relationSrc, capacity);
+            relationTgt = Arrays.copyOf(relationTgt, capacity);
+        }
+        return relationSlots++;
+    }
+
+    private void removeSlot(int slot) {
+        int src = relationSrc[slot];
+        int tgt = relationTgt[slot];
+        removeFromNode(true, src, slot);
+        removeFromNode(false, tgt, slot);
+        relationIndex.remove(edgeKey(src, tgt));
+        relations[slot] = null;
+        relationCount--;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    private void addSlot(boolean out, int node, int slot) {
+        int[][] adjacency = out ? outgoing : incoming;
+        int[] degrees = out ? outDegree : inDegree;
+        int[] slots = adjacency[node];
+        if (slots == null) {
+            slots = new int[4];
+            adjacency[node] = slots;
+        } else if (degrees[node] == slots.length) {
+            slots = Arrays.copyOf(slots, slots.length * 2);
+            adjacency[node] = slots;
+        }
+        slots[degrees[node]++] = slot;
+    }
+
+    private void removeFromNode(boolean out, int node, int slot) {
+        int[] slots = out ? outgoing[node] : incoming[node];
+        int[] degrees = out ? outDegree : inDegree;
+        for (int i = 0; i < degrees[node]; i++) {
+            if (slots[i] == slot) {
+                slots[i] = slots[--degrees[node]];
+                return;
+            }
+        }
+    }
+
+    private static int visit(int neighbor, int current, int[] parent, int[] queue, int tail) {
+        if (parent[neighbor] == -2) {
+            parent[neighbor] = current;
+            queue[tail++] = neighbor;
+        }
+        return tail;
+    }
+
+    private static int[] slotsOf(int[] slots) {
+        return slots != null ? slots : NO_SLOTS;
+    }
+
+    private static long edgeKey(int src, int tgt) {
+        return ((long) src << 32) | (tgt & 0xFFFFFFFFL);
+    }
+
+    private static boolean sharesChunk(List<String> sourceChunkIds, Set<String> chunkIds) {
+        for (String chunkId : sourceChunkIds) {
+            if (chunkIds.contains(chunkId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
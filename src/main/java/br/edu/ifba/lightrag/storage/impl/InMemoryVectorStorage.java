@@ -1,5 +1,6 @@
 package br.edu.ifba.lightrag.storage.impl;
 
+import br.edu.ifba.lightrag.storage.KeywordTerms;
 import br.edu.ifba.lightrag.storage.VectorStorage;
 import br.edu.ifba.lightrag.utils.EmbeddingUtil;
 import org.jetbrains.annotations.NotNull;
@@ -12,18 +13,63 @@ import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * In-memory vector storage implementation.
- * Uses brute-force cosine similarity search for vector queries.
+ * Uses brute-force cosine similarity search for vector queries
+ * and brute-force BM25 for keyword queries.
  * Suitable for development and small-scale deployments.
+ * 
+ * With a coarse dimension set, each vector also keeps a normalized prefix of
+ * that length (Matryoshka embeddings). Queries scan the prefixes and rescore
+ * only the best {@code oversample * topK} candidates with the full vector.
+ * 
+ * With a {@link VectorQuantization}, each vector also keeps a compact code and
+ * queries score the codes directly, rescoring the best {@code oversample * topK}
+ * with the full vector. Without rescoring only the code is kept, and the
+ * vector returned by {@link #get} is decoded from it.
  */
 public class InMemoryVectorStorage implements VectorStorage {
     
     private static final Logger logger = LoggerFactory.getLogger(InMemoryVectorStorage.class);
     
     private final ConcurrentHashMap<String, VectorEntry> storage;
+    private final ConcurrentHashMap<String, float[]> coarseVectors;
+    private final ConcurrentHashMap<String, byte[]> codes;
+    private final int coarseDimension;
+    private final int oversample;
+    private final VectorQuantization quantization;
+    private final boolean rescore;
     private volatile boolean initialized = false;
     
     public InMemoryVectorStorage() {
+        this(0, 1);
+    }
+    
+    /**
+     * Creates a storage with two-stage search.
+     *
+     * @param coarseDimension prefix length scanned first; 0 disables two-stage search
+     * @param oversample candidates rescored per requested result
+     */
+    public InMemoryVectorStorage(int coarseDimension, int oversample) {
+        this(coarseDimension, oversample, VectorQuantization.NONE, true);
+    }
+    
+    /**
+     * Creates a storage with quantized codes.
+     *
+     * @param coarseDimension prefix length scanned first; ignored when quantized
+     * @param oversample candidates rescored per requested result
+     * @param quantization code kept for each vector and scanned by queries
+     * @param rescore whether to keep full vectors and rescore the best candidates
+     */
+    public InMemoryVectorStorage(int coarseDimension, int oversample, VectorQuantization quantization,
+            boolean rescore) {
         this.storage = new ConcurrentHashMap<>();
+        this.coarseVectors = new ConcurrentHashMap<>();
+        this.codes = new ConcurrentHashMap<>();
+        this.quantization = quantization != null ? quantization : VectorQuantization.NONE;
+        this.rescore = rescore || this.quantization == VectorQuantization.NONE;
+        this.coarseDimension = this.quantization == VectorQuantization.NONE ? Math.max(0, coarseDimension) : 0;
+        this.oversample = Math.max(1, oversample);
     }
     
     @Override
@@ -44,7 +90,7 @@ public class InMemoryVectorStorage implements VectorStorage {
     ) {
         ensureInitialized();
         return CompletableFuture.runAsync(() -> {
-            storage.put(id, new VectorEntry(id, vector, metadata));
+            put(new VectorEntry(id, vector, metadata));
             logger.debug("Upserted vector: {}", id);
         });
     }
@@ -54,7 +100,7 @@ public class InMemoryVectorStorage implements VectorStorage {
         ensureInitialized();
         return CompletableFuture.runAsync(() -> {
             for (VectorEntry entry : entries) {
-                storage.put(entry.id(), entry);
+                put(entry);
             }
             logger.debug("Upserted {} vectors", entries.size());
         });
@@ -70,6 +116,12 @@ public class InMemoryVectorStorage implements VectorStorage {
         return CompletableFuture.supplyAsync(() -> {
             // Convert query vector to float array
             float[] queryArray = vectorToFloatArray(queryVector);
+            if (quantization != VectorQuantization.NONE) {
+                return quantizedQuery(queryArray, topK, filter);
+            }
+            if (coarseDimension > 0 && queryArray.length > coarseDimension) {
+                return twoStageQuery(queryArray, topK, filter);
+            }
             
             // Calculate similarities for all vectors
             List<ScoredVector> scored = new ArrayList<>();
@@ -99,11 +151,191 @@ public class InMemoryVectorStorage implements VectorStorage {
         });
     }
     
+    /**
+     * Scans normalized prefixes, keeps the best {@code oversample * topK} in a
+     * bounded heap and rescores those with the full vectors.
+     */
+    private List<VectorSearchResult> twoStageQuery(float[] queryArray, int topK, VectorFilter filter) {
+        float[] queryPrefix = EmbeddingUtil.normalizedPrefix(queryArray, coarseDimension);
+        if (topK <= 0) {
+            return List.of();
+        }
+        int candidates = Math.max(topK, topK * oversample);
+        PriorityQueue<ScoredVector> heap = new PriorityQueue<>(Comparator.comparingDouble(ScoredVector::score));
+        
+        for (VectorEntry entry : storage.values()) {
+            if (filter != null) {
+                if (filter.type() != null && !filter.type().equals(entry.metadata().type())) {
+                    continue;
+                }
+                if (filter.ids() != null && !filter.ids().contains(entry.id())) {
+                    continue;
+                }
+            }
+            float[] prefix = coarseVectors.get(entry.id());
+            if (prefix == null || prefix.length != queryPrefix.length) {
+                continue;
+            }
+            double score = EmbeddingUtil.dot(queryPrefix, prefix);
+            if (heap.size() < candidates) {
+                heap.add(new ScoredVector(entry.id(), score, entry.metadata()));
+            } else if (score > heap.peek().score()) {
+                heap.poll();
+                heap.add(new ScoredVector(entry.id(), score, entry.metadata()));
+            }
+        }
+        return rescoreCandidates(heap, queryArray, topK);
+    }
+    
+    /**
+     * Scores codes against the query without decoding them and keeps the best
+     * candidates in a bounded heap; those are rescored with the full vectors
+     * unless rescoring is off.
+     */
+    private List<VectorSearchResult> quantizedQuery(float[] queryArray, int topK, VectorFilter filter) {
+        if (topK <= 0) {
+            return List.of();
+        }
+        byte[] queryCode = quantization.encode(queryArray);
+        int candidates = rescore ? Math.max(topK, topK * oversample) : topK;
+        PriorityQueue<ScoredVector> heap = new PriorityQueue<>(Comparator.comparingDouble(ScoredVector::score));
+        
+        for (VectorEntry entry : storage.values()) {
+            if (filter != null) {
+                if (filter.type() != null && !filter.type().equals(entry.metadata().type())) {
+                    continue;
+                }
+                if (filter.ids() != null && !filter.ids().contains(entry.id())) {
+                    continue;
+                }
+            }
+            double score = quantization.score(queryArray, queryCode, codes.get(entry.id()));
+            if (Double.isNaN(score)) {
+                continue;
+            }
+            if (heap.size() < candidates) {
+                heap.add(new ScoredVector(entry.id(), score, entry.metadata()));
+            } else if (score > heap.peek().score()) {
+                heap.poll();
+                heap.add(new ScoredVector(entry.id(), score, entry.metadata()));
+            }
+        }
+        
+        if (!rescore) {
+            return heap.stream()
+                .sorted(Comparator.comparingDouble(ScoredVector::score).reversed())
+                .map(sv -> new VectorSearchResult(sv.id, sv.score, sv.metadata))
+                .toList();
+        }
+        return rescoreCandidates(heap, queryArray, topK);
+    }
+    
+    private List<VectorSearchResult> rescoreCandidates(Collection<ScoredVector> heap, float[] queryArray, int topK) {
+        List<ScoredVector> rescored = new ArrayList<>(heap.size());
+        for (ScoredVector candidate : heap) {
+            VectorEntry entry = storage.get(candidate.id());
+            if (entry != null) {
+                float[] entryArray = vectorToFloatArray(entry.vector());
+                if (entryArray.length == queryArray.length) {
+                    double similarity = EmbeddingUtil.cosineSimilarity(queryArray, entryArray);
+                    rescored.add(new ScoredVector(entry.id(), similarity, entry.metadata()));
+                }
+            }
+        }
+        return rescored.stream()
+            .sorted(Comparator.comparingDouble(ScoredVector::score).reversed())
+            .limit(topK)
+            .map(sv -> new VectorSearchResult(sv.id, sv.score, sv.metadata))
+            .toList();
+    }
+    
+    @Override
+    public boolean supportsKeywordSearch() {
+        return true;
+    }
+    
+    /**
+     * Brute-force BM25 (k1=1.2, b=0.75) over the content of matching entries.
+     * Document statistics are computed per query from the filtered entries.
+     */
+    @Override
+    public CompletableFuture<List<VectorSearchResult>> keywordQuery(
+        @NotNull String queryText,
+        int topK,
+        VectorFilter filter
+    ) {
+        ensureInitialized();
+        return CompletableFuture.supplyAsync(() -> {
+            List<String> terms = KeywordTerms.of(queryText);
+            if (terms.isEmpty()) {
+                return List.of();
+            }
+            
+            List<VectorEntry> docs = new ArrayList<>();
+            List<Map<String, Integer>> termFreqs = new ArrayList<>();
+            Map<String, Integer> docFreq = new HashMap<>();
+            long totalLength = 0;
+            for (VectorEntry entry : storage.values()) {
+                if (filter != null) {
+                    if (filter.type() != null && !filter.type().equals(entry.metadata().type())) {
+                        continue;
+                    }
+                    if (filter.ids() != null && !filter.ids().contains(entry.id())) {
+                        continue;
+                    }
+                }
+                List<String> tokens = KeywordTerms.tokenize(entry.metadata().content());
+                Map<String, Integer> tf = new HashMap<>();
+                for (String token : tokens) {
+                    tf.merge(token, 1, Integer::sum);
+                }
+                for (String term : terms) {
+                    if (tf.containsKey(term)) {
+                        docFreq.merge(term, 1, Integer::sum);
+                    }
+                }
+                docs.add(entry);
+                termFreqs.add(tf);
+                totalLength += tokens.size();
+            }
+            if (docs.isEmpty()) {
+                return List.of();
+            }
+            
+            double avgLength = Math.max(1.0, (double) totalLength / docs.size());
+            List<ScoredVector> scored = new ArrayList<>();
+            for (int i = 0; i < docs.size(); i++) {
+                Map<String, Integer> tf = termFreqs.get(i);
+                int length = tf.values().stream().mapToInt(Integer::intValue).sum();
+                double score = 0.0;
+                for (String term : terms) {
+                    Integer freq = tf.get(term);
+                    if (freq == null) {
+                        continue;
+                    }
+                    int df = docFreq.get(term);
+                    double idf = Math.log(1.0 + (docs.size() - df + 0.5) / (df + 0.5));
+                    score += idf * (freq * 2.2) / (freq + 1.2 * (0.25 + 0.75 * length / avgLength));
+                }
+                if (score > 0) {
+                    VectorEntry entry = docs.get(i);
+                    scored.add(new ScoredVector(entry.id(), score, entry.metadata()));
+                }
+            }
+            
+            return scored.stream()
+                .sorted(Comparator.comparingDouble(ScoredVector::score).reversed())
+                .limit(topK)
+                .map(sv -> new VectorSearchResult(sv.id, sv.score, sv.metadata))
+                .toList();
+        });
+    }
+    
     @Override
     public CompletableFuture<Boolean> delete(@NotNull String id) {
         ensureInitialized();
         return CompletableFuture.supplyAsync(() -> {
-            boolean existed = storage.remove(id) != null;
+            boolean existed = remove(id);
             if (existed) {
                 logger.debug("Deleted vector: {}", id);
             }
@@ -117,7 +349,7 @@ public class InMemoryVectorStorage implements VectorStorage {
         return CompletableFuture.supplyAsync(() -> {
             int count = 0;
             for (String id : ids) {
-                if (storage.remove(id) != null) {
+                if (remove(id)) {
                     count++;
                 }
             }
@@ -129,7 +361,11 @@ public class InMemoryVectorStorage implements VectorStorage {
     @Override
     public CompletableFuture<VectorEntry> get(@NotNull String id) {
         ensureInitialized();
-        return CompletableFuture.completedFuture(storage.get(id));
+        VectorEntry entry = storage.get(id);
+        if (entry != null && entry.vector() instanceof CodedVector) {
+            entry = new VectorEntry(entry.id(), vectorToFloatArray(entry.vector()), entry.metadata());
+        }
+        return CompletableFuture.completedFuture(entry);
     }
     
     @Override
@@ -137,6 +373,8 @@ public class InMemoryVectorStorage implements VectorStorage {
         ensureInitialized();
         return CompletableFuture.runAsync(() -> {
             storage.clear();
+            coarseVectors.clear();
+            codes.clear();
             logger.info("Cleared all vectors");
         });
     }
@@ -168,7 +406,7 @@ public class InMemoryVectorStorage implements VectorStorage {
             }
             
             for (String id : toDelete) {
-                if (storage.remove(id) != null) {
+                if (remove(id)) {
                     deletedCount++;
                 }
             }
@@ -190,7 +428,7 @@ public class InMemoryVectorStorage implements VectorStorage {
             
             // Find and delete vectors where type='chunk' and id matches any chunk ID
             for (String chunkId : chunkIds) {
-                if (storage.remove(chunkId) != null) {
+                if (remove(chunkId)) {
                     deletedCount++;
                 }
             }
@@ -240,11 +478,41 @@ public class InMemoryVectorStorage implements VectorStorage {
     public void close() throws Exception {
         if (initialized) {
             storage.clear();
+            coarseVectors.clear();
+            codes.clear();
             initialized = false;
             logger.info("InMemoryVectorStorage closed");
         }
     }
     
+    /**
+     * Stores an entry and, for two-stage search, its normalized prefix; for
+     * quantized search, its code (replacing the vector when not rescoring).
+     */
+    private void put(VectorEntry entry) {
+        // Prefix and code first, so a concurrent query never sees the entry without them
+        if (coarseDimension > 0) {
+            coarseVectors.put(entry.id(),
+                EmbeddingUtil.normalizedPrefix(vectorToFloatArray(entry.vector()), coarseDimension));
+        }
+        if (quantization != VectorQuantization.NONE) {
+            float[] vector = vectorToFloatArray(entry.vector());
+            byte[] code = quantization.encode(vector);
+            codes.put(entry.id(), code);
+            if (!rescore) {
+                entry = new VectorEntry(entry.id(), new CodedVector(code, vector.length), entry.metadata());
+            }
+        }
+        storage.put(entry.id(), entry);
+    }
+    
+    private boolean remove(String id) {
+        boolean existed = storage.remove(id) != null;
+        coarseVectors.remove(id);
+        codes.remove(id);
+        return existed;
+    }
+    
     /**
      * Converts a vector object to a float array.
      * Handles both base64 encoded strings and native float arrays.
@@ -258,6 +526,8 @@ public class InMemoryVectorStorage implements VectorStorage {
                 result[i] = (float) doubleArray[i];
             }
             return result;
+        } else if (vector instanceof CodedVector coded) {
+            return quantization.decode(coded.code(), coded.dimension());
         } else if (vector instanceof String base64) {
             return EmbeddingUtil.fromBase64(base64);
         } else if (vector instanceof List<?> list) {
@@ -286,4 +556,9 @@ public class InMemoryVectorStorage implements VectorStorage {
      * Internal class for tracking scored vectors during search.
      */
     private record ScoredVector(String id, double score, VectorMetadata metadata) {}
+    
+    /**
+     * Stands in for the vector of an entry stored without its floats.
+     */
+    private record CodedVector(byte[] code, int dimension) {}
 }
@@ -23,6 +23,7 @@ import java.sql.Timestamp;
 import java.sql.Types;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -64,10 +65,20 @@ public class PgExtractionCacheStorage implements ExtractionCacheStorage {
         WHERE project_id = ? AND chunk_id = ?
         """.formatted(TABLE_NAME);
     
+    private static final String SELECT_BY_CHUNKS_SQL = """
+        SELECT id, project_id, cache_type, chunk_id, content_hash, result, tokens_used, created_at
+        FROM %s
+        WHERE project_id = ? AND chunk_id = ANY(?)
+        """.formatted(TABLE_NAME);
+    
     private static final String DELETE_BY_PROJECT_SQL = """
         DELETE FROM %s WHERE project_id = ?
         """.formatted(TABLE_NAME);
     
+    private static final String DELETE_BY_PROJECT_AND_TYPE_SQL = """
+        DELETE FROM %s WHERE project_id = ? AND cache_type = ?
+        """.formatted(TABLE_NAME);
+    
     @Inject
     DataSource dataSource;
     
@@ -206,6 +217,45 @@ public class PgExtractionCacheStorage implements ExtractionCacheStorage {
         });
     }
     
+    @Override
+    @Retry(retryOn = SQLException.class, abortOn = {},
+           maxRetries = 3, delay = 200, jitter = 100)
+    public CompletableFuture<List<ExtractionCache>> getByChunkIds(
+        @NotNull String projectId,
+        @NotNull Collection<String> chunkIds
+    ) {
+        if (chunkIds.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        
+        return CompletableFuture.supplyAsync(() -> {
+            UUID projectUuid = UUID.fromString(projectId);
+            List<ExtractionCache> results = new ArrayList<>();
+            
+            try (Connection conn = dataSource.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(SELECT_BY_CHUNKS_SQL)) {
+                
+                stmt.setObject(1, projectUuid);
+                stmt.setArray(2, conn.createArrayOf("uuid", chunkIds.stream().map(UUID::fromString).toArray()));
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        results.add(mapResultSet(rs));
+                    }
+                }
+                
+                return results;
+                
+            } catch (SQLException e) {
+                if (TRANSIENT_PREDICATE.test(e)) {
+                    throw new RuntimeException("Transient error getting extraction cache by chunks", e);
+                }
+                logger.error("Failed to get extraction cache by chunks: {}", e.getMessage(), e);
+                throw new RuntimeException("Failed to get extraction cache by chunks", e);
+            }
+        });
+    }
+    
     @Override
     @Retry(retryOn = SQLException.class, abortOn = {},
            maxRetries = 3, delay = 200, jitter = 100)
@@ -232,6 +282,33 @@ public class PgExtractionCacheStorage implements ExtractionCacheStorage {
         });
     }
     
+    @Override
+    @Retry(retryOn = SQLException.class, abortOn = {},
+           maxRetries = 3, delay = 200, jitter = 100)
+    public CompletableFuture<Integer> deleteByProjectAndType(@NotNull String projectId, @NotNull CacheType cacheType) {
+        return CompletableFuture.supplyAsync(() -> {
+            UUID projectUuid = UUID.fromString(projectId);
+            
+            try (Connection conn = dataSource.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(DELETE_BY_PROJECT_AND_TYPE_SQL)) {
+                
+                stmt.setObject(1, projectUuid);
+                stmt.setString(2, cacheType.name());
+                int deleted = stmt.executeUpdate();
+                
+                logger.debug("Deleted {} {} cache entries for project: {}", deleted, cacheType, projectId);
+                return deleted;
+                
+            } catch (SQLException e) {
+                if (TRANSIENT_PREDICATE.test(e)) {
+                    throw new RuntimeException("Transient error deleting extraction cache", e);
+                }
+                logger.error("Failed to delete extraction cache: {}", e.getMessage(), e);
+                throw new RuntimeException("Failed to delete extraction cache", e);
+            }
+        });
+    }
+    
     @Override
     public void close() {
         logger.debug("PgExtractionCacheStorage closed");
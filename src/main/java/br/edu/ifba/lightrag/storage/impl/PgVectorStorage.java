@@ -1,6 +1,9 @@
 package br.edu.ifba.lightrag.storage.impl;
 
+import br.edu.ifba.lightrag.storage.KeywordTerms;
 import br.edu.ifba.lightrag.storage.VectorStorage;
+import br.edu.ifba.lightrag.utils.LightRAGMetrics;
+import io.micrometer.core.instrument.Timer;
 import br.edu.ifba.lightrag.utils.TransientSQLExceptionPredicate;
 import io.smallrye.faulttolerance.api.ExponentialBackoff;
 import io.smallrye.faulttolerance.api.RetryWhen;
@@ -33,6 +36,15 @@ import java.util.concurrent.Executors;
  * 1. PostgreSQL with pgvector extension installed
  * 2. CREATE EXTENSION vector;
  * 3. Table will be created automatically on initialize()
+ * 
+ * Chunk content is also indexed by a GIN expression index over
+ * {@code to_tsvector('simple', content)} for {@link #keywordQuery}. Building
+ * it blocks writes to the table while it runs, but does not rewrite it.
+ * 
+ * With {@code lightrag.vector.coarse.dimension} set (Matryoshka embeddings),
+ * the ANN index is built over {@code subvector(vector, 1, d)} instead of the
+ * full vector (pgvector 0.7+). Queries take the best {@code oversample * topK}
+ * rows from that index and rescore them with the full vector.
  */
 @ApplicationScoped
 @IfBuildProperty(name = "lightrag.storage.backend", stringValue = "postgresql", enableIfMissing = true)
@@ -40,6 +52,9 @@ public class PgVectorStorage implements VectorStorage {
     
     private static final Logger logger = LoggerFactory.getLogger(PgVectorStorage.class);
     
+    /** pgvector's default hnsw.ef_search */
+    private static final int DEFAULT_HNSW_EF_SEARCH = 40;
+    
     @Inject
     DataSource dataSource;
     
@@ -63,6 +78,13 @@ public class PgVectorStorage implements VectorStorage {
     @ConfigProperty(name = "lightrag.vector.index.ivfflat.lists", defaultValue = "100")
     int ivfflatLists;
     
+    // Two-stage Matryoshka search: prefix length indexed for the coarse pass (0 = disabled)
+    @ConfigProperty(name = "lightrag.vector.coarse.dimension", defaultValue = "0")
+    int coarseDimension;
+    
+    @ConfigProperty(name = "lightrag.vector.coarse.oversample", defaultValue = "4")
+    int coarseOversample;
+    
     private final ExecutorService executor;
     
     /**
@@ -157,26 +179,34 @@ public class PgVectorStorage implements VectorStorage {
                 // Create index for vector similarity search
                 // Using halfvec_cosine_ops for halfvec type (cosine distance)
                 // Supports HNSW (default) or IVFFLAT index types with configurable parameters
+                // With two-stage search only the prefix expression is indexed
+                String indexName = tableName + (isTwoStage() ? "_vector_coarse_idx" : "_vector_idx");
+                String indexedExpression = isTwoStage() ? "(" + coarseExpression("vector") + ")" : "vector";
                 String createIndexSql;
                 if ("ivfflat".equalsIgnoreCase(indexType)) {
                     // IVFFLAT: Better for larger datasets with less memory
                     // lists: number of clusters (sqrt(n) to n/1000 recommended)
                     createIndexSql = String.format(
-                        "CREATE INDEX IF NOT EXISTS %s_vector_idx ON rag.%s USING ivfflat (vector halfvec_cosine_ops) WITH (lists = %d)",
-                        tableName, tableName, ivfflatLists
+                        "CREATE INDEX IF NOT EXISTS %s ON rag.%s USING ivfflat (%s halfvec_cosine_ops) WITH (lists = %d)",
+                        indexName, tableName, indexedExpression, ivfflatLists
                     );
-                    logger.info("Creating IVFFLAT index with lists={}", ivfflatLists);
+                    logger.info("Creating IVFFLAT index {} with lists={}", indexName, ivfflatLists);
                 } else {
                     // HNSW: Better recall/performance, more memory
                     // m: max connections per node (default 16)
                     // ef_construction: build-time search width (default 64)
                     createIndexSql = String.format(
-                        "CREATE INDEX IF NOT EXISTS %s_vector_idx ON rag.%s USING hnsw (vector halfvec_cosine_ops) WITH (m = %d, ef_construction = %d)",
-                        tableName, tableName, hnswM, hnswEfConstruction
+                        "CREATE INDEX IF NOT EXISTS %s ON rag.%s USING hnsw (%s halfvec_cosine_ops) WITH (m = %d, ef_construction = %d)",
+                        indexName, tableName, indexedExpression, hnswM, hnswEfConstruction
                     );
-                    logger.info("Creating HNSW index with m={}, ef_construction={}", hnswM, hnswEfConstruction);
+                    logger.info("Creating HNSW index {} with m={}, ef_construction={}", indexName, hnswM, hnswEfConstruction);
+                }
+                executeIndexCreation(stmt, createIndexSql, indexName);
+                if (isTwoStage()) {
+                    logger.info("Two-stage vector search: coarse dimension {}, oversample {}; "
+                        + "an existing full-width index {}_vector_idx is no longer used and can be dropped",
+                        coarseDimension, coarseOversample, tableName);
                 }
-                executeIndexCreation(stmt, createIndexSql, tableName + "_vector_idx");
                 
                 // Create index on type for filtered queries
                 String createTypeIndexSql = String.format(
@@ -185,6 +215,23 @@ public class PgVectorStorage implements VectorStorage {
                 );
                 executeIndexCreation(stmt, createTypeIndexSql, tableName + "_type_idx");
                 
+                // Full-text index for keyword search. An expression index instead of a
+                // stored generated column: adding such a column rewrites the whole table
+                // under an ACCESS EXCLUSIVE lock at startup
+                String createTsvIndexSql = String.format(
+                    "CREATE INDEX IF NOT EXISTS %s_content_fts_idx ON rag.%s USING gin (to_tsvector('simple', content))",
+                    tableName, tableName
+                );
+                executeIndexCreation(stmt, createTsvIndexSql, tableName + "_content_fts_idx");
+                try (ResultSet legacyColumn = stmt.executeQuery(String.format(
+                        "SELECT 1 FROM information_schema.columns WHERE table_schema = 'rag' "
+                        + "AND table_name = '%s' AND column_name = 'content_tsv'", tableName))) {
+                    if (legacyColumn.next()) {
+                        logger.info("Column {}.content_tsv and index {}_content_tsv_idx are no longer used "
+                            + "and can be dropped", tableName, tableName);
+                    }
+                }
+                
                 logger.info("PgVector storage initialized successfully for table: {}", tableName);
                 
             } catch (SQLException e) {
@@ -194,6 +241,22 @@ public class PgVectorStorage implements VectorStorage {
         }, executor);
     }
     
+    /**
+     * Whether queries use the coarse prefix index and rescore with the full vector.
+     */
+    private boolean isTwoStage() {
+        return coarseDimension > 0 && coarseDimension < dimension;
+    }
+    
+    /**
+     * The coarse representation of a halfvec expression: its first
+     * {@code coarseDimension} components. Cosine distance ignores magnitude, so
+     * the prefix needs no renormalization.
+     */
+    private String coarseExpression(String vectorExpression) {
+        return String.format("subvector(%s, 1, %d)::halfvec(%d)", vectorExpression, coarseDimension, coarseDimension);
+    }
+    
     /**
      * Executes index creation with handling for concurrent duplicate creation.
      * PostgreSQL's CREATE INDEX IF NOT EXISTS can still fail with duplicate key errors
@@ -359,18 +422,29 @@ public class PgVectorStorage implements VectorStorage {
         int topK, 
         VectorFilter filter
     ) {
+        Timer.Sample querySample = LightRAGMetrics.startTimer();
         return CompletableFuture.supplyAsync(() -> {
             List<VectorSearchResult> results = new ArrayList<>();
             
             try (Connection conn = dataSource.getConnection()) {
                 // Build query with direct project_id filtering (no JOIN needed)
                 StringBuilder sqlBuilder = new StringBuilder();
-                sqlBuilder.append(String.format("""
-                    SELECT v.id, v.type, v.content, v.document_id, v.chunk_index, v.project_id,
-                           1 - (v.vector <=> ?::halfvec) AS similarity
-                    FROM rag.%s v
-                    WHERE 1=1
-                    """, tableName));
+                if (isTwoStage()) {
+                    // Coarse pass over the prefix index, full-vector rescoring of its candidates
+                    sqlBuilder.append(String.format("""
+                        WITH candidates AS (
+                            SELECT v.id, v.type, v.content, v.document_id, v.chunk_index, v.project_id, v.vector
+                            FROM rag.%s v
+                            WHERE 1=1
+                        """, tableName));
+                } else {
+                    sqlBuilder.append(String.format("""
+                        SELECT v.id, v.type, v.content, v.document_id, v.chunk_index, v.project_id,
+                               1 - (v.vector <=> ?::halfvec) AS similarity
+                        FROM rag.%s v
+                        WHERE 1=1
+                        """, tableName));
+                }
                 
                 // Filter by type if provided
                 if (filter != null && filter.type() != null) {
@@ -382,24 +456,166 @@ public class PgVectorStorage implements VectorStorage {
                     sqlBuilder.append(" AND v.project_id = ?::uuid");
                 }
                 
-                sqlBuilder.append(" ORDER BY v.vector <=> ?::halfvec");
+                if (isTwoStage()) {
+                    // Must match the indexed expression for the ANN index to be used
+                    sqlBuilder.append(" ORDER BY ").append(coarseExpression("v.vector"))
+                        .append(" <=> ").append(coarseExpression("?::halfvec"));
+                    sqlBuilder.append(" LIMIT ?)");
+                    sqlBuilder.append("""
+                        
+                        SELECT id, type, content, document_id, chunk_index, project_id,
+                               1 - (vector <=> ?::halfvec) AS similarity
+                        FROM candidates
+                        ORDER BY vector <=> ?::halfvec
+                        LIMIT ?
+                        """);
+                } else {
+                    sqlBuilder.append(" ORDER BY v.vector <=> ?::halfvec");
+                    sqlBuilder.append(" LIMIT ?");
+                }
+                
+                // HNSW returns at most ef_search rows; widen it for this query's candidates
+                int candidates = Math.max(topK, topK * coarseOversample);
+                boolean widenSearch = isTwoStage() && !"ivfflat".equalsIgnoreCase(indexType)
+                    && candidates > DEFAULT_HNSW_EF_SEARCH;
+                // The ef_search override is transaction-local; always end that transaction
+                // and hand the pooled connection back in autocommit mode
+                if (widenSearch) {
+                    conn.setAutoCommit(false);
+                }
+                try {
+                    if (widenSearch) {
+                        try (PreparedStatement efStmt = conn.prepareStatement("SELECT set_config('hnsw.ef_search', ?, true)")) {
+                            efStmt.setString(1, Integer.toString(candidates));
+                            efStmt.execute();
+                        }
+                    }
+                
+                    try (PreparedStatement pstmt = conn.prepareStatement(sqlBuilder.toString())) {
+                        String vectorStr = vectorToString(queryVector);
+                    
+                        int paramIndex = 1;
+                        if (!isTwoStage()) {
+                            pstmt.setString(paramIndex++, vectorStr);
+                        }
+                    
+                        if (filter != null && filter.type() != null) {
+                            pstmt.setString(paramIndex++, filter.type());
+                        }
+                    
+                        if (filter != null && filter.projectId() != null) {
+                            pstmt.setString(paramIndex++, filter.projectId());
+                        }
+                    
+                        pstmt.setString(paramIndex++, vectorStr);
+                        if (isTwoStage()) {
+                            pstmt.setInt(paramIndex++, candidates);
+                            pstmt.setString(paramIndex++, vectorStr);
+                            pstmt.setString(paramIndex++, vectorStr);
+                        }
+                        pstmt.setInt(paramIndex, topK);
+                    
+                        ResultSet rs = pstmt.executeQuery();
+                    
+                        while (rs.next()) {
+                            VectorMetadata metadata = new VectorMetadata(
+                                rs.getString("type"),
+                                rs.getString("content"),
+                                rs.getString("document_id"),
+                                rs.getInt("chunk_index"),
+                                rs.getString("project_id")
+                            );
+                        
+                            results.add(new VectorSearchResult(
+                                rs.getString("id"),
+                                rs.getDouble("similarity"),
+                                metadata
+                            ));
+                        }
+                    }
+                    if (widenSearch) {
+                        conn.commit();
+                    }
+                } catch (SQLException | RuntimeException e) {
+                    if (widenSearch) {
+                        conn.rollback();
+                    }
+                    throw e;
+                } finally {
+                    if (widenSearch) {
+                        conn.setAutoCommit(true);
+                    }
+                }
+                
+            } catch (SQLException e) {
+                logger.error("Failed to query vectors", e);
+                throw new RuntimeException("Failed to query vectors", e);
+            }
+            
+            return results;
+        }, executor)
+                .whenComplete((results, e) -> LightRAGMetrics.recordVectorQuery(
+                        "postgresql", filter != null ? filter.type() : null, querySample,
+                        results != null ? results.size() : 0));
+    }
+
+    @Override
+    public boolean supportsKeywordSearch() {
+        return true;
+    }
+    
+    /**
+     * Ranks rows with {@code ts_rank_cd} over the content's GIN expression index.
+     * Postgres has no built-in BM25; cover density ranking with OR-ed terms is
+     * the closest native equivalent and is only used for rank order.
+     */
+    @Override
+    @Retry(maxRetries = 3, delay = 200, delayUnit = ChronoUnit.MILLIS, maxDuration = 30, durationUnit = ChronoUnit.SECONDS)
+    @ExponentialBackoff(maxDelay = 5, maxDelayUnit = ChronoUnit.SECONDS)
+    @RetryWhen(exception = TransientSQLExceptionPredicate.class)
+    public CompletableFuture<List<VectorSearchResult>> keywordQuery(
+        @NotNull String queryText,
+        int topK,
+        VectorFilter filter
+    ) {
+        List<String> terms = KeywordTerms.of(queryText);
+        if (terms.isEmpty() || topK <= 0) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        Timer.Sample querySample = LightRAGMetrics.startTimer();
+        return CompletableFuture.supplyAsync(() -> {
+            List<VectorSearchResult> results = new ArrayList<>();
+            
+            try (Connection conn = dataSource.getConnection()) {
+                StringBuilder sqlBuilder = new StringBuilder();
+                sqlBuilder.append(String.format("""
+                    SELECT v.id, v.type, v.content, v.document_id, v.chunk_index, v.project_id,
+                           ts_rank_cd(to_tsvector('simple', v.content), q) AS rank
+                    FROM rag.%s v, to_tsquery('simple', ?) q
+                    WHERE to_tsvector('simple', v.content) @@ q
+                    """, tableName));
+                
+                if (filter != null && filter.type() != null) {
+                    sqlBuilder.append(" AND v.type = ?");
+                }
+                if (filter != null && filter.projectId() != null) {
+                    sqlBuilder.append(" AND v.project_id = ?::uuid");
+                }
+                
+                sqlBuilder.append(" ORDER BY rank DESC");
                 sqlBuilder.append(" LIMIT ?");
                 
                 try (PreparedStatement pstmt = conn.prepareStatement(sqlBuilder.toString())) {
-                    String vectorStr = vectorToString(queryVector);
-                    
                     int paramIndex = 1;
-                    pstmt.setString(paramIndex++, vectorStr);
+                    // Terms are word characters only, so they are valid tsquery lexemes
+                    pstmt.setString(paramIndex++, String.join(" | ", terms));
                     
                     if (filter != null && filter.type() != null) {
                         pstmt.setString(paramIndex++, filter.type());
                     }
-                    
                     if (filter != null && filter.projectId() != null) {
                         pstmt.setString(paramIndex++, filter.projectId());
                     }
-                    
-                    pstmt.setString(paramIndex++, vectorStr);
                     pstmt.setInt(paramIndex, topK);
                     
                     ResultSet rs = pstmt.executeQuery();
@@ -415,19 +631,21 @@ public class PgVectorStorage implements VectorStorage {
                         
                         results.add(new VectorSearchResult(
                             rs.getString("id"),
-                            rs.getDouble("similarity"),
+                            rs.getDouble("rank"),
                             metadata
                         ));
                     }
                 }
                 
             } catch (SQLException e) {
-                logger.error("Failed to query vectors", e);
-                throw new RuntimeException("Failed to query vectors", e);
+                logger.error("Failed to run keyword query", e);
+                throw new RuntimeException("Failed to run keyword query", e);
             }
             
             return results;
-        }, executor);
+        }, executor)
+                .whenComplete((results, e) -> LightRAGMetrics.recordKeywordQuery(
+                        "postgresql", querySample, results != null ? results.size() : 0));
     }
     
     @Override
@@ -709,6 +927,58 @@ public class PgVectorStorage implements VectorStorage {
             }
         }, executor);
     }
+
+    /**
+     * Deletes entity and chunk embeddings in one transaction. Values are bound
+     * as arrays ({@code = ANY(?)}), so the statement size does not grow with the
+     * number of documents being deleted.
+     */
+    @Override
+    public CompletableFuture<Integer> deleteEmbeddings(
+            @NotNull String projectId,
+            @NotNull java.util.Set<String> entityNames,
+            @NotNull java.util.Set<String> chunkIds) {
+        if (entityNames.isEmpty() && chunkIds.isEmpty()) {
+            return CompletableFuture.completedFuture(0);
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+            try (Connection conn = dataSource.getConnection()) {
+                conn.setAutoCommit(false);
+                int deleted = 0;
+                try {
+                    if (!entityNames.isEmpty()) {
+                        try (PreparedStatement pstmt = conn.prepareStatement(String.format(
+                                "DELETE FROM rag.%s WHERE project_id = ?::uuid AND type = 'entity' AND content = ANY(?)",
+                                tableName))) {
+                            pstmt.setString(1, projectId);
+                            pstmt.setArray(2, conn.createArrayOf("text", entityNames.toArray()));
+                            deleted += pstmt.executeUpdate();
+                        }
+                    }
+                    if (!chunkIds.isEmpty()) {
+                        try (PreparedStatement pstmt = conn.prepareStatement(String.format(
+                                "DELETE FROM rag.%s WHERE project_id = ?::uuid AND type = 'chunk' AND id = ANY(?)",
+                                tableName))) {
+                            pstmt.setString(1, projectId);
+                            pstmt.setArray(2, conn.createArrayOf("uuid",
+                                chunkIds.stream().map(UUID::fromString).toArray()));
+                            deleted += pstmt.executeUpdate();
+                        }
+                    }
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                }
+                logger.debug("Deleted {} embeddings for project {}", deleted, projectId);
+                return deleted;
+            } catch (SQLException e) {
+                logger.error("Failed to delete embeddings for project: {}", projectId, e);
+                throw new RuntimeException("Failed to delete embeddings", e);
+            }
+        }, executor);
+    }
     
     @Override
     @Retry(maxRetries = 3, delay = 200, delayUnit = ChronoUnit.MILLIS, maxDuration = 30, durationUnit = ChronoUnit.SECONDS)
@@ -271,6 +271,33 @@ public final class SQLiteConnectionManager implements AutoCloseable {
         }
     }
 
+    /**
+     * Returns the number of idle connections in the read pool.
+     * 
+     * @return idle read connections
+     */
+    public int getIdleReadConnections() {
+        return readPool.size();
+    }
+
+    /**
+     * Returns the number of threads waiting for the write lock.
+     * 
+     * @return estimated write queue length
+     */
+    public int getWriteQueueLength() {
+        return writeLock.getQueueLength();
+    }
+
+    /**
+     * Returns whether the write connection is currently held.
+     * 
+     * @return true if a writer holds the lock
+     */
+    public boolean isWriteLocked() {
+        return writeLock.isLocked();
+    }
+
     /**
      * Applies SQLite pragmas for performance.
      * Uses instance configuration for memory settings.
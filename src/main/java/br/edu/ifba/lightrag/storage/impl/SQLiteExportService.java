@@ -9,7 +9,11 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 import org.jboss.logging.Logger;
@@ -43,14 +47,42 @@ import org.jboss.logging.Logger;
  * 
  * // Import from a file into a new project
  * exportService.importProject(Path.of("export.db"), newProjectId).join();
+ * 
+ * // Back up the whole database
+ * exportService.backupDatabase(Path.of("backup.db")).join();
  * </pre>
  * 
+ * <p>Project export and import attach the other file to a single connection and
+ * copy each table with one {@code INSERT ... SELECT}, so rows never cross the
+ * JDBC boundary. Whole-database backups use {@code VACUUM INTO}.</p>
+ * 
  * @since spec-009
  */
 public class SQLiteExportService implements Closeable {
 
     private static final Logger LOG = Logger.getLogger(SQLiteExportService.class);
 
+    private static final String MAIN_SCHEMA = "main";
+    private static final String EXPORT_SCHEMA = "export";
+    private static final String IMPORT_SCHEMA = "import";
+    private static final String PROJECT_ID_COLUMN = "project_id";
+
+    /** Tables FTS5 creates alongside each virtual table. */
+    private static final List<String> FTS5_SHADOW_SUFFIXES = List.of(
+        "_data", "_idx", "_content", "_docsize", "_config");
+
+    /**
+     * Project-scoped tables in dependency order. kv_store and document_status are
+     * not project-scoped and are not exported.
+     */
+    private static final List<String> PROJECT_TABLES = List.of(
+        "projects", "documents", "graph_entities", "graph_relations", "vectors", "extraction_cache");
+
+    /** Random version 4 UUID, evaluated per row. */
+    private static final String RANDOM_UUID_SQL = "lower(hex(randomblob(4)) || '-' || hex(randomblob(2)) || '-4' "
+        + "|| substr(hex(randomblob(2)), 2) || '-' || substr('89ab', 1 + (abs(random()) % 4), 1) "
+        + "|| substr(hex(randomblob(2)), 2) || '-' || hex(randomblob(6)))";
+
     private final SQLiteConnectionManager sourceConnectionManager;
 
     /**
@@ -96,22 +128,28 @@ public class SQLiteExportService implements Closeable {
             }
             
             // Create export database with schema
-            try (SQLiteConnectionManager exportConn = new SQLiteConnectionManager(exportPath.toString())) {
-                Connection conn = exportConn.createConnection();
+            try (SQLiteConnectionManager exportConn = new SQLiteConnectionManager(exportPath.toString());
+                 Connection conn = exportConn.createConnection()) {
                 SQLiteSchemaMigrator migrator = new SQLiteSchemaMigrator();
                 migrator.migrateToLatest(conn);
                 
+                // Tables created on demand by the storages (vectors, keyword index)
+                try (Connection sourceConn = sourceConnectionManager.createConnection()) {
+                    copyMissingSchema(sourceConn, MAIN_SCHEMA, conn);
+                }
+            } catch (Exception e) {
+                deleteQuietly(exportPath);
+                throw new RuntimeException("Failed to export project: " + projectId, e);
+            }
+            
+            try {
                 // Export all project data
-                exportProjectData(projectId, exportConn);
+                exportProjectData(projectId, exportPath);
                 
                 LOG.infof("Successfully exported project %s to %s", projectId, exportPath);
             } catch (Exception e) {
                 // Clean up partial export
-                try {
-                    Files.deleteIfExists(exportPath);
-                } catch (IOException ignored) {
-                    // Ignore cleanup errors
-                }
+                deleteQuietly(exportPath);
                 throw new RuntimeException("Failed to export project: " + projectId, e);
             }
         });
@@ -122,9 +160,9 @@ public class SQLiteExportService implements Closeable {
      * 
      * <p>The import process:</p>
      * <ol>
-     *   <li>Reads all data from the export file</li>
+     *   <li>Attaches the export file to the target database</li>
      *   <li>Remaps the project ID to the specified new project ID</li>
-     *   <li>Inserts all data into the target database</li>
+     *   <li>Copies each table with a single set-based insert</li>
      * </ol>
      * 
      * @param importPath the path to the export file to import
@@ -140,9 +178,8 @@ public class SQLiteExportService implements Closeable {
                 throw new IllegalArgumentException("Import file not found: " + importPath);
             }
             
-            // Open import database
-            try (SQLiteConnectionManager importConn = new SQLiteConnectionManager(importPath.toString())) {
-                importProjectData(importConn, targetProjectId);
+            try {
+                importProjectData(importPath, targetProjectId);
                 
                 LOG.infof("Successfully imported project from %s into %s", importPath, targetProjectId);
             } catch (Exception e) {
@@ -151,6 +188,39 @@ public class SQLiteExportService implements Closeable {
         });
     }
 
+    /**
+     * Writes a consistent copy of the whole database to a file using
+     * {@code VACUUM INTO}.
+     * 
+     * <p>The copy is taken inside a single read transaction, so concurrent writers
+     * are not blocked (WAL mode) and the result is compacted and defragmented. This
+     * is the fast path for full backups; use {@link #exportProject} to extract a
+     * single project.</p>
+     * 
+     * @param backupPath the file to create; must not exist
+     * @return CompletableFuture that completes when the copy is written
+     */
+    public CompletableFuture<Void> backupDatabase(Path backupPath) {
+        return CompletableFuture.runAsync(() -> {
+            LOG.infof("Backing up database to %s", backupPath);
+            try {
+                Files.deleteIfExists(backupPath);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to delete existing backup file: " + backupPath, e);
+            }
+            
+            try (Connection conn = sourceConnectionManager.createConnection();
+                 PreparedStatement stmt = conn.prepareStatement("VACUUM INTO ?")) {
+                stmt.setString(1, backupPath.toString());
+                stmt.execute();
+                LOG.infof("Database backup written to %s", backupPath);
+            } catch (SQLException e) {
+                deleteQuietly(backupPath);
+                throw new RuntimeException("Failed to back up database to: " + backupPath, e);
+            }
+        });
+    }
+
     /**
      * Checks if a project exists in the source database.
      */
@@ -171,101 +241,53 @@ public class SQLiteExportService implements Closeable {
 
     /**
      * Exports all project data to the export database.
+     * 
+     * <p>The export file is attached to a dedicated source connection and every
+     * table is copied with one {@code INSERT INTO export.t SELECT ... WHERE
+     * project_id = ?} statement inside a single transaction. Rows never pass
+     * through Java and no pooled connection is held during the copy.</p>
      */
-    private void exportProjectData(String projectId, SQLiteConnectionManager exportConn) throws SQLException {
-        Connection sourceConn = sourceConnectionManager.getReadConnection();
-        Connection targetConn = exportConn.getWriteConnection();
-        
-        try {
-            targetConn.setAutoCommit(false);
-            
-            // Export project record
-            exportTable(sourceConn, targetConn, "projects", 
-                "SELECT * FROM projects WHERE id = ?", projectId);
-            
-            // Export documents
-            exportTable(sourceConn, targetConn, "documents", 
-                "SELECT * FROM documents WHERE project_id = ?", projectId);
-            
-            // Export entities
-            exportTable(sourceConn, targetConn, "graph_entities", 
-                "SELECT * FROM graph_entities WHERE project_id = ?", projectId);
-            
-            // Export relations
-            exportTable(sourceConn, targetConn, "graph_relations", 
-                "SELECT * FROM graph_relations WHERE project_id = ?", projectId);
-            
-            // Export vectors
-            exportTable(sourceConn, targetConn, "vectors", 
-                "SELECT * FROM vectors WHERE project_id = ?", projectId);
-            
-            // Export extraction cache
-            exportTable(sourceConn, targetConn, "extraction_cache", 
-                "SELECT * FROM extraction_cache WHERE project_id = ?", projectId);
-            
-            // Note: kv_store and document_status are not project-scoped in the schema
-            // They use different key patterns, so we skip them for project export
-            // If needed in future, we could filter kv_store by key prefix pattern
-            
-            targetConn.commit();
-            
-        } catch (SQLException e) {
+    private void exportProjectData(String projectId, Path exportPath) throws SQLException {
+        try (Connection conn = sourceConnectionManager.createConnection()) {
+            attach(conn, exportPath, EXPORT_SCHEMA);
             try {
-                targetConn.rollback();
-            } catch (SQLException rollbackEx) {
-                LOG.warn("Failed to rollback export transaction", rollbackEx);
-            }
-            throw e;
-        } finally {
-            targetConn.setAutoCommit(true);
-            sourceConnectionManager.releaseReadConnection(sourceConn);
-            exportConn.releaseWriteConnection(targetConn);
-        }
-    }
-
-    /**
-     * Exports data from a table using the given query.
-     */
-    private void exportTable(Connection sourceConn, Connection targetConn, 
-            String tableName, String query, String projectId) throws SQLException {
-        
-        try (PreparedStatement selectStmt = sourceConn.prepareStatement(query)) {
-            selectStmt.setString(1, projectId);
-            ResultSet rs = selectStmt.executeQuery();
-            
-            int columnCount = rs.getMetaData().getColumnCount();
-            if (columnCount == 0) {
-                return;
-            }
-            
-            // Build insert statement
-            StringBuilder insertSql = new StringBuilder("INSERT INTO ");
-            insertSql.append(tableName).append(" (");
-            StringBuilder placeholders = new StringBuilder();
-            
-            for (int i = 1; i <= columnCount; i++) {
-                if (i > 1) {
-                    insertSql.append(", ");
-                    placeholders.append(", ");
-                }
-                insertSql.append(rs.getMetaData().getColumnName(i));
-                placeholders.append("?");
-            }
-            insertSql.append(") VALUES (").append(placeholders).append(")");
-            
-            try (PreparedStatement insertStmt = targetConn.prepareStatement(insertSql.toString())) {
-                int rowCount = 0;
-                while (rs.next()) {
-                    for (int i = 1; i <= columnCount; i++) {
-                        insertStmt.setObject(i, rs.getObject(i));
+                conn.setAutoCommit(false);
+                try {
+                    for (String table : PROJECT_TABLES) {
+                        String projectColumn = "projects".equals(table) ? "id" : PROJECT_ID_COLUMN;
+                        List<String> columns = sharedColumns(conn, MAIN_SCHEMA, EXPORT_SCHEMA, table);
+                        if (columns.isEmpty()) {
+                            continue;
+                        }
+                        String columnList = String.join(", ", columns);
+                        String sql = "INSERT INTO " + EXPORT_SCHEMA + "." + table + " (" + columnList + ") "
+                            + "SELECT " + columnList + " FROM " + MAIN_SCHEMA + "." + table
+                            + " WHERE " + projectColumn + " = ?";
+                        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                            stmt.setString(1, projectId);
+                            int rowCount = stmt.executeUpdate();
+                            if (rowCount > 0) {
+                                LOG.debugf("Exported %d rows from %s", Integer.valueOf(rowCount), table);
+                            }
+                        }
                     }
-                    insertStmt.executeUpdate();
-                    rowCount++;
+                    conn.commit();
+                } catch (SQLException e) {
+                    try {
+                        conn.rollback();
+                    } catch (SQLException rollbackEx) {
+                        LOG.warn("Failed to rollback export transaction", rollbackEx);
+                    }
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(true);
                 }
-                
-                if (rowCount > 0) {
-                    LOG.debugf("Exported %d rows from %s", rowCount, tableName);
+                // Leave a single self-contained file (no -wal/-shm sidecars) for download
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("PRAGMA " + EXPORT_SCHEMA + ".journal_mode = DELETE");
                 }
+            } finally {
+                detach(conn, EXPORT_SCHEMA);
             }
         }
     }
@@ -273,12 +295,19 @@ public class SQLiteExportService implements Closeable {
     /**
      * Imports project data from the import database.
      * 
+     * <p>The import file is attached to the write connection and each table is
+     * copied with one set-based {@code INSERT INTO t SELECT ... FROM import.t}
+     * statement. The project ID is remapped to the target project and every row
+     * gets a new UUID to prevent conflicts with existing data. Tables that exist
+     * in the import file but not in the target (such as the vector table, which
+     * is created on demand) are created from the file's schema first. Inserted
+     * vectors reach the keyword index through its triggers.</p>
+     * 
      * <p>Foreign key checks are temporarily disabled during import since we generate
      * new IDs for all rows. The imported data maintains internal consistency from
      * the source database.</p>
      */
-    private void importProjectData(SQLiteConnectionManager importConn, String targetProjectId) throws SQLException {
-        Connection importConnDb = importConn.getReadConnection();
+    private void importProjectData(Path importPath, String targetProjectId) throws SQLException {
         Connection targetConn = sourceConnectionManager.getWriteConnection();
         
         try {
@@ -287,66 +316,58 @@ public class SQLiteExportService implements Closeable {
             try (Statement stmt = targetConn.createStatement()) {
                 stmt.execute("PRAGMA foreign_keys = OFF");
             }
+            attach(targetConn, importPath, IMPORT_SCHEMA);
             
-            targetConn.setAutoCommit(false);
-            
-            // Get the original project ID from the import file
-            String originalProjectId = getOriginalProjectId(importConnDb);
-            if (originalProjectId == null) {
-                throw new SQLException("No project found in import file");
-            }
-            
-            // Import documents with project ID remapping (must be before vectors/entities due to FK)
-            importTableWithRemap(importConnDb, targetConn, "documents", 
-                "project_id", originalProjectId, targetProjectId);
-            
-            // Import entities with project ID remapping
-            importTableWithRemap(importConnDb, targetConn, "graph_entities", 
-                "project_id", originalProjectId, targetProjectId);
-            
-            // Import relations with project ID remapping
-            importTableWithRemap(importConnDb, targetConn, "graph_relations", 
-                "project_id", originalProjectId, targetProjectId);
-            
-            // Import vectors with project ID remapping
-            importTableWithRemap(importConnDb, targetConn, "vectors", 
-                "project_id", originalProjectId, targetProjectId);
-            
-            // Import extraction cache with project ID remapping
-            importTableWithRemap(importConnDb, targetConn, "extraction_cache", 
-                "project_id", originalProjectId, targetProjectId);
-            
-            // Note: kv_store and document_status are not project-scoped
-            // They were not exported, so we skip importing them
-            
-            targetConn.commit();
-            
-        } catch (SQLException e) {
             try {
-                targetConn.rollback();
-            } catch (SQLException rollbackEx) {
-                LOG.warn("Failed to rollback import transaction", rollbackEx);
+                // Get the original project ID from the import file
+                String originalProjectId = getOriginalProjectId(targetConn);
+                if (originalProjectId == null) {
+                    throw new SQLException("No project found in import file");
+                }
+                
+                targetConn.setAutoCommit(false);
+                copyMissingSchema(targetConn, IMPORT_SCHEMA, targetConn);
+                
+                // Documents first (vectors/entities reference them), project row is not imported
+                for (String table : PROJECT_TABLES) {
+                    if (!"projects".equals(table)) {
+                        importTableWithRemap(targetConn, table, originalProjectId, targetProjectId);
+                    }
+                }
+                
+                // Note: kv_store and document_status are not project-scoped
+                // They were not exported, so we skip importing them
+                
+                targetConn.commit();
+                
+            } catch (SQLException e) {
+                try {
+                    targetConn.rollback();
+                } catch (SQLException rollbackEx) {
+                    LOG.warn("Failed to rollback import transaction", rollbackEx);
+                }
+                throw e;
+            } finally {
+                targetConn.setAutoCommit(true);
+                detach(targetConn, IMPORT_SCHEMA);
             }
-            throw e;
         } finally {
-            targetConn.setAutoCommit(true);
             // Re-enable foreign key checks after transaction complete
             try (Statement stmt = targetConn.createStatement()) {
                 stmt.execute("PRAGMA foreign_keys = ON");
             } catch (SQLException e) {
                 LOG.warn("Failed to re-enable foreign key checks", e);
             }
-            importConn.releaseReadConnection(importConnDb);
             sourceConnectionManager.releaseWriteConnection(targetConn);
         }
     }
 
     /**
-     * Gets the original project ID from the import file.
+     * Gets the original project ID from the attached import file.
      */
-    private String getOriginalProjectId(Connection importConn) throws SQLException {
-        try (Statement stmt = importConn.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT id FROM projects LIMIT 1")) {
+    private String getOriginalProjectId(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT id FROM " + IMPORT_SCHEMA + ".projects LIMIT 1")) {
             if (rs.next()) {
                 return rs.getString("id");
             }
@@ -361,68 +382,153 @@ public class SQLiteExportService implements Closeable {
      * with existing data in the target database. The project_id column is remapped
      * to the target project ID.</p>
      */
-    private void importTableWithRemap(Connection importConn, Connection targetConn,
-            String tableName, String projectIdColumn, String originalProjectId, 
-            String targetProjectId) throws SQLException {
+    private void importTableWithRemap(Connection conn, String tableName,
+            String originalProjectId, String targetProjectId) throws SQLException {
+        List<String> columns = sharedColumns(conn, IMPORT_SCHEMA, MAIN_SCHEMA, tableName);
+        if (columns.isEmpty()) {
+            return;
+        }
         
-        String query = "SELECT * FROM " + tableName + " WHERE " + projectIdColumn + " = ?";
+        List<String> selected = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            if (column.equalsIgnoreCase(PROJECT_ID_COLUMN)) {
+                selected.add("?");
+            } else if (column.equalsIgnoreCase("id")) {
+                selected.add(RANDOM_UUID_SQL);
+            } else {
+                selected.add(column);
+            }
+        }
+        String sql = "INSERT INTO " + MAIN_SCHEMA + "." + tableName + " (" + String.join(", ", columns) + ") "
+            + "SELECT " + String.join(", ", selected) + " FROM " + IMPORT_SCHEMA + "." + tableName
+            + " WHERE " + PROJECT_ID_COLUMN + " = ?";
         
-        try (PreparedStatement selectStmt = importConn.prepareStatement(query)) {
-            selectStmt.setString(1, originalProjectId);
-            ResultSet rs = selectStmt.executeQuery();
-            
-            int columnCount = rs.getMetaData().getColumnCount();
-            if (columnCount == 0) {
-                return;
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            if (columns.stream().anyMatch(c -> c.equalsIgnoreCase(PROJECT_ID_COLUMN))) {
+                stmt.setString(index++, targetProjectId);
             }
-            
-            // Build insert statement and track special columns
-            StringBuilder insertSql = new StringBuilder("INSERT INTO ");
-            insertSql.append(tableName).append(" (");
-            StringBuilder placeholders = new StringBuilder();
-            int projectIdColumnIndex = -1;
-            int idColumnIndex = -1;
-            
-            for (int i = 1; i <= columnCount; i++) {
-                String colName = rs.getMetaData().getColumnName(i);
-                if (colName.equalsIgnoreCase(projectIdColumn)) {
-                    projectIdColumnIndex = i;
-                }
-                if (colName.equalsIgnoreCase("id")) {
-                    idColumnIndex = i;
-                }
-                if (i > 1) {
-                    insertSql.append(", ");
-                    placeholders.append(", ");
+            stmt.setString(index, originalProjectId);
+            int rowCount = stmt.executeUpdate();
+            if (rowCount > 0) {
+                LOG.debugf("Imported %d rows into %s with project ID remapping", Integer.valueOf(rowCount), tableName);
+            }
+        }
+    }
+
+    /**
+     * Creates tables, indexes and triggers that exist in {@code fromSchema} but not
+     * in the main schema of {@code to}.
+     * 
+     * <p>The vector table and its FTS5 keyword index are created by the vector
+     * storage on demand, so they are not part of the migrations. Running the
+     * stored DDL recreates them, including the virtual table's shadow tables and
+     * the triggers that keep the index in sync.</p>
+     */
+    private static void copyMissingSchema(Connection from, String fromSchema, Connection to) throws SQLException {
+        Set<String> existing = new HashSet<>();
+        try (Statement stmt = to.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT name FROM main.sqlite_master")) {
+            while (rs.next()) {
+                existing.add(rs.getString(1).toLowerCase(Locale.ROOT));
+            }
+        }
+        
+        List<String[]> objects = new ArrayList<>();
+        List<String> virtualTables = new ArrayList<>();
+        try (Statement stmt = from.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT type, name, sql FROM " + fromSchema + ".sqlite_master "
+                 + "WHERE sql IS NOT NULL AND name NOT LIKE 'sqlite_%' "
+                 + "ORDER BY CASE type WHEN 'table' THEN 0 WHEN 'index' THEN 1 ELSE 2 END")) {
+            while (rs.next()) {
+                String type = rs.getString("type");
+                String sql = rs.getString("sql");
+                String name = rs.getString("name").toLowerCase(Locale.ROOT);
+                if (sql.regionMatches(true, 0, "CREATE VIRTUAL TABLE", 0, 20)) {
+                    virtualTables.add(name);
                 }
-                insertSql.append(colName);
-                placeholders.append("?");
+                objects.add(new String[] { type, name, sql });
             }
-            insertSql.append(") VALUES (").append(placeholders).append(")");
-            
-            try (PreparedStatement insertStmt = targetConn.prepareStatement(insertSql.toString())) {
-                int rowCount = 0;
-                while (rs.next()) {
-                    for (int i = 1; i <= columnCount; i++) {
-                        if (i == projectIdColumnIndex) {
-                            // Remap project ID to target
-                            insertStmt.setString(i, targetProjectId);
-                        } else if (i == idColumnIndex) {
-                            // Generate new UUID to avoid conflicts with existing data
-                            insertStmt.setString(i, UUID.randomUUID().toString());
-                        } else {
-                            insertStmt.setObject(i, rs.getObject(i));
-                        }
-                    }
-                    insertStmt.executeUpdate();
-                    rowCount++;
+        }
+        
+        try (Statement stmt = to.createStatement()) {
+            for (String[] object : objects) {
+                String name = object[1];
+                // Shadow tables are created by their virtual table; triggers on it are not
+                if (existing.contains(name) || ("table".equals(object[0]) && isShadowTable(name, virtualTables))) {
+                    continue;
                 }
-                
-                if (rowCount > 0) {
-                    LOG.debugf("Imported %d rows into %s with project ID remapping", rowCount, tableName);
+                stmt.execute(object[2]);
+                LOG.debugf("Created %s from %s schema", name, fromSchema);
+            }
+        }
+    }
+
+    /**
+     * Whether {@code name} is one of the FTS5 shadow tables of a virtual table.
+     */
+    private static boolean isShadowTable(String name, List<String> virtualTables) {
+        for (String virtualTable : virtualTables) {
+            for (String suffix : FTS5_SHADOW_SUFFIXES) {
+                if (name.equals(virtualTable + suffix)) {
+                    return true;
                 }
             }
         }
+        return false;
+    }
+
+    /**
+     * Columns of {@code table} present in both schemas, in {@code toSchema} order.
+     * Empty if the table is missing on either side.
+     */
+    private static List<String> sharedColumns(Connection conn, String fromSchema, String toSchema,
+            String table) throws SQLException {
+        Set<String> fromColumns = new HashSet<>();
+        for (String column : columns(conn, fromSchema, table)) {
+            fromColumns.add(column.toLowerCase(Locale.ROOT));
+        }
+        List<String> shared = new ArrayList<>();
+        for (String column : columns(conn, toSchema, table)) {
+            if (fromColumns.contains(column.toLowerCase(Locale.ROOT))) {
+                shared.add(column);
+            }
+        }
+        return shared;
+    }
+
+    private static List<String> columns(Connection conn, String schema, String table) throws SQLException {
+        List<String> columns = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA " + schema + ".table_info(" + table + ")")) {
+            while (rs.next()) {
+                columns.add(rs.getString("name"));
+            }
+        }
+        return columns;
+    }
+
+    private static void attach(Connection conn, Path file, String schema) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("ATTACH DATABASE ? AS " + schema)) {
+            stmt.setString(1, file.toString());
+            stmt.execute();
+        }
+    }
+
+    private static void detach(Connection conn, String schema) {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DETACH DATABASE " + schema);
+        } catch (SQLException e) {
+            LOG.warnf("Failed to detach %s database: %s", schema, e.getMessage());
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // Ignore cleanup errors
+        }
     }
 
     @Override
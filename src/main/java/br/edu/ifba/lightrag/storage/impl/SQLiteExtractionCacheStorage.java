@@ -13,6 +13,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -28,6 +29,9 @@ public final class SQLiteExtractionCacheStorage implements ExtractionCacheStorag
 
     private static final Logger LOG = Logger.getLogger(SQLiteExtractionCacheStorage.class);
 
+    /** Chunk IDs per IN clause, well below SQLite's bound parameter limit. */
+    private static final int IN_CLAUSE_BATCH_SIZE = 500;
+
     private final SQLiteConnectionManager connectionManager;
 
     /**
@@ -61,7 +65,8 @@ public final class SQLiteExtractionCacheStorage implements ExtractionCacheStorag
                 VALUES (?, ?, ?, ?, ?, ?, ?, datetime('now'))
                 ON CONFLICT(project_id, cache_type, content_hash) DO UPDATE SET
                     result = excluded.result,
-                    tokens_used = excluded.tokens_used
+                    tokens_used = excluded.tokens_used,
+                    created_at = excluded.created_at
                 """;
 
             Connection conn = connectionManager.getWriteConnection();
@@ -148,6 +153,105 @@ public final class SQLiteExtractionCacheStorage implements ExtractionCacheStorag
         });
     }
 
+    @Override
+    public CompletableFuture<List<ExtractionCache>> getByChunkIds(
+            @NotNull String projectId,
+            @NotNull Collection<String> chunkIds) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<ExtractionCache> caches = new ArrayList<>();
+            if (chunkIds.isEmpty()) {
+                return caches;
+            }
+
+            List<String> ids = new ArrayList<>(chunkIds);
+            Connection conn = connectionManager.getReadConnection();
+            try {
+                for (int i = 0; i < ids.size(); i += IN_CLAUSE_BATCH_SIZE) {
+                    List<String> batch = ids.subList(i, Math.min(i + IN_CLAUSE_BATCH_SIZE, ids.size()));
+                    String sql = """
+                        SELECT id, project_id, cache_type, chunk_id, content_hash, result, tokens_used, created_at
+                        FROM extraction_cache
+                        WHERE project_id = ? AND chunk_id IN (%s)
+                        """.formatted(placeholders(batch.size()));
+
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        stmt.setString(1, projectId);
+                        int index = 2;
+                        for (String chunkId : batch) {
+                            stmt.setString(index++, chunkId);
+                        }
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            while (rs.next()) {
+                                caches.add(cacheFromResultSet(rs));
+                            }
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to get extraction cache by chunk IDs", e);
+            } finally {
+                connectionManager.releaseReadConnection(conn);
+            }
+            return caches;
+        });
+    }
+
+    /**
+     * SQLite has no FK from extraction_cache to vectors, so chunk references are
+     * cleared explicitly.
+     */
+    @Override
+    public CompletableFuture<Integer> detachChunks(
+            @NotNull String projectId,
+            @NotNull Collection<String> chunkIds) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (chunkIds.isEmpty()) {
+                return 0;
+            }
+
+            List<String> ids = new ArrayList<>(chunkIds);
+            int detached = 0;
+            Connection conn = connectionManager.getWriteConnection();
+            try {
+                conn.setAutoCommit(false);
+                for (int i = 0; i < ids.size(); i += IN_CLAUSE_BATCH_SIZE) {
+                    List<String> batch = ids.subList(i, Math.min(i + IN_CLAUSE_BATCH_SIZE, ids.size()));
+                    String sql = "UPDATE extraction_cache SET chunk_id = NULL WHERE project_id = ? AND chunk_id IN ("
+                        + placeholders(batch.size()) + ")";
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        stmt.setString(1, projectId);
+                        int index = 2;
+                        for (String chunkId : batch) {
+                            stmt.setString(index++, chunkId);
+                        }
+                        detached += stmt.executeUpdate();
+                    }
+                }
+                conn.commit();
+                LOG.debugf("Detached %d extraction cache entries from deleted chunks in project %s", detached, projectId);
+                return detached;
+            } catch (SQLException e) {
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackEx) {
+                    LOG.warn("Failed to rollback", rollbackEx);
+                }
+                throw new RuntimeException("Failed to detach extraction cache entries", e);
+            } finally {
+                try {
+                    conn.setAutoCommit(true);
+                } catch (SQLException ex) {
+                    LOG.warn("Failed to reset auto-commit", ex);
+                }
+                connectionManager.releaseWriteConnection(conn);
+            }
+        });
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", java.util.Collections.nCopies(count, "?"));
+    }
+
     @Override
     public CompletableFuture<Integer> deleteByProject(@NotNull String projectId) {
         return CompletableFuture.supplyAsync(() -> {
@@ -167,6 +271,26 @@ public final class SQLiteExtractionCacheStorage implements ExtractionCacheStorag
         });
     }
 
+    @Override
+    public CompletableFuture<Integer> deleteByProjectAndType(@NotNull String projectId, @NotNull CacheType cacheType) {
+        return CompletableFuture.supplyAsync(() -> {
+            String sql = "DELETE FROM extraction_cache WHERE project_id = ? AND cache_type = ?";
+
+            Connection conn = connectionManager.getWriteConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, projectId);
+                stmt.setString(2, cacheType.name());
+                int deleted = stmt.executeUpdate();
+                LOG.debugf("Deleted %d %s cache entries for project %s", deleted, cacheType, projectId);
+                return deleted;
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to delete extraction cache by project and type", e);
+            } finally {
+                connectionManager.releaseWriteConnection(conn);
+            }
+        });
+    }
+
     @Override
     public void close() {
         LOG.info("Closed SQLiteExtractionCacheStorage");
@@ -14,6 +14,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -47,6 +48,12 @@ public final class SQLiteGraphStorage implements GraphStorage {
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     private static final TypeReference<List<String>> STRING_LIST_TYPE = new TypeReference<>() {};
 
+    /** Names per IN clause; each batch binds the list twice for the relation delete. */
+    private static final int BULK_DELETE_BATCH_SIZE = 400;
+
+    /** Names per IN clause of a multi-entity relation lookup; bound twice like the delete. */
+    private static final int RELATION_LOOKUP_BATCH_SIZE = 400;
+
     private final SQLiteConnectionManager connectionManager;
 
     /**
@@ -452,6 +459,69 @@ public final class SQLiteGraphStorage implements GraphStorage {
         });
     }
 
+    @Override
+    public CompletableFuture<Map<String, List<Relation>>> getRelationsForEntities(
+            @NotNull String projectId,
+            @NotNull Collection<String> entityNames) {
+        return CompletableFuture.supplyAsync(() -> {
+            // Requested names share a row when they differ only by case
+            Map<String, List<Relation>> byName = new HashMap<>();
+            for (String entityName : entityNames) {
+                byName.putIfAbsent(entityName.toLowerCase(), new ArrayList<>());
+            }
+            List<String> names = new ArrayList<>(byName.keySet());
+
+            Connection conn = connectionManager.getReadConnection();
+            try {
+                for (int i = 0; i < names.size(); i += RELATION_LOOKUP_BATCH_SIZE) {
+                    List<String> batch = names.subList(i, Math.min(i + RELATION_LOOKUP_BATCH_SIZE, names.size()));
+                    String placeholders = "?,".repeat(batch.size());
+                    placeholders = placeholders.substring(0, placeholders.length() - 1);
+
+                    try (PreparedStatement stmt = conn.prepareStatement("""
+                            SELECT source_entity, target_entity, description, keywords, weight, document_id, source_chunk_ids
+                            FROM graph_relations
+                            WHERE project_id = ? AND (source_entity IN (%s) OR target_entity IN (%s))
+                            """.formatted(placeholders, placeholders))) {
+                        stmt.setString(1, projectId);
+                        int index = 2;
+                        for (String name : batch) {
+                            stmt.setString(index, name);
+                            stmt.setString(index + batch.size(), name);
+                            index++;
+                        }
+
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            while (rs.next()) {
+                                Relation relation = relationFromResultSet(rs);
+                                String source = relation.getSrcId();
+                                String target = relation.getTgtId();
+                                List<Relation> sourceRelations = byName.get(source);
+                                if (sourceRelations != null) {
+                                    sourceRelations.add(relation);
+                                }
+                                List<Relation> targetRelations = byName.get(target);
+                                if (targetRelations != null && !target.equals(source)) {
+                                    targetRelations.add(relation);
+                                }
+                            }
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to get relations for entities", e);
+            } finally {
+                connectionManager.releaseReadConnection(conn);
+            }
+
+            Map<String, List<Relation>> relations = new HashMap<>();
+            for (String entityName : entityNames) {
+                relations.put(entityName, byName.get(entityName.toLowerCase()));
+            }
+            return relations;
+        });
+    }
+
     @Override
     public CompletableFuture<List<Entity>> getAllEntities(@NotNull String projectId) {
         return CompletableFuture.supplyAsync(() -> {
@@ -839,6 +909,129 @@ public final class SQLiteGraphStorage implements GraphStorage {
         });
     }
 
+    /**
+     * Applies a bulk deletion in a single write transaction.
+     *
+     * <p>Entities are removed with set-based {@code IN} deletes (chunked to stay
+     * below SQLite's bound parameter limit), together with every relation that
+     * touches them. Relation deletes and source-ID rewrites run as JDBC batches.
+     * Descriptions are not touched, so a concurrent description rebuild is not
+     * overwritten.</p>
+     */
+    @Override
+    public CompletableFuture<Void> applyBulkDeletion(@NotNull String projectId, @NotNull BulkDeletion deletion) {
+        return CompletableFuture.runAsync(() -> {
+            if (deletion.isEmpty()) {
+                return;
+            }
+
+            List<String> entityNames = deletion.entityNames().stream()
+                .map(String::toLowerCase)
+                .distinct()
+                .toList();
+
+            Connection conn = connectionManager.getWriteConnection();
+            try {
+                conn.setAutoCommit(false);
+
+                if (!deletion.relationKeys().isEmpty()) {
+                    try (PreparedStatement stmt = conn.prepareStatement(
+                            "DELETE FROM graph_relations WHERE project_id = ? AND source_entity = ? AND target_entity = ?")) {
+                        for (String key : deletion.relationKeys()) {
+                            String[] parts = key.split("->");
+                            if (parts.length == 2) {
+                                stmt.setString(1, projectId);
+                                stmt.setString(2, parts[0].trim().toLowerCase());
+                                stmt.setString(3, parts[1].trim().toLowerCase());
+                                stmt.addBatch();
+                            }
+                        }
+                        stmt.executeBatch();
+                    }
+                }
+
+                for (int i = 0; i < entityNames.size(); i += BULK_DELETE_BATCH_SIZE) {
+                    List<String> batch = entityNames.subList(i, Math.min(i + BULK_DELETE_BATCH_SIZE, entityNames.size()));
+                    String placeholders = "?,".repeat(batch.size());
+                    placeholders = placeholders.substring(0, placeholders.length() - 1);
+
+                    try (PreparedStatement stmt = conn.prepareStatement(
+                            "DELETE FROM graph_relations WHERE project_id = ? AND (source_entity IN (" + placeholders
+                                + ") OR target_entity IN (" + placeholders + "))")) {
+                        stmt.setString(1, projectId);
+                        int index = 2;
+                        for (String name : batch) {
+                            stmt.setString(index, name);
+                            stmt.setString(index + batch.size(), name);
+                            index++;
+                        }
+                        stmt.executeUpdate();
+                    }
+
+                    try (PreparedStatement stmt = conn.prepareStatement(
+                            "DELETE FROM graph_entities WHERE project_id = ? AND name IN (" + placeholders + ")")) {
+                        stmt.setString(1, projectId);
+                        int index = 2;
+                        for (String name : batch) {
+                            stmt.setString(index++, name);
+                        }
+                        stmt.executeUpdate();
+                    }
+                }
+
+                if (!deletion.prunedEntities().isEmpty()) {
+                    try (PreparedStatement stmt = conn.prepareStatement("""
+                            UPDATE graph_entities SET source_chunk_ids = ?, updated_at = datetime('now')
+                            WHERE project_id = ? AND name = ?
+                            """)) {
+                        for (Entity entity : deletion.prunedEntities()) {
+                            stmt.setString(1, toJson(entity.getSourceChunkIds()));
+                            stmt.setString(2, projectId);
+                            stmt.setString(3, entity.getEntityName().toLowerCase());
+                            stmt.addBatch();
+                        }
+                        stmt.executeBatch();
+                    }
+                }
+
+                if (!deletion.prunedRelations().isEmpty()) {
+                    try (PreparedStatement stmt = conn.prepareStatement("""
+                            UPDATE graph_relations SET source_chunk_ids = ?, updated_at = datetime('now')
+                            WHERE project_id = ? AND source_entity = ? AND target_entity = ?
+                            """)) {
+                        for (Relation relation : deletion.prunedRelations()) {
+                            stmt.setString(1, toJson(relation.getSourceChunkIds()));
+                            stmt.setString(2, projectId);
+                            stmt.setString(3, relation.getSrcId().toLowerCase());
+                            stmt.setString(4, relation.getTgtId().toLowerCase());
+                            stmt.addBatch();
+                        }
+                        stmt.executeBatch();
+                    }
+                }
+
+                conn.commit();
+                LOG.debugf("Applied bulk deletion in project %s: %d entities, %d relations deleted, %d entities, %d relations pruned",
+                    projectId, entityNames.size(), deletion.relationKeys().size(),
+                    deletion.prunedEntities().size(), deletion.prunedRelations().size());
+            } catch (SQLException e) {
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackEx) {
+                    LOG.warn("Failed to rollback", rollbackEx);
+                }
+                throw new RuntimeException("Failed to apply bulk deletion", e);
+            } finally {
+                try {
+                    conn.setAutoCommit(true);
+                } catch (SQLException ex) {
+                    LOG.warn("Failed to reset auto-commit", ex);
+                }
+                connectionManager.releaseWriteConnection(conn);
+            }
+        });
+    }
+
     // ========== Traversal Operations ==========
 
     @Override
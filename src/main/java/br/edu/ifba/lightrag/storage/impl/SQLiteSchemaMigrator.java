@@ -3,8 +3,11 @@ package br.edu.ifba.lightrag.storage.impl;
 import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -110,6 +113,194 @@ public final class SQLiteSchemaMigrator {
         }
     }
 
+    /**
+     * Brings the codes in a vector table in line with the configured quantization.
+     *
+     * <p>Vector tables are created on demand by {@link SQLiteVectorStorage} under
+     * a configurable name, so this runs from the storage's initialization rather
+     * than as a versioned migration. It is idempotent and only touches rows that
+     * need it:</p>
+     * <ul>
+     *   <li>adds the {@code vector_code} column to tables created before it existed;</li>
+     *   <li>encodes rows with no code, or a code of another encoding, from their
+     *       float BLOB (or from an int8 code when switching to binary);</li>
+     *   <li>empties the float BLOB of encoded rows when floats are not kept;</li>
+     *   <li>with {@link VectorQuantization#NONE}, restores an approximate float
+     *       BLOB for rows whose floats were dropped, then clears all codes.</li>
+     * </ul>
+     * <p>Rows are processed in rowid order, {@code batchSize} per transaction.
+     * Rows that cannot be converted (binary codes without floats) are left as
+     * they are and reported in the log; re-index them to restore them. Rows
+     * whose float BLOB is rebuilt from a code only get an approximation; they
+     * are rewritten, counted and reported in the log as well.</p>
+     *
+     * @param conn write connection
+     * @param tableName vector table name
+     * @param quantization target quantization
+     * @param keepFloats whether encoded rows keep their float BLOB
+     * @param dimension vector dimension, used to decode codes
+     * @param batchSize rows per transaction
+     * @return number of rows rewritten, including rows with rebuilt floats
+     * @throws SQLException if the migration fails
+     */
+    public int migrateVectorCodes(Connection conn, String tableName, VectorQuantization quantization,
+            boolean keepFloats, int dimension, int batchSize) throws SQLException {
+        boolean hasColumn = false;
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(String.format("PRAGMA table_info(%s)", tableName))) {
+            while (rs.next()) {
+                hasColumn |= "vector_code".equals(rs.getString("name"));
+            }
+        }
+        if (!hasColumn) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(String.format("ALTER TABLE %s ADD COLUMN vector_code BLOB", tableName));
+            }
+            LOG.infof("Added vector_code column to '%s'", tableName);
+            if (quantization == VectorQuantization.NONE) {
+                return 0;
+            }
+        }
+
+        String pendingSql = quantization == VectorQuantization.NONE
+            ? String.format(
+                "SELECT rowid, vector, vector_code FROM %s WHERE vector_code IS NOT NULL AND rowid > ? ORDER BY rowid LIMIT ?",
+                tableName)
+            : String.format(
+                "SELECT rowid, vector, vector_code FROM %s"
+                    + " WHERE (vector_code IS NULL OR substr(vector_code, 1, 1) <> ?"
+                    + (keepFloats ? " OR length(vector) = 0" : " OR length(vector) > 0")
+                    + ") AND rowid > ? ORDER BY rowid LIMIT ?",
+                tableName);
+        String updateSql = String.format("UPDATE %s SET vector = ?, vector_code = ? WHERE rowid = ?", tableName);
+
+        int limit = Math.max(1, batchSize);
+        int rewritten = 0;
+        int skipped = 0;
+        int approximated = 0;
+        long lastRowid = 0;
+        boolean autoCommit = conn.getAutoCommit();
+        try {
+            conn.setAutoCommit(false);
+            while (true) {
+                int rows = 0;
+                try (PreparedStatement select = conn.prepareStatement(pendingSql);
+                     PreparedStatement update = conn.prepareStatement(updateSql)) {
+                    int paramIndex = 1;
+                    if (quantization != VectorQuantization.NONE) {
+                        select.setBytes(paramIndex++, new byte[] {quantization.tag()});
+                    }
+                    select.setLong(paramIndex++, lastRowid);
+                    select.setInt(paramIndex, limit);
+                    try (ResultSet rs = select.executeQuery()) {
+                        while (rs.next()) {
+                            rows++;
+                            lastRowid = rs.getLong(1);
+                            byte[] floats = rs.getBytes(2);
+                            byte[] code = rs.getBytes(3);
+                            byte[][] converted = convertVectorCode(floats, code, quantization, keepFloats, dimension);
+                            if (converted == null) {
+                                skipped++;
+                                continue;
+                            }
+                            if ((floats == null || floats.length == 0)
+                                    && converted[0] != null && converted[0].length > 0) {
+                                approximated++;
+                            }
+                            update.setBytes(1, converted[0]);
+                            update.setBytes(2, converted[1]);
+                            update.setLong(3, lastRowid);
+                            update.addBatch();
+                            rewritten++;
+                        }
+                    }
+                    update.executeBatch();
+                }
+                conn.commit();
+                if (rows < limit) {
+                    break;
+                }
+            }
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+
+        if (rewritten > 0 && quantization == VectorQuantization.NONE) {
+            LOG.infof("Dropped vector codes for %d vectors in '%s'", rewritten, tableName);
+        } else if (rewritten > 0) {
+            LOG.infof("Migrated %d vectors in '%s' to %s codes (floats kept: %s)",
+                rewritten, tableName, quantization, keepFloats);
+        }
+        if (approximated > 0) {
+            LOG.warnf("%d vectors in '%s' had no float data; restored approximate floats from their codes, "
+                + "re-index them for exact scores", approximated, tableName);
+        }
+        if (skipped > 0) {
+            LOG.warnf("%d vectors in '%s' cannot be converted to %s without their float data; re-index them",
+                skipped, tableName, quantization);
+        }
+        return rewritten;
+    }
+
+    /**
+     * Computes the new (vector, vector_code) pair for one row, or null if the
+     * row cannot be converted.
+     */
+    private static byte[][] convertVectorCode(byte[] floats, byte[] code, VectorQuantization quantization,
+            boolean keepFloats, int dimension) {
+        boolean hasFloats = floats != null && floats.length > 0;
+        VectorQuantization source = VectorQuantization.ofCode(code);
+
+        if (quantization == VectorQuantization.NONE) {
+            if (hasFloats) {
+                return new byte[][] {floats, null};
+            }
+            return source != null ? new byte[][] {floatsToBytes(source.decode(code, dimension)), null} : null;
+        }
+
+        byte[] newCode;
+        if (source == quantization) {
+            newCode = code;
+        } else if (hasFloats) {
+            newCode = quantization.encode(bytesToFloats(floats));
+        } else if (quantization == VectorQuantization.BINARY) {
+            newCode = VectorQuantization.int8ToBinary(code);
+        } else {
+            return null;
+        }
+        if (newCode == null) {
+            return null;
+        }
+        if (!keepFloats) {
+            return new byte[][] {new byte[0], newCode};
+        }
+        if (hasFloats) {
+            return new byte[][] {floats, newCode};
+        }
+        // Floats were dropped earlier; the best available is the decoded code
+        return new byte[][] {floatsToBytes(source.decode(code, dimension)), newCode};
+    }
+
+    private static float[] bytesToFloats(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        float[] floats = new float[bytes.length / Float.BYTES];
+        for (int i = 0; i < floats.length; i++) {
+            floats[i] = buffer.getFloat();
+        }
+        return floats;
+    }
+
+    private static byte[] floatsToBytes(float[] floats) {
+        ByteBuffer buffer = ByteBuffer.allocate(floats.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (float f : floats) {
+            buffer.putFloat(f);
+        }
+        return buffer.array();
+    }
+
     /**
      * Gets list of all available migrations.
      * 
@@ -125,6 +316,10 @@ public final class SQLiteSchemaMigrator {
         // Add V001 initial schema migration
         result.add(new ResourceMigration(1, "Initial SQLite storage schema", 
             MIGRATION_PATH + "V001__initial_schema.sql"));
+
+        // Add V002 project ownership column
+        result.add(new ResourceMigration(2, "Add project owner",
+            MIGRATION_PATH + "V002__add_project_owner.sql"));
         
         return result;
     }
@@ -12,6 +12,7 @@ import br.edu.ifba.lightrag.storage.ExtractionCacheStorage;
 import br.edu.ifba.lightrag.storage.GraphStorage;
 import br.edu.ifba.lightrag.storage.KVStorage;
 import br.edu.ifba.lightrag.storage.VectorStorage;
+import br.edu.ifba.lightrag.utils.LightRAGMetrics;
 import io.quarkus.arc.properties.IfBuildProperty;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
@@ -71,6 +72,19 @@ public class SQLiteStorageProvider {
     @ConfigProperty(name = "lightrag.storage.sqlite.vector.distance", defaultValue = "COSINE")
     String vectorDistance;
 
+    // Two-stage Matryoshka search, shared with PostgreSQL (0 = disabled)
+    @ConfigProperty(name = "lightrag.vector.coarse.dimension", defaultValue = "0")
+    int coarseDimension;
+
+    @ConfigProperty(name = "lightrag.vector.coarse.oversample", defaultValue = "4")
+    int coarseOversample;
+
+    @ConfigProperty(name = "lightrag.storage.sqlite.vector.quantization", defaultValue = "none")
+    String vectorQuantization;
+
+    @ConfigProperty(name = "lightrag.storage.sqlite.vector.rescore", defaultValue = "true")
+    boolean vectorRescore;
+
     private SQLiteConnectionManager connectionManager;
     private SQLiteExtensionLoader extensionLoader;
     private boolean initialized = false;
@@ -104,6 +118,12 @@ public class SQLiteStorageProvider {
             readPoolSize
         );
 
+        // Expose read pool / write lock saturation
+        LightRAGMetrics.bindPool("sqlite.read", connectionManager,
+            SQLiteConnectionManager::getIdleReadConnections, m -> 0);
+        LightRAGMetrics.bindPool("sqlite.write", connectionManager,
+            m -> m.isWriteLocked() ? 0 : 1, SQLiteConnectionManager::getWriteQueueLength);
+
         // Run schema migrations
         try {
             runMigrations();
@@ -163,7 +183,9 @@ public class SQLiteStorageProvider {
     public VectorStorage produceVectorStorage() {
         ensureInitialized();
         if (vectorStorage == null) {
-            vectorStorage = new SQLiteVectorStorage(connectionManager, vectorDimension, vectorTableName);
+            vectorStorage = new SQLiteVectorStorage(connectionManager, vectorDimension, vectorTableName,
+                SQLiteVectorStorage.DEFAULT_BATCH_CHUNK_SIZE, coarseDimension, coarseOversample,
+                VectorQuantization.parse(vectorQuantization), vectorRescore);
             vectorStorage.initialize().join();
             LOG.infof("Created SQLiteVectorStorage instance with dimension %d, table '%s'", vectorDimension, vectorTableName);
         }
@@ -1,6 +1,10 @@
 package br.edu.ifba.lightrag.storage.impl;
 
+import br.edu.ifba.lightrag.storage.KeywordTerms;
 import br.edu.ifba.lightrag.storage.VectorStorage;
+import br.edu.ifba.lightrag.utils.EmbeddingUtil;
+import br.edu.ifba.lightrag.utils.LightRAGMetrics;
+import io.micrometer.core.instrument.Timer;
 import org.jetbrains.annotations.NotNull;
 import org.jboss.logging.Logger;
 
@@ -10,10 +14,15 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 /**
  * SQLite-based implementation of VectorStorage.
@@ -26,10 +35,27 @@ import java.util.concurrent.CompletableFuture;
  * <ul>
  *   <li>Vector storage as Float32 BLOB</li>
  *   <li>Cosine similarity search via SQL</li>
+ *   <li>BM25 keyword search via an FTS5 index kept in sync by triggers</li>
  *   <li>Project isolation via project_id filtering</li>
  *   <li>Batch upsert for efficiency</li>
  *   <li>Memory-efficient chunked batch processing for edge deployment</li>
+ *   <li>Optional two-stage search for Matryoshka embeddings</li>
+ *   <li>Optional int8 or binary quantized codes</li>
  * </ul>
+ * 
+ * <p>With a coarse dimension set, {@link #query} first reads only the leading
+ * {@code coarseDimension} floats of each stored vector (no content, no full
+ * BLOB decode) and ranks rows by cosine similarity of those prefixes. The best
+ * {@code oversample * topK} rows are then loaded and rescored with the full
+ * vector.</p>
+ *
+ * <p>With a {@link VectorQuantization}, each row also stores a compact code in
+ * {@code vector_code} and {@link #query} scans only the codes, scoring them
+ * without decoding. With rescoring on, the best {@code oversample * topK} rows
+ * are rescored with their float vectors; with rescoring off, the float BLOB is
+ * not stored at all and code scores are returned as they are. Existing rows are
+ * converted by {@link SQLiteSchemaMigrator#migrateVectorCodes} on startup.
+ * Quantization replaces two-stage search when both are configured.</p>
  */
 public final class SQLiteVectorStorage implements VectorStorage {
 
@@ -39,7 +65,7 @@ public final class SQLiteVectorStorage implements VectorStorage {
     private static final String DEFAULT_TABLE_NAME = "vectors";
     
     /** Default batch chunk size for memory-efficient processing */
-    private static final int DEFAULT_BATCH_CHUNK_SIZE = 500;
+    public static final int DEFAULT_BATCH_CHUNK_SIZE = 500;
     
     /** Edge deployment batch chunk size (smaller for low memory) */
     private static final int EDGE_BATCH_CHUNK_SIZE = 100;
@@ -48,6 +74,10 @@ public final class SQLiteVectorStorage implements VectorStorage {
     private final int vectorDimension;
     private final int batchChunkSize;
     private final String tableName;
+    private final int coarseDimension;
+    private final int oversample;
+    private final VectorQuantization quantization;
+    private final boolean rescore;
 
     /**
      * Creates a new SQLiteVectorStorage with default table name and batch chunk size.
@@ -79,10 +109,51 @@ public final class SQLiteVectorStorage implements VectorStorage {
      * @param batchChunkSize size of chunks for batch processing (smaller = less memory)
      */
     public SQLiteVectorStorage(SQLiteConnectionManager connectionManager, int vectorDimension, String tableName, int batchChunkSize) {
+        this(connectionManager, vectorDimension, tableName, batchChunkSize, 0, 1);
+    }
+
+    /**
+     * Creates a new SQLiteVectorStorage with two-stage (coarse prefix, then full vector) search.
+     *
+     * @param connectionManager the SQLite connection manager
+     * @param vectorDimension the dimension of vectors to store (e.g., 384, 768, 1536)
+     * @param tableName the name of the table to use for vector storage
+     * @param batchChunkSize size of chunks for batch processing (smaller = less memory)
+     * @param coarseDimension prefix length used for the first pass; 0 or at least
+     *        {@code vectorDimension} disables two-stage search
+     * @param oversample candidates rescored with the full vector per requested result
+     */
+    public SQLiteVectorStorage(SQLiteConnectionManager connectionManager, int vectorDimension, String tableName,
+            int batchChunkSize, int coarseDimension, int oversample) {
+        this(connectionManager, vectorDimension, tableName, batchChunkSize, coarseDimension, oversample,
+            VectorQuantization.NONE, true);
+    }
+
+    /**
+     * Creates a new SQLiteVectorStorage with quantized codes.
+     *
+     * @param connectionManager the SQLite connection manager
+     * @param vectorDimension the dimension of vectors to store (e.g., 384, 768, 1536)
+     * @param tableName the name of the table to use for vector storage
+     * @param batchChunkSize size of chunks for batch processing (smaller = less memory)
+     * @param coarseDimension prefix length used for the first pass; ignored when quantized
+     * @param oversample candidates rescored with the full vector per requested result
+     * @param quantization code stored next to each vector and scanned by queries
+     * @param rescore whether to keep float vectors and rescore the best candidates
+     *        with them; ignored for {@link VectorQuantization#NONE}
+     */
+    public SQLiteVectorStorage(SQLiteConnectionManager connectionManager, int vectorDimension, String tableName,
+            int batchChunkSize, int coarseDimension, int oversample, VectorQuantization quantization,
+            boolean rescore) {
         this.connectionManager = connectionManager;
         this.vectorDimension = vectorDimension;
         this.tableName = tableName != null && !tableName.isBlank() ? tableName : DEFAULT_TABLE_NAME;
         this.batchChunkSize = batchChunkSize;
+        this.quantization = quantization != null ? quantization : VectorQuantization.NONE;
+        this.rescore = rescore || this.quantization == VectorQuantization.NONE;
+        this.coarseDimension = this.quantization == VectorQuantization.NONE
+            && coarseDimension > 0 && coarseDimension < vectorDimension ? coarseDimension : 0;
+        this.oversample = Math.max(1, oversample);
     }
 
     /**
@@ -135,7 +206,15 @@ public final class SQLiteVectorStorage implements VectorStorage {
         return CompletableFuture.runAsync(() -> {
             // Create table if it doesn't exist (supports custom table names)
             createTableIfNotExists();
+            migrateVectorCodes();
             LOG.infof("Initialized SQLiteVectorStorage with dimension %d, table '%s'", vectorDimension, tableName);
+            if (coarseDimension > 0) {
+                LOG.infof("Two-stage vector search: coarse dimension %d, oversample %d", coarseDimension, oversample);
+            }
+            if (quantization != VectorQuantization.NONE) {
+                LOG.infof("Quantized vector search: %s codes, rescore %s, oversample %d",
+                    quantization, rescore, oversample);
+            }
         });
     }
 
@@ -150,6 +229,7 @@ public final class SQLiteVectorStorage implements VectorStorage {
                 project_id TEXT NOT NULL,
                 type TEXT NOT NULL,
                 content TEXT NOT NULL,
+                vector_code BLOB,
                 vector BLOB NOT NULL,
                 document_id TEXT,
                 chunk_index INTEGER,
@@ -175,6 +255,7 @@ public final class SQLiteVectorStorage implements VectorStorage {
             stmt.execute(createIndexTypeSql);
             stmt.execute(createIndexProjectTypeSql);
             stmt.execute(createIndexDocumentSql);
+            createKeywordIndex(stmt);
             LOG.debugf("Ensured table '%s' exists with indexes", tableName);
         } catch (SQLException e) {
             throw new RuntimeException("Failed to create vector table: " + tableName, e);
@@ -183,31 +264,94 @@ public final class SQLiteVectorStorage implements VectorStorage {
         }
     }
 
+    /**
+     * Adds and backfills {@code vector_code} for the configured quantization.
+     */
+    private void migrateVectorCodes() {
+        Connection conn = connectionManager.getWriteConnection();
+        try {
+            new SQLiteSchemaMigrator().migrateVectorCodes(
+                conn, tableName, quantization, rescore, vectorDimension, batchChunkSize);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to migrate vector codes: " + tableName, e);
+        } finally {
+            connectionManager.releaseWriteConnection(conn);
+        }
+    }
+
+    /**
+     * Creates the FTS5 index backing {@link #keywordQuery}.
+     *
+     * <p>The index is an external-content table over the vector table's
+     * {@code content} column, so text is not stored twice. Triggers keep it in
+     * sync with every insert, upsert and delete (including cascades). An index
+     * created for an existing table is backfilled with FTS5's {@code rebuild}
+     * command, which is also the repair path if rowids ever change.</p>
+     */
+    private void createKeywordIndex(Statement stmt) throws SQLException {
+        String ftsTable = ftsTableName();
+        boolean exists;
+        try (ResultSet rs = stmt.executeQuery(String.format(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = '%s'", ftsTable))) {
+            exists = rs.next();
+        }
+
+        stmt.execute(String.format("""
+            CREATE VIRTUAL TABLE IF NOT EXISTS %s USING fts5(
+                content, content='%s', content_rowid='rowid', tokenize="unicode61 tokenchars '_'"
+            )
+            """, ftsTable, tableName));
+        stmt.execute(String.format("""
+            CREATE TRIGGER IF NOT EXISTS %1$s_ai AFTER INSERT ON %2$s BEGIN
+                INSERT INTO %1$s(rowid, content) VALUES (new.rowid, new.content);
+            END
+            """, ftsTable, tableName));
+        stmt.execute(String.format("""
+            CREATE TRIGGER IF NOT EXISTS %1$s_ad AFTER DELETE ON %2$s BEGIN
+                INSERT INTO %1$s(%1$s, rowid, content) VALUES ('delete', old.rowid, old.content);
+            END
+            """, ftsTable, tableName));
+        stmt.execute(String.format("""
+            CREATE TRIGGER IF NOT EXISTS %1$s_au AFTER UPDATE OF content ON %2$s BEGIN
+                INSERT INTO %1$s(%1$s, rowid, content) VALUES ('delete', old.rowid, old.content);
+                INSERT INTO %1$s(rowid, content) VALUES (new.rowid, new.content);
+            END
+            """, ftsTable, tableName));
+
+        if (!exists) {
+            stmt.execute(String.format("INSERT INTO %1$s(%1$s) VALUES ('rebuild')", ftsTable));
+            LOG.infof("Built keyword index '%s' for table '%s'", ftsTable, tableName);
+        }
+    }
+
+    private String ftsTableName() {
+        return tableName + "_fts";
+    }
+
     @Override
     public CompletableFuture<Void> upsert(@NotNull String id, @NotNull Object vector, @NotNull VectorMetadata metadata) {
         return CompletableFuture.runAsync(() -> {
             String sql = String.format("""
-                INSERT INTO %s (id, project_id, type, content, vector, document_id, chunk_index, created_at)
-                VALUES (?, ?, ?, ?, ?, ?, ?, datetime('now'))
+                INSERT INTO %s (id, project_id, type, content, vector, vector_code, document_id, chunk_index, created_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, datetime('now'))
                 ON CONFLICT(id) DO UPDATE SET
                     type = excluded.type,
                     content = excluded.content,
                     vector = excluded.vector,
+                    vector_code = excluded.vector_code,
                     document_id = excluded.document_id,
                     chunk_index = excluded.chunk_index
                 """, tableName);
 
             Connection conn = connectionManager.getWriteConnection();
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                byte[] vectorBytes = vectorToBytes(vector);
-                
                 stmt.setString(1, id);
                 stmt.setString(2, metadata.projectId());
                 stmt.setString(3, metadata.type());
                 stmt.setString(4, metadata.content());
-                stmt.setBytes(5, vectorBytes);
-                stmt.setString(6, metadata.documentId());
-                stmt.setObject(7, metadata.chunkIndex());
+                bindVector(stmt, 5, vector);
+                stmt.setString(7, metadata.documentId());
+                stmt.setObject(8, metadata.chunkIndex());
                 
                 stmt.executeUpdate();
                 LOG.debugf("Upserted vector %s", id);
@@ -227,12 +371,13 @@ public final class SQLiteVectorStorage implements VectorStorage {
             }
 
             String sql = String.format("""
-                INSERT INTO %s (id, project_id, type, content, vector, document_id, chunk_index, created_at)
-                VALUES (?, ?, ?, ?, ?, ?, ?, datetime('now'))
+                INSERT INTO %s (id, project_id, type, content, vector, vector_code, document_id, chunk_index, created_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, datetime('now'))
                 ON CONFLICT(id) DO UPDATE SET
                     type = excluded.type,
                     content = excluded.content,
                     vector = excluded.vector,
+                    vector_code = excluded.vector_code,
                     document_id = excluded.document_id,
                     chunk_index = excluded.chunk_index
                 """, tableName);
@@ -249,15 +394,13 @@ public final class SQLiteVectorStorage implements VectorStorage {
                     
                     try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                         for (VectorEntry entry : chunk) {
-                            byte[] vectorBytes = vectorToBytes(entry.vector());
-                            
                             stmt.setString(1, entry.id());
                             stmt.setString(2, entry.metadata().projectId());
                             stmt.setString(3, entry.metadata().type());
                             stmt.setString(4, entry.metadata().content());
-                            stmt.setBytes(5, vectorBytes);
-                            stmt.setString(6, entry.metadata().documentId());
-                            stmt.setObject(7, entry.metadata().chunkIndex());
+                            bindVector(stmt, 5, entry.vector());
+                            stmt.setString(7, entry.metadata().documentId());
+                            stmt.setObject(8, entry.metadata().chunkIndex());
                             
                             stmt.addBatch();
                         }
@@ -295,7 +438,16 @@ public final class SQLiteVectorStorage implements VectorStorage {
             @NotNull Object queryVector, 
             int topK, 
             VectorFilter filter) {
+        Timer.Sample querySample = LightRAGMetrics.startTimer();
         return CompletableFuture.supplyAsync(() -> {
+            float[] queryVec = toFloatArray(queryVector);
+            if (quantization != VectorQuantization.NONE) {
+                return quantizedQuery(queryVec, topK, filter);
+            }
+            if (coarseDimension > 0 && queryVec.length > coarseDimension) {
+                return twoStageQuery(queryVec, topK, filter);
+            }
+
             // Build query with cosine similarity calculation
             // Cosine similarity = (A · B) / (||A|| * ||B||)
             // Since vectors are normalized, similarity = A · B (dot product)
@@ -318,7 +470,6 @@ public final class SQLiteVectorStorage implements VectorStorage {
             }
 
             List<VectorSearchResult> results = new ArrayList<>();
-            float[] queryVec = toFloatArray(queryVector);
             
             Connection conn = connectionManager.getReadConnection();
             try (PreparedStatement stmt = conn.prepareStatement(sqlBuilder.toString())) {
@@ -368,7 +519,295 @@ public final class SQLiteVectorStorage implements VectorStorage {
                 return results.subList(0, topK);
             }
             return results;
-        });
+        })
+                .whenComplete((results, e) -> LightRAGMetrics.recordVectorQuery(
+                        "sqlite", filter != null ? filter.type() : null, querySample,
+                        results != null ? results.size() : 0));
+    }
+
+    /**
+     * Ranks rows by the cosine similarity of their vector prefixes, then loads
+     * the best {@code oversample * topK} rows and rescores them in full. Both
+     * statements run on the same read connection.
+     */
+    private List<VectorSearchResult> twoStageQuery(float[] queryVec, int topK, VectorFilter filter) {
+        float[] queryPrefix = EmbeddingUtil.normalizedPrefix(queryVec, coarseDimension);
+        if (topK <= 0) {
+            return List.of();
+        }
+        int candidates = Math.max(topK, topK * oversample);
+
+        StringBuilder coarseSql = new StringBuilder(String.format(
+            "SELECT id, substr(vector, 1, ?) AS prefix FROM %s WHERE project_id = ?", tableName));
+        if (filter != null && filter.type() != null) {
+            coarseSql.append(" AND type = ?");
+        }
+        if (filter != null && filter.ids() != null && !filter.ids().isEmpty()) {
+            coarseSql.append(" AND id IN (");
+            coarseSql.append("?,".repeat(filter.ids().size()));
+            coarseSql.setLength(coarseSql.length() - 1); // Remove trailing comma
+            coarseSql.append(")");
+        }
+
+        // Min-heap on score holding the current best candidates
+        PriorityQueue<Map.Entry<String, Double>> heap = new PriorityQueue<>(Map.Entry.comparingByValue());
+        List<VectorSearchResult> results = new ArrayList<>();
+
+        Connection conn = connectionManager.getReadConnection();
+        try {
+            try (PreparedStatement stmt = conn.prepareStatement(coarseSql.toString())) {
+                int paramIndex = 1;
+                stmt.setInt(paramIndex++, coarseDimension * Float.BYTES);
+                stmt.setString(paramIndex++, filter != null ? filter.projectId() : "");
+                if (filter != null && filter.type() != null) {
+                    stmt.setString(paramIndex++, filter.type());
+                }
+                if (filter != null && filter.ids() != null) {
+                    for (String id : filter.ids()) {
+                        stmt.setString(paramIndex++, id);
+                    }
+                }
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        float[] prefix = bytesToFloatArray(rs.getBytes("prefix"));
+                        if (prefix.length != queryPrefix.length) {
+                            continue;
+                        }
+                        double score = cosineSimilarity(queryPrefix, prefix);
+                        if (heap.size() < candidates) {
+                            heap.add(Map.entry(rs.getString("id"), score));
+                        } else if (score > heap.peek().getValue()) {
+                            heap.poll();
+                            heap.add(Map.entry(rs.getString("id"), score));
+                        }
+                    }
+                }
+            }
+
+            if (heap.isEmpty()) {
+                return results;
+            }
+
+            results = loadCandidates(conn, heap, queryVec, true);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to query vectors", e);
+        } finally {
+            connectionManager.releaseReadConnection(conn);
+        }
+
+        results.sort((a, b) -> Double.compare(b.score(), a.score()));
+        LOG.debugf("Two-stage query: %d candidates rescored, %d returned",
+            Integer.valueOf(heap.size()), Integer.valueOf(Math.min(topK, results.size())));
+        return results.size() > topK ? results.subList(0, topK) : results;
+    }
+
+    /**
+     * Scores each row's code against the query without decoding it, then loads
+     * the best candidates. With rescoring, {@code oversample * topK} candidates
+     * are rescored with their float vectors; without, the best {@code topK}
+     * are returned with their code scores.
+     */
+    private List<VectorSearchResult> quantizedQuery(float[] queryVec, int topK, VectorFilter filter) {
+        if (topK <= 0) {
+            return List.of();
+        }
+        byte[] queryCode = quantization.encode(queryVec);
+        int candidates = rescore ? Math.max(topK, topK * oversample) : topK;
+
+        StringBuilder codeSql = new StringBuilder(String.format(
+            "SELECT id, vector_code FROM %s WHERE project_id = ?", tableName));
+        if (filter != null && filter.type() != null) {
+            codeSql.append(" AND type = ?");
+        }
+        if (filter != null && filter.ids() != null && !filter.ids().isEmpty()) {
+            codeSql.append(" AND id IN (");
+            codeSql.append("?,".repeat(filter.ids().size()));
+            codeSql.setLength(codeSql.length() - 1); // Remove trailing comma
+            codeSql.append(")");
+        }
+
+        // Min-heap on score holding the current best candidates
+        PriorityQueue<Map.Entry<String, Double>> heap = new PriorityQueue<>(Map.Entry.comparingByValue());
+        List<VectorSearchResult> results = new ArrayList<>();
+
+        Connection conn = connectionManager.getReadConnection();
+        try {
+            try (PreparedStatement stmt = conn.prepareStatement(codeSql.toString())) {
+                int paramIndex = 1;
+                stmt.setString(paramIndex++, filter != null ? filter.projectId() : "");
+                if (filter != null && filter.type() != null) {
+                    stmt.setString(paramIndex++, filter.type());
+                }
+                if (filter != null && filter.ids() != null) {
+                    for (String id : filter.ids()) {
+                        stmt.setString(paramIndex++, id);
+                    }
+                }
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        double score = quantization.score(queryVec, queryCode, rs.getBytes("vector_code"));
+                        if (Double.isNaN(score)) {
+                            continue;
+                        }
+                        if (heap.size() < candidates) {
+                            heap.add(Map.entry(rs.getString("id"), score));
+                        } else if (score > heap.peek().getValue()) {
+                            heap.poll();
+                            heap.add(Map.entry(rs.getString("id"), score));
+                        }
+                    }
+                }
+            }
+
+            if (!heap.isEmpty()) {
+                results = loadCandidates(conn, heap, queryVec, rescore);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to query vectors", e);
+        } finally {
+            connectionManager.releaseReadConnection(conn);
+        }
+
+        results.sort((a, b) -> Double.compare(b.score(), a.score()));
+        LOG.debugf("Quantized query: %d candidates, %d returned",
+            Integer.valueOf(heap.size()), Integer.valueOf(Math.min(topK, results.size())));
+        return results.size() > topK ? results.subList(0, topK) : results;
+    }
+
+    /**
+     * Loads metadata for first-pass candidates. With {@code exact}, each is
+     * rescored with its full float vector; otherwise its first-pass score is kept.
+     */
+    private List<VectorSearchResult> loadCandidates(Connection conn, Iterable<Map.Entry<String, Double>> candidates,
+            float[] queryVec, boolean exact) throws SQLException {
+        Map<String, Double> firstPass = new HashMap<>();
+        for (Map.Entry<String, Double> candidate : candidates) {
+            firstPass.put(candidate.getKey(), candidate.getValue());
+        }
+
+        StringBuilder sql = new StringBuilder(String.format(
+            "SELECT id, type, content, document_id, chunk_index, project_id%s FROM %s WHERE id IN (",
+            exact ? ", vector" : "", tableName));
+        sql.append("?,".repeat(firstPass.size()));
+        sql.setLength(sql.length() - 1);
+        sql.append(")");
+
+        List<VectorSearchResult> results = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            int paramIndex = 1;
+            for (String id : firstPass.keySet()) {
+                stmt.setString(paramIndex++, id);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String id = rs.getString("id");
+                    double score = firstPass.get(id);
+                    if (exact) {
+                        float[] storedVector = bytesToFloatArray(rs.getBytes("vector"));
+                        if (storedVector.length != queryVec.length) {
+                            continue;
+                        }
+                        score = cosineSimilarity(queryVec, storedVector);
+                    }
+                    VectorMetadata metadata = new VectorMetadata(
+                        rs.getString("type"),
+                        rs.getString("content"),
+                        rs.getString("document_id"),
+                        rs.getObject("chunk_index") != null ? rs.getInt("chunk_index") : null,
+                        rs.getString("project_id")
+                    );
+                    results.add(new VectorSearchResult(id, score, metadata));
+                }
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public boolean supportsKeywordSearch() {
+        return true;
+    }
+
+    /**
+     * Ranks rows with FTS5's {@code bm25()} over the keyword index. Terms are
+     * OR-ed, so a chunk matching any of them is a candidate and chunks matching
+     * more (and rarer) terms rank higher.
+     */
+    @Override
+    public CompletableFuture<List<VectorSearchResult>> keywordQuery(
+            @NotNull String queryText,
+            int topK,
+            VectorFilter filter) {
+        List<String> terms = KeywordTerms.of(queryText);
+        if (terms.isEmpty() || topK <= 0) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        Timer.Sample querySample = LightRAGMetrics.startTimer();
+        return CompletableFuture.supplyAsync(() -> {
+            StringBuilder sqlBuilder = new StringBuilder();
+            sqlBuilder.append(String.format("""
+                SELECT v.id, v.type, v.content, v.document_id, v.chunk_index, v.project_id,
+                       bm25(%1$s) AS rank
+                FROM %1$s
+                JOIN %2$s v ON v.rowid = %1$s.rowid
+                WHERE %1$s MATCH ? AND v.project_id = ?
+                """, ftsTableName(), tableName));
+            if (filter != null && filter.type() != null) {
+                sqlBuilder.append(" AND v.type = ?");
+            }
+            if (filter != null && filter.ids() != null && !filter.ids().isEmpty()) {
+                sqlBuilder.append(" AND v.id IN (");
+                sqlBuilder.append("?,".repeat(filter.ids().size()));
+                sqlBuilder.setLength(sqlBuilder.length() - 1); // Remove trailing comma
+                sqlBuilder.append(")");
+            }
+            sqlBuilder.append(" ORDER BY rank LIMIT ?");
+
+            // Terms are word characters only, so quoting makes each one a literal token
+            String match = terms.stream()
+                .map(term -> "\"" + term + "\"")
+                .collect(Collectors.joining(" OR "));
+
+            List<VectorSearchResult> results = new ArrayList<>();
+            Connection conn = connectionManager.getReadConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(sqlBuilder.toString())) {
+                int paramIndex = 1;
+                stmt.setString(paramIndex++, match);
+                stmt.setString(paramIndex++, filter != null ? filter.projectId() : "");
+                if (filter != null && filter.type() != null) {
+                    stmt.setString(paramIndex++, filter.type());
+                }
+                if (filter != null && filter.ids() != null) {
+                    for (String id : filter.ids()) {
+                        stmt.setString(paramIndex++, id);
+                    }
+                }
+                stmt.setInt(paramIndex, topK);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        VectorMetadata metadata = new VectorMetadata(
+                            rs.getString("type"),
+                            rs.getString("content"),
+                            rs.getString("document_id"),
+                            rs.getObject("chunk_index") != null ? rs.getInt("chunk_index") : null,
+                            rs.getString("project_id")
+                        );
+                        // bm25() is negative with lower meaning more relevant
+                        results.add(new VectorSearchResult(rs.getString("id"), -rs.getDouble("rank"), metadata));
+                    }
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to run keyword query", e);
+            } finally {
+                connectionManager.releaseReadConnection(conn);
+            }
+            return results;
+        })
+                .whenComplete((results, e) -> LightRAGMetrics.recordKeywordQuery(
+                        "sqlite", querySample, results != null ? results.size() : 0));
     }
 
     @Override
@@ -480,6 +919,68 @@ public final class SQLiteVectorStorage implements VectorStorage {
         });
     }
 
+    /**
+     * Deletes entity and chunk embeddings in one write transaction, with
+     * {@code IN} lists chunked by the batch chunk size.
+     */
+    @Override
+    public CompletableFuture<Integer> deleteEmbeddings(@NotNull String projectId,
+            @NotNull Set<String> entityNames, @NotNull Set<String> chunkIds) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (entityNames.isEmpty() && chunkIds.isEmpty()) {
+                return 0;
+            }
+
+            Connection conn = connectionManager.getWriteConnection();
+            try {
+                conn.setAutoCommit(false);
+                int deleted = deleteInChunks(conn, projectId, "entity", "content", new ArrayList<>(entityNames))
+                    + deleteInChunks(conn, projectId, "chunk", "id", new ArrayList<>(chunkIds));
+                conn.commit();
+                LOG.debugf("Deleted %d embeddings for project %s", deleted, projectId);
+                return deleted;
+            } catch (SQLException e) {
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackEx) {
+                    LOG.warn("Failed to rollback", rollbackEx);
+                }
+                throw new RuntimeException("Failed to delete embeddings", e);
+            } finally {
+                try {
+                    conn.setAutoCommit(true);
+                } catch (SQLException ex) {
+                    LOG.warn("Failed to reset auto-commit", ex);
+                }
+                connectionManager.releaseWriteConnection(conn);
+            }
+        });
+    }
+
+    private int deleteInChunks(Connection conn, String projectId, String type, String column,
+            List<String> values) throws SQLException {
+        int deleted = 0;
+        for (int i = 0; i < values.size(); i += batchChunkSize) {
+            List<String> batch = values.subList(i, Math.min(i + batchChunkSize, values.size()));
+            StringBuilder sql = new StringBuilder(String.format(
+                "DELETE FROM %s WHERE project_id = ? AND type = ? AND %s IN (", tableName, column));
+            sql.append("?,".repeat(batch.size()));
+            sql.setLength(sql.length() - 1);
+            sql.append(")");
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+                stmt.setString(1, projectId);
+                stmt.setString(2, type);
+                int index = 3;
+                for (String value : batch) {
+                    stmt.setString(index++, value);
+                }
+                deleted += stmt.executeUpdate();
+            }
+        }
+        return deleted;
+    }
+
     @Override
     public CompletableFuture<List<String>> getChunkIdsByDocumentId(@NotNull String projectId, @NotNull String documentId) {
         return CompletableFuture.supplyAsync(() -> {
@@ -509,7 +1010,7 @@ public final class SQLiteVectorStorage implements VectorStorage {
     @Override
     public CompletableFuture<VectorEntry> get(@NotNull String id) {
         return CompletableFuture.supplyAsync(() -> {
-            String sql = String.format("SELECT id, type, content, document_id, chunk_index, project_id, vector FROM %s WHERE id = ?", tableName);
+            String sql = String.format("SELECT id, type, content, document_id, chunk_index, project_id, vector, vector_code FROM %s WHERE id = ?", tableName);
             
             Connection conn = connectionManager.getReadConnection();
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -519,6 +1020,14 @@ public final class SQLiteVectorStorage implements VectorStorage {
                     if (rs.next()) {
                         byte[] vectorBytes = rs.getBytes("vector");
                         float[] vector = bytesToFloatArray(vectorBytes);
+                        if (vector.length == 0) {
+                            // Floats are not stored without rescoring; approximate from the code
+                            byte[] code = rs.getBytes("vector_code");
+                            VectorQuantization encoding = VectorQuantization.ofCode(code);
+                            if (encoding != null) {
+                                vector = encoding.decode(code, vectorDimension);
+                            }
+                        }
                         
                         VectorMetadata metadata = new VectorMetadata(
                             rs.getString("type"),
@@ -623,6 +1132,16 @@ public final class SQLiteVectorStorage implements VectorStorage {
         return buffer.array();
     }
 
+    /**
+     * Binds the float BLOB and the code for a vector at {@code index} and
+     * {@code index + 1}. The float BLOB is empty when floats are not kept.
+     */
+    private void bindVector(PreparedStatement stmt, int index, Object vector) throws SQLException {
+        float[] floats = toFloatArray(vector);
+        stmt.setBytes(index, rescore ? vectorToBytes(floats) : new byte[0]);
+        stmt.setBytes(index + 1, quantization.encode(floats));
+    }
+
     /**
      * Converts a byte array back to float array.
      */
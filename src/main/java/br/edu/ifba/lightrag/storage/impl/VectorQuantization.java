@@ -0,0 +1,223 @@
+package br.edu.ifba.lightrag.storage.impl;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Locale;
+
+/**
+ * Compact vector codes scored without decoding to float.
+ *
+ * <p>Every code starts with a one-byte tag naming its encoding, so rows written
+ * under a different setting are recognised and re-encoded by
+ * {@link SQLiteSchemaMigrator#migrateVectorCodes}.</p>
+ * <ul>
+ *   <li>{@link #INT8}: one signed byte per dimension, scaled so the largest
+ *       component maps to 127. Scored by asymmetric cosine (float query against
+ *       byte code); the per-vector scale cancels out.</li>
+ *   <li>{@link #BINARY}: one sign bit per dimension. Scored by Hamming distance,
+ *       used as a prefilter before exact rescoring.</li>
+ * </ul>
+ */
+public enum VectorQuantization {
+
+    /** Full float32 vectors; no code is stored. */
+    NONE((byte) 0),
+
+    /** Int8 scalar quantization (4x smaller than float32). */
+    INT8((byte) 1),
+
+    /** 1-bit sign codes (32x smaller than float32). */
+    BINARY((byte) 2);
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final byte tag;
+
+    VectorQuantization(byte tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * Parses a configuration value (case-insensitive); blank means {@link #NONE}.
+     *
+     * @param value "none", "int8" or "binary"
+     * @return the matching quantization
+     * @throws IllegalArgumentException for unknown values
+     */
+    @NotNull
+    public static VectorQuantization parse(String value) {
+        if (value == null || value.isBlank()) {
+            return NONE;
+        }
+        return valueOf(value.strip().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * The encoding a stored code was written with.
+     *
+     * @param code a stored code, possibly null
+     * @return {@link #INT8} or {@link #BINARY}, or null if the code is empty or unknown
+     */
+    public static VectorQuantization ofCode(byte[] code) {
+        for (VectorQuantization quantization : values()) {
+            if (quantization != NONE && quantization.matches(code)) {
+                return quantization;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The leading byte of codes written with this encoding.
+     */
+    byte tag() {
+        return tag;
+    }
+
+    /**
+     * Whether a stored code was written with this encoding.
+     */
+    public boolean matches(byte[] code) {
+        return code != null && code.length > 0 && code[0] == tag;
+    }
+
+    /**
+     * Encodes a vector. The result starts with this encoding's tag.
+     *
+     * @param vector the float vector
+     * @return the code, or null for {@link #NONE}
+     */
+    public byte[] encode(@NotNull float[] vector) {
+        switch (this) {
+            case INT8 -> {
+                float maxAbs = 0f;
+                for (float v : vector) {
+                    maxAbs = Math.max(maxAbs, Math.abs(v));
+                }
+                byte[] code = new byte[1 + vector.length];
+                code[0] = tag;
+                if (maxAbs > 0f) {
+                    float scale = 127f / maxAbs;
+                    for (int i = 0; i < vector.length; i++) {
+                        code[i + 1] = (byte) Math.round(vector[i] * scale);
+                    }
+                }
+                return code;
+            }
+            case BINARY -> {
+                // Padded to whole longs so Hamming distance runs 64 bits at a time
+                int words = (vector.length + 63) / 64;
+                byte[] code = new byte[1 + words * Long.BYTES];
+                code[0] = tag;
+                for (int i = 0; i < vector.length; i++) {
+                    if (vector[i] > 0f) {
+                        code[1 + (i >> 3)] |= (byte) (1 << (i & 7));
+                    }
+                }
+                return code;
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Converts an int8 code to a binary code; other conversions lose too much
+     * information and return null.
+     */
+    public static byte[] int8ToBinary(byte[] int8Code) {
+        if (!INT8.matches(int8Code)) {
+            return null;
+        }
+        float[] signs = new float[int8Code.length - 1];
+        for (int i = 0; i < signs.length; i++) {
+            signs[i] = int8Code[i + 1];
+        }
+        return BINARY.encode(signs);
+    }
+
+    /**
+     * Approximate float vector for a code, scaled to unit length. Used where a
+     * float vector must be returned but only the code is stored.
+     *
+     * @param code a code of this encoding
+     * @param dimension vector dimension (needed for binary codes)
+     * @return the approximate vector
+     */
+    @NotNull
+    public float[] decode(@NotNull byte[] code, int dimension) {
+        float[] vector = new float[dimension];
+        if (this == INT8) {
+            for (int i = 0; i < dimension && i + 1 < code.length; i++) {
+                vector[i] = code[i + 1];
+            }
+        } else if (this == BINARY) {
+            for (int i = 0; i < dimension; i++) {
+                vector[i] = (code[1 + (i >> 3)] & (1 << (i & 7))) != 0 ? 1f : -1f;
+            }
+        } else {
+            throw new IllegalStateException("No code to decode for " + this);
+        }
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        if (norm > 0) {
+            float inv = (float) (1.0 / Math.sqrt(norm));
+            for (int i = 0; i < dimension; i++) {
+                vector[i] *= inv;
+            }
+        }
+        return vector;
+    }
+
+    /**
+     * Similarity between a query and a stored code, higher is better.
+     *
+     * <p>INT8 returns the cosine similarity of the float query and the byte
+     * code. BINARY returns {@code cos(pi * hamming / dimension)}, an estimate of
+     * the cosine similarity from the fraction of differing signs.</p>
+     *
+     * @param query the float query vector
+     * @param queryCode the query encoded with this quantization
+     * @param code the stored code
+     * @return the similarity, or NaN if the code has a different encoding or length
+     */
+    public double score(@NotNull float[] query, byte[] queryCode, byte[] code) {
+        if (!matches(code) || queryCode == null || code.length != queryCode.length) {
+            return Double.NaN;
+        }
+        if (this == INT8) {
+            double dot = 0;
+            long codeNorm = 0;
+            double queryNorm = 0;
+            for (int i = 0; i < query.length; i++) {
+                int c = code[i + 1];
+                dot += query[i] * c;
+                codeNorm += c * c;
+                queryNorm += query[i] * query[i];
+            }
+            if (codeNorm == 0 || queryNorm == 0) {
+                return 0.0;
+            }
+            return dot / (Math.sqrt(queryNorm) * Math.sqrt(codeNorm));
+        }
+        int hamming = hamming(queryCode, code);
+        return Math.cos(Math.PI * hamming / query.length);
+    }
+
+    /**
+     * Number of differing bits between two binary codes of equal length.
+     */
+    static int hamming(byte[] a, byte[] b) {
+        int distance = 0;
+        for (int offset = 1; offset + Long.BYTES <= a.length; offset += Long.BYTES) {
+            distance += Long.bitCount((long) LONGS.get(a, offset) ^ (long) LONGS.get(b, offset));
+        }
+        return distance;
+    }
+}
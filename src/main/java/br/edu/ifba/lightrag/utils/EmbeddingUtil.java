@@ -81,6 +81,54 @@ public final class EmbeddingUtil {
         return dotProduct / (Math.sqrt(normA) * Math.sqrt(normB));
     }
     
+    /**
+     * Returns the first {@code dimensions} components of an embedding scaled to
+     * unit length, the coarse representation of a Matryoshka-trained embedding.
+     * The dot product of two such prefixes is their cosine similarity.
+     *
+     * @param embedding Full embedding
+     * @param dimensions Prefix length; the whole embedding is used if it is shorter
+     * @return New unit-length array, or all zeros if the prefix has no magnitude
+     */
+    @NotNull
+    public static float[] normalizedPrefix(@NotNull float[] embedding, int dimensions) {
+        int length = Math.min(dimensions, embedding.length);
+        float[] prefix = new float[length];
+        double norm = 0.0;
+        for (int i = 0; i < length; i++) {
+            norm += embedding[i] * embedding[i];
+        }
+        if (norm == 0.0) {
+            return prefix;
+        }
+        double scale = 1.0 / Math.sqrt(norm);
+        for (int i = 0; i < length; i++) {
+            prefix[i] = (float) (embedding[i] * scale);
+        }
+        return prefix;
+    }
+    
+    /**
+     * Computes the dot product of two embeddings of equal length.
+     *
+     * @param a First embedding
+     * @param b Second embedding
+     * @return Dot product
+     */
+    public static double dot(@NotNull float[] a, @NotNull float[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException(
+                "Embeddings must have same dimensions: " + a.length + " vs " + b.length
+            );
+        }
+        
+        double sum = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+    
     /**
      * Computes Euclidean distance between two embeddings.
      *
@@ -0,0 +1,390 @@
+package br.edu.ifba.lightrag.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Central place for LightRAG metric names and tags.
+ *
+ * <p>
+ * Core classes such as {@code LightRAG} and the query pipeline are not CDI
+ * beans, so meters are registered on Micrometer's global registry. Quarkus adds
+ * its Prometheus registry to the global registry, which makes everything below
+ * visible on {@code /q/metrics}. In plain unit tests the global registry is
+ * empty and every call is a cheap no-op.
+ * </p>
+ *
+ * <h2>Tags:</h2>
+ * <ul>
+ * <li>{@code project} - project UUID (ingestion and query totals only)</li>
+ * <li>{@code mode} - query mode (LOCAL, GLOBAL, HYBRID, NAIVE, MIX, BYPASS)</li>
+ * <li>{@code backend} - storage backend (postgresql, sqlite, memory)</li>
+ * <li>{@code operation} - LLM operation type (see {@code TokenUsage})</li>
+ * <li>{@code outcome} - success or error</li>
+ * </ul>
+ */
+public final class LightRAGMetrics {
+
+    public static final String INGEST_DURATION = "lightrag.ingest.duration";
+    public static final String CHUNKING_DURATION = "lightrag.chunking.duration";
+    public static final String CHUNKS_PER_DOCUMENT = "lightrag.chunking.chunks";
+    public static final String EMBEDDING_DURATION = "lightrag.embedding.duration";
+    public static final String EMBEDDING_BATCH_SIZE = "lightrag.embedding.batch.size";
+    public static final String LLM_DURATION = "lightrag.llm.duration";
+    public static final String LLM_TOKENS = "lightrag.llm.tokens";
+    public static final String LLM_PERMITS_AVAILABLE = "lightrag.llm.permits.available";
+    public static final String LLM_QUEUE_LENGTH = "lightrag.llm.queue.length";
+    public static final String GRAPH_UPSERT_DURATION = "lightrag.graph.upsert.duration";
+    public static final String GRAPH_UPSERT_SIZE = "lightrag.graph.upsert.size";
+    public static final String VECTOR_QUERY_DURATION = "lightrag.vector.query.duration";
+    public static final String VECTOR_QUERY_RESULTS = "lightrag.vector.query.results";
+    public static final String KEYWORD_QUERY_DURATION = "lightrag.keyword.query.duration";
+    public static final String KEYWORD_QUERY_RESULTS = "lightrag.keyword.query.results";
+    public static final String RERANK_REQUESTS = "lightrag.rerank.requests";
+    public static final String RERANK_BATCH_DURATION = "lightrag.rerank.batch.duration";
+    public static final String RERANK_BATCH_SIZE = "lightrag.rerank.batch.size";
+    public static final String QUERY_DURATION = "lightrag.query.duration";
+    public static final String STAGE_DURATION = "lightrag.pipeline.stage.duration";
+    public static final String CACHE_REQUESTS = "lightrag.cache.requests";
+    public static final String CACHE_SAVED = "lightrag.cache.saved";
+    public static final String POOL_IDLE = "lightrag.pool.idle";
+    public static final String POOL_PENDING = "lightrag.pool.pending";
+    public static final String GLEANING_DECISIONS = "lightrag.gleaning.decisions";
+    public static final String GLEANING_PASSES = "lightrag.gleaning.passes";
+    public static final String GLEANING_RECORDS = "lightrag.gleaning.records";
+
+    public static final String TAG_PROJECT = "project";
+    public static final String TAG_MODE = "mode";
+    public static final String TAG_BACKEND = "backend";
+    public static final String TAG_OPERATION = "operation";
+    public static final String TAG_OUTCOME = "outcome";
+
+    private static final String NONE = "none";
+
+    private LightRAGMetrics() {
+        // Utility class
+    }
+
+    /**
+     * Starts a timer sample; stop it with one of the {@code record*} methods.
+     */
+    public static Timer.Sample startTimer() {
+        return Timer.start(registry());
+    }
+
+    /**
+     * Records end-to-end ingestion time of one document.
+     */
+    public static void recordIngest(@Nullable String projectId, @Nullable String documentType,
+            @NotNull Timer.Sample sample, boolean success) {
+        sample.stop(Timer.builder(INGEST_DURATION)
+                .description("Document ingestion time (chunking, embedding, extraction, storage)")
+                .tag(TAG_PROJECT, tagValue(projectId))
+                .tag("document_type", tagValue(documentType))
+                .tag(TAG_OUTCOME, outcome(success))
+                .register(registry()));
+    }
+
+    /**
+     * Records chunking time and the number of chunks produced for a document.
+     */
+    public static void recordChunking(@Nullable String documentType, @NotNull Timer.Sample sample, int chunkCount) {
+        String type = tagValue(documentType);
+        sample.stop(Timer.builder(CHUNKING_DURATION)
+                .description("Time spent splitting a document into chunks")
+                .tag("document_type", type)
+                .register(registry()));
+        DistributionSummary.builder(CHUNKS_PER_DOCUMENT)
+                .description("Chunks produced per document")
+                .tag("document_type", type)
+                .register(registry())
+                .record(chunkCount);
+    }
+
+    /**
+     * Records latency and size of one embedding request.
+     */
+    public static void recordEmbeddingBatch(@NotNull Timer.Sample sample, int batchSize, boolean success) {
+        sample.stop(Timer.builder(EMBEDDING_DURATION)
+                .description("Embedding API call latency")
+                .tag(TAG_OUTCOME, outcome(success))
+                .register(registry()));
+        DistributionSummary.builder(EMBEDDING_BATCH_SIZE)
+                .description("Texts per embedding API call")
+                .register(registry())
+                .record(batchSize);
+    }
+
+    /**
+     * Records latency of one LLM completion, tagged by operation type.
+     */
+    public static void recordLlmCall(@Nullable String operationType, @NotNull Timer.Sample sample, boolean success) {
+        sample.stop(Timer.builder(LLM_DURATION)
+                .description("LLM completion latency")
+                .tag(TAG_OPERATION, tagValue(operationType))
+                .tag(TAG_OUTCOME, outcome(success))
+                .register(registry()));
+    }
+
+    /**
+     * Records prompt and completion tokens of one LLM call.
+     */
+    public static void recordLlmTokens(@Nullable String operationType, int inputTokens, int outputTokens) {
+        String operation = tagValue(operationType);
+        Counter.builder(LLM_TOKENS)
+                .description("LLM tokens consumed")
+                .tag(TAG_OPERATION, operation)
+                .tag("direction", "input")
+                .register(registry())
+                .increment(inputTokens);
+        Counter.builder(LLM_TOKENS)
+                .description("LLM tokens consumed")
+                .tag(TAG_OPERATION, operation)
+                .tag("direction", "output")
+                .register(registry())
+                .increment(outputTokens);
+    }
+
+    /**
+     * Records latency of a graph upsert batch.
+     *
+     * @param backend storage backend, see {@link #backendOf(Object)}
+     * @param kind    "entity" or "relation"
+     */
+    public static void recordGraphUpsert(@NotNull String backend, @NotNull String kind,
+            @NotNull Timer.Sample sample, int size) {
+        sample.stop(Timer.builder(GRAPH_UPSERT_DURATION)
+                .description("Graph storage upsert latency per batch")
+                .tag(TAG_BACKEND, backend)
+                .tag("kind", kind)
+                .register(registry()));
+        DistributionSummary.builder(GRAPH_UPSERT_SIZE)
+                .description("Items per graph upsert batch")
+                .tag(TAG_BACKEND, backend)
+                .tag("kind", kind)
+                .register(registry())
+                .record(size);
+    }
+
+    /**
+     * Records latency and result count of a vector similarity query.
+     */
+    public static void recordVectorQuery(@NotNull String backend, @Nullable String type,
+            @NotNull Timer.Sample sample, int resultCount) {
+        String vectorType = tagValue(type);
+        sample.stop(Timer.builder(VECTOR_QUERY_DURATION)
+                .description("Vector similarity search latency")
+                .tag(TAG_BACKEND, backend)
+                .tag("type", vectorType)
+                .register(registry()));
+        DistributionSummary.builder(VECTOR_QUERY_RESULTS)
+                .description("Results returned per vector query")
+                .tag(TAG_BACKEND, backend)
+                .tag("type", vectorType)
+                .register(registry())
+                .record(resultCount);
+    }
+
+    /**
+     * Records latency and result count of a full-text keyword query.
+     */
+    public static void recordKeywordQuery(@NotNull String backend, @NotNull Timer.Sample sample,
+            int resultCount) {
+        sample.stop(Timer.builder(KEYWORD_QUERY_DURATION)
+                .description("Full-text keyword search latency")
+                .tag(TAG_BACKEND, backend)
+                .register(registry()));
+        DistributionSummary.builder(KEYWORD_QUERY_RESULTS)
+                .description("Results returned per keyword query")
+                .tag(TAG_BACKEND, backend)
+                .register(registry())
+                .record(resultCount);
+    }
+
+    /**
+     * Counts a rerank call by outcome. Fallback rate is
+     * {@code fallback / (success + fallback)} per provider.
+     *
+     * @param outcome "success" or "fallback"
+     */
+    public static void recordRerank(@NotNull String provider, @NotNull String outcome) {
+        Counter.builder(RERANK_REQUESTS)
+                .description("Rerank calls by outcome")
+                .tag("provider", provider)
+                .tag(TAG_OUTCOME, outcome)
+                .register(registry())
+                .increment();
+    }
+
+    /**
+     * Records latency and size of one remote rerank sub-batch.
+     */
+    public static void recordRerankBatch(@NotNull String provider, @NotNull Timer.Sample sample,
+            int documents, boolean success) {
+        sample.stop(Timer.builder(RERANK_BATCH_DURATION)
+                .description("Remote rerank request latency")
+                .tag("provider", provider)
+                .tag(TAG_OUTCOME, outcome(success))
+                .register(registry()));
+        DistributionSummary.builder(RERANK_BATCH_SIZE)
+                .description("Documents per remote rerank request")
+                .tag("provider", provider)
+                .register(registry())
+                .record(documents);
+    }
+
+    /**
+     * Records end-to-end latency of a RAG query.
+     */
+    public static void recordQuery(@Nullable String projectId, @NotNull String mode,
+            @NotNull Timer.Sample sample, boolean success) {
+        sample.stop(Timer.builder(QUERY_DURATION)
+                .description("End-to-end query latency")
+                .tag(TAG_PROJECT, tagValue(projectId))
+                .tag(TAG_MODE, mode)
+                .tag(TAG_OUTCOME, outcome(success))
+                .publishPercentileHistogram()
+                .register(registry()));
+    }
+
+    /**
+     * Records the execution time of a single query pipeline stage.
+     */
+    public static void recordStage(@NotNull String stage, @NotNull String mode,
+            @NotNull Timer.Sample sample, boolean success) {
+        sample.stop(Timer.builder(STAGE_DURATION)
+                .description("Query pipeline stage latency")
+                .tag("stage", stage)
+                .tag(TAG_MODE, mode)
+                .tag(TAG_OUTCOME, outcome(success))
+                .register(registry()));
+    }
+
+    /**
+     * Counts a cache lookup. Hit ratio is {@code hit / (hit + miss)} per cache.
+     *
+     * @param cache cache name, e.g. "keyword.l1", "keyword.l2", "summarization"
+     */
+    public static void recordCacheLookup(@NotNull String cache, boolean hit) {
+        Counter.builder(CACHE_REQUESTS)
+                .description("Cache lookups by result")
+                .tag("cache", cache)
+                .tag("result", hit ? "hit" : "miss")
+                .register(registry())
+                .increment();
+    }
+
+    /**
+     * Records the work a cache hit avoided, e.g. the original generation time
+     * of a cached answer. The timer's total is the cumulative latency saved.
+     *
+     * @param cache cache name, as in {@link #recordCacheLookup}
+     * @param savedMillis time the original computation took
+     */
+    public static void recordCacheSaved(@NotNull String cache, long savedMillis) {
+        Timer.builder(CACHE_SAVED)
+                .description("Computation time avoided by cache hits")
+                .tag("cache", cache)
+                .register(registry())
+                .record(Duration.ofMillis(Math.max(0, savedMillis)));
+    }
+
+    /**
+     * Counts an adaptive gleaning decision.
+     *
+     * @param documentKind "code" or "text"
+     * @param decision     decision name, e.g. GLEAN, WARMUP, SKIP_LOW_YIELD
+     */
+    public static void recordGleaningDecision(@NotNull String documentKind, @NotNull String decision) {
+        Counter.builder(GLEANING_DECISIONS)
+                .description("Gleaning decisions by outcome")
+                .tag("kind", documentKind)
+                .tag("decision", decision)
+                .register(registry())
+                .increment();
+    }
+
+    /**
+     * Counts a gleaning pass and the new records it found. Pass yield is
+     * {@code productive / (productive + empty)}.
+     *
+     * @param documentKind "code" or "text"
+     * @param newRecords   new entities and relations found by the pass
+     */
+    public static void recordGleaningPass(@NotNull String documentKind, int newRecords) {
+        Counter.builder(GLEANING_PASSES)
+                .description("Gleaning passes by result")
+                .tag("kind", documentKind)
+                .tag("result", newRecords > 0 ? "productive" : "empty")
+                .register(registry())
+                .increment();
+        if (newRecords > 0) {
+            Counter.builder(GLEANING_RECORDS)
+                    .description("Entities and relations found by gleaning")
+                    .tag("kind", documentKind)
+                    .register(registry())
+                    .increment(newRecords);
+        }
+    }
+
+    /**
+     * Registers idle/pending gauges for a connection pool or concurrency limiter.
+     *
+     * @param pool    pool name, e.g. "sqlite.read", "sqlite.write"
+     * @param target  object to observe (held weakly by the registry)
+     * @param idle    number of idle resources
+     * @param pending number of callers waiting for a resource
+     */
+    public static <T> void bindPool(@NotNull String pool, @NotNull T target,
+            @NotNull ToDoubleFunction<T> idle, @NotNull ToDoubleFunction<T> pending) {
+        Gauge.builder(POOL_IDLE, target, idle)
+                .description("Idle resources in pool")
+                .tag("pool", pool)
+                .register(registry());
+        Gauge.builder(POOL_PENDING, target, pending)
+                .description("Callers waiting for a pooled resource")
+                .tag("pool", pool)
+                .register(registry());
+    }
+
+    /**
+     * Derives the backend tag from a storage implementation class name.
+     */
+    public static String backendOf(@Nullable Object storage) {
+        if (storage == null) {
+            return NONE;
+        }
+        String name = storage.getClass().getSimpleName();
+        if (name.startsWith("SQLite")) {
+            return "sqlite";
+        }
+        if (name.startsWith("Pg") || name.startsWith("Age")) {
+            return "postgresql";
+        }
+        if (name.startsWith("InMemory")) {
+            return "memory";
+        }
+        return name.toLowerCase();
+    }
+
+    static MeterRegistry registry() {
+        return Metrics.globalRegistry;
+    }
+
+    private static String tagValue(@Nullable String value) {
+        return value == null || value.isBlank() ? NONE : value;
+    }
+
+    private static String outcome(boolean success) {
+        return success ? "success" : "error";
+    }
+}
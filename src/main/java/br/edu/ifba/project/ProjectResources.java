@@ -132,15 +132,15 @@ public class ProjectResources {
         // Check read access before listing documents
         authService.checkReadAccess(id);
         projectService.findById(id);
-        return documentService.findByProjectId(id).stream()
+        return documentService.findSummariesByProjectId(id).stream()
                 .map(document -> new DocumentInfoResponse(
-                        document.getId(),
-                        document.getType(),
-                        document.getStatus(),
-                        document.getFileName(),
-                        document.getMetadata(),
-                        document.getCreatedAt(),
-                        document.getUpdatedAt()))
+                        document.id(),
+                        document.type(),
+                        document.status(),
+                        document.fileName(),
+                        document.metadata(),
+                        document.createdAt(),
+                        document.updatedAt()))
                 .collect(Collectors.toList());
     }
 }
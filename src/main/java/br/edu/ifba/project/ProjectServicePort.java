@@ -6,6 +6,8 @@ import java.util.UUID;
 /**
  * Service interface for Project operations.
  * Allows different implementations for PostgreSQL (with JTA) and SQLite (without JTA).
+ * Implementations invalidate the project's cached authorization data on every
+ * change that affects existence or ownership.
  */
 public interface ProjectServicePort {
 
@@ -42,6 +44,15 @@ public interface ProjectServicePort {
      */
     Project update(UUID id, String name);
 
+    /**
+     * Transfers a project to another owner.
+     *
+     * @param id the project ID
+     * @param ownerId the new owner's subject ID, or null to make it a legacy project
+     * @return the updated project
+     */
+    Project changeOwner(UUID id, String ownerId);
+
     /**
      * Deletes a project and its associated graph.
      *
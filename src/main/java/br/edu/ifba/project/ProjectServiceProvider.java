@@ -14,8 +14,10 @@ import java.util.UUID;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
+import br.edu.ifba.lightrag.query.QueryCacheService;
 import br.edu.ifba.lightrag.storage.GraphStorage;
 import br.edu.ifba.lightrag.storage.impl.SQLiteConnectionManager;
+import br.edu.ifba.security.ProjectAccessCache;
 import br.edu.ifba.shared.UuidUtils;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Instance;
@@ -49,6 +51,12 @@ public class ProjectServiceProvider {
     @Inject
     Instance<ProjectRepository> hibernateRepository;
 
+    @Inject
+    ProjectAccessCache accessCache;
+
+    @Inject
+    QueryCacheService queryCache;
+
     /**
      * Produces the appropriate ProjectServicePort based on storage backend
      * configuration.
@@ -67,13 +75,26 @@ public class ProjectServiceProvider {
             }
             return new RuntimeSQLiteProjectService(
                     new RuntimeSQLiteProjectRepository(sqliteConnectionManager.get()),
-                    graphStorage);
+                    graphStorage, accessCache, queryCache);
         } else {
             LOG.info("Using PostgreSQL project service (Hibernate)");
             if (!hibernateRepository.isResolvable()) {
                 throw new IllegalStateException("PostgreSQL backend selected but Hibernate repository not available");
             }
-            return new RuntimePostgresProjectService(hibernateRepository.get(), graphStorage);
+            return new RuntimePostgresProjectService(hibernateRepository.get(), graphStorage, accessCache,
+                    queryCache);
+        }
+    }
+
+    /**
+     * Drops a deleted project's cached query answers. Failures are logged:
+     * the project is already gone and its answers can no longer be asked for.
+     */
+    private static void invalidateAnswers(QueryCacheService queryCache, String projectId) {
+        try {
+            queryCache.invalidate(projectId).join();
+        } catch (Exception e) {
+            LOG.warnf(e, "Failed to invalidate query cache for project: %s", projectId);
         }
     }
 
@@ -251,15 +272,21 @@ public class ProjectServiceProvider {
 
         private final ProjectRepositoryPort repository;
         private final GraphStorage graphStorage;
+        private final ProjectAccessCache accessCache;
+        private final QueryCacheService queryCache;
 
-        RuntimeSQLiteProjectService(ProjectRepositoryPort repository, GraphStorage graphStorage) {
+        RuntimeSQLiteProjectService(ProjectRepositoryPort repository, GraphStorage graphStorage,
+                ProjectAccessCache accessCache, QueryCacheService queryCache) {
             this.repository = repository;
             this.graphStorage = graphStorage;
+            this.accessCache = accessCache;
+            this.queryCache = queryCache;
         }
 
         @Override
         public Project create(Project project) {
             repository.save(project);
+            accessCache.invalidate(project.getId());
             String projectId = project.getId().toString();
             try {
                 graphStorage.createProjectGraph(projectId).join();
@@ -291,6 +318,17 @@ public class ProjectServiceProvider {
             Project project = repository.findByIdOrThrow(id);
             project.setName(name);
             repository.save(project);
+            accessCache.invalidate(id);
+            return project;
+        }
+
+        @Override
+        public Project changeOwner(UUID id, String ownerId) {
+            Project project = repository.findByIdOrThrow(id);
+            project.setOwnerId(ownerId);
+            repository.save(project);
+            accessCache.invalidate(id);
+            LOG.infof("Changed owner of project %s", id);
             return project;
         }
 
@@ -305,7 +343,9 @@ public class ProjectServiceProvider {
                 LOG.errorf(e, "Failed to delete graph for project: %s", projectId);
                 throw new IllegalStateException("Failed to delete project graph", e);
             }
+            invalidateAnswers(queryCache, projectId);
             repository.deleteProject(project);
+            accessCache.invalidate(id);
             LOG.infof("Deleted project: %s", projectId);
         }
     }
@@ -318,15 +358,21 @@ public class ProjectServiceProvider {
 
         private final ProjectRepositoryPort repository;
         private final GraphStorage graphStorage;
+        private final ProjectAccessCache accessCache;
+        private final QueryCacheService queryCache;
 
-        RuntimePostgresProjectService(ProjectRepositoryPort repository, GraphStorage graphStorage) {
+        RuntimePostgresProjectService(ProjectRepositoryPort repository, GraphStorage graphStorage,
+                ProjectAccessCache accessCache, QueryCacheService queryCache) {
             this.repository = repository;
             this.graphStorage = graphStorage;
+            this.accessCache = accessCache;
+            this.queryCache = queryCache;
         }
 
         @Override
         public Project create(Project project) {
             repository.save(project);
+            accessCache.invalidate(project.getId());
             String projectId = project.getId().toString();
             try {
                 graphStorage.createProjectGraph(projectId).join();
@@ -353,6 +399,17 @@ public class ProjectServiceProvider {
             Project project = repository.findByIdOrThrow(id);
             project.setName(name);
             repository.save(project);
+            accessCache.invalidate(id);
+            return project;
+        }
+
+        @Override
+        public Project changeOwner(UUID id, String ownerId) {
+            Project project = repository.findByIdOrThrow(id);
+            project.setOwnerId(ownerId);
+            repository.save(project);
+            accessCache.invalidate(id);
+            LOG.infof("Changed owner of project %s", id);
             return project;
         }
 
@@ -367,8 +424,10 @@ public class ProjectServiceProvider {
                 LOG.errorf(e, "Failed to delete graph for project: %s", projectId);
                 throw new IllegalStateException("Failed to delete project graph", e);
             }
+            invalidateAnswers(queryCache, projectId);
             repository.deleteProject(project);
             repository.flush();
+            accessCache.invalidate(id);
             LOG.infof("Deleted project: %s", projectId);
         }
     }
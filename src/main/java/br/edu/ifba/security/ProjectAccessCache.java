@@ -0,0 +1,184 @@
+package br.edu.ifba.security;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import br.edu.ifba.lightrag.utils.LightRAGMetrics;
+import br.edu.ifba.project.Project;
+import br.edu.ifba.project.ProjectRepositoryPort;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Bounded, TTL-based cache of project ownership used by
+ * {@link ProjectAuthorizationService}.
+ *
+ * Authorization only needs to know whether a project exists and who owns it,
+ * so those two facts are cached per project ID instead of loading the project
+ * on every request. Missing projects are cached too (negative caching), with
+ * a shorter TTL.
+ *
+ * Entries are invalidated by the {@code ProjectServicePort} implementations
+ * on create, update, delete and ownership change. Invalidation is local to
+ * this instance; with several instances the TTL bounds how long another
+ * instance can act on a stale owner.
+ *
+ * Lookups are counted as {@code lightrag.cache.requests{cache=project.access}}.
+ */
+@ApplicationScoped
+public class ProjectAccessCache {
+
+    private static final Logger LOG = Logger.getLogger(ProjectAccessCache.class);
+    private static final String CACHE_NAME = "project.access";
+
+    /**
+     * Ownership facts for one project.
+     *
+     * @param exists false if the project was not found
+     * @param ownerId the owner's subject ID, or null for legacy projects
+     */
+    public record ProjectAccess(boolean exists, String ownerId) {
+    }
+
+    private record CachedAccess(ProjectAccess access, long expiresAt) {
+    }
+
+    @Inject
+    ProjectRepositoryPort projectRepository;
+
+    @ConfigProperty(name = "security.project-access-cache.enabled", defaultValue = "true")
+    boolean configEnabled;
+
+    @ConfigProperty(name = "security.project-access-cache.ttl-seconds", defaultValue = "60")
+    long configTtlSeconds;
+
+    @ConfigProperty(name = "security.project-access-cache.negative-ttl-seconds", defaultValue = "5")
+    long configNegativeTtlSeconds;
+
+    @ConfigProperty(name = "security.project-access-cache.max-entries", defaultValue = "10000")
+    int configMaxEntries;
+
+    private final ConcurrentHashMap<UUID, CachedAccess> cache = new ConcurrentHashMap<>();
+    // Bumped on every invalidation so a load that raced with one is not cached
+    private final AtomicLong generation = new AtomicLong();
+    private Function<UUID, Optional<Project>> loader;
+    private boolean enabled;
+    private long ttlMillis;
+    private long negativeTtlMillis;
+    private int maxEntries;
+
+    /**
+     * CDI constructor; settings are read from configuration on startup.
+     */
+    ProjectAccessCache() {
+    }
+
+    /**
+     * Creates a cache with explicit settings (for tests).
+     */
+    ProjectAccessCache(Function<UUID, Optional<Project>> loader, Duration ttl, Duration negativeTtl, int maxEntries) {
+        configure(loader, true, ttl, negativeTtl, maxEntries);
+    }
+
+    @PostConstruct
+    void init() {
+        configure(projectRepository::findProjectById, configEnabled,
+                Duration.ofSeconds(configTtlSeconds), Duration.ofSeconds(configNegativeTtlSeconds), configMaxEntries);
+        LOG.infof("Project access cache: enabled=%s, ttl=%ds, negative-ttl=%ds, max=%d",
+                enabled, ttlMillis / 1000, negativeTtlMillis / 1000, maxEntries);
+    }
+
+    private void configure(Function<UUID, Optional<Project>> loader, boolean enabled, Duration ttl,
+            Duration negativeTtl, int maxEntries) {
+        this.loader = loader;
+        this.enabled = enabled && maxEntries > 0 && !ttl.isZero();
+        this.ttlMillis = ttl.toMillis();
+        this.negativeTtlMillis = negativeTtl.toMillis();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the ownership facts for a project, loading them on a miss.
+     *
+     * @param projectId the project ID
+     * @return the cached or freshly loaded access facts
+     */
+    public ProjectAccess get(UUID projectId) {
+        if (!enabled) {
+            return load(projectId);
+        }
+
+        long now = System.currentTimeMillis();
+        CachedAccess cached = cache.get(projectId);
+        boolean hit = cached != null && cached.expiresAt() > now;
+        LightRAGMetrics.recordCacheLookup(CACHE_NAME, hit);
+        if (hit) {
+            return cached.access();
+        }
+
+        long loadedAt = generation.get();
+        ProjectAccess access = load(projectId);
+        long ttl = access.exists() ? ttlMillis : negativeTtlMillis;
+        if (ttl > 0 && generation.get() == loadedAt) {
+            if (cache.size() >= maxEntries) {
+                evict(now);
+            }
+            cache.put(projectId, new CachedAccess(access, now + ttl));
+        }
+        return access;
+    }
+
+    /**
+     * Drops the cached entry for a project. Call after any change to the
+     * project's existence or ownership.
+     *
+     * @param projectId the project ID
+     */
+    public void invalidate(UUID projectId) {
+        if (projectId != null) {
+            generation.incrementAndGet();
+            cache.remove(projectId);
+        }
+    }
+
+    /**
+     * Drops all cached entries.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.clear();
+    }
+
+    private ProjectAccess load(UUID projectId) {
+        return loader.apply(projectId)
+                .map(project -> new ProjectAccess(true, project.getOwnerId()))
+                .orElseGet(() -> new ProjectAccess(false, null));
+    }
+
+    /**
+     * Drops expired entries, then the oldest half if the cache is still full.
+     */
+    private void evict(long now) {
+        cache.entrySet().removeIf(entry -> entry.getValue().expiresAt() <= now);
+        if (cache.size() >= maxEntries / 2) {
+            int toRemove = cache.size() - maxEntries / 2;
+            cache.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().expiresAt()))
+                    .limit(toRemove)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(cache::remove);
+        }
+        LOG.debugf("Project access cache eviction complete, current size: %d", cache.size());
+    }
+}
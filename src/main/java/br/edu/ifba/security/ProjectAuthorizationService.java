@@ -3,8 +3,7 @@ package br.edu.ifba.security;
 import java.util.UUID;
 
 import br.edu.ifba.exception.ForbiddenException;
-import br.edu.ifba.project.Project;
-import br.edu.ifba.project.ProjectRepositoryPort;
+import br.edu.ifba.security.ProjectAccessCache.ProjectAccess;
 import io.quarkus.security.identity.SecurityIdentity;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -21,6 +20,9 @@ import jakarta.inject.Inject;
  * subject ID)
  * - Legacy projects (ownerId = null) are readable by all, but only modifiable
  * by admins
+ * 
+ * Project ownership is read through {@link ProjectAccessCache}, so repeated
+ * checks on the same project do not hit the database.
  */
 @ApplicationScoped
 public class ProjectAuthorizationService {
@@ -29,7 +31,7 @@ public class ProjectAuthorizationService {
     SecurityIdentity securityIdentity;
 
     @Inject
-    ProjectRepositoryPort projectRepository;
+    ProjectAccessCache accessCache;
 
     /**
      * Checks if the current user has read access to the specified project.
@@ -38,7 +40,7 @@ public class ProjectAuthorizationService {
      * @throws ForbiddenException if the user lacks read access
      */
     public void checkReadAccess(UUID projectId) {
-        Project project = projectRepository.findByIdOrThrow(projectId);
+        ProjectAccess project = findOrThrow(projectId);
 
         // Admins can read any project
         if (isAdmin()) {
@@ -46,12 +48,12 @@ public class ProjectAuthorizationService {
         }
 
         // Legacy projects (no owner) are readable by all authenticated users
-        if (project.getOwnerId() == null) {
+        if (project.ownerId() == null) {
             return;
         }
 
         // Users can read their own projects
-        if (project.getOwnerId().equals(getCurrentUserId())) {
+        if (project.ownerId().equals(getCurrentUserId())) {
             return;
         }
 
@@ -65,7 +67,7 @@ public class ProjectAuthorizationService {
      * @throws ForbiddenException if the user lacks write access
      */
     public void checkWriteAccess(UUID projectId) {
-        Project project = projectRepository.findByIdOrThrow(projectId);
+        ProjectAccess project = findOrThrow(projectId);
 
         // Admins can modify any project
         if (isAdmin()) {
@@ -73,18 +75,30 @@ public class ProjectAuthorizationService {
         }
 
         // Legacy projects (no owner) can only be modified by admins
-        if (project.getOwnerId() == null) {
+        if (project.ownerId() == null) {
             throw new ForbiddenException("Legacy projects can only be modified by administrators");
         }
 
         // Users can modify their own projects
-        if (project.getOwnerId().equals(getCurrentUserId())) {
+        if (project.ownerId().equals(getCurrentUserId())) {
             return;
         }
 
         throw new ForbiddenException("Access denied to project: " + projectId);
     }
 
+    /**
+     * Looks up the project's ownership, failing like
+     * {@code ProjectRepositoryPort.findByIdOrThrow} when it does not exist.
+     */
+    private ProjectAccess findOrThrow(UUID projectId) {
+        ProjectAccess access = accessCache.get(projectId);
+        if (!access.exists()) {
+            throw new IllegalArgumentException("Project not found with id: " + projectId);
+        }
+        return access;
+    }
+
     /**
      * Gets the current authenticated user's ID (Keycloak subject ID).
      * 
@@ -0,0 +1,11 @@
+-- SQLite Project Ownership
+-- Version: 2
+-- Description: Adds projects.owner_id, which SQLiteProjectRepository reads and writes
+-- (spec-011 project ownership). Legacy projects keep owner_id = NULL.
+
+ALTER TABLE projects ADD COLUMN owner_id TEXT;
+
+CREATE INDEX IF NOT EXISTS idx_projects_owner_id ON projects(owner_id);
+
+INSERT OR IGNORE INTO schema_version (version, description)
+VALUES (2, 'Add project owner');
@@ -2,13 +2,22 @@ package br.edu.ifba.chat;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.util.List;
 import java.util.UUID;
 
 import org.eclipse.microprofile.rest.client.inject.RestClient;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
+import br.edu.ifba.document.RetrievalResponse;
 import br.edu.ifba.document.SearchResult;
 import br.edu.ifba.document.SearchService;
 import io.quarkus.test.InjectMock;
@@ -83,4 +92,56 @@ class ChatServiceTest {
         assertEquals(1, response.sources().size());
         assertEquals("llama3.2", response.model());
     }
+
+    @Test
+    void testChatUsesRetrievalOnlySearch() {
+        final UUID projectId = UUID.randomUUID();
+        final UUID documentId = UUID.randomUUID();
+        final List<SearchResult> sources = List.of(
+            new SearchResult("chunk_1", documentId, "RAG combines retrieval and generation.", 1, "rag.md - chunk 1", 0.1)
+        );
+        when(searchService.retrieve("What is RAG?", projectId, null))
+            .thenReturn(new RetrievalResponse("assembled context", sources));
+        when(chatClient.chat(any())).thenReturn(new LlmChatResponse(
+            "id", "chat.completion", 0L, "llama3.2",
+            List.of(new LlmChatResponse.Choice(0, new ChatMessage("assistant", "An answer [chunk_1]"), "stop")),
+            new LlmChatResponse.Usage(10, 5, 15)));
+
+        final ChatResponse response = chatService.chat(new ChatRequest(projectId, "What is RAG?"));
+
+        verify(searchService, never()).search(anyString(), any(), any());
+        final ArgumentCaptor<LlmChatRequest> captor = ArgumentCaptor.forClass(LlmChatRequest.class);
+        verify(chatClient, times(1)).chat(captor.capture());
+        assertTrue(captor.getValue().messages().get(0).content().contains("[chunk_1]"),
+            "System prompt should cite the retrieved chunk");
+        assertTrue(captor.getValue().messages().get(0).content().contains("assembled context"),
+            "System prompt should keep the knowledge graph context next to the chunks");
+        assertEquals("An answer [chunk_1]", response.response());
+        assertEquals(sources, response.sources());
+    }
+
+    @Test
+    void testChatCompactsLongHistory() {
+        final UUID projectId = UUID.randomUUID();
+        when(searchService.retrieve("And now?", projectId, null))
+            .thenReturn(new RetrievalResponse("", List.of()));
+        when(chatClient.chat(any())).thenReturn(new LlmChatResponse(
+            "id", "chat.completion", 0L, "llama3.2",
+            List.of(new LlmChatResponse.Choice(0, new ChatMessage("assistant", "Earlier they asked about RAG."), "stop")),
+            new LlmChatResponse.Usage(10, 5, 15)));
+        final List<ChatMessage> history = java.util.stream.IntStream.range(0, 20)
+            .mapToObj(i -> new ChatMessage(i % 2 == 0 ? "user" : "assistant", "Turn " + i + " " + "detail ".repeat(200)))
+            .toList();
+
+        final ChatResponse response = chatService.chat(new ChatRequest(projectId, "And now?", history, null, "conv-1"));
+
+        final ArgumentCaptor<LlmChatRequest> captor = ArgumentCaptor.forClass(LlmChatRequest.class);
+        verify(chatClient, times(2)).chat(captor.capture());
+        final List<ChatMessage> sent = captor.getAllValues().get(1).messages();
+        assertTrue(sent.get(1).content().startsWith("Resumo da conversa anterior:"),
+            "Older turns should be replaced by a summary");
+        assertTrue(sent.size() < history.size(), "Only recent turns should be sent verbatim");
+        assertEquals("And now?", sent.get(sent.size() - 1).content());
+        assertEquals(history.size() + 2, response.messages().size(), "Client history is returned in full");
+    }
 }
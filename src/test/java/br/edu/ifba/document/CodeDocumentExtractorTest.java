@@ -402,4 +402,17 @@ class CodeDocumentExtractorTest {
         assertFalse(extractor.supports("Dockerfile"), "Should not support Dockerfile without extension");
         assertFalse(extractor.supports("README"), "Should not support files without extension");
     }
+    
+    @Test
+    void testExtractWithMetadataMatchesSeparateCalls() throws IOException {
+        String javaCode = "import java.util.List;\n\npublic class Hello {\n}\n";
+        byte[] bytes = javaCode.getBytes(StandardCharsets.UTF_8);
+        
+        ExtractedDocument extracted = extractor.extractWithMetadata(new ByteArrayInputStream(bytes));
+        
+        assertEquals(extractor.extract(new ByteArrayInputStream(bytes)), extracted.text(),
+                "Single-pass text should match extract()");
+        assertEquals(extractor.extractMetadata(new ByteArrayInputStream(bytes)), extracted.metadata(),
+                "Single-pass metadata should match extractMetadata()");
+    }
 }
@@ -0,0 +1,99 @@
+package br.edu.ifba.document;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CodeSyntax.
+ *
+ * <p>Tests verify per-language rule selection and the single-pass line scan
+ * shared by the chunker and the metadata extractor.</p>
+ */
+class CodeSyntaxTest {
+
+    @Test
+    void testJavaScanReportsLinesAndTopLevelDeclarations() {
+        String source = """
+                package com.example;
+
+                import java.util.List;
+
+                public class Service {
+                    private void helper() {
+                    }
+                }
+                """;
+
+        List<CodeSyntax.LineMatch> matches = CodeSyntax.forLanguage("Java").scan(source);
+
+        assertEquals(3, matches.size());
+        assertEquals(new CodeSyntax.LineMatch(CodeSyntax.Kind.IMPORT, "import", "java.util.List", 3, 0, false),
+                matches.get(0));
+        assertEquals(CodeSyntax.Kind.CLASS, matches.get(1).kind());
+        assertEquals("Service", matches.get(1).name());
+        assertEquals(5, matches.get(1).line());
+        assertTrue(matches.get(1).declaration());
+        assertEquals(CodeSyntax.Kind.FUNCTION, matches.get(2).kind());
+        assertEquals("helper", matches.get(2).name());
+        assertEquals(4, matches.get(2).indent());
+    }
+
+    @Test
+    void testPythonNestedDefinitionsAreNotTopLevel() {
+        String source = """
+                from os import path
+
+                class Cache:
+                    def get(self):
+                        pass
+
+                def build():
+                    pass
+                """;
+
+        List<CodeSyntax.LineMatch> matches = CodeSyntax.forLanguage("python").scan(source);
+
+        assertEquals(List.of("os", "Cache", "get", "build"),
+                matches.stream().map(CodeSyntax.LineMatch::name).toList());
+        assertFalse(matches.get(2).declaration());
+        assertTrue(matches.get(3).declaration());
+        assertEquals(7, matches.get(3).line());
+    }
+
+    @Test
+    void testGoImportBlock() {
+        String source = """
+                package main
+
+                import (
+                    "fmt"
+                    db "database/sql"
+                )
+
+                func main() {
+                }
+                """;
+
+        List<CodeSyntax.LineMatch> matches = CodeSyntax.forLanguage("Go").scan(source);
+
+        assertEquals(List.of("fmt", "database/sql", "main"),
+                matches.stream().map(CodeSyntax.LineMatch::name).toList());
+        assertEquals(CodeSyntax.Kind.FUNCTION, matches.get(2).kind());
+    }
+
+    @Test
+    void testFileNameSelectsRulesWithGenericFallback() {
+        assertEquals("typescript", CodeSyntax.forFileName("app.ts").language());
+        assertTrue(CodeSyntax.forFileName("notes.unknownext").isGeneric());
+        assertTrue(CodeSyntax.forLanguage(null).isGeneric());
+
+        List<CodeSyntax.LineMatch> matches = CodeSyntax.forFileName("script.rb")
+                .scan("require('json')\nclass Parser\n");
+        assertEquals(2, matches.size());
+        assertEquals(CodeSyntax.Kind.IMPORT, matches.get(0).kind());
+        assertEquals("Parser", matches.get(1).name());
+    }
+}
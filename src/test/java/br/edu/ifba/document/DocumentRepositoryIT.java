@@ -0,0 +1,135 @@
+package br.edu.ifba.document;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.edu.ifba.project.Project;
+import io.quarkus.test.TestTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Integration tests for the content-free document queries of the Hibernate
+ * repository.
+ *
+ * Tests verify:
+ * 1. The JPQL summary projection carries every field and the UTF-8 content length
+ * 2. Id queries filter by status and keep creation order
+ * 3. Pending ids honour the limit
+ * 4. The bulk status update is applied without loading the row
+ *
+ * Each test runs in a transaction that is rolled back afterwards.
+ */
+@QuarkusTest
+class DocumentRepositoryIT {
+
+    @Inject
+    @HibernateDocument
+    DocumentRepository repository;
+
+    @Inject
+    EntityManager entityManager;
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        project = new Project("Document Repository Test");
+    }
+
+    @Test
+    @TestTransaction
+    void testSummariesProjectFieldsWithoutContent() {
+        entityManager.persist(project);
+        final Document older = save("older.txt", "plain", DocumentStatus.PROCESSED, "{\"source\":\"upload\"}",
+                LocalDateTime.of(2024, 1, 1, 10, 0));
+        final Document newer = save("ação.md", "ação", DocumentStatus.NOT_PROCESSED, "{\"source\":\"git\"}",
+                LocalDateTime.of(2024, 1, 2, 10, 0));
+
+        final List<DocumentSummary> summaries = repository.findSummariesByProjectId(project.getId());
+
+        assertEquals(List.of(newer.getId(), older.getId()), summaries.stream().map(DocumentSummary::id).toList(),
+                "Summaries should be listed newest first");
+        final DocumentSummary summary = summaries.get(0);
+        assertEquals(project.getId(), summary.projectId());
+        assertEquals(DocumentType.TEXT, summary.type());
+        assertEquals(DocumentStatus.NOT_PROCESSED, summary.status());
+        assertEquals("ação.md", summary.fileName());
+        assertTrue(summary.metadata().contains("\"git\""));
+        assertEquals(6, summary.contentLength(), "Content length should count UTF-8 bytes, not characters");
+        assertEquals(LocalDateTime.of(2024, 1, 2, 10, 0), summary.createdAt());
+        assertEquals(5, summaries.get(1).contentLength());
+        assertTrue(repository.findSummariesByProjectId(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    @TestTransaction
+    void testIdsByStatusKeepCreationOrder() {
+        entityManager.persist(project);
+        final Document second = save("b.txt", "b", DocumentStatus.PROCESSING, null, LocalDateTime.of(2024, 1, 2, 10, 0));
+        final Document first = save("a.txt", "a", DocumentStatus.PROCESSING, null, LocalDateTime.of(2024, 1, 1, 10, 0));
+        save("c.txt", "c", DocumentStatus.PROCESSED, null, LocalDateTime.of(2024, 1, 3, 10, 0));
+
+        final List<UUID> processing = repository.findIdsByStatus(DocumentStatus.PROCESSING).stream()
+                .filter(id -> id.equals(first.getId()) || id.equals(second.getId()))
+                .toList();
+        assertEquals(List.of(first.getId(), second.getId()), processing);
+    }
+
+    @Test
+    @TestTransaction
+    void testNotProcessedIdsHonourLimit() {
+        entityManager.persist(project);
+        // Older than anything else in the table, so these are picked first
+        final Document first = save("a.txt", "a", DocumentStatus.NOT_PROCESSED, null, LocalDateTime.of(1970, 1, 1, 0, 1));
+        final Document second = save("b.txt", "b", DocumentStatus.NOT_PROCESSED, null, LocalDateTime.of(1970, 1, 1, 0, 2));
+        save("c.txt", "c", DocumentStatus.PROCESSED, null, LocalDateTime.of(1970, 1, 1, 0, 0));
+
+        assertEquals(List.of(first.getId(), second.getId()), repository.findNotProcessedIdsWithLock(2));
+    }
+
+    @Test
+    @TestTransaction
+    void testUpdateStatusChangesStatusAndTimestamp() {
+        entityManager.persist(project);
+        final LocalDateTime created = LocalDateTime.of(2024, 1, 1, 10, 0);
+        final Document document = save("a.txt", "a", DocumentStatus.NOT_PROCESSED, null, created);
+
+        assertTrue(repository.updateStatus(document.getId(), DocumentStatus.PROCESSING));
+
+        assertTrue(repository.findIdsByStatus(DocumentStatus.PROCESSING).contains(document.getId()));
+        assertFalse(repository.findIdsByStatus(DocumentStatus.NOT_PROCESSED).contains(document.getId()));
+        final DocumentSummary summary = repository.findSummariesByProjectId(project.getId()).get(0);
+        assertEquals(DocumentStatus.PROCESSING, summary.status());
+        assertNotEquals(created, summary.updatedAt(), "updatedAt should be refreshed");
+        assertFalse(repository.updateStatus(UUID.randomUUID(), DocumentStatus.PROCESSED),
+                "Updating an unknown id should report that no row changed");
+    }
+
+    /**
+     * Persists a document and backdates its timestamps, which Hibernate
+     * otherwise sets to the current time.
+     */
+    private Document save(final String fileName, final String content, final DocumentStatus status,
+            final String metadata, final LocalDateTime createdAt) {
+        final Document document = new Document(DocumentType.TEXT, fileName, content, metadata, project);
+        document.setStatus(status);
+        repository.persistAndFlush(document);
+        entityManager.createNativeQuery("UPDATE rag.documents SET created_at = :at, updated_at = :at WHERE id = :id")
+                .setParameter("at", createdAt)
+                .setParameter("id", document.getId())
+                .executeUpdate();
+        entityManager.clear();
+        return document;
+    }
+}
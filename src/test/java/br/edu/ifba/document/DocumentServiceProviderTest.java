@@ -0,0 +1,98 @@
+package br.edu.ifba.document;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.edu.ifba.lightrag.deletion.BulkDeletionResult;
+import br.edu.ifba.lightrag.deletion.DocumentDeletionService;
+import br.edu.ifba.project.Project;
+import jakarta.enterprise.inject.Instance;
+
+/**
+ * Unit tests for the document service produced by DocumentServiceProvider.
+ *
+ * Tests verify:
+ * 1. Document rows are kept when the bulk graph deletion fails
+ * 2. Document rows are deleted once the bulk graph deletion succeeded
+ */
+class DocumentServiceProviderTest {
+
+    private DocumentRepository repository;
+    private DocumentDeletionService deletionService;
+    private DocumentServicePort service;
+    private UUID projectId;
+    private List<Document> documents;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        repository = mock(DocumentRepository.class);
+        deletionService = mock(DocumentDeletionService.class);
+
+        final Instance<DocumentRepository> hibernateRepository = mock(Instance.class);
+        when(hibernateRepository.isResolvable()).thenReturn(true);
+        when(hibernateRepository.get()).thenReturn(repository);
+
+        final DocumentServiceProvider provider = new DocumentServiceProvider();
+        provider.storageBackend = "postgresql";
+        provider.hibernateRepository = hibernateRepository;
+        provider.documentDeletionService = deletionService;
+        service = provider.produceDocumentService();
+
+        final Project project = new Project("deletion");
+        projectId = UUID.randomUUID();
+        project.setId(projectId);
+        documents = List.of(document(project), document(project));
+        for (final Document document : documents) {
+            when(repository.findByIdOrThrow(document.getId())).thenReturn(document);
+        }
+    }
+
+    @Test
+    void testFailedGraphDeletionKeepsDocumentRows() {
+        when(deletionService.deleteDocuments(eq(projectId), any(), eq(false)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("graph unavailable")));
+
+        assertThrows(RuntimeException.class, () -> service.deleteAll(projectId, ids(), false));
+
+        verify(repository, never()).deleteDocument(any());
+    }
+
+    @Test
+    void testSuccessfulGraphDeletionDeletesDocumentRows() {
+        final BulkDeletionResult result = new BulkDeletionResult(
+                projectId, ids(), 3, Set.of("A"), Set.of(), 1, 0, List.of());
+        when(deletionService.deleteDocuments(eq(projectId), any(), eq(false)))
+                .thenReturn(CompletableFuture.completedFuture(result));
+
+        assertSame(result, service.deleteAll(projectId, ids(), false));
+
+        for (final Document document : documents) {
+            verify(repository).deleteDocument(document);
+        }
+    }
+
+    private List<UUID> ids() {
+        return documents.stream().map(Document::getId).toList();
+    }
+
+    private static Document document(final Project project) {
+        final Document document = new Document(DocumentType.TEXT, "notes.txt", "content", null, project);
+        document.setId(UUID.randomUUID());
+        return document;
+    }
+}
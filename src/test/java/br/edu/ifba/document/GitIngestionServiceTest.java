@@ -0,0 +1,214 @@
+package br.edu.ifba.document;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.edu.ifba.lightrag.deletion.BulkDeletionResult;
+import br.edu.ifba.project.Project;
+
+/**
+ * Unit tests for GitIngestionService.
+ *
+ * Tests verify:
+ * 1. Files are inserted in batches while the walk runs
+ * 2. Re-sync replaces existing documents with the same path
+ * 3. Existing documents are kept when the replacement batch fails to insert
+ * 4. Clone failures are reported on the job
+ */
+class GitIngestionServiceTest {
+
+    private GitIngestionService service;
+    private RecordingDocumentService documentService;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        service = new GitIngestionService(1);
+        documentService = new RecordingDocumentService();
+        service.documentService = documentService;
+        service.batchSize = 2;
+        service.jobRetention = Duration.ofHours(1);
+
+        project = new Project("Test Project");
+        project.setId(UUID.randomUUID());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void testFilesAreInsertedInBatches() throws Exception {
+        service.gitRepositoryService = new StubGitRepositoryService(
+                List.of("src/A.java", "src/B.java", "README.md"));
+
+        GitIngestJobResponse job = service.submit(project, "https://example.com/repo.git", null, false);
+        GitIngestJobResponse finished = awaitFinished(job.jobId());
+
+        assertEquals(GitIngestJobStatus.COMPLETED, finished.status());
+        assertEquals(3, finished.filesDiscovered());
+        assertEquals(3, finished.documentsCreated());
+        assertEquals(List.of(2, 1), documentService.batchSizes, "Should insert one batch per batch.size files");
+        assertEquals(DocumentType.CODE, documentService.created.get(0).getType());
+        assertEquals(DocumentType.TEXT, documentService.created.get(2).getType());
+    }
+
+    @Test
+    void testReplaceDeletesExistingPaths() throws Exception {
+        Document existing = new Document(DocumentType.CODE, "src/A.java", "old", null, project);
+        existing.setId(UUID.randomUUID());
+        documentService.existing.add(existing);
+        service.gitRepositoryService = new StubGitRepositoryService(List.of("src/A.java", "src/C.java"));
+
+        GitIngestJobResponse job = service.submit(project, "https://example.com/repo.git", "main", true);
+        GitIngestJobResponse finished = awaitFinished(job.jobId());
+
+        assertEquals(1, finished.documentsReplaced());
+        assertEquals(List.of(existing.getId()), documentService.deleted);
+        assertEquals(List.of("create", "delete"), documentService.calls,
+                "New versions should be inserted before the old ones are deleted");
+    }
+
+    @Test
+    void testFailedInsertKeepsExistingDocuments() throws Exception {
+        Document existing = new Document(DocumentType.CODE, "src/A.java", "old", null, project);
+        existing.setId(UUID.randomUUID());
+        documentService.existing.add(existing);
+        documentService.failCreate = true;
+        service.gitRepositoryService = new StubGitRepositoryService(List.of("src/A.java"));
+
+        GitIngestJobResponse job = service.submit(project, "https://example.com/repo.git", "main", true);
+        GitIngestJobResponse finished = awaitFinished(job.jobId());
+
+        assertEquals(1, finished.filesFailed());
+        assertEquals(0, finished.documentsReplaced());
+        assertTrue(documentService.deleted.isEmpty(), "Existing documents should survive a failed insert");
+    }
+
+    @Test
+    void testCloneFailureMarksJobFailed() throws Exception {
+        service.gitRepositoryService = new GitRepositoryService() {
+            @Override
+            public int cloneAndStreamFiles(String repoUrl, String branch, String patterns,
+                    Consumer<RepositoryFile> consumer) {
+                throw new GitCloneException("Git clone failed");
+            }
+        };
+
+        GitIngestJobResponse job = service.submit(project, "https://example.com/missing.git", null, false);
+        GitIngestJobResponse finished = awaitFinished(job.jobId());
+
+        assertEquals(GitIngestJobStatus.FAILED, finished.status());
+        assertEquals("Git clone failed", finished.error());
+        assertTrue(documentService.created.isEmpty());
+    }
+
+    // ===== Helper Methods =====
+
+    private GitIngestJobResponse awaitFinished(UUID jobId) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            GitIngestJobResponse job = service.getJob(jobId).orElseThrow();
+            if (job.status().isFinished()) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Job did not finish: " + jobId);
+    }
+
+    private static class StubGitRepositoryService extends GitRepositoryService {
+        private final List<String> paths;
+
+        StubGitRepositoryService(List<String> paths) {
+            this.paths = paths;
+        }
+
+        @Override
+        public int cloneAndStreamFiles(String repoUrl, String branch, String patterns,
+                Consumer<RepositoryFile> consumer) {
+            for (String path : paths) {
+                String fileName = path.substring(path.lastIndexOf('/') + 1);
+                consumer.accept(new RepositoryFile(path, fileName, "content of " + path, 10));
+            }
+            return paths.size();
+        }
+    }
+
+    private static class RecordingDocumentService implements DocumentServicePort {
+        final List<Document> existing = new ArrayList<>();
+        final List<Document> created = new ArrayList<>();
+        final List<Integer> batchSizes = new ArrayList<>();
+        final List<UUID> deleted = new ArrayList<>();
+        final List<String> calls = new ArrayList<>();
+        boolean failCreate;
+
+        @Override
+        public Document create(Document document) {
+            return createAll(List.of(document)).get(0);
+        }
+
+        @Override
+        public List<Document> createAll(List<Document> documents) {
+            calls.add("create");
+            if (failCreate) {
+                throw new IllegalStateException("insert failed");
+            }
+            batchSizes.add(documents.size());
+            created.addAll(documents);
+            return documents;
+        }
+
+        @Override
+        public Document findById(UUID id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void delete(UUID documentId, UUID projectId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void delete(UUID documentId, UUID projectId, boolean skipRebuild) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public BulkDeletionResult deleteAll(UUID projectId, List<UUID> documentIds, boolean skipRebuild) {
+            calls.add("delete");
+            deleted.addAll(documentIds);
+            return null;
+        }
+
+        @Override
+        public Document findByFileName(String fileName) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Document> findByProjectId(UUID projectId) {
+            return existing;
+        }
+
+        @Override
+        public List<DocumentSummary> findSummariesByProjectId(UUID projectId) {
+            return existing.stream().map(DocumentSummary::of).toList();
+        }
+
+        @Override
+        public DocumentProgressResponse getProcessingProgress(UUID documentId) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -203,6 +203,30 @@ class LanguageDetectorTest {
         assertNotNull(result.language());
     }
     
+    @Test
+    void testContentDetectionPrefersHigherPriorityLanguageOverEarlierMatch() {
+        // Python's "def" comes first, but Java's "class" ranks higher
+        String mixed = "def run():\n    pass\n\nclass Runner:\n    pass";
+        LanguageDetector.DetectionResult result = detector.detect("NoExtension", mixed);
+        
+        assertEquals("java", result.language());
+        assertEquals("content", result.method());
+    }
+    
+    @Test
+    void testContentDetectionRanksLanguagesByPriority() {
+        // Rust's "fn" comes first, but JavaScript's "const" ranks higher
+        String mixed = "fn main() {}\nconst answer = 42;";
+        assertEquals("javascript", detector.detect("NoExtension", mixed).language());
+    }
+    
+    @Test
+    void testContentDetectionSeesMatchInsideEarlierMatch() {
+        // Kotlin's "data class " contains Java's "class "
+        String kotlin = "data class Point(val x: Int)";
+        assertEquals("java", detector.detect("NoExtension", kotlin).language());
+    }
+    
     @Test
     void testHandlesCaseInsensitiveExtensions() {
         assertEquals("java", detector.detectFromExtension("Main.JAVA").orElse(null));
@@ -0,0 +1,154 @@
+package br.edu.ifba.document;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import br.edu.ifba.lightrag.storage.impl.SQLiteConnectionManager;
+import br.edu.ifba.lightrag.storage.impl.SQLiteSchemaMigrator;
+import br.edu.ifba.project.Project;
+import br.edu.ifba.project.ProjectRepositoryPort;
+import jakarta.enterprise.inject.Instance;
+
+/**
+ * Unit tests for the content-free document queries of the SQLite repository
+ * produced by DocumentServiceProvider.
+ *
+ * Tests verify:
+ * 1. Summaries carry every projected field and the UTF-8 content length
+ * 2. Id queries filter by status and keep creation order
+ * 3. Pending ids honour the limit
+ * 4. Status updates are applied without loading the row
+ */
+class SQLiteDocumentQueriesTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SQLiteConnectionManager connectionManager;
+    private DocumentRepositoryPort repository;
+    private Project project;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        connectionManager = new SQLiteConnectionManager(tempDir.resolve("test.db").toString());
+        new SQLiteSchemaMigrator().migrateToLatest(connectionManager.createConnection());
+
+        project = new Project("queries");
+        project.setId(UUID.randomUUID());
+        execute("INSERT INTO projects (id, name) VALUES (?, ?)", project.getId().toString(), project.getName());
+
+        final Instance<SQLiteConnectionManager> sqliteConnectionManager = mock(Instance.class);
+        when(sqliteConnectionManager.isResolvable()).thenReturn(true);
+        when(sqliteConnectionManager.get()).thenReturn(connectionManager);
+        final Instance<ProjectRepositoryPort> projectRepository = mock(Instance.class);
+        when(projectRepository.isResolvable()).thenReturn(true);
+        when(projectRepository.get()).thenReturn(mock(ProjectRepositoryPort.class));
+
+        final DocumentServiceProvider provider = new DocumentServiceProvider();
+        provider.storageBackend = "sqlite";
+        provider.sqliteConnectionManager = sqliteConnectionManager;
+        provider.projectRepository = projectRepository;
+        repository = provider.produceDocumentRepository();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (connectionManager != null) {
+            connectionManager.close();
+        }
+    }
+
+    @Test
+    void testSummariesProjectFieldsWithoutContent() throws Exception {
+        final Document older = save("older.txt", "plain", DocumentStatus.PROCESSED, "2024-01-01 10:00:00");
+        final Document newer = save("ação.md", "ação", DocumentStatus.NOT_PROCESSED, "2024-01-02 10:00:00");
+        execute("UPDATE documents SET metadata = ? WHERE id = ?", "{\"source\":\"git\"}", newer.getId().toString());
+
+        final List<DocumentSummary> summaries = repository.findSummariesByProjectId(project.getId());
+
+        assertEquals(List.of(newer.getId(), older.getId()), summaries.stream().map(DocumentSummary::id).toList(),
+                "Summaries should be listed newest first");
+        final DocumentSummary summary = summaries.get(0);
+        assertEquals(project.getId(), summary.projectId());
+        assertEquals(DocumentType.TEXT, summary.type());
+        assertEquals(DocumentStatus.NOT_PROCESSED, summary.status());
+        assertEquals("ação.md", summary.fileName());
+        assertEquals("{\"source\":\"git\"}", summary.metadata());
+        assertEquals(6, summary.contentLength(), "Content length should count UTF-8 bytes, not characters");
+        assertEquals(LocalDateTime.of(2024, 1, 2, 10, 0), summary.createdAt());
+        assertEquals(5, summaries.get(1).contentLength());
+        assertTrue(repository.findSummariesByProjectId(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void testIdsByStatusKeepCreationOrder() throws Exception {
+        final Document second = save("b.txt", "b", DocumentStatus.PROCESSING, "2024-01-02 10:00:00");
+        final Document first = save("a.txt", "a", DocumentStatus.PROCESSING, "2024-01-01 10:00:00");
+        save("c.txt", "c", DocumentStatus.PROCESSED, "2024-01-03 10:00:00");
+
+        assertEquals(List.of(first.getId(), second.getId()), repository.findIdsByStatus(DocumentStatus.PROCESSING));
+        assertTrue(repository.findIdsByStatus(DocumentStatus.NOT_PROCESSED).isEmpty());
+    }
+
+    @Test
+    void testNotProcessedIdsHonourLimit() throws Exception {
+        final Document first = save("a.txt", "a", DocumentStatus.NOT_PROCESSED, "2024-01-01 10:00:00");
+        final Document second = save("b.txt", "b", DocumentStatus.NOT_PROCESSED, "2024-01-02 10:00:00");
+        save("c.txt", "c", DocumentStatus.NOT_PROCESSED, "2024-01-03 10:00:00");
+        save("d.txt", "d", DocumentStatus.PROCESSED, "2023-12-31 10:00:00");
+
+        assertEquals(List.of(first.getId(), second.getId()), repository.findNotProcessedIdsWithLock(2));
+    }
+
+    @Test
+    void testUpdateStatusChangesStatusAndTimestamp() throws Exception {
+        final Document document = save("a.txt", "a", DocumentStatus.NOT_PROCESSED, "2024-01-01 10:00:00");
+        execute("UPDATE documents SET updated_at = ? WHERE id = ?", "2024-01-01 10:00:00", document.getId().toString());
+
+        assertTrue(repository.updateStatus(document.getId(), DocumentStatus.PROCESSING));
+
+        assertEquals(List.of(document.getId()), repository.findIdsByStatus(DocumentStatus.PROCESSING));
+        assertTrue(repository.findNotProcessedIdsWithLock(10).isEmpty());
+        final DocumentSummary summary = repository.findSummariesByProjectId(project.getId()).get(0);
+        assertEquals(DocumentStatus.PROCESSING, summary.status());
+        assertNotEquals(LocalDateTime.of(2024, 1, 1, 10, 0), summary.updatedAt(), "updated_at should be refreshed");
+        assertFalse(repository.updateStatus(UUID.randomUUID(), DocumentStatus.PROCESSED),
+                "Updating an unknown id should report that no row changed");
+    }
+
+    private Document save(final String fileName, final String content, final DocumentStatus status,
+            final String createdAt) throws Exception {
+        final Document document = new Document(DocumentType.TEXT, fileName, content, null, project);
+        document.setStatus(status);
+        repository.save(document);
+        execute("UPDATE documents SET created_at = ? WHERE id = ?", createdAt, document.getId().toString());
+        return document;
+    }
+
+    private void execute(final String sql, final String... parameters) throws Exception {
+        try (Connection conn = connectionManager.createConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                stmt.setString(i + 1, parameters[i]);
+            }
+            stmt.executeUpdate();
+        }
+    }
+}
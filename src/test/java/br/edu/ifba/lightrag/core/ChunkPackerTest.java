@@ -0,0 +1,126 @@
+package br.edu.ifba.lightrag.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ChunkPacker.
+ *
+ * <p>Tests verify that packs close on chunk count, token budget and linger
+ * time, that keys are never mixed and that results and failures are routed
+ * back to each submitted chunk.</p>
+ */
+class ChunkPackerTest {
+
+    private final List<List<String>> packs = new CopyOnWriteArrayList<>();
+
+    @Test
+    void testPackIsDispatchedWhenFull() throws Exception {
+        try (ChunkPacker<String> packer = new ChunkPacker<>(1000, 3, 60_000, this::echo)) {
+            CompletableFuture<String> a = packer.submit("p1:text", item("a", 10));
+            CompletableFuture<String> b = packer.submit("p1:text", item("b", 10));
+            assertFalse(a.isDone(), "An incomplete pack waits for the linger time");
+
+            CompletableFuture<String> c = packer.submit("p1:text", item("c", 10));
+
+            assertEquals("result-a", a.get(5, TimeUnit.SECONDS));
+            assertEquals("result-b", b.get(5, TimeUnit.SECONDS));
+            assertEquals("result-c", c.get(5, TimeUnit.SECONDS));
+            assertEquals(List.of(List.of("a", "b", "c")), packs);
+            assertEquals(1, packer.packsDispatched());
+            assertEquals(3, packer.chunksDispatched());
+        }
+    }
+
+    @Test
+    void testChunkOverflowingTokenBudgetStartsNewPack() throws Exception {
+        try (ChunkPacker<String> packer = new ChunkPacker<>(100, 10, 60_000, this::echo)) {
+            CompletableFuture<String> a = packer.submit("p1:text", item("a", 60));
+            CompletableFuture<String> b = packer.submit("p1:text", item("b", 60));
+
+            assertEquals("result-a", a.get(5, TimeUnit.SECONDS));
+            assertFalse(b.isDone(), "The overflowing chunk opens the next pack");
+
+            CompletableFuture<String> c = packer.submit("p1:text", item("c", 40));
+            assertEquals("result-c", c.get(5, TimeUnit.SECONDS));
+            assertEquals(List.of(List.of("a"), List.of("b", "c")), packs);
+        }
+    }
+
+    @Test
+    void testLingerDispatchesIncompletePack() throws Exception {
+        try (ChunkPacker<String> packer = new ChunkPacker<>(1000, 10, 50, this::echo)) {
+            CompletableFuture<String> a = packer.submit("p1:text", item("a", 10));
+            CompletableFuture<String> b = packer.submit("p1:text", item("b", 10));
+
+            assertEquals("result-a", a.get(5, TimeUnit.SECONDS));
+            assertEquals("result-b", b.get(5, TimeUnit.SECONDS));
+            assertEquals(List.of(List.of("a", "b")), packs);
+        }
+    }
+
+    @Test
+    void testDifferentKeysAreNeverPackedTogether() throws Exception {
+        try (ChunkPacker<String> packer = new ChunkPacker<>(1000, 2, 60_000, this::echo)) {
+            CompletableFuture<String> a = packer.submit("p1:text", item("a", 10));
+            CompletableFuture<String> b = packer.submit("p2:text", item("b", 10));
+            CompletableFuture<String> c = packer.submit("p1:code:java", item("c", 10));
+            assertTrue(packs.isEmpty());
+
+            packer.submit("p1:text", item("d", 10)).get(5, TimeUnit.SECONDS);
+            assertEquals(List.of(List.of("a", "d")), packs);
+            assertFalse(b.isDone());
+            assertFalse(c.isDone());
+
+            packer.close();
+            assertEquals("result-b", b.get(5, TimeUnit.SECONDS));
+            assertEquals("result-c", c.get(5, TimeUnit.SECONDS));
+            assertEquals(3, packs.size());
+        }
+    }
+
+    @Test
+    void testFailuresAndMissingResultsReachEachChunk() {
+        try (ChunkPacker<String> failing = new ChunkPacker<>(1000, 2, 60_000,
+                items -> CompletableFuture.failedFuture(new IllegalStateException("llm down")))) {
+            CompletableFuture<String> a = failing.submit("p1:text", item("a", 10));
+            CompletableFuture<String> b = failing.submit("p1:text", item("b", 10));
+
+            ExecutionException error = assertThrows(ExecutionException.class, () -> a.get(5, TimeUnit.SECONDS));
+            assertEquals("llm down", error.getCause().getMessage());
+            assertThrows(ExecutionException.class, () -> b.get(5, TimeUnit.SECONDS));
+        }
+
+        try (ChunkPacker<String> partial = new ChunkPacker<>(1000, 2, 60_000,
+                items -> CompletableFuture.completedFuture(Map.of("a", "only-a")))) {
+            CompletableFuture<String> a = partial.submit("p1:text", item("a", 10));
+            CompletableFuture<String> b = partial.submit("p1:text", item("b", 10));
+
+            assertEquals("only-a", a.join());
+            ExecutionException error = assertThrows(ExecutionException.class, () -> b.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, error.getCause());
+        }
+    }
+
+    // ===== Helper Methods =====
+
+    private CompletableFuture<Map<String, String>> echo(List<ChunkPacker.Item> items) {
+        packs.add(items.stream().map(ChunkPacker.Item::id).toList());
+        Map<String, String> results = new HashMap<>();
+        items.forEach(item -> results.put(item.id(), "result-" + item.id()));
+        return CompletableFuture.completedFuture(results);
+    }
+
+    private static ChunkPacker.Item item(String id, int tokens) {
+        return new ChunkPacker.Item(id, "content of " + id, tokens, Map.of("project_id", "p1"));
+    }
+}
@@ -0,0 +1,158 @@
+package br.edu.ifba.lightrag.core;
+
+import br.edu.ifba.lightrag.embedding.EmbeddingFunction;
+import br.edu.ifba.lightrag.query.QueryCacheService;
+import br.edu.ifba.lightrag.storage.VectorStorage;
+import br.edu.ifba.lightrag.storage.impl.InMemoryGraphStorage;
+import br.edu.ifba.lightrag.storage.impl.InMemoryVectorStorage;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link DescriptionCompactionWorker}.
+ *
+ * <p>Uses in-memory storages and stub summarizer/embedding functions so the
+ * coalescing, threshold and re-embedding behavior can be verified without an LLM.</p>
+ */
+class DescriptionCompactionWorkerTest {
+
+    private static final String PROJECT_ID = "11111111-1111-1111-1111-111111111111";
+
+    private InMemoryGraphStorage graphStorage;
+    private InMemoryVectorStorage vectorStorage;
+    private AtomicInteger summarizeCalls;
+    private AtomicInteger embedCalls;
+    private List<List<String>> summarizedInputs;
+    private DescriptionCompactionWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        graphStorage = new InMemoryGraphStorage();
+        vectorStorage = new InMemoryVectorStorage();
+        graphStorage.initialize().join();
+        vectorStorage.initialize().join();
+
+        summarizeCalls = new AtomicInteger();
+        embedCalls = new AtomicInteger();
+        summarizedInputs = new ArrayList<>();
+
+        DescriptionSummarizer summarizer = new DescriptionSummarizer() {
+            @Override
+            public boolean needsSummarization(@NotNull List<String> descriptions) {
+                return true;
+            }
+
+            @Override
+            public CompletableFuture<String> summarize(@NotNull String entityName,
+                    @NotNull List<String> descriptions, @NotNull String projectId) {
+                summarizeCalls.incrementAndGet();
+                summarizedInputs.add(descriptions);
+                return CompletableFuture.completedFuture("Summary of " + entityName);
+            }
+
+            @Override
+            public int estimateTokenCount(@NotNull List<String> descriptions) {
+                return 0;
+            }
+
+            @Override
+            public int getSummarizationThreshold() {
+                return 0;
+            }
+        };
+
+        EmbeddingFunction embeddingFunction = texts -> {
+            embedCalls.incrementAndGet();
+            List<float[]> vectors = new ArrayList<>();
+            for (int i = 0; i < texts.size(); i++) {
+                vectors.add(new float[] { 1.0f, 0.0f, 0.0f });
+            }
+            return CompletableFuture.completedFuture(vectors);
+        };
+
+        worker = new DescriptionCompactionWorker(graphStorage, vectorStorage, embeddingFunction, summarizer,
+                new QueryCacheService(), true, 3, 100, 10, 100, " | ");
+    }
+
+    /**
+     * Entities below both thresholds are not queued.
+     */
+    @Test
+    void testSubmitBelowThresholdIsIgnored() {
+        assertFalse(worker.submit(PROJECT_ID, "Alpha", List.of("short one", "short two")),
+                "Two short fragments should not be queued");
+        assertEquals(0, worker.getPendingCount(), "Nothing should be pending");
+    }
+
+    /**
+     * Hub entities gaining one fragment per document are queued once their
+     * stored description has accumulated enough fragments.
+     */
+    @Test
+    void testStoredDescriptionCountsTowardsThreshold() {
+        assertFalse(worker.submit(PROJECT_ID, "Hub", List.of("from doc three")),
+                "A single new fragment alone should not be queued");
+
+        assertTrue(worker.submit(PROJECT_ID, "Hub", "from doc one | from doc two | from doc three",
+                List.of("from doc three")), "Stored fragments should count towards the threshold");
+        assertEquals(1, worker.getPendingCount());
+    }
+
+    /**
+     * Repeated submissions for the same entity coalesce into a single
+     * summarization, and all compacted entities are re-embedded in one call.
+     */
+    @Test
+    void testCoalescedCompactionUpdatesGraphAndVectors() {
+        graphStorage.upsertEntities(PROJECT_ID, List.of(
+                new Entity("Alpha", "CONCEPT", "first | second", null, "doc-1", List.of("chunk-1")),
+                new Entity("Beta", "CONCEPT", "b1 | b2", null, "doc-1", List.of("chunk-2")))).join();
+
+        assertTrue(worker.submit(PROJECT_ID, "Alpha", List.of("first", "second", "third")));
+        assertTrue(worker.submit(PROJECT_ID, "Alpha", List.of("fourth")),
+                "Pending entity should absorb new fragments regardless of threshold");
+        assertTrue(worker.submit(PROJECT_ID, "Beta", List.of("b1", "b2", "b3")));
+        assertEquals(2, worker.getPendingCount(), "Alpha should be coalesced into a single entry");
+
+        int compacted = worker.drain().join();
+
+        assertEquals(2, compacted, "Both entities should be compacted");
+        assertEquals(2, summarizeCalls.get(), "One summarization per entity");
+        assertEquals(1, embedCalls.get(), "Compacted entities should be re-embedded in one call");
+        assertEquals(0, worker.getPendingCount(), "Queue should be drained");
+
+        assertEquals(List.of("first", "second", "third", "fourth"), summarizedInputs.get(0),
+                "Stored and pending fragments should be merged without duplicates");
+
+        Entity alpha = graphStorage.getEntity(PROJECT_ID, "Alpha").join();
+        assertEquals("Summary of Alpha", alpha.getDescription());
+        assertEquals(Set.of("chunk-1"), Set.copyOf(alpha.getSourceChunkIds()),
+                "Source chunks should be preserved");
+
+        VectorStorage.VectorEntry vector = vectorStorage
+                .get(LightRAG.generateEntityVectorId("Alpha", PROJECT_ID)).join();
+        assertNotNull(vector, "Entity vector should be written under the deterministic id");
+        assertEquals("entity", vector.metadata().type());
+        assertEquals(PROJECT_ID, vector.metadata().projectId());
+    }
+
+    /**
+     * Truncated stored descriptions are split back into fragments with the
+     * ellipsis removed.
+     */
+    @Test
+    void testCollectFragmentsStripsTruncationMarker() {
+        List<String> fragments = worker.collectFragments("one | two | thr...", Set.of("four"));
+
+        assertEquals(List.of("one", "two", "thr", "four"), fragments);
+    }
+}
@@ -0,0 +1,86 @@
+package br.edu.ifba.lightrag.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ExtractionAccumulator.
+ *
+ * Tests verify:
+ * 1. Pending records are stored early once the flush threshold is reached
+ * 2. A record streamed again after an early write is stored with its earlier fragments
+ * 3. Records already streamed are not stored again when the chunk completes
+ */
+class ExtractionAccumulatorTest {
+
+    private final List<List<Entity>> storedEntities = new ArrayList<>();
+    private final List<List<Relation>> storedRelations = new ArrayList<>();
+    private ExtractionAccumulator accumulator;
+
+    @BeforeEach
+    void setUp() {
+        accumulator = new ExtractionAccumulator(1, (entities, relations) -> {
+            storedEntities.add(entities);
+            storedRelations.add(relations);
+            return CompletableFuture.completedFuture(null);
+        }, Runnable::run);
+    }
+
+    @Test
+    void testEarlyFlushStoresPendingRecords() {
+        accumulator.addStreamed("chunk-1", List.of(entity("Quarkus", "Java framework", "chunk-1")), List.of());
+
+        assertEquals(1, storedEntities.size(), "Reaching the threshold should store a group");
+        assertEquals("Quarkus", storedEntities.get(0).get(0).getEntityName());
+    }
+
+    @Test
+    void testEntityStreamedFromTwoChunksIsStoredWithBothFragments() {
+        Entity first = entity("Quarkus", "Java framework", "chunk-1");
+        Entity second = entity("Quarkus", "Supersonic subatomic", "chunk-2");
+        Relation firstRelation = new Relation("Quarkus", "Java", "runs on", "runtime", 1.0, null);
+        Relation secondRelation = new Relation("Quarkus", "Java", "compiles to", "runtime", 0.5, null);
+
+        accumulator.addStreamed("chunk-1", List.of(first), List.of(firstRelation));
+        accumulator.addStreamed("chunk-2", List.of(second), List.of(secondRelation));
+
+        assertEquals(1, storedEntities.size(), "Fragments of an entity already written should be held back");
+
+        accumulator.flush().join();
+
+        assertEquals(2, storedEntities.size());
+        assertEquals(List.of(first, second), storedEntities.get(1),
+            "Batch-end group should carry every fragment so they are merged in one store");
+        assertEquals(List.of(firstRelation, secondRelation), storedRelations.get(1));
+        assertEquals(2, accumulator.totalEntities());
+        assertEquals(2, accumulator.totalRelations());
+    }
+
+    @Test
+    void testCompletedChunkSkipsStreamedRecords() {
+        Entity streamed = entity("Quarkus", "Java framework", "chunk-1");
+        Entity gleaned = entity("Vert.x", "Reactive toolkit", "chunk-1");
+
+        accumulator.addStreamed("chunk-1", List.of(streamed), List.of());
+        accumulator.completeChunk("chunk-1", List.of(streamed, gleaned), List.of());
+        accumulator.flush().join();
+
+        assertEquals(List.of(List.of(streamed), List.of(gleaned)), storedEntities);
+        assertEquals(2, accumulator.totalEntities());
+    }
+
+    private static Entity entity(String name, String description, String chunkId) {
+        return Entity.builder()
+            .entityName(name)
+            .entityType("TECHNOLOGY")
+            .description(description)
+            .addSourceChunkId(chunkId)
+            .build();
+    }
+}
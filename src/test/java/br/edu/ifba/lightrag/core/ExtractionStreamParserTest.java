@@ -0,0 +1,129 @@
+package br.edu.ifba.lightrag.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ExtractionStreamParser.
+ *
+ * <p>Tests verify that records are released as their line completes, that the
+ * completion delimiter ends the response even when split across deltas, and
+ * that the stream is cancelled once the response is complete.</p>
+ */
+class ExtractionStreamParserTest {
+
+    @Test
+    void testReleasesRecordsAsLinesComplete() {
+        ExtractionStreamParser parser = new ExtractionStreamParser();
+
+        assertEquals(List.of(), parser.append("entity<|#|>Alice<|#|>PERSON<|#|>An engi"));
+        assertEquals(List.of("entity<|#|>Alice<|#|>PERSON<|#|>An engineer"),
+            parser.append("neer\nentity<|#|>Bob"));
+        assertEquals(List.of("entity<|#|>Bob<|#|>PERSON<|#|>A manager",
+                "relation<|#|>Alice<|#|>Bob<|#|>reports<|#|>Alice reports to Bob"),
+            parser.append("<|#|>PERSON<|#|>A manager\n\nrelation<|#|>Alice<|#|>Bob<|#|>reports<|#|>Alice reports to Bob\n"));
+        assertFalse(parser.isComplete());
+    }
+
+    @Test
+    void testCompletionDelimiterSplitAcrossDeltasEndsResponse() {
+        ExtractionStreamParser parser = new ExtractionStreamParser();
+
+        parser.append("entity<|#|>Alice<|#|>PERSON<|#|>An engineer\n");
+        assertEquals(List.of(), parser.append("entity<|#|>Bob<|#|>PERSON<|#|>A manager<|COMP"));
+        assertFalse(parser.isComplete(), "A partial marker must not end the response");
+
+        assertEquals(List.of("entity<|#|>Bob<|#|>PERSON<|#|>A manager"),
+            parser.append("LETE|>\nentity<|#|>Ignored<|#|>X<|#|>trailing"));
+        assertTrue(parser.isComplete());
+        assertTrue(parser.text().endsWith("<|COMPLETE|>"));
+        assertEquals(List.of(), parser.append("more trailing tokens\n"));
+        assertEquals(List.of(), parser.finish());
+    }
+
+    @Test
+    void testPlaceholderCompletionDelimiterAndTrailingRecord() {
+        ExtractionStreamParser parser = new ExtractionStreamParser();
+        assertEquals(List.of("entity{tuple_delimiter}A{tuple_delimiter}T{tuple_delimiter}d"),
+            parser.append("entity{tuple_delimiter}A{tuple_delimiter}T{tuple_delimiter}d\n{ Completion_Delimiter }"));
+        assertTrue(parser.isComplete());
+
+        ExtractionStreamParser unterminated = new ExtractionStreamParser();
+        unterminated.append("entity<|#|>A<|#|>T<|#|>d");
+        assertEquals(List.of("entity<|#|>A<|#|>T<|#|>d"), unterminated.finish());
+        assertTrue(unterminated.isComplete());
+    }
+
+    @Test
+    void testJsonResponseIsBufferedWhole() {
+        ExtractionStreamParser parser = new ExtractionStreamParser();
+
+        assertEquals(List.of(), parser.append("  ```json\n{\"entities\": [\n"));
+        assertEquals(List.of(), parser.append("]}\n```"));
+        assertTrue(parser.isStructured());
+        assertEquals(List.of(), parser.finish());
+        assertEquals("  ```json\n{\"entities\": [\n]}\n```", parser.text());
+    }
+
+    @Test
+    void testConsumeCancelsStreamAtCompletionDelimiter() throws Exception {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        List<String> records = new ArrayList<>();
+        Flow.Publisher<String> publisher = subscriber -> subscriber.onSubscribe(new Flow.Subscription() {
+            private final String[] deltas = {
+                "entity<|#|>A<|#|>T<|#|>first\n", "entity<|#|>B<|#|>T<|#|>second\n<|COMPLETE|>", "never read\n"
+            };
+            private int next;
+
+            @Override
+            public void request(long n) {
+                while (!cancelled.get() && next < deltas.length) {
+                    subscriber.onNext(deltas[next++]);
+                }
+                if (!cancelled.get()) {
+                    subscriber.onComplete();
+                }
+            }
+
+            @Override
+            public void cancel() {
+                cancelled.set(true);
+            }
+        });
+
+        ExtractionStreamParser parser = ExtractionStreamParser.consume(publisher, records::add)
+            .get(5, TimeUnit.SECONDS);
+
+        assertTrue(cancelled.get(), "Generation should stop at the completion delimiter");
+        assertEquals(List.of("entity<|#|>A<|#|>T<|#|>first", "entity<|#|>B<|#|>T<|#|>second"), records);
+        assertFalse(parser.text().contains("never read"));
+    }
+
+    @Test
+    void testConsumeFlushesTrailingRecordAndPropagatesErrors() throws Exception {
+        List<String> records = new ArrayList<>();
+        try (SubmissionPublisher<String> publisher = new SubmissionPublisher<>()) {
+            var future = ExtractionStreamParser.consume(publisher, records::add);
+            publisher.submit("entity<|#|>A<|#|>T<|#|>first\n");
+            publisher.submit("entity<|#|>B<|#|>T<|#|>last");
+            publisher.close();
+            future.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(List.of("entity<|#|>A<|#|>T<|#|>first", "entity<|#|>B<|#|>T<|#|>last"), records);
+
+        try (SubmissionPublisher<String> failing = new SubmissionPublisher<>()) {
+            var future = ExtractionStreamParser.consume(failing, line -> { });
+            failing.closeExceptionally(new IllegalStateException("connection reset"));
+            Exception error = assertThrows(Exception.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertEquals("connection reset", error.getCause().getMessage());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package br.edu.ifba.lightrag.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GleaningPolicy.
+ *
+ * <p>Tests verify the warmup phase, skipping of short chunks and low-yield
+ * buckets, exploration of skipped chunks, that statistics are kept per
+ * project and document kind and that packs are compared per chunk.</p>
+ */
+class GleaningPolicyTest {
+
+    @Test
+    void testShortChunksAreNeverGleaned() {
+        GleaningPolicy policy = new GleaningPolicy(150, 5, 0.25, 10);
+
+        assertEquals(GleaningPolicy.Decision.SKIP_SHORT, policy.decide(sample("p1", "text", 100, 5)));
+        assertEquals(GleaningPolicy.Decision.WARMUP, policy.decide(sample("p1", "text", 150, 5)));
+    }
+
+    @Test
+    void testBucketIsGleanedUntilWarmupCompletes() {
+        GleaningPolicy policy = new GleaningPolicy(0, 3, 0.25, 0);
+        GleaningPolicy.Sample sample = sample("p1", "text", 500, 10);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(GleaningPolicy.Decision.WARMUP, policy.decide(sample));
+            policy.recordPass(sample, 0);
+        }
+        assertEquals(GleaningPolicy.Decision.SKIP_LOW_YIELD, policy.decide(sample));
+    }
+
+    @Test
+    void testProductiveBucketKeepsGleaning() {
+        GleaningPolicy policy = new GleaningPolicy(0, 4, 0.25, 0);
+        GleaningPolicy.Sample sample = sample("p1", "text", 500, 10);
+        for (int i = 0; i < 4; i++) {
+            policy.recordPass(sample, i % 2 == 0 ? 3 : 0);
+        }
+
+        assertEquals(GleaningPolicy.Decision.GLEAN, policy.decide(sample));
+        // A much shorter and sparser chunk than usual is predicted to yield less
+        assertEquals(GleaningPolicy.Decision.SKIP_LOW_YIELD, policy.decide(sample("p1", "text", 100, 1)));
+    }
+
+    @Test
+    void testEveryNthSkippedChunkIsExplored() {
+        GleaningPolicy policy = new GleaningPolicy(0, 1, 0.25, 3);
+        GleaningPolicy.Sample sample = sample("p1", "code", 500, 10);
+        policy.recordPass(sample, 0);
+
+        assertEquals(GleaningPolicy.Decision.SKIP_LOW_YIELD, policy.decide(sample));
+        assertEquals(GleaningPolicy.Decision.SKIP_LOW_YIELD, policy.decide(sample));
+        assertEquals(GleaningPolicy.Decision.EXPLORE, policy.decide(sample));
+        assertTrue(GleaningPolicy.Decision.EXPLORE.glean());
+        assertEquals(3, policy.stats("p1", "code").skipped());
+    }
+
+    @Test
+    void testStatisticsAreKeptPerProjectAndKind() {
+        GleaningPolicy policy = new GleaningPolicy(0, 1, 0.25, 0);
+        policy.recordPass(sample("p1", "text", 500, 10), 4);
+        policy.recordPass(sample("p1", "text", 500, 10), 0);
+        policy.recordPass(sample("p1", "code", 500, 10), 0);
+
+        GleaningPolicy.Stats text = policy.stats("p1", "text");
+        assertEquals(2, text.passes());
+        assertEquals(1, text.productivePasses());
+        assertEquals(4, text.newRecords());
+        assertEquals(0.5, text.hitRate(), 1e-9);
+
+        assertEquals(0.0, policy.stats("p1", "code").hitRate());
+        assertEquals(0, policy.stats("p2", "text").passes());
+        assertEquals(2, policy.stats().size());
+
+        assertEquals(GleaningPolicy.Decision.SKIP_LOW_YIELD, policy.decide(sample("p1", "code", 500, 10)));
+        assertEquals(GleaningPolicy.Decision.WARMUP, policy.decide(sample("p2", "code", 500, 10)));
+    }
+
+    @Test
+    void testPacksDoNotSkewChunkSizeStatistics() {
+        GleaningPolicy policy = new GleaningPolicy(0, 4, 0.3, 0);
+        GleaningPolicy.Sample chunk = sample("p1", "text", 500, 10);
+        // Eight chunks of 500 tokens extracted together
+        GleaningPolicy.Sample pack = new GleaningPolicy.Sample("p1", "text", 4000, 80, 8);
+        for (int i = 0; i < 4; i++) {
+            policy.recordPass(chunk, i % 2 == 0 ? 3 : 0);
+            policy.recordPass(pack, i % 2 == 0 ? 3 : 0);
+        }
+
+        assertEquals(GleaningPolicy.Decision.GLEAN, policy.decide(chunk));
+        assertEquals(GleaningPolicy.Decision.GLEAN, policy.decide(pack));
+    }
+
+    private static GleaningPolicy.Sample sample(String projectId, String kind, int tokens, int records) {
+        return new GleaningPolicy.Sample(projectId, kind, tokens, records);
+    }
+}
@@ -0,0 +1,234 @@
+package br.edu.ifba.lightrag.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RegexCodeStructureExtractor.
+ *
+ * <p>Tests verify that modules, types, functions, imports, containment,
+ * inheritance and same-chunk calls are extracted without an LLM.</p>
+ */
+class RegexCodeStructureExtractorTest {
+
+    private final RegexCodeStructureExtractor extractor = new RegexCodeStructureExtractor();
+
+    @Test
+    void testJavaStructure() {
+        String source = """
+                package com.example.users;
+
+                import java.util.List;
+                import com.example.core.Repository;
+
+                /**
+                 * Handles users { not a brace that counts }.
+                 */
+                public class UserService extends BaseService implements Auditable, Closeable {
+                    private final Repository repository = create("users");
+
+                    public UserService(Repository repository) {
+                        this.repository = repository;
+                    }
+
+                    public List<User> findAll() {
+                        return load("}");
+                    }
+
+                    private List<User> load(String filter) { return List.of(); }
+
+                    public void close() {
+                        findAll();
+                    }
+                }
+                """;
+
+        CodeStructureExtractor.CodeStructure structure =
+                extractor.extract("chunk-1", source, "Java", "src/UserService.java");
+        Map<String, String> types = entityTypes(structure);
+        Set<String> relations = relationKeys(structure);
+
+        assertEquals("module", types.get("src/UserService.java"));
+        assertEquals("package", types.get("com.example.users"));
+        assertEquals("class", types.get("src/UserService.java#UserService"));
+        assertEquals("constructor", types.get("src/UserService.java#UserService.UserService"));
+        assertEquals("method", types.get("src/UserService.java#UserService.findAll"));
+        assertEquals("method", types.get("src/UserService.java#UserService.load"));
+        assertEquals("method", types.get("src/UserService.java#UserService.close"));
+
+        assertTrue(relations.contains("src/UserService.java -imports-> List"));
+        assertTrue(relations.contains("src/UserService.java -imports-> Repository"));
+        assertTrue(relations.contains("com.example.users -contains-> src/UserService.java"));
+        assertTrue(relations.contains("src/UserService.java -contains-> src/UserService.java#UserService"));
+        assertTrue(relations.contains("src/UserService.java#UserService -contains-> src/UserService.java#UserService.findAll"));
+        assertTrue(relations.contains("src/UserService.java#UserService -extends-> BaseService"));
+        assertTrue(relations.contains("src/UserService.java#UserService -implements-> Auditable"));
+        assertTrue(relations.contains("src/UserService.java#UserService -implements-> Closeable"));
+        assertTrue(relations.contains("src/UserService.java#UserService.findAll -calls-> src/UserService.java#UserService.load"));
+        assertTrue(relations.contains("src/UserService.java#UserService.close -calls-> src/UserService.java#UserService.findAll"));
+
+        // Every fact is attributed to the chunk it came from
+        assertTrue(structure.entities().stream().allMatch(e -> e.getSourceChunkIds().contains("chunk-1")));
+        assertTrue(structure.relations().stream().allMatch(r -> r.getSourceChunkIds().contains("chunk-1")));
+        // Relation endpoints always exist as entities
+        for (Relation relation : structure.relations()) {
+            assertTrue(types.containsKey(relation.getSrcId()), relation.getSrcId());
+            assertTrue(types.containsKey(relation.getTgtId()), relation.getTgtId());
+        }
+    }
+
+    @Test
+    void testPythonStructure() {
+        String source = """
+                import os, sys as system
+                from collections import defaultdict
+
+                class Cache(BaseCache, metaclass=ABCMeta):
+                    def __init__(self):
+                        self.data = defaultdict(list)
+
+                    def get(self, key):
+                        return self._lookup(key)
+
+                    def _lookup(self, key):
+                        return self.data[key]
+
+                def build():
+                    return Cache()
+                """;
+
+        CodeStructureExtractor.CodeStructure structure =
+                extractor.extract("chunk-2", source, "Python", "cache.py");
+        Map<String, String> types = entityTypes(structure);
+        Set<String> relations = relationKeys(structure);
+
+        assertEquals("class", types.get("cache.py#Cache"));
+        assertEquals("constructor", types.get("cache.py#Cache.__init__"));
+        assertEquals("method", types.get("cache.py#Cache.get"));
+        assertEquals("function", types.get("cache.py#build"));
+
+        assertTrue(relations.contains("cache.py -imports-> os"));
+        assertTrue(relations.contains("cache.py -imports-> sys"));
+        assertTrue(relations.contains("cache.py -imports-> collections"));
+        assertTrue(relations.contains("cache.py#Cache -extends-> BaseCache"));
+        assertFalse(relations.stream().anyMatch(r -> r.contains("metaclass")));
+        assertTrue(relations.contains("cache.py#Cache.get -calls-> cache.py#Cache._lookup"));
+        assertTrue(relations.contains("cache.py -contains-> cache.py#build"));
+    }
+
+    @Test
+    void testGoAndRustStructure() {
+        String go = """
+                package store
+
+                import (
+                    "context"
+                    db "database/sql"
+                )
+
+                type Repo struct {
+                    conn *db.DB
+                }
+
+                func (r *Repo) Save(ctx context.Context) error {
+                    return r.validate()
+                }
+
+                func (r *Repo) validate() error { return nil }
+                """;
+        Set<String> goRelations = relationKeys(extractor.extract("c", go, "Go", "store/repo.go"));
+        assertTrue(goRelations.contains("store/repo.go -imports-> context"));
+        assertTrue(goRelations.contains("store/repo.go -imports-> database/sql"));
+        assertTrue(goRelations.contains("store/repo.go#Repo -contains-> store/repo.go#Repo.Save"));
+        assertTrue(goRelations.contains("store/repo.go#Repo.Save -calls-> store/repo.go#Repo.validate"));
+
+        String rust = """
+                use std::collections::HashMap;
+
+                pub trait Shape: Debug + Clone {
+                    fn area(&self) -> f64;
+                }
+
+                pub struct Circle { radius: f64 }
+
+                impl Shape for Circle {
+                    fn area(&self) -> f64 {
+                        square(self.radius) * 3.14
+                    }
+                }
+
+                fn square<'a>(x: f64) -> f64 { x * x }
+                """;
+        CodeStructureExtractor.CodeStructure structure = extractor.extract("c", rust, "Rust", "shape.rs");
+        Map<String, String> rustTypes = entityTypes(structure);
+        Set<String> rustRelations = relationKeys(structure);
+        assertEquals("trait", rustTypes.get("shape.rs#Shape"));
+        assertEquals("method", rustTypes.get("shape.rs#Circle.area"));
+        assertEquals("function", rustTypes.get("shape.rs#square"));
+        assertTrue(rustRelations.contains("shape.rs -imports-> std::collections::HashMap"));
+        assertTrue(rustRelations.contains("shape.rs#Shape -extends-> Debug"));
+        assertTrue(rustRelations.contains("shape.rs#Circle -implements-> shape.rs#Shape"));
+        assertTrue(rustRelations.contains("shape.rs#Circle.area -calls-> shape.rs#square"));
+    }
+
+    @Test
+    void testSameNamedDeclarationsInDifferentFilesStaySeparate() {
+        String first = """
+                package main
+
+                type Server struct {}
+
+                func main() {
+                    run()
+                }
+
+                func run() {}
+                """;
+        String second = """
+                package worker
+
+                type Server struct {}
+
+                func main() {
+                    run()
+                }
+
+                func run() {}
+                """;
+
+        Map<String, String> firstTypes = entityTypes(extractor.extract("c1", first, "Go", "cmd/api/main.go"));
+        Set<String> secondRelations = relationKeys(extractor.extract("c2", second, "Go", "cmd/worker/main.go"));
+
+        assertEquals("function", firstTypes.get("cmd/api/main.go#main"));
+        assertEquals("struct", firstTypes.get("cmd/api/main.go#Server"));
+        assertFalse(firstTypes.containsKey("run"), "Top-level functions should be qualified by their file");
+        assertTrue(secondRelations.contains("cmd/worker/main.go -contains-> cmd/worker/main.go#main"));
+        assertTrue(secondRelations.contains("cmd/worker/main.go#main -calls-> cmd/worker/main.go#run"));
+        assertFalse(secondRelations.stream().anyMatch(r -> r.contains("cmd/api/")),
+            "Relations should not cross files");
+    }
+
+    @Test
+    void testUnsupportedLanguageReturnsEmpty() {
+        assertFalse(extractor.supports("Ruby"));
+        assertTrue(extractor.extract("c", "class Foo; end", "Ruby", "foo.rb").isEmpty());
+    }
+
+    // ===== Helper Methods =====
+
+    private static Map<String, String> entityTypes(CodeStructureExtractor.CodeStructure structure) {
+        return structure.entities().stream()
+                .collect(Collectors.toMap(Entity::getEntityName, e -> String.valueOf(e.getEntityType())));
+    }
+
+    private static Set<String> relationKeys(CodeStructureExtractor.CodeStructure structure) {
+        return structure.relations().stream()
+                .map(r -> r.getSrcId() + " -" + r.getKeywords() + "-> " + r.getTgtId())
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,166 @@
+package br.edu.ifba.lightrag.query;
+
+import br.edu.ifba.lightrag.query.HistoryCompactor.Compacted;
+import br.edu.ifba.lightrag.query.HistoryCompactor.Turn;
+import br.edu.ifba.lightrag.utils.TokenUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HistoryCompactor.
+ */
+class HistoryCompactorTest {
+
+    @Test
+    void testHistoryWithinBudgetIsUnchanged() {
+        List<String> prompts = new ArrayList<>();
+        HistoryCompactor compactor = new HistoryCompactor(500, 2, 10, recording(prompts));
+        List<Turn> history = conversation(4, 10);
+
+        Compacted compacted = compactor.compact("c1", history);
+
+        assertFalse(compacted.isCompacted());
+        assertNull(compacted.summary());
+        assertEquals(history, compacted.recent());
+        assertTrue(prompts.isEmpty(), "No summarization within budget");
+    }
+
+    @Test
+    void testOlderTurnsAreSummarizedAndRecentKeptVerbatim() {
+        List<String> prompts = new ArrayList<>();
+        HistoryCompactor compactor = new HistoryCompactor(300, 4, 10, recording(prompts));
+        List<Turn> history = conversation(10, 40);
+
+        Compacted compacted = compactor.compact("c1", history);
+
+        assertTrue(compacted.isCompacted());
+        assertEquals(6, compacted.summarizedTurns());
+        assertEquals(history.subList(6, 10), compacted.recent());
+        assertEquals("summary #1", compacted.summary());
+        assertEquals(1, prompts.size());
+        assertTrue(prompts.get(0).contains("message 0 "));
+        assertTrue(prompts.get(0).contains("message 5 "));
+        assertFalse(prompts.get(0).contains("message 6 "), "Verbatim turns must not be summarized");
+        assertTrue(tokens(compacted) <= 300, "Compacted history must fit the budget");
+    }
+
+    @Test
+    void testRunningSummaryOnlyFoldsNewlyAgedTurns() {
+        List<String> prompts = new ArrayList<>();
+        HistoryCompactor compactor = new HistoryCompactor(300, 4, 10, recording(prompts));
+        List<Turn> history = conversation(12, 40);
+
+        compactor.compact("c1", history.subList(0, 10));
+        Compacted same = compactor.compact("c1", history.subList(0, 10));
+        assertEquals(1, prompts.size(), "Unchanged prefix is served from cache");
+        assertEquals("summary #1", same.summary());
+
+        Compacted next = compactor.compact("c1", history);
+        assertEquals(2, prompts.size());
+        assertTrue(prompts.get(1).contains("Existing summary:\nsummary #1"));
+        assertTrue(prompts.get(1).contains("message 6 "));
+        assertFalse(prompts.get(1).contains("message 5 "), "Already summarized turns are not resent");
+        assertEquals(8, next.summarizedTurns());
+        assertEquals("summary #2", next.summary());
+    }
+
+    @Test
+    void testRewrittenHistoryRebuildsSummary() {
+        List<String> prompts = new ArrayList<>();
+        HistoryCompactor compactor = new HistoryCompactor(300, 4, 10, recording(prompts));
+        List<Turn> history = new ArrayList<>(conversation(10, 40));
+
+        compactor.compact("c1", history);
+        history.set(1, new Turn("assistant", "an edited answer " + "word ".repeat(40)));
+        compactor.compact("c1", history);
+
+        assertEquals(2, prompts.size());
+        assertFalse(prompts.get(1).contains("Existing summary"));
+        assertTrue(prompts.get(1).contains("an edited answer"));
+    }
+
+    @Test
+    void testFailedSummarizerFallsBackToExtracts() {
+        HistoryCompactor compactor = new HistoryCompactor(300, 4, 10, (prompt, maxTokens) -> {
+            throw new IllegalStateException("llm down");
+        });
+        List<Turn> history = conversation(10, 40);
+
+        Compacted compacted = compactor.compact("c1", history);
+
+        assertTrue(compacted.isCompacted());
+        assertTrue(compacted.summary().contains("user: message 4"));
+        assertTrue(tokens(compacted) <= 300 + HistoryCompactor.MESSAGE_OVERHEAD_TOKENS);
+        assertEquals(0, compactor.cachedConversations(), "Fallback extracts are not cached");
+    }
+
+    @Test
+    void testDerivedKeysAreScopedPerProject() {
+        List<String> prompts = new ArrayList<>();
+        HistoryCompactor compactor = new HistoryCompactor(300, 4, 10, recording(prompts));
+        List<Turn> history = conversation(10, 40);
+
+        compactor.compact("project-a", null, history);
+        Compacted other = compactor.compact("project-b", null, history);
+
+        assertEquals(2, prompts.size(), "Summaries are not shared across projects");
+        assertEquals("summary #2", other.summary());
+        assertEquals(2, compactor.cachedConversations());
+    }
+
+    @Test
+    void testAsyncCompactionDoesNotBlockOnTheSummarizer() {
+        CompletableFuture<String> pendingSummary = new CompletableFuture<>();
+        HistoryCompactor compactor = new HistoryCompactor(300, 4, 10, (prompt, maxTokens) -> pendingSummary);
+        List<Turn> history = conversation(10, 40);
+
+        CompletableFuture<Compacted> compacted = compactor.compactAsync("project-a", "c1", history);
+
+        assertFalse(compacted.isDone(), "Compaction should wait for the summary without blocking the caller");
+        pendingSummary.complete("late summary");
+        assertEquals("late summary", compacted.join().summary());
+        assertEquals(1, compactor.cachedConversations());
+    }
+
+    @Test
+    void testOversizedLastMessageIsTruncated() {
+        HistoryCompactor compactor = new HistoryCompactor(200, 4, 10, null);
+        List<Turn> history = List.of(new Turn("user", "word ".repeat(1000)));
+
+        Compacted compacted = compactor.compact(null, history);
+
+        assertFalse(compacted.isCompacted());
+        assertEquals(1, compacted.recent().size());
+        assertTrue(TokenUtil.estimateTokens(compacted.recent().get(0).content()) <= 200);
+    }
+
+    // ===== Helper Methods =====
+
+    private static HistoryCompactor.Summarizer recording(List<String> prompts) {
+        return (prompt, maxTokens) -> {
+            prompts.add(prompt);
+            return CompletableFuture.completedFuture("summary #" + prompts.size());
+        };
+    }
+
+    private static List<Turn> conversation(int messages, int wordsPerMessage) {
+        return IntStream.range(0, messages)
+            .mapToObj(i -> new Turn(i % 2 == 0 ? "user" : "assistant",
+                "message " + i + " " + "word ".repeat(wordsPerMessage)))
+            .toList();
+    }
+
+    private static int tokens(Compacted compacted) {
+        int total = compacted.summary() != null ? TokenUtil.estimateTokens(compacted.summary()) : 0;
+        for (Turn turn : compacted.recent()) {
+            total += TokenUtil.estimateTokens(turn.content()) + HistoryCompactor.MESSAGE_OVERHEAD_TOKENS;
+        }
+        return total;
+    }
+}
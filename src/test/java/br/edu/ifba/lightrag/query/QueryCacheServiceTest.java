@@ -0,0 +1,287 @@
+package br.edu.ifba.lightrag.query;
+
+import br.edu.ifba.lightrag.core.CacheType;
+import br.edu.ifba.lightrag.core.LightRAGQueryResult;
+import br.edu.ifba.lightrag.core.LightRAGQueryResult.SourceChunk;
+import br.edu.ifba.lightrag.core.QueryParam;
+import br.edu.ifba.lightrag.storage.ExtractionCacheStorage;
+import br.edu.ifba.lightrag.storage.impl.SQLiteConnectionManager;
+import br.edu.ifba.lightrag.storage.impl.SQLiteExtractionCacheStorage;
+import br.edu.ifba.lightrag.storage.impl.SQLiteSchemaMigrator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for QueryCacheService.
+ *
+ * <p>Uses a real SQLite extraction cache as L2 to verify the read-through
+ * path, single-flight of concurrent identical queries and invalidation.</p>
+ */
+class QueryCacheServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SQLiteConnectionManager connectionManager;
+    private SQLiteExtractionCacheStorage cacheStorage;
+    private QueryCacheService cacheService;
+    private String projectId;
+    private QueryParam param;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        connectionManager = new SQLiteConnectionManager(tempDir.resolve("test.db").toString());
+        new SQLiteSchemaMigrator().migrateToLatest(connectionManager.createConnection());
+        cacheStorage = new SQLiteExtractionCacheStorage(connectionManager);
+        cacheStorage.initialize().join();
+
+        projectId = UUID.randomUUID().toString();
+        createProject(projectId);
+        cacheService = newService();
+        param = QueryParam.builder()
+            .projectId(projectId)
+            .mode(QueryParam.Mode.HYBRID)
+            .enableCache(true)
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        cacheStorage.close();
+        connectionManager.close();
+    }
+
+    @Test
+    void testMissComputesThenL1AndL2Serve() throws Exception {
+        AtomicInteger computed = new AtomicInteger();
+
+        LightRAGQueryResult first = cacheService.getOrCompute(projectId, "What is RAG?", param,
+            () -> answer(computed, "RAG combines retrieval and generation.")).get(5, TimeUnit.SECONDS);
+        LightRAGQueryResult second = cacheService.getOrCompute(projectId, "What is RAG?", param,
+            () -> answer(computed, "should not run")).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, computed.get());
+        assertEquals(first, second);
+        assertEquals(1, cacheService.l1Size());
+
+        // A fresh instance has an empty L1 and reads the persisted answer with its sources
+        awaitL2Entry();
+        LightRAGQueryResult fromL2 = newService().getOrCompute(projectId, "What is RAG?", param,
+            () -> answer(computed, "should not run")).get(5, TimeUnit.SECONDS);
+        assertEquals(1, computed.get());
+        assertEquals("RAG combines retrieval and generation.", fromL2.answer());
+        assertEquals(first.sourceChunks(), fromL2.sourceChunks());
+    }
+
+    @Test
+    void testConcurrentIdenticalQueriesShareOneComputation() throws Exception {
+        AtomicInteger computed = new AtomicInteger();
+        CompletableFuture<LightRAGQueryResult> pending = new CompletableFuture<>();
+
+        CompletableFuture<LightRAGQueryResult> a = cacheService.getOrCompute(projectId, "q", param, () -> {
+            computed.incrementAndGet();
+            return pending;
+        });
+        CompletableFuture<LightRAGQueryResult> b = cacheService.getOrCompute(projectId, "q", param, () -> {
+            computed.incrementAndGet();
+            return pending;
+        });
+
+        // The L2 lookup is asynchronous, wait until the first caller computes
+        long deadline = System.currentTimeMillis() + 5000;
+        while (computed.get() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        pending.complete(result("shared answer"));
+
+        assertEquals("shared answer", a.get(5, TimeUnit.SECONDS).answer());
+        assertEquals("shared answer", b.get(5, TimeUnit.SECONDS).answer());
+        assertEquals(1, computed.get());
+    }
+
+    @Test
+    void testFailedComputationIsNotCached() throws Exception {
+        AtomicInteger computed = new AtomicInteger();
+
+        CompletableFuture<LightRAGQueryResult> failed = cacheService.getOrCompute(projectId, "q", param, () -> {
+            computed.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException("llm down"));
+        });
+        assertThrows(Exception.class, () -> failed.get(5, TimeUnit.SECONDS));
+
+        LightRAGQueryResult retried = cacheService.getOrCompute(projectId, "q", param,
+            () -> answer(computed, "recovered")).get(5, TimeUnit.SECONDS);
+        assertEquals("recovered", retried.answer());
+        assertEquals(2, computed.get());
+    }
+
+    @Test
+    void testInvalidateDropsOnlyQueryAnswers() throws Exception {
+        AtomicInteger computed = new AtomicInteger();
+        cacheStorage.store(projectId, CacheType.KEYWORD_EXTRACTION, null, "kw-hash", "keywords", 5).join();
+        cacheService.getOrCompute(projectId, "q", param, () -> answer(computed, "old")).get(5, TimeUnit.SECONDS);
+        awaitL2Entry();
+
+        assertEquals(1, cacheService.invalidate(projectId).get(5, TimeUnit.SECONDS));
+        assertEquals(0, cacheService.l1Size());
+        assertTrue(cacheStorage.get(projectId, CacheType.KEYWORD_EXTRACTION, "kw-hash").join().isPresent(),
+            "Extraction cache entries must survive query cache invalidation");
+
+        LightRAGQueryResult fresh = cacheService.getOrCompute(projectId, "q", param,
+            () -> answer(computed, "new")).get(5, TimeUnit.SECONDS);
+        assertEquals("new", fresh.answer());
+        assertEquals(2, computed.get());
+    }
+
+    @Test
+    void testAnswerComputedAcrossInvalidationIsNotStored() throws Exception {
+        CompletableFuture<LightRAGQueryResult> pending = new CompletableFuture<>();
+        AtomicInteger computed = new AtomicInteger();
+
+        CompletableFuture<LightRAGQueryResult> running = cacheService.getOrCompute(projectId, "q", param, () -> {
+            computed.incrementAndGet();
+            return pending;
+        });
+        long deadline = System.currentTimeMillis() + 5000;
+        while (computed.get() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        cacheService.invalidate(projectId).get(5, TimeUnit.SECONDS);
+        pending.complete(result("stale"));
+
+        assertEquals("stale", running.get(5, TimeUnit.SECONDS).answer(), "The caller still gets its answer");
+        assertEquals(0, cacheService.l1Size(), "The stale answer must not be cached");
+    }
+
+    @Test
+    void testInvalidateWaitsForPersistentWriteInProgress() throws Exception {
+        // L2 whose writes are held back until the gate opens
+        CompletableFuture<Void> gate = new CompletableFuture<>();
+        ExtractionCacheStorage slowStorage = mock(ExtractionCacheStorage.class);
+        when(slowStorage.get(any(), any(), any()))
+            .thenAnswer(inv -> cacheStorage.get(inv.getArgument(0), inv.getArgument(1), inv.getArgument(2)));
+        when(slowStorage.store(any(), any(), any(), any(), any(), any()))
+            .thenAnswer(inv -> gate.thenCompose(v -> cacheStorage.store(inv.getArgument(0), inv.getArgument(1),
+                inv.getArgument(2), inv.getArgument(3), inv.getArgument(4), inv.getArgument(5))));
+        when(slowStorage.deleteByProjectAndType(any(), any()))
+            .thenAnswer(inv -> cacheStorage.deleteByProjectAndType(inv.getArgument(0), inv.getArgument(1)));
+        QueryCacheService service = new QueryCacheService(slowStorage,
+            EnumSet.of(QueryParam.Mode.HYBRID), 100, 60_000, 0);
+
+        AtomicInteger computed = new AtomicInteger();
+        service.getOrCompute(projectId, "q", param, () -> answer(computed, "old")).get(5, TimeUnit.SECONDS);
+        CompletableFuture<Integer> invalidated = service.invalidate(projectId);
+        assertFalse(invalidated.isDone(), "The L2 delete must wait for the pending write");
+
+        gate.complete(null);
+        invalidated.get(5, TimeUnit.SECONDS);
+        assertEquals(0, countQueryEntries(), "A write finishing after invalidate must not survive it");
+    }
+
+    @Test
+    void testExpiredL2EntryIsRecomputed() throws Exception {
+        AtomicInteger computed = new AtomicInteger();
+        cacheService.getOrCompute(projectId, "q", param, () -> answer(computed, "old")).get(5, TimeUnit.SECONDS);
+        awaitL2Entry();
+
+        Connection conn = connectionManager.getWriteConnection();
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "UPDATE extraction_cache SET created_at = datetime('now', '-2 hours') WHERE project_id = ?")) {
+            stmt.setString(1, projectId);
+            stmt.executeUpdate();
+        } finally {
+            connectionManager.releaseWriteConnection(conn);
+        }
+
+        LightRAGQueryResult fresh = newService().getOrCompute(projectId, "q", param,
+            () -> answer(computed, "new")).get(5, TimeUnit.SECONDS);
+        assertEquals("new", fresh.answer());
+        assertEquals(2, computed.get());
+    }
+
+    @Test
+    void testOnlyOptedInQueriesWithoutHistoryAreCacheable() {
+        assertTrue(QueryCacheService.isCacheable(param));
+        assertFalse(QueryCacheService.isCacheable(param.toBuilder().enableCache(false).build()));
+        assertFalse(QueryCacheService.isCacheable(param.toBuilder().onlyNeedContext(true).build()));
+        assertFalse(QueryCacheService.isCacheable(param.toBuilder()
+            .addConversationMessage("user", "earlier question").build()));
+
+        assertTrue(cacheService.isCachedMode(QueryParam.Mode.HYBRID));
+        assertFalse(cacheService.isCachedMode(QueryParam.Mode.BYPASS));
+    }
+
+    // ===== Helper Methods =====
+
+    private QueryCacheService newService() {
+        return new QueryCacheService(cacheStorage,
+            EnumSet.of(QueryParam.Mode.LOCAL, QueryParam.Mode.HYBRID), 100, 60_000, 3_600_000);
+    }
+
+    private static CompletableFuture<LightRAGQueryResult> answer(AtomicInteger counter, String text) {
+        counter.incrementAndGet();
+        return CompletableFuture.completedFuture(result(text));
+    }
+
+    private static LightRAGQueryResult result(String text) {
+        return new LightRAGQueryResult(text,
+            List.of(new SourceChunk("chunk-1", "RAG \"quoted\" content\nline", 0.9, "doc-1", "doc-1", 0, "chunk")),
+            QueryParam.Mode.HYBRID, 1);
+    }
+
+    /**
+     * The L2 write is not awaited by getOrCompute; poll until it lands.
+     */
+    private void awaitL2Entry() throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            if (countQueryEntries() > 0) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        fail("Query answer was not persisted");
+    }
+
+    private int countQueryEntries() throws Exception {
+        Connection conn = connectionManager.getWriteConnection();
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT COUNT(*) FROM extraction_cache WHERE project_id = ? AND cache_type = ?")) {
+            stmt.setString(1, projectId);
+            stmt.setString(2, CacheType.QUERY_RESPONSE.name());
+            var rs = stmt.executeQuery();
+            return rs.next() ? rs.getInt(1) : 0;
+        } finally {
+            connectionManager.releaseWriteConnection(conn);
+        }
+    }
+
+    private void createProject(String projId) throws Exception {
+        Connection conn = connectionManager.getWriteConnection();
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO projects (id, name, created_at, updated_at) VALUES (?, ?, datetime('now'), datetime('now'))")) {
+            stmt.setString(1, projId);
+            stmt.setString(2, "Test Project");
+            stmt.executeUpdate();
+        } finally {
+            connectionManager.releaseWriteConnection(conn);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package br.edu.ifba.lightrag.query;
+
+import br.edu.ifba.lightrag.storage.VectorStorage.VectorMetadata;
+import br.edu.ifba.lightrag.storage.VectorStorage.VectorSearchResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ReciprocalRankFusion.
+ */
+class ReciprocalRankFusionTest {
+
+    @Test
+    void testItemsInBothListsRankFirst() {
+        ReciprocalRankFusion fusion = new ReciprocalRankFusion(60);
+
+        List<ReciprocalRankFusion.Fused<String>> fused = fusion.fuse(
+                List.of(List.of("a", "b", "c"), List.of("c", "d")), Function.identity(), 10);
+
+        assertEquals(List.of("c", "a", "b", "d"), fused.stream().map(ReciprocalRankFusion.Fused::item).toList());
+        assertEquals(1.0 / 63 + 1.0 / 61, fused.get(0).score(), 1e-12);
+        assertEquals(1.0 / 61, fused.get(1).score(), 1e-12);
+    }
+
+    @Test
+    void testTiesKeepFirstListOrderAndTruncate() {
+        ReciprocalRankFusion fusion = new ReciprocalRankFusion();
+
+        List<ReciprocalRankFusion.Fused<String>> fused = fusion.fuse(
+                List.of(List.of("a", "b"), List.of("x", "y")), Function.identity(), 3);
+
+        assertEquals(List.of("a", "x", "b"), fused.stream().map(ReciprocalRankFusion.Fused::item).toList());
+    }
+
+    @Test
+    void testFuseResultsReplacesScoresAndKeepsFirstMetadata() {
+        ReciprocalRankFusion fusion = new ReciprocalRankFusion(1);
+        VectorSearchResult vectorHit = result("chunk-1", 0.92, "from vector");
+        VectorSearchResult keywordHit = result("chunk-1", 7.5, "from keyword");
+
+        List<VectorSearchResult> fused = fusion.fuseResults(
+                List.of(List.of(vectorHit), List.of(result("chunk-2", 9.1, "other"), keywordHit)), 10);
+
+        assertEquals("chunk-1", fused.get(0).id());
+        assertEquals(1.0 / 2 + 1.0 / 3, fused.get(0).score(), 1e-12);
+        assertEquals("from vector", fused.get(0).metadata().content());
+        assertEquals("chunk-2", fused.get(1).id());
+    }
+
+    @Test
+    void testRejectsNonPositiveK() {
+        assertThrows(IllegalArgumentException.class, () -> new ReciprocalRankFusion(0));
+    }
+
+    private static VectorSearchResult result(String id, double score, String content) {
+        return new VectorSearchResult(id, score, new VectorMetadata("chunk", content, null, 0, "project"));
+    }
+}
@@ -0,0 +1,157 @@
+package br.edu.ifba.lightrag.query;
+
+import br.edu.ifba.lightrag.core.Relation;
+import br.edu.ifba.lightrag.embedding.EmbeddingFunction;
+import br.edu.ifba.lightrag.storage.GraphStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for SharedQueryReads.
+ *
+ * <p>Verifies that a batch embeds its questions in one call, that graph
+ * neighbourhood reads are shared only within one batch's instance, and that
+ * the memo stays within its bound.</p>
+ */
+class SharedQueryReadsTest {
+
+    private List<List<String>> embedCalls;
+    private EmbeddingFunction embeddingFunction;
+    private GraphStorage graphStorage;
+    private SharedQueryReads reads;
+    private String projectId;
+
+    @BeforeEach
+    void setUp() {
+        embedCalls = new CopyOnWriteArrayList<>();
+        embeddingFunction = texts -> {
+            embedCalls.add(List.copyOf(texts));
+            List<float[]> vectors = new ArrayList<>();
+            for (String text : texts) {
+                vectors.add(new float[] { text.length(), 1f });
+            }
+            return CompletableFuture.completedFuture(vectors);
+        };
+        graphStorage = mock(GraphStorage.class);
+        reads = new SharedQueryReads(embeddingFunction, graphStorage, 100);
+        projectId = UUID.randomUUID().toString();
+    }
+
+    @Test
+    void testBatchEmbedsAllQueriesInOneCall() {
+        reads.prime(List.of("what is rag", "who wrote it", "what is rag")).join();
+        assertEquals(List.of(List.of("what is rag", "who wrote it")), embedCalls);
+
+        float[] first = reads.embeddingFunction().embedSingle("what is rag").join();
+        float[] second = reads.embeddingFunction().embedSingle("who wrote it").join();
+        assertArrayEquals(new float[] { 11f, 1f }, first);
+        assertArrayEquals(new float[] { 12f, 1f }, second);
+        assertEquals(1, embedCalls.size());
+
+        // Texts outside the batch are embedded on demand, then shared
+        reads.embeddingFunction().embedSingle("expanded keywords").join();
+        reads.embeddingFunction().embedSingle("expanded keywords").join();
+        assertEquals(2, embedCalls.size());
+    }
+
+    @Test
+    void testRelationsSharedOnlyWithinBatch() {
+        Relation relation = new Relation("RAG", "LLM", "uses", "uses", 1.0, null);
+        when(graphStorage.getRelationsForEntity(projectId, "RAG"))
+            .thenReturn(CompletableFuture.completedFuture(List.of(relation)));
+
+        assertEquals(List.of(relation), reads.graphStorage().getRelationsForEntity(projectId, "RAG").join());
+        assertEquals(List.of(relation), reads.graphStorage().getRelationsForEntity(projectId, "RAG").join());
+        verify(graphStorage, times(1)).getRelationsForEntity(projectId, "RAG");
+
+        // Another batch has its own memo
+        SharedQueryReads otherBatch = new SharedQueryReads(embeddingFunction, graphStorage, 100);
+        otherBatch.graphStorage().getRelationsForEntity(projectId, "RAG").join();
+        verify(graphStorage, times(2)).getRelationsForEntity(projectId, "RAG");
+    }
+
+    @Test
+    void testBatchedRelationsLoadOnlyUnreadEntities() {
+        List<Collection<String>> lookups = new CopyOnWriteArrayList<>();
+        when(graphStorage.getRelationsForEntities(eq(projectId), any())).thenAnswer(invocation -> {
+            Collection<String> names = invocation.getArgument(1);
+            lookups.add(List.copyOf(names));
+            Map<String, List<Relation>> relations = new HashMap<>();
+            for (String name : names) {
+                relations.put(name, List.of(new Relation(name, "X", "rel", "kw", 1.0, null)));
+            }
+            return CompletableFuture.completedFuture(relations);
+        });
+
+        Map<String, List<Relation>> first = reads.graphStorage()
+            .getRelationsForEntities(projectId, List.of("A", "B")).join();
+        Map<String, List<Relation>> second = reads.graphStorage()
+            .getRelationsForEntities(projectId, List.of("B", "C")).join();
+
+        assertEquals(List.of(List.of("A", "B"), List.of("C")), lookups);
+        assertEquals(Set.of("A", "B"), first.keySet());
+        assertSame(first.get("B"), second.get("B"));
+        assertEquals("C", second.get("C").get(0).getSrcId());
+    }
+
+    @Test
+    void testFailedReadIsRetried() {
+        when(graphStorage.getRelationsForEntity(projectId, "RAG"))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("down")))
+            .thenReturn(CompletableFuture.completedFuture(List.of()));
+
+        assertThrows(Exception.class, () -> reads.graphStorage().getRelationsForEntity(projectId, "RAG").join());
+        assertEquals(List.of(), reads.graphStorage().getRelationsForEntity(projectId, "RAG").join());
+        verify(graphStorage, times(2)).getRelationsForEntity(projectId, "RAG");
+        assertEquals(1, reads.size());
+    }
+
+    @Test
+    void testSynchronousEmbeddingFailureFailsPrimeOnly() {
+        EmbeddingFunction throwing = texts -> {
+            if (texts.size() > 1) {
+                throw new IllegalStateException("provider down");
+            }
+            return embeddingFunction.embed(texts);
+        };
+        SharedQueryReads batch = new SharedQueryReads(throwing, graphStorage, 100);
+
+        assertThrows(Exception.class, () -> batch.prime(List.of("a", "b")).join());
+        assertEquals(0, batch.size());
+        assertArrayEquals(new float[] { 1f, 1f }, batch.embeddingFunction().embedSingle("a").join());
+    }
+
+    @Test
+    void testMemoIsBounded() {
+        when(graphStorage.getRelationsForEntity(eq(projectId), any()))
+            .thenReturn(CompletableFuture.completedFuture(List.of()));
+        SharedQueryReads small = new SharedQueryReads(embeddingFunction, graphStorage, 1);
+
+        small.graphStorage().getRelationsForEntity(projectId, "A").join();
+        small.graphStorage().getRelationsForEntity(projectId, "B").join();
+        small.graphStorage().getRelationsForEntity(projectId, "A").join();
+        small.graphStorage().getRelationsForEntity(projectId, "B").join();
+
+        assertEquals(1, small.size());
+        verify(graphStorage, times(1)).getRelationsForEntity(projectId, "A");
+        verify(graphStorage, times(2)).getRelationsForEntity(projectId, "B");
+    }
+}
@@ -5,12 +5,18 @@ import br.edu.ifba.lightrag.core.LightRAGQueryResult.SourceChunk;
 import br.edu.ifba.lightrag.core.QueryParam;
 import br.edu.ifba.lightrag.core.Relation;
 import br.edu.ifba.lightrag.query.ContextItem;
+import br.edu.ifba.lightrag.query.HistoryCompactor;
+import br.edu.ifba.lightrag.query.ReciprocalRankFusion;
+import br.edu.ifba.lightrag.storage.VectorStorage.VectorEntry;
+import br.edu.ifba.lightrag.storage.VectorStorage.VectorMetadata;
+import br.edu.ifba.lightrag.storage.impl.InMemoryVectorStorage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,6 +29,7 @@ import static org.junit.jupiter.api.Assertions.*;
  *   <li>TruncateStage - Token budget management</li>
  *   <li>MergeStage - Round-robin context merging</li>
  *   <li>ContextBuilderStage - Final prompt construction</li>
+ *   <li>KeywordChunkSearchStage - Keyword/vector rank fusion (in-memory storage)</li>
  * </ul>
  * 
  * <p>Note: ChunkSearchStage and EntitySearchStage require storage mocks
@@ -355,6 +362,29 @@ class PipelineStagesTest {
             assertTrue(prompt.contains("Assistant: Previous answer"));
         }
         
+        @Test
+        @DisplayName("should summarize conversation history over the budget")
+        void shouldCompactLongConversationHistory() throws Exception {
+            stage = new ContextBuilderStage(true, true, null,
+                    new HistoryCompactor(200, 2, 10, (summaryPrompt, maxTokens) ->
+                            CompletableFuture.completedFuture("They discussed RAG.")));
+            QueryParam.Builder builder = QueryParam.builder()
+                    .projectId("test-project")
+                    .mode(QueryParam.Mode.HYBRID);
+            for (int i = 0; i < 8; i++) {
+                builder.addConversationMessage(i % 2 == 0 ? "user" : "assistant",
+                        "Turn " + i + " " + "detail ".repeat(40));
+            }
+            context = new PipelineContext("Follow-up question", builder.build(), null);
+            
+            String prompt = stage.process(context).get().getFinalPrompt();
+            
+            assertTrue(prompt.contains("Summary of earlier conversation: They discussed RAG."));
+            assertFalse(prompt.contains("Turn 5 "), "Older turns should be summarized");
+            assertTrue(prompt.contains("User: Turn 6 "));
+            assertTrue(prompt.contains("Assistant: Turn 7 "));
+        }
+        
         @Test
         @DisplayName("should include custom system prompt when provided")
         void shouldIncludeCustomSystemPrompt() throws Exception {
@@ -405,6 +435,40 @@ class PipelineStagesTest {
         }
     }
     
+    // ========================================================================
+    // KeywordChunkSearchStage Tests
+    // ========================================================================
+    
+    @Nested
+    @DisplayName("KeywordChunkSearchStage")
+    class KeywordChunkSearchStageTests {
+        
+        @Test
+        @DisplayName("should fuse keyword hits into vector candidates")
+        void shouldFuseKeywordHitsIntoVectorCandidates() throws ExecutionException, InterruptedException {
+            InMemoryVectorStorage storage = new InMemoryVectorStorage();
+            storage.initialize().join();
+            storage.upsertBatch(List.of(
+                    chunkEntry("c2", "Machine learning basics"),
+                    chunkEntry("c4", "Learning rate schedules for machine translation"),
+                    chunkEntry("c5", "Unrelated cooking recipe"))).join();
+            context.setChunkCandidates(List.of(
+                    createChunk("c1", "Neural networks"),
+                    createChunk("c2", "Machine learning basics"),
+                    createChunk("c3", "Gradient descent")));
+            
+            KeywordChunkSearchStage stage = new KeywordChunkSearchStage(storage, new ReciprocalRankFusion());
+            assertFalse(stage.shouldSkip(context));
+            PipelineContext result = stage.process(context).get();
+            
+            List<String> ids = result.getChunkCandidates().stream().map(SourceChunk::chunkId).toList();
+            assertEquals("c2", ids.get(0), "Chunk found by both channels should rank first");
+            assertTrue(ids.contains("c4"), "Keyword-only hit should join the candidates");
+            assertFalse(ids.contains("c5"));
+            assertEquals(4, ids.size());
+        }
+    }
+    
     // ========================================================================
     // PipelineContext Tests
     // ========================================================================
@@ -481,6 +545,11 @@ class PipelineStagesTest {
         return new SourceChunk(id, content, 0.9, null, null, 0, "chunk");
     }
     
+    private VectorEntry chunkEntry(String id, String content) {
+        return new VectorEntry(id, new float[] {1.0f, 0.0f},
+                new VectorMetadata("chunk", content, null, 0, "test-project"));
+    }
+    
     private Entity createEntity(String name, String type, String description) {
         return Entity.builder()
                 .entityName(name)
@@ -0,0 +1,120 @@
+package br.edu.ifba.lightrag.rerank;
+
+import br.edu.ifba.lightrag.core.Chunk;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RerankBatchExecutor.
+ *
+ * <p>Tests verify sub-batch splitting and merging, bounded concurrency, the
+ * per-project score cache, and failure propagation for the provider fallback.</p>
+ */
+class RerankBatchExecutorTest {
+
+    @Test
+    void testMergesSubBatchesByScoreAndFiltersMinScore() {
+        RerankBatchExecutor executor = new RerankBatchExecutor(3, 4, false, Duration.ofMinutes(5), 100);
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+        // Score grows with the chunk number, so the last batch holds the best chunks
+        List<RerankedChunk> result = executor.rerank("test", "model", "p1", "query", chunks(8), 4, 0.3,
+            documents -> {
+                batchSizes.add(documents.size());
+                return documents.stream().mapToDouble(RerankBatchExecutorTest::scoreOf).toArray();
+            });
+
+        assertEquals(List.of(3, 3, 2), batchSizes.stream().sorted(Collections.reverseOrder()).toList());
+        assertEquals(List.of("c7", "c6", "c5", "c4"), ids(result));
+        assertEquals(7, result.get(0).originalRank());
+        assertEquals(0, result.get(0).newRank());
+
+        List<RerankedChunk> filtered = executor.rerank("test", "model", "p1", "query", chunks(8), 10, 0.45,
+            documents -> documents.stream().mapToDouble(RerankBatchExecutorTest::scoreOf).toArray());
+        assertEquals(List.of("c7", "c6", "c5"), ids(filtered));
+    }
+
+    @Test
+    void testBoundsConcurrentProviderRequests() {
+        RerankBatchExecutor executor = new RerankBatchExecutor(1, 2, false, Duration.ofMinutes(5), 100);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        List<RerankedChunk> result = executor.rerank("test", "model", "p1", "query", chunks(6), 6, 0.0,
+            documents -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(30);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+                return new double[] { scoreOf(documents.get(0)) };
+            });
+
+        assertEquals(6, result.size());
+        assertTrue(maxInFlight.get() <= 2, "At most two requests in flight, saw " + maxInFlight.get());
+        assertTrue(maxInFlight.get() > 1, "Sub-batches should run in parallel");
+    }
+
+    @Test
+    void testCachesScoresPerProjectAndNormalizedQuery() {
+        RerankBatchExecutor executor = new RerankBatchExecutor(10, 2, true, Duration.ofMinutes(5), 100);
+        AtomicInteger scored = new AtomicInteger();
+        RerankBatchExecutor.BatchScorer scorer = documents -> {
+            scored.addAndGet(documents.size());
+            return documents.stream().mapToDouble(RerankBatchExecutorTest::scoreOf).toArray();
+        };
+
+        executor.rerank("test", "model", "p1", "What is RAG?", chunks(4), 4, 0.0, scorer);
+        assertEquals(4, scored.get());
+        assertEquals(4, executor.cacheSize());
+
+        // Same project, query differing only in case and whitespace: served from cache
+        List<RerankedChunk> cached = executor.rerank("test", "model", "p1", "  what is   rag ", chunks(5), 5, 0.0, scorer);
+        assertEquals(5, scored.get(), "Only the new chunk should be scored");
+        assertEquals(List.of("c4", "c3", "c2", "c1", "c0"), ids(cached));
+
+        executor.rerank("test", "model", "p2", "What is RAG?", chunks(4), 4, 0.0, scorer);
+        assertEquals(9, scored.get(), "Other projects must not share cached scores");
+    }
+
+    @Test
+    void testFailedBatchFailsWholeCall() {
+        RerankBatchExecutor executor = new RerankBatchExecutor(2, 2, true, Duration.ofMinutes(5), 100);
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, () ->
+            executor.rerank("test", "model", "p1", "query", chunks(4), 4, 0.0, documents -> {
+                if (documents.contains("chunk 3")) {
+                    throw new IllegalStateException("provider down");
+                }
+                return documents.stream().mapToDouble(RerankBatchExecutorTest::scoreOf).toArray();
+            }));
+        assertEquals("provider down", error.getMessage());
+    }
+
+    // ===== Helper Methods =====
+
+    private static List<Chunk> chunks(int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> new Chunk("chunk " + i, null, "c" + i, 10))
+            .toList();
+    }
+
+    private static double scoreOf(String document) {
+        return Integer.parseInt(document.substring("chunk ".length())) / 10.0;
+    }
+
+    private static List<String> ids(List<RerankedChunk> chunks) {
+        return chunks.stream().map(r -> r.chunk().getChunkId()).toList();
+    }
+}
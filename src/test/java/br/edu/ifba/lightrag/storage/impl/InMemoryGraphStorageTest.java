@@ -0,0 +1,153 @@
+package br.edu.ifba.lightrag.storage.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import br.edu.ifba.lightrag.core.Entity;
+import br.edu.ifba.lightrag.core.Relation;
+import br.edu.ifba.lightrag.storage.GraphStorage.GraphSubgraph;
+
+/**
+ * Unit tests for InMemoryGraphStorage.
+ *
+ * Tests verify:
+ * 1. Project isolation between shards
+ * 2. Relation deletion with entities and BFS traversal
+ * 3. Restart from snapshot plus write-ahead log
+ * 4. Recovery from a torn log tail
+ */
+class InMemoryGraphStorageTest {
+
+    private static final String PROJECT_A = "11111111-1111-1111-1111-111111111111";
+    private static final String PROJECT_B = "22222222-2222-2222-2222-222222222222";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testProjectsAreIsolated() throws Exception {
+        InMemoryGraphStorage storage = new InMemoryGraphStorage();
+        storage.initialize().join();
+
+        storage.upsertEntities(PROJECT_A, List.of(entity("Alpha"), entity("Beta"))).join();
+        storage.upsertRelation(PROJECT_A, relation("Alpha", "Beta")).join();
+        storage.upsertEntity(PROJECT_B, entity("Alpha")).join();
+
+        assertEquals(2, storage.getAllEntities(PROJECT_A).join().size());
+        assertEquals(1, storage.getAllEntities(PROJECT_B).join().size());
+        assertTrue(storage.getAllRelations(PROJECT_B).join().isEmpty());
+        assertFalse(storage.graphExists("33333333-3333-3333-3333-333333333333").join());
+
+        storage.deleteProjectGraph(PROJECT_B).join();
+        assertEquals(2, storage.getAllEntities(PROJECT_A).join().size());
+        assertNull(storage.getEntity(PROJECT_B, "Alpha").join());
+        storage.close();
+    }
+
+    @Test
+    void testDeleteEntityRemovesRelationsAndTraversal() throws Exception {
+        InMemoryGraphStorage storage = new InMemoryGraphStorage();
+        storage.initialize().join();
+
+        storage.upsertEntities(PROJECT_A, List.of(entity("A"), entity("B"), entity("C"), entity("D"))).join();
+        storage.upsertRelations(PROJECT_A, List.of(
+                relation("A", "B"), relation("B", "C"), relation("C", "D"), relation("C", "C"))).join();
+
+        GraphSubgraph subgraph = storage.traverseBFS(PROJECT_A, "A", 2, 0).join();
+        assertEquals(Set.of("A", "B", "C"), names(subgraph.entities()));
+        assertEquals(List.of("A", "B", "C", "D"), storage.findShortestPath(PROJECT_A, "A", "D").join()
+                .stream().map(Entity::getEntityName).toList());
+        assertEquals(3, storage.getRelationsForEntity(PROJECT_A, "C").join().size());
+        assertEquals(Set.of("C", "Z"), storage.getRelationsForEntities(PROJECT_A, List.of("C", "Z")).join().keySet());
+        assertEquals(3, storage.getRelationsForEntities(PROJECT_A, List.of("C")).join().get("C").size());
+        assertEquals(4, storage.getNodeDegreesBatch(PROJECT_A, List.of("C"), 10).join().get("C"));
+
+        assertTrue(storage.deleteEntity(PROJECT_A, "C").join());
+        assertEquals(1, storage.getAllRelations(PROJECT_A).join().size());
+        assertTrue(storage.findShortestPath(PROJECT_A, "A", "D").join().isEmpty());
+        assertEquals(0, storage.getRelationsForEntity(PROJECT_A, "D").join().size());
+
+        assertEquals(1, storage.deleteRelations(PROJECT_A, Set.of("A->B", "B->C")).join());
+        assertEquals(0, storage.getStats(PROJECT_A).join().relationCount());
+        storage.close();
+    }
+
+    @Test
+    void testRestartsFromSnapshotAndLog() throws Exception {
+        InMemoryGraphStorage storage = new InMemoryGraphStorage(tempDir, 4);
+        storage.initialize().join();
+        storage.upsertEntities(PROJECT_A, List.of(entity("A"), entity("B"), entity("C"))).join();
+        // Fourth logged item reaches the threshold: snapshot written, log truncated
+        storage.upsertRelation(PROJECT_A, relation("A", "B")).join();
+        storage.deleteEntity(PROJECT_A, "C").join();
+        storage.updateEntityDescription(PROJECT_A, "A", "Updated", Set.of("chunk-9")).join();
+        storage.upsertEntity(PROJECT_B, entity("Other")).join();
+        // No close(): the restart must replay the log
+
+        InMemoryGraphStorage restarted = new InMemoryGraphStorage(tempDir, 4);
+        restarted.initialize().join();
+
+        assertEquals(Set.of("A", "B"), names(restarted.getAllEntities(PROJECT_A).join()));
+        Entity updated = restarted.getEntity(PROJECT_A, "A").join();
+        assertEquals("Updated", updated.getDescription());
+        assertEquals(List.of("chunk-9"), updated.getSourceChunkIds());
+        Relation relation = restarted.getRelation(PROJECT_A, "A", "B").join();
+        assertNotNull(relation);
+        assertEquals(0.5, relation.getWeight());
+        assertEquals(Set.of("Other"), names(restarted.getAllEntities(PROJECT_B).join()));
+        restarted.close();
+    }
+
+    @Test
+    void testDiscardsTornLogTail() throws Exception {
+        InMemoryGraphStorage storage = new InMemoryGraphStorage(tempDir, 1000);
+        storage.initialize().join();
+        storage.upsertEntities(PROJECT_A, List.of(entity("A"), entity("B"))).join();
+
+        Path wal;
+        try (Stream<Path> files = Files.walk(tempDir)) {
+            wal = files.filter(p -> p.getFileName().toString().equals(GraphJournal.WAL_FILE)).findFirst().orElseThrow();
+        }
+        // Simulate a crash in the middle of appending the next record
+        Files.write(wal, new byte[] { 0, 0, 0, 42, 1, 2 }, StandardOpenOption.APPEND);
+
+        InMemoryGraphStorage restarted = new InMemoryGraphStorage(tempDir, 1000);
+        restarted.initialize().join();
+        assertEquals(Set.of("A", "B"), names(restarted.getAllEntities(PROJECT_A).join()));
+
+        // Writes after recovery survive another restart
+        restarted.upsertEntity(PROJECT_A, entity("C")).join();
+        InMemoryGraphStorage again = new InMemoryGraphStorage(tempDir, 1000);
+        again.initialize().join();
+        assertEquals(Set.of("A", "B", "C"), names(again.getAllEntities(PROJECT_A).join()));
+        again.close();
+    }
+
+    // ===== Helper Methods =====
+
+    private static Entity entity(String name) {
+        return new Entity(name, "CONCEPT", name + " description", null, null, List.of("chunk-1"));
+    }
+
+    private static Relation relation(String src, String tgt) {
+        return new Relation(src, tgt, src + " relates to " + tgt, "relates", 0.5, null, null, List.of("chunk-1"));
+    }
+
+    private static Set<String> names(List<Entity> entities) {
+        return new TreeSet<>(entities.stream().map(Entity::getEntityName).toList());
+    }
+}
@@ -0,0 +1,85 @@
+package br.edu.ifba.lightrag.storage.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.edu.ifba.lightrag.storage.VectorStorage.VectorFilter;
+import br.edu.ifba.lightrag.storage.VectorStorage.VectorMetadata;
+import br.edu.ifba.lightrag.storage.VectorStorage.VectorSearchResult;
+
+/**
+ * Unit tests for InMemoryVectorStorage.
+ *
+ * Tests verify two-stage (Matryoshka) search:
+ * 1. Candidates from the prefix scan are rescored with the full vector
+ * 2. Filters apply to the prefix scan
+ */
+class InMemoryVectorStorageTest {
+
+    private static final String PROJECT_ID = "project";
+
+    private final Random random = new Random(42);
+    private InMemoryVectorStorage twoStage;
+
+    @BeforeEach
+    void setUp() {
+        twoStage = new InMemoryVectorStorage(64, 4);
+        twoStage.initialize().join();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        twoStage.close();
+    }
+
+    @Test
+    void testTwoStageQueryRescoresWithFullVector() {
+        float[] query = createTestVector(384);
+        // Same prefix as the query but a different tail: ties in the coarse pass
+        float[] samePrefix = query.clone();
+        for (int i = 64; i < samePrefix.length; i++) {
+            samePrefix[i] = -samePrefix[i];
+        }
+        twoStage.upsert("prefix", samePrefix, new VectorMetadata("chunk", "prefix", null, 1, PROJECT_ID)).join();
+        twoStage.upsert("exact", query, new VectorMetadata("chunk", "exact", null, 0, PROJECT_ID)).join();
+        for (int i = 0; i < 20; i++) {
+            twoStage.upsert("other-" + i, createTestVector(384),
+                new VectorMetadata("chunk", "other " + i, null, i + 2, PROJECT_ID)).join();
+        }
+
+        List<VectorSearchResult> results = twoStage.query(query, 2, null).join();
+
+        assertEquals(2, results.size());
+        assertEquals("exact", results.get(0).id(), "Full-vector rescoring should rank the exact match first");
+        assertEquals(1.0, results.get(0).score(), 0.0001);
+        assertTrue(results.get(1).score() < results.get(0).score());
+    }
+
+    @Test
+    void testTwoStageQueryAppliesFilter() {
+        float[] query = createTestVector(384);
+        twoStage.upsert("entity", query, new VectorMetadata("entity", "entity", null, 0, PROJECT_ID)).join();
+        twoStage.upsert("chunk", createTestVector(384), new VectorMetadata("chunk", "chunk", null, 0, PROJECT_ID)).join();
+
+        List<VectorSearchResult> results = twoStage.query(query, 5,
+            new VectorFilter("chunk", null, PROJECT_ID)).join();
+
+        assertEquals(1, results.size());
+        assertEquals("chunk", results.get(0).id());
+    }
+
+    private float[] createTestVector(int dimension) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
@@ -24,6 +24,7 @@ import org.junit.jupiter.api.io.TempDir;
 import br.edu.ifba.lightrag.core.CacheType;
 import br.edu.ifba.lightrag.core.Entity;
 import br.edu.ifba.lightrag.core.Relation;
+import br.edu.ifba.lightrag.storage.VectorStorage;
 import br.edu.ifba.lightrag.storage.VectorStorage.VectorMetadata;
 
 /**
@@ -535,6 +536,69 @@ class SQLiteExportServiceTest {
                 targetGraph.close();
             }
         }
+
+        @Test
+        @DisplayName("Imported vectors should be searchable through the keyword index")
+        void testImportedVectorsAreKeywordSearchable() throws Exception {
+            vectorStorage.upsert(UUID.randomUUID().toString(), createTestVector(384, 0.5f),
+                new VectorMetadata("chunk", "Quarkus reactive messaging guide", documentId, 0, projectId)).join();
+            
+            Path exportPath = tempDir.resolve("keyword-export.db");
+            exportService.exportProject(projectId, exportPath).join();
+            
+            // The target has never created a vector table; import brings it with its keyword index
+            Path targetDbPath = tempDir.resolve("keyword-target.db");
+            try (SQLiteConnectionManager targetConn = new SQLiteConnectionManager(targetDbPath.toString())) {
+                new SQLiteSchemaMigrator().migrateToLatest(targetConn.createConnection());
+                String newProjectId = UUID.randomUUID().toString();
+                createProjectInDb(targetConn, newProjectId);
+                
+                new SQLiteExportService(targetConn).importProject(exportPath, newProjectId).join();
+                
+                SQLiteVectorStorage targetVectors = new SQLiteVectorStorage(targetConn, 384);
+                targetVectors.initialize().join();
+                var results = targetVectors.keywordQuery("reactive messaging", 5,
+                    new VectorStorage.VectorFilter("chunk", null, newProjectId)).join();
+                assertEquals(1, results.size(), "Imported chunk should be found by keyword");
+                targetVectors.close();
+            }
+        }
+    }
+
+    // ========================================================================
+    // Database Backup Tests
+    // ========================================================================
+
+    @Nested
+    @DisplayName("Database Backup Tests")
+    class BackupTests {
+
+        @Test
+        @DisplayName("backupDatabase should copy every project")
+        void testBackupCopiesAllProjects() throws Exception {
+            String otherProjectId = UUID.randomUUID().toString();
+            createProject(otherProjectId);
+            graphStorage.createProjectGraph(otherProjectId).join();
+            graphStorage.upsertEntity(projectId, Entity.builder()
+                .entityName("First").entityType("CONCEPT").description("d").addSourceChunkId("c1").build()).join();
+            graphStorage.upsertEntity(otherProjectId, Entity.builder()
+                .entityName("Second").entityType("CONCEPT").description("d").addSourceChunkId("c2").build()).join();
+            
+            Path backupPath = tempDir.resolve("backup.db");
+            exportService.backupDatabase(backupPath).join();
+            
+            try (SQLiteConnectionManager backupConn = new SQLiteConnectionManager(backupPath.toString())) {
+                Connection conn = backupConn.getReadConnection();
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "SELECT COUNT(DISTINCT project_id) FROM graph_entities")) {
+                    ResultSet rs = stmt.executeQuery();
+                    assertTrue(rs.next());
+                    assertEquals(2, rs.getInt(1), "Backup should contain both projects");
+                } finally {
+                    backupConn.releaseReadConnection(conn);
+                }
+            }
+        }
     }
 
     // ========================================================================
@@ -213,6 +213,33 @@ class SQLiteExtractionCacheStorageTest {
         assertEquals(1234, cached.get().tokensUsed(), "Tokens used should match");
     }
 
+    /**
+     * Test batched lookup by chunk IDs and detaching entries from deleted chunks.
+     */
+    @Test
+    void testGetByChunkIdsAndDetach() throws Exception {
+        String chunk1 = UUID.randomUUID().toString();
+        String chunk2 = UUID.randomUUID().toString();
+        String other = UUID.randomUUID().toString();
+
+        cacheStorage.store(projectId, CacheType.ENTITY_EXTRACTION, chunk1, "hash-1", "r1", 10).join();
+        cacheStorage.store(projectId, CacheType.ENTITY_EXTRACTION, chunk2, "hash-2", "r2", 10).join();
+        cacheStorage.store(projectId, CacheType.ENTITY_EXTRACTION, other, "hash-3", "r3", 10).join();
+
+        List<ExtractionCache> found = cacheStorage.getByChunkIds(projectId, List.of(chunk1, chunk2)).join();
+        assertEquals(2, found.size(), "Should find entries of both chunks");
+
+        int detached = cacheStorage.detachChunks(projectId, List.of(chunk1, chunk2)).join();
+        assertEquals(2, detached, "Should detach entries of both chunks");
+
+        assertTrue(cacheStorage.getByChunkIds(projectId, List.of(chunk1, chunk2)).join().isEmpty(),
+            "Detached entries should no longer be linked to the chunks");
+        assertEquals(1, cacheStorage.getByChunkId(projectId, other).join().size(),
+            "Entries of other chunks should be untouched");
+        assertTrue(cacheStorage.get(projectId, CacheType.ENTITY_EXTRACTION, "hash-1").join().isPresent(),
+            "Detached entries should remain reusable by content hash");
+    }
+
     // ===== Helper Methods =====
 
     /**
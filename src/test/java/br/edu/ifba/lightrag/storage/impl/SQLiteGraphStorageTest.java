@@ -10,6 +10,7 @@ import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -20,6 +21,7 @@ import org.junit.jupiter.api.io.TempDir;
 
 import br.edu.ifba.lightrag.core.Entity;
 import br.edu.ifba.lightrag.core.Relation;
+import br.edu.ifba.lightrag.storage.GraphStorage;
 import br.edu.ifba.lightrag.storage.GraphStorage.GraphStats;
 import br.edu.ifba.lightrag.storage.GraphStorage.GraphSubgraph;
 
@@ -222,6 +224,36 @@ class SQLiteGraphStorageTest {
         assertEquals(2, relationsForA.size(), "A should have 2 relations");
     }
 
+    /**
+     * Test batched relation lookup for several entities.
+     */
+    @Test
+    void testGetRelationsForEntities() throws Exception {
+        graphStorage.upsertEntities(projectId, List.of(
+            Entity.builder().entityName("A").entityType("PERSON").description("Desc").addSourceChunkId("c1").build(),
+            Entity.builder().entityName("B").entityType("PERSON").description("Desc").addSourceChunkId("c1").build(),
+            Entity.builder().entityName("C").entityType("PERSON").description("Desc").addSourceChunkId("c1").build()
+        )).join();
+        
+        graphStorage.upsertRelations(projectId, List.of(
+            Relation.builder().srcId("A").tgtId("B").description("KNOWS").keywords("kw").weight(1.0).addSourceChunkId("c1").build(),
+            Relation.builder().srcId("A").tgtId("C").description("WORKS_WITH").keywords("kw").weight(1.0).addSourceChunkId("c1").build(),
+            Relation.builder().srcId("B").tgtId("C").description("KNOWS").keywords("kw").weight(1.0).addSourceChunkId("c1").build()
+        )).join();
+        
+        Map<String, List<Relation>> relations = graphStorage.getRelationsForEntities(
+            projectId, List.of("A", "c", "Missing")).join();
+        
+        assertEquals(3, relations.size(), "Every requested name should be present");
+        assertEquals(2, relations.get("A").size(), "A should have 2 relations");
+        assertEquals(2, relations.get("c").size(), "C should have 2 relations (case-insensitive)");
+        assertTrue(relations.get("Missing").isEmpty(), "Unknown entity should have no relations");
+        assertEquals(
+            graphStorage.getRelationsForEntity(projectId, "B").join().size(),
+            graphStorage.getRelationsForEntities(projectId, List.of("B")).join().get("B").size(),
+            "Batched lookup should match the single-entity lookup");
+    }
+
     /**
      * Test relation deletion.
      */
@@ -242,6 +274,39 @@ class SQLiteGraphStorageTest {
         assertNull(retrieved, "Relation should be null after deletion");
     }
 
+    /**
+     * Test bulk deletion removes, prunes and cascades in one pass.
+     */
+    @Test
+    void testApplyBulkDeletion() throws Exception {
+        graphStorage.upsertEntities(projectId, List.of(
+            Entity.builder().entityName("A").entityType("PERSON").description("Desc").addSourceChunkId("c1").build(),
+            Entity.builder().entityName("B").entityType("PERSON").description("Desc")
+                .sourceChunkIds(List.of("c1", "c2")).build(),
+            Entity.builder().entityName("C").entityType("PERSON").description("Desc").addSourceChunkId("c2").build()
+        )).join();
+
+        graphStorage.upsertRelations(projectId, List.of(
+            Relation.builder().srcId("A").tgtId("C").description("KNOWS").keywords("kw").weight(1.0).addSourceChunkId("c2").build(),
+            Relation.builder().srcId("B").tgtId("C").description("KNOWS").keywords("kw").weight(1.0)
+                .sourceChunkIds(List.of("c1", "c2")).build()
+        )).join();
+
+        Entity prunedB = graphStorage.getEntity(projectId, "B").join().withSourceChunkIds(List.of("c2"));
+        Relation prunedBC = graphStorage.getRelation(projectId, "B", "C").join().withSourceChunkIds(List.of("c2"));
+
+        graphStorage.applyBulkDeletion(projectId, new GraphStorage.BulkDeletion(
+            Set.of("A"), Set.of(), List.of(prunedB), List.of(prunedBC))).join();
+
+        assertNull(graphStorage.getEntity(projectId, "A").join(), "Orphaned entity should be deleted");
+        assertNull(graphStorage.getRelation(projectId, "A", "C").join(),
+            "Relations of deleted entities should be removed");
+        assertEquals(List.of("c2"), graphStorage.getEntity(projectId, "B").join().getSourceChunkIds(),
+            "Surviving entity should keep only remaining sources");
+        assertEquals(List.of("c2"), graphStorage.getRelation(projectId, "B", "C").join().getSourceChunkIds(),
+            "Surviving relation should keep only remaining sources");
+    }
+
     // ===== Traversal Tests =====
 
     /**
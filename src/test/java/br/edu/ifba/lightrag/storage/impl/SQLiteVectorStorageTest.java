@@ -8,7 +8,10 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
 import java.util.List;
+import java.util.Random;
 import java.util.UUID;
 
 import org.junit.jupiter.api.AfterEach;
@@ -30,6 +33,8 @@ import br.edu.ifba.lightrag.storage.VectorStorage.VectorSearchResult;
  * 3. Batch operations for efficiency
  * 4. Project isolation (vectors filtered by projectId)
  * 5. Delete operations
+ * 6. Keyword (FTS5) search kept in sync with writes
+ * 7. Quantized codes and their migration
  */
 class SQLiteVectorStorageTest {
 
@@ -289,6 +294,45 @@ class SQLiteVectorStorageTest {
         assertEquals(1L, size, "Should still have only 1 vector");
     }
 
+    /**
+     * Test keyword search ranks exact-term matches and follows upserts and deletes.
+     */
+    @Test
+    void testKeywordQueryFollowsWrites() throws Exception {
+        String errorChunk = UUID.randomUUID().toString();
+        String billingChunk = UUID.randomUUID().toString();
+        vectorStorage.upsertBatch(List.of(
+            new VectorEntry(errorChunk, createTestVector(384),
+                new VectorMetadata("chunk", "The billing service raised ERR_4711 on retry", null, 0, projectId)),
+            new VectorEntry(billingChunk, createTestVector(384),
+                new VectorMetadata("chunk", "Billing runs nightly", null, 1, projectId)),
+            new VectorEntry(UUID.randomUUID().toString(), createTestVector(384),
+                new VectorMetadata("entity", "ERR_4711", null, null, projectId))
+        )).join();
+        VectorFilter chunks = new VectorFilter("chunk", null, projectId);
+        
+        assertTrue(vectorStorage.supportsKeywordSearch());
+        List<VectorSearchResult> results = vectorStorage.keywordQuery("What is err_4711 in billing?", 10, chunks).join();
+        assertEquals(List.of(errorChunk, billingChunk), results.stream().map(VectorSearchResult::id).toList(),
+            "Chunk matching both terms should rank first, entities excluded");
+        assertTrue(results.get(0).score() > results.get(1).score(), "Higher score should mean more relevant");
+        assertTrue(vectorStorage.keywordQuery("ERR_4711", 10,
+            new VectorFilter("chunk", null, UUID.randomUUID().toString())).join().isEmpty(),
+            "Other projects should not see these chunks");
+        
+        vectorStorage.upsert(errorChunk, createTestVector(384),
+            new VectorMetadata("chunk", "Resolved incident", null, 0, projectId)).join();
+        assertTrue(vectorStorage.keywordQuery("ERR_4711", 10, chunks).join().isEmpty(),
+            "Upsert should replace indexed content");
+        assertEquals(1, vectorStorage.keywordQuery("incident", 10, chunks).join().size());
+        
+        vectorStorage.delete(billingChunk).join();
+        assertTrue(vectorStorage.keywordQuery("billing", 10, chunks).join().isEmpty(),
+            "Deleted chunks should leave the index");
+        assertTrue(vectorStorage.keywordQuery("the of", 10, chunks).join().isEmpty(),
+            "Stopword-only queries should return nothing");
+    }
+
     // Helper methods
 
     /**
@@ -392,4 +436,186 @@ class SQLiteVectorStorageTest {
         assertEquals("vectors", storageWithBlank.getTableName(), "Blank table name should fall back to 'vectors'");
         storageWithBlank.close();
     }
+
+    /**
+     * Test that two-stage search ranks by the full vector after the prefix pass.
+     */
+    @Test
+    void testTwoStageQueryRescoresWithFullVector() throws Exception {
+        SQLiteVectorStorage twoStage = new SQLiteVectorStorage(connectionManager, 384, "vectors",
+            SQLiteVectorStorage.DEFAULT_BATCH_CHUNK_SIZE, 64, 4);
+        twoStage.initialize().join();
+        
+        try {
+            float[] query = createTestVector(384);
+            // Same prefix as the query but a different tail: ties in the coarse pass
+            float[] samePrefix = query.clone();
+            for (int i = 64; i < samePrefix.length; i++) {
+                samePrefix[i] = -samePrefix[i];
+            }
+            twoStage.upsert("exact", query, new VectorMetadata("chunk", "exact", null, 0, projectId)).join();
+            twoStage.upsert("prefix", samePrefix, new VectorMetadata("chunk", "prefix", null, 1, projectId)).join();
+            for (int i = 0; i < 20; i++) {
+                twoStage.upsert("other-" + i, createTestVector(384),
+                    new VectorMetadata("chunk", "other " + i, null, i + 2, projectId)).join();
+            }
+            
+            List<VectorSearchResult> results = twoStage.query(query, 2,
+                new VectorFilter("chunk", null, projectId)).join();
+            
+            assertEquals(2, results.size());
+            assertEquals("exact", results.get(0).id(), "Full-vector rescoring should rank the exact match first");
+            assertEquals(1.0, results.get(0).score(), 0.0001);
+            assertEquals("exact", results.get(0).metadata().content());
+            assertTrue(results.get(1).score() < results.get(0).score());
+        } finally {
+            twoStage.close();
+        }
+    }
+
+    private float[] createSignedTestVector(Random random, int dimension) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    /**
+     * Test int8 codes are scanned and the best candidates rescored with floats.
+     */
+    @Test
+    void testInt8QueryRescoresWithFullVector() throws Exception {
+        SQLiteVectorStorage quantized = new SQLiteVectorStorage(connectionManager, 384, "vectors",
+            SQLiteVectorStorage.DEFAULT_BATCH_CHUNK_SIZE, 0, 4, VectorQuantization.INT8, true);
+        quantized.initialize().join();
+
+        try {
+            Random random = new Random(7);
+            float[] query = createSignedTestVector(random, 384);
+            quantized.upsert("exact", query, new VectorMetadata("chunk", "exact", null, 0, projectId)).join();
+            for (int i = 0; i < 20; i++) {
+                quantized.upsert("other-" + i, createSignedTestVector(random, 384),
+                    new VectorMetadata("chunk", "other " + i, null, i + 1, projectId)).join();
+            }
+
+            List<VectorSearchResult> results = quantized.query(query, 3,
+                new VectorFilter("chunk", null, projectId)).join();
+
+            assertEquals(3, results.size());
+            assertEquals("exact", results.get(0).id());
+            assertEquals(1.0, results.get(0).score(), 0.0001, "Rescored with the float vector");
+            assertEquals("exact", results.get(0).metadata().content());
+        } finally {
+            quantized.close();
+        }
+    }
+
+    /**
+     * Test binary codes without rescoring: floats are not stored, scores come
+     * from Hamming distance and get() decodes the code.
+     */
+    @Test
+    void testBinaryQueryWithoutRescore() throws Exception {
+        SQLiteVectorStorage quantized = new SQLiteVectorStorage(connectionManager, 384, "vectors",
+            SQLiteVectorStorage.DEFAULT_BATCH_CHUNK_SIZE, 0, 4, VectorQuantization.BINARY, false);
+        quantized.initialize().join();
+
+        try {
+            Random random = new Random(11);
+            float[] query = createSignedTestVector(random, 384);
+            quantized.upsert("exact", query, new VectorMetadata("chunk", "exact", null, 0, projectId)).join();
+            for (int i = 0; i < 20; i++) {
+                quantized.upsert("other-" + i, createSignedTestVector(random, 384),
+                    new VectorMetadata("chunk", "other " + i, null, i + 1, projectId)).join();
+            }
+
+            List<VectorSearchResult> results = quantized.query(query, 2,
+                new VectorFilter("chunk", null, projectId)).join();
+
+            assertEquals(2, results.size());
+            assertEquals("exact", results.get(0).id());
+            assertEquals(1.0, results.get(0).score(), 0.0001, "Identical sign bits");
+            assertTrue(results.get(1).score() < 1.0);
+            assertEquals(0, columnLength("length(vector)", "exact"), "Floats are not stored");
+
+            VectorEntry entry = quantized.get("exact").join();
+            assertEquals(384, ((float[]) entry.vector()).length);
+        } finally {
+            quantized.close();
+        }
+    }
+
+    /**
+     * Test existing float rows are encoded on startup, and restored when
+     * quantization is turned off again.
+     */
+    @Test
+    void testMigrateVectorCodesConvertsExistingRows() throws Exception {
+        Random random = new Random(3);
+        float[] query = createSignedTestVector(random, 384);
+        vectorStorage.upsert("exact", query, new VectorMetadata("chunk", "exact", null, 0, projectId)).join();
+        for (int i = 0; i < 5; i++) {
+            vectorStorage.upsert("other-" + i, createSignedTestVector(random, 384),
+                new VectorMetadata("chunk", "other " + i, null, i + 1, projectId)).join();
+        }
+
+        SQLiteVectorStorage quantized = new SQLiteVectorStorage(connectionManager, 384, "vectors", 2, 0, 4,
+            VectorQuantization.INT8, false);
+        quantized.initialize().join();
+        assertEquals(0, columnLength("length(vector)", "exact"));
+        assertEquals(385, columnLength("length(vector_code)", "exact"));
+        assertEquals("exact", quantized.query(query, 1, new VectorFilter("chunk", null, projectId)).join().get(0).id());
+
+        // Switching to binary converts the int8 codes without floats
+        SQLiteVectorStorage binary = new SQLiteVectorStorage(connectionManager, 384, "vectors", 2, 0, 4,
+            VectorQuantization.BINARY, false);
+        binary.initialize().join();
+        assertEquals(1 + 384 / 8, columnLength("length(vector_code)", "exact"));
+
+        // Turning quantization off restores an approximate float vector
+        SQLiteVectorStorage plain = new SQLiteVectorStorage(connectionManager, 384);
+        plain.initialize().join();
+        assertEquals(384 * 4, columnLength("length(vector)", "exact"));
+        assertEquals("exact", plain.query(query, 1, new VectorFilter("chunk", null, projectId)).join().get(0).id());
+    }
+
+    /**
+     * Test rows without floats get approximate floats back, and are counted,
+     * when rescoring is turned on again.
+     */
+    @Test
+    void testMigrateVectorCodesRebuildsDroppedFloats() throws Exception {
+        Random random = new Random(5);
+        for (int i = 0; i < 3; i++) {
+            vectorStorage.upsert("v" + i, createSignedTestVector(random, 384),
+                new VectorMetadata("chunk", "v" + i, null, i, projectId)).join();
+        }
+        SQLiteVectorStorage quantized = new SQLiteVectorStorage(connectionManager, 384, "vectors", 2, 0, 4,
+            VectorQuantization.INT8, false);
+        quantized.initialize().join();
+        assertEquals(0, columnLength("length(vector)", "v0"));
+
+        Connection conn = connectionManager.getWriteConnection();
+        try {
+            int rewritten = new SQLiteSchemaMigrator().migrateVectorCodes(
+                conn, "vectors", VectorQuantization.INT8, true, 384, 2);
+            assertEquals(3, rewritten);
+        } finally {
+            connectionManager.releaseWriteConnection(conn);
+        }
+        assertEquals(384 * 4, columnLength("length(vector)", "v0"));
+        assertEquals(385, columnLength("length(vector_code)", "v0"));
+    }
+
+    private long columnLength(String expression, String id) throws Exception {
+        Connection conn = connectionManager.getReadConnection();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT " + expression + " FROM vectors WHERE id = '" + id + "'")) {
+            assertTrue(rs.next());
+            return rs.getLong(1);
+        } finally {
+            connectionManager.releaseReadConnection(conn);
+        }
+    }
 }
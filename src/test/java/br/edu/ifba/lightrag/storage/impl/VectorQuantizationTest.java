@@ -0,0 +1,103 @@
+package br.edu.ifba.lightrag.storage.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import br.edu.ifba.lightrag.utils.EmbeddingUtil;
+
+/**
+ * Unit tests for VectorQuantization.
+ *
+ * Tests verify code layout, that scores computed on codes track the float
+ * cosine similarity, and conversions between encodings.
+ */
+class VectorQuantizationTest {
+
+    private final Random random = new Random(42);
+
+    private float[] randomVector(int dimension) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    @Test
+    void testParse() {
+        assertEquals(VectorQuantization.NONE, VectorQuantization.parse(null));
+        assertEquals(VectorQuantization.NONE, VectorQuantization.parse(" "));
+        assertEquals(VectorQuantization.INT8, VectorQuantization.parse("int8"));
+        assertEquals(VectorQuantization.BINARY, VectorQuantization.parse(" Binary "));
+        assertThrows(IllegalArgumentException.class, () -> VectorQuantization.parse("int4"));
+    }
+
+    @Test
+    void testCodeLengths() {
+        float[] vector = randomVector(100);
+        assertNull(VectorQuantization.NONE.encode(vector));
+        assertEquals(101, VectorQuantization.INT8.encode(vector).length);
+        // 100 bits padded to two longs
+        assertEquals(1 + 16, VectorQuantization.BINARY.encode(vector).length);
+        assertEquals(VectorQuantization.BINARY, VectorQuantization.ofCode(VectorQuantization.BINARY.encode(vector)));
+        assertNull(VectorQuantization.ofCode(new byte[0]));
+    }
+
+    @Test
+    void testInt8ScoreTracksCosineSimilarity() {
+        float[] query = randomVector(384);
+        byte[] queryCode = VectorQuantization.INT8.encode(query);
+        for (int i = 0; i < 20; i++) {
+            float[] vector = randomVector(384);
+            double expected = EmbeddingUtil.cosineSimilarity(query, vector);
+            double actual = VectorQuantization.INT8.score(query, queryCode, VectorQuantization.INT8.encode(vector));
+            assertEquals(expected, actual, 0.01);
+        }
+    }
+
+    @Test
+    void testBinaryScoreFromHammingDistance() {
+        float[] query = randomVector(384);
+        byte[] queryCode = VectorQuantization.BINARY.encode(query);
+        assertEquals(1.0, VectorQuantization.BINARY.score(query, queryCode, queryCode), 1e-9);
+
+        float[] negated = new float[query.length];
+        for (int i = 0; i < query.length; i++) {
+            negated[i] = -query[i];
+        }
+        byte[] negatedCode = VectorQuantization.BINARY.encode(negated);
+        assertEquals(384, VectorQuantization.hamming(queryCode, negatedCode));
+        assertEquals(-1.0, VectorQuantization.BINARY.score(query, queryCode, negatedCode), 1e-9);
+    }
+
+    @Test
+    void testScoreRejectsOtherEncodings() {
+        float[] query = randomVector(64);
+        byte[] int8Code = VectorQuantization.INT8.encode(query);
+        assertTrue(Double.isNaN(VectorQuantization.BINARY.score(query, VectorQuantization.BINARY.encode(query), int8Code)));
+        assertTrue(Double.isNaN(VectorQuantization.INT8.score(query, int8Code, null)));
+    }
+
+    @Test
+    void testInt8ToBinaryMatchesDirectEncoding() {
+        float[] vector = randomVector(200);
+        byte[] converted = VectorQuantization.int8ToBinary(VectorQuantization.INT8.encode(vector));
+        // Only components that round to zero in int8 can lose their sign
+        assertTrue(VectorQuantization.hamming(VectorQuantization.BINARY.encode(vector), converted) <= 10);
+        assertNull(VectorQuantization.int8ToBinary(VectorQuantization.BINARY.encode(vector)));
+    }
+
+    @Test
+    void testDecodeApproximatesVector() {
+        float[] vector = randomVector(256);
+        float[] decoded = VectorQuantization.INT8.decode(VectorQuantization.INT8.encode(vector), 256);
+        assertEquals(256, decoded.length);
+        assertTrue(EmbeddingUtil.cosineSimilarity(vector, decoded) > 0.99);
+    }
+}
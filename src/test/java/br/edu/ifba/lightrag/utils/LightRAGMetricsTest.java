@@ -0,0 +1,97 @@
+package br.edu.ifba.lightrag.utils;
+
+import br.edu.ifba.lightrag.storage.impl.InMemoryGraphStorage;
+import br.edu.ifba.lightrag.storage.impl.InMemoryVectorStorage;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Semaphore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Unit tests for {@link LightRAGMetrics}.
+ *
+ * A {@link SimpleMeterRegistry} is attached to the global registry for the
+ * duration of each test, mirroring how Quarkus attaches its Prometheus registry.
+ */
+class LightRAGMetricsTest {
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(registry);
+        registry.close();
+    }
+
+    @Test
+    @DisplayName("Query timer is tagged with project, mode and outcome")
+    void testRecordQuery() {
+        Timer.Sample sample = LightRAGMetrics.startTimer();
+        LightRAGMetrics.recordQuery("p1", "HYBRID", sample, true);
+
+        Timer timer = registry.find(LightRAGMetrics.QUERY_DURATION)
+                .tag(LightRAGMetrics.TAG_PROJECT, "p1")
+                .tag(LightRAGMetrics.TAG_MODE, "HYBRID")
+                .tag(LightRAGMetrics.TAG_OUTCOME, "success")
+                .timer();
+        assertNotNull(timer, "Query timer should be registered");
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    @DisplayName("Cache lookups are counted per result so hit ratio can be derived")
+    void testRecordCacheLookup() {
+        LightRAGMetrics.recordCacheLookup("keyword.l1", true);
+        LightRAGMetrics.recordCacheLookup("keyword.l1", true);
+        LightRAGMetrics.recordCacheLookup("keyword.l1", false);
+
+        assertEquals(2.0, registry.get(LightRAGMetrics.CACHE_REQUESTS)
+                .tag("cache", "keyword.l1").tag("result", "hit").counter().count());
+        assertEquals(1.0, registry.get(LightRAGMetrics.CACHE_REQUESTS)
+                .tag("cache", "keyword.l1").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("Null tag values are reported as 'none'")
+    void testNullTagsAreNormalized() {
+        LightRAGMetrics.recordLlmTokens(null, 10, 5);
+
+        assertEquals(10.0, registry.get(LightRAGMetrics.LLM_TOKENS)
+                .tag(LightRAGMetrics.TAG_OPERATION, "none").tag("direction", "input").counter().count());
+        assertEquals(5.0, registry.get(LightRAGMetrics.LLM_TOKENS)
+                .tag(LightRAGMetrics.TAG_OPERATION, "none").tag("direction", "output").counter().count());
+    }
+
+    @Test
+    @DisplayName("Pool gauges observe the bound object")
+    void testBindPool() {
+        Semaphore semaphore = new Semaphore(3);
+        LightRAGMetrics.bindPool("test", semaphore, Semaphore::availablePermits, Semaphore::getQueueLength);
+        semaphore.acquireUninterruptibly();
+
+        assertEquals(2.0, registry.get(LightRAGMetrics.POOL_IDLE).tag("pool", "test").gauge().value());
+        assertEquals(0.0, registry.get(LightRAGMetrics.POOL_PENDING).tag("pool", "test").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Backend tag is derived from storage class names")
+    void testBackendOf() {
+        assertEquals("memory", LightRAGMetrics.backendOf(new InMemoryGraphStorage()));
+        assertEquals("memory", LightRAGMetrics.backendOf(new InMemoryVectorStorage()));
+        assertEquals("none", LightRAGMetrics.backendOf(null));
+    }
+}
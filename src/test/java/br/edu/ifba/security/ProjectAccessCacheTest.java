@@ -0,0 +1,118 @@
+package br.edu.ifba.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import br.edu.ifba.project.Project;
+import br.edu.ifba.security.ProjectAccessCache.ProjectAccess;
+
+/**
+ * Unit tests for ProjectAccessCache.
+ *
+ * Tests verify that repeated lookups are served from memory, that missing
+ * projects are cached negatively, and that invalidation and the size bound
+ * force a reload.
+ */
+class ProjectAccessCacheTest {
+
+    private final Map<UUID, Project> projects = new HashMap<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Optional<Project> load(UUID id) {
+        loads.incrementAndGet();
+        return Optional.ofNullable(projects.get(id));
+    }
+
+    private UUID addProject(String ownerId) {
+        Project project = new Project("p", ownerId);
+        UUID id = UUID.randomUUID();
+        project.setId(id);
+        projects.put(id, project);
+        return id;
+    }
+
+    @Test
+    void testRepeatedLookupsHitCache() {
+        ProjectAccessCache cache = new ProjectAccessCache(this::load, Duration.ofMinutes(1), Duration.ofMinutes(1), 100);
+        UUID id = addProject("alice");
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(new ProjectAccess(true, "alice"), cache.get(id));
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testMissingProjectIsCachedNegatively() {
+        ProjectAccessCache cache = new ProjectAccessCache(this::load, Duration.ofMinutes(1), Duration.ofMinutes(1), 100);
+        UUID id = UUID.randomUUID();
+
+        assertFalse(cache.get(id).exists());
+        assertFalse(cache.get(id).exists());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testZeroNegativeTtlDoesNotCacheMissingProjects() {
+        ProjectAccessCache cache = new ProjectAccessCache(this::load, Duration.ofMinutes(1), Duration.ZERO, 100);
+        UUID id = UUID.randomUUID();
+
+        cache.get(id);
+        cache.get(id);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testInvalidateReloadsOwnership() {
+        ProjectAccessCache cache = new ProjectAccessCache(this::load, Duration.ofMinutes(1), Duration.ofMinutes(1), 100);
+        UUID id = addProject("alice");
+        cache.get(id);
+
+        projects.get(id).setOwnerId("bob");
+        assertEquals("alice", cache.get(id).ownerId(), "Stale until invalidated");
+
+        cache.invalidate(id);
+        assertEquals("bob", cache.get(id).ownerId());
+
+        projects.remove(id);
+        cache.invalidate(id);
+        assertFalse(cache.get(id).exists());
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testExpiredEntriesAreReloaded() throws InterruptedException {
+        ProjectAccessCache cache = new ProjectAccessCache(this::load, Duration.ofMillis(20), Duration.ofMillis(20), 100);
+        UUID id = addProject("alice");
+
+        cache.get(id);
+        Thread.sleep(40);
+        cache.get(id);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testEvictionKeepsRecentEntries() {
+        ProjectAccessCache cache = new ProjectAccessCache(this::load, Duration.ofMinutes(1), Duration.ofMinutes(1), 10);
+        for (int i = 0; i < 50; i++) {
+            cache.get(addProject("owner-" + i));
+        }
+
+        // The most recent entry survives eviction
+        UUID last = addProject("last");
+        cache.get(last);
+        int before = loads.get();
+        assertTrue(cache.get(last).exists());
+        assertEquals(before, loads.get());
+    }
+}